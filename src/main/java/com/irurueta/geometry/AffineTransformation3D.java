@@ -811,6 +811,124 @@ public class AffineTransformation3D extends Transformation3D implements Serializ
         }
     }
 
+    /**
+     * Transforms a packed array of points expressed in inhomogeneous
+     * coordinates and stores the result into provided destination array.
+     * Each point is stored as 3 consecutive values (x, y, z) and consecutive
+     * points are separated by provided stride, so that point i is located at
+     * position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * Points are transformed using the 3x3 linear mapping and translation
+     * without creating any point or matrix instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 3.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    @Override
+    public void transform(final double[] src, final int srcOffset, final double[] dst, final int dstOffset,
+                          final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH);
+
+        // linear mapping buffer is stored in column order
+        final var r = a.getBuffer();
+        final var r00 = r[0];
+        final var r10 = r[1];
+        final var r20 = r[2];
+        final var r01 = r[3];
+        final var r11 = r[4];
+        final var r21 = r[5];
+        final var r02 = r[6];
+        final var r12 = r[7];
+        final var r22 = r[8];
+        final var tx = translation[0];
+        final var ty = translation[1];
+        final var tz = translation[2];
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+            final var z = src[srcPos + 2];
+
+            dst[dstPos] = r00 * x + r01 * y + r02 * z + tx;
+            dst[dstPos + 1] = r10 * x + r11 * y + r12 * z + ty;
+            dst[dstPos + 2] = r20 * x + r21 * y + r22 * z + tz;
+
+            srcPos += stride;
+            dstPos += stride;
+        }
+    }
+
+    /**
+     * Transforms a packed array of points expressed in homogeneous coordinates
+     * and stores the result into provided destination array.
+     * Each point is stored as 4 consecutive values (x, y, z, w) and
+     * consecutive points are separated by provided stride, so that point i is
+     * located at position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * Points are transformed using the 3x3 linear mapping and translation
+     * without creating any point or matrix instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 4.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    @Override
+    public void transformHomogeneous(final double[] src, final int srcOffset, final double[] dst,
+                                     final int dstOffset, final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point3D.POINT3D_HOMOGENEOUS_COORDINATES_LENGTH);
+
+        // linear mapping buffer is stored in column order
+        final var r = a.getBuffer();
+        final var r00 = r[0];
+        final var r10 = r[1];
+        final var r20 = r[2];
+        final var r01 = r[3];
+        final var r11 = r[4];
+        final var r21 = r[5];
+        final var r02 = r[6];
+        final var r12 = r[7];
+        final var r22 = r[8];
+        final var tx = translation[0];
+        final var ty = translation[1];
+        final var tz = translation[2];
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+            final var z = src[srcPos + 2];
+            final var w = src[srcPos + 3];
+
+            dst[dstPos] = r00 * x + r01 * y + r02 * z + tx * w;
+            dst[dstPos + 1] = r10 * x + r11 * y + r12 * z + ty * w;
+            dst[dstPos + 2] = r20 * x + r21 * y + r22 * z + tz * w;
+            dst[dstPos + 3] = w;
+
+            srcPos += stride;
+            dstPos += stride;
+        }
+    }
+
     /**
      * Transforms a quadric using this transformation and stores the result into
      * provided output quadric.
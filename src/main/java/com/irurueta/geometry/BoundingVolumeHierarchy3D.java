@@ -0,0 +1,1423 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.irurueta.geometry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bounding volume hierarchy indexing a collection of 3D triangles, such as the triangles of a mesh.
+ * Each node of the hierarchy contains the axis-aligned bounding box of a range of triangles, and is either split
+ * into two child nodes or is a leaf containing at most a few triangles. Nodes are stored in flat arrays in
+ * depth-first order, where the left child of a node immediately follows it, and triangle vertices are stored
+ * in a primitive array, so that queries do not allocate any point.
+ * Once built, the hierarchy can be used to find the closest point of the triangles to a given point, to
+ * intersect triangles with rays or lines, to determine whether a point is inside a closed mesh, or to find the
+ * triangles overlapping an axis-aligned box, visiting only the nodes whose bounds might contain a result.
+ */
+public class BoundingVolumeHierarchy3D {
+
+    /**
+     * Default method to split nodes.
+     */
+    public static final BoundingVolumeHierarchySplitMethod DEFAULT_SPLIT_METHOD =
+            BoundingVolumeHierarchySplitMethod.SURFACE_AREA_HEURISTIC;
+
+    /**
+     * Default minimum number of triangles that a node must contain so that its children are built concurrently.
+     */
+    static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 12;
+
+    /**
+     * Maximum number of triangles of a leaf that is never split.
+     */
+    static final int MIN_LEAF_SIZE = 4;
+
+    /**
+     * Maximum number of triangles that a leaf can contain when splitting it would not reduce the surface area
+     * heuristic cost.
+     */
+    static final int MAX_LEAF_SIZE = 16;
+
+    /**
+     * Number of candidate planes evaluated by the surface area heuristic.
+     */
+    private static final int SAH_BINS = 12;
+
+    /**
+     * Cost of traversing a node relative to the cost of intersecting a triangle.
+     */
+    private static final double TRAVERSAL_COST = 1.0;
+
+    /**
+     * Threshold on the squared sine of the angle between two edges of a triangle to consider it degenerate.
+     */
+    private static final double DEGENERATE_THRESHOLD = 1e-12;
+
+    /**
+     * Number of values stored for each node bounds.
+     */
+    private static final int BOUNDS_LENGTH = 6;
+
+    /**
+     * Number of values stored for each triangle.
+     */
+    private static final int TRIANGLE_LENGTH = 9;
+
+    /**
+     * Initial length of traversal stacks.
+     */
+    private static final int INITIAL_STACK_LENGTH = 64;
+
+    /**
+     * Directions of rays used to determine whether a point is inside a mesh. Directions are neither aligned with
+     * any axis nor with any diagonal, to reduce the chance of hitting triangle edges or vertices on regular meshes.
+     */
+    private static final double[][] INSIDE_DIRECTIONS = {
+            {0.4082482904638631, 0.5773502691896258, 0.7071067811865476},
+            {-0.7071067811865476, 0.4082482904638631, 0.5773502691896258},
+            {0.5773502691896258, -0.7071067811865476, -0.4082482904638631}
+    };
+
+    /**
+     * Input triangles.
+     */
+    private final List<Triangle3D> triangles;
+
+    /**
+     * Method used to split nodes.
+     */
+    private final BoundingVolumeHierarchySplitMethod splitMethod;
+
+    /**
+     * Vertex coordinates of triangles in input order. Coordinate d of vertex v of triangle t is stored at
+     * position t * 9 + v * 3 + d.
+     */
+    private final double[] vertices;
+
+    /**
+     * Centroid coordinates of triangles in input order. Coordinate d of triangle t is stored at position
+     * t * 3 + d.
+     */
+    private final double[] centroids;
+
+    /**
+     * Indices of triangles going from hierarchy order to input order.
+     */
+    private final int[] order;
+
+    /**
+     * Bounds of each node. Low coordinates of node k are stored at positions k * 6 to k * 6 + 2 and high
+     * coordinates are stored at positions k * 6 + 3 to k * 6 + 5.
+     */
+    private final double[] nodeBounds;
+
+    /**
+     * Position of right child of each node. Left child of a non-leaf node is stored right after it.
+     */
+    private final int[] nodeRight;
+
+    /**
+     * Position in hierarchy order of first triangle of each node.
+     */
+    private final int[] nodeStart;
+
+    /**
+     * Number of triangles of each leaf node or zero for non-leaf nodes.
+     */
+    private final int[] nodeCount;
+
+    /**
+     * Constructor using {@link #DEFAULT_SPLIT_METHOD}.
+     *
+     * @param triangles triangles to be indexed.
+     * @throws IllegalArgumentException if no triangles are provided.
+     */
+    public BoundingVolumeHierarchy3D(final Collection<Triangle3D> triangles) {
+        this(triangles, DEFAULT_SPLIT_METHOD);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param triangles   triangles to be indexed.
+     * @param splitMethod method used to split nodes.
+     * @throws IllegalArgumentException if no triangles are provided.
+     */
+    public BoundingVolumeHierarchy3D(final Collection<Triangle3D> triangles,
+                                     final BoundingVolumeHierarchySplitMethod splitMethod) {
+        this(triangles, splitMethod, null);
+    }
+
+    /**
+     * Constructor.
+     * If a pool is provided, independent subtrees are built concurrently on it. The resulting hierarchy is
+     * identical to the one built sequentially.
+     *
+     * @param triangles   triangles to be indexed.
+     * @param splitMethod method used to split nodes.
+     * @param pool        pool where hierarchy is built or null to build it sequentially.
+     * @throws IllegalArgumentException if no triangles are provided.
+     */
+    public BoundingVolumeHierarchy3D(final Collection<Triangle3D> triangles,
+                                     final BoundingVolumeHierarchySplitMethod splitMethod, final ForkJoinPool pool) {
+        if (triangles.isEmpty()) {
+            throw new IllegalArgumentException();
+        }
+
+        this.triangles = new ArrayList<>(triangles);
+        this.splitMethod = splitMethod;
+
+        final var n = this.triangles.size();
+        vertices = new double[n * TRIANGLE_LENGTH];
+        centroids = new double[n * Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH];
+        order = new int[n];
+        for (var t = 0; t < n; t++) {
+            final var triangle = this.triangles.get(t);
+            setVertex(t, 0, triangle.getVertex1());
+            setVertex(t, 1, triangle.getVertex2());
+            setVertex(t, 2, triangle.getVertex3());
+            for (var d = 0; d < 3; d++) {
+                final var offset = t * TRIANGLE_LENGTH + d;
+                centroids[t * 3 + d] = (vertices[offset] + vertices[offset + 3] + vertices[offset + 6]) / 3.0;
+            }
+            order[t] = t;
+        }
+
+        // a subtree containing m triangles never has more than 2 * m - 1 nodes
+        final var nNodes = 2 * n - 1;
+        nodeBounds = new double[nNodes * BOUNDS_LENGTH];
+        nodeRight = new int[nNodes];
+        nodeStart = new int[nNodes];
+        nodeCount = new int[nNodes];
+
+        if (pool != null) {
+            pool.invoke(new BuildTask(0, 0, n));
+        } else {
+            buildSubtree(0, 0, n);
+        }
+    }
+
+    /**
+     * Creates a hierarchy indexing the triangles of provided polygons, using {@link #DEFAULT_SPLIT_METHOD}.
+     * Polygons that have not been triangulated yet are triangulated.
+     *
+     * @param polygons polygons to be indexed.
+     * @return a new hierarchy.
+     * @throws TriangulatorException    if triangulation of any polygon fails.
+     * @throws IllegalArgumentException if polygons do not contain any triangle.
+     */
+    public static BoundingVolumeHierarchy3D fromPolygons(final Collection<Polygon3D> polygons)
+            throws TriangulatorException {
+        final var triangles = new ArrayList<Triangle3D>();
+        for (final var polygon : polygons) {
+            triangles.addAll(polygon.getTriangles());
+        }
+        return new BoundingVolumeHierarchy3D(triangles);
+    }
+
+    /**
+     * Gets method used to split nodes.
+     *
+     * @return method used to split nodes.
+     */
+    public BoundingVolumeHierarchySplitMethod getSplitMethod() {
+        return splitMethod;
+    }
+
+    /**
+     * Gets number of indexed triangles.
+     *
+     * @return number of triangles.
+     */
+    public int getNumberOfTriangles() {
+        return triangles.size();
+    }
+
+    /**
+     * Gets an indexed triangle.
+     *
+     * @param index position of triangle in input order.
+     * @return triangle.
+     */
+    public Triangle3D getTriangle(final int index) {
+        return triangles.get(index);
+    }
+
+    /**
+     * Gets bounds containing all indexed triangles.
+     *
+     * @return bounds of all triangles.
+     */
+    public Box3D getBounds() {
+        final var result = new Box3D();
+        result.setBounds(nodeBounds[0], nodeBounds[1], nodeBounds[2], nodeBounds[3], nodeBounds[4], nodeBounds[5]);
+        return result;
+    }
+
+    /**
+     * Gets number of nodes of the hierarchy.
+     *
+     * @return number of nodes.
+     */
+    public int getNumberOfNodes() {
+        var count = 0;
+        var nodes = new int[INITIAL_STACK_LENGTH];
+        var top = 0;
+        var node = 0;
+        for (; ; ) {
+            count++;
+            if (nodeCount[node] == 0) {
+                nodes = push(nodes, top++, nodeRight[node]);
+                node++;
+            } else if (top > 0) {
+                node = nodes[--top];
+            } else {
+                return count;
+            }
+        }
+    }
+
+    /**
+     * Gets depth of the hierarchy, which is the number of nodes of the longest path from the root to a leaf.
+     *
+     * @return depth of the hierarchy.
+     */
+    public int getDepth() {
+        var depth = 0;
+        var nodes = new int[INITIAL_STACK_LENGTH];
+        var depths = new int[INITIAL_STACK_LENGTH];
+        var top = 0;
+        nodes[top] = 0;
+        depths[top++] = 1;
+        while (top > 0) {
+            final var node = nodes[--top];
+            final var nodeDepth = depths[top];
+            depth = Math.max(depth, nodeDepth);
+            if (nodeCount[node] == 0) {
+                nodes = push(nodes, top, node + 1);
+                depths = push(depths, top++, nodeDepth + 1);
+                nodes = push(nodes, top, nodeRight[node]);
+                depths = push(depths, top++, nodeDepth + 1);
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Gets index of triangle closest to provided point.
+     *
+     * @param point point to be checked.
+     * @return position in input order of closest triangle.
+     */
+    public int closestTriangleIndex(final Point3D point) {
+        return closestPoint(point, null);
+    }
+
+    /**
+     * Gets shortest distance of provided point to the indexed triangles.
+     *
+     * @param point point to be checked.
+     * @return shortest distance.
+     */
+    public double getShortestDistance(final Point3D point) {
+        final var result = Point3D.create();
+        closestPoint(point, result);
+        return point.distanceTo(result);
+    }
+
+    /**
+     * Gets the point of the indexed triangles closest to provided point.
+     *
+     * @param point point to be checked.
+     * @return closest point.
+     */
+    public Point3D getClosestPoint(final Point3D point) {
+        final var result = Point3D.create();
+        closestPoint(point, result);
+        return result;
+    }
+
+    /**
+     * Computes the point of the indexed triangles closest to provided point.
+     * Nodes are visited in order of increasing distance to provided point, and nodes farther than the closest
+     * triangle found so far are discarded.
+     *
+     * @param point  point to be checked.
+     * @param result instance where closest point will be stored or null if not needed.
+     * @return position in input order of triangle containing closest point.
+     */
+    public int closestPoint(final Point3D point, final Point3D result) {
+        final var p = new double[]{point.getInhomX(), point.getInhomY(), point.getInhomZ()};
+        final var candidate = new double[3];
+        final var best = new double[3];
+        var bestIndex = -1;
+        var bestDist = Double.MAX_VALUE;
+
+        final var queue = new BoxQueue();
+        queue.push(0, boxSqrDistance(0, p));
+        while (!queue.isEmpty() && queue.peekDistance() < bestDist) {
+            final var node = queue.pop();
+            final var count = nodeCount[node];
+            if (count == 0) {
+                final var left = node + 1;
+                final var leftDist = boxSqrDistance(left, p);
+                if (leftDist < bestDist) {
+                    queue.push(left, leftDist);
+                }
+                final var right = nodeRight[node];
+                final var rightDist = boxSqrDistance(right, p);
+                if (rightDist < bestDist) {
+                    queue.push(right, rightDist);
+                }
+            } else {
+                final var start = nodeStart[node];
+                for (var i = start; i < start + count; i++) {
+                    final var t = order[i];
+                    closestPointOnTriangle(t, p, candidate);
+                    final var dist = sqrDistance(p, candidate);
+                    if (dist < bestDist) {
+                        bestDist = dist;
+                        bestIndex = t;
+                        System.arraycopy(candidate, 0, best, 0, 3);
+                    }
+                }
+            }
+        }
+
+        if (result != null) {
+            result.setInhomogeneousCoordinates(best[0], best[1], best[2]);
+        }
+        return bestIndex;
+    }
+
+    /**
+     * Finds the first triangle hit by a ray.
+     *
+     * @param origin    origin of the ray.
+     * @param direction direction of the ray. Does not need to be normalized.
+     * @param result    instance where intersection point will be stored if a triangle is hit, or null if not
+     *                  needed.
+     * @return position in input order of hit triangle or -1 if no triangle is hit.
+     * @throws IllegalArgumentException if direction does not have length 3 or is zero.
+     */
+    public int intersect(final Point3D origin, final double[] direction, final Point3D result) {
+        final var o = new double[]{origin.getInhomX(), origin.getInhomY(), origin.getInhomZ()};
+        checkDirection(direction);
+
+        var bestT = Double.POSITIVE_INFINITY;
+        var bestIndex = -1;
+        var nodes = new int[INITIAL_STACK_LENGTH];
+        var top = 0;
+        if (!Double.isNaN(rayBoxEntry(0, o, direction, 0.0, bestT))) {
+            nodes[top++] = 0;
+        }
+        while (top > 0) {
+            final var node = nodes[--top];
+            final var count = nodeCount[node];
+            if (count == 0) {
+                // visit nearest child first
+                final var left = node + 1;
+                final var right = nodeRight[node];
+                final var leftT = rayBoxEntry(left, o, direction, 0.0, bestT);
+                final var rightT = rayBoxEntry(right, o, direction, 0.0, bestT);
+                final var leftHit = !Double.isNaN(leftT);
+                final var rightHit = !Double.isNaN(rightT);
+                if (leftHit && rightHit) {
+                    final var leftFirst = leftT <= rightT;
+                    nodes = push(nodes, top++, leftFirst ? right : left);
+                    nodes = push(nodes, top++, leftFirst ? left : right);
+                } else if (leftHit) {
+                    nodes = push(nodes, top++, left);
+                } else if (rightHit) {
+                    nodes = push(nodes, top++, right);
+                }
+            } else {
+                final var start = nodeStart[node];
+                for (var i = start; i < start + count; i++) {
+                    final var t = rayTriangle(order[i], o, direction);
+                    if (t >= 0.0 && t < bestT) {
+                        bestT = t;
+                        bestIndex = order[i];
+                    }
+                }
+            }
+        }
+
+        if (bestIndex >= 0 && result != null) {
+            result.setInhomogeneousCoordinates(o[0] + bestT * direction[0], o[1] + bestT * direction[1],
+                    o[2] + bestT * direction[2]);
+        }
+        return bestIndex;
+    }
+
+    /**
+     * Finds all triangles intersected by an infinite line.
+     * This method only returns up to nmax results.
+     *
+     * @param line line to be checked.
+     * @param list list where positions in input order of intersected triangles are stored up to the number of
+     *             found triangles.
+     * @param nmax maximum number of triangles to search.
+     * @return number of found triangles.
+     * @throws IllegalArgumentException if maximum number of triangles to search is zero or negative, or list
+     *                                  where indices are stored is not large enough.
+     */
+    public int intersect(final Line3D line, final int[] list, final int nmax) {
+        checkList(list, nmax);
+
+        // line is the intersection of planes n1 * x = h1 and n2 * x = h2
+        final var plane1 = line.getPlane1();
+        final var plane2 = line.getPlane2();
+        final var n1 = new double[]{plane1.getA(), plane1.getB(), plane1.getC()};
+        final var n2 = new double[]{plane2.getA(), plane2.getB(), plane2.getC()};
+        final var h1 = -plane1.getD();
+        final var h2 = -plane2.getD();
+        final var u = cross(n1, n2);
+        final var v1 = cross(n2, u);
+        final var v2 = cross(u, n1);
+        final var sqrNorm = dot(u, u);
+        final var o = new double[3];
+        for (var d = 0; d < 3; d++) {
+            o[d] = (h1 * v1[d] + h2 * v2[d]) / sqrNorm;
+        }
+
+        return intersectAll(o, u, Double.NEGATIVE_INFINITY, list, nmax);
+    }
+
+    /**
+     * Determines whether provided point is inside the volume enclosed by the indexed triangles.
+     * Triangles must form a closed mesh. Rays are cast from provided point along three different directions, and
+     * each ray votes the point to be inside if it crosses an odd number of triangles. The point is considered to
+     * be inside if most rays vote so, hence a single ray going through an edge or vertex shared by several
+     * triangles, and thus counting a wrong number of crossings, does not change the result.
+     *
+     * @param point point to be checked.
+     * @return true if point is inside, false otherwise.
+     */
+    public boolean isInside(final Point3D point) {
+        final var o = new double[]{point.getInhomX(), point.getInhomY(), point.getInhomZ()};
+        var votes = 0;
+        for (var i = 0; i < INSIDE_DIRECTIONS.length; i++) {
+            if (countCrossings(o, INSIDE_DIRECTIONS[i]) % 2 == 1) {
+                votes++;
+            }
+            final var remaining = INSIDE_DIRECTIONS.length - i - 1;
+            if (2 * votes > INSIDE_DIRECTIONS.length || 2 * (votes + remaining) < INSIDE_DIRECTIONS.length) {
+                // majority already reached
+                break;
+            }
+        }
+        return 2 * votes > INSIDE_DIRECTIONS.length;
+    }
+
+    /**
+     * Finds all triangles overlapping an axis-aligned box.
+     * This method only returns up to nmax results.
+     *
+     * @param box  box to be checked.
+     * @param list list where positions in input order of overlapping triangles are stored up to the number of
+     *             found triangles.
+     * @param nmax maximum number of triangles to search.
+     * @return number of found triangles.
+     * @throws IllegalArgumentException if maximum number of triangles to search is zero or negative, or list
+     *                                  where indices are stored is not large enough.
+     */
+    public int locateOverlapping(final Box3D box, final int[] list, final int nmax) {
+        checkList(list, nmax);
+
+        final var lo = box.getLo();
+        final var hi = box.getHi();
+        final var bounds = new double[]{lo.getInhomX(), lo.getInhomY(), lo.getInhomZ(),
+                hi.getInhomX(), hi.getInhomY(), hi.getInhomZ()};
+        final var center = new double[3];
+        final var half = new double[3];
+        for (var d = 0; d < 3; d++) {
+            center[d] = 0.5 * (bounds[d] + bounds[d + 3]);
+            half[d] = 0.5 * (bounds[d + 3] - bounds[d]);
+        }
+
+        var nret = 0;
+        var nodes = new int[INITIAL_STACK_LENGTH];
+        var top = 0;
+        nodes[top++] = 0;
+        while (top > 0) {
+            final var node = nodes[--top];
+            if (!boxesOverlap(node, bounds)) {
+                continue;
+            }
+            final var count = nodeCount[node];
+            if (count == 0) {
+                nodes = push(nodes, top++, nodeRight[node]);
+                nodes = push(nodes, top++, node + 1);
+            } else {
+                final var start = nodeStart[node];
+                for (var i = start; i < start + count; i++) {
+                    if (triangleOverlapsBox(order[i], center, half)) {
+                        list[nret++] = order[i];
+                        if (nret == nmax) {
+                            return nmax;
+                        }
+                    }
+                }
+            }
+        }
+        return nret;
+    }
+
+    /**
+     * Finds all triangles hit by a ray or line.
+     *
+     * @param o         origin of the ray.
+     * @param direction direction of the ray.
+     * @param minT      minimum ray parameter of intersections, or negative infinity for lines.
+     * @param list      list where positions of intersected triangles are stored.
+     * @param nmax      maximum number of triangles to search.
+     * @return number of found triangles.
+     */
+    private int intersectAll(final double[] o, final double[] direction, final double minT, final int[] list,
+                             final int nmax) {
+        var nret = 0;
+        var nodes = new int[INITIAL_STACK_LENGTH];
+        var top = 0;
+        nodes[top++] = 0;
+        while (top > 0) {
+            final var node = nodes[--top];
+            if (Double.isNaN(rayBoxEntry(node, o, direction, minT, Double.POSITIVE_INFINITY))) {
+                continue;
+            }
+            final var count = nodeCount[node];
+            if (count == 0) {
+                nodes = push(nodes, top++, nodeRight[node]);
+                nodes = push(nodes, top++, node + 1);
+            } else {
+                final var start = nodeStart[node];
+                for (var i = start; i < start + count; i++) {
+                    final var t = rayTriangle(order[i], o, direction);
+                    if (t >= minT) {
+                        list[nret++] = order[i];
+                        if (nret == nmax) {
+                            return nmax;
+                        }
+                    }
+                }
+            }
+        }
+        return nret;
+    }
+
+    /**
+     * Counts triangles crossed by a ray without storing them.
+     *
+     * @param o         origin of the ray.
+     * @param direction direction of the ray.
+     * @return number of crossed triangles.
+     */
+    private int countCrossings(final double[] o, final double[] direction) {
+        var crossings = 0;
+        var nodes = new int[INITIAL_STACK_LENGTH];
+        var top = 0;
+        nodes[top++] = 0;
+        while (top > 0) {
+            final var node = nodes[--top];
+            if (Double.isNaN(rayBoxEntry(node, o, direction, 0.0, Double.POSITIVE_INFINITY))) {
+                continue;
+            }
+            final var count = nodeCount[node];
+            if (count == 0) {
+                nodes = push(nodes, top++, nodeRight[node]);
+                nodes = push(nodes, top++, node + 1);
+            } else {
+                final var start = nodeStart[node];
+                for (var i = start; i < start + count; i++) {
+                    if (rayTriangle(order[i], o, direction) >= 0.0) {
+                        crossings++;
+                    }
+                }
+            }
+        }
+        return crossings;
+    }
+
+    /**
+     * Builds a subtree sequentially.
+     *
+     * @param root  position of root node of subtree.
+     * @param start position in hierarchy order of first triangle of subtree.
+     * @param end   position in hierarchy order after last triangle of subtree.
+     */
+    private void buildSubtree(final int root, final int start, final int end) {
+        var stack = new int[3 * INITIAL_STACK_LENGTH];
+        var top = 0;
+        stack[top++] = root;
+        stack[top++] = start;
+        stack[top++] = end;
+        while (top > 0) {
+            final var e = stack[--top];
+            final var s = stack[--top];
+            final var node = stack[--top];
+            final var mid = split(node, s, e);
+            if (mid >= 0) {
+                stack = push(stack, top++, nodeRight[node]);
+                stack = push(stack, top++, mid);
+                stack = push(stack, top++, e);
+                stack = push(stack, top++, node + 1);
+                stack = push(stack, top++, s);
+                stack = push(stack, top++, mid);
+            }
+        }
+    }
+
+    /**
+     * Computes bounds of a node and either makes it a leaf or partitions its triangles into two children.
+     * Children positions are reserved so that a child containing m triangles has room for 2 * m - 1 nodes.
+     *
+     * @param node  position of node.
+     * @param start position in hierarchy order of first triangle of node.
+     * @param end   position in hierarchy order after last triangle of node.
+     * @return position in hierarchy order of first triangle of right child, or -1 if node is a leaf.
+     */
+    private int split(final int node, final int start, final int end) {
+        final var count = end - start;
+        final var offset = node * BOUNDS_LENGTH;
+        final var centroidBounds = new double[BOUNDS_LENGTH];
+        resetBounds(nodeBounds, offset);
+        resetBounds(centroidBounds, 0);
+        for (var i = start; i < end; i++) {
+            final var t = order[i];
+            for (var v = 0; v < 3; v++) {
+                expand(nodeBounds, offset, vertices, t * TRIANGLE_LENGTH + v * 3);
+            }
+            expand(centroidBounds, 0, centroids, t * 3);
+        }
+        nodeStart[node] = start;
+
+        if (count <= MIN_LEAF_SIZE) {
+            nodeCount[node] = count;
+            return -1;
+        }
+
+        // split along axis of largest centroid extent
+        var axis = 0;
+        for (var d = 1; d < 3; d++) {
+            if (centroidBounds[d + 3] - centroidBounds[d] > centroidBounds[axis + 3] - centroidBounds[axis]) {
+                axis = d;
+            }
+        }
+        final var min = centroidBounds[axis];
+        final var extent = centroidBounds[axis + 3] - min;
+
+        var mid = -1;
+        if (extent > 0.0 && splitMethod == BoundingVolumeHierarchySplitMethod.SURFACE_AREA_HEURISTIC) {
+            mid = splitSurfaceAreaHeuristic(node, start, end, axis, min, extent);
+        } else if (extent > 0.0 || count > MAX_LEAF_SIZE) {
+            mid = start + count / 2;
+            select(start, end - 1, mid, axis);
+        }
+
+        if (mid < 0) {
+            nodeCount[node] = count;
+            return -1;
+        }
+        nodeCount[node] = 0;
+        nodeRight[node] = node + 2 * (mid - start);
+        return mid;
+    }
+
+    /**
+     * Partitions triangles of a node at the candidate plane minimizing the surface area heuristic cost.
+     *
+     * @param node   position of node.
+     * @param start  position in hierarchy order of first triangle of node.
+     * @param end    position in hierarchy order after last triangle of node.
+     * @param axis   split axis.
+     * @param min    minimum centroid coordinate along split axis.
+     * @param extent extent of centroids along split axis.
+     * @return position in hierarchy order of first triangle of right child, or -1 if node must be a leaf.
+     */
+    private int splitSurfaceAreaHeuristic(final int node, final int start, final int end, final int axis,
+                                          final double min, final double extent) {
+        final var count = end - start;
+        final var binCounts = new int[SAH_BINS];
+        final var binBounds = new double[SAH_BINS * BOUNDS_LENGTH];
+        for (var b = 0; b < SAH_BINS; b++) {
+            resetBounds(binBounds, b * BOUNDS_LENGTH);
+        }
+        for (var i = start; i < end; i++) {
+            final var t = order[i];
+            final var b = bin(t, axis, min, extent);
+            binCounts[b]++;
+            for (var v = 0; v < 3; v++) {
+                expand(binBounds, b * BOUNDS_LENGTH, vertices, t * TRIANGLE_LENGTH + v * 3);
+            }
+        }
+
+        // sweep from the right to accumulate areas and counts of right sides
+        final var rightAreas = new double[SAH_BINS];
+        final var rightCounts = new int[SAH_BINS];
+        final var accumulated = new double[BOUNDS_LENGTH];
+        resetBounds(accumulated, 0);
+        var accumulatedCount = 0;
+        for (var b = SAH_BINS - 1; b > 0; b--) {
+            merge(accumulated, binBounds, b * BOUNDS_LENGTH);
+            accumulatedCount += binCounts[b];
+            rightAreas[b] = area(accumulated, 0);
+            rightCounts[b] = accumulatedCount;
+        }
+
+        // sweep from the left evaluating the cost of splitting before each bin
+        resetBounds(accumulated, 0);
+        accumulatedCount = 0;
+        var bestCost = Double.MAX_VALUE;
+        var bestBin = -1;
+        for (var b = 1; b < SAH_BINS; b++) {
+            merge(accumulated, binBounds, (b - 1) * BOUNDS_LENGTH);
+            accumulatedCount += binCounts[b - 1];
+            if (accumulatedCount == 0 || rightCounts[b] == 0) {
+                continue;
+            }
+            final var cost = area(accumulated, 0) * accumulatedCount + rightAreas[b] * rightCounts[b];
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestBin = b;
+            }
+        }
+
+        final var nodeArea = area(nodeBounds, node * BOUNDS_LENGTH);
+        final var splitCost = TRAVERSAL_COST + (nodeArea > 0.0 ? bestCost / nodeArea : count);
+        if (bestBin < 0 || (splitCost >= count && count <= MAX_LEAF_SIZE)) {
+            return -1;
+        }
+
+        // partition triangles of bins before best bin to the left
+        var i = start;
+        var j = end - 1;
+        while (i <= j) {
+            if (bin(order[i], axis, min, extent) < bestBin) {
+                i++;
+            } else {
+                swap(order, i, j--);
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Gets the surface area heuristic bin of a triangle.
+     *
+     * @param t      position of triangle in input order.
+     * @param axis   split axis.
+     * @param min    minimum centroid coordinate along split axis.
+     * @param extent extent of centroids along split axis.
+     * @return bin of triangle.
+     */
+    private int bin(final int t, final int axis, final double min, final double extent) {
+        final var b = (int) (SAH_BINS * (centroids[t * 3 + axis] - min) / extent);
+        return Math.min(b, SAH_BINS - 1);
+    }
+
+    /**
+     * Partially sorts triangles of a range so that the triangle at provided position is the one that would be
+     * there if triangles were sorted by centroid coordinate along provided axis.
+     *
+     * @param left  position of first triangle of range (inclusive).
+     * @param right position of last triangle of range (inclusive).
+     * @param k     position to be selected.
+     * @param axis  axis used to sort triangles.
+     */
+    private void select(final int left, final int right, final int k, final int axis) {
+        var l = left;
+        var r = right;
+        while (l < r) {
+            final var pivot = centroids[order[(l + r) >>> 1] * 3 + axis];
+            var i = l;
+            var j = r;
+            while (i <= j) {
+                while (centroids[order[i] * 3 + axis] < pivot) {
+                    i++;
+                }
+                while (centroids[order[j] * 3 + axis] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(order, i++, j--);
+                }
+            }
+            if (k <= j) {
+                r = j;
+            } else if (k >= i) {
+                l = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stores the coordinates of a vertex.
+     *
+     * @param t      position of triangle.
+     * @param v      position of vertex within triangle.
+     * @param vertex vertex.
+     */
+    private void setVertex(final int t, final int v, final Point3D vertex) {
+        final var offset = t * TRIANGLE_LENGTH + v * 3;
+        vertices[offset] = vertex.getInhomX();
+        vertices[offset + 1] = vertex.getInhomY();
+        vertices[offset + 2] = vertex.getInhomZ();
+    }
+
+    /**
+     * Gets squared distance of a point to the bounds of a node or zero if point is inside.
+     *
+     * @param node position of node.
+     * @param p    coordinates of point.
+     * @return squared distance.
+     */
+    private double boxSqrDistance(final int node, final double[] p) {
+        final var offset = node * BOUNDS_LENGTH;
+        var dd = 0.0;
+        for (var d = 0; d < 3; d++) {
+            final var lo = nodeBounds[offset + d];
+            final var hi = nodeBounds[offset + d + 3];
+            if (p[d] < lo) {
+                dd += (p[d] - lo) * (p[d] - lo);
+            } else if (p[d] > hi) {
+                dd += (p[d] - hi) * (p[d] - hi);
+            }
+        }
+        return dd;
+    }
+
+    /**
+     * Indicates whether the bounds of a node overlap provided bounds.
+     *
+     * @param node   position of node.
+     * @param bounds bounds to be checked.
+     * @return true if bounds overlap, false otherwise.
+     */
+    private boolean boxesOverlap(final int node, final double[] bounds) {
+        final var offset = node * BOUNDS_LENGTH;
+        for (var d = 0; d < 3; d++) {
+            if (nodeBounds[offset + d] > bounds[d + 3] || nodeBounds[offset + d + 3] < bounds[d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets ray parameter where a ray enters the bounds of a node, using the slab method.
+     *
+     * @param node      position of node.
+     * @param o         origin of the ray.
+     * @param direction direction of the ray.
+     * @param minT      minimum ray parameter.
+     * @param maxT      maximum ray parameter.
+     * @return ray parameter where ray enters node bounds within provided parameter range, or NaN if the ray does
+     * not intersect the node within such range.
+     */
+    private double rayBoxEntry(final int node, final double[] o, final double[] direction, final double minT,
+                               final double maxT) {
+        final var offset = node * BOUNDS_LENGTH;
+        var tmin = minT;
+        var tmax = maxT;
+        for (var d = 0; d < 3; d++) {
+            final var lo = nodeBounds[offset + d];
+            final var hi = nodeBounds[offset + d + 3];
+            if (direction[d] == 0.0) {
+                if (o[d] < lo || o[d] > hi) {
+                    return Double.NaN;
+                }
+                continue;
+            }
+            final var inv = 1.0 / direction[d];
+            var t1 = (lo - o[d]) * inv;
+            var t2 = (hi - o[d]) * inv;
+            if (t1 > t2) {
+                final var tmp = t1;
+                t1 = t2;
+                t2 = tmp;
+            }
+            tmin = Math.max(tmin, t1);
+            tmax = Math.min(tmax, t2);
+            if (tmin > tmax) {
+                return Double.NaN;
+            }
+        }
+        return tmin;
+    }
+
+    /**
+     * Intersects a ray with a triangle using the Möller-Trumbore algorithm.
+     *
+     * @param t         position of triangle in input order.
+     * @param o         origin of the ray.
+     * @param direction direction of the ray.
+     * @return ray parameter of intersection, or NaN if there is no intersection.
+     */
+    private double rayTriangle(final int t, final double[] o, final double[] direction) {
+        final var offset = t * TRIANGLE_LENGTH;
+        final var e1x = vertices[offset + 3] - vertices[offset];
+        final var e1y = vertices[offset + 4] - vertices[offset + 1];
+        final var e1z = vertices[offset + 5] - vertices[offset + 2];
+        final var e2x = vertices[offset + 6] - vertices[offset];
+        final var e2y = vertices[offset + 7] - vertices[offset + 1];
+        final var e2z = vertices[offset + 8] - vertices[offset + 2];
+
+        final var px = direction[1] * e2z - direction[2] * e2y;
+        final var py = direction[2] * e2x - direction[0] * e2z;
+        final var pz = direction[0] * e2y - direction[1] * e2x;
+        final var det = e1x * px + e1y * py + e1z * pz;
+        if (det == 0.0) {
+            // ray is parallel to triangle plane
+            return Double.NaN;
+        }
+        final var inv = 1.0 / det;
+
+        final var sx = o[0] - vertices[offset];
+        final var sy = o[1] - vertices[offset + 1];
+        final var sz = o[2] - vertices[offset + 2];
+        final var u = (sx * px + sy * py + sz * pz) * inv;
+        if (u < 0.0 || u > 1.0) {
+            return Double.NaN;
+        }
+
+        final var qx = sy * e1z - sz * e1y;
+        final var qy = sz * e1x - sx * e1z;
+        final var qz = sx * e1y - sy * e1x;
+        final var v = (direction[0] * qx + direction[1] * qy + direction[2] * qz) * inv;
+        if (v < 0.0 || u + v > 1.0) {
+            return Double.NaN;
+        }
+        return (e2x * qx + e2y * qy + e2z * qz) * inv;
+    }
+
+    /**
+     * Computes the point of a triangle closest to provided point, by determining the Voronoi region of the
+     * triangle where the point projects.
+     *
+     * @param t      position of triangle in input order.
+     * @param p      coordinates of point.
+     * @param result array where closest point is stored.
+     */
+    private void closestPointOnTriangle(final int t, final double[] p, final double[] result) {
+        final var a = t * TRIANGLE_LENGTH;
+        final var b = a + 3;
+        final var c = a + 6;
+        final var ab = new double[3];
+        final var ac = new double[3];
+        final var ap = new double[3];
+        final var bp = new double[3];
+        final var cp = new double[3];
+        for (var d = 0; d < 3; d++) {
+            ab[d] = vertices[b + d] - vertices[a + d];
+            ac[d] = vertices[c + d] - vertices[a + d];
+            ap[d] = p[d] - vertices[a + d];
+            bp[d] = p[d] - vertices[b + d];
+            cp[d] = p[d] - vertices[c + d];
+        }
+
+        final var abSqrNorm = dot(ab, ab);
+        final var acSqrNorm = dot(ac, ac);
+        final var abDotAc = dot(ab, ac);
+        if (abSqrNorm * acSqrNorm - abDotAc * abDotAc <= DEGENERATE_THRESHOLD * abSqrNorm * acSqrNorm) {
+            // degenerate triangle, closest point lays on one of its edges
+            closestPointOnEdges(a, ab, ac, p, result);
+            return;
+        }
+
+        final var d1 = dot(ab, ap);
+        final var d2 = dot(ac, ap);
+        if (d1 <= 0.0 && d2 <= 0.0) {
+            setPoint(result, a, 0.0, null, 0.0, null);
+            return;
+        }
+        final var d3 = dot(ab, bp);
+        final var d4 = dot(ac, bp);
+        if (d3 >= 0.0 && d4 <= d3) {
+            setPoint(result, b, 0.0, null, 0.0, null);
+            return;
+        }
+        final var vc = d1 * d4 - d3 * d2;
+        if (vc <= 0.0 && d1 >= 0.0 && d3 <= 0.0) {
+            setPoint(result, a, d1 / (d1 - d3), ab, 0.0, null);
+            return;
+        }
+        final var d5 = dot(ab, cp);
+        final var d6 = dot(ac, cp);
+        if (d6 >= 0.0 && d5 <= d6) {
+            setPoint(result, c, 0.0, null, 0.0, null);
+            return;
+        }
+        final var vb = d5 * d2 - d1 * d6;
+        if (vb <= 0.0 && d2 >= 0.0 && d6 <= 0.0) {
+            setPoint(result, a, 0.0, null, d2 / (d2 - d6), ac);
+            return;
+        }
+        final var va = d3 * d6 - d5 * d4;
+        if (va <= 0.0 && d4 - d3 >= 0.0 && d5 - d6 >= 0.0) {
+            final var bc = new double[]{ac[0] - ab[0], ac[1] - ab[1], ac[2] - ab[2]};
+            setPoint(result, b, (d4 - d3) / ((d4 - d3) + (d5 - d6)), bc, 0.0, null);
+            return;
+        }
+
+        final var denom = va + vb + vc;
+        setPoint(result, a, vb / denom, ab, vc / denom, ac);
+    }
+
+    /**
+     * Computes the point of the edges of a degenerate triangle closest to provided point.
+     *
+     * @param a      position of 1st vertex coordinates.
+     * @param ab     vector going from 1st to 2nd vertex.
+     * @param ac     vector going from 1st to 3rd vertex.
+     * @param p      coordinates of point.
+     * @param result array where closest point is stored.
+     */
+    private void closestPointOnEdges(final int a, final double[] ab, final double[] ac, final double[] p,
+                                     final double[] result) {
+        final var bc = new double[]{ac[0] - ab[0], ac[1] - ab[1], ac[2] - ab[2]};
+        final var candidate = new double[3];
+        var bestDist = Double.MAX_VALUE;
+        final int[] starts = {a, a, a + 3};
+        final double[][] edges = {ab, ac, bc};
+        for (var i = 0; i < starts.length; i++) {
+            final var edge = edges[i];
+            final var sqrLength = dot(edge, edge);
+            var s = 0.0;
+            if (sqrLength > 0.0) {
+                var proj = 0.0;
+                for (var d = 0; d < 3; d++) {
+                    proj += (p[d] - vertices[starts[i] + d]) * edge[d];
+                }
+                s = Math.max(0.0, Math.min(1.0, proj / sqrLength));
+            }
+            setPoint(candidate, starts[i], s, edge, 0.0, null);
+            final var dist = sqrDistance(p, candidate);
+            if (dist < bestDist) {
+                bestDist = dist;
+                System.arraycopy(candidate, 0, result, 0, 3);
+            }
+        }
+    }
+
+    /**
+     * Sets a point as a vertex plus a combination of two vectors.
+     *
+     * @param result array where point is stored.
+     * @param vertex position of vertex coordinates.
+     * @param s      weight of 1st vector.
+     * @param u      1st vector or null if not used.
+     * @param w      weight of 2nd vector.
+     * @param v      2nd vector or null if not used.
+     */
+    private void setPoint(final double[] result, final int vertex, final double s, final double[] u,
+                          final double w, final double[] v) {
+        for (var d = 0; d < 3; d++) {
+            var value = vertices[vertex + d];
+            if (u != null) {
+                value += s * u[d];
+            }
+            if (v != null) {
+                value += w * v[d];
+            }
+            result[d] = value;
+        }
+    }
+
+    /**
+     * Determines whether a triangle overlaps an axis-aligned box using the separating axis theorem.
+     * Tested axes are the box normals, the triangle normal and the cross products of box normals and triangle
+     * edges.
+     *
+     * @param t      position of triangle in input order.
+     * @param center center of the box.
+     * @param half   half sizes of the box.
+     * @return true if triangle and box overlap, false otherwise.
+     */
+    private boolean triangleOverlapsBox(final int t, final double[] center, final double[] half) {
+        final var offset = t * TRIANGLE_LENGTH;
+        final var v = new double[3][3];
+        for (var i = 0; i < 3; i++) {
+            for (var d = 0; d < 3; d++) {
+                v[i][d] = vertices[offset + i * 3 + d] - center[d];
+            }
+        }
+
+        // box normals
+        for (var d = 0; d < 3; d++) {
+            final var min = Math.min(v[0][d], Math.min(v[1][d], v[2][d]));
+            final var max = Math.max(v[0][d], Math.max(v[1][d], v[2][d]));
+            if (min > half[d] || max < -half[d]) {
+                return false;
+            }
+        }
+
+        // cross products of box normals and triangle edges
+        final var edges = new double[3][3];
+        for (var i = 0; i < 3; i++) {
+            for (var d = 0; d < 3; d++) {
+                edges[i][d] = v[(i + 1) % 3][d] - v[i][d];
+            }
+        }
+        final var axis = new double[3];
+        for (final var edge : edges) {
+            for (var d = 0; d < 3; d++) {
+                // cross product of unit vector along dimension d and edge
+                final var d1 = (d + 1) % 3;
+                final var d2 = (d + 2) % 3;
+                axis[d] = 0.0;
+                axis[d1] = -edge[d2];
+                axis[d2] = edge[d1];
+                if (separates(axis, v, half)) {
+                    return false;
+                }
+            }
+        }
+
+        // triangle normal
+        return !separates(cross(edges[0], edges[1]), v, half);
+    }
+
+    /**
+     * Indicates whether an axis separates a triangle and a box centered at the origin.
+     *
+     * @param axis axis to be checked.
+     * @param v    triangle vertices relative to box center.
+     * @param half half sizes of the box.
+     * @return true if axis separates triangle and box, false otherwise.
+     */
+    private static boolean separates(final double[] axis, final double[][] v, final double[] half) {
+        final var p0 = dot(axis, v[0]);
+        final var p1 = dot(axis, v[1]);
+        final var p2 = dot(axis, v[2]);
+        final var r = half[0] * Math.abs(axis[0]) + half[1] * Math.abs(axis[1]) + half[2] * Math.abs(axis[2]);
+        return Math.min(p0, Math.min(p1, p2)) > r || Math.max(p0, Math.max(p1, p2)) < -r;
+    }
+
+    /**
+     * Checks that a ray direction is valid.
+     *
+     * @param direction direction to be checked.
+     * @throws IllegalArgumentException if direction does not have length 3 or is zero.
+     */
+    private static void checkDirection(final double[] direction) {
+        if (direction.length != 3 || dot(direction, direction) == 0.0) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Checks parameters of queries returning a list of triangles.
+     *
+     * @param list list where results are stored.
+     * @param nmax maximum number of results.
+     * @throws IllegalArgumentException if maximum number of results is zero or negative, or list is not large
+     *                                  enough.
+     */
+    private static void checkList(final int[] list, final int nmax) {
+        if (nmax <= 0) {
+            throw new IllegalArgumentException("number of points to search must be at least 1");
+        }
+        if (list.length < nmax) {
+            throw new IllegalArgumentException("result might not fit into provided list");
+        }
+    }
+
+    /**
+     * Resets bounds so that they are empty.
+     *
+     * @param bounds array containing bounds.
+     * @param offset position of bounds.
+     */
+    private static void resetBounds(final double[] bounds, final int offset) {
+        for (var d = 0; d < 3; d++) {
+            bounds[offset + d] = Double.MAX_VALUE;
+            bounds[offset + d + 3] = -Double.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Expands bounds so that they contain a point.
+     *
+     * @param bounds      array containing bounds.
+     * @param offset      position of bounds.
+     * @param point       array containing point coordinates.
+     * @param pointOffset position of point coordinates.
+     */
+    private static void expand(final double[] bounds, final int offset, final double[] point,
+                               final int pointOffset) {
+        for (var d = 0; d < 3; d++) {
+            final var value = point[pointOffset + d];
+            bounds[offset + d] = Math.min(bounds[offset + d], value);
+            bounds[offset + d + 3] = Math.max(bounds[offset + d + 3], value);
+        }
+    }
+
+    /**
+     * Expands bounds so that they contain other bounds.
+     *
+     * @param bounds      bounds to be expanded, stored at position zero.
+     * @param other       array containing bounds to be merged.
+     * @param otherOffset position of bounds to be merged.
+     */
+    private static void merge(final double[] bounds, final double[] other, final int otherOffset) {
+        expand(bounds, 0, other, otherOffset);
+        expand(bounds, 0, other, otherOffset + 3);
+    }
+
+    /**
+     * Gets surface area of bounds, or zero if bounds are empty.
+     *
+     * @param bounds array containing bounds.
+     * @param offset position of bounds.
+     * @return surface area.
+     */
+    private static double area(final double[] bounds, final int offset) {
+        final var dx = bounds[offset + 3] - bounds[offset];
+        final var dy = bounds[offset + 4] - bounds[offset + 1];
+        final var dz = bounds[offset + 5] - bounds[offset + 2];
+        if (dx < 0.0 || dy < 0.0 || dz < 0.0) {
+            return 0.0;
+        }
+        return 2.0 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    /**
+     * Gets squared distance between two points.
+     *
+     * @param a 1st point.
+     * @param b 2nd point.
+     * @return squared distance.
+     */
+    private static double sqrDistance(final double[] a, final double[] b) {
+        var result = 0.0;
+        for (var d = 0; d < 3; d++) {
+            final var diff = a[d] - b[d];
+            result += diff * diff;
+        }
+        return result;
+    }
+
+    /**
+     * Computes dot product of two vectors.
+     *
+     * @param a 1st vector.
+     * @param b 2nd vector.
+     * @return dot product.
+     */
+    private static double dot(final double[] a, final double[] b) {
+        return a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+    }
+
+    /**
+     * Computes cross product of two vectors.
+     *
+     * @param a 1st vector.
+     * @param b 2nd vector.
+     * @return cross product.
+     */
+    private static double[] cross(final double[] a, final double[] b) {
+        return new double[]{a[1] * b[2] - a[2] * b[1], a[2] * b[0] - a[0] * b[2], a[0] * b[1] - a[1] * b[0]};
+    }
+
+    /**
+     * Stores a value in a stack, growing it if needed.
+     *
+     * @param stack    stack.
+     * @param position position where value is stored.
+     * @param value    value to be stored.
+     * @return provided stack or a larger copy of it.
+     */
+    private static int[] push(final int[] stack, final int position, final int value) {
+        var result = stack;
+        if (position == stack.length) {
+            result = new int[2 * stack.length];
+            System.arraycopy(stack, 0, result, 0, stack.length);
+        }
+        result[position] = value;
+        return result;
+    }
+
+    /**
+     * Swaps values.
+     *
+     * @param a    array containing values to swap.
+     * @param posA 1st position to be swapped.
+     * @param posB 2nd position to be swapped.
+     */
+    private static void swap(final int[] a, final int posA, final int posB) {
+        final var tmp = a[posA];
+        a[posA] = a[posB];
+        a[posB] = tmp;
+    }
+
+    /**
+     * Task building a subtree, splitting it into two concurrent subtasks while it contains at least
+     * {@link #DEFAULT_PARALLEL_THRESHOLD} triangles.
+     */
+    private class BuildTask extends RecursiveAction {
+
+        /**
+         * Position of root node of subtree.
+         */
+        private final int node;
+
+        /**
+         * Position in hierarchy order of first triangle of subtree.
+         */
+        private final int start;
+
+        /**
+         * Position in hierarchy order after last triangle of subtree.
+         */
+        private final int end;
+
+        /**
+         * Constructor.
+         *
+         * @param node  position of root node of subtree.
+         * @param start position in hierarchy order of first triangle of subtree.
+         * @param end   position in hierarchy order after last triangle of subtree.
+         */
+        BuildTask(final int node, final int start, final int end) {
+            this.node = node;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Builds the subtree.
+         */
+        @Override
+        protected void compute() {
+            if (end - start < DEFAULT_PARALLEL_THRESHOLD) {
+                buildSubtree(node, start, end);
+                return;
+            }
+
+            final var mid = split(node, start, end);
+            if (mid >= 0) {
+                invokeAll(new BuildTask(node + 1, start, mid), new BuildTask(nodeRight[node], mid, end));
+            }
+        }
+    }
+}
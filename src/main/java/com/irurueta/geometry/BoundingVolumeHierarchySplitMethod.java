@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+/**
+ * This enumeration defines methods to split nodes of a bounding volume hierarchy.
+ */
+public enum BoundingVolumeHierarchySplitMethod {
+    /**
+     * Splits nodes at the plane minimizing the surface area heuristic cost among a set of evenly spaced
+     * candidate planes. Produces faster queries at the expense of a slightly slower build.
+     */
+    SURFACE_AREA_HEURISTIC,
+
+    /**
+     * Splits nodes at the median of triangle centroids along the axis of largest extent.
+     */
+    MEDIAN
+}
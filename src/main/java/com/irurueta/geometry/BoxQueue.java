@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.irurueta.geometry;
+
+import java.util.Arrays;
+
+/**
+ * Priority queue of k-D tree boxes sorted by increasing distance to a query point.
+ * This is used to visit boxes in best-first order during approximate nearest neighbour searches, so that the
+ * closest boxes are visited first when the number of visited boxes is bounded.
+ * Queues can be cleared and reused for several searches without allocating memory.
+ */
+final class BoxQueue {
+
+    /**
+     * Initial capacity of the queue.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Positions of queued boxes, stored as a binary min-heap on their distances.
+     */
+    private int[] boxes = new int[INITIAL_CAPACITY];
+
+    /**
+     * Distances of queued boxes.
+     */
+    private double[] distances = new double[INITIAL_CAPACITY];
+
+    /**
+     * Number of queued boxes.
+     */
+    private int size;
+
+    /**
+     * Removes all queued boxes.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Indicates whether queue is empty.
+     *
+     * @return true if queue is empty, false otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets number of queued boxes.
+     *
+     * @return number of queued boxes.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a box to the queue.
+     *
+     * @param box      position of box.
+     * @param distance distance of box to query point.
+     */
+    void push(final int box, final double distance) {
+        if (size == boxes.length) {
+            boxes = Arrays.copyOf(boxes, 2 * size);
+            distances = Arrays.copyOf(distances, 2 * size);
+        }
+
+        // sift up
+        var j = size++;
+        while (j > 0) {
+            final var parent = (j - 1) >> 1;
+            if (distances[parent] <= distance) {
+                break;
+            }
+            boxes[j] = boxes[parent];
+            distances[j] = distances[parent];
+            j = parent;
+        }
+        boxes[j] = box;
+        distances[j] = distance;
+    }
+
+    /**
+     * Gets distance of closest queued box.
+     *
+     * @return distance of closest queued box.
+     */
+    double peekDistance() {
+        return distances[0];
+    }
+
+    /**
+     * Removes closest queued box.
+     *
+     * @return position of removed box.
+     */
+    int pop() {
+        final var result = boxes[0];
+        final var n = --size;
+        final var box = boxes[n];
+        final var distance = distances[n];
+
+        // sift down
+        var j = 0;
+        var child = 1;
+        while (child < n) {
+            if (child + 1 < n && distances[child + 1] < distances[child]) {
+                child++;
+            }
+            if (distance <= distances[child]) {
+                break;
+            }
+            boxes[j] = boxes[child];
+            distances[j] = distances[child];
+            j = child;
+            child = 2 * j + 1;
+        }
+        boxes[j] = box;
+        distances[j] = distance;
+        return result;
+    }
+}
@@ -71,12 +71,85 @@ public abstract class Camera {
      * @param result      Instance where 2D projected points are stored.
      */
     public void project(final List<Point3D> inputPoints, final List<Point2D> result) {
+        if (inputPoints instanceof PointCloud3D.PointList inputList
+                && result instanceof PointCloud2D.PointList resultList) {
+            project(inputList.getCloud(), resultList.getCloud());
+            return;
+        }
+
         result.clear();
         for (final var point : inputPoints) {
             result.add(project(point));
         }
     }
 
+    /**
+     * Projects all points of provided 3D point cloud into a 2D point cloud in
+     * a retinal plane.
+     *
+     * @param inputPoints 3D point cloud to be projected.
+     * @return 2D projected point cloud.
+     */
+    public PointCloud2D project(final PointCloud3D inputPoints) {
+        final var projected = new PointCloud2D(inputPoints.size());
+        project(inputPoints, projected);
+        return projected;
+    }
+
+    /**
+     * Projects all points of provided 3D point cloud into a 2D point cloud in
+     * a retinal plane and stores the result into provided instance.
+     * Note that if result point cloud is not empty, it will be cleared when
+     * calling this method.
+     *
+     * @param inputPoints 3D point cloud to be projected.
+     * @param result      instance where 2D projected points are stored.
+     */
+    public void project(final PointCloud3D inputPoints, final PointCloud2D result) {
+        final var n = inputPoints.size();
+        result.clear();
+        result.ensureCapacity(n);
+
+        final var point3D = new InhomogeneousPoint3D();
+        final var point2D = new InhomogeneousPoint2D();
+        for (var i = 0; i < n; i++) {
+            inputPoints.getPoint(i, point3D);
+            project(point3D, point2D);
+            result.add(point2D.getX(), point2D.getY());
+        }
+    }
+
+    /**
+     * Projects a block of consecutive points of provided 3D point buffer into
+     * a 2D point cloud in a retinal plane and stores the result into provided
+     * instance.
+     * Large point buffers (i.e. memory mapped files) can be projected by
+     * streaming consecutive blocks of points.
+     * Note that if result point cloud is not empty, it will be cleared when
+     * calling this method.
+     *
+     * @param inputPoints 3D point buffer containing points to be projected.
+     * @param fromIndex   position of first point to be projected.
+     * @param count       number of points to be projected.
+     * @param result      instance where 2D projected points are stored.
+     * @throws IndexOutOfBoundsException if requested block is not within
+     *                                   provided point buffer.
+     */
+    public void project(final PointBuffer3D inputPoints, final long fromIndex, final int count,
+                        final PointCloud2D result) {
+        inputPoints.checkRange(fromIndex, count);
+        result.clear();
+        result.ensureCapacity(count);
+
+        final var point3D = new InhomogeneousPoint3D();
+        final var point2D = new InhomogeneousPoint2D();
+        for (var i = 0; i < count; i++) {
+            inputPoints.getPoint(fromIndex + i, point3D);
+            project(point3D, point2D);
+            result.add(point2D.getX(), point2D.getY());
+        }
+    }
+
     /**
      * Back-projects a 2D line into a 3D plane.
      *
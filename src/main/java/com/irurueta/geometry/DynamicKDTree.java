@@ -0,0 +1,896 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.irurueta.geometry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of a k-D tree in an arbitrary dimension supporting insertion and removal of points.
+ * This is a scapegoat k-D tree: each node stores a single point, points are inserted as new leaves, and whenever
+ * an insertion makes the tree too deep, the smallest unbalanced subtree containing the new point is rebuilt as a
+ * perfectly balanced tree. Removed points are only marked as such, and the whole tree is rebuilt once removed
+ * points outnumber the remaining ones. Hence, insertions and removals have amortized logarithmic cost and the tree
+ * never needs to be rebuilt from scratch when points are added.
+ * Nodes are stored in flat primitive arrays indexed by point index, which is the value returned when a point is
+ * added. Indices of removed points can be reused by later insertions.
+ *
+ * @param <P> type of point.
+ */
+public abstract class DynamicKDTree<P extends Point<P>> {
+
+    /**
+     * Weight balance factor of the tree. A subtree is considered to be unbalanced when any of its children contains
+     * more than this fraction of its nodes.
+     */
+    public static final double ALPHA = 0.7;
+
+    /**
+     * Default initial capacity.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Value indicating absence of a node.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Number of dimensions of stored points.
+     */
+    private final int dim;
+
+    /**
+     * Stored points indexed by point index. Removed positions contain null.
+     */
+    private final List<P> pts = new ArrayList<>();
+
+    /**
+     * Coordinates of points. Coordinate of dimension d for point at index i is stored at position i * dim + d.
+     */
+    private double[] coords;
+
+    /**
+     * Position of left child of each node.
+     */
+    private int[] left;
+
+    /**
+     * Position of right child of each node.
+     */
+    private int[] right;
+
+    /**
+     * Dimension used to split each node.
+     */
+    private int[] splitDim;
+
+    /**
+     * Number of nodes (including removed ones still in the tree) of the subtree of each node.
+     */
+    private int[] subtreeSize;
+
+    /**
+     * Indicates whether each node has been removed but is still linked in the tree.
+     */
+    private boolean[] removed;
+
+    /**
+     * Indices of nodes that are no longer linked in the tree and can be reused.
+     */
+    private int[] free;
+
+    /**
+     * Number of indices that can be reused.
+     */
+    private int nFree;
+
+    /**
+     * Position of root node or NONE if tree is empty.
+     */
+    private int root = NONE;
+
+    /**
+     * Number of nodes linked in the tree, including removed ones.
+     */
+    private int nNodes;
+
+    /**
+     * Number of stored points, excluding removed ones.
+     */
+    private int nPts;
+
+    /**
+     * Path of nodes visited during last insertion.
+     */
+    private int[] path = new int[DEFAULT_CAPACITY];
+
+    /**
+     * Constructor.
+     *
+     * @param dim number of dimensions of points.
+     */
+    protected DynamicKDTree(final int dim) {
+        this.dim = dim;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     * Provided points are added as a single perfectly balanced tree, and their indices are their positions in the
+     * collection.
+     *
+     * @param pts collection of points to store in the tree.
+     * @param dim number of dimensions of points.
+     */
+    protected DynamicKDTree(final Collection<P> pts, final int dim) {
+        this.dim = dim;
+        allocate(Math.max(DEFAULT_CAPACITY, pts.size()));
+        for (final var pt : pts) {
+            final var index = this.pts.size();
+            this.pts.add(pt);
+            setCoordinates(index, pt);
+        }
+        nPts = nNodes = pts.size();
+
+        final var nodes = new int[nPts];
+        for (var i = 0; i < nPts; i++) {
+            nodes[i] = i;
+        }
+        root = build(nodes, 0, nPts, 0);
+    }
+
+    /**
+     * Gets number of dimensions supported by this k-D tree implementation.
+     *
+     * @return number of dimensions.
+     */
+    public int getDimensions() {
+        return dim;
+    }
+
+    /**
+     * Gets number of stored points.
+     *
+     * @return number of stored points.
+     */
+    public int size() {
+        return nPts;
+    }
+
+    /**
+     * Indicates whether this tree contains no points.
+     *
+     * @return true if tree is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return nPts == 0;
+    }
+
+    /**
+     * Gets height of the tree, which is the number of nodes of its longest path from root to a leaf.
+     *
+     * @return height of the tree or zero if empty.
+     */
+    public int getHeight() {
+        return height(root);
+    }
+
+    /**
+     * Indicates whether a point with provided index is stored in this tree.
+     *
+     * @param index index of point.
+     * @return true if point is stored, false otherwise.
+     */
+    public boolean contains(final int index) {
+        return index >= 0 && index < pts.size() && pts.get(index) != null && !removed[index];
+    }
+
+    /**
+     * Gets point having provided index.
+     *
+     * @param index index of point.
+     * @return point.
+     * @throws IllegalArgumentException if no point with provided index is stored.
+     */
+    public P getPoint(final int index) {
+        if (!contains(index)) {
+            throw new IllegalArgumentException();
+        }
+        return pts.get(index);
+    }
+
+    /**
+     * Adds a point to this tree.
+     *
+     * @param pt point to be added.
+     * @return index assigned to added point.
+     * @throws IllegalArgumentException if point is null.
+     */
+    public int add(final P pt) {
+        if (pt == null) {
+            throw new IllegalArgumentException();
+        }
+
+        final int index;
+        if (nFree > 0) {
+            index = free[--nFree];
+            pts.set(index, pt);
+        } else {
+            index = pts.size();
+            ensureCapacity(index + 1);
+            pts.add(pt);
+        }
+        setCoordinates(index, pt);
+        left[index] = NONE;
+        right[index] = NONE;
+        subtreeSize[index] = 1;
+        removed[index] = false;
+        nPts++;
+        nNodes++;
+
+        if (root == NONE) {
+            root = index;
+            splitDim[index] = 0;
+            return index;
+        }
+
+        // descend to the leaf where point is inserted
+        var depth = 0;
+        var node = root;
+        while (true) {
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, 2 * path.length);
+            }
+            path[depth++] = node;
+            subtreeSize[node]++;
+
+            final var d = splitDim[node];
+            if (coords[index * dim + d] < coords[node * dim + d]) {
+                if (left[node] == NONE) {
+                    left[node] = index;
+                    break;
+                }
+                node = left[node];
+            } else {
+                if (right[node] == NONE) {
+                    right[node] = index;
+                    break;
+                }
+                node = right[node];
+            }
+        }
+        splitDim[index] = (splitDim[node] + 1) % dim;
+
+        // rebuild the deepest unbalanced ancestor if tree has become too deep
+        if (depth > maxDepth()) {
+            var child = index;
+            for (var i = depth - 1; i >= 0; i--) {
+                final var ancestor = path[i];
+                if (subtreeSize[child] > ALPHA * subtreeSize[ancestor]) {
+                    rebuild(i);
+                    break;
+                }
+                child = ancestor;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Removes point having provided index.
+     *
+     * @param index index of point to be removed.
+     * @return true if point was removed, false if no point with provided index was stored.
+     */
+    public boolean remove(final int index) {
+        if (!contains(index)) {
+            return false;
+        }
+
+        removed[index] = true;
+        nPts--;
+        if (nNodes - nPts > nPts) {
+            // removed points outnumber remaining ones
+            final var nodes = new int[nNodes];
+            final var n = collect(root, nodes, 0);
+            root = build(nodes, 0, n, 0);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all points from this tree.
+     * Capacity is preserved so that the tree can be refilled without allocating memory.
+     */
+    public void clear() {
+        pts.clear();
+        root = NONE;
+        nNodes = 0;
+        nPts = 0;
+        nFree = 0;
+    }
+
+    /**
+     * Gets distance between points having provided indices.
+     *
+     * @param jpt index of 1st point.
+     * @param kpt index of 2nd point.
+     * @return distance between points or {@link KDTree#BIG} if indices are equal.
+     * @throws IllegalArgumentException if any point is not stored.
+     */
+    public double distance(final int jpt, final int kpt) {
+        if (!contains(jpt) || !contains(kpt)) {
+            throw new IllegalArgumentException();
+        }
+        if (jpt == kpt) {
+            return KDTree.BIG;
+        }
+
+        var d = 0.0;
+        for (var j = 0; j < dim; j++) {
+            final var diff = coords[jpt * dim + j] - coords[kpt * dim + j];
+            d += diff * diff;
+        }
+        return Math.sqrt(d);
+    }
+
+    /**
+     * Index of stored point closest to provided one.
+     *
+     * @param pt point to check against. Does not need to be contained in the tree.
+     * @return index of closest point or -1 if tree is empty.
+     */
+    public int nearestIndex(final P pt) {
+        return nearestIndex(toCoordinates(pt));
+    }
+
+    /**
+     * Index of stored point closest to provided point coordinates.
+     *
+     * @param pt inhomogeneous coordinates of point to check against.
+     * @return index of closest point or -1 if tree is empty.
+     * @throws IllegalArgumentException if length of coordinates does not match tree dimensions.
+     */
+    public int nearestIndex(final double[] pt) {
+        checkCoordinates(pt);
+        if (nPts == 0) {
+            return NONE;
+        }
+
+        final var heap = new double[]{KDTree.BIG};
+        final var ndx = new int[]{NONE};
+        nNearest(root, pt, heap, ndx, 1);
+        return ndx[0];
+    }
+
+    /**
+     * Closest stored point to provided one.
+     *
+     * @param pt point to be checked. Does not need to be contained in the tree.
+     * @return closest point or null if tree is empty.
+     */
+    public P nearestPoint(final P pt) {
+        final var index = nearestIndex(pt);
+        return index != NONE ? pts.get(index) : null;
+    }
+
+    /**
+     * Gets n nearest point indices to a given point.
+     * Results are sorted by increasing distance.
+     *
+     * @param pt point to search nearest ones for. Does not need to be contained in the tree.
+     * @param nn array containing resulting indices of nearest points.
+     * @param dn array containing resulting distances to nearest points.
+     * @param n  number of nearest points to find.
+     * @throws IllegalArgumentException if number of nearest points is invalid or if length of arrays
+     *                                  containing results are not valid either.
+     */
+    public void nNearest(final P pt, final int[] nn, final double[] dn, final int n) {
+        nNearest(toCoordinates(pt), nn, dn, n);
+    }
+
+    /**
+     * Gets n nearest point indices to given point coordinates.
+     * Results are sorted by increasing distance.
+     *
+     * @param pt inhomogeneous coordinates of point to search nearest ones for.
+     * @param nn array containing resulting indices of nearest points.
+     * @param dn array containing resulting distances to nearest points.
+     * @param n  number of nearest points to find.
+     * @throws IllegalArgumentException if number of nearest points is invalid, if length of arrays containing
+     *                                  results are not valid either, or if length of coordinates does not
+     *                                  match tree dimensions.
+     */
+    public void nNearest(final double[] pt, final int[] nn, final double[] dn, final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("no neighbours requested");
+        }
+        if (n > nPts) {
+            throw new IllegalArgumentException("too many neighbours requested");
+        }
+        if (nn.length != n || dn.length != n) {
+            throw new IllegalArgumentException("invalid result array lengths");
+        }
+        checkCoordinates(pt);
+        if (n == 0) {
+            return;
+        }
+
+        // squared distances are stored in heap while searching
+        Arrays.fill(dn, KDTree.BIG);
+        nNearest(root, pt, dn, nn, n);
+
+        // sort heap by increasing distance
+        for (var i = n - 1; i > 0; i--) {
+            final var tmpHeap = dn[0];
+            dn[0] = dn[i];
+            dn[i] = tmpHeap;
+            final var tmpNdx = nn[0];
+            nn[0] = nn[i];
+            nn[i] = tmpNdx;
+            siftDown(dn, nn, i);
+        }
+        for (var i = 0; i < n; i++) {
+            dn[i] = Math.sqrt(dn[i]);
+        }
+    }
+
+    /**
+     * Gets n nearest points to a given point.
+     * Results are sorted by increasing distance.
+     *
+     * @param pt point to search nearest ones for. Does not need to be contained in the tree.
+     * @param pn array containing nearest points up to the number of found points.
+     * @param dn array containing resulting distances to nearest points.
+     * @param n  number of nearest points to find.
+     * @throws IllegalArgumentException if number of nearest points is invalid or if length of arrays
+     *                                  containing results are not valid either.
+     */
+    public void nNearest(final P pt, final P[] pn, final double[] dn, final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("no neighbours requested");
+        }
+
+        final var nn = new int[n];
+
+        nNearest(pt, nn, dn, n);
+
+        for (var i = 0; i < n; i++) {
+            pn[i] = pts.get(nn[i]);
+        }
+    }
+
+    /**
+     * Locates some near points to provided one up to a certain radius of search.
+     * This method only returns up to nmax results, which means that not all points within required
+     * radius are returned if more points than provided nmax value are within such radius.
+     *
+     * @param pt   point to search nearby.
+     * @param r    radius of search.
+     * @param list list where indices of found points are stored up to the number of found points.
+     * @param nmax maximum number of points to search.
+     * @return number of found points.
+     * @throws IllegalArgumentException if radius is negative or maximum number of points to search is zero or negative,
+     *                                  or list where indices are stored is not large enough.
+     */
+    public int locateNear(final P pt, final double r, final int[] list, final int nmax) {
+        return locateNear(toCoordinates(pt), r, list, nmax);
+    }
+
+    /**
+     * Locates some near points to provided point coordinates up to a certain radius of search.
+     * This method only returns up to nmax results, which means that not all points within required
+     * radius are returned if more points than provided nmax value are within such radius.
+     *
+     * @param pt   inhomogeneous coordinates of point to search nearby.
+     * @param r    radius of search.
+     * @param list list where indices of found points are stored up to the number of found points.
+     * @param nmax maximum number of points to search.
+     * @return number of found points.
+     * @throws IllegalArgumentException if radius is negative or maximum number of points to search is zero or negative,
+     *                                  list where indices are stored is not large enough, or length of coordinates
+     *                                  does not match tree dimensions.
+     */
+    public int locateNear(final double[] pt, final double r, final int[] list, final int nmax) {
+        if (r < 0.0) {
+            throw new IllegalArgumentException("radius must be non-negative");
+        }
+        if (nmax <= 0) {
+            throw new IllegalArgumentException("number of points to search must be at least 1");
+        }
+        if (list.length < nmax) {
+            throw new IllegalArgumentException("result might not fit into provided list");
+        }
+        checkCoordinates(pt);
+
+        return locateNear(root, pt, r, r * r, list, 0, nmax);
+    }
+
+    /**
+     * Locates near points to provided one up to a certain radius of search.
+     *
+     * @param pt    point to search nearby.
+     * @param r     radius of search.
+     * @param plist list where found points are stored up to the number of found points.
+     * @param nmax  maximum number of points to search.
+     * @return number of found points.
+     * @throws IllegalArgumentException if radius is negative or maximum number of points to search is zero or negative,
+     *                                  or list where points are stored is not large enough.
+     */
+    public int locateNear(final P pt, final double r, final P[] plist, final int nmax) {
+        if (r < 0.0) {
+            throw new IllegalArgumentException("radius must be non-negative");
+        }
+        if (nmax <= 0) {
+            throw new IllegalArgumentException("number of points to search must be at least 1");
+        }
+        if (plist.length < nmax) {
+            throw new IllegalArgumentException("result might not fit into provided list");
+        }
+
+        final var list = new int[nmax];
+        final var result = locateNear(pt, r, list, nmax);
+
+        for (var i = 0; i < result; i++) {
+            plist[i] = pts.get(list[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Searches nearest points in the subtree of provided node, keeping them in a max-heap of squared distances.
+     *
+     * @param node position of root node of subtree.
+     * @param pt   coordinates of query point.
+     * @param heap heap of squared distances.
+     * @param ndx  heap of indices.
+     * @param n    number of nearest points to find.
+     */
+    private void nNearest(final int node, final double[] pt, final double[] heap, final int[] ndx, final int n) {
+        if (node == NONE) {
+            return;
+        }
+
+        if (!removed[node]) {
+            final var d = sqrDistance(node, pt);
+            if (d < heap[0]) {
+                heap[0] = d;
+                ndx[0] = node;
+                if (n > 1) {
+                    siftDown(heap, ndx, n);
+                }
+            }
+        }
+
+        final var diff = pt[splitDim[node]] - coords[node * dim + splitDim[node]];
+        final var near = diff < 0.0 ? left[node] : right[node];
+        final var far = diff < 0.0 ? right[node] : left[node];
+        nNearest(near, pt, heap, ndx, n);
+        if (diff * diff < heap[0]) {
+            nNearest(far, pt, heap, ndx, n);
+        }
+    }
+
+    /**
+     * Locates points in the subtree of provided node within a certain radius.
+     *
+     * @param node position of root node of subtree.
+     * @param pt   coordinates of query point.
+     * @param r    radius of search.
+     * @param r2   squared radius of search.
+     * @param list list where indices of found points are stored.
+     * @param nret number of points found so far.
+     * @param nmax maximum number of points to search.
+     * @return number of points found so far.
+     */
+    private int locateNear(final int node, final double[] pt, final double r, final double r2, final int[] list,
+                           final int nret, final int nmax) {
+        if (node == NONE || nret == nmax) {
+            return nret;
+        }
+
+        var result = nret;
+        if (!removed[node] && sqrDistance(node, pt) <= r2) {
+            list[result++] = node;
+        }
+
+        final var diff = pt[splitDim[node]] - coords[node * dim + splitDim[node]];
+        if (diff - r <= 0.0) {
+            result = locateNear(left[node], pt, r, r2, list, result, nmax);
+        }
+        if (diff + r >= 0.0) {
+            result = locateNear(right[node], pt, r, r2, list, result, nmax);
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds as a perfectly balanced tree the subtree of the node at provided position of the path of last
+     * insertion. Removed nodes contained in the subtree are discarded.
+     *
+     * @param pathPos position of root node of subtree in the insertion path.
+     */
+    private void rebuild(final int pathPos) {
+        final var node = path[pathPos];
+        final var size = subtreeSize[node];
+        final var nodes = new int[size];
+        final var n = collect(node, nodes, 0);
+        final var subtree = build(nodes, 0, n, splitDim[node]);
+
+        // update ancestors
+        final var discarded = size - n;
+        for (var i = 0; i < pathPos; i++) {
+            subtreeSize[path[i]] -= discarded;
+        }
+        if (pathPos == 0) {
+            root = subtree;
+        } else {
+            final var mom = path[pathPos - 1];
+            if (left[mom] == node) {
+                left[mom] = subtree;
+            } else {
+                right[mom] = subtree;
+            }
+        }
+    }
+
+    /**
+     * Collects the non-removed nodes of the subtree of provided node, and releases removed ones so that their
+     * indices can be reused.
+     *
+     * @param node   position of root node of subtree.
+     * @param nodes  array where positions of collected nodes are stored.
+     * @param offset position where next collected node is stored.
+     * @return position after last collected node.
+     */
+    private int collect(final int node, final int[] nodes, final int offset) {
+        if (node == NONE) {
+            return offset;
+        }
+
+        var result = collect(left[node], nodes, offset);
+        if (removed[node]) {
+            release(node);
+        } else {
+            nodes[result++] = node;
+        }
+        return collect(right[node], nodes, result);
+    }
+
+    /**
+     * Builds a perfectly balanced subtree containing provided nodes, splitting at the median of each level.
+     *
+     * @param nodes positions of nodes.
+     * @param from  position of first node (inclusive).
+     * @param to    position of last node (exclusive).
+     * @param d     split dimension of root node of subtree.
+     * @return position of root node of built subtree or NONE if there are no nodes.
+     */
+    private int build(final int[] nodes, final int from, final int to, final int d) {
+        if (from >= to) {
+            return NONE;
+        }
+
+        final var mid = (from + to) >>> 1;
+        select(nodes, from, to - 1, mid, d);
+        final var node = nodes[mid];
+        final var next = (d + 1) % dim;
+        splitDim[node] = d;
+        left[node] = build(nodes, from, mid, next);
+        right[node] = build(nodes, mid + 1, to, next);
+        subtreeSize[node] = to - from;
+        return node;
+    }
+
+    /**
+     * Rearranges nodes so that the node at position k has the k-th smallest coordinate of provided dimension, nodes
+     * before it have smaller or equal coordinates and nodes after it have greater or equal coordinates.
+     *
+     * @param nodes positions of nodes.
+     * @param lo    position of first node (inclusive).
+     * @param hi    position of last node (inclusive).
+     * @param k     position to be selected.
+     * @param d     dimension used to compare nodes.
+     */
+    private void select(final int[] nodes, final int lo, final int hi, final int k, final int d) {
+        var l = lo;
+        var h = hi;
+        while (l < h) {
+            final var pivot = coords[nodes[(l + h) >>> 1] * dim + d];
+            var i = l;
+            var j = h;
+            while (i <= j) {
+                while (coords[nodes[i] * dim + d] < pivot) {
+                    i++;
+                }
+                while (coords[nodes[j] * dim + d] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    final var tmp = nodes[i];
+                    nodes[i++] = nodes[j];
+                    nodes[j--] = tmp;
+                }
+            }
+            if (k <= j) {
+                h = j;
+            } else if (k >= i) {
+                l = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Releases a node so that its index can be reused.
+     *
+     * @param node position of node.
+     */
+    private void release(final int node) {
+        pts.set(node, null);
+        removed[node] = false;
+        nNodes--;
+        if (nFree == free.length) {
+            free = Arrays.copyOf(free, 2 * free.length);
+        }
+        free[nFree++] = node;
+    }
+
+    /**
+     * Gets maximum allowed depth of insertion paths for current number of nodes.
+     *
+     * @return maximum allowed depth.
+     */
+    private int maxDepth() {
+        return (int) (Math.log(nNodes) / Math.log(1.0 / ALPHA)) + 1;
+    }
+
+    /**
+     * Gets height of subtree of provided node.
+     *
+     * @param node position of root node of subtree.
+     * @return height of subtree.
+     */
+    private int height(final int node) {
+        if (node == NONE) {
+            return 0;
+        }
+        return 1 + Math.max(height(left[node]), height(right[node]));
+    }
+
+    /**
+     * Gets squared distance between a stored point and provided coordinates.
+     *
+     * @param node index of stored point.
+     * @param pt   coordinates to compare against.
+     * @return squared distance.
+     */
+    private double sqrDistance(final int node, final double[] pt) {
+        var d = 0.0;
+        for (int j = 0, offset = node * dim; j < dim; j++, offset++) {
+            final var diff = coords[offset] - pt[j];
+            d += diff * diff;
+        }
+        return d;
+    }
+
+    /**
+     * Stores coordinates of provided point.
+     *
+     * @param index index of point.
+     * @param pt    point.
+     */
+    private void setCoordinates(final int index, final P pt) {
+        for (var j = 0; j < dim; j++) {
+            coords[index * dim + j] = pt.getInhomogeneousCoordinate(j);
+        }
+    }
+
+    /**
+     * Gets inhomogeneous coordinates of provided point.
+     *
+     * @param pt point.
+     * @return inhomogeneous coordinates.
+     */
+    private double[] toCoordinates(final P pt) {
+        final var result = new double[dim];
+        for (var i = 0; i < dim; i++) {
+            result[i] = pt.getInhomogeneousCoordinate(i);
+        }
+        return result;
+    }
+
+    /**
+     * Checks that provided coordinates have tree dimensions.
+     *
+     * @param pt coordinates to be checked.
+     * @throws IllegalArgumentException if length of coordinates does not match tree dimensions.
+     */
+    private void checkCoordinates(final double[] pt) {
+        if (pt.length != dim) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Allocates internal arrays.
+     *
+     * @param capacity number of nodes that can be stored.
+     */
+    private void allocate(final int capacity) {
+        coords = new double[capacity * dim];
+        left = new int[capacity];
+        right = new int[capacity];
+        splitDim = new int[capacity];
+        subtreeSize = new int[capacity];
+        removed = new boolean[capacity];
+        free = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Ensures that internal arrays can store at least provided number of nodes.
+     *
+     * @param capacity minimum required capacity.
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= left.length) {
+            return;
+        }
+
+        final var newCapacity = Math.max(capacity, left.length + (left.length >> 1));
+        coords = Arrays.copyOf(coords, newCapacity * dim);
+        left = Arrays.copyOf(left, newCapacity);
+        right = Arrays.copyOf(right, newCapacity);
+        splitDim = Arrays.copyOf(splitDim, newCapacity);
+        subtreeSize = Arrays.copyOf(subtreeSize, newCapacity);
+        removed = Arrays.copyOf(removed, newCapacity);
+    }
+
+    /**
+     * Moves things around.
+     *
+     * @param heap array of distances.
+     * @param ndx  array of indices.
+     * @param nn   number of indices to move.
+     */
+    private static void siftDown(final double[] heap, final int[] ndx, final int nn) {
+        final var n = nn - 1;
+        var j = 1;
+        var jold = 0;
+        final var ia = ndx[0];
+        final var a = heap[0];
+        while (j <= n) {
+            if (j < n && heap[j] < heap[j + 1]) {
+                j++;
+            }
+            if (a >= heap[j]) {
+                break;
+            }
+            heap[jold] = heap[j];
+            ndx[jold] = ndx[j];
+            jold = j;
+            j = 2 * j + 1;
+        }
+        heap[jold] = a;
+        ndx[jold] = ia;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.irurueta.geometry;
+
+import java.util.Collection;
+
+/**
+ * Implementation of a k-D tree in 3D supporting insertion and removal of points.
+ * Unlike {@link KDTree3D}, points can be added or removed at any time with amortized logarithmic cost, so that
+ * the tree does not need to be rebuilt from scratch as a collection of points changes.
+ */
+public class DynamicKDTree3D extends DynamicKDTree<Point3D> {
+
+    /**
+     * Constructor for an empty tree.
+     */
+    public DynamicKDTree3D() {
+        super(Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH);
+    }
+
+    /**
+     * Constructor.
+     * Indices of provided points are their positions in the collection.
+     *
+     * @param pts collection of points to store in the tree.
+     */
+    public DynamicKDTree3D(final Collection<Point3D> pts) {
+        super(pts, Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH);
+    }
+}
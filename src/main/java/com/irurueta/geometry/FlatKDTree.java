@@ -0,0 +1,1581 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.irurueta.geometry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implementation of a k-D tree in an arbitrary dimension storing its nodes and points in flat primitive arrays.
+ * This tree follows the same construction and search algorithms as {@link KDTree}, but instead of keeping a
+ * {@link KDTree.BoxNode} instance (and two corner points) for each node, bounds, daughter indices and point
+ * ranges of all nodes are stored in flat arrays indexed by node position, and point coordinates are stored as
+ * coordinate columns sorted in tree order, so that points contained in a leaf node are contiguous in memory.
+ * Hence, building a tree does not allocate an object per node, and searches access memory sequentially.
+ * Once a K-D tree is built for a collection of points, it can later be used to efficiently do certain operations
+ * such as point location, nearest points searches, etc.
+ *
+ * @param <P> type of point.
+ */
+public abstract class FlatKDTree<P extends Point<P>> {
+
+    /**
+     * Minimum number of allowed points to be stored in the tree.
+     */
+    public static final int MIN_PTS = KDTree.MIN_PTS;
+
+    /**
+     * A very large value to consider as the maximum allowed coordinate value.
+     */
+    protected static final double BIG = KDTree.BIG;
+
+    /**
+     * Number of tasks that can be queued.
+     */
+    private static final int N_TASKS = 50;
+
+    /**
+     * Maximum number of queries processed by each task of batch queries.
+     */
+    private static final int QUERY_CHUNK_SIZE = 256;
+
+    /**
+     * Number of dimensions of stored points.
+     */
+    private final int dim;
+
+    /**
+     * Number of points stored by the tree.
+     */
+    private final int nPts;
+
+    /**
+     * Number of boxes stored in this tree as its nodes.
+     */
+    private final int nBoxes;
+
+    /**
+     * Low coordinate values of each box. Value of dimension d for box k is stored at position k * dim + d.
+     */
+    private final double[] boxLo;
+
+    /**
+     * High coordinate values of each box. Value of dimension d for box k is stored at position k * dim + d.
+     */
+    private final double[] boxHi;
+
+    /**
+     * Position of mother node of each box.
+     */
+    private final int[] boxMom;
+
+    /**
+     * Position of 1st daughter node of each box or zero for leaf boxes.
+     */
+    private final int[] boxDau1;
+
+    /**
+     * Position of 2nd daughter node of each box or zero for leaf boxes.
+     */
+    private final int[] boxDau2;
+
+    /**
+     * Low index (in tree order) of points inside each box.
+     */
+    private final int[] boxPtLo;
+
+    /**
+     * High index (in tree order) of points inside each box.
+     */
+    private final int[] boxPtHi;
+
+    /**
+     * Indices of points going from tree order to the input collection of points.
+     */
+    private final int[] ptIndx;
+
+    /**
+     * Indices of points going from input collection of points to tree order.
+     * This is the reverse of ptIndx.
+     */
+    private final int[] rPtIndx;
+
+    /**
+     * Coordinates of points sorted in tree order and stored as columns. Coordinate of dimension d for point at
+     * tree position i is stored at position d * nPts + i.
+     */
+    private final double[] coords;
+
+    /**
+     * Input collection of points or null if tree was built from coordinates.
+     */
+    private final List<P> pts;
+
+    /**
+     * Constructor.
+     *
+     * @param pts collection of points to store in the tree.
+     * @param dim number of dimensions of points.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS}.
+     */
+    protected FlatKDTree(final Collection<P> pts, final int dim) {
+        this(pts, dim, null);
+    }
+
+    /**
+     * Constructor.
+     * If a pool is provided, independent subtrees are built concurrently on it. The resulting tree is
+     * identical to the one built sequentially.
+     *
+     * @param pts  collection of points to store in the tree.
+     * @param dim  number of dimensions of points.
+     * @param pool pool where tree is built or null to build it sequentially.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS}.
+     */
+    protected FlatKDTree(final Collection<P> pts, final int dim, final ForkJoinPool pool) {
+        this(toColumns(pts, dim), pts.size(), dim, new ArrayList<>(pts), pool);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param columns coordinates of points stored as columns. Coordinate of dimension d for point j must be
+     *                stored at position d * nPts + j. Provided array is not modified.
+     * @param nPts    number of points.
+     * @param dim     number of dimensions of points.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS} or if length of
+     *                                  columns array does not match number of points and dimensions.
+     */
+    protected FlatKDTree(final double[] columns, final int nPts, final int dim) {
+        this(columns, nPts, dim, (ForkJoinPool) null);
+    }
+
+    /**
+     * Constructor.
+     * If a pool is provided, independent subtrees are built concurrently on it. The resulting tree is
+     * identical to the one built sequentially.
+     *
+     * @param columns coordinates of points stored as columns. Coordinate of dimension d for point j must be
+     *                stored at position d * nPts + j. Provided array is not modified.
+     * @param nPts    number of points.
+     * @param dim     number of dimensions of points.
+     * @param pool    pool where tree is built or null to build it sequentially.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS} or if length of
+     *                                  columns array does not match number of points and dimensions.
+     */
+    protected FlatKDTree(final double[] columns, final int nPts, final int dim, final ForkJoinPool pool) {
+        this(columns, nPts, dim, null, pool);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param columns coordinates of points stored as columns.
+     * @param nPts    number of points.
+     * @param dim     number of dimensions of points.
+     * @param pts     input collection of points or null if not available.
+     * @param pool    pool where tree is built or null to build it sequentially.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS} or if length of
+     *                                  columns array does not match number of points and dimensions.
+     */
+    private FlatKDTree(final double[] columns, final int nPts, final int dim, final List<P> pts,
+                       final ForkJoinPool pool) {
+        if (nPts < MIN_PTS) {
+            throw new IllegalArgumentException("number of points must be at least 3");
+        }
+        if (columns.length != nPts * dim) {
+            throw new IllegalArgumentException();
+        }
+
+        this.dim = dim;
+        this.nPts = nPts;
+        this.pts = pts;
+
+        // build tree
+        final var builder = new KDTreeBuilder(columns, nPts, dim);
+        if (pool != null) {
+            builder.build(pool, KDTreeBuilder.DEFAULT_PARALLEL_THRESHOLD);
+        } else {
+            builder.build();
+        }
+        nBoxes = builder.nBoxes;
+        boxLo = builder.boxLo;
+        boxHi = builder.boxHi;
+        boxMom = builder.boxMom;
+        boxDau1 = builder.boxDau1;
+        boxDau2 = builder.boxDau2;
+        boxPtLo = builder.boxPtLo;
+        boxPtHi = builder.boxPtHi;
+        ptIndx = builder.ptIndx;
+        rPtIndx = new int[nPts];
+
+        // sort coordinates in tree order
+        coords = new double[nPts * dim];
+        for (int j = 0, offset = 0; j < dim; j++, offset += nPts) {
+            for (var i = 0; i < nPts; i++) {
+                coords[offset + i] = columns[offset + ptIndx[i]];
+            }
+        }
+        for (var j = 0; j < nPts; j++) {
+            rPtIndx[ptIndx[j]] = j;
+        }
+    }
+
+    /**
+     * Gets number of dimensions supported by this k-D tree implementation.
+     *
+     * @return number of dimensions.
+     */
+    public int getDimensions() {
+        return dim;
+    }
+
+    /**
+     * Gets number of points stored in this tree.
+     *
+     * @return number of points.
+     */
+    public int getNumberOfPoints() {
+        return nPts;
+    }
+
+    /**
+     * Gets number of boxes stored in this tree as its nodes.
+     *
+     * @return number of boxes.
+     */
+    public int getNumberOfBoxes() {
+        return nBoxes;
+    }
+
+    /**
+     * Gets coordinate of a point.
+     *
+     * @param index     position of point in the input collection.
+     * @param dimension dimension of coordinate to retrieve.
+     * @return coordinate value.
+     * @throws ArrayIndexOutOfBoundsException if index or dimension are out of bounds.
+     */
+    public double getCoordinate(final int index, final int dimension) {
+        return coords[dimension * nPts + rPtIndx[index]];
+    }
+
+    /**
+     * Gets point at provided position in the input collection.
+     * If the tree was built from a collection of points, the same instance is returned, otherwise a new point is
+     * created from stored coordinates.
+     *
+     * @param index position of point in the input collection.
+     * @return point.
+     * @throws ArrayIndexOutOfBoundsException if index is out of bounds.
+     */
+    public P getPoint(final int index) {
+        if (pts != null) {
+            return pts.get(index);
+        }
+
+        final var result = createPoint();
+        final var i = rPtIndx[index];
+        for (int j = 0, offset = 0; j < dim; j++, offset += nPts) {
+            result.setInhomogeneousCoordinate(j, coords[offset + i]);
+        }
+        return result;
+    }
+
+    /**
+     * Gets low coordinate value of a box.
+     *
+     * @param box       position of box.
+     * @param dimension dimension of coordinate to retrieve.
+     * @return low coordinate value.
+     */
+    public double getBoxLo(final int box, final int dimension) {
+        return boxLo[box * dim + dimension];
+    }
+
+    /**
+     * Gets high coordinate value of a box.
+     *
+     * @param box       position of box.
+     * @param dimension dimension of coordinate to retrieve.
+     * @return high coordinate value.
+     */
+    public double getBoxHi(final int box, final int dimension) {
+        return boxHi[box * dim + dimension];
+    }
+
+    /**
+     * Gets position of mother node of a box.
+     *
+     * @param box position of box.
+     * @return position of mother node.
+     */
+    public int getBoxMom(final int box) {
+        return boxMom[box];
+    }
+
+    /**
+     * Gets position of 1st daughter node of a box.
+     *
+     * @param box position of box.
+     * @return position of 1st daughter node or zero if box is a leaf.
+     */
+    public int getBoxDau1(final int box) {
+        return boxDau1[box];
+    }
+
+    /**
+     * Gets position of 2nd daughter node of a box.
+     *
+     * @param box position of box.
+     * @return position of 2nd daughter node or zero if box is a leaf.
+     */
+    public int getBoxDau2(final int box) {
+        return boxDau2[box];
+    }
+
+    /**
+     * Gets low index (in tree order) of points inside a box.
+     *
+     * @param box position of box.
+     * @return low index of points inside the box.
+     */
+    public int getBoxPtLo(final int box) {
+        return boxPtLo[box];
+    }
+
+    /**
+     * Gets high index (in tree order) of points inside a box.
+     *
+     * @param box position of box.
+     * @return high index of points inside the box.
+     */
+    public int getBoxPtHi(final int box) {
+        return boxPtHi[box];
+    }
+
+    /**
+     * Gets position in the input collection of the point stored at provided position in tree order.
+     *
+     * @param treeIndex position in tree order.
+     * @return position in the input collection.
+     */
+    public int getPointIndex(final int treeIndex) {
+        return ptIndx[treeIndex];
+    }
+
+    /**
+     * Gets distance of provided point to the boundaries of a box or zero if the point is inside the box.
+     *
+     * @param box position of box.
+     * @param pt  point to be checked.
+     * @return distance of provided point.
+     */
+    public double getBoxDistance(final int box, final P pt) {
+        return Math.sqrt(boxSqrDistance(box, toCoordinates(pt)));
+    }
+
+    /**
+     * Gets distance between points located at provided positions on input collection.
+     *
+     * @param jpt index of 1st point.
+     * @param kpt index of 2nd point.
+     * @return distance between points or BIG if indices are equal.
+     */
+    public double distance(final int jpt, final int kpt) {
+        if (jpt == kpt) {
+            return BIG;
+        } else {
+            return Math.sqrt(treeSqrDistance(rPtIndx[jpt], rPtIndx[kpt]));
+        }
+    }
+
+    /**
+     * Gets position of smallest box containing provided point.
+     *
+     * @param pt point to locate its containing box. Does not need to be contained in input collection.
+     * @return position of smallest box containing the point.
+     */
+    public int locateBoxIndex(final P pt) {
+        return locateBoxIndex(toCoordinates(pt));
+    }
+
+    /**
+     * Gets position of smallest box containing provided point coordinates.
+     *
+     * @param pt inhomogeneous coordinates of point to locate its containing box.
+     * @return position of smallest box containing the point.
+     * @throws IllegalArgumentException if length of coordinates does not match tree dimensions.
+     */
+    public int locateBoxIndex(final double[] pt) {
+        checkCoordinates(pt);
+
+        var nb = 0;
+        var jdim = 0;
+        while (boxDau1[nb] != 0) {
+            final var d1 = boxDau1[nb];
+            if (pt[jdim] <= boxHi[d1 * dim + jdim]) {
+                nb = d1;
+            } else {
+                nb = boxDau2[nb];
+            }
+            jdim = ++jdim % dim;
+        }
+        return nb;
+    }
+
+    /**
+     * Index in provided input collection of points of closest point to provided one.
+     *
+     * @param pt point to check against. Does not need to be contained in input collection.
+     * @return position of closest point.
+     */
+    public int nearestIndex(final P pt) {
+        return nearestIndex(toCoordinates(pt));
+    }
+
+    /**
+     * Index in provided input collection of points of closest point to provided point coordinates.
+     *
+     * @param pt inhomogeneous coordinates of point to check against.
+     * @return position of closest point.
+     * @throws IllegalArgumentException if length of coordinates does not match tree dimensions.
+     */
+    public int nearestIndex(final double[] pt) {
+        final var task = new int[N_TASKS];
+        var nrst = 0;
+        var dnrst = BIG;
+
+        // find the smallest box index containing point
+        var k = locateBoxIndex(pt);
+        for (var i = boxPtLo[k]; i <= boxPtHi[k]; i++) {
+            final var d = sqrDistance(i, pt);
+            if (d < dnrst) {
+                nrst = i; // tree position of nearest point
+                dnrst = d; // squared distance to nearest point
+            }
+        }
+
+        // check other boxes in case they contain any nearer point
+        task[1] = 0;
+        var ntask = 1;
+        while (ntask != 0) {
+            k = task[ntask--];
+            if (boxSqrDistance(k, pt) < dnrst) {
+                if (boxDau1[k] != 0) {
+                    task[++ntask] = boxDau1[k];
+                    task[++ntask] = boxDau2[k];
+                } else {
+                    for (var i = boxPtLo[k]; i <= boxPtHi[k]; i++) {
+                        final var d = sqrDistance(i, pt);
+                        if (d < dnrst) {
+                            nrst = i;
+                            dnrst = d;
+                        }
+                    }
+                }
+            }
+        }
+        return ptIndx[nrst];
+    }
+
+    /**
+     * Index in provided input collection of points of approximately closest point to provided one.
+     *
+     * @param pt        point to check against. Does not need to be contained in input collection.
+     * @param epsilon   allowed relative error of distance to returned point. Zero means exact search.
+     * @param maxChecks maximum number of leaf boxes to visit, or {@link KDTree#UNLIMITED_CHECKS}.
+     * @return position of approximately closest point.
+     * @throws IllegalArgumentException if epsilon is negative or maximum number of checks is less than 1.
+     * @see #nearestIndex(double[], double, int)
+     */
+    public int nearestIndex(final P pt, final double epsilon, final int maxChecks) {
+        return nearestIndex(toCoordinates(pt), epsilon, maxChecks);
+    }
+
+    /**
+     * Index in provided input collection of points of approximately closest point to provided point coordinates.
+     * Boxes are visited in order of increasing distance to provided point. Search stops once remaining boxes are
+     * farther than the closest point found so far divided by (1 + epsilon), or once maxChecks leaf boxes have been
+     * visited. Hence, distance to returned point is at most (1 + epsilon) times the exact nearest distance when
+     * the number of checks is not bounded.
+     *
+     * @param pt        inhomogeneous coordinates of point to check against.
+     * @param epsilon   allowed relative error of distance to returned point. Zero means exact search.
+     * @param maxChecks maximum number of leaf boxes to visit, or {@link KDTree#UNLIMITED_CHECKS}.
+     * @return position of approximately closest point.
+     * @throws IllegalArgumentException if length of coordinates does not match tree dimensions, if epsilon is
+     *                                  negative or if maximum number of checks is less than 1.
+     */
+    public int nearestIndex(final double[] pt, final double epsilon, final int maxChecks) {
+        checkCoordinates(pt);
+        KDTree.checkApproximateParameters(epsilon, maxChecks);
+
+        final var scratch = new QueryScratch(dim, 1);
+        System.arraycopy(pt, 0, scratch.query, 0, dim);
+        final var nn = new int[1];
+        final var dn = new double[1];
+        nNearest(scratch, 1, 0, nn, dn, epsilon, maxChecks);
+        return nn[0];
+    }
+
+    /**
+     * Closest point to provided one.
+     *
+     * @param pt point to be checked. Does not need to be contained in input collection.
+     * @return closest point.
+     */
+    public P nearestPoint(final P pt) {
+        return getPoint(nearestIndex(pt));
+    }
+
+    /**
+     * Gets n nearest point indices to a given one in the input collection.
+     *
+     * @param jpt index of point to search nearest ones for.
+     * @param nn  array containing resulting indices of nearest points up to the number of found points.
+     * @param dn  array containing resulting distances to nearest points up to the number of found points.
+     * @param n   number of nearest points to find.
+     * @throws IllegalArgumentException if number of nearest points is invalid or if length of arrays
+     *                                  containing results are not valid either.
+     */
+    public void nNearest(final int jpt, final int[] nn, final double[] dn, final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("no neighbours requested");
+        }
+        if (n > nPts - 1) {
+            throw new IllegalArgumentException("too many neighbours requested");
+        }
+        if (nn.length != n || dn.length != n) {
+            throw new IllegalArgumentException("invalid result array lengths");
+        }
+
+        final var task = new int[N_TASKS];
+        for (var i = 0; i < n; i++) {
+            dn[i] = BIG;
+        }
+
+        // squared distances are stored in heap while searching
+        final var jh = rPtIndx[jpt];
+        var kp = boxMom[locate(jh)];
+        while (boxPtHi[kp] - boxPtLo[kp] < n) {
+            kp = boxMom[kp];
+        }
+        for (var i = boxPtLo[kp]; i <= boxPtHi[kp]; i++) {
+            if (i == jh) {
+                continue;
+            }
+            final var d = treeSqrDistance(i, jh);
+            if (d < dn[0]) {
+                dn[0] = d;
+                nn[0] = ptIndx[i];
+                if (n > 1) {
+                    siftDown(dn, nn, n);
+                }
+            }
+        }
+        task[1] = 0;
+        var ntask = 1;
+        while (ntask != 0) {
+            final var k = task[ntask--];
+            if (k == kp) {
+                continue;
+            }
+            if (boxTreeSqrDistance(k, jh) < dn[0]) {
+                if (boxDau1[k] != 0) {
+                    task[++ntask] = boxDau1[k];
+                    task[++ntask] = boxDau2[k];
+                } else {
+                    for (var i = boxPtLo[k]; i <= boxPtHi[k]; i++) {
+                        if (i == jh) {
+                            continue;
+                        }
+                        final var d = treeSqrDistance(i, jh);
+                        if (d < dn[0]) {
+                            dn[0] = d;
+                            nn[0] = ptIndx[i];
+                            if (n > 1) {
+                                siftDown(dn, nn, n);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        for (var i = 0; i < n; i++) {
+            dn[i] = Math.sqrt(dn[i]);
+        }
+    }
+
+    /**
+     * Gets n nearest point indices to a given point in the input collection.
+     *
+     * @param pt point to search nearest ones for.
+     * @param nn array containing resulting indices of nearest points up to the number of found points.
+     * @param dn array containing resulting distances to nearest points up to the number of found points.
+     * @param n  number of nearest points to find.
+     * @throws IllegalArgumentException if number of nearest points is invalid or if length of arrays
+     *                                  containing results are not valid either.
+     */
+    public void nNearest(final P pt, final int[] nn, final double[] dn, final int n) {
+        nNearest(nearestIndex(pt), nn, dn, n);
+    }
+
+    /**
+     * Gets n nearest points to a given point index in the input collection.
+     *
+     * @param jpt index of point to search nearest ones for.
+     * @param pn  array containing nearest points up to the number of found points.
+     * @param dn  array containing resulting distances to nearest points up to the number of found points.
+     * @param n   number of nearest points to find.
+     * @throws IllegalArgumentException if number of nearest points is invalid or if length of arrays
+     *                                  containing results are not valid either.
+     */
+    public void nNearest(final int jpt, final P[] pn, final double[] dn, final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("no neighbours requested");
+        }
+
+        final var nn = new int[n];
+
+        nNearest(jpt, nn, dn, n);
+
+        for (var i = 0; i < n; i++) {
+            pn[i] = getPoint(nn[i]);
+        }
+    }
+
+    /**
+     * Gets n nearest points to a given point in the input collection.
+     *
+     * @param pt point to search nearest ones for.
+     * @param pn array containing nearest points up to the number of found points.
+     * @param dn array containing resulting distances to nearest points up to the number of found points.
+     * @param n  number of nearest points to find.
+     * @throws IllegalArgumentException if number of nearest points is invalid or if length of arrays
+     *                                  containing results are not valid either.
+     */
+    public void nNearest(final P pt, final P[] pn, final double[] dn, final int n) {
+        nNearest(nearestIndex(pt), pn, dn, n);
+    }
+
+    /**
+     * Locates some near points to provided one up to a certain radius of search.
+     * This method only returns up to nmax results, which means that not all points within required
+     * radius are returned if more points than provided nmax value are within such radius.
+     *
+     * @param pt   point to search nearby.
+     * @param r    radius of search.
+     * @param list list where indices of found points are stored up to the number of found points.
+     * @param nmax maximum number of points to search.
+     * @return number of found points.
+     * @throws IllegalArgumentException if radius is negative or maximum number of points to search is zero or negative,
+     *                                  or list where indices are stored is not large enough.
+     */
+    public int locateNear(final P pt, final double r, final int[] list, final int nmax) {
+        return locateNear(toCoordinates(pt), r, list, nmax);
+    }
+
+    /**
+     * Locates some near points to provided point coordinates up to a certain radius of search.
+     * This method only returns up to nmax results, which means that not all points within required
+     * radius are returned if more points than provided nmax value are within such radius.
+     *
+     * @param pt   inhomogeneous coordinates of point to search nearby.
+     * @param r    radius of search.
+     * @param list list where indices of found points are stored up to the number of found points.
+     * @param nmax maximum number of points to search.
+     * @return number of found points.
+     * @throws IllegalArgumentException if radius is negative or maximum number of points to search is zero or negative,
+     *                                  list where indices are stored is not large enough, or length of coordinates
+     *                                  does not match tree dimensions.
+     */
+    public int locateNear(final double[] pt, final double r, final int[] list, final int nmax) {
+        if (r < 0.0) {
+            throw new IllegalArgumentException("radius must be non-negative");
+        }
+        if (nmax <= 0) {
+            throw new IllegalArgumentException("number of points to search must be at least 1");
+        }
+        if (list.length < nmax) {
+            throw new IllegalArgumentException("result might not fit into provided list");
+        }
+        checkCoordinates(pt);
+
+        final var task = new int[N_TASKS];
+        final var r2 = r * r;
+        var nb = 0;
+        var jdim = 0;
+        var nret = 0;
+
+        while (boxDau1[nb] != 0) {
+            final var nbold = nb;
+            final var d1 = boxDau1[nb];
+            final var d2 = boxDau2[nb];
+            final var coord = pt[jdim];
+            if (coord + r <= boxHi[d1 * dim + jdim]) {
+                nb = d1;
+            } else if (coord - r >= boxLo[d2 * dim + jdim]) {
+                nb = d2;
+            }
+            jdim = ++jdim % dim;
+            if (nb == nbold) {
+                break;
+            }
+        }
+        task[1] = nb;
+        var ntask = 1;
+        while (ntask != 0) {
+            final var k = task[ntask--];
+            if (boxSqrDistance(k, pt) > r2) {
+                continue;
+            }
+            if (boxDau1[k] != 0) {
+                task[++ntask] = boxDau1[k];
+                task[++ntask] = boxDau2[k];
+            } else {
+                for (var i = boxPtLo[k]; i <= boxPtHi[k]; i++) {
+                    if (sqrDistance(i, pt) <= r2 && nret < nmax) {
+                        list[nret++] = ptIndx[i];
+                    }
+                    if (nret == nmax) {
+                        return nmax;
+                    }
+                }
+            }
+        }
+        return nret;
+    }
+
+    /**
+     * Locates near points to provided one up to a certain radius of search.
+     *
+     * @param pt    point to search nearby.
+     * @param r     radius of search.
+     * @param plist list where found points are stored up to the number of found points.
+     * @param nmax  maximum number of points to search.
+     * @return number of found points.
+     * @throws IllegalArgumentException if radius is negative or maximum number of points to search is zero or negative,
+     *                                  or list where points are stored is not large enough.
+     */
+    public int locateNear(final P pt, final double r, final P[] plist, final int nmax) {
+        if (r < 0.0) {
+            throw new IllegalArgumentException("radius must be non-negative");
+        }
+        if (nmax <= 0) {
+            throw new IllegalArgumentException("number of points to search must be at least 1");
+        }
+        if (plist.length < nmax) {
+            throw new IllegalArgumentException("result might not fit into provided list");
+        }
+
+        final var list = new int[nmax];
+        final var result = locateNear(pt, r, list, nmax);
+
+        for (var i = 0; i < result; i++) {
+            plist[i] = getPoint(list[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds the n nearest stored points to each point of a set of query points.
+     * Results of each query are sorted by increasing distance.
+     *
+     * @param queries  inhomogeneous coordinates of query points, stored consecutively for each point, so that
+     *                 coordinate of dimension d for query q is at position q * dimensions + d. Query points do
+     *                 not need to be contained in input collection.
+     * @param nQueries number of query points.
+     * @param n        number of nearest points to find for each query.
+     * @param nn       array where indices of nearest points are stored. Indices for query q are stored from
+     *                 position q * n.
+     * @param dn       array where distances to nearest points are stored. Distances for query q are stored from
+     *                 position q * n.
+     * @throws IllegalArgumentException if number of queries or nearest points is invalid or if length of provided
+     *                                  arrays is not valid either.
+     */
+    public void nNearest(final double[] queries, final int nQueries, final int n, final int[] nn, final double[] dn) {
+        nNearest(queries, nQueries, n, nn, dn, null);
+    }
+
+    /**
+     * Finds the n nearest stored points to each point of a set of query points.
+     * If a pool is provided, queries are split into chunks that are processed concurrently on it.
+     * Results of each query are sorted by increasing distance.
+     *
+     * @param queries  inhomogeneous coordinates of query points, stored consecutively for each point, so that
+     *                 coordinate of dimension d for query q is at position q * dimensions + d. Query points do
+     *                 not need to be contained in input collection.
+     * @param nQueries number of query points.
+     * @param n        number of nearest points to find for each query.
+     * @param nn       array where indices of nearest points are stored. Indices for query q are stored from
+     *                 position q * n.
+     * @param dn       array where distances to nearest points are stored. Distances for query q are stored from
+     *                 position q * n.
+     * @param pool     pool where queries are processed or null to process them on the calling thread.
+     * @throws IllegalArgumentException if number of queries or nearest points is invalid or if length of provided
+     *                                  arrays is not valid either.
+     */
+    public void nNearest(final double[] queries, final int nQueries, final int n, final int[] nn, final double[] dn,
+                         final ForkJoinPool pool) {
+        if (nQueries < 0 || queries.length < nQueries * dim) {
+            throw new IllegalArgumentException();
+        }
+        checkNearestBuffers(nQueries, n, n, nn, dn);
+
+        runQueries(nQueries, n, pool, (scratch, q) -> {
+            System.arraycopy(queries, q * dim, scratch.query, 0, dim);
+            nNearest(scratch, -1, n, q * n, nn, dn);
+        });
+    }
+
+    /**
+     * Finds the n approximately nearest stored points to each point of a set of query points.
+     * Boxes are visited in order of increasing distance to each query point. Search of each query stops once
+     * remaining boxes are farther than the n-th nearest distance found so far divided by (1 + epsilon), or once
+     * maxChecks leaf boxes have been visited. If a pool is provided, queries are split into chunks that are
+     * processed concurrently on it. Results of each query are sorted by increasing distance.
+     *
+     * @param queries   inhomogeneous coordinates of query points, stored consecutively for each point, so that
+     *                  coordinate of dimension d for query q is at position q * dimensions + d. Query points do
+     *                  not need to be contained in input collection.
+     * @param nQueries  number of query points.
+     * @param n         number of nearest points to find for each query.
+     * @param nn        array where indices of nearest points are stored. Indices for query q are stored from
+     *                  position q * n.
+     * @param dn        array where distances to nearest points are stored. Distances for query q are stored from
+     *                  position q * n.
+     * @param epsilon   allowed relative error of distances to returned points. Zero means exact search.
+     * @param maxChecks maximum number of leaf boxes to visit on each query, or {@link KDTree#UNLIMITED_CHECKS}.
+     * @param pool      pool where queries are processed or null to process them on the calling thread.
+     * @throws IllegalArgumentException if number of queries or nearest points is invalid, if length of provided
+     *                                  arrays is not valid either, if epsilon is negative or if maximum number of
+     *                                  checks is less than 1.
+     */
+    public void nNearest(final double[] queries, final int nQueries, final int n, final int[] nn, final double[] dn,
+                         final double epsilon, final int maxChecks, final ForkJoinPool pool) {
+        if (nQueries < 0 || queries.length < nQueries * dim) {
+            throw new IllegalArgumentException();
+        }
+        checkNearestBuffers(nQueries, n, n, nn, dn);
+        KDTree.checkApproximateParameters(epsilon, maxChecks);
+
+        runQueries(nQueries, n, pool, (scratch, q) -> {
+            System.arraycopy(queries, q * dim, scratch.query, 0, dim);
+            nNearest(scratch, n, q * n, nn, dn, epsilon, maxChecks);
+        });
+    }
+
+    /**
+     * Finds the n nearest points to each stored point, excluding the point itself.
+     * Results of each point are sorted by increasing distance.
+     *
+     * @param n  number of nearest points to find for each point.
+     * @param nn array where indices of nearest points are stored. Indices for the point at position j of the
+     *           input collection are stored from position j * n.
+     * @param dn array where distances to nearest points are stored. Distances for the point at position j of the
+     *           input collection are stored from position j * n.
+     * @throws IllegalArgumentException if number of nearest points is invalid or if length of provided arrays is
+     *                                  not valid either.
+     */
+    public void nNearestAll(final int n, final int[] nn, final double[] dn) {
+        nNearestAll(n, nn, dn, null);
+    }
+
+    /**
+     * Finds the n nearest points to each stored point, excluding the point itself.
+     * If a pool is provided, points are split into chunks that are processed concurrently on it.
+     * Results of each point are sorted by increasing distance.
+     *
+     * @param n    number of nearest points to find for each point.
+     * @param nn   array where indices of nearest points are stored. Indices for the point at position j of the
+     *             input collection are stored from position j * n.
+     * @param dn   array where distances to nearest points are stored. Distances for the point at position j of the
+     *             input collection are stored from position j * n.
+     * @param pool pool where points are processed or null to process them on the calling thread.
+     * @throws IllegalArgumentException if number of nearest points is invalid or if length of provided arrays is
+     *                                  not valid either.
+     */
+    public void nNearestAll(final int n, final int[] nn, final double[] dn, final ForkJoinPool pool) {
+        checkNearestBuffers(nPts, n, n + 1, nn, dn);
+
+        runQueries(nPts, n, pool, (scratch, jpt) -> {
+            final var jh = rPtIndx[jpt];
+            for (int j = 0, offset = jh; j < dim; j++, offset += nPts) {
+                scratch.query[j] = coords[offset];
+            }
+            nNearest(scratch, jh, n, jpt * n, nn, dn);
+        });
+    }
+
+    /**
+     * Locates stored points within a certain radius of each point of a set of query points.
+     * Up to nmax points are returned for each query, which means that not all points within required radius are
+     * returned if more points than provided nmax value are within such radius.
+     *
+     * @param queries  inhomogeneous coordinates of query points, stored consecutively for each point, so that
+     *                 coordinate of dimension d for query q is at position q * dimensions + d.
+     * @param nQueries number of query points.
+     * @param r        radius of search.
+     * @param nmax     maximum number of points to search for each query.
+     * @param list     array where indices of found points are stored. Indices for query q are stored from position
+     *                 q * nmax.
+     * @param counts   array where number of found points for each query is stored.
+     * @throws IllegalArgumentException if radius is negative, number of queries or maximum number of points to
+     *                                  search are not valid, or if length of provided arrays is not valid either.
+     */
+    public void locateNear(final double[] queries, final int nQueries, final double r, final int nmax,
+                           final int[] list, final int[] counts) {
+        locateNear(queries, nQueries, r, nmax, list, counts, null);
+    }
+
+    /**
+     * Locates stored points within a certain radius of each point of a set of query points.
+     * If a pool is provided, queries are split into chunks that are processed concurrently on it.
+     * Up to nmax points are returned for each query, which means that not all points within required radius are
+     * returned if more points than provided nmax value are within such radius.
+     *
+     * @param queries  inhomogeneous coordinates of query points, stored consecutively for each point, so that
+     *                 coordinate of dimension d for query q is at position q * dimensions + d.
+     * @param nQueries number of query points.
+     * @param r        radius of search.
+     * @param nmax     maximum number of points to search for each query.
+     * @param list     array where indices of found points are stored. Indices for query q are stored from position
+     *                 q * nmax.
+     * @param counts   array where number of found points for each query is stored.
+     * @param pool     pool where queries are processed or null to process them on the calling thread.
+     * @throws IllegalArgumentException if radius is negative, number of queries or maximum number of points to
+     *                                  search are not valid, or if length of provided arrays is not valid either.
+     */
+    public void locateNear(final double[] queries, final int nQueries, final double r, final int nmax,
+                           final int[] list, final int[] counts, final ForkJoinPool pool) {
+        if (r < 0.0) {
+            throw new IllegalArgumentException("radius must be non-negative");
+        }
+        if (nmax <= 0) {
+            throw new IllegalArgumentException("number of points to search must be at least 1");
+        }
+        if (nQueries < 0 || queries.length < nQueries * dim || counts.length < nQueries) {
+            throw new IllegalArgumentException();
+        }
+        if (list.length < (long) nQueries * nmax) {
+            throw new IllegalArgumentException("result might not fit into provided list");
+        }
+
+        runQueries(nQueries, 0, pool, (scratch, q) -> {
+            System.arraycopy(queries, q * dim, scratch.query, 0, dim);
+            counts[q] = locateNear(scratch, r, nmax, q * nmax, list);
+        });
+    }
+
+    /**
+     * Creates a point having all its coordinates equal to zero.
+     *
+     * @return created point.
+     */
+    protected abstract P createPoint();
+
+    /**
+     * Checks parameters of batch nearest points queries.
+     *
+     * @param nQueries  number of queries.
+     * @param n         number of nearest points to find for each query.
+     * @param minPoints minimum number of stored points required to find n nearest points.
+     * @param nn        array where indices of nearest points are stored.
+     * @param dn        array where distances to nearest points are stored.
+     * @throws IllegalArgumentException if any parameter is not valid.
+     */
+    private void checkNearestBuffers(final int nQueries, final int n, final int minPoints, final int[] nn,
+                                     final double[] dn) {
+        if (n < 0) {
+            throw new IllegalArgumentException("no neighbours requested");
+        }
+        if (minPoints > nPts) {
+            throw new IllegalArgumentException("too many neighbours requested");
+        }
+        if (nQueries < 0) {
+            throw new IllegalArgumentException();
+        }
+        final var length = (long) nQueries * n;
+        if (nn.length < length || dn.length < length) {
+            throw new IllegalArgumentException("invalid result array lengths");
+        }
+    }
+
+    /**
+     * Runs provided query for each position between zero and the number of queries.
+     * Queries are split into chunks, and each chunk reuses the same scratch buffers for all its queries.
+     *
+     * @param nQueries number of queries.
+     * @param n        number of nearest points to be kept in scratch heaps.
+     * @param pool     pool where chunks are processed or null to process them on the calling thread.
+     * @param query    query to be run.
+     */
+    private void runQueries(final int nQueries, final int n, final ForkJoinPool pool, final Query query) {
+        if (nQueries == 0) {
+            return;
+        }
+        if (pool == null) {
+            final var scratch = new QueryScratch(dim, n);
+            for (var q = 0; q < nQueries; q++) {
+                query.run(scratch, q);
+            }
+        } else {
+            pool.invoke(new QueryTask(0, nQueries, n, query));
+        }
+    }
+
+    /**
+     * Finds the n nearest stored points to the query point of provided scratch.
+     * Results are stored sorted by increasing distance.
+     *
+     * @param scratch scratch buffers containing query point.
+     * @param exclude position in tree order of stored point to be excluded from results or -1 if none.
+     * @param n       number of nearest points to find.
+     * @param offset  position where results are stored.
+     * @param nn      array where indices of nearest points are stored.
+     * @param dn      array where distances to nearest points are stored.
+     */
+    private void nNearest(final QueryScratch scratch, final int exclude, final int n, final int offset,
+                          final int[] nn, final double[] dn) {
+        if (n == 0) {
+            return;
+        }
+
+        final var pt = scratch.query;
+        final var heap = scratch.heap;
+        final var ndx = scratch.heapIndices;
+        final var task = scratch.task;
+        for (var i = 0; i < n; i++) {
+            heap[i] = BIG;
+        }
+
+        // squared distances are stored in heap while searching, starting from the smallest box containing
+        // the query and having enough points
+        final var required = exclude >= 0 ? n + 1 : n;
+        var kp = locateBoxIndex(pt);
+        while (boxPtHi[kp] - boxPtLo[kp] + 1 < required) {
+            kp = boxMom[kp];
+        }
+        for (var i = boxPtLo[kp]; i <= boxPtHi[kp]; i++) {
+            if (i == exclude) {
+                continue;
+            }
+            final var d = sqrDistance(i, pt);
+            if (d < heap[0]) {
+                heap[0] = d;
+                ndx[0] = i;
+                if (n > 1) {
+                    siftDown(heap, ndx, n);
+                }
+            }
+        }
+        task[1] = 0;
+        var ntask = 1;
+        while (ntask != 0) {
+            final var k = task[ntask--];
+            if (k == kp) {
+                continue;
+            }
+            if (boxSqrDistance(k, pt) < heap[0]) {
+                if (boxDau1[k] != 0) {
+                    task[++ntask] = boxDau1[k];
+                    task[++ntask] = boxDau2[k];
+                } else {
+                    for (var i = boxPtLo[k]; i <= boxPtHi[k]; i++) {
+                        if (i == exclude) {
+                            continue;
+                        }
+                        final var d = sqrDistance(i, pt);
+                        if (d < heap[0]) {
+                            heap[0] = d;
+                            ndx[0] = i;
+                            if (n > 1) {
+                                siftDown(heap, ndx, n);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // sort heap by increasing distance
+        for (var i = n - 1; i > 0; i--) {
+            final var tmpHeap = heap[0];
+            heap[0] = heap[i];
+            heap[i] = tmpHeap;
+            final var tmpNdx = ndx[0];
+            ndx[0] = ndx[i];
+            ndx[i] = tmpNdx;
+            siftDown(heap, ndx, i);
+        }
+
+        for (var i = 0; i < n; i++) {
+            nn[offset + i] = ptIndx[ndx[i]];
+            dn[offset + i] = Math.sqrt(heap[i]);
+        }
+    }
+
+    /**
+     * Finds the n approximately nearest stored points to the query point of provided scratch by visiting boxes
+     * in order of increasing distance. Results are stored sorted by increasing distance.
+     *
+     * @param scratch   scratch buffers containing query point.
+     * @param n         number of nearest points to find.
+     * @param offset    position where results are stored.
+     * @param nn        array where indices of nearest points are stored.
+     * @param dn        array where distances to nearest points are stored.
+     * @param epsilon   allowed relative error of distances.
+     * @param maxChecks maximum number of leaf boxes to visit.
+     */
+    private void nNearest(final QueryScratch scratch, final int n, final int offset, final int[] nn,
+                          final double[] dn, final double epsilon, final int maxChecks) {
+        if (n == 0) {
+            return;
+        }
+
+        final var pt = scratch.query;
+        final var heap = scratch.heap;
+        final var ndx = scratch.heapIndices;
+        final var queue = scratch.boxQueue;
+        for (var i = 0; i < n; i++) {
+            heap[i] = BIG;
+        }
+
+        // squared distances are compared, hence the squared factor
+        final var factor = (1.0 + epsilon) * (1.0 + epsilon);
+        var kp = locateBoxIndex(pt);
+        while (boxPtHi[kp] - boxPtLo[kp] + 1 < n) {
+            kp = boxMom[kp];
+        }
+        for (var i = boxPtLo[kp]; i <= boxPtHi[kp]; i++) {
+            final var d = sqrDistance(i, pt);
+            if (d < heap[0]) {
+                heap[0] = d;
+                ndx[0] = i;
+                if (n > 1) {
+                    siftDown(heap, ndx, n);
+                }
+            }
+        }
+
+        // visit other boxes in best-first order
+        var checks = 1;
+        queue.clear();
+        queue.push(0, 0.0);
+        while (!queue.isEmpty() && checks < maxChecks && queue.peekDistance() * factor < heap[0]) {
+            final var k = queue.pop();
+            if (k == kp) {
+                continue;
+            }
+            if (boxDau1[k] != 0) {
+                final var d1 = boxDau1[k];
+                final var dd1 = boxSqrDistance(d1, pt);
+                if (dd1 * factor < heap[0]) {
+                    queue.push(d1, dd1);
+                }
+                final var d2 = boxDau2[k];
+                final var dd2 = boxSqrDistance(d2, pt);
+                if (dd2 * factor < heap[0]) {
+                    queue.push(d2, dd2);
+                }
+            } else {
+                for (var i = boxPtLo[k]; i <= boxPtHi[k]; i++) {
+                    final var d = sqrDistance(i, pt);
+                    if (d < heap[0]) {
+                        heap[0] = d;
+                        ndx[0] = i;
+                        if (n > 1) {
+                            siftDown(heap, ndx, n);
+                        }
+                    }
+                }
+                checks++;
+            }
+        }
+
+        // sort heap by increasing distance
+        for (var i = n - 1; i > 0; i--) {
+            final var tmpHeap = heap[0];
+            heap[0] = heap[i];
+            heap[i] = tmpHeap;
+            final var tmpNdx = ndx[0];
+            ndx[0] = ndx[i];
+            ndx[i] = tmpNdx;
+            siftDown(heap, ndx, i);
+        }
+
+        for (var i = 0; i < n; i++) {
+            nn[offset + i] = ptIndx[ndx[i]];
+            dn[offset + i] = Math.sqrt(heap[i]);
+        }
+    }
+
+    /**
+     * Locates stored points within a certain radius of the query point of provided scratch.
+     *
+     * @param scratch scratch buffers containing query point.
+     * @param r       radius of search.
+     * @param nmax    maximum number of points to search.
+     * @param offset  position where results are stored.
+     * @param list    array where indices of found points are stored.
+     * @return number of found points.
+     */
+    private int locateNear(final QueryScratch scratch, final double r, final int nmax, final int offset,
+                           final int[] list) {
+        final var pt = scratch.query;
+        final var task = scratch.task;
+        final var r2 = r * r;
+        var nb = 0;
+        var jdim = 0;
+        var nret = 0;
+
+        while (boxDau1[nb] != 0) {
+            final var nbold = nb;
+            final var d1 = boxDau1[nb];
+            final var d2 = boxDau2[nb];
+            final var coord = pt[jdim];
+            if (coord + r <= boxHi[d1 * dim + jdim]) {
+                nb = d1;
+            } else if (coord - r >= boxLo[d2 * dim + jdim]) {
+                nb = d2;
+            }
+            jdim = ++jdim % dim;
+            if (nb == nbold) {
+                break;
+            }
+        }
+        task[1] = nb;
+        var ntask = 1;
+        while (ntask != 0) {
+            final var k = task[ntask--];
+            if (boxSqrDistance(k, pt) > r2) {
+                continue;
+            }
+            if (boxDau1[k] != 0) {
+                task[++ntask] = boxDau1[k];
+                task[++ntask] = boxDau2[k];
+            } else {
+                for (var i = boxPtLo[k]; i <= boxPtHi[k]; i++) {
+                    if (sqrDistance(i, pt) <= r2) {
+                        list[offset + nret++] = ptIndx[i];
+                        if (nret == nmax) {
+                            return nmax;
+                        }
+                    }
+                }
+            }
+        }
+        return nret;
+    }
+
+    /**
+     * Gets inhomogeneous coordinates of provided point.
+     *
+     * @param pt point.
+     * @return inhomogeneous coordinates.
+     */
+    private double[] toCoordinates(final P pt) {
+        final var result = new double[dim];
+        for (var i = 0; i < dim; i++) {
+            result[i] = pt.getInhomogeneousCoordinate(i);
+        }
+        return result;
+    }
+
+    /**
+     * Checks that provided coordinates have tree dimensions.
+     *
+     * @param pt coordinates to be checked.
+     * @throws IllegalArgumentException if length of coordinates does not match tree dimensions.
+     */
+    private void checkCoordinates(final double[] pt) {
+        if (pt.length != dim) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Gets squared distance between a stored point and provided coordinates.
+     *
+     * @param i  position of stored point in tree order.
+     * @param pt coordinates to compare against.
+     * @return squared distance.
+     */
+    private double sqrDistance(final int i, final double[] pt) {
+        var d = 0.0;
+        for (int j = 0, offset = i; j < dim; j++, offset += nPts) {
+            final var diff = coords[offset] - pt[j];
+            d += diff * diff;
+        }
+        return d;
+    }
+
+    /**
+     * Gets squared distance between two stored points.
+     *
+     * @param i position of 1st point in tree order.
+     * @param h position of 2nd point in tree order.
+     * @return squared distance.
+     */
+    private double treeSqrDistance(final int i, final int h) {
+        var d = 0.0;
+        for (int j = 0, offset = 0; j < dim; j++, offset += nPts) {
+            final var diff = coords[offset + i] - coords[offset + h];
+            d += diff * diff;
+        }
+        return d;
+    }
+
+    /**
+     * Gets squared distance of provided coordinates to the boundaries of a box or zero if the point is inside
+     * the box.
+     *
+     * @param box position of box.
+     * @param pt  coordinates to be checked.
+     * @return squared distance.
+     */
+    private double boxSqrDistance(final int box, final double[] pt) {
+        var dd = 0.0;
+        final var offset = box * dim;
+        for (var j = 0; j < dim; j++) {
+            final var value = pt[j];
+            final var lo = boxLo[offset + j];
+            final var hi = boxHi[offset + j];
+            if (value < lo) {
+                dd += (value - lo) * (value - lo);
+            }
+            if (value > hi) {
+                dd += (value - hi) * (value - hi);
+            }
+        }
+        return dd;
+    }
+
+    /**
+     * Gets squared distance of a stored point to the boundaries of a box or zero if the point is inside the box.
+     *
+     * @param box position of box.
+     * @param h   position of stored point in tree order.
+     * @return squared distance.
+     */
+    private double boxTreeSqrDistance(final int box, final int h) {
+        var dd = 0.0;
+        final var offset = box * dim;
+        for (int j = 0, coordOffset = h; j < dim; j++, coordOffset += nPts) {
+            final var value = coords[coordOffset];
+            final var lo = boxLo[offset + j];
+            final var hi = boxHi[offset + j];
+            if (value < lo) {
+                dd += (value - lo) * (value - lo);
+            }
+            if (value > hi) {
+                dd += (value - hi) * (value - hi);
+            }
+        }
+        return dd;
+    }
+
+    /**
+     * Gets position of smallest box containing the point at provided position in tree order.
+     *
+     * @param jh position of point in tree order.
+     * @return position of box.
+     */
+    private int locate(final int jh) {
+        var nb = 0;
+        while (boxDau1[nb] != 0) {
+            final var d1 = boxDau1[nb];
+            if (jh <= boxPtHi[d1]) {
+                nb = d1;
+            } else {
+                nb = boxDau2[nb];
+            }
+        }
+        return nb;
+    }
+
+    /**
+     * Converts a collection of points into coordinate columns.
+     *
+     * @param pts collection of points.
+     * @param dim number of dimensions.
+     * @param <P> type of point.
+     * @return coordinates stored as columns.
+     */
+    private static <P extends Point<P>> double[] toColumns(final Collection<P> pts, final int dim) {
+        final var n = pts.size();
+        final var result = new double[n * dim];
+        var k = 0;
+        for (final var pt : pts) {
+            for (int j = 0, offset = k; j < dim; j++, offset += n) {
+                result[offset] = pt.getInhomogeneousCoordinate(j);
+            }
+            k++;
+        }
+        return result;
+    }
+
+    /**
+     * Moves things around.
+     *
+     * @param heap array of distances.
+     * @param ndx  array of indices.
+     * @param nn   number of indices to move.
+     */
+    private static void siftDown(final double[] heap, final int[] ndx, final int nn) {
+        final var n = nn - 1;
+        var j = 1;
+        var jold = 0;
+        final var ia = ndx[0];
+        final var a = heap[0];
+        while (j <= n) {
+            if (j < n && heap[j] < heap[j + 1]) {
+                j++;
+            }
+            if (a >= heap[j]) {
+                break;
+            }
+            heap[jold] = heap[j];
+            ndx[jold] = ndx[j];
+            jold = j;
+            j = 2 * j + 1;
+        }
+        heap[jold] = a;
+        ndx[jold] = ia;
+    }
+
+    /**
+     * A query of a batch of queries.
+     */
+    @FunctionalInterface
+    private interface Query {
+        /**
+         * Runs the query at provided position.
+         *
+         * @param scratch scratch buffers to be reused.
+         * @param q       position of query.
+         */
+        void run(final QueryScratch scratch, final int q);
+    }
+
+    /**
+     * Scratch buffers reused by all the queries of a chunk.
+     */
+    private static class QueryScratch {
+
+        /**
+         * Coordinates of current query point.
+         */
+        private final double[] query;
+
+        /**
+         * Heap of squared distances to nearest points.
+         */
+        private final double[] heap;
+
+        /**
+         * Heap of positions in tree order of nearest points.
+         */
+        private final int[] heapIndices;
+
+        /**
+         * Stack of boxes pending to be visited.
+         */
+        private final int[] task = new int[N_TASKS];
+
+        /**
+         * Queue of boxes pending to be visited by approximate searches.
+         */
+        private final BoxQueue boxQueue = new BoxQueue();
+
+        /**
+         * Constructor.
+         *
+         * @param dim number of dimensions of query points.
+         * @param n   number of nearest points to be kept in heaps.
+         */
+        QueryScratch(final int dim, final int n) {
+            query = new double[dim];
+            heap = new double[n];
+            heapIndices = new int[n];
+        }
+    }
+
+    /**
+     * Task processing a range of queries, recursively split into chunks of at most {@link #QUERY_CHUNK_SIZE}
+     * queries.
+     */
+    private class QueryTask extends RecursiveAction {
+
+        /**
+         * Position of first query (inclusive).
+         */
+        private final int from;
+
+        /**
+         * Position of last query (exclusive).
+         */
+        private final int to;
+
+        /**
+         * Number of nearest points to be kept in scratch heaps.
+         */
+        private final int n;
+
+        /**
+         * Query to be run.
+         */
+        private final Query query;
+
+        /**
+         * Constructor.
+         *
+         * @param from  position of first query (inclusive).
+         * @param to    position of last query (exclusive).
+         * @param n     number of nearest points to be kept in scratch heaps.
+         * @param query query to be run.
+         */
+        QueryTask(final int from, final int to, final int n, final Query query) {
+            this.from = from;
+            this.to = to;
+            this.n = n;
+            this.query = query;
+        }
+
+        /**
+         * Runs queries of this task or splits them into two subtasks.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= QUERY_CHUNK_SIZE) {
+                final var scratch = new QueryScratch(dim, n);
+                for (var q = from; q < to; q++) {
+                    query.run(scratch, q);
+                }
+            } else {
+                final var middle = (from + to) >>> 1;
+                invokeAll(new QueryTask(from, middle, n, query), new QueryTask(middle, to, n, query));
+            }
+        }
+    }
+}
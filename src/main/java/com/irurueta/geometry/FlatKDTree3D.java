@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.irurueta.geometry;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Implementation of a k-D tree in 3D storing its nodes and points in flat primitive arrays.
+ * This is an alternative to {@link KDTree3D} that does not allocate an object per node, which reduces memory
+ * usage and speeds up construction and searches on large collections of points.
+ * Once a K-D tree is built for a collection of points, it can later be used to efficiently do certain operations
+ * such as point location, nearest points searches, etc.
+ */
+public class FlatKDTree3D extends FlatKDTree<Point3D> {
+
+    /**
+     * Constructor.
+     *
+     * @param pts collection of points to store in the tree.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS}.
+     */
+    public FlatKDTree3D(final Collection<Point3D> pts) {
+        super(pts, Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH);
+    }
+
+    /**
+     * Constructor building the tree in parallel on provided pool.
+     * The resulting tree is identical to the one built sequentially.
+     *
+     * @param pts  collection of points to store in the tree.
+     * @param pool pool where tree is built.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS}.
+     */
+    public FlatKDTree3D(final Collection<Point3D> pts, final ForkJoinPool pool) {
+        super(pts, Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH, pool);
+    }
+
+    /**
+     * Constructor.
+     * Coordinates of provided point cloud are copied into the tree, hence no point instances are created.
+     *
+     * @param cloud point cloud containing points to store in the tree.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS}.
+     */
+    public FlatKDTree3D(final PointCloud3D cloud) {
+        super(toColumns(cloud), cloud.size(), Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH);
+    }
+
+    /**
+     * Constructor building the tree in parallel on provided pool.
+     * Coordinates of provided point cloud are copied into the tree, hence no point instances are created.
+     * The resulting tree is identical to the one built sequentially.
+     *
+     * @param cloud point cloud containing points to store in the tree.
+     * @param pool  pool where tree is built.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS}.
+     */
+    public FlatKDTree3D(final PointCloud3D cloud, final ForkJoinPool pool) {
+        super(toColumns(cloud), cloud.size(), Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH, pool);
+    }
+
+    /**
+     * Constructor.
+     * Coordinates of provided point buffer are read chunk by chunk and copied into the tree, hence no point
+     * instances are created.
+     *
+     * @param buffer point buffer containing points to store in the tree.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS} or too large to be
+     *                                  stored in the tree.
+     */
+    public FlatKDTree3D(final PointBuffer3D buffer) {
+        super(toColumns(buffer), (int) buffer.size(), Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH);
+    }
+
+    /**
+     * Constructor building the tree in parallel on provided pool.
+     * Coordinates of provided point buffer are read chunk by chunk and copied into the tree, hence no point
+     * instances are created.
+     * The resulting tree is identical to the one built sequentially.
+     *
+     * @param buffer point buffer containing points to store in the tree.
+     * @param pool   pool where tree is built.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS} or too large to be
+     *                                  stored in the tree.
+     */
+    public FlatKDTree3D(final PointBuffer3D buffer, final ForkJoinPool pool) {
+        super(toColumns(buffer), (int) buffer.size(), Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH, pool);
+    }
+
+    /**
+     * Constructor.
+     * Provided coordinates are copied into the tree, hence no point instances are created.
+     *
+     * @param x x inhomogeneous coordinates of points.
+     * @param y y inhomogeneous coordinates of points.
+     * @param z z inhomogeneous coordinates of points.
+     * @throws IllegalArgumentException if arrays do not have the same length or if number of points is less
+     *                                  than {@link #MIN_PTS}.
+     */
+    public FlatKDTree3D(final double[] x, final double[] y, final double[] z) {
+        super(toColumns(x, y, z), x.length, Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH);
+    }
+
+    /**
+     * Creates a point having all its coordinates equal to zero.
+     *
+     * @return created point.
+     */
+    @Override
+    protected Point3D createPoint() {
+        return new InhomogeneousPoint3D(0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Converts coordinates of a point cloud into coordinate columns.
+     *
+     * @param cloud point cloud.
+     * @return coordinates stored as columns.
+     */
+    private static double[] toColumns(final PointCloud3D cloud) {
+        final var n = cloud.size();
+        final var result = new double[3 * n];
+        System.arraycopy(cloud.getX(), 0, result, 0, n);
+        System.arraycopy(cloud.getY(), 0, result, n, n);
+        System.arraycopy(cloud.getZ(), 0, result, 2 * n, n);
+        return result;
+    }
+
+    /**
+     * Converts coordinates of a point buffer into coordinate columns.
+     *
+     * @param buffer point buffer.
+     * @return coordinates stored as columns.
+     * @throws IllegalArgumentException if buffer contains too many points to be stored as columns.
+     */
+    private static double[] toColumns(final PointBuffer3D buffer) {
+        final var size = buffer.size();
+        if (size > Integer.MAX_VALUE / Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH) {
+            throw new IllegalArgumentException();
+        }
+        final var n = (int) size;
+        final var result = new double[3 * n];
+        for (var i = 0; i < n; ) {
+            final var chunk = buffer.getChunkAt(PointBuffer3D.getChunkIndex(i));
+            final var end = Math.min(n, i + PointBuffer3D.CHUNK_POINTS);
+            for (var pos = 0; i < end; i++, pos += 3) {
+                result[i] = chunk.get(pos);
+                result[n + i] = chunk.get(pos + 1);
+                result[2 * n + i] = chunk.get(pos + 2);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts arrays of coordinates into coordinate columns.
+     *
+     * @param x x inhomogeneous coordinates of points.
+     * @param y y inhomogeneous coordinates of points.
+     * @param z z inhomogeneous coordinates of points.
+     * @return coordinates stored as columns.
+     * @throws IllegalArgumentException if arrays do not have the same length.
+     */
+    private static double[] toColumns(final double[] x, final double[] y, final double[] z) {
+        if (x.length != y.length || x.length != z.length) {
+            throw new IllegalArgumentException();
+        }
+        final var n = x.length;
+        final var result = new double[3 * n];
+        System.arraycopy(x, 0, result, 0, n);
+        System.arraycopy(y, 0, result, n, n);
+        System.arraycopy(z, 0, result, 2 * n, n);
+        return result;
+    }
+}
@@ -18,6 +18,7 @@ package com.irurueta.geometry;
 
 import java.lang.reflect.Array;
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Implementation of a k-D tree in an arbitrary dimension.
@@ -36,6 +37,12 @@ public abstract class KDTree<P extends Point<P>> {
      */
     protected static final double BIG = Double.MAX_VALUE;
 
+    /**
+     * Value to use as maximum number of checks so that approximate searches do not bound the number of visited
+     * leaf boxes.
+     */
+    public static final int UNLIMITED_CHECKS = Integer.MAX_VALUE;
+
     /**
      * Number of tasks that can be queued.
      */
@@ -168,6 +175,61 @@ public abstract class KDTree<P extends Point<P>> {
         }
     }
 
+    /**
+     * Constructor building the tree in parallel.
+     * Once points of a box are partitioned, the subtrees of its daughters contain disjoint ranges of points,
+     * hence large subtrees are partitioned concurrently on provided pool. The resulting tree is identical to the
+     * one built sequentially by {@link #KDTree(Collection, Class)}.
+     *
+     * @param pts   collection of points to store in the tree.
+     * @param clazz class of point implementation to use.
+     * @param pool  pool where tree is built.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS} or pool is null.
+     */
+    protected KDTree(final Collection<P> pts, final Class<P> clazz, final ForkJoinPool pool) {
+        nPts = pts.size();
+        if (nPts < MIN_PTS) {
+            throw new IllegalArgumentException("number of points must be at least 3");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException();
+        }
+
+        //noinspection unchecked
+        this.pts = (P[]) Array.newInstance(clazz, pts.size());
+        this.pts = pts.toArray(this.pts);
+        rPtIndx = new int[nPts];
+        final int dim = getDimensions();
+
+        final var coords = new double[dim * nPts];
+        for (int j = 0, kk = 0; j < dim; j++, kk += nPts) {
+            for (var k = 0; k < nPts; k++) {
+                coords[kk + k] = this.pts[k].getInhomogeneousCoordinate(j);
+            }
+        }
+
+        // build tree
+        final var builder = new KDTreeBuilder(coords, nPts, dim);
+        builder.build(pool, KDTreeBuilder.DEFAULT_PARALLEL_THRESHOLD);
+        ptIndx = builder.ptIndx;
+
+        //noinspection unchecked
+        boxes = (BoxNode<P>[]) Array.newInstance(BoxNode.class, builder.nBoxes);
+        for (int k = 0, offset = 0; k < builder.nBoxes; k++, offset += dim) {
+            final var lo = createPoint(0.0);
+            final var hi = createPoint(0.0);
+            for (var j = 0; j < dim; j++) {
+                lo.setInhomogeneousCoordinate(j, builder.boxLo[offset + j]);
+                hi.setInhomogeneousCoordinate(j, builder.boxHi[offset + j]);
+            }
+            boxes[k] = new BoxNode<>(lo, hi, builder.boxMom[k], builder.boxDau1[k], builder.boxDau2[k],
+                    builder.boxPtLo[k], builder.boxPtHi[k]);
+        }
+        for (var j = 0; j < nPts; j++) {
+            rPtIndx[ptIndx[j]] = j;
+        }
+    }
+
     /**
      * Gets distance between points located at provided positions on input collection.
      *
@@ -267,6 +329,60 @@ public abstract class KDTree<P extends Point<P>> {
         return nrst;
     }
 
+    /**
+     * Index in provided input list of points of approximately closest point to provided one.
+     * Boxes are visited in order of increasing distance to provided point. Search stops once remaining boxes are
+     * farther than the closest point found so far divided by (1 + epsilon), or once maxChecks leaf boxes have been
+     * visited. Hence, distance to returned point is at most (1 + epsilon) times the exact nearest distance when
+     * the number of checks is not bounded.
+     *
+     * @param pt        point to check against. Does not need to be contained in input collection.
+     * @param epsilon   allowed relative error of distance to returned point. Zero means exact search.
+     * @param maxChecks maximum number of leaf boxes to visit, or {@link #UNLIMITED_CHECKS}.
+     * @return position of approximately closest point.
+     * @throws IllegalArgumentException if epsilon is negative or maximum number of checks is less than 1.
+     */
+    public int nearestIndex(final P pt, final double epsilon, final int maxChecks) {
+        checkApproximateParameters(epsilon, maxChecks);
+
+        final var factor = 1.0 + epsilon;
+        var nrst = 0;
+        var dnrst = BIG;
+
+        // find the smallest box index containing point
+        final var kp = locateBoxIndex(pt);
+        for (var i = boxes[kp].ptLo; i <= boxes[kp].ptHi; i++) {
+            final var pi = ptIndx[i];
+            final var d = pts[pi].distanceTo(pt);
+            if (d < dnrst) {
+                nrst = pi;
+                dnrst = d;
+            }
+        }
+
+        // visit other boxes in best-first order
+        var checks = 1;
+        final var queue = new BoxQueue();
+        queue.push(0, 0.0);
+        while (!queue.isEmpty() && checks < maxChecks && queue.peekDistance() * factor < dnrst) {
+            final var k = queue.pop();
+            if (boxes[k].dau1 != 0) {
+                pushBox(queue, boxes[k].dau1, pt, factor, dnrst);
+                pushBox(queue, boxes[k].dau2, pt, factor, dnrst);
+            } else if (k != kp) {
+                for (var i = boxes[k].ptLo; i <= boxes[k].ptHi; i++) {
+                    final var d = pts[ptIndx[i]].distanceTo(pt);
+                    if (d < dnrst) {
+                        nrst = ptIndx[i];
+                        dnrst = d;
+                    }
+                }
+                checks++;
+            }
+        }
+        return nrst;
+    }
+
     /**
      * Closest point to provided one.
      *
@@ -403,6 +519,105 @@ public abstract class KDTree<P extends Point<P>> {
         nNearest(nearestIndex(pt), pn, dn, n);
     }
 
+    /**
+     * Gets n approximately nearest point indices to a given one in the input collection.
+     * Boxes are visited in order of increasing distance to provided point. Search stops once remaining boxes are
+     * farther than the n-th nearest distance found so far divided by (1 + epsilon), or once maxChecks leaf boxes
+     * have been visited.
+     *
+     * @param jpt       index of point to search nearest ones for.
+     * @param nn        array containing resulting indices of nearest points up to the number of found points.
+     * @param dn        array containing resulting distances to nearest points up to the number of found points.
+     * @param n         number of nearest points to find.
+     * @param epsilon   allowed relative error of distances to returned points. Zero means exact search.
+     * @param maxChecks maximum number of leaf boxes to visit, or {@link #UNLIMITED_CHECKS}.
+     * @throws IllegalArgumentException if number of nearest points is invalid, if length of arrays
+     *                                  containing results are not valid either, if epsilon is negative or if
+     *                                  maximum number of checks is less than 1.
+     */
+    public void nNearest(final int jpt, final int[] nn, final double[] dn, final int n, final double epsilon,
+                         final int maxChecks) {
+        if (n < 0) {
+            throw new IllegalArgumentException("no neighbours requested");
+        }
+        if (n > nPts - 1) {
+            throw new IllegalArgumentException("too many neighbours requested");
+        }
+        if (nn.length != n || dn.length != n) {
+            throw new IllegalArgumentException("invalid result array lengths");
+        }
+        checkApproximateParameters(epsilon, maxChecks);
+
+        final var factor = 1.0 + epsilon;
+        for (var i = 0; i < n; i++) {
+            dn[i] = BIG;
+        }
+        var kp = boxes[locate(jpt)].mom;
+        while (boxes[kp].ptHi - boxes[kp].ptLo < n) {
+            kp = boxes[kp].mom;
+        }
+        for (var i = boxes[kp].ptLo; i <= boxes[kp].ptHi; i++) {
+            if (jpt == ptIndx[i]) {
+                continue;
+            }
+            final var d = distance(ptIndx[i], jpt);
+            if (d < dn[0]) {
+                dn[0] = d;
+                nn[0] = ptIndx[i];
+                if (n > 1) {
+                    siftDown(dn, nn, n);
+                }
+            }
+        }
+
+        // visit other boxes in best-first order
+        final var pt = pts[jpt];
+        var checks = 1;
+        final var queue = new BoxQueue();
+        queue.push(0, 0.0);
+        while (!queue.isEmpty() && checks < maxChecks && queue.peekDistance() * factor < dn[0]) {
+            final var k = queue.pop();
+            if (k == kp) {
+                continue;
+            }
+            if (boxes[k].dau1 != 0) {
+                pushBox(queue, boxes[k].dau1, pt, factor, dn[0]);
+                pushBox(queue, boxes[k].dau2, pt, factor, dn[0]);
+            } else {
+                for (var i = boxes[k].ptLo; i <= boxes[k].ptHi; i++) {
+                    final var d = distance(ptIndx[i], jpt);
+                    if (d < dn[0]) {
+                        dn[0] = d;
+                        nn[0] = ptIndx[i];
+                        if (n > 1) {
+                            siftDown(dn, nn, n);
+                        }
+                    }
+                }
+                checks++;
+            }
+        }
+    }
+
+    /**
+     * Gets n approximately nearest point indices to a given point in the input collection.
+     *
+     * @param pt        point to search nearest ones for.
+     * @param nn        array containing resulting indices of nearest points up to the number of found points.
+     * @param dn        array containing resulting distances to nearest points up to the number of found points.
+     * @param n         number of nearest points to find.
+     * @param epsilon   allowed relative error of distances to returned points. Zero means exact search.
+     * @param maxChecks maximum number of leaf boxes to visit on each search, or {@link #UNLIMITED_CHECKS}.
+     * @throws IllegalArgumentException if number of nearest points is invalid, if length of arrays
+     *                                  containing results are not valid either, if epsilon is negative or if
+     *                                  maximum number of checks is less than 1.
+     * @see #nNearest(int, int[], double[], int, double, int)
+     */
+    public void nNearest(final P pt, final int[] nn, final double[] dn, final int n, final double epsilon,
+                         final int maxChecks) {
+        nNearest(nearestIndex(pt, epsilon, maxChecks), nn, dn, n, epsilon, maxChecks);
+    }
+
     /**
      * Locates some near points to provided one up to a certain radius of search.
      * This method only returns up to nmax results, which means that not all points within required
@@ -535,6 +750,296 @@ public abstract class KDTree<P extends Point<P>> {
      */
     protected abstract P copyPoint(final P point);
 
+    /**
+     * Locates points contained inside an axis-aligned box.
+     * Boxes of the tree that do not intersect provided region are discarded, and all points of boxes fully
+     * contained inside the region are returned without checking their coordinates.
+     * This method only returns up to nmax results, which means that not all points inside the region are returned
+     * if more points than provided nmax value are inside it.
+     *
+     * @param region axis-aligned box to search points inside.
+     * @param list   list where indices of found points are stored up to the number of found points.
+     * @param nmax   maximum number of points to search.
+     * @return number of found points.
+     * @throws IllegalArgumentException if maximum number of points to search is zero or negative, or list where
+     *                                  indices are stored is not large enough.
+     */
+    public int locateInBox(final Box<P> region, final int[] list, final int nmax) {
+        if (nmax <= 0) {
+            throw new IllegalArgumentException("number of points to search must be at least 1");
+        }
+        if (list.length < nmax) {
+            throw new IllegalArgumentException("result might not fit into provided list");
+        }
+
+        final var lo = region.getLo();
+        final var hi = region.getHi();
+        final var task = new int[N_TASKS];
+        var nret = 0;
+        task[1] = 0;
+        var ntask = 1;
+        while (ntask != 0) {
+            final var k = task[ntask--];
+            final var box = boxes[k];
+            if (!intersects(box, lo, hi)) {
+                continue;
+            }
+            if (contains(lo, hi, box.getLo(), box.getHi())) {
+                // all points of box are inside the region
+                for (var i = box.ptLo; i <= box.ptHi; i++) {
+                    list[nret++] = ptIndx[i];
+                    if (nret == nmax) {
+                        return nmax;
+                    }
+                }
+            } else if (box.dau1 != 0) {
+                task[++ntask] = box.dau1;
+                task[++ntask] = box.dau2;
+            } else {
+                for (var i = box.ptLo; i <= box.ptHi; i++) {
+                    final var p = pts[ptIndx[i]];
+                    if (contains(lo, hi, p, p)) {
+                        list[nret++] = ptIndx[i];
+                        if (nret == nmax) {
+                            return nmax;
+                        }
+                    }
+                }
+            }
+        }
+        return nret;
+    }
+
+    /**
+     * Locates points whose Mahalanobis distance to provided one is within the standard deviation factor of
+     * provided accuracy, which is useful to gate measurements whose position is uncertain.
+     * This method only returns up to nmax results.
+     *
+     * @param pt       point to search nearby.
+     * @param accuracy accuracy containing the covariance of provided point.
+     * @param list     list where indices of found points are stored up to the number of found points.
+     * @param nmax     maximum number of points to search.
+     * @return number of found points.
+     * @throws IllegalArgumentException if maximum number of points to search is zero or negative, list where
+     *                                  indices are stored is not large enough, or accuracy has no covariance, its
+     *                                  dimensions do not match tree dimensions or its covariance is singular.
+     * @see Accuracy#getStandardDeviationFactor()
+     */
+    public int locateNear(final P pt, final Accuracy accuracy, final int[] list, final int nmax) {
+        return locateNear(pt, accuracy, accuracy.getStandardDeviationFactor(), list, nmax);
+    }
+
+    /**
+     * Locates points whose Mahalanobis distance to provided one is up to a certain value.
+     * Boxes are discarded using a lower bound of their Mahalanobis distance obtained from their Euclidean
+     * distance and the largest eigenvalue of the covariance.
+     * This method only returns up to nmax results.
+     *
+     * @param pt          point to search nearby.
+     * @param accuracy    accuracy containing the covariance of provided point.
+     * @param maxDistance maximum Mahalanobis distance, expressed in standard deviations.
+     * @param list        list where indices of found points are stored up to the number of found points.
+     * @param nmax        maximum number of points to search.
+     * @return number of found points.
+     * @throws IllegalArgumentException if maximum distance is negative, maximum number of points to search is zero
+     *                                  or negative, list where indices are stored is not large enough, or accuracy
+     *                                  has no covariance, its dimensions do not match tree dimensions or its
+     *                                  covariance is singular.
+     */
+    public int locateNear(final P pt, final Accuracy accuracy, final double maxDistance, final int[] list,
+                          final int nmax) {
+        if (maxDistance < 0.0) {
+            throw new IllegalArgumentException("radius must be non-negative");
+        }
+        if (nmax <= 0) {
+            throw new IllegalArgumentException("number of points to search must be at least 1");
+        }
+        if (list.length < nmax) {
+            throw new IllegalArgumentException("result might not fit into provided list");
+        }
+        final var metric = new MahalanobisMetric(accuracy, getDimensions());
+
+        final var sqrMaxDistance = maxDistance * maxDistance;
+        final var boundFactor = metric.getBoundFactor();
+        final var task = new int[N_TASKS];
+        var nret = 0;
+        task[1] = 0;
+        var ntask = 1;
+        while (ntask != 0) {
+            final var k = task[ntask--];
+            if (boxes[k].getSqrDistance(pt) * boundFactor > sqrMaxDistance) {
+                continue;
+            }
+            if (boxes[k].dau1 != 0) {
+                task[++ntask] = boxes[k].dau1;
+                task[++ntask] = boxes[k].dau2;
+            } else {
+                for (var i = boxes[k].ptLo; i <= boxes[k].ptHi; i++) {
+                    if (metric.sqrDistance(pts[ptIndx[i]], pt) <= sqrMaxDistance) {
+                        list[nret++] = ptIndx[i];
+                        if (nret == nmax) {
+                            return nmax;
+                        }
+                    }
+                }
+            }
+        }
+        return nret;
+    }
+
+    /**
+     * Gets n nearest point indices to a given point under the Mahalanobis distance defined by provided accuracy.
+     * Boxes are visited in order of increasing lower bound of their Mahalanobis distance.
+     * Results are sorted by increasing distance.
+     *
+     * @param pt       point to search nearest ones for. Does not need to be contained in input collection.
+     * @param accuracy accuracy containing the covariance of provided point.
+     * @param nn       array containing resulting indices of nearest points.
+     * @param dn       array containing resulting Mahalanobis distances to nearest points, expressed in standard
+     *                 deviations.
+     * @param n        number of nearest points to find.
+     * @throws IllegalArgumentException if number of nearest points is invalid, if length of arrays containing
+     *                                  results are not valid either, or if accuracy has no covariance, its
+     *                                  dimensions do not match tree dimensions or its covariance is singular.
+     */
+    public void nNearest(final P pt, final Accuracy accuracy, final int[] nn, final double[] dn, final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("no neighbours requested");
+        }
+        if (n > nPts) {
+            throw new IllegalArgumentException("too many neighbours requested");
+        }
+        if (nn.length != n || dn.length != n) {
+            throw new IllegalArgumentException("invalid result array lengths");
+        }
+        final var metric = new MahalanobisMetric(accuracy, getDimensions());
+        if (n == 0) {
+            return;
+        }
+
+        // squared distances are stored in dn while searching
+        for (var i = 0; i < n; i++) {
+            dn[i] = BIG;
+        }
+        final var boundFactor = metric.getBoundFactor();
+        final var queue = new BoxQueue();
+        queue.push(0, 0.0);
+        while (!queue.isEmpty() && queue.peekDistance() < dn[0]) {
+            final var k = queue.pop();
+            if (boxes[k].dau1 != 0) {
+                final var d1 = boxes[k].dau1;
+                final var bound1 = boxes[d1].getSqrDistance(pt) * boundFactor;
+                if (bound1 < dn[0]) {
+                    queue.push(d1, bound1);
+                }
+                final var d2 = boxes[k].dau2;
+                final var bound2 = boxes[d2].getSqrDistance(pt) * boundFactor;
+                if (bound2 < dn[0]) {
+                    queue.push(d2, bound2);
+                }
+            } else {
+                for (var i = boxes[k].ptLo; i <= boxes[k].ptHi; i++) {
+                    final var d = metric.sqrDistance(pts[ptIndx[i]], pt);
+                    if (d < dn[0]) {
+                        dn[0] = d;
+                        nn[0] = ptIndx[i];
+                        if (n > 1) {
+                            siftDown(dn, nn, n);
+                        }
+                    }
+                }
+            }
+        }
+
+        // sort heap by increasing distance
+        for (var i = n - 1; i > 0; i--) {
+            final var tmpDist = dn[0];
+            dn[0] = dn[i];
+            dn[i] = tmpDist;
+            final var tmpNdx = nn[0];
+            nn[0] = nn[i];
+            nn[i] = tmpNdx;
+            siftDown(dn, nn, i);
+        }
+        for (var i = 0; i < n; i++) {
+            dn[i] = Math.sqrt(dn[i]);
+        }
+    }
+
+    /**
+     * Checks parameters of approximate searches.
+     *
+     * @param epsilon   allowed relative error.
+     * @param maxChecks maximum number of leaf boxes to visit.
+     * @throws IllegalArgumentException if epsilon is negative or maximum number of checks is less than 1.
+     */
+    static void checkApproximateParameters(final double epsilon, final int maxChecks) {
+        if (epsilon < 0.0) {
+            throw new IllegalArgumentException("epsilon must be non-negative");
+        }
+        if (maxChecks < 1) {
+            throw new IllegalArgumentException("at least one check is required");
+        }
+    }
+
+    /**
+     * Indicates whether a box of the tree intersects an axis-aligned region.
+     *
+     * @param box box of the tree.
+     * @param lo  low corner of region.
+     * @param hi  high corner of region.
+     * @return true if box and region intersect, false otherwise.
+     */
+    private boolean intersects(final BoxNode<P> box, final P lo, final P hi) {
+        final var boxLo = box.getLo();
+        final var boxHi = box.getHi();
+        final var dim = getDimensions();
+        for (var j = 0; j < dim; j++) {
+            if (boxLo.getInhomogeneousCoordinate(j) > hi.getInhomogeneousCoordinate(j)
+                    || boxHi.getInhomogeneousCoordinate(j) < lo.getInhomogeneousCoordinate(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates whether an axis-aligned region contains the region defined by provided corners, which might be
+     * equal to test a single point.
+     *
+     * @param lo      low corner of containing region.
+     * @param hi      high corner of containing region.
+     * @param innerLo low corner of contained region.
+     * @param innerHi high corner of contained region.
+     * @return true if region is contained, false otherwise.
+     */
+    private boolean contains(final P lo, final P hi, final P innerLo, final P innerHi) {
+        final var dim = getDimensions();
+        for (var j = 0; j < dim; j++) {
+            if (innerLo.getInhomogeneousCoordinate(j) < lo.getInhomogeneousCoordinate(j)
+                    || innerHi.getInhomogeneousCoordinate(j) > hi.getInhomogeneousCoordinate(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a box to the queue of an approximate search if it might contain points closer than current distance.
+     *
+     * @param queue  queue of boxes.
+     * @param k      position of box.
+     * @param pt     query point.
+     * @param factor factor to apply to box distance, equal to 1 + epsilon.
+     * @param dist   current distance.
+     */
+    private void pushBox(final BoxQueue queue, final int k, final P pt, final double factor, final double dist) {
+        final var d = boxes[k].getDistance(pt);
+        if (d * factor < dist) {
+            queue.push(k, d);
+        }
+    }
+
     /**
      * Gets position of point on input collection for provided internal boxes position.
      *
@@ -17,6 +17,7 @@
 package com.irurueta.geometry;
 
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Implementation of a k-D tree in 2D.
@@ -34,6 +35,18 @@ public class KDTree2D extends KDTree<Point2D> {
         super(pts, Point2D.class);
     }
 
+    /**
+     * Constructor building the tree in parallel on provided pool.
+     * The resulting tree is identical to the one built sequentially.
+     *
+     * @param pts  collection of points to store in the tree.
+     * @param pool pool where tree is built.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS} or pool is null.
+     */
+    public KDTree2D(final Collection<Point2D> pts, final ForkJoinPool pool) {
+        super(pts, Point2D.class, pool);
+    }
+
     /**
      * Gets number of dimensions supported by this k-D tree implementation on provided list of points.
      *
@@ -17,6 +17,7 @@
 package com.irurueta.geometry;
 
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Implementation of a k-D tree in 3D.
@@ -33,6 +34,17 @@ public class KDTree3D extends KDTree<Point3D> {
         super(pts, Point3D.class);
     }
 
+    /**
+     * Constructor building the tree in parallel on provided pool.
+     * The resulting tree is identical to the one built sequentially.
+     * @param pts  collection of points to store in the tree.
+     * @param pool pool where tree is built.
+     * @throws IllegalArgumentException if number of points is less than {@link #MIN_PTS} or pool is null.
+     */
+    public KDTree3D(final Collection<Point3D> pts, final ForkJoinPool pool) {
+        super(pts, Point3D.class, pool);
+    }
+
     /**
      * Gets number of dimensions supported by this k-D tree implementation on provided list of points.
      * @return number of dimensions.
@@ -0,0 +1,422 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.irurueta.geometry;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Builds the nodes of a k-D tree into flat arrays, either sequentially or in parallel.
+ * Box positions, daughters and point ranges of a k-D tree only depend on the number of points, hence they are
+ * computed first in the same order as {@link KDTree} does. Then, points of each box are partitioned around the
+ * median of the box split dimension. Since daughter boxes contain disjoint ranges of points, subtrees are
+ * partitioned concurrently on a {@link ForkJoinPool} once their mother has been partitioned, and the resulting tree
+ * is identical to the one built sequentially.
+ */
+final class KDTreeBuilder {
+
+    /**
+     * Default minimum number of points that a box must contain so that its daughters are partitioned
+     * concurrently. Smaller subtrees are partitioned sequentially to avoid the overhead of scheduling tiny tasks.
+     */
+    static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Number of tasks that can be queued.
+     */
+    private static final int N_TASKS = 50;
+
+    /**
+     * Number of dimensions of points.
+     */
+    final int dim;
+
+    /**
+     * Number of points.
+     */
+    final int nPts;
+
+    /**
+     * Number of boxes.
+     */
+    final int nBoxes;
+
+    /**
+     * Coordinates of points stored as columns in the order of the input collection.
+     */
+    final double[] columns;
+
+    /**
+     * Indices of points going from tree order to the input collection of points.
+     */
+    final int[] ptIndx;
+
+    /**
+     * Low coordinate values of each box. Value of dimension d for box k is stored at position k * dim + d.
+     */
+    final double[] boxLo;
+
+    /**
+     * High coordinate values of each box. Value of dimension d for box k is stored at position k * dim + d.
+     */
+    final double[] boxHi;
+
+    /**
+     * Position of mother node of each box.
+     */
+    final int[] boxMom;
+
+    /**
+     * Position of 1st daughter node of each box or zero for leaf boxes.
+     */
+    final int[] boxDau1;
+
+    /**
+     * Position of 2nd daughter node of each box or zero for leaf boxes.
+     */
+    final int[] boxDau2;
+
+    /**
+     * Low index (in tree order) of points inside each box.
+     */
+    final int[] boxPtLo;
+
+    /**
+     * High index (in tree order) of points inside each box.
+     */
+    final int[] boxPtHi;
+
+    /**
+     * Dimension used to split each box.
+     */
+    final int[] boxDim;
+
+    /**
+     * Selects split dimension of each box or null to cycle through dimensions.
+     */
+    private final SplitDimensionSelector selector;
+
+    /**
+     * Constructor.
+     * Computes the layout of the boxes of the tree without partitioning points.
+     *
+     * @param columns coordinates of points stored as columns. Coordinate of dimension d for point j must be
+     *                stored at position d * nPts + j. Provided array is not modified.
+     * @param nPts    number of points.
+     * @param dim     number of dimensions of points.
+     */
+    KDTreeBuilder(final double[] columns, final int nPts, final int dim) {
+        this(columns, nPts, dim, null);
+    }
+
+    /**
+     * Constructor.
+     * Computes the layout of the boxes of the tree without partitioning points.
+     *
+     * @param columns  coordinates of points stored as columns. Coordinate of dimension d for point j must be
+     *                 stored at position d * nPts + j. Provided array is not modified.
+     * @param nPts     number of points.
+     * @param dim      number of dimensions of points.
+     * @param selector selects split dimension of each box or null to cycle through dimensions.
+     */
+    KDTreeBuilder(final double[] columns, final int nPts, final int dim, final SplitDimensionSelector selector) {
+        this.columns = columns;
+        this.selector = selector;
+        this.nPts = nPts;
+        this.dim = dim;
+
+        var m = 1;
+        for (var ntmp = nPts; ntmp != 0; ntmp >>= 1) {
+            m <<= 1;
+        }
+        var nboxes = 2 * nPts - (m >> 1); // number of boxes to store points
+        if (m < nboxes) {
+            nboxes = m;
+        }
+        nboxes--;
+        nBoxes = nboxes;
+
+        ptIndx = new int[nPts];
+        boxLo = new double[nboxes * dim];
+        boxHi = new double[nboxes * dim];
+        boxMom = new int[nboxes];
+        boxDau1 = new int[nboxes];
+        boxDau2 = new int[nboxes];
+        boxPtLo = new int[nboxes];
+        boxPtHi = new int[nboxes];
+        boxDim = new int[nboxes];
+
+        for (var k = 0; k < nPts; k++) {
+            ptIndx[k] = k;
+        }
+        for (var j = 0; j < dim; j++) {
+            boxLo[j] = -KDTree.BIG;
+            boxHi[j] = KDTree.BIG;
+        }
+        boxPtHi[0] = nPts - 1;
+
+        // compute layout of boxes in the same order as points are partitioned by KDTree
+        final var taskmom = new int[N_TASKS];
+        final var taskdim = new int[N_TASKS];
+        var jbox = 0;
+        taskmom[1] = 0;
+        taskdim[1] = 0;
+        var nowtask = 1;
+        while (nowtask != 0) {
+            final var tmom = taskmom[nowtask];
+            final var tdim = taskdim[nowtask--];
+            final var ptlo = boxPtLo[tmom];
+            final var pthi = boxPtHi[tmom];
+            final var np = pthi - ptlo + 1;
+            final var kk = (np - 1) / 2;
+
+            final var d1 = ++jbox;
+            boxMom[d1] = tmom;
+            boxPtLo[d1] = ptlo;
+            boxPtHi[d1] = ptlo + kk;
+
+            final var d2 = ++jbox;
+            boxMom[d2] = tmom;
+            boxPtLo[d2] = ptlo + kk + 1;
+            boxPtHi[d2] = pthi;
+
+            boxDau1[tmom] = d1;
+            boxDau2[tmom] = d2;
+            boxDim[tmom] = tdim;
+            if (kk > 1) {
+                taskmom[++nowtask] = d1;
+                taskdim[nowtask] = (tdim + 1) % dim;
+            }
+            if (np - kk > 3) {
+                taskmom[++nowtask] = d2;
+                taskdim[nowtask] = (tdim + 1) % dim;
+            }
+        }
+    }
+
+    /**
+     * Partitions points of all boxes sequentially.
+     * Boxes are always created after their mother, hence boxes are partitioned in increasing position order.
+     */
+    void build() {
+        for (var k = 0; k < nBoxes; k++) {
+            if (boxDau1[k] != 0) {
+                split(k);
+            }
+        }
+    }
+
+    /**
+     * Partitions points of all boxes using provided pool.
+     *
+     * @param pool      pool where subtrees are partitioned.
+     * @param threshold minimum number of points that a box must contain so that its daughters are partitioned
+     *                  concurrently.
+     */
+    void build(final ForkJoinPool pool, final int threshold) {
+        pool.invoke(new SplitTask(0, threshold));
+    }
+
+    /**
+     * Partitions points of provided box around the median of its split dimension and sets the bounds of its
+     * daughters.
+     *
+     * @param k position of box to be partitioned.
+     */
+    private void split(final int k) {
+        if (selector != null) {
+            boxDim[k] = selector.select(this, k);
+        }
+        final var tdim = boxDim[k];
+        final var ptlo = boxPtLo[k];
+        final var np = boxPtHi[k] - ptlo + 1;
+        final var kk = (np - 1) / 2;
+        selecti(kk, ptlo, ptIndx, np, tdim * nPts, columns);
+
+        final var value = columns[tdim * nPts + ptIndx[ptlo + kk]];
+        final var momOffset = k * dim;
+
+        // 1st daughter keeps low bounds of mother and splits high bound
+        final var d1Offset = boxDau1[k] * dim;
+        System.arraycopy(boxLo, momOffset, boxLo, d1Offset, dim);
+        System.arraycopy(boxHi, momOffset, boxHi, d1Offset, dim);
+        boxHi[d1Offset + tdim] = value;
+
+        // 2nd daughter splits low bound and keeps high bounds of mother
+        final var d2Offset = boxDau2[k] * dim;
+        System.arraycopy(boxLo, momOffset, boxLo, d2Offset, dim);
+        System.arraycopy(boxHi, momOffset, boxHi, d2Offset, dim);
+        boxLo[d2Offset + tdim] = value;
+    }
+
+    /**
+     * Partitions points of provided box and all its descendants sequentially.
+     *
+     * @param box position of root box of subtree.
+     */
+    private void splitSubtree(final int box) {
+        final var task = new int[N_TASKS];
+        task[1] = box;
+        var ntask = 1;
+        while (ntask != 0) {
+            final var k = task[ntask--];
+            if (boxDau1[k] != 0) {
+                split(k);
+                task[++ntask] = boxDau1[k];
+                task[++ntask] = boxDau2[k];
+            }
+        }
+    }
+
+    /**
+     * Makes a selection so that we obtain ordered index at provided k position.
+     *
+     * @param k          sorted position to retrieve.
+     * @param indxOffset offset where indx search starts.
+     * @param indx       array to be sorted (i.e. selected).
+     * @param n          length of arrays.
+     * @param arrOffset  offset of values array.
+     * @param arr        values used to select.
+     */
+    private static void selecti(final int k, final int indxOffset, final int[] indx, final int n,
+                                final int arrOffset, final double[] arr) {
+        var ir = n - 1;
+        var l = 0;
+
+        for (; ; ) {
+            if (ir <= l + 1) {
+                if (ir == l + 1 && arr[arrOffset + indx[indxOffset + ir]] < arr[arrOffset + indx[indxOffset + l]]) {
+                    swap(indx, indxOffset + l, indxOffset + ir);
+                }
+                return;
+            } else {
+                final var mid = (l + ir) >> 1;
+                swap(indx, indxOffset + mid, indxOffset + l + 1);
+                if (arr[arrOffset + indx[indxOffset + l]] > arr[arrOffset + indx[indxOffset + ir]]) {
+                    swap(indx, indxOffset + l, indxOffset + ir);
+                }
+                if (arr[arrOffset + indx[indxOffset + l + 1]] > arr[arrOffset + indx[indxOffset + ir]]) {
+                    swap(indx, indxOffset + l + 1, indxOffset + ir);
+                }
+                if (arr[arrOffset + indx[indxOffset + l]] > arr[arrOffset + indx[indxOffset + l + 1]]) {
+                    swap(indx, indxOffset + l, indxOffset + l + 1);
+                }
+                var i = l + 1;
+                var j = ir;
+                final var ia = indx[indxOffset + l + 1];
+                final var a = arr[arrOffset + ia];
+                for (; ; ) {
+                    do {
+                        i++;
+                    } while (arr[arrOffset + indx[indxOffset + i]] < a);
+                    do {
+                        j--;
+                    } while (arr[arrOffset + indx[indxOffset + j]] > a);
+                    if (j < i) {
+                        break;
+                    }
+                    swap(indx, indxOffset + i, indxOffset + j);
+                }
+                indx[indxOffset + l + 1] = indx[indxOffset + j];
+                indx[indxOffset + j] = ia;
+                if (j >= k) {
+                    ir = j - 1;
+                }
+                if (j <= k) {
+                    l = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Swaps values.
+     *
+     * @param a    array containing values to swap.
+     * @param posA 1st position to be swapped.
+     * @param posB 2nd position to be swapped.
+     */
+    private static void swap(final int[] a, final int posA, final int posB) {
+        final var tmp = a[posA];
+        a[posA] = a[posB];
+        a[posB] = tmp;
+    }
+
+    /**
+     * Selects the dimension used to split a box.
+     * Selection must only depend on provided box and the points it contains so that trees built in parallel are
+     * identical to the ones built sequentially.
+     */
+    @FunctionalInterface
+    interface SplitDimensionSelector {
+        /**
+         * Selects split dimension of provided box.
+         * Points of the box are the ones between positions {@link #boxPtLo} and {@link #boxPtHi} of
+         * {@link #ptIndx}.
+         *
+         * @param builder builder containing the box.
+         * @param box     position of box to be split.
+         * @return split dimension.
+         */
+        int select(final KDTreeBuilder builder, final int box);
+    }
+
+    /**
+     * Task partitioning a subtree.
+     */
+    private class SplitTask extends RecursiveAction {
+
+        /**
+         * Position of root box of subtree.
+         */
+        private final int box;
+
+        /**
+         * Minimum number of points that a box must contain so that its daughters are partitioned concurrently.
+         */
+        private final int threshold;
+
+        /**
+         * Constructor.
+         *
+         * @param box       position of root box of subtree.
+         * @param threshold minimum number of points that a box must contain so that its daughters are
+         *                  partitioned concurrently.
+         */
+        SplitTask(final int box, final int threshold) {
+            this.box = box;
+            this.threshold = threshold;
+        }
+
+        /**
+         * Partitions the subtree.
+         */
+        @Override
+        protected void compute() {
+            if (boxDau1[box] == 0) {
+                return;
+            }
+            if (boxPtHi[box] - boxPtLo[box] + 1 < threshold) {
+                splitSubtree(box);
+                return;
+            }
+
+            split(box);
+            invokeAll(new SplitTask(boxDau1[box], threshold), new SplitTask(boxDau2[box], threshold));
+        }
+    }
+}
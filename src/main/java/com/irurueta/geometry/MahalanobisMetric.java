@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.irurueta.geometry;
+
+/**
+ * Computes Mahalanobis distances between points for the covariance carried by an {@link Accuracy}.
+ * Covariance is decomposed by {@link Accuracy} as U * S * U^T, hence the Mahalanobis distance of a difference
+ * vector v is the Euclidean norm of S^-1/2 * U^T * v. Such whitening matrix is computed once, so that distances
+ * can be evaluated without allocating points or matrices.
+ * Instances of this class are not thread safe.
+ */
+final class MahalanobisMetric {
+
+    /**
+     * Number of dimensions.
+     */
+    private final int dim;
+
+    /**
+     * Whitening matrix S^-1/2 * U^T stored in row order.
+     */
+    private final double[] whitening;
+
+    /**
+     * Inverse of the largest eigenvalue of the covariance matrix.
+     * Squared Euclidean distances multiplied by this factor are a lower bound of squared Mahalanobis distances.
+     */
+    private final double boundFactor;
+
+    /**
+     * Difference between points being compared.
+     */
+    private final double[] diff;
+
+    /**
+     * Constructor.
+     *
+     * @param accuracy accuracy containing covariance.
+     * @param dim      number of dimensions of points being compared.
+     * @throws IllegalArgumentException if accuracy has no covariance, if its dimensions do not match provided
+     *                                  ones or if its covariance is singular (i.e. any of its singular values is zero
+     *                                  up to machine precision), since Mahalanobis distance is then undefined.
+     */
+    MahalanobisMetric(final Accuracy accuracy, final int dim) {
+        if (accuracy.getCovarianceMatrix() == null || accuracy.getNumberOfDimensions() != dim) {
+            throw new IllegalArgumentException();
+        }
+
+        var maxSqrtSingularValue = 0.0;
+        for (var i = 0; i < dim; i++) {
+            maxSqrtSingularValue = Math.max(maxSqrtSingularValue, accuracy.sqrtSingularValues[i]);
+        }
+        final var minSingularValue = maxSqrtSingularValue * maxSqrtSingularValue * dim * Math.ulp(1.0);
+        for (var i = 0; i < dim; i++) {
+            final var sqrtSingularValue = accuracy.sqrtSingularValues[i];
+            // negated comparison also rejects NaN values
+            if (!(sqrtSingularValue * sqrtSingularValue > minSingularValue)) {
+                throw new IllegalArgumentException();
+            }
+        }
+
+        this.dim = dim;
+        whitening = new double[dim * dim];
+        diff = new double[dim];
+
+        for (var i = 0; i < dim; i++) {
+            final var sqrtSingularValue = accuracy.sqrtSingularValues[i];
+            for (var j = 0; j < dim; j++) {
+                whitening[i * dim + j] = accuracy.u.getElementAt(j, i) / sqrtSingularValue;
+            }
+        }
+        boundFactor = 1.0 / (maxSqrtSingularValue * maxSqrtSingularValue);
+    }
+
+    /**
+     * Gets factor that converts squared Euclidean distances into lower bounds of squared Mahalanobis distances.
+     *
+     * @return inverse of the largest eigenvalue of the covariance matrix.
+     */
+    double getBoundFactor() {
+        return boundFactor;
+    }
+
+    /**
+     * Gets squared Mahalanobis distance between two points.
+     *
+     * @param a   1st point.
+     * @param b   2nd point.
+     * @param <P> type of point.
+     * @return squared Mahalanobis distance.
+     */
+    <P extends Point<P>> double sqrDistance(final P a, final P b) {
+        for (var j = 0; j < dim; j++) {
+            diff[j] = a.getInhomogeneousCoordinate(j) - b.getInhomogeneousCoordinate(j);
+        }
+
+        var result = 0.0;
+        for (int i = 0, offset = 0; i < dim; i++) {
+            var w = 0.0;
+            for (var j = 0; j < dim; j++) {
+                w += whitening[offset++] * diff[j];
+            }
+            result += w * w;
+        }
+        return result;
+    }
+}
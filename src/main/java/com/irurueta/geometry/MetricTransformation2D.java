@@ -204,6 +204,104 @@ public class MetricTransformation2D extends EuclideanTransformation2D implements
                 scale * outputPoint.getInhomY() + translation[1]);
     }
 
+    /**
+     * Transforms a packed array of points expressed in inhomogeneous
+     * coordinates and stores the result into provided destination array.
+     * Each point is stored as 2 consecutive values (x, y) and consecutive
+     * points are separated by provided stride, so that point i is located at
+     * position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * Points are scaled, rotated and translated using closed form expressions,
+     * without creating any point or matrix instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 2.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    @Override
+    public void transform(final double[] src, final int srcOffset, final double[] dst, final int dstOffset,
+                          final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point2D.POINT2D_INHOMOGENEOUS_COORDINATES_LENGTH);
+
+        final var theta = getRotation().getTheta();
+        final var scaledCosTheta = scale * Math.cos(theta);
+        final var scaledSinTheta = scale * Math.sin(theta);
+        final var translation = getTranslation();
+        final var tx = translation[0];
+        final var ty = translation[1];
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+
+            dst[dstPos] = scaledCosTheta * x - scaledSinTheta * y + tx;
+            dst[dstPos + 1] = scaledSinTheta * x + scaledCosTheta * y + ty;
+
+            srcPos += stride;
+            dstPos += stride;
+        }
+    }
+
+    /**
+     * Transforms a packed array of points expressed in homogeneous coordinates
+     * and stores the result into provided destination array.
+     * Each point is stored as 3 consecutive values (x, y, w) and consecutive
+     * points are separated by provided stride, so that point i is located at
+     * position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * Points are scaled, rotated and translated using closed form expressions,
+     * without creating any point or matrix instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 3.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    @Override
+    public void transformHomogeneous(final double[] src, final int srcOffset, final double[] dst,
+                                     final int dstOffset, final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point2D.POINT2D_HOMOGENEOUS_COORDINATES_LENGTH);
+
+        final var theta = getRotation().getTheta();
+        final var scaledCosTheta = scale * Math.cos(theta);
+        final var scaledSinTheta = scale * Math.sin(theta);
+        final var translation = getTranslation();
+        final var tx = translation[0];
+        final var ty = translation[1];
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+            final var w = src[srcPos + 2];
+
+            dst[dstPos] = scaledCosTheta * x - scaledSinTheta * y + tx * w;
+            dst[dstPos + 1] = scaledSinTheta * x + scaledCosTheta * y + ty * w;
+            dst[dstPos + 2] = w;
+
+            srcPos += stride;
+            dstPos += stride;
+        }
+    }
+
     /**
      * Inverses this transformation.
      */
@@ -309,35 +309,144 @@ public class PinholeCamera extends Camera implements Serializable {
 
     /**
      * Projects a 3D point into a 2D point in a retinal plane.
+     * Projection is computed directly from the elements of the camera matrix,
+     * hence no intermediate point or matrix is created.
      *
      * @param inputPoint 3D point to be projected.
      * @param result     2D projected point.
      */
     @Override
     public void project(final Point3D inputPoint, final Point2D result) {
-        // convert input point to homogeneous and normalize to increase accuracy
-        final var point3D = new HomogeneousPoint3D(inputPoint);
-        point3D.normalize();
+        // normalize this camera to increase accuracy (only done once until the
+        // camera changes)
+        normalize();
+
+        final var x = inputPoint.getHomX();
+        final var y = inputPoint.getHomY();
+        final var z = inputPoint.getHomZ();
+        final var w = inputPoint.getHomW();
+
+        // camera matrix buffer is stored in column order
+        final var b = internalMatrix.getBuffer();
+        result.setHomogeneousCoordinates(
+                b[0] * x + b[3] * y + b[6] * z + b[9] * w,
+                b[1] * x + b[4] * y + b[7] * z + b[10] * w,
+                b[2] * x + b[5] * y + b[8] * z + b[11] * w);
+        // to increase accuracy
+        result.normalize();
+    }
+
+    /**
+     * Projects packed 3D points into packed 2D points in a retinal plane.
+     * Each 3D point is stored as 3 consecutive inhomogeneous coordinates
+     * (x, y, z) and each projected point is stored as 2 consecutive
+     * inhomogeneous coordinates (u, v).
+     * This method does not create any point instance.
+     *
+     * @param xyz array containing 3D points to be projected.
+     * @param uv  array where projected 2D points will be stored.
+     * @param n   number of points to be projected.
+     * @throws IllegalArgumentException if n is negative or if arrays are not
+     *                                  large enough.
+     */
+    public void project(final double[] xyz, final double[] uv, final int n) {
+        if (n < 0 || xyz.length < (long) n * Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH
+                || uv.length < (long) n * Point2D.POINT2D_INHOMOGENEOUS_COORDINATES_LENGTH) {
+            throw new IllegalArgumentException();
+        }
+
         // normalize this camera to increase accuracy
         normalize();
 
-        try {
-            // copy point3D coordinates in a matrix
-            final var m3D = new Matrix(Point3D.POINT3D_HOMOGENEOUS_COORDINATES_LENGTH, 1);
-            m3D.setElementAtIndex(0, point3D.getHomX());
-            m3D.setElementAtIndex(1, point3D.getHomY());
-            m3D.setElementAtIndex(2, point3D.getHomZ());
-            m3D.setElementAtIndex(3, point3D.getHomW());
-
-            // make product of 3D point column matrix with pinhole camera
-            // internal matrix
-            final var m = internalMatrix.multiplyAndReturnNew(m3D);
-
-            result.setHomogeneousCoordinates(m.getElementAtIndex(0), m.getElementAtIndex(1), m.getElementAtIndex(2));
-            // to increase accuracy
-            result.normalize();
-        } catch (final WrongSizeException ignore) {
-            // never happens
+        // camera matrix buffer is stored in column order
+        final var b = internalMatrix.getBuffer();
+        for (int i = 0, src = 0, dst = 0; i < n; i++, src += 3, dst += 2) {
+            final var x = xyz[src];
+            final var y = xyz[src + 1];
+            final var z = xyz[src + 2];
+
+            final var w = b[2] * x + b[5] * y + b[8] * z + b[11];
+            uv[dst] = (b[0] * x + b[3] * y + b[6] * z + b[9]) / w;
+            uv[dst + 1] = (b[1] * x + b[4] * y + b[7] * z + b[10]) / w;
+        }
+    }
+
+    /**
+     * Projects all points of provided 3D point cloud into a 2D point cloud in
+     * a retinal plane and stores the result into provided instance.
+     * Points are projected directly from the arrays of the point clouds,
+     * hence no point instance is created.
+     * Note that if result point cloud is not empty, it will be cleared when
+     * calling this method.
+     *
+     * @param inputPoints 3D point cloud to be projected.
+     * @param result      instance where 2D projected points are stored.
+     */
+    @Override
+    public void project(final PointCloud3D inputPoints, final PointCloud2D result) {
+        // normalize this camera to increase accuracy
+        normalize();
+
+        final var n = inputPoints.size();
+        result.clear();
+        result.ensureCapacity(n);
+
+        // camera matrix buffer is stored in column order
+        final var b = internalMatrix.getBuffer();
+        final var x = inputPoints.getX();
+        final var y = inputPoints.getY();
+        final var z = inputPoints.getZ();
+        for (var i = 0; i < n; i++) {
+            final var px = x[i];
+            final var py = y[i];
+            final var pz = z[i];
+
+            final var w = b[2] * px + b[5] * py + b[8] * pz + b[11];
+            result.add((b[0] * px + b[3] * py + b[6] * pz + b[9]) / w,
+                    (b[1] * px + b[4] * py + b[7] * pz + b[10]) / w);
+        }
+    }
+
+    /**
+     * Projects a block of consecutive points of provided 3D point buffer into
+     * a 2D point cloud in a retinal plane and stores the result into provided
+     * instance.
+     * Points are read directly from the point buffer, hence no point instance
+     * is created.
+     * Note that if result point cloud is not empty, it will be cleared when
+     * calling this method.
+     *
+     * @param inputPoints 3D point buffer containing points to be projected.
+     * @param fromIndex   position of first point to be projected.
+     * @param count       number of points to be projected.
+     * @param result      instance where 2D projected points are stored.
+     * @throws IndexOutOfBoundsException if requested block is not within
+     *                                   provided point buffer.
+     */
+    @Override
+    public void project(final PointBuffer3D inputPoints, final long fromIndex, final int count,
+                        final PointCloud2D result) {
+        inputPoints.checkRange(fromIndex, count);
+
+        // normalize this camera to increase accuracy
+        normalize();
+
+        result.clear();
+        result.ensureCapacity(count);
+
+        // camera matrix buffer is stored in column order
+        final var b = internalMatrix.getBuffer();
+        for (var i = 0; i < count; i++) {
+            final var index = fromIndex + i;
+            final var chunk = inputPoints.getChunkAt(PointBuffer3D.getChunkIndex(index));
+            final var pos = PointBuffer3D.getPosition(index);
+            final var px = chunk.get(pos);
+            final var py = chunk.get(pos + 1);
+            final var pz = chunk.get(pos + 2);
+
+            final var w = b[2] * px + b[5] * py + b[8] * pz + b[11];
+            result.add((b[0] * px + b[3] * py + b[6] * pz + b[9]) / w,
+                    (b[1] * px + b[4] * py + b[7] * pz + b[10]) / w);
         }
     }
 
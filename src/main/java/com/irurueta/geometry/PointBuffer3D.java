@@ -0,0 +1,610 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Collection of 3D points stored outside the Java heap.
+ * Points are stored as consecutive inhomogeneous coordinates (x, y, z) encoded
+ * as little-endian doubles, which is also the layout of the files that can be
+ * memory mapped by this class (24 bytes per point and no header).
+ * Because a single buffer cannot exceed 2 GB, points are internally split into
+ * chunks of at most {@link #CHUNK_POINTS} points, so that buffers containing
+ * hundreds of millions of points can be processed by streaming from disk
+ * without materializing points on the heap.
+ * List views returned by {@link #asList()} create a new point on every access,
+ * hence they are only meant for interoperability with methods expecting a list
+ * of points and should not be used in hot loops. A k-D tree can be built from
+ * the coordinates of a buffer without creating any point instance by means of
+ * {@link FlatKDTree3D#FlatKDTree3D(PointBuffer3D)}.
+ */
+public class PointBuffer3D {
+
+    /**
+     * Number of bytes used to store a point.
+     */
+    public static final int BYTES_PER_POINT = Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH * Double.BYTES;
+
+    /**
+     * Base 2 logarithm of the maximum number of points stored in a chunk.
+     */
+    private static final int CHUNK_SHIFT = 26;
+
+    /**
+     * Maximum number of points stored in a chunk.
+     */
+    public static final int CHUNK_POINTS = 1 << CHUNK_SHIFT;
+
+    /**
+     * Number of values stored per point.
+     */
+    private static final int COORDS = Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH;
+
+    /**
+     * Buffers containing coordinates of points.
+     */
+    private final DoubleBuffer[] chunks;
+
+    /**
+     * Memory mapped buffers backing chunks, or null if buffer is not memory
+     * mapped.
+     */
+    private final MappedByteBuffer[] mappedChunks;
+
+    /**
+     * Number of points.
+     */
+    private final long size;
+
+    /**
+     * Constructor.
+     *
+     * @param chunks       buffers containing coordinates of points.
+     * @param mappedChunks memory mapped buffers backing chunks or null.
+     * @param size         number of points.
+     */
+    private PointBuffer3D(final DoubleBuffer[] chunks, final MappedByteBuffer[] mappedChunks, final long size) {
+        this.chunks = chunks;
+        this.mappedChunks = mappedChunks;
+        this.size = size;
+    }
+
+    /**
+     * Creates a point buffer allocating direct (off-heap) memory for provided
+     * number of points.
+     *
+     * @param size number of points.
+     * @return a new point buffer with all coordinates set to zero.
+     * @throws IllegalArgumentException if size is negative.
+     */
+    public static PointBuffer3D allocateDirect(final long size) {
+        checkSize(size);
+
+        final var chunks = new DoubleBuffer[getChunkCount(size)];
+        for (var i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(getChunkPoints(size, i) * BYTES_PER_POINT)
+                    .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+        return new PointBuffer3D(chunks, null, size);
+    }
+
+    /**
+     * Creates a point buffer wrapping the remaining values of provided buffer.
+     * Provided buffer is not copied and must contain consecutive (x, y, z)
+     * coordinates of points.
+     *
+     * @param buffer buffer to be wrapped.
+     * @return a new point buffer.
+     * @throws IllegalArgumentException if the number of remaining values in
+     *                                  provided buffer is not a multiple of 3.
+     */
+    public static PointBuffer3D wrap(final DoubleBuffer buffer) {
+        final var remaining = buffer.remaining();
+        if (remaining % COORDS != 0) {
+            throw new IllegalArgumentException();
+        }
+
+        final long size = remaining / COORDS;
+        final var chunks = new DoubleBuffer[getChunkCount(size)];
+        for (var i = 0; i < chunks.length; i++) {
+            chunks[i] = buffer.slice(buffer.position() + i * CHUNK_POINTS * COORDS,
+                    getChunkPoints(size, i) * COORDS);
+        }
+        return new PointBuffer3D(chunks, null, size);
+    }
+
+    /**
+     * Memory maps an existing file containing points.
+     * File must contain consecutive (x, y, z) coordinates of points encoded as
+     * little-endian doubles.
+     *
+     * @param file     file to be mapped.
+     * @param writable true to map the file in read-write mode, false to map it
+     *                 in read-only mode.
+     * @return a new point buffer.
+     * @throws IOException              if an I/O error occurs.
+     * @throws IllegalArgumentException if file length is not a multiple of
+     *                                  {@link #BYTES_PER_POINT}.
+     */
+    public static PointBuffer3D map(final Path file, final boolean writable) throws IOException {
+        try (final var channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ)) {
+            final var length = channel.size();
+            if (length % BYTES_PER_POINT != 0) {
+                throw new IllegalArgumentException();
+            }
+            return map(channel, length / BYTES_PER_POINT,
+                    writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY);
+        }
+    }
+
+    /**
+     * Creates a file having enough space to store provided number of points and
+     * memory maps it in read-write mode.
+     * If file already exists, its previous content is discarded.
+     *
+     * @param file file to be created.
+     * @param size number of points.
+     * @return a new point buffer with all coordinates set to zero.
+     * @throws IOException              if an I/O error occurs.
+     * @throws IllegalArgumentException if size is negative.
+     */
+    public static PointBuffer3D create(final Path file, final long size) throws IOException {
+        checkSize(size);
+
+        try (final var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // mapping a region beyond the end of file in read-write mode grows the file
+            return map(channel, size, FileChannel.MapMode.READ_WRITE);
+        }
+    }
+
+    /**
+     * Returns number of points.
+     *
+     * @return number of points.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Indicates whether this buffer is backed by a memory mapped file.
+     *
+     * @return true if this buffer is memory mapped, false otherwise.
+     */
+    public boolean isMapped() {
+        return mappedChunks != null;
+    }
+
+    /**
+     * Indicates whether this buffer can only be read.
+     *
+     * @return true if this buffer is read-only, false otherwise.
+     */
+    public boolean isReadOnly() {
+        return chunks.length > 0 && chunks[0].isReadOnly();
+    }
+
+    /**
+     * Returns x inhomogeneous coordinate of point at provided position.
+     *
+     * @param index position of point.
+     * @return x coordinate.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public double getX(final long index) {
+        return getChunk(index).get(getPosition(index));
+    }
+
+    /**
+     * Returns y inhomogeneous coordinate of point at provided position.
+     *
+     * @param index position of point.
+     * @return y coordinate.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public double getY(final long index) {
+        return getChunk(index).get(getPosition(index) + 1);
+    }
+
+    /**
+     * Returns z inhomogeneous coordinate of point at provided position.
+     *
+     * @param index position of point.
+     * @return z coordinate.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public double getZ(final long index) {
+        return getChunk(index).get(getPosition(index) + 2);
+    }
+
+    /**
+     * Returns a new point containing the coordinates of point at provided
+     * position.
+     *
+     * @param index position of point.
+     * @return a copy of point at provided position.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public Point3D getPoint(final long index) {
+        final var result = new InhomogeneousPoint3D();
+        getPoint(index, result);
+        return result;
+    }
+
+    /**
+     * Copies coordinates of point at provided position into provided point.
+     *
+     * @param index  position of point.
+     * @param result instance where coordinates will be stored.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public void getPoint(final long index, final Point3D result) {
+        final var chunk = getChunk(index);
+        final var pos = getPosition(index);
+        result.setInhomogeneousCoordinates(chunk.get(pos), chunk.get(pos + 1), chunk.get(pos + 2));
+    }
+
+    /**
+     * Sets coordinates of point at provided position.
+     *
+     * @param index position of point.
+     * @param x     x inhomogeneous coordinate.
+     * @param y     y inhomogeneous coordinate.
+     * @param z     z inhomogeneous coordinate.
+     * @throws IndexOutOfBoundsException        if index is not valid.
+     * @throws java.nio.ReadOnlyBufferException if this buffer is read-only.
+     */
+    public void set(final long index, final double x, final double y, final double z) {
+        final var chunk = getChunk(index);
+        final var pos = getPosition(index);
+        chunk.put(pos, x);
+        chunk.put(pos + 1, y);
+        chunk.put(pos + 2, z);
+    }
+
+    /**
+     * Sets coordinates of point at provided position.
+     *
+     * @param index position of point.
+     * @param point point whose coordinates will be copied.
+     * @throws IndexOutOfBoundsException        if index is not valid.
+     * @throws java.nio.ReadOnlyBufferException if this buffer is read-only.
+     */
+    public void set(final long index, final Point3D point) {
+        set(index, point.getInhomX(), point.getInhomY(), point.getInhomZ());
+    }
+
+    /**
+     * Copies a block of consecutive points into provided point cloud, so that
+     * large buffers can be processed in blocks.
+     * Any previous content of provided point cloud is replaced.
+     *
+     * @param fromIndex position of first point to be copied.
+     * @param count     number of points to be copied.
+     * @param result    instance where points will be copied.
+     * @throws IndexOutOfBoundsException if requested block is not within this
+     *                                   buffer.
+     */
+    public void get(final long fromIndex, final int count, final PointCloud3D result) {
+        checkRange(fromIndex, count);
+
+        result.clear();
+        result.ensureCapacity(count);
+        for (var i = 0; i < count; i++) {
+            final var index = fromIndex + i;
+            final var chunk = chunks[getChunkIndex(index)];
+            final var pos = getPosition(index);
+            result.add(chunk.get(pos), chunk.get(pos + 1), chunk.get(pos + 2));
+        }
+    }
+
+    /**
+     * Copies all points of provided point cloud into consecutive positions of
+     * this buffer.
+     *
+     * @param fromIndex position where first point will be copied.
+     * @param cloud     point cloud to be copied.
+     * @throws IndexOutOfBoundsException        if point cloud does not fit
+     *                                          within this buffer.
+     * @throws java.nio.ReadOnlyBufferException if this buffer is read-only.
+     */
+    public void set(final long fromIndex, final PointCloud3D cloud) {
+        final var count = cloud.size();
+        checkRange(fromIndex, count);
+
+        final var x = cloud.getX();
+        final var y = cloud.getY();
+        final var z = cloud.getZ();
+        for (var i = 0; i < count; i++) {
+            final var index = fromIndex + i;
+            final var chunk = chunks[getChunkIndex(index)];
+            final var pos = getPosition(index);
+            chunk.put(pos, x[i]);
+            chunk.put(pos + 1, y[i]);
+            chunk.put(pos + 2, z[i]);
+        }
+    }
+
+    /**
+     * Forces any change made to a memory mapped buffer to be written to the
+     * storage device containing the mapped file.
+     * This method has no effect if this buffer is not memory mapped.
+     */
+    public void force() {
+        if (mappedChunks == null || isReadOnly()) {
+            return;
+        }
+        for (final var mappedChunk : mappedChunks) {
+            mappedChunk.force();
+        }
+    }
+
+    /**
+     * Returns a view of all points in this buffer as a list of points.
+     * Points returned by the list are heap copies of the coordinates of this
+     * buffer, hence modifying them does not modify this buffer. Setting points
+     * through the list modifies this buffer.
+     * Because a new point is created on every access, this view should not be
+     * provided to methods repeatedly accessing the same points.
+     *
+     * @return list view of this buffer.
+     * @throws IllegalArgumentException if this buffer contains more than
+     *                                  {@link Integer#MAX_VALUE} points.
+     */
+    public List<Point3D> asList() {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException();
+        }
+        return asList(0, (int) size);
+    }
+
+    /**
+     * Returns a view of a block of consecutive points in this buffer as a list
+     * of points.
+     * Points returned by the list are heap copies of the coordinates of this
+     * buffer, hence modifying them does not modify this buffer. Setting points
+     * through the list modifies this buffer.
+     * Because a new point is created on every access, this view should not be
+     * provided to methods repeatedly accessing the same points.
+     *
+     * @param fromIndex position of first point in the view.
+     * @param count     number of points in the view.
+     * @return list view of a block of this buffer.
+     * @throws IndexOutOfBoundsException if requested block is not within this
+     *                                   buffer.
+     */
+    public List<Point3D> asList(final long fromIndex, final int count) {
+        checkRange(fromIndex, count);
+        return new PointList(this, fromIndex, count);
+    }
+
+    /**
+     * Returns number of chunks used to store points.
+     *
+     * @return number of chunks.
+     */
+    int getChunkCount() {
+        return chunks.length;
+    }
+
+    /**
+     * Returns chunk at provided position.
+     * Chunk i contains points from i * {@link #CHUNK_POINTS} onwards, stored
+     * as consecutive (x, y, z) values starting at position 0.
+     *
+     * @param i position of chunk.
+     * @return chunk.
+     */
+    DoubleBuffer getChunkAt(final int i) {
+        return chunks[i];
+    }
+
+    /**
+     * Returns position of chunk containing point at provided position.
+     *
+     * @param index position of point.
+     * @return position of chunk.
+     */
+    static int getChunkIndex(final long index) {
+        return (int) (index >>> CHUNK_SHIFT);
+    }
+
+    /**
+     * Returns position within its chunk of the x coordinate of point at
+     * provided position.
+     *
+     * @param index position of point.
+     * @return position within chunk.
+     */
+    static int getPosition(final long index) {
+        return (int) (index & (CHUNK_POINTS - 1)) * COORDS;
+    }
+
+    /**
+     * Returns chunk containing point at provided position.
+     *
+     * @param index position of point.
+     * @return chunk containing point.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    private DoubleBuffer getChunk(final long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return chunks[getChunkIndex(index)];
+    }
+
+    /**
+     * Checks that provided block of points is within this buffer.
+     *
+     * @param fromIndex position of first point.
+     * @param count     number of points.
+     * @throws IndexOutOfBoundsException if block is not within this buffer.
+     */
+    void checkRange(final long fromIndex, final int count) {
+        if (fromIndex < 0 || count < 0 || fromIndex + count > size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Checks that provided number of points is valid.
+     *
+     * @param size number of points.
+     * @throws IllegalArgumentException if size is negative.
+     */
+    private static void checkSize(final long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Returns number of chunks required to store provided number of points.
+     *
+     * @param size number of points.
+     * @return number of chunks.
+     */
+    private static int getChunkCount(final long size) {
+        return (int) ((size + CHUNK_POINTS - 1) >>> CHUNK_SHIFT);
+    }
+
+    /**
+     * Returns number of points stored in chunk at provided position.
+     *
+     * @param size number of points of the whole buffer.
+     * @param i    position of chunk.
+     * @return number of points in chunk.
+     */
+    private static int getChunkPoints(final long size, final int i) {
+        return (int) Math.min(CHUNK_POINTS, size - ((long) i << CHUNK_SHIFT));
+    }
+
+    /**
+     * Memory maps provided number of points from provided file channel.
+     *
+     * @param channel file channel.
+     * @param size    number of points.
+     * @param mode    mapping mode.
+     * @return a new point buffer.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static PointBuffer3D map(final FileChannel channel, final long size, final FileChannel.MapMode mode)
+            throws IOException {
+        final var count = getChunkCount(size);
+        final var chunks = new DoubleBuffer[count];
+        final var mappedChunks = new MappedByteBuffer[count];
+        for (var i = 0; i < count; i++) {
+            final var position = ((long) i << CHUNK_SHIFT) * BYTES_PER_POINT;
+            final var length = (long) getChunkPoints(size, i) * BYTES_PER_POINT;
+            mappedChunks[i] = channel.map(mode, position, length);
+            chunks[i] = mappedChunks[i].order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+        return new PointBuffer3D(chunks, mappedChunks, size);
+    }
+
+    /**
+     * List view of a block of consecutive points contained in a point buffer.
+     */
+    private static final class PointList extends AbstractList<Point3D> implements RandomAccess {
+
+        /**
+         * Point buffer being viewed.
+         */
+        private final PointBuffer3D buffer;
+
+        /**
+         * Position of first point in the view.
+         */
+        private final long fromIndex;
+
+        /**
+         * Number of points in the view.
+         */
+        private final int count;
+
+        /**
+         * Constructor.
+         *
+         * @param buffer    point buffer being viewed.
+         * @param fromIndex position of first point in the view.
+         * @param count     number of points in the view.
+         */
+        private PointList(final PointBuffer3D buffer, final long fromIndex, final int count) {
+            this.buffer = buffer;
+            this.fromIndex = fromIndex;
+            this.count = count;
+        }
+
+        /**
+         * Returns a new point containing the coordinates of point at provided
+         * position.
+         *
+         * @param index position of point within this view.
+         * @return a copy of point at provided position.
+         * @throws IndexOutOfBoundsException if index is not valid.
+         */
+        @Override
+        public Point3D get(final int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException();
+            }
+            return buffer.getPoint(fromIndex + index);
+        }
+
+        /**
+         * Sets coordinates of point at provided position.
+         *
+         * @param index position of point within this view.
+         * @param point point whose coordinates will be copied.
+         * @return a copy of the point previously at provided position.
+         * @throws IndexOutOfBoundsException if index is not valid.
+         */
+        @Override
+        public Point3D set(final int index, final Point3D point) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException();
+            }
+            final var previous = buffer.getPoint(fromIndex + index);
+            buffer.set(fromIndex + index, point);
+            return previous;
+        }
+
+        /**
+         * Returns number of points in this view.
+         *
+         * @return number of points.
+         */
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,702 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Collection of 3D points stored in structure of arrays layout.
+ * Inhomogeneous coordinates of all points are stored in three primitive
+ * arrays (one for each coordinate), so that no object
+ * is required per point and loops over all points access contiguous memory.
+ * Optionally, a weight and a quality score can be stored for each point.
+ * Points contained in a point cloud can also be accessed as a list of
+ * {@link Point3D} by means of {@link #asList()}, which is detected by methods
+ * having specific implementations for point clouds. Because that list creates
+ * a new point on every access, methods that repeatedly access the same points
+ * (such as robust estimators) should rather be provided a list of points
+ * created once. Hot loops should rather use index based access to coordinates
+ * (e.g. {@link #getX(int)}) or the coordinate arrays themselves, which do
+ * not require any point instance.
+ */
+public class PointCloud3D implements Serializable {
+
+    /**
+     * Default capacity of a point cloud.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Weight assigned to points when no weights have been explicitly provided.
+     */
+    public static final double DEFAULT_WEIGHT = 1.0;
+
+    /**
+     * Quality score assigned to points when no quality scores have been
+     * explicitly provided.
+     */
+    public static final double DEFAULT_QUALITY_SCORE = 1.0;
+
+    /**
+     * X inhomogeneous coordinates of points.
+     */
+    private double[] x;
+
+    /**
+     * Y inhomogeneous coordinates of points.
+     */
+    private double[] y;
+
+    /**
+     * Z inhomogeneous coordinates of points.
+     */
+    private double[] z;
+
+    /**
+     * Weights of points or null if not defined.
+     */
+    private double[] weights;
+
+    /**
+     * Quality scores of points or null if not defined.
+     */
+    private double[] qualityScores;
+
+    /**
+     * Number of points contained in this point cloud.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    public PointCloud3D() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with initial capacity.
+     *
+     * @param capacity initial number of points that can be stored without
+     *                 resizing internal arrays.
+     * @throws IllegalArgumentException if provided capacity is negative.
+     */
+    public PointCloud3D(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+    }
+
+    /**
+     * Constructor wrapping provided arrays of coordinates.
+     * Provided arrays are not copied, hence any modification in them will be
+     * reflected in this point cloud and vice versa (as long as internal arrays
+     * are not resized when adding new points).
+     *
+     * @param x x inhomogeneous coordinates of points.
+     * @param y y inhomogeneous coordinates of points.
+     * @param z z inhomogeneous coordinates of points.
+     * @throws IllegalArgumentException if arrays do not have the same length.
+     */
+    public PointCloud3D(final double[] x, final double[] y, final double[] z) {
+        if (x.length != y.length || x.length != z.length) {
+            throw new IllegalArgumentException();
+        }
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        size = x.length;
+    }
+
+    /**
+     * Constructor copying coordinates of provided points.
+     *
+     * @param points points to be copied.
+     */
+    public PointCloud3D(final List<Point3D> points) {
+        this(points.size());
+        addAll(points);
+    }
+
+    /**
+     * Returns number of points contained in this point cloud.
+     *
+     * @return number of points.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indicates whether this point cloud contains no points.
+     *
+     * @return true if this point cloud is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns number of points that can be stored without resizing internal
+     * arrays.
+     *
+     * @return capacity of this point cloud.
+     */
+    public int getCapacity() {
+        return x.length;
+    }
+
+    /**
+     * Ensures that internal arrays can store at least provided number of points.
+     *
+     * @param capacity minimum required capacity.
+     */
+    public void ensureCapacity(final int capacity) {
+        if (capacity <= x.length) {
+            return;
+        }
+
+        final var newCapacity = Math.max(capacity, x.length + (x.length >> 1));
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        z = Arrays.copyOf(z, newCapacity);
+        if (weights != null) {
+            weights = Arrays.copyOf(weights, newCapacity);
+        }
+        if (qualityScores != null) {
+            qualityScores = Arrays.copyOf(qualityScores, newCapacity);
+        }
+    }
+
+    /**
+     * Removes all points from this point cloud.
+     * Capacity is preserved so that the point cloud can be refilled without
+     * allocating memory.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns array containing x inhomogeneous coordinates of points.
+     * Returned array is the internal one, hence only the first {@link #size()}
+     * positions contain valid values.
+     *
+     * @return array of x coordinates.
+     */
+    public double[] getX() {
+        return x;
+    }
+
+    /**
+     * Returns array containing y inhomogeneous coordinates of points.
+     * Returned array is the internal one, hence only the first {@link #size()}
+     * positions contain valid values.
+     *
+     * @return array of y coordinates.
+     */
+    public double[] getY() {
+        return y;
+    }
+
+    /**
+     * Returns array containing z inhomogeneous coordinates of points.
+     * Returned array is the internal one, hence only the first {@link #size()}
+     * positions contain valid values.
+     *
+     * @return array of z coordinates.
+     */
+    public double[] getZ() {
+        return z;
+    }
+
+    /**
+     * Returns x inhomogeneous coordinate of point at provided position.
+     *
+     * @param index position of point.
+     * @return x coordinate.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public double getX(final int index) {
+        checkIndex(index);
+        return x[index];
+    }
+
+    /**
+     * Returns y inhomogeneous coordinate of point at provided position.
+     *
+     * @param index position of point.
+     * @return y coordinate.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public double getY(final int index) {
+        checkIndex(index);
+        return y[index];
+    }
+
+    /**
+     * Returns z inhomogeneous coordinate of point at provided position.
+     *
+     * @param index position of point.
+     * @return z coordinate.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public double getZ(final int index) {
+        checkIndex(index);
+        return z[index];
+    }
+
+    /**
+     * Returns a new point containing the coordinates of point at provided
+     * position.
+     *
+     * @param index position of point.
+     * @return a copy of point at provided position.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public Point3D getPoint(final int index) {
+        final var result = new InhomogeneousPoint3D();
+        getPoint(index, result);
+        return result;
+    }
+
+    /**
+     * Copies coordinates of point at provided position into provided point.
+     *
+     * @param index  position of point.
+     * @param result instance where coordinates will be stored.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public void getPoint(final int index, final Point3D result) {
+        checkIndex(index);
+        result.setInhomogeneousCoordinates(x[index], y[index], z[index]);
+    }
+
+    /**
+     * Sets coordinates of point at provided position.
+     *
+     * @param index position of point.
+     * @param x     x inhomogeneous coordinate.
+     * @param y     y inhomogeneous coordinate.
+     * @param z     z inhomogeneous coordinate.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public void set(final int index, final double x, final double y, final double z) {
+        checkIndex(index);
+        this.x[index] = x;
+        this.y[index] = y;
+        this.z[index] = z;
+    }
+
+    /**
+     * Sets coordinates of point at provided position.
+     *
+     * @param index position of point.
+     * @param point point whose coordinates will be copied.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public void set(final int index, final Point3D point) {
+        set(index, point.getInhomX(), point.getInhomY(), point.getInhomZ());
+    }
+
+    /**
+     * Adds a point to this point cloud.
+     * If weights or quality scores are defined, added point will have default
+     * weight and quality score.
+     *
+     * @param x x inhomogeneous coordinate.
+     * @param y y inhomogeneous coordinate.
+     * @param z z inhomogeneous coordinate.
+     */
+    public void add(final double x, final double y, final double z) {
+        ensureCapacity(size + 1);
+        this.x[size] = x;
+        this.y[size] = y;
+        this.z[size] = z;
+        if (weights != null) {
+            weights[size] = DEFAULT_WEIGHT;
+        }
+        if (qualityScores != null) {
+            qualityScores[size] = DEFAULT_QUALITY_SCORE;
+        }
+        size++;
+    }
+
+    /**
+     * Adds a point to this point cloud.
+     * If weights or quality scores are defined, added point will have default
+     * weight and quality score.
+     *
+     * @param point point to be added.
+     */
+    public void add(final Point3D point) {
+        add(point.getInhomX(), point.getInhomY(), point.getInhomZ());
+    }
+
+    /**
+     * Adds provided points to this point cloud.
+     *
+     * @param points points to be added.
+     */
+    public void addAll(final List<Point3D> points) {
+        ensureCapacity(size + points.size());
+        for (final var point : points) {
+            add(point);
+        }
+    }
+
+    /**
+     * Copies all points, weights and quality scores of provided point cloud into
+     * this instance.
+     *
+     * @param cloud point cloud to copy data from.
+     */
+    public void copyFrom(final PointCloud3D cloud) {
+        if (cloud == this) {
+            return;
+        }
+
+        size = 0;
+        ensureCapacity(cloud.size);
+        System.arraycopy(cloud.x, 0, x, 0, cloud.size);
+        System.arraycopy(cloud.y, 0, y, 0, cloud.size);
+        System.arraycopy(cloud.z, 0, z, 0, cloud.size);
+        weights = cloud.weights != null ? Arrays.copyOf(cloud.weights, x.length) : null;
+        qualityScores = cloud.qualityScores != null ? Arrays.copyOf(cloud.qualityScores, x.length) : null;
+        size = cloud.size;
+    }
+
+    /**
+     * Indicates whether weights have been defined for points in this point
+     * cloud.
+     *
+     * @return true if weights are defined, false otherwise.
+     */
+    public boolean hasWeights() {
+        return weights != null;
+    }
+
+    /**
+     * Returns array containing weights of points or null if not defined.
+     * Returned array is the internal one, hence only the first {@link #size()}
+     * positions contain valid values.
+     *
+     * @return array of weights or null.
+     */
+    public double[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Sets weights of points.
+     * Provided array is used internally without being copied.
+     *
+     * @param weights weights of points or null to remove them.
+     * @throws IllegalArgumentException if provided array is smaller than the
+     *                                  number of points in this point cloud.
+     */
+    public void setWeights(final double[] weights) {
+        this.weights = checkAttributes(weights);
+    }
+
+    /**
+     * Returns weight of point at provided position.
+     *
+     * @param index position of point.
+     * @return weight of point or {@link #DEFAULT_WEIGHT} if weights are not
+     * defined.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public double getWeight(final int index) {
+        checkIndex(index);
+        return weights != null ? weights[index] : DEFAULT_WEIGHT;
+    }
+
+    /**
+     * Sets weight of point at provided position.
+     * If weights were not defined, all other points are assigned
+     * {@link #DEFAULT_WEIGHT}.
+     *
+     * @param index  position of point.
+     * @param weight weight to be set.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public void setWeight(final int index, final double weight) {
+        checkIndex(index);
+        if (weights == null) {
+            weights = createAttributes(DEFAULT_WEIGHT);
+        }
+        weights[index] = weight;
+    }
+
+    /**
+     * Indicates whether quality scores have been defined for points in this
+     * point cloud.
+     *
+     * @return true if quality scores are defined, false otherwise.
+     */
+    public boolean hasQualityScores() {
+        return qualityScores != null;
+    }
+
+    /**
+     * Returns array containing quality scores of points or null if not
+     * defined.
+     * Returned array is the internal one, hence only the first {@link #size()}
+     * positions contain valid values.
+     *
+     * @return array of quality scores or null.
+     */
+    public double[] getQualityScores() {
+        return qualityScores;
+    }
+
+    /**
+     * Sets quality scores of points.
+     * Provided array is used internally without being copied.
+     *
+     * @param qualityScores quality scores of points or null to remove them.
+     * @throws IllegalArgumentException if provided array is smaller than the
+     *                                  number of points in this point cloud.
+     */
+    public void setQualityScores(final double[] qualityScores) {
+        this.qualityScores = checkAttributes(qualityScores);
+    }
+
+    /**
+     * Returns quality score of point at provided position.
+     *
+     * @param index position of point.
+     * @return quality score of point or {@link #DEFAULT_QUALITY_SCORE} if
+     * quality scores are not defined.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public double getQualityScore(final int index) {
+        checkIndex(index);
+        return qualityScores != null ? qualityScores[index] : DEFAULT_QUALITY_SCORE;
+    }
+
+    /**
+     * Sets quality score of point at provided position.
+     * If quality scores were not defined, all other points are assigned
+     * {@link #DEFAULT_QUALITY_SCORE}.
+     *
+     * @param index        position of point.
+     * @param qualityScore quality score to be set.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    public void setQualityScore(final int index, final double qualityScore) {
+        checkIndex(index);
+        if (qualityScores == null) {
+            qualityScores = createAttributes(DEFAULT_QUALITY_SCORE);
+        }
+        qualityScores[index] = qualityScore;
+    }
+
+    /**
+     * Returns a view of this point cloud as a list of points.
+     * Points returned by the list are copies of the coordinates of this point
+     * cloud, hence modifying them does not modify this point cloud. Setting
+     * or adding points through the list modifies this point cloud.
+     * Methods having specific implementations for point clouds detect this
+     * view and access the coordinate arrays directly instead.
+     * Any other method gets a new point on each access, hence this view
+     * should not be provided to methods repeatedly accessing the same points,
+     * such as robust estimators, which should be provided a list of points
+     * created once (e.g. {@code new ArrayList<>(cloud.asList())}) instead.
+     *
+     * @return list view of this point cloud.
+     */
+    public PointList asList() {
+        return new PointList(this);
+    }
+
+    /**
+     * Checks that provided index refers to a point in this point cloud.
+     *
+     * @param index index to be checked.
+     * @throws IndexOutOfBoundsException if index is not valid.
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Checks that provided array of point attributes has enough length and
+     * makes it as large as coordinate arrays.
+     *
+     * @param attributes array to be checked.
+     * @return array to be used internally.
+     * @throws IllegalArgumentException if array is too small.
+     */
+    private double[] checkAttributes(final double[] attributes) {
+        if (attributes == null) {
+            return null;
+        }
+        if (attributes.length < size) {
+            throw new IllegalArgumentException();
+        }
+        return attributes.length < x.length ? Arrays.copyOf(attributes, x.length) : attributes;
+    }
+
+    /**
+     * Creates an array of point attributes filled with provided value.
+     *
+     * @param value value to fill the array with.
+     * @return created array.
+     */
+    private double[] createAttributes(final double value) {
+        final var result = new double[x.length];
+        Arrays.fill(result, value);
+        return result;
+    }
+
+    /**
+     * List view of the points contained in a point cloud.
+     * This view does not copy the point cloud, and can be detected by methods
+     * having specific implementations for point clouds.
+     */
+    public static final class PointList extends AbstractList<Point3D> implements RandomAccess, Serializable {
+
+        /**
+         * Point cloud being viewed.
+         */
+        private final PointCloud3D cloud;
+
+        /**
+         * Constructor.
+         *
+         * @param cloud point cloud being viewed.
+         */
+        private PointList(final PointCloud3D cloud) {
+            this.cloud = cloud;
+        }
+
+        /**
+         * Returns point cloud being viewed by this list.
+         *
+         * @return point cloud.
+         */
+        public PointCloud3D getCloud() {
+            return cloud;
+        }
+
+        /**
+         * Returns a new point containing the coordinates of point at provided
+         * position.
+         *
+         * @param index position of point.
+         * @return a copy of point at provided position.
+         * @throws IndexOutOfBoundsException if index is not valid.
+         */
+        @Override
+        public Point3D get(final int index) {
+            return cloud.getPoint(index);
+        }
+
+        /**
+         * Returns x inhomogeneous coordinate of point at provided position
+         * without creating any point instance.
+         *
+         * @param index position of point.
+         * @return x coordinate.
+         * @throws IndexOutOfBoundsException if index is not valid.
+         */
+        public double getX(final int index) {
+            return cloud.getX(index);
+        }
+
+        /**
+         * Returns y inhomogeneous coordinate of point at provided position
+         * without creating any point instance.
+         *
+         * @param index position of point.
+         * @return y coordinate.
+         * @throws IndexOutOfBoundsException if index is not valid.
+         */
+        public double getY(final int index) {
+            return cloud.getY(index);
+        }
+
+        /**
+         * Returns z inhomogeneous coordinate of point at provided position
+         * without creating any point instance.
+         *
+         * @param index position of point.
+         * @return z coordinate.
+         * @throws IndexOutOfBoundsException if index is not valid.
+         */
+        public double getZ(final int index) {
+            return cloud.getZ(index);
+        }
+
+        /**
+         * Sets coordinates of point at provided position.
+         *
+         * @param index position of point.
+         * @param point point whose coordinates will be copied.
+         * @return a copy of the point previously at provided position.
+         * @throws IndexOutOfBoundsException if index is not valid.
+         */
+        @Override
+        public Point3D set(final int index, final Point3D point) {
+            final var previous = cloud.getPoint(index);
+            cloud.set(index, point);
+            return previous;
+        }
+
+        /**
+         * Adds a copy of provided point at the end of the point cloud.
+         *
+         * @param point point to be added.
+         * @return always true.
+         */
+        @Override
+        public boolean add(final Point3D point) {
+            cloud.add(point);
+            modCount++;
+            return true;
+        }
+
+        /**
+         * Removes all points of viewed point cloud.
+         */
+        @Override
+        public void clear() {
+            cloud.clear();
+            modCount++;
+        }
+
+        /**
+         * Returns number of points in viewed point cloud.
+         *
+         * @return number of points.
+         */
+        @Override
+        public int size() {
+            return cloud.size;
+        }
+    }
+}
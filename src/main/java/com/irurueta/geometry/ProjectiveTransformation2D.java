@@ -1062,21 +1062,133 @@ public class ProjectiveTransformation2D extends Transformation2D implements Seri
     public void transform(final Point2D inputPoint, final Point2D outputPoint) {
 
         inputPoint.normalize();
+        // internal matrix is only normalized again if it has changed since
+        // last normalization
         normalize();
-        try {
-            final var point = new Matrix(Point2D.POINT2D_HOMOGENEOUS_COORDINATES_LENGTH, 1);
-            point.setElementAtIndex(0, inputPoint.getHomX());
-            point.setElementAtIndex(1, inputPoint.getHomY());
-            point.setElementAtIndex(2, inputPoint.getHomW());
 
-            final var transformedPoint = t.multiplyAndReturnNew(point);
+        final var x = inputPoint.getHomX();
+        final var y = inputPoint.getHomY();
+        final var w = inputPoint.getHomW();
+
+        // internal matrix buffer is stored in column order, hence element
+        // (i, j) is located at position i + j * HOM_COORDS
+        final var b = t.getBuffer();
+        outputPoint.setHomogeneousCoordinates(
+                b[0] * x + b[3] * y + b[6] * w,
+                b[1] * x + b[4] * y + b[7] * w,
+                b[2] * x + b[5] * y + b[8] * w);
+    }
 
-            outputPoint.setHomogeneousCoordinates(
-                    transformedPoint.getElementAtIndex(0),
-                    transformedPoint.getElementAtIndex(1),
-                    transformedPoint.getElementAtIndex(2));
-        } catch (final WrongSizeException ignore) {
-            // never happens
+    /**
+     * Transforms a packed array of points expressed in inhomogeneous
+     * coordinates and stores the result into provided destination array.
+     * Each point is stored as 2 consecutive values (x, y) and consecutive
+     * points are separated by provided stride, so that point i is located at
+     * position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * Points are multiplied by the internal matrix and divided by the resulting
+     * homogeneous coordinate without creating any point or matrix instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 2.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    @Override
+    public void transform(final double[] src, final int srcOffset, final double[] dst, final int dstOffset,
+                          final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point2D.POINT2D_INHOMOGENEOUS_COORDINATES_LENGTH);
+
+        normalize();
+
+        // internal matrix buffer is stored in column order
+        final var b = t.getBuffer();
+        final var t00 = b[0];
+        final var t10 = b[1];
+        final var t20 = b[2];
+        final var t01 = b[3];
+        final var t11 = b[4];
+        final var t21 = b[5];
+        final var t02 = b[6];
+        final var t12 = b[7];
+        final var t22 = b[8];
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+
+            final var w = t20 * x + t21 * y + t22;
+            dst[dstPos] = (t00 * x + t01 * y + t02) / w;
+            dst[dstPos + 1] = (t10 * x + t11 * y + t12) / w;
+
+            srcPos += stride;
+            dstPos += stride;
+        }
+    }
+
+    /**
+     * Transforms a packed array of points expressed in homogeneous coordinates
+     * and stores the result into provided destination array.
+     * Each point is stored as 3 consecutive values (x, y, w) and consecutive
+     * points are separated by provided stride, so that point i is located at
+     * position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * Points are multiplied by the internal matrix without creating any point or
+     * matrix instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 3.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    @Override
+    public void transformHomogeneous(final double[] src, final int srcOffset, final double[] dst,
+                                     final int dstOffset, final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point2D.POINT2D_HOMOGENEOUS_COORDINATES_LENGTH);
+
+        normalize();
+
+        // internal matrix buffer is stored in column order
+        final var b = t.getBuffer();
+        final var t00 = b[0];
+        final var t10 = b[1];
+        final var t20 = b[2];
+        final var t01 = b[3];
+        final var t11 = b[4];
+        final var t21 = b[5];
+        final var t02 = b[6];
+        final var t12 = b[7];
+        final var t22 = b[8];
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+            final var w = src[srcPos + 2];
+
+            dst[dstPos] = t00 * x + t01 * y + t02 * w;
+            dst[dstPos + 1] = t10 * x + t11 * y + t12 * w;
+            dst[dstPos + 2] = t20 * x + t21 * y + t22 * w;
+
+            srcPos += stride;
+            dstPos += stride;
         }
     }
 
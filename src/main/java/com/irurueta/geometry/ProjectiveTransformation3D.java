@@ -1134,23 +1134,121 @@ public class ProjectiveTransformation3D extends Transformation3D implements Seri
     @Override
     public void transform(final Point3D inputPoint, final Point3D outputPoint) {
         inputPoint.normalize();
+        // internal matrix is only normalized again if it has changed since
+        // last normalization
         normalize();
-        try {
-            final var point = new Matrix(Point3D.POINT3D_HOMOGENEOUS_COORDINATES_LENGTH, 1);
-            point.setElementAtIndex(0, inputPoint.getHomX());
-            point.setElementAtIndex(1, inputPoint.getHomY());
-            point.setElementAtIndex(2, inputPoint.getHomZ());
-            point.setElementAtIndex(3, inputPoint.getHomW());
-
-            final var transformedPoint = t.multiplyAndReturnNew(point);
-
-            outputPoint.setHomogeneousCoordinates(
-                    transformedPoint.getElementAtIndex(0),
-                    transformedPoint.getElementAtIndex(1),
-                    transformedPoint.getElementAtIndex(2),
-                    transformedPoint.getElementAtIndex(3));
-        } catch (final WrongSizeException ignore) {
-            // never happens
+
+        final var x = inputPoint.getHomX();
+        final var y = inputPoint.getHomY();
+        final var z = inputPoint.getHomZ();
+        final var w = inputPoint.getHomW();
+
+        // internal matrix buffer is stored in column order, hence element
+        // (i, j) is located at position i + j * HOM_COORDS
+        final var b = t.getBuffer();
+        outputPoint.setHomogeneousCoordinates(
+                b[0] * x + b[4] * y + b[8] * z + b[12] * w,
+                b[1] * x + b[5] * y + b[9] * z + b[13] * w,
+                b[2] * x + b[6] * y + b[10] * z + b[14] * w,
+                b[3] * x + b[7] * y + b[11] * z + b[15] * w);
+    }
+
+    /**
+     * Transforms a packed array of points expressed in inhomogeneous
+     * coordinates and stores the result into provided destination array.
+     * Each point is stored as 3 consecutive values (x, y, z) and consecutive
+     * points are separated by provided stride, so that point i is located at
+     * position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * Points are multiplied by the internal matrix and divided by the resulting
+     * homogeneous coordinate without creating any point or matrix instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 3.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    @Override
+    public void transform(final double[] src, final int srcOffset, final double[] dst, final int dstOffset,
+                          final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH);
+
+        normalize();
+
+        // internal matrix buffer is stored in column order
+        final var b = t.getBuffer();
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+            final var z = src[srcPos + 2];
+
+            final var w = b[3] * x + b[7] * y + b[11] * z + b[15];
+            dst[dstPos] = (b[0] * x + b[4] * y + b[8] * z + b[12]) / w;
+            dst[dstPos + 1] = (b[1] * x + b[5] * y + b[9] * z + b[13]) / w;
+            dst[dstPos + 2] = (b[2] * x + b[6] * y + b[10] * z + b[14]) / w;
+
+            srcPos += stride;
+            dstPos += stride;
+        }
+    }
+
+    /**
+     * Transforms a packed array of points expressed in homogeneous coordinates
+     * and stores the result into provided destination array.
+     * Each point is stored as 4 consecutive values (x, y, z, w) and
+     * consecutive points are separated by provided stride, so that point i is
+     * located at position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * Points are multiplied by the internal matrix without creating any point or
+     * matrix instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 4.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    @Override
+    public void transformHomogeneous(final double[] src, final int srcOffset, final double[] dst,
+                                     final int dstOffset, final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point3D.POINT3D_HOMOGENEOUS_COORDINATES_LENGTH);
+
+        normalize();
+
+        // internal matrix buffer is stored in column order
+        final var b = t.getBuffer();
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+            final var z = src[srcPos + 2];
+            final var w = src[srcPos + 3];
+
+            dst[dstPos] = b[0] * x + b[4] * y + b[8] * z + b[12] * w;
+            dst[dstPos + 1] = b[1] * x + b[5] * y + b[9] * z + b[13] * w;
+            dst[dstPos + 2] = b[2] * x + b[6] * y + b[10] * z + b[14] * w;
+            dst[dstPos + 3] = b[3] * x + b[7] * y + b[11] * z + b[15] * w;
+
+            srcPos += stride;
+            dstPos += stride;
         }
     }
 
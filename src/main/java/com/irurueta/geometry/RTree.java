@@ -0,0 +1,993 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Base class for R-trees indexing axis-aligned boxes.
+ * An R-tree groups boxes into nodes containing at most a fixed number of entries, where each node stores the
+ * bounds of all its entries, so that queries only visit nodes whose bounds might contain a result.
+ * Trees created from a collection of boxes are bulk loaded using Sort-Tile-Recursive (STR) packing, which
+ * produces nearly full nodes with little overlap. Boxes can also be added afterward, in which case the subtree
+ * where they are inserted and the way overflowing nodes are split follow the R*-tree heuristics.
+ * Boxes are identified by their position in insertion order. Box coordinates are copied when boxes are added,
+ * hence later modifications of provided boxes are not reflected in the tree.
+ * Queries report found boxes to a {@link RTreeVisitor}, which avoids collecting results into lists.
+ *
+ * @param <P> type of point.
+ */
+public abstract class RTree<P extends Point<P>> {
+
+    /**
+     * Default maximum number of entries of a node.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 16;
+
+    /**
+     * Minimum allowed value for the maximum number of entries of a node.
+     */
+    public static final int MIN_MAX_ENTRIES = 4;
+
+    /**
+     * Minimum number of entries of a node after a split, as a fraction of the maximum number of entries.
+     */
+    private static final double MIN_FILL_FACTOR = 0.4;
+
+    /**
+     * Query visiting boxes intersecting a region.
+     */
+    private static final int INTERSECTING = 0;
+
+    /**
+     * Query visiting boxes contained in a region.
+     */
+    private static final int CONTAINED = 1;
+
+    /**
+     * Query visiting boxes containing a region.
+     */
+    private static final int CONTAINING = 2;
+
+    /**
+     * Initial number of boxes and nodes that can be stored without growing arrays.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Number of dimensions.
+     */
+    private final int dim;
+
+    /**
+     * Maximum number of entries of a node.
+     */
+    private final int maxEntries;
+
+    /**
+     * Minimum number of entries of a node after a split.
+     */
+    private final int minEntries;
+
+    /**
+     * Indexed boxes in insertion order.
+     */
+    private final List<Box<P>> boxes = new ArrayList<>();
+
+    /**
+     * Bounds of indexed boxes. Low coordinates of box i are stored at positions i * 2 * dim to
+     * i * 2 * dim + dim - 1, followed by high coordinates.
+     */
+    private double[] boxBounds;
+
+    /**
+     * Bounds of nodes, stored in the same layout as box bounds.
+     */
+    private double[] nodeBounds;
+
+    /**
+     * Entries of nodes. Entry j of node k is stored at position k * (maxEntries + 1) + j, and is the position of
+     * a box for leaf nodes or the position of a child node otherwise. An extra entry is reserved for overflowing
+     * nodes before they are split.
+     */
+    private int[] nodeEntries;
+
+    /**
+     * Number of entries of each node.
+     */
+    private int[] nodeCounts;
+
+    /**
+     * Level of each node, where leaves have level zero.
+     */
+    private int[] nodeLevels;
+
+    /**
+     * Number of nodes.
+     */
+    private int nNodes;
+
+    /**
+     * Position of root node.
+     */
+    private int root;
+
+    /**
+     * Constructor creating an empty tree.
+     *
+     * @param maxEntries maximum number of entries of a node.
+     * @throws IllegalArgumentException if maximum number of entries is less than {@link #MIN_MAX_ENTRIES}.
+     */
+    protected RTree(final int maxEntries) {
+        if (maxEntries < MIN_MAX_ENTRIES) {
+            throw new IllegalArgumentException();
+        }
+        dim = getDimensions();
+        this.maxEntries = maxEntries;
+        minEntries = Math.max(2, (int) (MIN_FILL_FACTOR * maxEntries));
+        boxBounds = new double[INITIAL_CAPACITY * 2 * dim];
+        nodeBounds = new double[INITIAL_CAPACITY * 2 * dim];
+        nodeEntries = new int[INITIAL_CAPACITY * (maxEntries + 1)];
+        nodeCounts = new int[INITIAL_CAPACITY];
+        nodeLevels = new int[INITIAL_CAPACITY];
+        root = newNode(0);
+    }
+
+    /**
+     * Constructor bulk loading provided boxes using Sort-Tile-Recursive packing.
+     *
+     * @param boxes      boxes to be indexed.
+     * @param maxEntries maximum number of entries of a node.
+     * @throws IllegalArgumentException if maximum number of entries is less than {@link #MIN_MAX_ENTRIES}.
+     */
+    protected RTree(final Collection<? extends Box<P>> boxes, final int maxEntries) {
+        this(maxEntries);
+        if (boxes.isEmpty()) {
+            return;
+        }
+
+        final var n = boxes.size();
+        ensureBoxCapacity(n);
+        for (final var box : boxes) {
+            copyBounds(box, boxBounds, this.boxes.size());
+            this.boxes.add(box);
+        }
+
+        // pack boxes into leaves and then nodes of each level into their parents until a single node remains
+        nNodes = 0;
+        var entries = new int[n];
+        for (var i = 0; i < n; i++) {
+            entries[i] = i;
+        }
+        var level = 0;
+        do {
+            entries = pack(entries, level);
+            level++;
+        } while (entries.length > 1);
+        root = entries[0];
+    }
+
+    /**
+     * Gets number of dimensions of indexed boxes.
+     *
+     * @return number of dimensions.
+     */
+    public abstract int getDimensions();
+
+    /**
+     * Gets maximum number of entries of a node.
+     *
+     * @return maximum number of entries of a node.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Gets number of indexed boxes.
+     *
+     * @return number of indexed boxes.
+     */
+    public int getNumberOfBoxes() {
+        return boxes.size();
+    }
+
+    /**
+     * Gets number of nodes.
+     *
+     * @return number of nodes.
+     */
+    public int getNumberOfNodes() {
+        return nNodes;
+    }
+
+    /**
+     * Gets height of the tree, which is the number of nodes in any path from the root to a leaf.
+     *
+     * @return height of the tree.
+     */
+    public int getHeight() {
+        return nodeLevels[root] + 1;
+    }
+
+    /**
+     * Gets a box as it was provided when it was added.
+     *
+     * @param index position of box in insertion order.
+     * @return box.
+     */
+    public Box<P> getBox(final int index) {
+        return boxes.get(index);
+    }
+
+    /**
+     * Gets bounds containing all indexed boxes.
+     *
+     * @return bounds of all boxes or null if tree is empty.
+     */
+    public Box<P> getBounds() {
+        return boxes.isEmpty() ? null : createBox(nodeBounds, root * 2 * dim);
+    }
+
+    /**
+     * Adds a box.
+     * Box is inserted into the leaf whose bounds require the least enlargement, minimizing overlap among leaves,
+     * and overflowing nodes are split along the axis and position minimizing margins and overlap, as in
+     * R*-trees.
+     *
+     * @param box box to be added.
+     * @return position of added box.
+     */
+    public int add(final Box<P> box) {
+        final var index = boxes.size();
+        ensureBoxCapacity(index + 1);
+        copyBounds(box, boxBounds, index);
+        boxes.add(box);
+
+        final var sibling = insert(root, index);
+        if (sibling >= 0) {
+            // root was split, hence tree grows by one level
+            final var oldRoot = root;
+            root = newNode(nodeLevels[oldRoot] + 1);
+            addEntry(root, oldRoot);
+            addEntry(root, sibling);
+            updateBounds(root);
+        }
+        return index;
+    }
+
+    /**
+     * Visits all boxes intersecting provided region, including boxes that only touch its boundary.
+     *
+     * @param region  region to be checked.
+     * @param visitor visitor notified of each found box.
+     * @return true if all boxes were visited, false if visitor stopped the query.
+     */
+    public boolean visitIntersecting(final Box<P> region, final RTreeVisitor visitor) {
+        return visit(region, INTERSECTING, visitor);
+    }
+
+    /**
+     * Visits all boxes fully contained in provided region.
+     *
+     * @param region  region to be checked.
+     * @param visitor visitor notified of each found box.
+     * @return true if all boxes were visited, false if visitor stopped the query.
+     */
+    public boolean visitContainedIn(final Box<P> region, final RTreeVisitor visitor) {
+        return visit(region, CONTAINED, visitor);
+    }
+
+    /**
+     * Visits all boxes fully containing provided region.
+     *
+     * @param region  region to be checked.
+     * @param visitor visitor notified of each found box.
+     * @return true if all boxes were visited, false if visitor stopped the query.
+     */
+    public boolean visitContaining(final Box<P> region, final RTreeVisitor visitor) {
+        return visit(region, CONTAINING, visitor);
+    }
+
+    /**
+     * Visits all boxes containing provided point, including boxes having the point on their boundary.
+     *
+     * @param point   point to be checked.
+     * @param visitor visitor notified of each found box.
+     * @return true if all boxes were visited, false if visitor stopped the query.
+     */
+    public boolean visitContaining(final P point, final RTreeVisitor visitor) {
+        final var query = new double[2 * dim];
+        for (var d = 0; d < dim; d++) {
+            query[d] = query[d + dim] = point.getInhomogeneousCoordinate(d);
+        }
+        return boxes.isEmpty() || visit(root, query, CONTAINING, visitor);
+    }
+
+    /**
+     * Gets position of the box closest to provided point.
+     *
+     * @param point point to be checked.
+     * @return position of closest box or -1 if tree is empty.
+     */
+    public int nearestIndex(final P point) {
+        final var nn = new int[1];
+        return nNearest(point, nn, new double[1], 1) > 0 ? nn[0] : -1;
+    }
+
+    /**
+     * Finds the n boxes closest to provided point, sorted by increasing distance.
+     * Distance to a box is zero when the point is inside it. Nodes and boxes are visited in order of increasing
+     * distance, hence search stops as soon as n boxes are found.
+     *
+     * @param point point to be checked.
+     * @param nn    array where positions of closest boxes are stored.
+     * @param dn    array where distances to closest boxes are stored.
+     * @param n     number of boxes to search.
+     * @return number of found boxes, which is less than n if tree contains less than n boxes.
+     * @throws IllegalArgumentException if no boxes are requested or result arrays are not large enough.
+     */
+    public int nNearest(final P point, final int[] nn, final double[] dn, final int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("no neighbours requested");
+        }
+        if (nn.length < n || dn.length < n) {
+            throw new IllegalArgumentException("invalid result array lengths");
+        }
+        if (boxes.isEmpty()) {
+            return 0;
+        }
+
+        final var p = new double[dim];
+        for (var d = 0; d < dim; d++) {
+            p[d] = point.getInhomogeneousCoordinate(d);
+        }
+
+        // nodes are stored as their position and boxes as negative values
+        final var queue = new BoxQueue();
+        queue.push(root, sqrDistance(nodeBounds, root, p));
+        var found = 0;
+        while (!queue.isEmpty() && found < n) {
+            final var distance = queue.peekDistance();
+            final var entry = queue.pop();
+            if (entry < 0) {
+                nn[found] = -entry - 1;
+                dn[found++] = Math.sqrt(distance);
+                continue;
+            }
+
+            final var leaf = nodeLevels[entry] == 0;
+            final var offset = entry * (maxEntries + 1);
+            for (var i = 0; i < nodeCounts[entry]; i++) {
+                final var child = nodeEntries[offset + i];
+                if (leaf) {
+                    queue.push(-child - 1, sqrDistance(boxBounds, child, p));
+                } else {
+                    queue.push(child, sqrDistance(nodeBounds, child, p));
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Creates a box.
+     *
+     * @param bounds array containing bounds.
+     * @param offset position of low coordinates, followed by high coordinates.
+     * @return created box.
+     */
+    protected abstract Box<P> createBox(final double[] bounds, final int offset);
+
+    /**
+     * Visits boxes matching a query.
+     *
+     * @param region  query region.
+     * @param mode    kind of query.
+     * @param visitor visitor notified of each found box.
+     * @return true if all boxes were visited, false if visitor stopped the query.
+     */
+    private boolean visit(final Box<P> region, final int mode, final RTreeVisitor visitor) {
+        final var query = new double[2 * dim];
+        copyBounds(region, query, 0);
+        return boxes.isEmpty() || visit(root, query, mode, visitor);
+    }
+
+    /**
+     * Visits boxes of a subtree matching a query.
+     *
+     * @param node    root of subtree.
+     * @param query   query bounds.
+     * @param mode    kind of query.
+     * @param visitor visitor notified of each found box.
+     * @return true if all boxes were visited, false if visitor stopped the query.
+     */
+    private boolean visit(final int node, final double[] query, final int mode, final RTreeVisitor visitor) {
+        final var nodeOffset = node * 2 * dim;
+        if (mode == CONTAINING ? !contains(nodeBounds, nodeOffset, query, 0)
+                : !intersects(nodeBounds, nodeOffset, query, 0)) {
+            return true;
+        }
+        if (mode != CONTAINING && contains(query, 0, nodeBounds, nodeOffset)) {
+            // all boxes of a node contained in query region match the query
+            return visitAll(node, visitor);
+        }
+
+        final var offset = node * (maxEntries + 1);
+        final var count = nodeCounts[node];
+        if (nodeLevels[node] > 0) {
+            for (var i = 0; i < count; i++) {
+                if (!visit(nodeEntries[offset + i], query, mode, visitor)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        for (var i = 0; i < count; i++) {
+            final var index = nodeEntries[offset + i];
+            final var boxOffset = index * 2 * dim;
+            final var matches = switch (mode) {
+                case INTERSECTING -> intersects(boxBounds, boxOffset, query, 0);
+                case CONTAINED -> contains(query, 0, boxBounds, boxOffset);
+                default -> contains(boxBounds, boxOffset, query, 0);
+            };
+            if (matches && !visitor.visit(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Visits all boxes of a subtree.
+     *
+     * @param node    root of subtree.
+     * @param visitor visitor notified of each box.
+     * @return true if all boxes were visited, false if visitor stopped the query.
+     */
+    private boolean visitAll(final int node, final RTreeVisitor visitor) {
+        final var offset = node * (maxEntries + 1);
+        final var leaf = nodeLevels[node] == 0;
+        for (var i = 0; i < nodeCounts[node]; i++) {
+            final var entry = nodeEntries[offset + i];
+            if (leaf ? !visitor.visit(entry) : !visitAll(entry, visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Packs entries of a level into parent nodes using Sort-Tile-Recursive packing.
+     * Entries are sorted by the center of their bounds along the first dimension and split into slabs, each slab
+     * is recursively sorted and split along the following dimensions, and consecutive entries along the last
+     * dimension are grouped into nodes.
+     *
+     * @param entries positions of entries to be packed.
+     * @param level   level of created nodes, where leaves have level zero.
+     * @return positions of created nodes.
+     */
+    private int[] pack(final int[] entries, final int level) {
+        final var n = entries.length;
+        final var nParents = (n + maxEntries - 1) / maxEntries;
+        ensureNodeCapacity(nNodes + nParents);
+        final var bounds = level == 0 ? boxBounds : nodeBounds;
+
+        final var centers = new double[n * dim];
+        for (var i = 0; i < n; i++) {
+            final var offset = entries[i] * 2 * dim;
+            for (var d = 0; d < dim; d++) {
+                centers[i * dim + d] = 0.5 * (bounds[offset + d] + bounds[offset + dim + d]);
+            }
+        }
+
+        // order holds positions within entries and centers arrays
+        final var order = new int[n];
+        for (var i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        tile(order, 0, n, 0, centers);
+
+        final var parents = new int[nParents];
+        for (var p = 0; p < nParents; p++) {
+            final var parent = newNode(level);
+            final var end = Math.min(n, (p + 1) * maxEntries);
+            for (var i = p * maxEntries; i < end; i++) {
+                addEntry(parent, entries[order[i]]);
+            }
+            updateBounds(parent);
+            parents[p] = parent;
+        }
+        return parents;
+    }
+
+    /**
+     * Recursively sorts and splits a range of entries into slabs.
+     *
+     * @param order   positions of entries.
+     * @param from    start of range (inclusive).
+     * @param to      end of range (exclusive).
+     * @param d       dimension used to sort entries.
+     * @param centers centers of entries.
+     */
+    private void tile(final int[] order, final int from, final int to, final int d, final double[] centers) {
+        sortByKey(order, from, to - 1, centers, d);
+        if (d == dim - 1) {
+            return;
+        }
+
+        final var nPages = (to - from + maxEntries - 1) / maxEntries;
+        final var nSlabs = (int) Math.ceil(Math.pow(nPages, 1.0 / (dim - d)));
+        final var slabSize = maxEntries * ((nPages + nSlabs - 1) / nSlabs);
+        for (var start = from; start < to; start += slabSize) {
+            tile(order, start, Math.min(to, start + slabSize), d + 1, centers);
+        }
+    }
+
+    /**
+     * Inserts a box into a subtree.
+     *
+     * @param node  root of subtree.
+     * @param index position of box.
+     * @return position of node created by splitting the root of the subtree, or -1 if it was not split.
+     */
+    private int insert(final int node, final int index) {
+        if (nodeLevels[node] == 0) {
+            addEntry(node, index);
+        } else {
+            final var child = chooseSubtree(node, index);
+            final var sibling = insert(child, index);
+            if (sibling >= 0) {
+                addEntry(node, sibling);
+            }
+        }
+
+        if (nodeCounts[node] > maxEntries) {
+            return split(node);
+        }
+        if (nodeCounts[node] == 1) {
+            // first box added to an empty tree
+            updateBounds(node);
+        } else {
+            expand(nodeBounds, node * 2 * dim, boxBounds, index * 2 * dim);
+        }
+        return -1;
+    }
+
+    /**
+     * Chooses the child of a node where a box is inserted.
+     * When children are leaves, the child whose overlap with its siblings increases the least is chosen,
+     * otherwise the child whose area increases the least is chosen. Remaining ties are resolved by choosing the
+     * child with the smallest area.
+     *
+     * @param node  node.
+     * @param index position of box to be inserted.
+     * @return position of chosen child.
+     */
+    private int chooseSubtree(final int node, final int index) {
+        final var offset = node * (maxEntries + 1);
+        final var count = nodeCounts[node];
+        final var boxOffset = index * 2 * dim;
+        final var enlarged = new double[2 * dim];
+        final var minimizeOverlap = nodeLevels[node] == 1;
+
+        var best = -1;
+        var bestOverlap = Double.MAX_VALUE;
+        var bestEnlargement = Double.MAX_VALUE;
+        var bestArea = Double.MAX_VALUE;
+        for (var i = 0; i < count; i++) {
+            final var child = nodeEntries[offset + i];
+            final var childOffset = child * 2 * dim;
+            System.arraycopy(nodeBounds, childOffset, enlarged, 0, 2 * dim);
+            expand(enlarged, 0, boxBounds, boxOffset);
+
+            final var area = area(nodeBounds, childOffset);
+            final var enlargement = area(enlarged, 0) - area;
+            var overlap = 0.0;
+            if (minimizeOverlap) {
+                for (var j = 0; j < count; j++) {
+                    if (j != i) {
+                        final var siblingOffset = nodeEntries[offset + j] * 2 * dim;
+                        overlap += overlapArea(enlarged, 0, nodeBounds, siblingOffset)
+                                - overlapArea(nodeBounds, childOffset, nodeBounds, siblingOffset);
+                    }
+                }
+            }
+
+            if (overlap < bestOverlap || (overlap == bestOverlap && (enlargement < bestEnlargement
+                    || (enlargement == bestEnlargement && area < bestArea)))) {
+                best = child;
+                bestOverlap = overlap;
+                bestEnlargement = enlargement;
+                bestArea = area;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Splits an overflowing node.
+     * Split axis is the one minimizing the sum of margins of all candidate distributions, where entries are
+     * sorted by their low or high coordinate along the axis. Among distributions along such axis, the one with
+     * the least overlap between both groups is chosen, and ties are resolved by choosing the one with the least
+     * total area.
+     *
+     * @param node node to be split.
+     * @return position of created sibling node containing the second group of entries.
+     */
+    private int split(final int node) {
+        final var offset = node * (maxEntries + 1);
+        final var count = nodeCounts[node];
+        final var bounds = nodeLevels[node] == 0 ? boxBounds : nodeBounds;
+        final var entries = new int[count];
+        System.arraycopy(nodeEntries, offset, entries, 0, count);
+
+        final var keys = new double[count * 2 * dim];
+        for (var i = 0; i < count; i++) {
+            System.arraycopy(bounds, entries[i] * 2 * dim, keys, i * 2 * dim, 2 * dim);
+        }
+
+        final var order = new int[count];
+        final var bestOrder = new int[count];
+        final var lower = new double[count * 2 * dim];
+        final var upper = new double[count * 2 * dim];
+        var bestMargin = Double.MAX_VALUE;
+        var bestSplit = -1;
+        for (var d = 0; d < dim; d++) {
+            var margin = 0.0;
+            var axisOverlap = Double.MAX_VALUE;
+            var axisArea = Double.MAX_VALUE;
+            var axisSplit = -1;
+            final var axisOrder = new int[count];
+            for (var key = d; key < 2 * dim; key += dim) {
+                // sort by low and then by high coordinate
+                for (var i = 0; i < count; i++) {
+                    order[i] = i;
+                }
+                sortByKey(order, 0, count - 1, keys, key, 2 * dim);
+                accumulateBounds(order, keys, lower, upper);
+
+                for (var k = minEntries; k <= count - minEntries; k++) {
+                    final var lowerOffset = (k - 1) * 2 * dim;
+                    final var upperOffset = k * 2 * dim;
+                    margin += margin(lower, lowerOffset) + margin(upper, upperOffset);
+                    final var overlap = overlapArea(lower, lowerOffset, upper, upperOffset);
+                    final var area = area(lower, lowerOffset) + area(upper, upperOffset);
+                    if (overlap < axisOverlap || (overlap == axisOverlap && area < axisArea)) {
+                        axisOverlap = overlap;
+                        axisArea = area;
+                        axisSplit = k;
+                        System.arraycopy(order, 0, axisOrder, 0, count);
+                    }
+                }
+            }
+
+            if (margin < bestMargin) {
+                bestMargin = margin;
+                bestSplit = axisSplit;
+                System.arraycopy(axisOrder, 0, bestOrder, 0, count);
+            }
+        }
+
+        final var sibling = newNode(nodeLevels[node]);
+        nodeCounts[node] = 0;
+        for (var i = 0; i < count; i++) {
+            addEntry(i < bestSplit ? node : sibling, entries[bestOrder[i]]);
+        }
+        updateBounds(node);
+        updateBounds(sibling);
+        return sibling;
+    }
+
+    /**
+     * Computes bounds of the first k entries and of the last entries starting at k, for every k.
+     *
+     * @param order positions of entries in the order they are grouped.
+     * @param keys  bounds of entries.
+     * @param lower array where bounds of the first k + 1 entries are stored at position k.
+     * @param upper array where bounds of entries starting at position k are stored at position k.
+     */
+    private void accumulateBounds(final int[] order, final double[] keys, final double[] lower,
+                                  final double[] upper) {
+        final var length = 2 * dim;
+        final var count = order.length;
+        System.arraycopy(keys, order[0] * length, lower, 0, length);
+        for (var i = 1; i < count; i++) {
+            System.arraycopy(lower, (i - 1) * length, lower, i * length, length);
+            expand(lower, i * length, keys, order[i] * length);
+        }
+        System.arraycopy(keys, order[count - 1] * length, upper, (count - 1) * length, length);
+        for (var i = count - 2; i >= 0; i--) {
+            System.arraycopy(upper, (i + 1) * length, upper, i * length, length);
+            expand(upper, i * length, keys, order[i] * length);
+        }
+    }
+
+    /**
+     * Creates a node.
+     *
+     * @param level level of node.
+     * @return position of created node.
+     */
+    private int newNode(final int level) {
+        ensureNodeCapacity(nNodes + 1);
+        nodeCounts[nNodes] = 0;
+        nodeLevels[nNodes] = level;
+        return nNodes++;
+    }
+
+    /**
+     * Adds an entry to a node without updating its bounds.
+     *
+     * @param node  node.
+     * @param entry entry to be added.
+     */
+    private void addEntry(final int node, final int entry) {
+        nodeEntries[node * (maxEntries + 1) + nodeCounts[node]++] = entry;
+    }
+
+    /**
+     * Recomputes the bounds of a node from its entries.
+     *
+     * @param node node.
+     */
+    private void updateBounds(final int node) {
+        final var offset = node * (maxEntries + 1);
+        final var bounds = nodeLevels[node] == 0 ? boxBounds : nodeBounds;
+        final var nodeOffset = node * 2 * dim;
+        System.arraycopy(bounds, nodeEntries[offset] * 2 * dim, nodeBounds, nodeOffset, 2 * dim);
+        for (var i = 1; i < nodeCounts[node]; i++) {
+            expand(nodeBounds, nodeOffset, bounds, nodeEntries[offset + i] * 2 * dim);
+        }
+    }
+
+    /**
+     * Copies the coordinates of a box, swapping low and high coordinates if needed.
+     *
+     * @param box      box to be copied.
+     * @param bounds   array where bounds are stored.
+     * @param position position of bounds within array.
+     */
+    private void copyBounds(final Box<P> box, final double[] bounds, final int position) {
+        final var offset = position * 2 * dim;
+        final var lo = box.getLo();
+        final var hi = box.getHi();
+        for (var d = 0; d < dim; d++) {
+            final var loValue = lo.getInhomogeneousCoordinate(d);
+            final var hiValue = hi.getInhomogeneousCoordinate(d);
+            bounds[offset + d] = Math.min(loValue, hiValue);
+            bounds[offset + dim + d] = Math.max(loValue, hiValue);
+        }
+    }
+
+    /**
+     * Ensures that provided number of boxes can be stored.
+     *
+     * @param capacity required number of boxes.
+     */
+    private void ensureBoxCapacity(final int capacity) {
+        if (capacity * 2 * dim > boxBounds.length) {
+            final var newBounds = new double[Math.max(capacity, 2 * boxes.size()) * 2 * dim];
+            System.arraycopy(boxBounds, 0, newBounds, 0, boxBounds.length);
+            boxBounds = newBounds;
+        }
+    }
+
+    /**
+     * Ensures that provided number of nodes can be stored.
+     *
+     * @param capacity required number of nodes.
+     */
+    private void ensureNodeCapacity(final int capacity) {
+        if (capacity <= nodeCounts.length) {
+            return;
+        }
+        final var length = Math.max(capacity, 2 * nodeCounts.length);
+        final var newBounds = new double[length * 2 * dim];
+        System.arraycopy(nodeBounds, 0, newBounds, 0, nodeBounds.length);
+        nodeBounds = newBounds;
+        final var newEntries = new int[length * (maxEntries + 1)];
+        System.arraycopy(nodeEntries, 0, newEntries, 0, nodeEntries.length);
+        nodeEntries = newEntries;
+        final var newCounts = new int[length];
+        System.arraycopy(nodeCounts, 0, newCounts, 0, nodeCounts.length);
+        nodeCounts = newCounts;
+        final var newLevels = new int[length];
+        System.arraycopy(nodeLevels, 0, newLevels, 0, nodeLevels.length);
+        nodeLevels = newLevels;
+    }
+
+    /**
+     * Expands bounds so that they contain other bounds.
+     *
+     * @param bounds      array containing bounds to be expanded.
+     * @param offset      position of bounds to be expanded.
+     * @param other       array containing bounds to be merged.
+     * @param otherOffset position of bounds to be merged.
+     */
+    private void expand(final double[] bounds, final int offset, final double[] other, final int otherOffset) {
+        for (var d = 0; d < dim; d++) {
+            bounds[offset + d] = Math.min(bounds[offset + d], other[otherOffset + d]);
+            bounds[offset + dim + d] = Math.max(bounds[offset + dim + d], other[otherOffset + dim + d]);
+        }
+    }
+
+    /**
+     * Indicates whether two bounds intersect.
+     *
+     * @param a       array containing 1st bounds.
+     * @param aOffset position of 1st bounds.
+     * @param b       array containing 2nd bounds.
+     * @param bOffset position of 2nd bounds.
+     * @return true if bounds intersect, false otherwise.
+     */
+    private boolean intersects(final double[] a, final int aOffset, final double[] b, final int bOffset) {
+        for (var d = 0; d < dim; d++) {
+            if (a[aOffset + d] > b[bOffset + dim + d] || a[aOffset + dim + d] < b[bOffset + d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates whether 1st bounds contain 2nd ones.
+     *
+     * @param a       array containing 1st bounds.
+     * @param aOffset position of 1st bounds.
+     * @param b       array containing 2nd bounds.
+     * @param bOffset position of 2nd bounds.
+     * @return true if 1st bounds contain 2nd ones, false otherwise.
+     */
+    private boolean contains(final double[] a, final int aOffset, final double[] b, final int bOffset) {
+        for (var d = 0; d < dim; d++) {
+            if (a[aOffset + d] > b[bOffset + d] || a[aOffset + dim + d] < b[bOffset + dim + d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets area (or volume) of bounds.
+     *
+     * @param bounds array containing bounds.
+     * @param offset position of bounds.
+     * @return area of bounds.
+     */
+    private double area(final double[] bounds, final int offset) {
+        var result = 1.0;
+        for (var d = 0; d < dim; d++) {
+            result *= bounds[offset + dim + d] - bounds[offset + d];
+        }
+        return result;
+    }
+
+    /**
+     * Gets margin of bounds, which is the sum of their sizes along all dimensions.
+     *
+     * @param bounds array containing bounds.
+     * @param offset position of bounds.
+     * @return margin of bounds.
+     */
+    private double margin(final double[] bounds, final int offset) {
+        var result = 0.0;
+        for (var d = 0; d < dim; d++) {
+            result += bounds[offset + dim + d] - bounds[offset + d];
+        }
+        return result;
+    }
+
+    /**
+     * Gets area (or volume) of the intersection of two bounds.
+     *
+     * @param a       array containing 1st bounds.
+     * @param aOffset position of 1st bounds.
+     * @param b       array containing 2nd bounds.
+     * @param bOffset position of 2nd bounds.
+     * @return area of intersection or zero if bounds do not intersect.
+     */
+    private double overlapArea(final double[] a, final int aOffset, final double[] b, final int bOffset) {
+        var result = 1.0;
+        for (var d = 0; d < dim; d++) {
+            final var size = Math.min(a[aOffset + dim + d], b[bOffset + dim + d])
+                    - Math.max(a[aOffset + d], b[bOffset + d]);
+            if (size <= 0.0) {
+                return 0.0;
+            }
+            result *= size;
+        }
+        return result;
+    }
+
+    /**
+     * Gets squared distance from a point to bounds, which is zero when the point is inside them.
+     *
+     * @param bounds   array containing bounds.
+     * @param position position of bounds.
+     * @param p        coordinates of point.
+     * @return squared distance.
+     */
+    private double sqrDistance(final double[] bounds, final int position, final double[] p) {
+        final var offset = position * 2 * dim;
+        var result = 0.0;
+        for (var d = 0; d < dim; d++) {
+            final var diff = Math.max(0.0, Math.max(bounds[offset + d] - p[d], p[d] - bounds[offset + dim + d]));
+            result += diff * diff;
+        }
+        return result;
+    }
+
+    /**
+     * Sorts positions of centers by the value of a coordinate.
+     *
+     * @param order   positions to be sorted.
+     * @param left    first position of range to be sorted (inclusive).
+     * @param right   last position of range to be sorted (inclusive).
+     * @param centers centers of entries.
+     * @param d       coordinate used to sort.
+     */
+    private void sortByKey(final int[] order, final int left, final int right, final double[] centers,
+                           final int d) {
+        sortByKey(order, left, right, centers, d, dim);
+    }
+
+    /**
+     * Sorts positions by the value of a key, using quicksort.
+     *
+     * @param order  positions to be sorted.
+     * @param left   first position of range to be sorted (inclusive).
+     * @param right  last position of range to be sorted (inclusive).
+     * @param keys   array containing keys.
+     * @param key    position of key within the values stored for each position.
+     * @param stride number of values stored for each position.
+     */
+    private static void sortByKey(final int[] order, final int left, final int right, final double[] keys,
+                                  final int key, final int stride) {
+        var l = left;
+        var r = right;
+        while (l < r) {
+            final var pivot = keys[order[(l + r) >>> 1] * stride + key];
+            var i = l;
+            var j = r;
+            while (i <= j) {
+                while (keys[order[i] * stride + key] < pivot) {
+                    i++;
+                }
+                while (keys[order[j] * stride + key] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    final var tmp = order[i];
+                    order[i++] = order[j];
+                    order[j--] = tmp;
+                }
+            }
+
+            // recurse on smaller part and loop on larger one to limit stack depth
+            if (j - l < r - i) {
+                sortByKey(order, l, j, keys, key, stride);
+                l = i;
+            } else {
+                sortByKey(order, i, r, keys, key, stride);
+                r = j;
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Implementation of an R-tree in 2D.
+ * Once an R-tree is built for a collection of boxes, it can later be used to efficiently find boxes
+ * intersecting, containing or contained in a region, or boxes closest to a point.
+ */
+public class RTree2D extends RTree<Point2D> {
+
+    /**
+     * Constructor creating an empty tree using {@link #DEFAULT_MAX_ENTRIES}.
+     */
+    public RTree2D() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Constructor creating an empty tree.
+     *
+     * @param maxEntries maximum number of entries of a node.
+     * @throws IllegalArgumentException if maximum number of entries is less than {@link #MIN_MAX_ENTRIES}.
+     */
+    public RTree2D(final int maxEntries) {
+        super(maxEntries);
+    }
+
+    /**
+     * Constructor bulk loading provided boxes using {@link #DEFAULT_MAX_ENTRIES}.
+     *
+     * @param boxes boxes to be indexed.
+     */
+    public RTree2D(final Collection<Box2D> boxes) {
+        this(boxes, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Constructor bulk loading provided boxes.
+     *
+     * @param boxes      boxes to be indexed.
+     * @param maxEntries maximum number of entries of a node.
+     * @throws IllegalArgumentException if maximum number of entries is less than {@link #MIN_MAX_ENTRIES}.
+     */
+    public RTree2D(final Collection<Box2D> boxes, final int maxEntries) {
+        super(boxes, maxEntries);
+    }
+
+    /**
+     * Creates a tree bulk loading the boxes of provided rectangles, using {@link #DEFAULT_MAX_ENTRIES}.
+     * Boxes are indexed in the same order as provided rectangles.
+     *
+     * @param rectangles rectangles to be indexed.
+     * @return a new tree.
+     */
+    public static RTree2D fromRectangles(final Collection<Rectangle> rectangles) {
+        final var boxes = new ArrayList<Box2D>(rectangles.size());
+        for (final var rectangle : rectangles) {
+            boxes.add(rectangle.toBox());
+        }
+        return new RTree2D(boxes);
+    }
+
+    /**
+     * Adds the box of a rectangle.
+     *
+     * @param rectangle rectangle to be added.
+     * @return position of added box.
+     */
+    public int add(final Rectangle rectangle) {
+        return add(rectangle.toBox());
+    }
+
+    /**
+     * Gets number of dimensions of indexed boxes.
+     *
+     * @return number of dimensions.
+     */
+    @Override
+    public int getDimensions() {
+        return Point2D.POINT2D_INHOMOGENEOUS_COORDINATES_LENGTH;
+    }
+
+    /**
+     * Gets bounds containing all indexed boxes.
+     *
+     * @return bounds of all boxes or null if tree is empty.
+     */
+    @Override
+    public Box2D getBounds() {
+        return (Box2D) super.getBounds();
+    }
+
+    /**
+     * Creates a box.
+     *
+     * @param bounds array containing bounds.
+     * @param offset position of low coordinates, followed by high coordinates.
+     * @return created box.
+     */
+    @Override
+    protected Box2D createBox(final double[] bounds, final int offset) {
+        final var result = new Box2D();
+        result.setBounds(bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3]);
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import java.util.Collection;
+
+/**
+ * Implementation of an R-tree in 3D.
+ * Once an R-tree is built for a collection of boxes, it can later be used to efficiently find boxes
+ * intersecting, containing or contained in a region, or boxes closest to a point.
+ */
+public class RTree3D extends RTree<Point3D> {
+
+    /**
+     * Constructor creating an empty tree using {@link #DEFAULT_MAX_ENTRIES}.
+     */
+    public RTree3D() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Constructor creating an empty tree.
+     *
+     * @param maxEntries maximum number of entries of a node.
+     * @throws IllegalArgumentException if maximum number of entries is less than {@link #MIN_MAX_ENTRIES}.
+     */
+    public RTree3D(final int maxEntries) {
+        super(maxEntries);
+    }
+
+    /**
+     * Constructor bulk loading provided boxes using {@link #DEFAULT_MAX_ENTRIES}.
+     *
+     * @param boxes boxes to be indexed.
+     */
+    public RTree3D(final Collection<Box3D> boxes) {
+        this(boxes, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Constructor bulk loading provided boxes.
+     *
+     * @param boxes      boxes to be indexed.
+     * @param maxEntries maximum number of entries of a node.
+     * @throws IllegalArgumentException if maximum number of entries is less than {@link #MIN_MAX_ENTRIES}.
+     */
+    public RTree3D(final Collection<Box3D> boxes, final int maxEntries) {
+        super(boxes, maxEntries);
+    }
+
+    /**
+     * Gets number of dimensions of indexed boxes.
+     *
+     * @return number of dimensions.
+     */
+    @Override
+    public int getDimensions() {
+        return Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH;
+    }
+
+    /**
+     * Gets bounds containing all indexed boxes.
+     *
+     * @return bounds of all boxes or null if tree is empty.
+     */
+    @Override
+    public Box3D getBounds() {
+        return (Box3D) super.getBounds();
+    }
+
+    /**
+     * Creates a box.
+     *
+     * @param bounds array containing bounds.
+     * @param offset position of low coordinates, followed by high coordinates.
+     * @return created box.
+     */
+    @Override
+    protected Box3D createBox(final double[] bounds, final int offset) {
+        final var result = new Box3D();
+        result.setBounds(bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3],
+                bounds[offset + 4], bounds[offset + 5]);
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+/**
+ * Callback notified of each box found by an {@link RTree} query.
+ * Visitors receive the position of found boxes instead of having them collected into a list, so that queries
+ * returning a large number of boxes do not require any allocation.
+ */
+@FunctionalInterface
+public interface RTreeVisitor {
+
+    /**
+     * Called for each box found by a query.
+     *
+     * @param index position of found box in insertion order.
+     * @return true to continue the query, false to stop it.
+     */
+    boolean visit(final int index);
+}
@@ -0,0 +1,448 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.irurueta.geometry;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Forest of randomized k-D trees for approximate nearest neighbour search of high dimensional vectors, such as
+ * feature descriptors.
+ * A single k-D tree cycling through dimensions only splits on a few of the dimensions of high dimensional
+ * vectors, and exact searches end up visiting most of its leaves. Instead, each tree of this forest splits each
+ * box on a dimension randomly picked among the ones having the largest variance within the box, so that trees
+ * partition the space differently. All trees share the same vector storage, which is kept in single precision
+ * when vectors are provided as {@code float} arrays, and queries visit boxes of all trees in a single best-first
+ * order, bounded by a maximum number of visited leaf boxes.
+ */
+public class RandomizedKDForest {
+
+    /**
+     * Default number of trees.
+     */
+    public static final int DEFAULT_TREES = 4;
+
+    /**
+     * Default maximum number of leaf boxes to visit on each search.
+     */
+    public static final int DEFAULT_MAX_CHECKS = 32;
+
+    /**
+     * Number of dimensions having the largest variance among which the split dimension of each box is randomly
+     * picked.
+     */
+    static final int RANDOM_DIMENSIONS = 5;
+
+    /**
+     * Maximum number of vectors of a box used to estimate variance of each dimension.
+     */
+    static final int VARIANCE_SAMPLES = 100;
+
+    /**
+     * Constant used to derive seeds of trees and boxes.
+     */
+    private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Trees of this forest.
+     */
+    private final VectorKDTree[] trees;
+
+    /**
+     * Constructor using {@link #DEFAULT_TREES} trees and a random seed.
+     *
+     * @param vectors vectors to store in the forest. All vectors must have the same length.
+     * @throws IllegalArgumentException if number of vectors is less than {@link VectorKDTree#MIN_PTS}, or if
+     *                                  vectors are empty or do not have the same length.
+     */
+    public RandomizedKDForest(final double[][] vectors) {
+        this(vectors, DEFAULT_TREES);
+    }
+
+    /**
+     * Constructor using a random seed.
+     *
+     * @param vectors vectors to store in the forest. All vectors must have the same length.
+     * @param nTrees  number of trees.
+     * @throws IllegalArgumentException if number of vectors is less than {@link VectorKDTree#MIN_PTS}, if
+     *                                  vectors are empty or do not have the same length, or if number of trees
+     *                                  is less than 1.
+     */
+    public RandomizedKDForest(final double[][] vectors, final int nTrees) {
+        this(vectors, nTrees, System.nanoTime());
+    }
+
+    /**
+     * Constructor.
+     * Forests built with the same vectors, number of trees and seed are identical.
+     *
+     * @param vectors vectors to store in the forest. All vectors must have the same length.
+     * @param nTrees  number of trees.
+     * @param seed    seed used to pick split dimensions.
+     * @throws IllegalArgumentException if number of vectors is less than {@link VectorKDTree#MIN_PTS}, if
+     *                                  vectors are empty or do not have the same length, or if number of trees
+     *                                  is less than 1.
+     */
+    public RandomizedKDForest(final double[][] vectors, final int nTrees, final long seed) {
+        this(VectorKDTree.toData(vectors), null, vectors.length, vectors.length > 0 ? vectors[0].length : 0,
+                nTrees, seed, null);
+    }
+
+    /**
+     * Constructor.
+     * Vectors are stored in single precision and shared by all trees. Forests built with the same vectors, number
+     * of trees and seed are identical.
+     *
+     * @param vectors vectors to store in the forest. All vectors must have the same length.
+     * @param nTrees  number of trees.
+     * @param seed    seed used to pick split dimensions.
+     * @throws IllegalArgumentException if number of vectors is less than {@link VectorKDTree#MIN_PTS}, if
+     *                                  vectors are empty or do not have the same length, or if number of trees
+     *                                  is less than 1.
+     */
+    public RandomizedKDForest(final float[][] vectors, final int nTrees, final long seed) {
+        this(null, VectorKDTree.toData(vectors), vectors.length, vectors.length > 0 ? vectors[0].length : 0,
+                nTrees, seed, null);
+    }
+
+    /**
+     * Constructor.
+     * If a pool is provided, independent subtrees of each tree are built concurrently on it. Forests built with
+     * the same vectors, number of trees and seed are identical, regardless of whether they are built
+     * concurrently or not.
+     *
+     * @param data     coordinates of vectors stored consecutively for each vector, so that coordinate of dimension
+     *                 d for vector j is at position j * dim + d. Provided array is copied.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @param nTrees   number of trees.
+     * @param seed     seed used to pick split dimensions.
+     * @param pool     pool where trees are built or null to build them sequentially.
+     * @throws IllegalArgumentException if number of vectors is less than {@link VectorKDTree#MIN_PTS}, if
+     *                                  number of dimensions is less than 1, if length of data does not match
+     *                                  number of vectors and dimensions, or if number of trees is less than 1.
+     */
+    public RandomizedKDForest(final double[] data, final int nVectors, final int dim, final int nTrees,
+                              final long seed, final ForkJoinPool pool) {
+        this(VectorKDTree.checkData(data, nVectors, dim).clone(), null, nVectors, dim, nTrees, seed, pool);
+    }
+
+    /**
+     * Constructor.
+     * Vectors are stored in single precision and shared by all trees. If a pool is provided, independent subtrees
+     * of each tree are built concurrently on it. Forests built with the same vectors, number of trees and seed
+     * are identical, regardless of whether they are built concurrently or not.
+     *
+     * @param data     coordinates of vectors stored consecutively for each vector, so that coordinate of dimension
+     *                 d for vector j is at position j * dim + d. Provided array is copied.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @param nTrees   number of trees.
+     * @param seed     seed used to pick split dimensions.
+     * @param pool     pool where trees are built or null to build them sequentially.
+     * @throws IllegalArgumentException if number of vectors is less than {@link VectorKDTree#MIN_PTS}, if
+     *                                  number of dimensions is less than 1, if length of data does not match
+     *                                  number of vectors and dimensions, or if number of trees is less than 1.
+     */
+    public RandomizedKDForest(final float[] data, final int nVectors, final int dim, final int nTrees,
+                              final long seed, final ForkJoinPool pool) {
+        this(null, VectorKDTree.checkData(data, nVectors, dim).clone(), nVectors, dim, nTrees, seed, pool);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param data      coordinates of vectors stored consecutively for each vector in double precision, or null
+     *                  if they are stored in single precision. Provided array is kept as the storage of the forest.
+     * @param floatData coordinates of vectors stored consecutively for each vector in single precision, or null
+     *                  if they are stored in double precision. Provided array is kept as the storage of the forest.
+     * @param nVectors  number of vectors.
+     * @param dim       number of dimensions of vectors.
+     * @param nTrees    number of trees.
+     * @param seed      seed used to pick split dimensions.
+     * @param pool      pool where trees are built or null to build them sequentially.
+     * @throws IllegalArgumentException if any parameter is not valid.
+     */
+    private RandomizedKDForest(final double[] data, final float[] floatData, final int nVectors, final int dim,
+                               final int nTrees, final long seed, final ForkJoinPool pool) {
+        if (nTrees < 1) {
+            throw new IllegalArgumentException();
+        }
+        // box and tree positions are combined into a single identifier in search queues
+        if ((long) 2 * nVectors * nTrees > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException();
+        }
+
+        trees = new VectorKDTree[nTrees];
+        for (var t = 0; t < nTrees; t++) {
+            final var selector = new VarianceSplitSelector(seed + t * SEED_INCREMENT);
+            trees[t] = floatData != null ? new VectorKDTree(floatData, nVectors, dim, selector, pool)
+                    : new VectorKDTree(data, nVectors, dim, selector, pool);
+        }
+    }
+
+    /**
+     * Gets number of trees of this forest.
+     *
+     * @return number of trees.
+     */
+    public int getNumberOfTrees() {
+        return trees.length;
+    }
+
+    /**
+     * Gets a tree of this forest.
+     *
+     * @param index position of tree.
+     * @return tree.
+     */
+    public VectorKDTree getTree(final int index) {
+        return trees[index];
+    }
+
+    /**
+     * Gets number of dimensions of stored vectors.
+     *
+     * @return number of dimensions.
+     */
+    public int getDimensions() {
+        return trees[0].getDimensions();
+    }
+
+    /**
+     * Gets number of stored vectors.
+     *
+     * @return number of vectors.
+     */
+    public int getNumberOfVectors() {
+        return trees[0].getNumberOfVectors();
+    }
+
+    /**
+     * Index in input order of approximately closest vector to provided one, visiting up to
+     * {@link #DEFAULT_MAX_CHECKS} leaf boxes.
+     *
+     * @param vector vector to check against. Does not need to be stored in the forest.
+     * @return position of approximately closest vector.
+     * @throws IllegalArgumentException if length of vector does not match forest dimensions.
+     */
+    public int nearestIndex(final double[] vector) {
+        return nearestIndex(vector, DEFAULT_MAX_CHECKS);
+    }
+
+    /**
+     * Index in input order of approximately closest vector to provided one.
+     *
+     * @param vector    vector to check against. Does not need to be stored in the forest.
+     * @param maxChecks maximum number of leaf boxes to visit among all trees, or
+     *                  {@link KDTree#UNLIMITED_CHECKS}.
+     * @return position of approximately closest vector.
+     * @throws IllegalArgumentException if length of vector does not match forest dimensions or if maximum number
+     *                                  of checks is less than 1.
+     */
+    public int nearestIndex(final double[] vector, final int maxChecks) {
+        final var nn = new int[1];
+        final var dn = new double[1];
+        nNearest(vector, nn, dn, 1, 0.0, maxChecks);
+        return nn[0];
+    }
+
+    /**
+     * Index in input order of approximately closest vector to provided one.
+     *
+     * @param vector    vector to check against. Does not need to be stored in the forest.
+     * @param maxChecks maximum number of leaf boxes to visit among all trees, or
+     *                  {@link KDTree#UNLIMITED_CHECKS}.
+     * @return position of approximately closest vector.
+     * @throws IllegalArgumentException if length of vector does not match forest dimensions or if maximum number
+     *                                  of checks is less than 1.
+     */
+    public int nearestIndex(final float[] vector, final int maxChecks) {
+        return nearestIndex(VectorKDTree.toDouble(vector), maxChecks);
+    }
+
+    /**
+     * Gets n approximately nearest vectors to a given one, visiting up to {@link #DEFAULT_MAX_CHECKS} leaf boxes.
+     * Results are sorted by increasing distance.
+     *
+     * @param vector vector to search nearest ones for. Does not need to be stored in the forest.
+     * @param nn     array where positions in input order of nearest vectors are stored.
+     * @param dn     array where distances to nearest vectors are stored.
+     * @param n      number of nearest vectors to find.
+     * @throws IllegalArgumentException if number of nearest vectors is invalid, if length of arrays containing
+     *                                  results are not valid either, or if length of vector does not match forest
+     *                                  dimensions.
+     */
+    public void nNearest(final double[] vector, final int[] nn, final double[] dn, final int n) {
+        nNearest(vector, nn, dn, n, 0.0, DEFAULT_MAX_CHECKS);
+    }
+
+    /**
+     * Gets n approximately nearest vectors to a given one.
+     * Boxes of all trees are visited in order of increasing distance to provided vector. Search stops once
+     * remaining boxes are farther than the n-th nearest distance found so far divided by (1 + epsilon), or once
+     * maxChecks leaf boxes have been visited and n vectors have been found. Results are sorted by increasing
+     * distance.
+     *
+     * @param vector    vector to search nearest ones for. Does not need to be stored in the forest.
+     * @param nn        array where positions in input order of nearest vectors are stored.
+     * @param dn        array where distances to nearest vectors are stored.
+     * @param n         number of nearest vectors to find.
+     * @param epsilon   allowed relative error of distances to returned vectors.
+     * @param maxChecks maximum number of leaf boxes to visit among all trees, or {@link KDTree#UNLIMITED_CHECKS}.
+     * @throws IllegalArgumentException if number of nearest vectors is invalid, if length of arrays containing
+     *                                  results are not valid either, if length of vector does not match forest
+     *                                  dimensions, if epsilon is negative or if maximum number of checks is less
+     *                                  than 1.
+     */
+    public void nNearest(final double[] vector, final int[] nn, final double[] dn, final int n,
+                         final double epsilon, final int maxChecks) {
+        trees[0].checkNearest(vector, nn, dn, n, getNumberOfVectors());
+        KDTree.checkApproximateParameters(epsilon, maxChecks);
+        if (n == 0) {
+            return;
+        }
+
+        final var heap = new double[n];
+        final var ndx = new int[n];
+        for (var i = 0; i < n; i++) {
+            heap[i] = KDTree.BIG;
+        }
+
+        // identifiers of boxes in queue are box * number of trees + tree
+        final var nTrees = trees.length;
+        final var factor = (1.0 + epsilon) * (1.0 + epsilon);
+        final var queue = new BoxQueue();
+        for (var t = 0; t < nTrees; t++) {
+            queue.push(t, 0.0);
+        }
+        var checks = 0;
+        while (!queue.isEmpty() && (checks < maxChecks || heap[0] == KDTree.BIG)
+                && queue.peekDistance() * factor < heap[0]) {
+            final var id = queue.pop();
+            final var tree = trees[id % nTrees];
+            final var k = id / nTrees;
+            final var d1 = tree.getBoxDau1(k);
+            if (d1 != 0) {
+                final var d2 = tree.getBoxDau2(k);
+                tree.pushBox(queue, d1, d1 * nTrees + id % nTrees, vector, factor, heap[0]);
+                tree.pushBox(queue, d2, d2 * nTrees + id % nTrees, vector, factor, heap[0]);
+            } else {
+                tree.scanBox(k, vector, heap, ndx, n, nTrees > 1);
+                checks++;
+            }
+        }
+
+        VectorKDTree.sortResults(heap, ndx, n, nn, dn);
+    }
+
+    /**
+     * Gets n approximately nearest vectors to a given one.
+     * Results are sorted by increasing distance.
+     *
+     * @param vector    vector to search nearest ones for. Does not need to be stored in the forest.
+     * @param nn        array where positions in input order of nearest vectors are stored.
+     * @param dn        array where distances to nearest vectors are stored.
+     * @param n         number of nearest vectors to find.
+     * @param epsilon   allowed relative error of distances to returned vectors.
+     * @param maxChecks maximum number of leaf boxes to visit among all trees, or {@link KDTree#UNLIMITED_CHECKS}.
+     * @throws IllegalArgumentException if number of nearest vectors is invalid, if length of arrays containing
+     *                                  results are not valid either, if length of vector does not match forest
+     *                                  dimensions, if epsilon is negative or if maximum number of checks is less
+     *                                  than 1.
+     * @see #nNearest(double[], int[], double[], int, double, int)
+     */
+    public void nNearest(final float[] vector, final int[] nn, final double[] dn, final int n,
+                         final double epsilon, final int maxChecks) {
+        nNearest(VectorKDTree.toDouble(vector), nn, dn, n, epsilon, maxChecks);
+    }
+
+    /**
+     * Selects split dimension of each box randomly among the {@link #RANDOM_DIMENSIONS} dimensions having the
+     * largest variance within the box.
+     * Variance is estimated from up to {@link #VARIANCE_SAMPLES} vectors of the box, and each box uses its own
+     * random generator seeded from the tree seed and the box position, so that selection does not depend on the
+     * order in which boxes are split.
+     */
+    private static class VarianceSplitSelector implements KDTreeBuilder.SplitDimensionSelector {
+
+        /**
+         * Seed of the tree.
+         */
+        private final long seed;
+
+        /**
+         * Constructor.
+         *
+         * @param seed seed of the tree.
+         */
+        VarianceSplitSelector(final long seed) {
+            this.seed = seed;
+        }
+
+        /**
+         * Selects split dimension of provided box.
+         *
+         * @param builder builder containing the box.
+         * @param box     position of box to be split.
+         * @return split dimension.
+         */
+        @Override
+        public int select(final KDTreeBuilder builder, final int box) {
+            final var dim = builder.dim;
+            final var nPts = builder.nPts;
+            final var columns = builder.columns;
+            final var ptIndx = builder.ptIndx;
+            final var ptlo = builder.boxPtLo[box];
+            final var pthi = builder.boxPtHi[box];
+            final var step = Math.max(1, (pthi - ptlo + 1) / VARIANCE_SAMPLES);
+
+            // keep dimensions with the largest variance sorted in decreasing order
+            final var candidates = Math.min(RANDOM_DIMENSIONS, dim);
+            final var topDims = new int[candidates];
+            final var topVariances = new double[candidates];
+            var count = 0;
+            for (int d = 0, offset = 0; d < dim; d++, offset += nPts) {
+                var mean = 0.0;
+                var sqrSum = 0.0;
+                var samples = 0;
+                for (var i = ptlo; i <= pthi; i += step) {
+                    final var value = columns[offset + ptIndx[i]];
+                    mean += value;
+                    sqrSum += value * value;
+                    samples++;
+                }
+                mean /= samples;
+                final var variance = sqrSum / samples - mean * mean;
+
+                if (count < candidates || variance > topVariances[count - 1]) {
+                    var pos = count < candidates ? count++ : count - 1;
+                    while (pos > 0 && topVariances[pos - 1] < variance) {
+                        topVariances[pos] = topVariances[pos - 1];
+                        topDims[pos] = topDims[pos - 1];
+                        pos--;
+                    }
+                    topVariances[pos] = variance;
+                    topDims[pos] = d;
+                }
+            }
+
+            final var random = new SplittableRandom(seed + box * SEED_INCREMENT);
+            return topDims[random.nextInt(count)];
+        }
+    }
+}
@@ -0,0 +1,1218 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spatial hash indexing 2D shapes ({@link Rectangle}, {@link Box2D}, {@link Triangle2D}, {@link Circle} and
+ * {@link Polygon2D}) into a uniform grid of square cells.
+ * Each shape is registered in every cell overlapped by its bounding box, and only non-empty cells are stored,
+ * so that the grid is unbounded and its memory is proportional to the number of occupied cells.
+ * Point containment, box overlap and nearest shape queries only check shapes registered in cells close to the
+ * query, which takes near constant time when cell size is comparable to the size of indexed shapes.
+ * Shapes are identified by the index returned when they are added. Because shapes are mutable, the geometry of
+ * a shape is copied when it is added, and shapes that are moved or resized must be updated so that the grid
+ * reflects their new geometry. Updating a shape only modifies the cells that it enters or leaves.
+ * This class is not thread-safe for concurrent modifications, although concurrent queries are safe.
+ */
+public class SpatialHashGrid2D {
+
+    /**
+     * Kind of shapes whose geometry is stored as an axis-aligned box.
+     */
+    private static final int BOX = 0;
+
+    /**
+     * Kind of shapes whose geometry is stored as a circle.
+     */
+    private static final int CIRCLE = 1;
+
+    /**
+     * Kind of shapes whose geometry is stored as a polygon.
+     */
+    private static final int POLYGON = 2;
+
+    /**
+     * Number of values stored for each shape bounds or cell range.
+     */
+    private static final int BOUNDS_LENGTH = 4;
+
+    /**
+     * Initial capacity of arrays containing shapes and cells.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Size of grid cells.
+     */
+    private final double cellSize;
+
+    /**
+     * Non-empty cells indexed by their packed horizontal and vertical cell indices.
+     */
+    private final CellTable cells = new CellTable();
+
+    /**
+     * Indexed shapes or null for removed positions.
+     */
+    private final List<Object> shapes = new ArrayList<>();
+
+    /**
+     * Kind of each shape.
+     */
+    private int[] kinds = new int[INITIAL_CAPACITY];
+
+    /**
+     * Copy of the geometry of each shape.
+     * Boxes store their bounds, circles store their center and radius and polygons store their vertex coordinates.
+     */
+    private double[][] geometries = new double[INITIAL_CAPACITY][];
+
+    /**
+     * Bounds of each shape. Minimum horizontal and vertical coordinates of shape i are stored at positions
+     * i * 4 and i * 4 + 1, and maximum ones at positions i * 4 + 2 and i * 4 + 3.
+     */
+    private double[] bounds = new double[INITIAL_CAPACITY * BOUNDS_LENGTH];
+
+    /**
+     * Range of cells where each shape is registered, stored in the same order as bounds.
+     */
+    private int[] cellRanges = new int[INITIAL_CAPACITY * BOUNDS_LENGTH];
+
+    /**
+     * Positions of removed shapes that can be reused.
+     */
+    private int[] free = new int[INITIAL_CAPACITY];
+
+    /**
+     * Number of positions of removed shapes that can be reused.
+     */
+    private int nFree;
+
+    /**
+     * Range of cells that have ever been occupied, used to limit nearest shape searches. Range is not shrunk
+     * when shapes are removed.
+     */
+    private final int[] occupiedRange = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE,
+            Integer.MIN_VALUE};
+
+    /**
+     * Constructor.
+     *
+     * @param cellSize size of grid cells. For best performance, it should be comparable to the typical size of
+     *                 indexed shapes.
+     * @throws IllegalArgumentException if cell size is not positive.
+     */
+    public SpatialHashGrid2D(final double cellSize) {
+        if (!(cellSize > 0.0) || Double.isInfinite(cellSize)) {
+            throw new IllegalArgumentException("cell size must be positive");
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Gets size of grid cells.
+     *
+     * @return size of grid cells.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Gets number of indexed shapes.
+     *
+     * @return number of indexed shapes.
+     */
+    public int getNumberOfShapes() {
+        return shapes.size() - nFree;
+    }
+
+    /**
+     * Gets number of non-empty cells.
+     *
+     * @return number of non-empty cells.
+     */
+    public int getNumberOfCells() {
+        return cells.size();
+    }
+
+    /**
+     * Indicates whether there are no indexed shapes.
+     *
+     * @return true if there are no indexed shapes, false otherwise.
+     */
+    public boolean isEmpty() {
+        return getNumberOfShapes() == 0;
+    }
+
+    /**
+     * Indicates whether a shape is indexed at provided position.
+     *
+     * @param index position of shape.
+     * @return true if a shape is indexed at provided position, false otherwise.
+     */
+    public boolean contains(final int index) {
+        return index >= 0 && index < shapes.size() && shapes.get(index) != null;
+    }
+
+    /**
+     * Gets shape indexed at provided position.
+     *
+     * @param index position of shape.
+     * @return shape.
+     * @throws IllegalArgumentException if no shape is indexed at provided position.
+     */
+    public Object getShape(final int index) {
+        checkIndex(index);
+        return shapes.get(index);
+    }
+
+    /**
+     * Gets bounds of shape indexed at provided position, as they were when shape was last added or updated.
+     *
+     * @param index position of shape.
+     * @return bounds of shape.
+     * @throws IllegalArgumentException if no shape is indexed at provided position.
+     */
+    public Box2D getBounds(final int index) {
+        checkIndex(index);
+        final var offset = index * BOUNDS_LENGTH;
+        final var result = new Box2D();
+        result.setBounds(bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3]);
+        return result;
+    }
+
+    /**
+     * Adds a rectangle.
+     *
+     * @param rectangle rectangle to be added.
+     * @return position of added shape.
+     */
+    public int add(final Rectangle rectangle) {
+        return add(rectangle, BOX);
+    }
+
+    /**
+     * Adds a box.
+     *
+     * @param box box to be added.
+     * @return position of added shape.
+     */
+    public int add(final Box2D box) {
+        return add(box, BOX);
+    }
+
+    /**
+     * Adds a circle.
+     *
+     * @param circle circle to be added.
+     * @return position of added shape.
+     */
+    public int add(final Circle circle) {
+        return add(circle, CIRCLE);
+    }
+
+    /**
+     * Adds a triangle.
+     *
+     * @param triangle triangle to be added.
+     * @return position of added shape.
+     */
+    public int add(final Triangle2D triangle) {
+        return add(triangle, POLYGON);
+    }
+
+    /**
+     * Adds a polygon.
+     *
+     * @param polygon polygon to be added.
+     * @return position of added shape.
+     */
+    public int add(final Polygon2D polygon) {
+        return add(polygon, POLYGON);
+    }
+
+    /**
+     * Updates the geometry of a shape after it has been moved or modified.
+     * Only the cells that the shape enters or leaves are modified.
+     *
+     * @param index position of shape.
+     * @throws IllegalArgumentException if no shape is indexed at provided position.
+     */
+    public void update(final int index) {
+        checkIndex(index);
+        final var offset = index * BOUNDS_LENGTH;
+        final var oldRange = new int[BOUNDS_LENGTH];
+        System.arraycopy(cellRanges, offset, oldRange, 0, BOUNDS_LENGTH);
+
+        setGeometry(index);
+        final var newRange = new int[BOUNDS_LENGTH];
+        System.arraycopy(cellRanges, offset, newRange, 0, BOUNDS_LENGTH);
+
+        // remove from cells that are no longer overlapped and add to newly overlapped ones
+        for (var cx = oldRange[0]; cx <= oldRange[2]; cx++) {
+            for (var cy = oldRange[1]; cy <= oldRange[3]; cy++) {
+                if (!isInRange(newRange, cx, cy)) {
+                    removeFromCell(cx, cy, index);
+                }
+            }
+        }
+        for (var cx = newRange[0]; cx <= newRange[2]; cx++) {
+            for (var cy = newRange[1]; cy <= newRange[3]; cy++) {
+                if (!isInRange(oldRange, cx, cy)) {
+                    addToCell(cx, cy, index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a shape.
+     * Removed position might be reused by shapes added afterward.
+     *
+     * @param index position of shape.
+     * @return true if shape was removed, false if no shape was indexed at provided position.
+     */
+    public boolean remove(final int index) {
+        if (!contains(index)) {
+            return false;
+        }
+
+        final var offset = index * BOUNDS_LENGTH;
+        for (var cx = cellRanges[offset]; cx <= cellRanges[offset + 2]; cx++) {
+            for (var cy = cellRanges[offset + 1]; cy <= cellRanges[offset + 3]; cy++) {
+                removeFromCell(cx, cy, index);
+            }
+        }
+        shapes.set(index, null);
+        geometries[index] = null;
+
+        if (nFree == free.length) {
+            free = grow(free, 2 * free.length);
+        }
+        free[nFree++] = index;
+        return true;
+    }
+
+    /**
+     * Removes all shapes.
+     */
+    public void clear() {
+        cells.clear();
+        shapes.clear();
+        nFree = 0;
+        occupiedRange[0] = occupiedRange[1] = Integer.MAX_VALUE;
+        occupiedRange[2] = occupiedRange[3] = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Finds shapes containing provided point.
+     * Points on the boundary of a shape are considered to be contained.
+     * This method only returns up to nmax results.
+     *
+     * @param point point to be checked.
+     * @param list  list where positions of shapes containing provided point are stored up to the number of found
+     *              shapes.
+     * @param nmax  maximum number of shapes to search.
+     * @return number of found shapes.
+     * @throws IllegalArgumentException if maximum number of shapes to search is zero or negative, or list where
+     *                                  positions are stored is not large enough.
+     */
+    public int locateContaining(final Point2D point, final int[] list, final int nmax) {
+        checkList(list, nmax);
+
+        final var x = point.getInhomX();
+        final var y = point.getInhomY();
+        final var cell = cells.get(key(cellIndex(x), cellIndex(y)));
+        if (cell == null) {
+            return 0;
+        }
+
+        var nret = 0;
+        for (var i = 0; i < cell.count; i++) {
+            final var index = cell.shapes[i];
+            if (isInside(index, x, y)) {
+                list[nret++] = index;
+                if (nret == nmax) {
+                    break;
+                }
+            }
+        }
+        return nret;
+    }
+
+    /**
+     * Finds shapes overlapping provided box.
+     * Shapes touching the box boundary are considered to overlap it.
+     * This method only returns up to nmax results.
+     *
+     * @param box  box to be checked.
+     * @param list list where positions of shapes overlapping provided box are stored up to the number of found
+     *             shapes.
+     * @param nmax maximum number of shapes to search.
+     * @return number of found shapes.
+     * @throws IllegalArgumentException if maximum number of shapes to search is zero or negative, or list where
+     *                                  positions are stored is not large enough.
+     */
+    public int locateOverlapping(final Box2D box, final int[] list, final int nmax) {
+        checkList(list, nmax);
+
+        final var lo = box.getLo();
+        final var hi = box.getHi();
+        final var region = new double[]{lo.getInhomX(), lo.getInhomY(), hi.getInhomX(), hi.getInhomY()};
+        final var minCx = Math.max(cellIndex(region[0]), occupiedRange[0]);
+        final var minCy = Math.max(cellIndex(region[1]), occupiedRange[1]);
+        final var maxCx = Math.min(cellIndex(region[2]), occupiedRange[2]);
+        final var maxCy = Math.min(cellIndex(region[3]), occupiedRange[3]);
+
+        if (minCx > maxCx || minCy > maxCy) {
+            return 0;
+        }
+
+        var nret = 0;
+        if (((long) maxCx - minCx + 1) * ((long) maxCy - minCy + 1) > cells.size()) {
+            // region covers more cells than occupied ones, hence occupied cells are checked instead
+            for (var slot = 0; slot < cells.capacity(); slot++) {
+                final var cell = cells.cellAt(slot);
+                if (cell == null) {
+                    continue;
+                }
+                final var key = cells.keyAt(slot);
+                final var cx = (int) (key >> Integer.SIZE);
+                final var cy = (int) key;
+                if (cx >= minCx && cx <= maxCx && cy >= minCy && cy <= maxCy) {
+                    nret = locateOverlapping(cell, cx, cy, minCx, minCy, region, list, nret, nmax);
+                    if (nret == nmax) {
+                        break;
+                    }
+                }
+            }
+            return nret;
+        }
+
+        for (var cx = minCx; cx <= maxCx && nret < nmax; cx++) {
+            for (var cy = minCy; cy <= maxCy && nret < nmax; cy++) {
+                final var cell = cells.get(key(cx, cy));
+                if (cell != null) {
+                    nret = locateOverlapping(cell, cx, cy, minCx, minCy, region, list, nret, nmax);
+                }
+            }
+        }
+        return nret;
+    }
+
+    /**
+     * Finds the shape closest to provided point.
+     * Distance to a shape is zero when the point is inside the shape and the distance to the shape boundary
+     * otherwise. Cells are visited in rings of increasing distance to provided point until no closer shape can
+     * be found.
+     *
+     * @param point point to be checked.
+     * @return position of closest shape or -1 if there are no indexed shapes.
+     */
+    public int nearestIndex(final Point2D point) {
+        if (isEmpty()) {
+            return -1;
+        }
+
+        final var x = point.getInhomX();
+        final var y = point.getInhomY();
+        final var cx = cellIndex(x);
+        final var cy = cellIndex(y);
+
+        // number of rings needed to cover all occupied cells
+        final var maxRing = Math.max(Math.max((long) cx - occupiedRange[0], (long) occupiedRange[2] - cx),
+                Math.max((long) cy - occupiedRange[1], (long) occupiedRange[3] - cy));
+
+        var best = -1;
+        var bestDist = Double.MAX_VALUE;
+        for (var ring = 0; ring <= maxRing; ring++) {
+            if (best >= 0 && bestDist <= (ring - 1) * cellSize) {
+                // any cell in this ring or beyond is farther than closest shape
+                break;
+            }
+
+            if ((2L * ring + 1) * (2L * ring + 1) > cells.size()) {
+                // ring covers more cells than occupied ones, hence all shapes are checked instead
+                return nearestIndex(x, y, best, bestDist);
+            }
+
+            for (var i = -ring; i <= ring; i++) {
+                final var step = (i == -ring || i == ring) ? 1 : 2 * ring;
+                for (var j = -ring; j <= ring; j += step) {
+                    final var cell = cells.get(key(cx + i, cy + j));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (var k = 0; k < cell.count; k++) {
+                        final var index = cell.shapes[k];
+                        if (boundsDistance(index, x, y) >= bestDist) {
+                            continue;
+                        }
+                        final var dist = distance(index, x, y);
+                        if (dist < bestDist) {
+                            bestDist = dist;
+                            best = index;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets distance from provided point to a shape.
+     * Distance is zero when the point is inside the shape and the distance to the shape boundary otherwise.
+     *
+     * @param index position of shape.
+     * @param point point to be checked.
+     * @return distance to shape.
+     * @throws IllegalArgumentException if no shape is indexed at provided position.
+     */
+    public double getDistance(final int index, final Point2D point) {
+        checkIndex(index);
+        return distance(index, point.getInhomX(), point.getInhomY());
+    }
+
+    /**
+     * Adds a shape.
+     *
+     * @param shape shape to be added.
+     * @param kind  kind of shape.
+     * @return position of added shape.
+     */
+    private int add(final Object shape, final int kind) {
+        final int index;
+        if (nFree > 0) {
+            index = free[--nFree];
+            shapes.set(index, shape);
+        } else {
+            index = shapes.size();
+            shapes.add(shape);
+            ensureCapacity(index + 1);
+        }
+        kinds[index] = kind;
+
+        setGeometry(index);
+        final var offset = index * BOUNDS_LENGTH;
+        for (var cx = cellRanges[offset]; cx <= cellRanges[offset + 2]; cx++) {
+            for (var cy = cellRanges[offset + 1]; cy <= cellRanges[offset + 3]; cy++) {
+                addToCell(cx, cy, index);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Copies the geometry of a shape and computes its bounds and range of cells.
+     *
+     * @param index position of shape.
+     */
+    private void setGeometry(final int index) {
+        final var shape = shapes.get(index);
+        final var offset = index * BOUNDS_LENGTH;
+        switch (kinds[index]) {
+            case BOX -> {
+                final Point2D p1;
+                final Point2D p2;
+                if (shape instanceof Rectangle rectangle) {
+                    p1 = rectangle.getTopLeft();
+                    p2 = rectangle.getBottomRight();
+                } else {
+                    final var box = (Box2D) shape;
+                    p1 = box.getLo();
+                    p2 = box.getHi();
+                }
+                final var x1 = p1.getInhomX();
+                final var y1 = p1.getInhomY();
+                final var x2 = p2.getInhomX();
+                final var y2 = p2.getInhomY();
+                geometries[index] = new double[]{Math.min(x1, x2), Math.min(y1, y2), Math.max(x1, x2),
+                        Math.max(y1, y2)};
+                System.arraycopy(geometries[index], 0, bounds, offset, BOUNDS_LENGTH);
+            }
+            case CIRCLE -> {
+                final var circle = (Circle) shape;
+                final var center = circle.getCenter();
+                final var cx = center.getInhomX();
+                final var cy = center.getInhomY();
+                final var radius = Math.abs(circle.getRadius());
+                geometries[index] = new double[]{cx, cy, radius};
+                bounds[offset] = cx - radius;
+                bounds[offset + 1] = cy - radius;
+                bounds[offset + 2] = cx + radius;
+                bounds[offset + 3] = cy + radius;
+            }
+            default -> {
+                final var vertices = shape instanceof Triangle2D triangle
+                        ? triangle.getVertices() : ((Polygon2D) shape).getVertices();
+                final var coordinates = new double[2 * vertices.size()];
+                bounds[offset] = bounds[offset + 1] = Double.MAX_VALUE;
+                bounds[offset + 2] = bounds[offset + 3] = -Double.MAX_VALUE;
+                var i = 0;
+                for (final var vertex : vertices) {
+                    final var vx = vertex.getInhomX();
+                    final var vy = vertex.getInhomY();
+                    coordinates[i++] = vx;
+                    coordinates[i++] = vy;
+                    bounds[offset] = Math.min(bounds[offset], vx);
+                    bounds[offset + 1] = Math.min(bounds[offset + 1], vy);
+                    bounds[offset + 2] = Math.max(bounds[offset + 2], vx);
+                    bounds[offset + 3] = Math.max(bounds[offset + 3], vy);
+                }
+                geometries[index] = coordinates;
+            }
+        }
+
+        for (var d = 0; d < BOUNDS_LENGTH; d++) {
+            cellRanges[offset + d] = cellIndex(bounds[offset + d]);
+        }
+        occupiedRange[0] = Math.min(occupiedRange[0], cellRanges[offset]);
+        occupiedRange[1] = Math.min(occupiedRange[1], cellRanges[offset + 1]);
+        occupiedRange[2] = Math.max(occupiedRange[2], cellRanges[offset + 2]);
+        occupiedRange[3] = Math.max(occupiedRange[3], cellRanges[offset + 3]);
+    }
+
+    /**
+     * Finds shapes of a cell overlapping a region.
+     * Shapes registered in several cells are only reported in the first cell shared by the shape and the
+     * region, so that no shape is reported twice.
+     *
+     * @param cell   cell to be checked.
+     * @param cx     horizontal index of cell.
+     * @param cy     vertical index of cell.
+     * @param minCx  minimum horizontal index of cells overlapped by region.
+     * @param minCy  minimum vertical index of cells overlapped by region.
+     * @param region region to be checked.
+     * @param list   list where positions of found shapes are stored.
+     * @param nret   number of shapes found so far.
+     * @param nmax   maximum number of shapes to search.
+     * @return number of found shapes.
+     */
+    private int locateOverlapping(final Cell cell, final int cx, final int cy, final int minCx, final int minCy,
+                                  final double[] region, final int[] list, final int nret, final int nmax) {
+        var result = nret;
+        for (var i = 0; i < cell.count; i++) {
+            final var index = cell.shapes[i];
+            final var offset = index * BOUNDS_LENGTH;
+            if (Math.max(cellRanges[offset], minCx) != cx || Math.max(cellRanges[offset + 1], minCy) != cy) {
+                continue;
+            }
+            if (overlaps(index, region)) {
+                list[result++] = index;
+                if (result == nmax) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the closest shape checking all indexed shapes.
+     *
+     * @param x        horizontal coordinate of point.
+     * @param y        vertical coordinate of point.
+     * @param best     position of closest shape found so far or -1 if none has been found.
+     * @param bestDist distance to closest shape found so far.
+     * @return position of closest shape.
+     */
+    private int nearestIndex(final double x, final double y, final int best, final double bestDist) {
+        var result = best;
+        var resultDist = bestDist;
+        for (var index = 0; index < shapes.size(); index++) {
+            if (shapes.get(index) == null || boundsDistance(index, x, y) >= resultDist) {
+                continue;
+            }
+            final var dist = distance(index, x, y);
+            if (dist < resultDist) {
+                resultDist = dist;
+                result = index;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indicates whether a shape contains a point.
+     *
+     * @param index position of shape.
+     * @param x     horizontal coordinate of point.
+     * @param y     vertical coordinate of point.
+     * @return true if shape contains point, false otherwise.
+     */
+    private boolean isInside(final int index, final double x, final double y) {
+        if (boundsDistance(index, x, y) > 0.0) {
+            return false;
+        }
+
+        final var g = geometries[index];
+        return switch (kinds[index]) {
+            case BOX -> true;
+            case CIRCLE -> sqr(x - g[0]) + sqr(y - g[1]) <= sqr(g[2]);
+            default -> isInsidePolygon(g, x, y) || polygonBoundaryDistance(g, x, y) == 0.0;
+        };
+    }
+
+    /**
+     * Indicates whether a shape overlaps a region.
+     *
+     * @param index  position of shape.
+     * @param region region to be checked.
+     * @return true if shape overlaps region, false otherwise.
+     */
+    private boolean overlaps(final int index, final double[] region) {
+        final var offset = index * BOUNDS_LENGTH;
+        if (bounds[offset] > region[2] || bounds[offset + 2] < region[0]
+                || bounds[offset + 1] > region[3] || bounds[offset + 3] < region[1]) {
+            return false;
+        }
+
+        final var g = geometries[index];
+        return switch (kinds[index]) {
+            case BOX -> true;
+            case CIRCLE -> sqr(boxDistance(region, g[0], g[1])) <= sqr(g[2]);
+            default -> polygonOverlaps(g, region);
+        };
+    }
+
+    /**
+     * Indicates whether a polygon overlaps a region.
+     * Polygon overlaps region if any vertex is inside region, if region is inside polygon or if any edge
+     * crosses region.
+     *
+     * @param vertices vertex coordinates of polygon.
+     * @param region   region to be checked.
+     * @return true if polygon overlaps region, false otherwise.
+     */
+    private static boolean polygonOverlaps(final double[] vertices, final double[] region) {
+        for (var i = 0; i < vertices.length; i += 2) {
+            if (boxDistance(region, vertices[i], vertices[i + 1]) == 0.0) {
+                return true;
+            }
+        }
+        if (isInsidePolygon(vertices, region[0], region[1])) {
+            return true;
+        }
+        for (int i = 0, j = vertices.length - 2; i < vertices.length; j = i, i += 2) {
+            if (segmentCrossesBox(region, vertices[j], vertices[j + 1], vertices[i], vertices[i + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets distance from a point to a shape, which is zero when the point is inside the shape.
+     *
+     * @param index position of shape.
+     * @param x     horizontal coordinate of point.
+     * @param y     vertical coordinate of point.
+     * @return distance to shape.
+     */
+    private double distance(final int index, final double x, final double y) {
+        final var g = geometries[index];
+        return switch (kinds[index]) {
+            case BOX -> boxDistance(g, x, y);
+            case CIRCLE -> Math.max(0.0, Math.sqrt(sqr(x - g[0]) + sqr(y - g[1])) - g[2]);
+            default -> isInsidePolygon(g, x, y) ? 0.0 : polygonBoundaryDistance(g, x, y);
+        };
+    }
+
+    /**
+     * Gets distance from a point to the bounds of a shape, which is zero when the point is inside the bounds.
+     *
+     * @param index position of shape.
+     * @param x     horizontal coordinate of point.
+     * @param y     vertical coordinate of point.
+     * @return distance to shape bounds.
+     */
+    private double boundsDistance(final int index, final double x, final double y) {
+        final var offset = index * BOUNDS_LENGTH;
+        final var dx = Math.max(0.0, Math.max(bounds[offset] - x, x - bounds[offset + 2]));
+        final var dy = Math.max(0.0, Math.max(bounds[offset + 1] - y, y - bounds[offset + 3]));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Registers a shape in a cell.
+     *
+     * @param cx    horizontal index of cell.
+     * @param cy    vertical index of cell.
+     * @param index position of shape.
+     */
+    private void addToCell(final int cx, final int cy, final int index) {
+        cells.getOrAdd(key(cx, cy)).add(index);
+    }
+
+    /**
+     * Unregisters a shape from a cell, removing the cell if it becomes empty.
+     *
+     * @param cx    horizontal index of cell.
+     * @param cy    vertical index of cell.
+     * @param index position of shape.
+     */
+    private void removeFromCell(final int cx, final int cy, final int index) {
+        final var key = key(cx, cy);
+        final var cell = cells.get(key);
+        if (cell != null && cell.remove(index) && cell.count == 0) {
+            cells.remove(key);
+        }
+    }
+
+    /**
+     * Ensures that arrays containing shape data can contain provided number of shapes.
+     *
+     * @param capacity required number of shapes.
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= kinds.length) {
+            return;
+        }
+        final var length = Math.max(capacity, 2 * kinds.length);
+        kinds = grow(kinds, length);
+        final var newGeometries = new double[length][];
+        System.arraycopy(geometries, 0, newGeometries, 0, geometries.length);
+        geometries = newGeometries;
+        final var newBounds = new double[length * BOUNDS_LENGTH];
+        System.arraycopy(bounds, 0, newBounds, 0, bounds.length);
+        bounds = newBounds;
+        cellRanges = grow(cellRanges, length * BOUNDS_LENGTH);
+    }
+
+    /**
+     * Checks that a shape is indexed at provided position.
+     *
+     * @param index position to be checked.
+     * @throws IllegalArgumentException if no shape is indexed at provided position.
+     */
+    private void checkIndex(final int index) {
+        if (!contains(index)) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Gets index of the cell containing provided coordinate.
+     *
+     * @param value coordinate.
+     * @return cell index.
+     */
+    private int cellIndex(final double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    /**
+     * Packs horizontal and vertical cell indices into a single key.
+     *
+     * @param cx horizontal cell index.
+     * @param cy vertical cell index.
+     * @return packed key.
+     */
+    private static long key(final int cx, final int cy) {
+        return ((long) cx << Integer.SIZE) | (cy & 0xffffffffL);
+    }
+
+    /**
+     * Indicates whether a cell belongs to a range of cells.
+     *
+     * @param range range of cells.
+     * @param cx    horizontal cell index.
+     * @param cy    vertical cell index.
+     * @return true if cell belongs to range, false otherwise.
+     */
+    private static boolean isInRange(final int[] range, final int cx, final int cy) {
+        return cx >= range[0] && cx <= range[2] && cy >= range[1] && cy <= range[3];
+    }
+
+    /**
+     * Gets distance from a point to a box, which is zero when the point is inside the box.
+     *
+     * @param box box containing minimum and maximum coordinates.
+     * @param x   horizontal coordinate of point.
+     * @param y   vertical coordinate of point.
+     * @return distance to box.
+     */
+    private static double boxDistance(final double[] box, final double x, final double y) {
+        final var dx = Math.max(0.0, Math.max(box[0] - x, x - box[2]));
+        final var dy = Math.max(0.0, Math.max(box[1] - y, y - box[3]));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Indicates whether a point is inside a polygon using the even-odd rule.
+     *
+     * @param vertices vertex coordinates of polygon.
+     * @param x        horizontal coordinate of point.
+     * @param y        vertical coordinate of point.
+     * @return true if point is inside polygon, false otherwise.
+     */
+    private static boolean isInsidePolygon(final double[] vertices, final double x, final double y) {
+        var inside = false;
+        for (int i = 0, j = vertices.length - 2; i < vertices.length; j = i, i += 2) {
+            final var xi = vertices[i];
+            final var yi = vertices[i + 1];
+            final var xj = vertices[j];
+            final var yj = vertices[j + 1];
+            if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Gets distance from a point to the boundary of a polygon.
+     *
+     * @param vertices vertex coordinates of polygon.
+     * @param x        horizontal coordinate of point.
+     * @param y        vertical coordinate of point.
+     * @return distance to polygon boundary.
+     */
+    private static double polygonBoundaryDistance(final double[] vertices, final double x, final double y) {
+        var result = Double.MAX_VALUE;
+        for (int i = 0, j = vertices.length - 2; i < vertices.length; j = i, i += 2) {
+            final var x1 = vertices[j];
+            final var y1 = vertices[j + 1];
+            final var dx = vertices[i] - x1;
+            final var dy = vertices[i + 1] - y1;
+            final var sqrLength = dx * dx + dy * dy;
+            var t = 0.0;
+            if (sqrLength > 0.0) {
+                t = Math.max(0.0, Math.min(1.0, ((x - x1) * dx + (y - y1) * dy) / sqrLength));
+            }
+            result = Math.min(result, sqr(x - x1 - t * dx) + sqr(y - y1 - t * dy));
+        }
+        return Math.sqrt(result);
+    }
+
+    /**
+     * Indicates whether a segment crosses a box, using Liang-Barsky clipping.
+     *
+     * @param box box containing minimum and maximum coordinates.
+     * @param x1  horizontal coordinate of segment start.
+     * @param y1  vertical coordinate of segment start.
+     * @param x2  horizontal coordinate of segment end.
+     * @param y2  vertical coordinate of segment end.
+     * @return true if segment crosses box, false otherwise.
+     */
+    private static boolean segmentCrossesBox(final double[] box, final double x1, final double y1,
+                                             final double x2, final double y2) {
+        final var dx = x2 - x1;
+        final var dy = y2 - y1;
+        final double[] p = {-dx, dx, -dy, dy};
+        final double[] q = {x1 - box[0], box[2] - x1, y1 - box[1], box[3] - y1};
+        var t0 = 0.0;
+        var t1 = 1.0;
+        for (var i = 0; i < p.length; i++) {
+            if (p[i] == 0.0) {
+                if (q[i] < 0.0) {
+                    return false;
+                }
+            } else {
+                final var t = q[i] / p[i];
+                if (p[i] < 0.0) {
+                    t0 = Math.max(t0, t);
+                } else {
+                    t1 = Math.min(t1, t);
+                }
+                if (t0 > t1) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Grows an array.
+     *
+     * @param array  array to grow.
+     * @param length new length.
+     * @return larger copy of provided array.
+     */
+    private static int[] grow(final int[] array, final int length) {
+        final var result = new int[length];
+        System.arraycopy(array, 0, result, 0, array.length);
+        return result;
+    }
+
+    /**
+     * Computes squared value.
+     *
+     * @param value value.
+     * @return squared value.
+     */
+    private static double sqr(final double value) {
+        return value * value;
+    }
+
+    /**
+     * Checks parameters of queries returning a list of shapes.
+     *
+     * @param list list where results are stored.
+     * @param nmax maximum number of results.
+     * @throws IllegalArgumentException if maximum number of results is zero or negative, or list is not large
+     *                                  enough.
+     */
+    private static void checkList(final int[] list, final int nmax) {
+        if (nmax <= 0) {
+            throw new IllegalArgumentException("number of points to search must be at least 1");
+        }
+        if (list.length < nmax) {
+            throw new IllegalArgumentException("result might not fit into provided list");
+        }
+    }
+
+    /**
+     * Grid cell containing positions of shapes whose bounds overlap it.
+     */
+    private static class Cell {
+
+        /**
+         * Positions of shapes.
+         */
+        private int[] shapes = new int[2];
+
+        /**
+         * Number of shapes.
+         */
+        private int count;
+
+        /**
+         * Adds a shape.
+         *
+         * @param index position of shape.
+         */
+        void add(final int index) {
+            if (count == shapes.length) {
+                shapes = grow(shapes, 2 * shapes.length);
+            }
+            shapes[count++] = index;
+        }
+
+        /**
+         * Removes a shape.
+         *
+         * @param index position of shape.
+         * @return true if shape was found and removed, false otherwise.
+         */
+        boolean remove(final int index) {
+            for (var i = 0; i < count; i++) {
+                if (shapes[i] == index) {
+                    shapes[i] = shapes[--count];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Table of non-empty cells indexed by their packed cell indices.
+     * Cells are stored using open addressing with linear probing, so that keys are kept as primitive values and
+     * looking up a cell does not allocate any object.
+     */
+    private static class CellTable {
+
+        /**
+         * Maximum ratio between number of cells and number of slots before the table grows.
+         */
+        private static final double MAX_LOAD_FACTOR = 0.5;
+
+        /**
+         * Keys of cells stored at each slot.
+         */
+        private long[] keys = new long[INITIAL_CAPACITY];
+
+        /**
+         * Cells stored at each slot or null for empty slots.
+         */
+        private Cell[] cells = new Cell[INITIAL_CAPACITY];
+
+        /**
+         * Number of stored cells.
+         */
+        private int size;
+
+        /**
+         * Gets number of stored cells.
+         *
+         * @return number of stored cells.
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Gets number of slots, which can be used to iterate over stored cells.
+         *
+         * @return number of slots.
+         */
+        int capacity() {
+            return cells.length;
+        }
+
+        /**
+         * Gets key of cell stored at provided slot.
+         *
+         * @param slot position of slot.
+         * @return key of cell. Undefined if slot is empty.
+         */
+        long keyAt(final int slot) {
+            return keys[slot];
+        }
+
+        /**
+         * Gets cell stored at provided slot.
+         *
+         * @param slot position of slot.
+         * @return cell or null if slot is empty.
+         */
+        Cell cellAt(final int slot) {
+            return cells[slot];
+        }
+
+        /**
+         * Gets cell having provided key.
+         *
+         * @param key packed cell indices.
+         * @return cell or null if there is no such cell.
+         */
+        Cell get(final long key) {
+            final var mask = cells.length - 1;
+            for (var slot = slot(key, mask); cells[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return cells[slot];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Gets cell having provided key, adding a new empty one if there is no such cell.
+         *
+         * @param key packed cell indices.
+         * @return cell.
+         */
+        Cell getOrAdd(final long key) {
+            final var existing = get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (size + 1 > MAX_LOAD_FACTOR * cells.length) {
+                resize(2 * cells.length);
+            }
+            final var cell = new Cell();
+            insert(key, cell);
+            size++;
+            return cell;
+        }
+
+        /**
+         * Removes cell having provided key, if any.
+         * Following cells of the same probe sequence are shifted back, so that no deletion markers are needed.
+         *
+         * @param key packed cell indices.
+         */
+        void remove(final long key) {
+            final var mask = cells.length - 1;
+            var slot = slot(key, mask);
+            while (cells[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (cells[slot] == null) {
+                return;
+            }
+
+            var next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                if (cells[next] == null) {
+                    break;
+                }
+                // cell at next slot is moved back unless its home slot lies cyclically within (slot, next]
+                final var home = slot(keys[next], mask);
+                final var reachable = slot <= next ? home > slot && home <= next : home > slot || home <= next;
+                if (!reachable) {
+                    keys[slot] = keys[next];
+                    cells[slot] = cells[next];
+                    slot = next;
+                }
+            }
+            cells[slot] = null;
+            size--;
+        }
+
+        /**
+         * Removes all cells.
+         */
+        void clear() {
+            Arrays.fill(cells, null);
+            size = 0;
+        }
+
+        /**
+         * Stores a cell into the first empty slot of the probe sequence of its key.
+         *
+         * @param key  packed cell indices.
+         * @param cell cell to be stored.
+         */
+        private void insert(final long key, final Cell cell) {
+            final var mask = cells.length - 1;
+            var slot = slot(key, mask);
+            while (cells[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            cells[slot] = cell;
+        }
+
+        /**
+         * Moves stored cells into a table having provided number of slots.
+         *
+         * @param capacity number of slots. Must be a power of two.
+         */
+        private void resize(final int capacity) {
+            final var oldKeys = keys;
+            final var oldCells = cells;
+            keys = new long[capacity];
+            cells = new Cell[capacity];
+            for (var i = 0; i < oldCells.length; i++) {
+                if (oldCells[i] != null) {
+                    insert(oldKeys[i], oldCells[i]);
+                }
+            }
+        }
+
+        /**
+         * Gets home slot of provided key. Keys are mixed so that neighbouring cells are spread over the table.
+         *
+         * @param key  packed cell indices.
+         * @param mask number of slots minus one.
+         * @return home slot.
+         */
+        private static int slot(final long key, final int mask) {
+            final var hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> Integer.SIZE)) & mask;
+        }
+    }
+}
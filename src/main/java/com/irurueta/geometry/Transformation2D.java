@@ -79,6 +79,10 @@ public abstract class Transformation2D {
      * @param outputPoints transformed points.
      */
     public void transformPoints(final List<Point2D> inputPoints, final List<Point2D> outputPoints) {
+        if (inputPoints instanceof PointCloud2D.PointList inputList && outputPoints instanceof PointCloud2D.PointList outputList) {
+            transform(inputList.getCloud(), outputList.getCloud());
+            return;
+        }
 
         outputPoints.clear();
         for (final var point : inputPoints) {
@@ -93,11 +97,155 @@ public abstract class Transformation2D {
      * @param points points to be transformed and overwritten.
      */
     public void transformAndOverwritePoints(final List<Point2D> points) {
+        if (points instanceof PointCloud2D.PointList list) {
+            transform(list.getCloud());
+            return;
+        }
+
         for (final var point : points) {
             transform(point, point);
         }
     }
 
+    /**
+     * Transforms provided point cloud using this transformation and returns a
+     * new one.
+     * Weights and quality scores of points are preserved.
+     *
+     * @param inputCloud point cloud to be transformed.
+     * @return a new transformed point cloud.
+     */
+    public PointCloud2D transformAndReturnNew(final PointCloud2D inputCloud) {
+        final var outputCloud = new PointCloud2D(inputCloud.size());
+        transform(inputCloud, outputCloud);
+        return outputCloud;
+    }
+
+    /**
+     * Transforms and updates all points of provided point cloud.
+     *
+     * @param cloud point cloud to be transformed and updated.
+     */
+    public void transform(final PointCloud2D cloud) {
+        transform(cloud, cloud);
+    }
+
+    /**
+     * Transforms provided point cloud using this transformation and stores the
+     * result into provided output point cloud.
+     * Any previous content of output point cloud is replaced, and weights and
+     * quality scores of points are preserved.
+     * Coordinates are processed directly on the arrays of the point clouds,
+     * hence no point instance is created.
+     *
+     * @param inputCloud  point cloud to be transformed.
+     * @param outputCloud instance where transformed points will be stored.
+     */
+    public void transform(final PointCloud2D inputCloud, final PointCloud2D outputCloud) {
+        outputCloud.copyFrom(inputCloud);
+
+        // matrix buffer is stored in column order
+        final var b = asMatrix().getBuffer();
+        final var n = outputCloud.size();
+        final var x = outputCloud.getX();
+        final var y = outputCloud.getY();
+        for (var i = 0; i < n; i++) {
+            final var px = x[i];
+            final var py = y[i];
+
+            final var w = b[2] * px + b[5] * py + b[8];
+            x[i] = (b[0] * px + b[3] * py + b[6]) / w;
+            y[i] = (b[1] * px + b[4] * py + b[7]) / w;
+        }
+    }
+
+    /**
+     * Transforms a packed array of points expressed in inhomogeneous
+     * coordinates and stores the result into provided destination array.
+     * Each point is stored as 2 consecutive values (x, y) and consecutive
+     * points are separated by provided stride, so that point i is located at
+     * position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * This method does not create any point instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 2.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    public void transform(final double[] src, final int srcOffset, final double[] dst, final int dstOffset,
+                          final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point2D.POINT2D_INHOMOGENEOUS_COORDINATES_LENGTH);
+
+        // matrix buffer is stored in column order
+        final var b = asMatrix().getBuffer();
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+
+            final var w = b[2] * x + b[5] * y + b[8];
+            dst[dstPos] = (b[0] * x + b[3] * y + b[6]) / w;
+            dst[dstPos + 1] = (b[1] * x + b[4] * y + b[7]) / w;
+
+            srcPos += stride;
+            dstPos += stride;
+        }
+    }
+
+    /**
+     * Transforms a packed array of points expressed in homogeneous coordinates
+     * and stores the result into provided destination array.
+     * Each point is stored as 3 consecutive values (x, y, w) and consecutive
+     * points are separated by provided stride, so that point i is located at
+     * position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * This method does not create any point instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 3.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    public void transformHomogeneous(final double[] src, final int srcOffset, final double[] dst,
+                                     final int dstOffset, final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point2D.POINT2D_HOMOGENEOUS_COORDINATES_LENGTH);
+
+        // matrix buffer is stored in column order
+        final var b = asMatrix().getBuffer();
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+            final var w = src[srcPos + 2];
+
+            dst[dstPos] = b[0] * x + b[3] * y + b[6] * w;
+            dst[dstPos + 1] = b[1] * x + b[4] * y + b[7] * w;
+            dst[dstPos + 2] = b[2] * x + b[5] * y + b[8] * w;
+
+            srcPos += stride;
+            dstPos += stride;
+        }
+    }
+
     /**
      * Transforms a conic using this transformation and returns a new one.
      *
@@ -369,4 +517,34 @@ public abstract class Transformation2D {
      *                                  matrix.
      */
     public abstract void asMatrix(final Matrix m);
+
+    /**
+     * Checks arguments of methods transforming packed arrays of points.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     * @param coords    number of coordinates of each point.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is smaller than number of coordinates or if arrays are not
+     *                                  large enough.
+     */
+    protected static void checkPackedPointsArguments(
+            final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int count,
+            final int stride, final int coords) {
+        if (count < 0 || srcOffset < 0 || dstOffset < 0 || stride < coords) {
+            throw new IllegalArgumentException();
+        }
+        if (count == 0) {
+            return;
+        }
+
+        final var length = (long) (count - 1) * stride + coords;
+        if (srcOffset + length > src.length || dstOffset + length > dst.length) {
+            throw new IllegalArgumentException();
+        }
+    }
 }
@@ -86,6 +86,11 @@ public abstract class Transformation3D {
      * @param outputPoints transformed points.
      */
     public void transformPoints(final List<Point3D> inputPoints, final List<Point3D> outputPoints) {
+        if (inputPoints instanceof PointCloud3D.PointList inputList && outputPoints instanceof PointCloud3D.PointList outputList) {
+            transform(inputList.getCloud(), outputList.getCloud());
+            return;
+        }
+
         outputPoints.clear();
         for (final var point : inputPoints) {
             outputPoints.add(transformAndReturnNew(point));
@@ -99,11 +104,214 @@ public abstract class Transformation3D {
      * @param points points to be transformed and overwritten.
      */
     public void transformAndOverwritePoints(final List<Point3D> points) {
+        if (points instanceof PointCloud3D.PointList list) {
+            transform(list.getCloud());
+            return;
+        }
+
         for (final var point : points) {
             transform(point, point);
         }
     }
 
+    /**
+     * Transforms provided point cloud using this transformation and returns a
+     * new one.
+     * Weights and quality scores of points are preserved.
+     *
+     * @param inputCloud point cloud to be transformed.
+     * @return a new transformed point cloud.
+     */
+    public PointCloud3D transformAndReturnNew(final PointCloud3D inputCloud) {
+        final var outputCloud = new PointCloud3D(inputCloud.size());
+        transform(inputCloud, outputCloud);
+        return outputCloud;
+    }
+
+    /**
+     * Transforms and updates all points of provided point cloud.
+     *
+     * @param cloud point cloud to be transformed and updated.
+     */
+    public void transform(final PointCloud3D cloud) {
+        transform(cloud, cloud);
+    }
+
+    /**
+     * Transforms provided point cloud using this transformation and stores the
+     * result into provided output point cloud.
+     * Any previous content of output point cloud is replaced, and weights and
+     * quality scores of points are preserved.
+     * Coordinates are processed directly on the arrays of the point clouds,
+     * hence no point instance is created.
+     *
+     * @param inputCloud  point cloud to be transformed.
+     * @param outputCloud instance where transformed points will be stored.
+     */
+    public void transform(final PointCloud3D inputCloud, final PointCloud3D outputCloud) {
+        outputCloud.copyFrom(inputCloud);
+
+        // matrix buffer is stored in column order
+        final var b = asMatrix().getBuffer();
+        final var n = outputCloud.size();
+        final var x = outputCloud.getX();
+        final var y = outputCloud.getY();
+        final var z = outputCloud.getZ();
+        for (var i = 0; i < n; i++) {
+            final var px = x[i];
+            final var py = y[i];
+            final var pz = z[i];
+
+            final var w = b[3] * px + b[7] * py + b[11] * pz + b[15];
+            x[i] = (b[0] * px + b[4] * py + b[8] * pz + b[12]) / w;
+            y[i] = (b[1] * px + b[5] * py + b[9] * pz + b[13]) / w;
+            z[i] = (b[2] * px + b[6] * py + b[10] * pz + b[14]) / w;
+        }
+    }
+
+    /**
+     * Transforms and updates all points of provided point buffer.
+     *
+     * @param points point buffer to be transformed and updated.
+     * @throws java.nio.ReadOnlyBufferException if point buffer is read-only.
+     */
+    public void transform(final PointBuffer3D points) {
+        transform(points, points);
+    }
+
+    /**
+     * Transforms all points of provided point buffer using this transformation
+     * and stores the result into provided output point buffer.
+     * Points are read and written directly on the buffers, so that points
+     * stored off-heap or in memory mapped files are never copied into the heap.
+     * Both buffers can be the same instance, in which case points are
+     * transformed in place.
+     *
+     * @param inputPoints  point buffer to be transformed.
+     * @param outputPoints point buffer where transformed points will be stored.
+     * @throws IllegalArgumentException         if both buffers do not have the
+     *                                          same size.
+     * @throws java.nio.ReadOnlyBufferException if output point buffer is
+     *                                          read-only.
+     */
+    public void transform(final PointBuffer3D inputPoints, final PointBuffer3D outputPoints) {
+        if (inputPoints.size() != outputPoints.size()) {
+            throw new IllegalArgumentException();
+        }
+
+        // matrix buffer is stored in column order
+        final var b = asMatrix().getBuffer();
+
+        // both buffers are split into chunks of the same size
+        final var chunkCount = inputPoints.getChunkCount();
+        for (var c = 0; c < chunkCount; c++) {
+            final var src = inputPoints.getChunkAt(c);
+            final var dst = outputPoints.getChunkAt(c);
+            final var length = src.limit();
+            for (var pos = 0; pos < length; pos += Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH) {
+                final var x = src.get(pos);
+                final var y = src.get(pos + 1);
+                final var z = src.get(pos + 2);
+
+                final var w = b[3] * x + b[7] * y + b[11] * z + b[15];
+                dst.put(pos, (b[0] * x + b[4] * y + b[8] * z + b[12]) / w);
+                dst.put(pos + 1, (b[1] * x + b[5] * y + b[9] * z + b[13]) / w);
+                dst.put(pos + 2, (b[2] * x + b[6] * y + b[10] * z + b[14]) / w);
+            }
+        }
+    }
+
+    /**
+     * Transforms a packed array of points expressed in inhomogeneous
+     * coordinates and stores the result into provided destination array.
+     * Each point is stored as 3 consecutive values (x, y, z) and consecutive
+     * points are separated by provided stride, so that point i is located at
+     * position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * This method does not create any point instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 3.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    public void transform(final double[] src, final int srcOffset, final double[] dst, final int dstOffset,
+                          final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH);
+
+        // matrix buffer is stored in column order
+        final var b = asMatrix().getBuffer();
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+            final var z = src[srcPos + 2];
+
+            final var w = b[3] * x + b[7] * y + b[11] * z + b[15];
+            dst[dstPos] = (b[0] * x + b[4] * y + b[8] * z + b[12]) / w;
+            dst[dstPos + 1] = (b[1] * x + b[5] * y + b[9] * z + b[13]) / w;
+            dst[dstPos + 2] = (b[2] * x + b[6] * y + b[10] * z + b[14]) / w;
+
+            srcPos += stride;
+            dstPos += stride;
+        }
+    }
+
+    /**
+     * Transforms a packed array of points expressed in homogeneous coordinates
+     * and stores the result into provided destination array.
+     * Each point is stored as 4 consecutive values (x, y, z, w) and
+     * consecutive points are separated by provided stride, so that point i is
+     * located at position offset + i * stride.
+     * Source and destination arrays can be the same instance when both offsets
+     * are equal, in which case points are transformed in place.
+     * This method does not create any point instance.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     *                  Must be at least 4.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is too small or if arrays are not large enough.
+     */
+    public void transformHomogeneous(final double[] src, final int srcOffset, final double[] dst,
+                                     final int dstOffset, final int count, final int stride) {
+        checkPackedPointsArguments(src, srcOffset, dst, dstOffset, count, stride,
+                Point3D.POINT3D_HOMOGENEOUS_COORDINATES_LENGTH);
+
+        // matrix buffer is stored in column order
+        final var b = asMatrix().getBuffer();
+
+        var srcPos = srcOffset;
+        var dstPos = dstOffset;
+        for (var i = 0; i < count; i++) {
+            final var x = src[srcPos];
+            final var y = src[srcPos + 1];
+            final var z = src[srcPos + 2];
+            final var w = src[srcPos + 3];
+
+            dst[dstPos] = b[0] * x + b[4] * y + b[8] * z + b[12] * w;
+            dst[dstPos + 1] = b[1] * x + b[5] * y + b[9] * z + b[13] * w;
+            dst[dstPos + 2] = b[2] * x + b[6] * y + b[10] * z + b[14] * w;
+            dst[dstPos + 3] = b[3] * x + b[7] * y + b[11] * z + b[15] * w;
+
+            srcPos += stride;
+            dstPos += stride;
+        }
+    }
+
     /**
      * Transforms a quadric using this transformation and returns a new one.
      *
@@ -527,4 +735,34 @@ public abstract class Transformation3D {
      */
     public abstract void transform(final PinholeCamera inputCamera, final PinholeCamera outputCamera)
             throws AlgebraException;
+
+    /**
+     * Checks arguments of methods transforming packed arrays of points.
+     *
+     * @param src       array containing points to be transformed.
+     * @param srcOffset position of first point within source array.
+     * @param dst       array where transformed points will be stored.
+     * @param dstOffset position of first point within destination array.
+     * @param count     number of points to be transformed.
+     * @param stride    distance between consecutive points within both arrays.
+     * @param coords    number of coordinates of each point.
+     * @throws IllegalArgumentException if count or offsets are negative, if
+     *                                  stride is smaller than number of coordinates or if arrays are not
+     *                                  large enough.
+     */
+    protected static void checkPackedPointsArguments(
+            final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int count,
+            final int stride, final int coords) {
+        if (count < 0 || srcOffset < 0 || dstOffset < 0 || stride < coords) {
+            throw new IllegalArgumentException();
+        }
+        if (count == 0) {
+            return;
+        }
+
+        final var length = (long) (count - 1) * stride + coords;
+        if (srcOffset + length > src.length || dstOffset + length > dst.length) {
+            throw new IllegalArgumentException();
+        }
+    }
 }
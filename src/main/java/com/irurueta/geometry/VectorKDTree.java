@@ -0,0 +1,1059 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.irurueta.geometry;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Implementation of a k-D tree storing vectors of an arbitrary number of dimensions, such as pose vectors or
+ * feature descriptors, as primitive arrays.
+ * This tree is built in the same way as {@link KDTree} and {@link FlatKDTree}, but it is not tied to
+ * {@link Point} instances, and vectors are provided as {@code double} or {@code float} arrays.
+ * Vectors provided as {@code float} arrays are stored in single precision, which halves the memory required by
+ * large sets of descriptors, while distances are always computed in double precision.
+ * Vectors are kept in their input order, and nodes of the tree are stored in flat arrays indexed by node position.
+ * Searches visit boxes in order of increasing distance to the query vector, and distances to vectors are
+ * accumulated one dimension at a time, discarding a vector as soon as its partial distance exceeds the current
+ * search bound, which saves most of the work for high dimensional vectors.
+ * Searches can optionally be approximate, by allowing a relative error on returned distances, or by bounding
+ * the number of visited leaf boxes.
+ */
+public class VectorKDTree {
+
+    /**
+     * Minimum number of allowed vectors to be stored in the tree.
+     */
+    public static final int MIN_PTS = KDTree.MIN_PTS;
+
+    /**
+     * A large value.
+     */
+    private static final double BIG = KDTree.BIG;
+
+    /**
+     * Number of tasks that can be queued.
+     */
+    private static final int N_TASKS = 50;
+
+    /**
+     * Number of dimensions of vectors.
+     */
+    private final int dim;
+
+    /**
+     * Number of vectors.
+     */
+    private final int nPts;
+
+    /**
+     * Number of boxes.
+     */
+    private final int nBoxes;
+
+    /**
+     * Coordinates of vectors in input order. Coordinate of dimension d for vector j is stored at position
+     * j * dim + d.
+     */
+    private final double[] data;
+
+    /**
+     * Coordinates of vectors in input order when they are stored in single precision, or null if they are stored
+     * in double precision. Coordinate of dimension d for vector j is stored at position j * dim + d.
+     */
+    private final float[] floatData;
+
+    /**
+     * Low coordinate values of each box. Value of dimension d for box k is stored at position k * dim + d.
+     */
+    private final double[] boxLo;
+
+    /**
+     * High coordinate values of each box. Value of dimension d for box k is stored at position k * dim + d.
+     */
+    private final double[] boxHi;
+
+    /**
+     * Position of mother node of each box.
+     */
+    private final int[] boxMom;
+
+    /**
+     * Position of 1st daughter node of each box or zero for leaf boxes.
+     */
+    private final int[] boxDau1;
+
+    /**
+     * Position of 2nd daughter node of each box or zero for leaf boxes.
+     */
+    private final int[] boxDau2;
+
+    /**
+     * Low index (in tree order) of vectors inside each box.
+     */
+    private final int[] boxPtLo;
+
+    /**
+     * High index (in tree order) of vectors inside each box.
+     */
+    private final int[] boxPtHi;
+
+    /**
+     * Dimension used to split each box.
+     */
+    private final int[] boxDim;
+
+    /**
+     * Indices of vectors going from tree order to input order.
+     */
+    private final int[] ptIndx;
+
+    /**
+     * Constructor.
+     *
+     * @param vectors vectors to store in the tree. All vectors must have the same length.
+     * @throws IllegalArgumentException if number of vectors is less than {@link #MIN_PTS}, or if vectors are
+     *                                  empty or do not have the same length.
+     */
+    public VectorKDTree(final double[][] vectors) {
+        this(toData(vectors), vectors.length, vectors.length > 0 ? vectors[0].length : 0, null, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param vectors vectors to store in the tree. All vectors must have the same length.
+     * @throws IllegalArgumentException if number of vectors is less than {@link #MIN_PTS}, or if vectors are
+     *                                  empty or do not have the same length.
+     */
+    public VectorKDTree(final float[][] vectors) {
+        this(toData(vectors), vectors.length, vectors.length > 0 ? vectors[0].length : 0, null, null);
+    }
+
+    /**
+     * Constructor.
+     * Vectors are stored in single precision.
+     *
+     * @param data     coordinates of vectors stored consecutively for each vector, so that coordinate of dimension
+     *                 d for vector j is at position j * dim + d. Provided array is copied.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @throws IllegalArgumentException if number of vectors is less than {@link #MIN_PTS}, if number of
+     *                                  dimensions is less than 1, or if length of data does not match number of
+     *                                  vectors and dimensions.
+     */
+    public VectorKDTree(final float[] data, final int nVectors, final int dim) {
+        this(data, nVectors, dim, null);
+    }
+
+    /**
+     * Constructor.
+     * Vectors are stored in single precision. If a pool is provided, independent subtrees are built concurrently
+     * on it. The resulting tree is identical to the one built sequentially.
+     *
+     * @param data     coordinates of vectors stored consecutively for each vector, so that coordinate of dimension
+     *                 d for vector j is at position j * dim + d. Provided array is copied.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @param pool     pool where tree is built or null to build it sequentially.
+     * @throws IllegalArgumentException if number of vectors is less than {@link #MIN_PTS}, if number of
+     *                                  dimensions is less than 1, or if length of data does not match number of
+     *                                  vectors and dimensions.
+     */
+    public VectorKDTree(final float[] data, final int nVectors, final int dim, final ForkJoinPool pool) {
+        this(checkData(data, nVectors, dim).clone(), nVectors, dim, null, pool);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param data     coordinates of vectors stored consecutively for each vector, so that coordinate of dimension
+     *                 d for vector j is at position j * dim + d. Provided array is copied.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @throws IllegalArgumentException if number of vectors is less than {@link #MIN_PTS}, if number of
+     *                                  dimensions is less than 1, or if length of data does not match number of
+     *                                  vectors and dimensions.
+     */
+    public VectorKDTree(final double[] data, final int nVectors, final int dim) {
+        this(data, nVectors, dim, null);
+    }
+
+    /**
+     * Constructor.
+     * If a pool is provided, independent subtrees are built concurrently on it. The resulting tree is
+     * identical to the one built sequentially.
+     *
+     * @param data     coordinates of vectors stored consecutively for each vector, so that coordinate of dimension
+     *                 d for vector j is at position j * dim + d. Provided array is copied.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @param pool     pool where tree is built or null to build it sequentially.
+     * @throws IllegalArgumentException if number of vectors is less than {@link #MIN_PTS}, if number of
+     *                                  dimensions is less than 1, or if length of data does not match number of
+     *                                  vectors and dimensions.
+     */
+    public VectorKDTree(final double[] data, final int nVectors, final int dim, final ForkJoinPool pool) {
+        this(checkData(data, nVectors, dim).clone(), nVectors, dim, null, pool);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param data     coordinates of vectors stored consecutively for each vector. Provided array is kept as the
+     *                 storage of the tree, and it is not modified.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @param selector selects split dimension of each box or null to cycle through dimensions.
+     * @param pool     pool where tree is built or null to build it sequentially.
+     * @throws IllegalArgumentException if number of vectors is less than {@link #MIN_PTS}, if number of
+     *                                  dimensions is less than 1, or if length of data does not match number of
+     *                                  vectors and dimensions.
+     */
+    VectorKDTree(final double[] data, final int nVectors, final int dim,
+                 final KDTreeBuilder.SplitDimensionSelector selector, final ForkJoinPool pool) {
+        this(data, null, toColumns(checkData(data, nVectors, dim), nVectors, dim), nVectors, dim, selector, pool);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param data     coordinates of vectors stored consecutively for each vector. Provided array is kept as the
+     *                 storage of the tree, and it is not modified.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @param selector selects split dimension of each box or null to cycle through dimensions.
+     * @param pool     pool where tree is built or null to build it sequentially.
+     * @throws IllegalArgumentException if number of vectors is less than {@link #MIN_PTS}, if number of
+     *                                  dimensions is less than 1, or if length of data does not match number of
+     *                                  vectors and dimensions.
+     */
+    VectorKDTree(final float[] data, final int nVectors, final int dim,
+                 final KDTreeBuilder.SplitDimensionSelector selector, final ForkJoinPool pool) {
+        this(null, data, toColumns(checkData(data, nVectors, dim), nVectors, dim), nVectors, dim, selector, pool);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param data      coordinates of vectors stored in double precision or null.
+     * @param floatData coordinates of vectors stored in single precision or null.
+     * @param columns   coordinate columns used to build the tree.
+     * @param nVectors  number of vectors.
+     * @param dim       number of dimensions of vectors.
+     * @param selector  selects split dimension of each box or null to cycle through dimensions.
+     * @param pool      pool where tree is built or null to build it sequentially.
+     */
+    private VectorKDTree(final double[] data, final float[] floatData, final double[] columns, final int nVectors,
+                         final int dim, final KDTreeBuilder.SplitDimensionSelector selector,
+                         final ForkJoinPool pool) {
+        this.data = data;
+        this.floatData = floatData;
+        this.nPts = nVectors;
+        this.dim = dim;
+
+        final var builder = new KDTreeBuilder(columns, nVectors, dim, selector);
+        if (pool != null) {
+            builder.build(pool, KDTreeBuilder.DEFAULT_PARALLEL_THRESHOLD);
+        } else {
+            builder.build();
+        }
+        nBoxes = builder.nBoxes;
+        boxLo = builder.boxLo;
+        boxHi = builder.boxHi;
+        boxMom = builder.boxMom;
+        boxDau1 = builder.boxDau1;
+        boxDau2 = builder.boxDau2;
+        boxPtLo = builder.boxPtLo;
+        boxPtHi = builder.boxPtHi;
+        boxDim = builder.boxDim;
+        ptIndx = builder.ptIndx;
+    }
+
+    /**
+     * Gets number of dimensions of stored vectors.
+     *
+     * @return number of dimensions.
+     */
+    public int getDimensions() {
+        return dim;
+    }
+
+    /**
+     * Gets number of stored vectors.
+     *
+     * @return number of vectors.
+     */
+    public int getNumberOfVectors() {
+        return nPts;
+    }
+
+    /**
+     * Gets number of boxes of the tree.
+     *
+     * @return number of boxes.
+     */
+    public int getNumberOfBoxes() {
+        return nBoxes;
+    }
+
+    /**
+     * Indicates whether vectors are stored in single precision.
+     *
+     * @return true if vectors are stored in single precision, false if they are stored in double precision.
+     */
+    public boolean isSinglePrecision() {
+        return floatData != null;
+    }
+
+    /**
+     * Gets coordinate of a stored vector.
+     *
+     * @param index     position of vector in input order.
+     * @param dimension dimension of coordinate.
+     * @return coordinate value.
+     */
+    public double getCoordinate(final int index, final int dimension) {
+        return floatData != null ? floatData[index * dim + dimension] : data[index * dim + dimension];
+    }
+
+    /**
+     * Gets a copy of a stored vector.
+     *
+     * @param index position of vector in input order.
+     * @return copy of vector coordinates.
+     */
+    public double[] getVector(final int index) {
+        final var result = new double[dim];
+        if (floatData != null) {
+            for (int j = 0, offset = index * dim; j < dim; j++, offset++) {
+                result[j] = floatData[offset];
+            }
+        } else {
+            System.arraycopy(data, index * dim, result, 0, dim);
+        }
+        return result;
+    }
+
+    /**
+     * Gets low coordinate value of a box.
+     *
+     * @param box       position of box.
+     * @param dimension dimension of coordinate.
+     * @return low coordinate value.
+     */
+    public double getBoxLo(final int box, final int dimension) {
+        return boxLo[box * dim + dimension];
+    }
+
+    /**
+     * Gets high coordinate value of a box.
+     *
+     * @param box       position of box.
+     * @param dimension dimension of coordinate.
+     * @return high coordinate value.
+     */
+    public double getBoxHi(final int box, final int dimension) {
+        return boxHi[box * dim + dimension];
+    }
+
+    /**
+     * Gets position of mother node of a box.
+     *
+     * @param box position of box.
+     * @return position of mother node.
+     */
+    public int getBoxMom(final int box) {
+        return boxMom[box];
+    }
+
+    /**
+     * Gets position of 1st daughter node of a box.
+     *
+     * @param box position of box.
+     * @return position of 1st daughter or zero if box is a leaf.
+     */
+    public int getBoxDau1(final int box) {
+        return boxDau1[box];
+    }
+
+    /**
+     * Gets position of 2nd daughter node of a box.
+     *
+     * @param box position of box.
+     * @return position of 2nd daughter or zero if box is a leaf.
+     */
+    public int getBoxDau2(final int box) {
+        return boxDau2[box];
+    }
+
+    /**
+     * Gets low index (in tree order) of vectors inside a box.
+     *
+     * @param box position of box.
+     * @return low index of vectors inside box.
+     */
+    public int getBoxPtLo(final int box) {
+        return boxPtLo[box];
+    }
+
+    /**
+     * Gets high index (in tree order) of vectors inside a box.
+     *
+     * @param box position of box.
+     * @return high index of vectors inside box.
+     */
+    public int getBoxPtHi(final int box) {
+        return boxPtHi[box];
+    }
+
+    /**
+     * Gets dimension used to split a box.
+     *
+     * @param box position of box.
+     * @return split dimension. Value is meaningless for leaf boxes.
+     */
+    public int getBoxDimension(final int box) {
+        return boxDim[box];
+    }
+
+    /**
+     * Gets position in input order of vector at provided position in tree order.
+     *
+     * @param treeIndex position in tree order.
+     * @return position in input order.
+     */
+    public int getVectorIndex(final int treeIndex) {
+        return ptIndx[treeIndex];
+    }
+
+    /**
+     * Gets distance between two stored vectors.
+     *
+     * @param jpt position of 1st vector in input order.
+     * @param kpt position of 2nd vector in input order.
+     * @return distance between vectors.
+     */
+    public double distance(final int jpt, final int kpt) {
+        if (jpt == kpt) {
+            return 0.0;
+        }
+        var d = 0.0;
+        for (int j = 0, a = jpt * dim, b = kpt * dim; j < dim; j++, a++, b++) {
+            final var diff = floatData != null ? (double) floatData[a] - floatData[b] : data[a] - data[b];
+            d += diff * diff;
+        }
+        return Math.sqrt(d);
+    }
+
+    /**
+     * Gets position of smallest box containing provided vector.
+     *
+     * @param vector vector to locate its containing box. Does not need to be stored in the tree.
+     * @return position of smallest box containing the vector.
+     * @throws IllegalArgumentException if length of vector does not match tree dimensions.
+     */
+    public int locateBoxIndex(final double[] vector) {
+        checkVector(vector);
+
+        var nb = 0;
+        while (boxDau1[nb] != 0) {
+            final var d1 = boxDau1[nb];
+            final var jdim = boxDim[nb];
+            if (vector[jdim] <= boxHi[d1 * dim + jdim]) {
+                nb = d1;
+            } else {
+                nb = boxDau2[nb];
+            }
+        }
+        return nb;
+    }
+
+    /**
+     * Index in input order of closest vector to provided one.
+     *
+     * @param vector vector to check against. Does not need to be stored in the tree.
+     * @return position of closest vector.
+     * @throws IllegalArgumentException if length of vector does not match tree dimensions.
+     */
+    public int nearestIndex(final double[] vector) {
+        return nearestIndex(vector, 0.0, KDTree.UNLIMITED_CHECKS);
+    }
+
+    /**
+     * Index in input order of closest vector to provided one.
+     *
+     * @param vector vector to check against. Does not need to be stored in the tree.
+     * @return position of closest vector.
+     * @throws IllegalArgumentException if length of vector does not match tree dimensions.
+     */
+    public int nearestIndex(final float[] vector) {
+        return nearestIndex(toDouble(vector));
+    }
+
+    /**
+     * Index in input order of approximately closest vector to provided one.
+     * Distance to returned vector is at most (1 + epsilon) times the exact nearest distance when the number of
+     * checks is not bounded.
+     *
+     * @param vector    vector to check against. Does not need to be stored in the tree.
+     * @param epsilon   allowed relative error of distance to returned vector. Zero means exact search.
+     * @param maxChecks maximum number of leaf boxes to visit, or {@link KDTree#UNLIMITED_CHECKS}.
+     * @return position of approximately closest vector.
+     * @throws IllegalArgumentException if length of vector does not match tree dimensions, if epsilon is
+     *                                  negative or if maximum number of checks is less than 1.
+     */
+    public int nearestIndex(final double[] vector, final double epsilon, final int maxChecks) {
+        final var nn = new int[1];
+        final var dn = new double[1];
+        nNearest(vector, nn, dn, 1, epsilon, maxChecks);
+        return nn[0];
+    }
+
+    /**
+     * Gets n nearest vectors to a given one.
+     * Results are sorted by increasing distance.
+     *
+     * @param vector vector to search nearest ones for. Does not need to be stored in the tree.
+     * @param nn     array where positions in input order of nearest vectors are stored.
+     * @param dn     array where distances to nearest vectors are stored.
+     * @param n      number of nearest vectors to find.
+     * @throws IllegalArgumentException if number of nearest vectors is invalid, if length of arrays containing
+     *                                  results are not valid either, or if length of vector does not match tree
+     *                                  dimensions.
+     */
+    public void nNearest(final double[] vector, final int[] nn, final double[] dn, final int n) {
+        nNearest(vector, nn, dn, n, 0.0, KDTree.UNLIMITED_CHECKS);
+    }
+
+    /**
+     * Gets n nearest vectors to a given one.
+     * Results are sorted by increasing distance.
+     *
+     * @param vector vector to search nearest ones for. Does not need to be stored in the tree.
+     * @param nn     array where positions in input order of nearest vectors are stored.
+     * @param dn     array where distances to nearest vectors are stored.
+     * @param n      number of nearest vectors to find.
+     * @throws IllegalArgumentException if number of nearest vectors is invalid, if length of arrays containing
+     *                                  results are not valid either, or if length of vector does not match tree
+     *                                  dimensions.
+     */
+    public void nNearest(final float[] vector, final int[] nn, final double[] dn, final int n) {
+        nNearest(toDouble(vector), nn, dn, n);
+    }
+
+    /**
+     * Gets n approximately nearest vectors to a given one.
+     * Boxes are visited in order of increasing distance to provided vector. Search stops once remaining boxes are
+     * farther than the n-th nearest distance found so far divided by (1 + epsilon), or once maxChecks leaf boxes
+     * have been visited. Results are sorted by increasing distance.
+     *
+     * @param vector    vector to search nearest ones for. Does not need to be stored in the tree.
+     * @param nn        array where positions in input order of nearest vectors are stored.
+     * @param dn        array where distances to nearest vectors are stored.
+     * @param n         number of nearest vectors to find.
+     * @param epsilon   allowed relative error of distances to returned vectors. Zero means exact search.
+     * @param maxChecks maximum number of leaf boxes to visit, or {@link KDTree#UNLIMITED_CHECKS}.
+     * @throws IllegalArgumentException if number of nearest vectors is invalid, if length of arrays containing
+     *                                  results are not valid either, if length of vector does not match tree
+     *                                  dimensions, if epsilon is negative or if maximum number of checks is less
+     *                                  than 1.
+     */
+    public void nNearest(final double[] vector, final int[] nn, final double[] dn, final int n,
+                         final double epsilon, final int maxChecks) {
+        checkNearest(vector, nn, dn, n, nPts);
+        KDTree.checkApproximateParameters(epsilon, maxChecks);
+        if (n == 0) {
+            return;
+        }
+
+        final var heap = new double[n];
+        final var ndx = new int[n];
+        for (var i = 0; i < n; i++) {
+            heap[i] = BIG;
+        }
+
+        // squared distances are compared, hence the squared factor
+        final var factor = (1.0 + epsilon) * (1.0 + epsilon);
+        var kp = locateBoxIndex(vector);
+        while (boxPtHi[kp] - boxPtLo[kp] + 1 < n) {
+            kp = boxMom[kp];
+        }
+        scanBox(kp, vector, heap, ndx, n, false);
+
+        // visit other boxes in best-first order
+        var checks = 1;
+        final var queue = new BoxQueue();
+        queue.push(0, 0.0);
+        while (!queue.isEmpty() && checks < maxChecks && queue.peekDistance() * factor < heap[0]) {
+            final var k = queue.pop();
+            if (k == kp) {
+                continue;
+            }
+            if (boxDau1[k] != 0) {
+                pushBox(queue, boxDau1[k], boxDau1[k], vector, factor, heap[0]);
+                pushBox(queue, boxDau2[k], boxDau2[k], vector, factor, heap[0]);
+            } else {
+                scanBox(k, vector, heap, ndx, n, false);
+                checks++;
+            }
+        }
+
+        sortResults(heap, ndx, n, nn, dn);
+    }
+
+    /**
+     * Gets n approximately nearest vectors to a given one.
+     * Results are sorted by increasing distance.
+     *
+     * @param vector    vector to search nearest ones for. Does not need to be stored in the tree.
+     * @param nn        array where positions in input order of nearest vectors are stored.
+     * @param dn        array where distances to nearest vectors are stored.
+     * @param n         number of nearest vectors to find.
+     * @param epsilon   allowed relative error of distances to returned vectors. Zero means exact search.
+     * @param maxChecks maximum number of leaf boxes to visit, or {@link KDTree#UNLIMITED_CHECKS}.
+     * @throws IllegalArgumentException if number of nearest vectors is invalid, if length of arrays containing
+     *                                  results are not valid either, if length of vector does not match tree
+     *                                  dimensions, if epsilon is negative or if maximum number of checks is less
+     *                                  than 1.
+     * @see #nNearest(double[], int[], double[], int, double, int)
+     */
+    public void nNearest(final float[] vector, final int[] nn, final double[] dn, final int n,
+                         final double epsilon, final int maxChecks) {
+        nNearest(toDouble(vector), nn, dn, n, epsilon, maxChecks);
+    }
+
+    /**
+     * Locates some near vectors to provided one up to a certain radius of search.
+     * This method only returns up to nmax results, which means that not all vectors within required
+     * radius are returned if more vectors than provided nmax value are within such radius.
+     *
+     * @param vector vector to search nearby.
+     * @param r      radius of search.
+     * @param list   list where positions in input order of found vectors are stored up to the number of found
+     *               vectors.
+     * @param nmax   maximum number of vectors to search.
+     * @return number of found vectors.
+     * @throws IllegalArgumentException if radius is negative or maximum number of vectors to search is zero or
+     *                                  negative, list where indices are stored is not large enough, or length of
+     *                                  vector does not match tree dimensions.
+     */
+    public int locateNear(final double[] vector, final double r, final int[] list, final int nmax) {
+        if (r < 0.0) {
+            throw new IllegalArgumentException("radius must be non-negative");
+        }
+        if (nmax <= 0) {
+            throw new IllegalArgumentException("number of points to search must be at least 1");
+        }
+        if (list.length < nmax) {
+            throw new IllegalArgumentException("result might not fit into provided list");
+        }
+        checkVector(vector);
+
+        final var task = new int[N_TASKS];
+        final var r2 = r * r;
+        var nb = 0;
+        var nret = 0;
+
+        while (boxDau1[nb] != 0) {
+            final var nbold = nb;
+            final var d1 = boxDau1[nb];
+            final var d2 = boxDau2[nb];
+            final var jdim = boxDim[nb];
+            final var coord = vector[jdim];
+            if (coord + r <= boxHi[d1 * dim + jdim]) {
+                nb = d1;
+            } else if (coord - r >= boxLo[d2 * dim + jdim]) {
+                nb = d2;
+            }
+            if (nb == nbold) {
+                break;
+            }
+        }
+        task[1] = nb;
+        var ntask = 1;
+        while (ntask != 0) {
+            final var k = task[ntask--];
+            if (boxSqrDistance(k, vector) > r2) {
+                continue;
+            }
+            if (boxDau1[k] != 0) {
+                task[++ntask] = boxDau1[k];
+                task[++ntask] = boxDau2[k];
+            } else {
+                for (var i = boxPtLo[k]; i <= boxPtHi[k]; i++) {
+                    final var v = ptIndx[i];
+                    if (sqrDistance(v, vector, r2) <= r2) {
+                        list[nret++] = v;
+                        if (nret == nmax) {
+                            return nmax;
+                        }
+                    }
+                }
+            }
+        }
+        return nret;
+    }
+
+    /**
+     * Checks that provided vector has tree dimensions.
+     *
+     * @param vector vector to be checked.
+     * @throws IllegalArgumentException if length of vector does not match tree dimensions.
+     */
+    void checkVector(final double[] vector) {
+        if (vector.length != dim) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Gets squared distance of provided vector to the boundaries of a box or zero if the vector is inside the box.
+     *
+     * @param box    position of box.
+     * @param vector vector to be checked.
+     * @return squared distance.
+     */
+    double boxSqrDistance(final int box, final double[] vector) {
+        var dd = 0.0;
+        final var offset = box * dim;
+        for (var j = 0; j < dim; j++) {
+            final var value = vector[j];
+            final var lo = boxLo[offset + j];
+            final var hi = boxHi[offset + j];
+            if (value < lo) {
+                dd += (value - lo) * (value - lo);
+            }
+            if (value > hi) {
+                dd += (value - hi) * (value - hi);
+            }
+        }
+        return dd;
+    }
+
+    /**
+     * Adds a box to the queue of a search if it might contain vectors closer than current squared distance.
+     *
+     * @param queue   queue of boxes.
+     * @param box     position of box.
+     * @param id      identifier of box to be stored in the queue.
+     * @param vector  query vector.
+     * @param factor  factor to apply to squared box distance, equal to (1 + epsilon)^2.
+     * @param sqrDist current squared distance.
+     */
+    void pushBox(final BoxQueue queue, final int box, final int id, final double[] vector, final double factor,
+                 final double sqrDist) {
+        final var d = boxSqrDistance(box, vector);
+        if (d * factor < sqrDist) {
+            queue.push(id, d);
+        }
+    }
+
+    /**
+     * Updates a max-heap of nearest vectors with the vectors contained in a box.
+     *
+     * @param box    position of box.
+     * @param vector query vector.
+     * @param heap   max-heap of squared distances to nearest vectors.
+     * @param ndx    positions in input order of nearest vectors.
+     * @param n      number of nearest vectors to find.
+     * @param unique true if vectors already contained in the heap must be ignored, false if vectors are known to
+     *               be visited only once.
+     */
+    void scanBox(final int box, final double[] vector, final double[] heap, final int[] ndx, final int n,
+                 final boolean unique) {
+        for (var i = boxPtLo[box]; i <= boxPtHi[box]; i++) {
+            final var v = ptIndx[i];
+            final var d = sqrDistance(v, vector, heap[0]);
+            if (d < heap[0] && !(unique && contains(ndx, heap, n, v))) {
+                heap[0] = d;
+                ndx[0] = v;
+                if (n > 1) {
+                    siftDown(heap, ndx, n);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts a max-heap of nearest vectors by increasing distance and copies results.
+     *
+     * @param heap max-heap of squared distances to nearest vectors.
+     * @param ndx  positions in input order of nearest vectors.
+     * @param n    number of nearest vectors.
+     * @param nn   array where positions of nearest vectors are stored.
+     * @param dn   array where distances to nearest vectors are stored.
+     */
+    static void sortResults(final double[] heap, final int[] ndx, final int n, final int[] nn, final double[] dn) {
+        for (var i = n - 1; i > 0; i--) {
+            final var tmpHeap = heap[0];
+            heap[0] = heap[i];
+            heap[i] = tmpHeap;
+            final var tmpNdx = ndx[0];
+            ndx[0] = ndx[i];
+            ndx[i] = tmpNdx;
+            siftDown(heap, ndx, i);
+        }
+
+        for (var i = 0; i < n; i++) {
+            nn[i] = ndx[i];
+            dn[i] = Math.sqrt(heap[i]);
+        }
+    }
+
+    /**
+     * Checks parameters of nearest vectors queries.
+     *
+     * @param vector    query vector.
+     * @param nn        array where positions of nearest vectors are stored.
+     * @param dn        array where distances to nearest vectors are stored.
+     * @param n         number of nearest vectors to find.
+     * @param available number of vectors that can be found.
+     * @throws IllegalArgumentException if any parameter is not valid.
+     */
+    void checkNearest(final double[] vector, final int[] nn, final double[] dn, final int n,
+                      final int available) {
+        if (n < 0) {
+            throw new IllegalArgumentException("no neighbours requested");
+        }
+        if (n > available) {
+            throw new IllegalArgumentException("too many neighbours requested");
+        }
+        if (nn.length < n || dn.length < n) {
+            throw new IllegalArgumentException("invalid result array lengths");
+        }
+        checkVector(vector);
+    }
+
+    /**
+     * Converts a vector of single precision values into double precision.
+     *
+     * @param vector vector to be converted.
+     * @return converted vector.
+     */
+    static double[] toDouble(final float[] vector) {
+        final var result = new double[vector.length];
+        for (var i = 0; i < vector.length; i++) {
+            result[i] = vector[i];
+        }
+        return result;
+    }
+
+    /**
+     * Copies provided vectors into a single array where coordinates are stored consecutively for each vector.
+     *
+     * @param vectors vectors to be copied.
+     * @return array containing vector coordinates.
+     * @throws IllegalArgumentException if vectors do not have the same length.
+     */
+    static double[] toData(final double[][] vectors) {
+        final var dim = vectors.length > 0 ? vectors[0].length : 0;
+        final var result = new double[vectors.length * dim];
+        for (int j = 0, offset = 0; j < vectors.length; j++, offset += dim) {
+            if (vectors[j].length != dim) {
+                throw new IllegalArgumentException();
+            }
+            System.arraycopy(vectors[j], 0, result, offset, dim);
+        }
+        return result;
+    }
+
+    /**
+     * Copies provided vectors into a single array where coordinates are stored consecutively for each vector.
+     *
+     * @param vectors vectors to be copied.
+     * @return array containing vector coordinates.
+     * @throws IllegalArgumentException if vectors do not have the same length.
+     */
+    static float[] toData(final float[][] vectors) {
+        final var dim = vectors.length > 0 ? vectors[0].length : 0;
+        final var result = new float[vectors.length * dim];
+        for (int j = 0, offset = 0; j < vectors.length; j++, offset += dim) {
+            if (vectors[j].length != dim) {
+                throw new IllegalArgumentException();
+            }
+            System.arraycopy(vectors[j], 0, result, offset, dim);
+        }
+        return result;
+    }
+
+    /**
+     * Checks that provided data contains the coordinates of provided number of vectors.
+     *
+     * @param data     coordinates of vectors.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @return provided data.
+     * @throws IllegalArgumentException if number of vectors is less than {@link #MIN_PTS}, if number of
+     *                                  dimensions is less than 1, or if length of data does not match number of
+     *                                  vectors and dimensions.
+     */
+    static double[] checkData(final double[] data, final int nVectors, final int dim) {
+        checkLength(data.length, nVectors, dim);
+        return data;
+    }
+
+    /**
+     * Checks that provided data contains the coordinates of provided number of vectors.
+     *
+     * @param data     coordinates of vectors.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @return provided data.
+     * @throws IllegalArgumentException if number of vectors is less than {@link #MIN_PTS}, if number of
+     *                                  dimensions is less than 1, or if length of data does not match number of
+     *                                  vectors and dimensions.
+     */
+    static float[] checkData(final float[] data, final int nVectors, final int dim) {
+        checkLength(data.length, nVectors, dim);
+        return data;
+    }
+
+    /**
+     * Rearranges coordinates of vectors stored consecutively for each vector as coordinate columns.
+     *
+     * @param data     coordinates of vectors.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @return coordinate columns, where coordinate of dimension d for vector j is at position d * nVectors + j.
+     */
+    static double[] toColumns(final double[] data, final int nVectors, final int dim) {
+        final var result = new double[data.length];
+        for (int j = 0, offset = 0; j < nVectors; j++) {
+            for (var d = 0; d < dim; d++) {
+                result[d * nVectors + j] = data[offset++];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rearranges coordinates of vectors stored consecutively for each vector as coordinate columns in double
+     * precision.
+     *
+     * @param data     coordinates of vectors.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @return coordinate columns, where coordinate of dimension d for vector j is at position d * nVectors + j.
+     */
+    static double[] toColumns(final float[] data, final int nVectors, final int dim) {
+        final var result = new double[data.length];
+        for (int j = 0, offset = 0; j < nVectors; j++) {
+            for (var d = 0; d < dim; d++) {
+                result[d * nVectors + j] = data[offset++];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks that provided length of data matches provided number of vectors and dimensions.
+     *
+     * @param length   length of data.
+     * @param nVectors number of vectors.
+     * @param dim      number of dimensions of vectors.
+     * @throws IllegalArgumentException if number of vectors is less than {@link #MIN_PTS}, if number of
+     *                                  dimensions is less than 1, or if length of data does not match number of
+     *                                  vectors and dimensions.
+     */
+    private static void checkLength(final int length, final int nVectors, final int dim) {
+        if (nVectors < MIN_PTS) {
+            throw new IllegalArgumentException("number of points must be at least 3");
+        }
+        if (dim < 1 || length != (long) nVectors * dim) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Gets squared distance between a stored vector and provided one.
+     * Accumulation stops as soon as provided bound is exceeded, in which case the returned value is a partial
+     * squared distance that is still larger than the bound.
+     *
+     * @param v      position of stored vector in input order.
+     * @param vector vector to compare against.
+     * @param bound  squared distance above which exact value is not needed.
+     * @return squared distance or a partial squared distance exceeding provided bound.
+     */
+    private double sqrDistance(final int v, final double[] vector, final double bound) {
+        var d = 0.0;
+        if (floatData != null) {
+            for (int j = 0, offset = v * dim; j < dim; j++, offset++) {
+                final var diff = floatData[offset] - vector[j];
+                d += diff * diff;
+                if (d > bound) {
+                    break;
+                }
+            }
+            return d;
+        }
+        for (int j = 0, offset = v * dim; j < dim; j++, offset++) {
+            final var diff = data[offset] - vector[j];
+            d += diff * diff;
+            if (d > bound) {
+                break;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Indicates whether a max-heap of nearest vectors already contains provided vector.
+     *
+     * @param ndx  positions of vectors in the heap.
+     * @param heap squared distances of vectors in the heap.
+     * @param n    length of heap.
+     * @param v    position of vector to be checked.
+     * @return true if heap contains vector, false otherwise.
+     */
+    private static boolean contains(final int[] ndx, final double[] heap, final int n, final int v) {
+        for (var i = 0; i < n; i++) {
+            if (ndx[i] == v && heap[i] < BIG) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the element at the top of a max-heap to its position.
+     *
+     * @param heap heap of distances.
+     * @param ndx  heap of indices.
+     * @param nn   length of heap.
+     */
+    private static void siftDown(final double[] heap, final int[] ndx, final int nn) {
+        final var n = nn - 1;
+        var j = 1;
+        var jold = 0;
+        final var ia = ndx[0];
+        final var a = heap[0];
+        while (j <= n) {
+            if (j < n && heap[j] < heap[j + 1]) {
+                j++;
+            }
+            if (a >= heap[j]) {
+                break;
+            }
+            heap[jold] = heap[j];
+            ndx[jold] = ndx[j];
+            jold = j;
+            j = 2 * j + 1;
+        }
+        heap[jold] = a;
+        ndx[jold] = ia;
+    }
+}
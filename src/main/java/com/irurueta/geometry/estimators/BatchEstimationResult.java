@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import com.irurueta.numerical.robust.InliersData;
+
+/**
+ * Result of a single problem solved by a {@link BatchRobustEstimator}.
+ * Contains either the estimated solution and its inliers data, or the error
+ * that prevented the problem from being solved.
+ *
+ * @param <T> type of estimated solutions.
+ */
+public class BatchEstimationResult<T> {
+
+    /**
+     * Estimated solution or null if estimation failed.
+     */
+    private final T result;
+
+    /**
+     * Inliers data of estimated solution or null if not available.
+     */
+    private final InliersData inliersData;
+
+    /**
+     * Error raised during estimation or null if estimation succeeded.
+     */
+    private final Exception error;
+
+    /**
+     * Constructor for a successful estimation.
+     *
+     * @param result      estimated solution.
+     * @param inliersData inliers data of estimated solution or null if not
+     *                    available.
+     */
+    public BatchEstimationResult(final T result, final InliersData inliersData) {
+        this.result = result;
+        this.inliersData = inliersData;
+        error = null;
+    }
+
+    /**
+     * Constructor for a failed estimation.
+     *
+     * @param error error raised during estimation.
+     */
+    public BatchEstimationResult(final Exception error) {
+        result = null;
+        inliersData = null;
+        this.error = error;
+    }
+
+    /**
+     * Gets estimated solution.
+     *
+     * @return estimated solution or null if estimation failed.
+     */
+    public T getResult() {
+        return result;
+    }
+
+    /**
+     * Gets inliers data of estimated solution.
+     *
+     * @return inliers data or null if estimation failed or estimator did not
+     * keep inliers.
+     */
+    public InliersData getInliersData() {
+        return inliersData;
+    }
+
+    /**
+     * Gets error raised during estimation.
+     *
+     * @return error or null if estimation succeeded.
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Indicates whether estimation succeeded.
+     *
+     * @return true if estimation succeeded, false otherwise.
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import com.irurueta.numerical.robust.InliersData;
+import com.irurueta.numerical.robust.RobustEstimatorException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Solves many independent robust estimation problems (e.g. one homography per
+ * image tile or per tracked object) concurrently.
+ * Problems are distributed among the threads of a {@link ForkJoinPool} using
+ * work stealing, so that problems requiring a different number of iterations
+ * are balanced among threads.
+ * Robust estimators are kept by this instance and reused by later problems,
+ * so that per-estimator scratch state (such as recycled hypotheses) is reused
+ * across problems instead of creating a new estimator for every problem. No
+ * more estimators are created than problems are concurrently solved, and
+ * estimators are also reused by later calls to {@link #estimate(List)}, hence
+ * callers solving several batches should keep and reuse the same instance.
+ * Since estimators are kept between problems, a releaser can be provided so
+ * that they do not retain the data of solved problems.
+ * Failure of a single problem does not abort the batch: errors raised by
+ * estimators (either because problem data is invalid, the estimator is not
+ * ready or estimation fails) are reported in the result of the corresponding
+ * problem. Any other exception is considered a programming error and is
+ * propagated.
+ *
+ * @param <P> type of problems.
+ * @param <E> type of robust estimators.
+ * @param <T> type of estimated solutions.
+ */
+public class BatchRobustEstimator<P, E, T> {
+
+    /**
+     * Pool where problems are solved.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Solves a single problem using provided estimator.
+     */
+    private final ProblemSolver<P, E, T> solver;
+
+    /**
+     * Obtains inliers data from an estimator after solving a problem.
+     */
+    private final Function<E, InliersData> inliersProvider;
+
+    /**
+     * Creates a robust estimator when no idle one is available.
+     */
+    private final Supplier<E> estimatorFactory;
+
+    /**
+     * Releases the problem data referenced by an estimator once its problem
+     * has been solved, or null if no data is released.
+     */
+    private final Consumer<E> releaser;
+
+    /**
+     * Robust estimators not solving any problem, which are reused by later
+     * problems.
+     */
+    private final Queue<E> idleEstimators = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Constructor using the common {@link ForkJoinPool}.
+     *
+     * @param estimatorFactory creates robust estimators when no idle one is
+     *                         available.
+     * @param solver           solves a single problem using provided estimator.
+     * @param inliersProvider  obtains inliers data from an estimator after
+     *                         solving a problem, or null if inliers data is not
+     *                         needed.
+     * @throws IllegalArgumentException if estimator factory or solver are null.
+     */
+    public BatchRobustEstimator(final Supplier<E> estimatorFactory, final ProblemSolver<P, E, T> solver,
+                                final Function<E, InliersData> inliersProvider) {
+        this(estimatorFactory, solver, inliersProvider, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param estimatorFactory creates robust estimators when no idle one is
+     *                         available.
+     * @param solver           solves a single problem using provided estimator.
+     * @param inliersProvider  obtains inliers data from an estimator after
+     *                         solving a problem, or null if inliers data is not
+     *                         needed.
+     * @param pool             pool where problems are solved.
+     * @throws IllegalArgumentException if estimator factory, solver or pool are
+     *                                  null.
+     */
+    public BatchRobustEstimator(final Supplier<E> estimatorFactory, final ProblemSolver<P, E, T> solver,
+                                final Function<E, InliersData> inliersProvider, final ForkJoinPool pool) {
+        this(estimatorFactory, solver, inliersProvider, null, pool);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param estimatorFactory creates robust estimators when no idle one is
+     *                         available.
+     * @param solver           solves a single problem using provided estimator.
+     * @param inliersProvider  obtains inliers data from an estimator after
+     *                         solving a problem, or null if inliers data is not
+     *                         needed.
+     * @param releaser         releases the problem data referenced by an
+     *                         estimator once its problem has been solved, so
+     *                         that idle estimators do not retain it, or null if
+     *                         no data needs to be released.
+     * @param pool             pool where problems are solved.
+     * @throws IllegalArgumentException if estimator factory, solver or pool are
+     *                                  null.
+     */
+    public BatchRobustEstimator(final Supplier<E> estimatorFactory, final ProblemSolver<P, E, T> solver,
+                                final Function<E, InliersData> inliersProvider, final Consumer<E> releaser,
+                                final ForkJoinPool pool) {
+        if (estimatorFactory == null || solver == null || pool == null) {
+            throw new IllegalArgumentException();
+        }
+        this.estimatorFactory = estimatorFactory;
+        this.solver = solver;
+        this.inliersProvider = inliersProvider;
+        this.releaser = releaser;
+        this.pool = pool;
+    }
+
+    /**
+     * Gets pool where problems are solved.
+     *
+     * @return pool where problems are solved.
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Solves provided problems.
+     * Results are returned in the same order as provided problems.
+     *
+     * @param problems problems to be solved.
+     * @return results of each problem.
+     * @throws IllegalArgumentException if provided list is null.
+     */
+    public List<BatchEstimationResult<T>> estimate(final List<P> problems) {
+        if (problems == null) {
+            throw new IllegalArgumentException();
+        }
+
+        final var size = problems.size();
+        @SuppressWarnings("unchecked") final var results = (BatchEstimationResult<T>[]) new BatchEstimationResult[size];
+        if (size > 0) {
+            pool.invoke(new BatchTask(problems, results, 0, size));
+        }
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    /**
+     * Solves a single problem using an idle estimator, or a new one if none
+     * is available, which becomes idle again once the problem is solved.
+     *
+     * @param problem problem to be solved.
+     * @return result of problem.
+     */
+    private BatchEstimationResult<T> solve(final P problem) {
+        var estimator = idleEstimators.poll();
+        if (estimator == null) {
+            estimator = estimatorFactory.get();
+        }
+        try {
+            final var result = solver.solve(estimator, problem);
+            final var inliersData = inliersProvider != null ? inliersProvider.apply(estimator) : null;
+            return new BatchEstimationResult<>(result, inliersData);
+        } catch (final GeometryEstimatorException | RobustEstimatorException | IllegalArgumentException e) {
+            return new BatchEstimationResult<>(e);
+        } finally {
+            if (releaser != null) {
+                releaser.accept(estimator);
+            }
+            idleEstimators.offer(estimator);
+        }
+    }
+
+    /**
+     * Solves a single problem using a robust estimator.
+     *
+     * @param <P> type of problems.
+     * @param <E> type of robust estimators.
+     * @param <T> type of estimated solutions.
+     */
+    @FunctionalInterface
+    public interface ProblemSolver<P, E, T> {
+        /**
+         * Sets problem data into provided estimator and estimates its solution.
+         *
+         * @param estimator robust estimator to be reused.
+         * @param problem   problem to be solved.
+         * @return estimated solution.
+         * @throws GeometryEstimatorException if estimator is not ready or is
+         *                                    locked.
+         * @throws RobustEstimatorException   if estimation fails.
+         * @throws IllegalArgumentException   if problem data is not valid
+         *                                    (e.g. not enough samples are
+         *                                    provided).
+         */
+        T solve(final E estimator, final P problem) throws GeometryEstimatorException, RobustEstimatorException;
+    }
+
+    /**
+     * Configures a newly created robust estimator before it is used to solve
+     * problems.
+     *
+     * @param <E> type of robust estimators.
+     */
+    @FunctionalInterface
+    public interface Configurator<E> {
+        /**
+         * Configures provided estimator.
+         *
+         * @param estimator estimator to be configured.
+         * @throws LockedException if estimator is locked.
+         */
+        void configure(final E estimator) throws LockedException;
+    }
+
+    /**
+     * Task solving a range of problems, recursively split so that idle threads
+     * can steal pending problems.
+     */
+    private class BatchTask extends RecursiveAction {
+
+        /**
+         * Problems to be solved.
+         */
+        private final List<P> problems;
+
+        /**
+         * Array where results are stored.
+         */
+        private final BatchEstimationResult<T>[] results;
+
+        /**
+         * Position of first problem of this task (inclusive).
+         */
+        private final int from;
+
+        /**
+         * Position of last problem of this task (exclusive).
+         */
+        private final int to;
+
+        /**
+         * Constructor.
+         *
+         * @param problems problems to be solved.
+         * @param results  array where results are stored.
+         * @param from     position of first problem (inclusive).
+         * @param to       position of last problem (exclusive).
+         */
+        BatchTask(final List<P> problems, final BatchEstimationResult<T>[] results, final int from, final int to) {
+            this.problems = problems;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Solves problems of this task or splits them into two subtasks.
+         */
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = solve(problems.get(from));
+            } else {
+                final var middle = (from + to) >>> 1;
+                invokeAll(new BatchTask(problems, results, from, middle),
+                        new BatchTask(problems, results, middle, to));
+            }
+        }
+    }
+}
@@ -78,6 +78,17 @@ public abstract class CircleRobustEstimator {
      */
     public static final int MIN_ITERATIONS = 1;
 
+    /**
+     * Default number of tasks residuals of each hypothesis are split into.
+     * By default, residuals are computed sequentially.
+     */
+    public static final int DEFAULT_PARALLELISM = ParallelResidualEvaluator.DEFAULT_PARALLELISM;
+
+    /**
+     * Minimum allowed number of tasks residuals are split into.
+     */
+    public static final int MIN_PARALLELISM = ParallelResidualEvaluator.MIN_PARALLELISM;
+
     /**
      * Default robust estimator method when none is provided.
      */
@@ -116,6 +127,20 @@ public abstract class CircleRobustEstimator {
      */
     protected int maxIterations;
 
+    /**
+     * Number of tasks residuals of each hypothesis are split into.
+     * Hypotheses are still generated sequentially, hence results do not
+     * depend on this value.
+     */
+    protected int parallelism;
+
+    /**
+     * Pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples, or null if hypotheses are
+     * always evaluated against all samples.
+     */
+    protected HypothesisPreVerifier preVerifier;
+
     /**
      * List of points to be used to estimate a circle. Provided list must have
      * a size greater or equal than MINIMUM_SIZE.
@@ -129,6 +154,7 @@ public abstract class CircleRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
     }
 
     /**
@@ -142,6 +168,7 @@ public abstract class CircleRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
     }
 
     /**
@@ -155,6 +182,7 @@ public abstract class CircleRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
         internalSetPoints(points);
     }
 
@@ -172,6 +200,7 @@ public abstract class CircleRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
         internalSetPoints(points);
     }
 
@@ -316,6 +345,76 @@ public abstract class CircleRobustEstimator {
         this.maxIterations = maxIterations;
     }
 
+    /**
+     * Returns number of tasks residuals of each hypothesis are split into.
+     * When more than one task is used, residuals of all samples are split
+     * into tasks run on the common fork-join pool, hence the number of
+     * threads actually used is bounded by the parallelism of that pool.
+     * Hypotheses are still generated sequentially, so that results are the
+     * same as when residuals are computed sequentially.
+     *
+     * @return number of tasks residuals are split into.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets number of tasks residuals of each hypothesis are split into.
+     * When more than one task is used, residuals of all samples are split
+     * into tasks run on the common fork-join pool, hence the number of
+     * threads actually used is bounded by the parallelism of that pool.
+     * Hypotheses are still generated sequentially, so that results are the
+     * same as when residuals are computed sequentially.
+     *
+     * @param parallelism number of tasks residuals are split into.
+     * @throws IllegalArgumentException if provided value is less than 1.
+     * @throws LockedException          if this estimator is locked because an
+     *                                  estimation is being computed.
+     */
+    public void setParallelism(final int parallelism) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples.
+     * Pre-verification is only done by methods using a threshold to determine
+     * inliers (RANSAC, MSAC and PROSAC), and statistics about saved residual
+     * evaluations can be obtained from returned instance.
+     *
+     * @return pre-verifier or null if hypotheses are always evaluated against
+     * all samples.
+     */
+    public HypothesisPreVerifier getPreVerifier() {
+        return preVerifier;
+    }
+
+    /**
+     * Sets pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples.
+     * Pre-verification is only done by methods using a threshold to determine
+     * inliers (RANSAC, MSAC and PROSAC), and statistics about saved residual
+     * evaluations can be obtained from provided instance.
+     *
+     * @param preVerifier pre-verifier or null if hypotheses must always be
+     *                    evaluated against all samples.
+     * @throws LockedException if this estimator is locked because an
+     *                         estimation is being computed.
+     */
+    public void setPreVerifier(final HypothesisPreVerifier preVerifier) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.preVerifier = preVerifier;
+    }
+
     /**
      * Returns list of points to be used to estimate a circle.
      * Provided list must have a size greater or equal than MINIMUM_SIZE.
@@ -15,6 +15,7 @@
  */
 package com.irurueta.geometry.estimators;
 
+import com.irurueta.geometry.PinholeCamera;
 import com.irurueta.geometry.Point2D;
 import com.irurueta.geometry.Point3D;
 import com.irurueta.numerical.robust.RobustEstimatorMethod;
@@ -429,4 +430,39 @@ public abstract class DLTPointCorrespondencePinholeCameraRobustEstimator
             final List<Point2D> points2D, final double[] qualityScores) {
         return create(listener, points3D, points2D, qualityScores, DEFAULT_ROBUST_METHOD);
     }
+
+    /**
+     * Estimates a camera using provided non-robust estimator and matched
+     * inlier points.
+     * Since DLT estimators used for subsets of samples do not allow LMSE
+     * solutions, such solutions are temporarily allowed so that all inliers
+     * are taken into account.
+     *
+     * @param estimator non-robust estimator used to estimate cameras.
+     * @param inliers3D 3D points being inliers of a hypothesis.
+     * @param inliers2D 2D points being inliers of a hypothesis.
+     * @return estimated camera.
+     * @throws LockedException                 if estimator is locked.
+     * @throws WrongListSizesException         if lists of points don't have
+     *                                         the same size or are too small.
+     * @throws NotReadyException               if estimator is not ready.
+     * @throws PinholeCameraEstimatorException if estimation fails.
+     */
+    @Override
+    protected PinholeCamera estimateFromInliers(
+            final PointCorrespondencePinholeCameraEstimator estimator, final List<Point3D> inliers3D,
+            final List<Point2D> inliers2D) throws LockedException, WrongListSizesException, NotReadyException,
+            PinholeCameraEstimatorException {
+        if (!(estimator instanceof DLTPointCorrespondencePinholeCameraEstimator dltEstimator)
+                || dltEstimator.isLMSESolutionAllowed()) {
+            return super.estimateFromInliers(estimator, inliers3D, inliers2D);
+        }
+
+        dltEstimator.setLMSESolutionAllowed(true);
+        try {
+            return super.estimateFromInliers(estimator, inliers3D, inliers2D);
+        } finally {
+            dltEstimator.setLMSESolutionAllowed(false);
+        }
+    }
 }
@@ -15,8 +15,6 @@
  */
 package com.irurueta.geometry.estimators;
 
-import com.irurueta.algebra.AlgebraException;
-import com.irurueta.algebra.Matrix;
 import com.irurueta.geometry.DualConic;
 import com.irurueta.geometry.Line2D;
 import com.irurueta.numerical.robust.RobustEstimatorException;
@@ -81,6 +79,17 @@ public abstract class DualConicRobustEstimator {
      */
     public static final int MIN_ITERATIONS = 1;
 
+    /**
+     * Default number of tasks residuals of each hypothesis are split into.
+     * By default, residuals are computed sequentially.
+     */
+    public static final int DEFAULT_PARALLELISM = ParallelResidualEvaluator.DEFAULT_PARALLELISM;
+
+    /**
+     * Minimum allowed number of tasks residuals are split into.
+     */
+    public static final int MIN_PARALLELISM = ParallelResidualEvaluator.MIN_PARALLELISM;
+
     /**
      * Default robust estimator method when none is provided.
      */
@@ -126,16 +135,18 @@ public abstract class DualConicRobustEstimator {
     protected List<Line2D> lines;
 
     /**
-     * Matrix representation of a 2D line to be reused when computing
-     * residuals.
+     * Number of tasks residuals of each hypothesis are split into.
+     * Hypotheses are still generated sequentially, hence results do not
+     * depend on this value.
      */
-    private Matrix testLine;
+    protected int parallelism;
 
     /**
-     * Matrix representation of a dual conic to be reused when computing
-     * residuals.
+     * Pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples, or null if hypotheses are
+     * always evaluated against all samples.
      */
-    private Matrix testDualC;
+    protected HypothesisPreVerifier preVerifier;
 
     /**
      * Constructor.
@@ -144,6 +155,7 @@ public abstract class DualConicRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
     }
 
     /**
@@ -157,6 +169,7 @@ public abstract class DualConicRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
     }
 
     /**
@@ -170,6 +183,7 @@ public abstract class DualConicRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
         internalSetLines(lines);
     }
 
@@ -187,6 +201,7 @@ public abstract class DualConicRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
         internalSetLines(lines);
     }
 
@@ -330,6 +345,76 @@ public abstract class DualConicRobustEstimator {
         this.maxIterations = maxIterations;
     }
 
+    /**
+     * Returns number of tasks residuals of each hypothesis are split into.
+     * When more than one task is used, residuals of all samples are split
+     * into tasks run on the common fork-join pool, hence the number of
+     * threads actually used is bounded by the parallelism of that pool.
+     * Hypotheses are still generated sequentially, so that results are the
+     * same as when residuals are computed sequentially.
+     *
+     * @return number of tasks residuals are split into.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets number of tasks residuals of each hypothesis are split into.
+     * When more than one task is used, residuals of all samples are split
+     * into tasks run on the common fork-join pool, hence the number of
+     * threads actually used is bounded by the parallelism of that pool.
+     * Hypotheses are still generated sequentially, so that results are the
+     * same as when residuals are computed sequentially.
+     *
+     * @param parallelism number of tasks residuals are split into.
+     * @throws IllegalArgumentException if provided value is less than 1.
+     * @throws LockedException          if this estimator is locked because an
+     *                                  estimation is being computed.
+     */
+    public void setParallelism(final int parallelism) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples.
+     * Pre-verification is only done by methods using a threshold to determine
+     * inliers (RANSAC, MSAC and PROSAC), and statistics about saved residual
+     * evaluations can be obtained from returned instance.
+     *
+     * @return pre-verifier or null if hypotheses are always evaluated against
+     * all samples.
+     */
+    public HypothesisPreVerifier getPreVerifier() {
+        return preVerifier;
+    }
+
+    /**
+     * Sets pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples.
+     * Pre-verification is only done by methods using a threshold to determine
+     * inliers (RANSAC, MSAC and PROSAC), and statistics about saved residual
+     * evaluations can be obtained from provided instance.
+     *
+     * @param preVerifier pre-verifier or null if hypotheses must always be
+     *                    evaluated against all samples.
+     * @throws LockedException if this estimator is locked because an
+     *                         estimation is being computed.
+     */
+    public void setPreVerifier(final HypothesisPreVerifier preVerifier) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.preVerifier = preVerifier;
+    }
+
     /**
      * Returns list of lines to be used to estimate a dual conic.
      * Provided list have a size greater or equal than MINIMUM_SIZE.
@@ -736,26 +821,15 @@ public abstract class DualConicRobustEstimator {
      */
     protected double residual(final DualConic dc, final Line2D line) {
         dc.normalize();
-        try {
-            if (testDualC == null) {
-                testDualC = dc.asMatrix();
-            } else {
-                dc.asMatrix(testDualC);
-            }
-
-            if (testLine == null) {
-                testLine = new Matrix(Line2D.LINE_NUMBER_PARAMS, 1);
-            }
-            line.normalize();
-            testLine.setElementAt(0, 0, line.getA());
-            testLine.setElementAt(1, 0, line.getB());
-            testLine.setElementAt(2, 0, line.getC());
-            final var locusMatrix = testLine.transposeAndReturnNew();
-            locusMatrix.multiply(testDualC);
-            locusMatrix.multiply(testLine);
-            return Math.abs(locusMatrix.getElementAt(0, 0));
-        } catch (final AlgebraException e) {
-            return Double.MAX_VALUE;
-        }
+        line.normalize();
+
+        // evaluate l^T * C* * l without building matrices, so that residuals can
+        // be computed concurrently
+        final var a = line.getA();
+        final var b = line.getB();
+        final var c = line.getC();
+        final var locus = dc.getA() * a * a + dc.getC() * b * b + dc.getF() * c * c
+                + 2.0 * (dc.getB() * a * b + dc.getD() * a * c + dc.getE() * b * c);
+        return Math.abs(locus);
     }
 }
@@ -15,8 +15,6 @@
  */
 package com.irurueta.geometry.estimators;
 
-import com.irurueta.algebra.AlgebraException;
-import com.irurueta.algebra.Matrix;
 import com.irurueta.geometry.DualQuadric;
 import com.irurueta.geometry.Plane;
 import com.irurueta.numerical.robust.RobustEstimatorException;
@@ -80,6 +78,17 @@ public abstract class DualQuadricRobustEstimator {
      */
     public static final int MIN_ITERATIONS = 1;
 
+    /**
+     * Default number of tasks residuals of each hypothesis are split into.
+     * By default, residuals are computed sequentially.
+     */
+    public static final int DEFAULT_PARALLELISM = ParallelResidualEvaluator.DEFAULT_PARALLELISM;
+
+    /**
+     * Minimum allowed number of tasks residuals are split into.
+     */
+    public static final int MIN_PARALLELISM = ParallelResidualEvaluator.MIN_PARALLELISM;
+
     /**
      * Default robust estimator method when none is provided.
      */
@@ -125,16 +134,18 @@ public abstract class DualQuadricRobustEstimator {
     protected List<Plane> planes;
 
     /**
-     * Matrix representation of a 3D plane to be reused when computing
-     * residuals
+     * Number of tasks residuals of each hypothesis are split into.
+     * Hypotheses are still generated sequentially, hence results do not
+     * depend on this value.
      */
-    private Matrix testPlane;
+    protected int parallelism;
 
     /**
-     * Matrix representation of a dual quadric to be reused when computing
-     * residuals.
+     * Pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples, or null if hypotheses are
+     * always evaluated against all samples.
      */
-    private Matrix testDualQ;
+    protected HypothesisPreVerifier preVerifier;
 
     /**
      * Constructor.
@@ -143,6 +154,7 @@ public abstract class DualQuadricRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
     }
 
     /**
@@ -156,6 +168,7 @@ public abstract class DualQuadricRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
     }
 
     /**
@@ -169,6 +182,7 @@ public abstract class DualQuadricRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
         internalSetPlanes(planes);
     }
 
@@ -186,6 +200,7 @@ public abstract class DualQuadricRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
         internalSetPlanes(planes);
     }
 
@@ -329,6 +344,76 @@ public abstract class DualQuadricRobustEstimator {
         this.maxIterations = maxIterations;
     }
 
+    /**
+     * Returns number of tasks residuals of each hypothesis are split into.
+     * When more than one task is used, residuals of all samples are split
+     * into tasks run on the common fork-join pool, hence the number of
+     * threads actually used is bounded by the parallelism of that pool.
+     * Hypotheses are still generated sequentially, so that results are the
+     * same as when residuals are computed sequentially.
+     *
+     * @return number of tasks residuals are split into.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets number of tasks residuals of each hypothesis are split into.
+     * When more than one task is used, residuals of all samples are split
+     * into tasks run on the common fork-join pool, hence the number of
+     * threads actually used is bounded by the parallelism of that pool.
+     * Hypotheses are still generated sequentially, so that results are the
+     * same as when residuals are computed sequentially.
+     *
+     * @param parallelism number of tasks residuals are split into.
+     * @throws IllegalArgumentException if provided value is less than 1.
+     * @throws LockedException          if this estimator is locked because an
+     *                                  estimation is being computed.
+     */
+    public void setParallelism(final int parallelism) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples.
+     * Pre-verification is only done by methods using a threshold to determine
+     * inliers (RANSAC, MSAC and PROSAC), and statistics about saved residual
+     * evaluations can be obtained from returned instance.
+     *
+     * @return pre-verifier or null if hypotheses are always evaluated against
+     * all samples.
+     */
+    public HypothesisPreVerifier getPreVerifier() {
+        return preVerifier;
+    }
+
+    /**
+     * Sets pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples.
+     * Pre-verification is only done by methods using a threshold to determine
+     * inliers (RANSAC, MSAC and PROSAC), and statistics about saved residual
+     * evaluations can be obtained from provided instance.
+     *
+     * @param preVerifier pre-verifier or null if hypotheses must always be
+     *                    evaluated against all samples.
+     * @throws LockedException if this estimator is locked because an
+     *                         estimation is being computed.
+     */
+    public void setPreVerifier(final HypothesisPreVerifier preVerifier) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.preVerifier = preVerifier;
+    }
+
     /**
      * Returns list of planes to be used to estimate a dual quadric.
      * Provided list have a size greater or equal than MINIMUM_SIZE.
@@ -735,27 +820,17 @@ public abstract class DualQuadricRobustEstimator {
      */
     protected double residual(final DualQuadric dq, final Plane plane) {
         dq.normalize();
-        try {
-            if (testDualQ == null) {
-                testDualQ = dq.asMatrix();
-            } else {
-                dq.asMatrix(testDualQ);
-            }
-
-            if (testPlane == null) {
-                testPlane = new Matrix(Plane.PLANE_NUMBER_PARAMS, 1);
-            }
-            plane.normalize();
-            testPlane.setElementAt(0, 0, plane.getA());
-            testPlane.setElementAt(1, 0, plane.getB());
-            testPlane.setElementAt(2, 0, plane.getC());
-            testPlane.setElementAt(3, 0, plane.getD());
-            final var locusMatrix = testPlane.transposeAndReturnNew();
-            locusMatrix.multiply(testDualQ);
-            locusMatrix.multiply(testPlane);
-            return Math.abs(locusMatrix.getElementAt(0, 0));
-        } catch (final AlgebraException e) {
-            return Double.MAX_VALUE;
-        }
+        plane.normalize();
+
+        // evaluate p^T * Q* * p without building matrices, so that residuals can
+        // be computed concurrently
+        final var a = plane.getA();
+        final var b = plane.getB();
+        final var c = plane.getC();
+        final var d = plane.getD();
+        final var locus = dq.getA() * a * a + dq.getB() * b * b + dq.getC() * c * c + dq.getJ() * d * d
+                + 2.0 * (dq.getD() * a * b + dq.getE() * b * c + dq.getF() * a * c
+                + dq.getG() * a * d + dq.getH() * b * d + dq.getI() * c * d);
+        return Math.abs(locus);
     }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Pool of hypotheses recycled by robust estimators.
+ * Robust estimators keep a reference to the best hypothesis found so far
+ * until estimation ends, hence hypotheses must only be recycled once it is
+ * known that they are no longer referenced. Hypotheses can be recycled at
+ * once when a new estimation starts, or after each iteration while keeping
+ * the ones that might still be referenced, so that an estimation only
+ * instantiates as many hypotheses as are required by a few iterations.
+ * This class is not thread-safe, and it is meant to be used from the calling
+ * thread of a robust estimator.
+ *
+ * @param <T> type of hypotheses.
+ */
+public class HypothesisPool<T> {
+
+    /**
+     * Factory creating new hypotheses when no recycled one is available.
+     */
+    private final Supplier<T> factory;
+
+    /**
+     * All hypotheses instantiated by this pool.
+     */
+    private final List<T> hypotheses = new ArrayList<>();
+
+    /**
+     * Number of hypotheses acquired since last recycling.
+     */
+    private int acquired;
+
+    /**
+     * Constructor.
+     *
+     * @param factory factory creating new hypotheses when no recycled one is
+     *                available.
+     * @throws IllegalArgumentException if provided factory is null.
+     */
+    public HypothesisPool(final Supplier<T> factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException();
+        }
+        this.factory = factory;
+    }
+
+    /**
+     * Acquires a hypothesis, which is either a recycled instance or a new one
+     * if no recycled instance is available.
+     * Contents of recycled instances are undefined, and they must be fully
+     * overwritten.
+     *
+     * @return acquired hypothesis.
+     */
+    public T acquire() {
+        final T hypothesis;
+        if (acquired < hypotheses.size()) {
+            hypothesis = hypotheses.get(acquired);
+        } else {
+            hypothesis = factory.get();
+            hypotheses.add(hypothesis);
+        }
+        acquired++;
+        return hypothesis;
+    }
+
+    /**
+     * Releases last acquired hypothesis so that it can be acquired again.
+     * This is useful when the last acquired hypothesis could not be
+     * estimated, and it has not been shared.
+     *
+     * @throws IllegalStateException if no hypothesis has been acquired since
+     *                               last recycling.
+     */
+    public void releaseLast() {
+        if (acquired == 0) {
+            throw new IllegalStateException();
+        }
+        acquired--;
+    }
+
+    /**
+     * Makes all hypotheses instantiated by this pool available again.
+     * Hypotheses acquired before calling this method must no longer be
+     * referenced.
+     */
+    public void recycle() {
+        acquired = 0;
+    }
+
+    /**
+     * Makes all hypotheses instantiated by this pool available again, except
+     * provided ones, which remain acquired.
+     * Hypotheses are compared by identity, and provided hypotheses that were
+     * not instantiated by this pool are ignored.
+     * Hypotheses acquired before calling this method, other than provided
+     * ones, must no longer be referenced.
+     *
+     * @param kept hypotheses that must not be recycled.
+     */
+    public void recycle(final List<T> kept) {
+        acquired = 0;
+        for (final var hypothesis : kept) {
+            for (var i = acquired; i < hypotheses.size(); i++) {
+                if (hypotheses.get(i) == hypothesis) {
+                    // move kept hypothesis to the acquired ones
+                    hypotheses.set(i, hypotheses.get(acquired));
+                    hypotheses.set(acquired, hypothesis);
+                    acquired++;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets number of hypotheses acquired since last recycling.
+     *
+     * @return number of acquired hypotheses.
+     */
+    public int getAcquired() {
+        return acquired;
+    }
+
+    /**
+     * Gets total number of hypotheses instantiated by this pool.
+     *
+     * @return number of instantiated hypotheses.
+     */
+    public int getSize() {
+        return hypotheses.size();
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Base class for randomized pre-verification of hypotheses generated by
+ * robust estimators.
+ * Instead of scoring every hypothesis against all samples, a pre-verifier
+ * evaluates residuals of randomly chosen samples and rejects hypotheses that
+ * are unlikely to be good, so that the residuals of the remaining samples do
+ * not need to be computed.
+ * Rejected hypotheses are reported to robust estimators as having no inliers.
+ * This class also keeps statistics about tested hypotheses and saved residual
+ * evaluations, so that the gain of pre-verification can be measured.
+ * Samples are chosen using a random generator which can be seeded, so that
+ * results are repeatable.
+ */
+public abstract class HypothesisPreVerifier {
+
+    /**
+     * Default pre-verifier type.
+     */
+    public static final HypothesisPreVerifierType DEFAULT_TYPE = HypothesisPreVerifierType.SPRT_PRE_VERIFIER;
+
+    /**
+     * Random generator used to choose samples.
+     */
+    private final Random random;
+
+    /**
+     * Permutation of sample positions used to choose samples without
+     * repetition.
+     */
+    private int[] permutation;
+
+    /**
+     * Function returning the residual of i-th randomly chosen sample, reused
+     * for all tested hypotheses.
+     */
+    private final IntToDoubleFunction randomResiduals = this::randomResidual;
+
+    /**
+     * Function returning residual of a sample for the hypothesis being tested.
+     */
+    private IntToDoubleFunction residuals;
+
+    /**
+     * Total number of samples of the hypothesis being tested.
+     */
+    private int totalSamples;
+
+    /**
+     * Number of residuals evaluated for the hypothesis being tested.
+     */
+    private int evaluated;
+
+    /**
+     * Number of tested hypotheses.
+     */
+    private long testedHypotheses;
+
+    /**
+     * Number of rejected hypotheses.
+     */
+    private long rejectedHypotheses;
+
+    /**
+     * Number of residuals evaluated during pre-verification.
+     */
+    private long evaluatedResiduals;
+
+    /**
+     * Number of residuals that did not need to be evaluated because their
+     * hypothesis was rejected.
+     */
+    private long savedResiduals;
+
+    /**
+     * Constructor.
+     */
+    protected HypothesisPreVerifier() {
+        random = new Random();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param seed seed of random generator used to choose samples.
+     */
+    protected HypothesisPreVerifier(final long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Tests whether a hypothesis must be fully evaluated.
+     * Residuals are requested from provided function, which receives the
+     * position of a sample. Each sample is requested at most once.
+     *
+     * @param residuals    function returning residual of a sample for the
+     *                     hypothesis being tested.
+     * @param totalSamples total number of samples.
+     * @param threshold    threshold to determine whether a sample is an
+     *                     inlier.
+     * @return true if hypothesis must be fully evaluated, false if it is
+     * rejected.
+     * @throws IllegalArgumentException if total number of samples is not
+     *                                  positive.
+     */
+    public boolean verify(final IntToDoubleFunction residuals, final int totalSamples, final double threshold) {
+        if (totalSamples <= 0) {
+            throw new IllegalArgumentException();
+        }
+        if (permutation == null || permutation.length != totalSamples) {
+            permutation = new int[totalSamples];
+            for (var i = 0; i < totalSamples; i++) {
+                permutation[i] = i;
+            }
+        }
+
+        this.residuals = residuals;
+        this.totalSamples = totalSamples;
+        evaluated = 0;
+        final boolean accepted;
+        try {
+            accepted = test(randomResiduals, totalSamples, threshold);
+        } finally {
+            this.residuals = null;
+        }
+
+        testedHypotheses++;
+        evaluatedResiduals += evaluated;
+        if (!accepted) {
+            rejectedHypotheses++;
+            savedResiduals += totalSamples - evaluated;
+        }
+        return accepted;
+    }
+
+    /**
+     * Notifies that a robust estimation starts, so that any parameter of the
+     * test adapted to the data of a previous estimation is restored.
+     * By default, nothing is done.
+     */
+    public void onEstimateStart() {
+        // no parameter is adapted by default
+    }
+
+    /**
+     * Notifies the number of inliers of a hypothesis accepted by this
+     * pre-verifier once the residuals of all its samples have been computed,
+     * so that parameters of the test can be adapted to the data.
+     * By default, nothing is done.
+     *
+     * @param numInliers   number of inliers of accepted hypothesis.
+     * @param totalSamples total number of samples.
+     */
+    public void onHypothesisEvaluated(final int numInliers, final int totalSamples) {
+        // no parameter is adapted by default
+    }
+
+    /**
+     * Gets number of tested hypotheses.
+     *
+     * @return number of tested hypotheses.
+     */
+    public long getTestedHypotheses() {
+        return testedHypotheses;
+    }
+
+    /**
+     * Gets number of rejected hypotheses.
+     *
+     * @return number of rejected hypotheses.
+     */
+    public long getRejectedHypotheses() {
+        return rejectedHypotheses;
+    }
+
+    /**
+     * Gets number of residuals evaluated during pre-verification.
+     * Residuals of accepted hypotheses are kept, hence they are not evaluated
+     * again.
+     *
+     * @return number of residuals evaluated during pre-verification.
+     */
+    public long getEvaluatedResiduals() {
+        return evaluatedResiduals;
+    }
+
+    /**
+     * Gets number of residuals that did not need to be evaluated because
+     * their hypothesis was rejected.
+     *
+     * @return number of saved residual evaluations.
+     */
+    public long getSavedResiduals() {
+        return savedResiduals;
+    }
+
+    /**
+     * Gets ratio of saved residual evaluations respect the number of
+     * residuals that would have been evaluated without pre-verification.
+     *
+     * @return ratio of saved residual evaluations, between 0.0 and 1.0.
+     */
+    public double getSavedResidualsRatio() {
+        final var total = evaluatedResiduals + savedResiduals;
+        return total > 0 ? (double) savedResiduals / (double) total : 0.0;
+    }
+
+    /**
+     * Resets statistics.
+     */
+    public void resetStatistics() {
+        testedHypotheses = 0;
+        rejectedHypotheses = 0;
+        evaluatedResiduals = 0;
+        savedResiduals = 0;
+    }
+
+    /**
+     * Returns type of pre-verifier.
+     *
+     * @return type of pre-verifier.
+     */
+    public abstract HypothesisPreVerifierType getType();
+
+    /**
+     * Creates a pre-verifier using provided type.
+     *
+     * @param type type of pre-verifier.
+     * @return a pre-verifier.
+     */
+    public static HypothesisPreVerifier create(final HypothesisPreVerifierType type) {
+        return type == HypothesisPreVerifierType.TDD_PRE_VERIFIER
+                ? new TDDHypothesisPreVerifier() : new SPRTHypothesisPreVerifier();
+    }
+
+    /**
+     * Creates a pre-verifier using provided type and seed.
+     *
+     * @param type type of pre-verifier.
+     * @param seed seed of random generator used to choose samples.
+     * @return a pre-verifier.
+     */
+    public static HypothesisPreVerifier create(final HypothesisPreVerifierType type, final long seed) {
+        return type == HypothesisPreVerifierType.TDD_PRE_VERIFIER
+                ? new TDDHypothesisPreVerifier(seed) : new SPRTHypothesisPreVerifier(seed);
+    }
+
+    /**
+     * Creates a pre-verifier using default type.
+     *
+     * @return a pre-verifier.
+     */
+    public static HypothesisPreVerifier create() {
+        return create(DEFAULT_TYPE);
+    }
+
+    /**
+     * Tests whether a hypothesis must be fully evaluated.
+     * Provided function returns the residual of the i-th randomly chosen
+     * sample, where i must be between 0 and the total number of samples
+     * (exclusive) and must not be repeated.
+     *
+     * @param residuals    function returning residual of i-th randomly chosen
+     *                     sample.
+     * @param totalSamples total number of samples.
+     * @param threshold    threshold to determine whether a sample is an
+     *                     inlier.
+     * @return true if hypothesis must be fully evaluated, false if it is
+     * rejected.
+     */
+    protected abstract boolean test(
+            final IntToDoubleFunction residuals, final int totalSamples, final double threshold);
+
+    /**
+     * Returns the residual of the i-th randomly chosen sample for the
+     * hypothesis being tested.
+     *
+     * @param i number of samples already chosen for current hypothesis.
+     * @return residual of chosen sample.
+     */
+    private double randomResidual(final int i) {
+        evaluated++;
+        return residuals.applyAsDouble(nextSample(i, totalSamples));
+    }
+
+    /**
+     * Chooses the i-th random sample without repetition by partially
+     * shuffling the permutation of sample positions.
+     *
+     * @param i            number of samples already chosen for current
+     *                     hypothesis.
+     * @param totalSamples total number of samples.
+     * @return position of chosen sample.
+     */
+    private int nextSample(final int i, final int totalSamples) {
+        final var j = i + random.nextInt(totalSamples - i);
+        final var sample = permutation[j];
+        permutation[j] = permutation[i];
+        permutation[i] = sample;
+        return sample;
+    }
+}
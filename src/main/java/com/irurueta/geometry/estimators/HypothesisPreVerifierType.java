@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+/**
+ * Defines types of randomized pre-verification of hypotheses generated by
+ * robust estimators.
+ */
+public enum HypothesisPreVerifierType {
+    /**
+     * T(d,d) test. A hypothesis is only fully evaluated if d randomly chosen
+     * samples are all inliers.
+     */
+    TDD_PRE_VERIFIER,
+
+    /**
+     * Wald's Sequential Probability Ratio Test (SPRT). Samples are evaluated
+     * in random order and a hypothesis is rejected as soon as the likelihood
+     * ratio of being a bad model exceeds a decision threshold.
+     */
+    SPRT_PRE_VERIFIER
+}
@@ -198,7 +198,7 @@ public class LMedSCircleRobustEstimator extends CircleRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<Circle>() {
+        final var innerListener = new LMedSRobustEstimatorListener<Circle>() {
 
             @Override
             public int getTotalSamples() {
@@ -261,7 +261,9 @@ public class LMedSCircleRobustEstimator extends CircleRobustEstimator {
                     listener.onEstimateProgressChange(LMedSCircleRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -197,7 +197,7 @@ public class LMedSConicRobustEstimator extends ConicRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<Conic>() {
+        final var innerListener = new LMedSRobustEstimatorListener<Conic>() {
 
             @Override
             public int getTotalSamples() {
@@ -262,7 +262,9 @@ public class LMedSConicRobustEstimator extends ConicRobustEstimator {
                     listener.onEstimateProgressChange(LMedSConicRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -237,7 +237,7 @@ public class LMedSDLTLinePlaneCorrespondencePinholeCameraRobustEstimator extends
         nonRobustEstimator.setSuggestCenterEnabled(isSuggestCenterEnabled());
         nonRobustEstimator.setSuggestedCenterValue(getSuggestedCenterValue());
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<PinholeCamera>() {
+        final var innerListener = new LMedSRobustEstimatorListener<PinholeCamera>() {
 
             // 3D planes for a subset of samples
             private final List<Plane> subsetPlanes = new ArrayList<>();
@@ -322,7 +322,9 @@ public class LMedSDLTLinePlaneCorrespondencePinholeCameraRobustEstimator extends
                             LMedSDLTLinePlaneCorrespondencePinholeCameraRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
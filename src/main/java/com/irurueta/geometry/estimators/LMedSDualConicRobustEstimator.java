@@ -197,7 +197,7 @@ public class LMedSDualConicRobustEstimator extends DualConicRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<DualConic>() {
+        final var innerListener = new LMedSRobustEstimatorListener<DualConic>() {
 
             @Override
             public int getTotalSamples() {
@@ -262,7 +262,9 @@ public class LMedSDualConicRobustEstimator extends DualConicRobustEstimator {
                     listener.onEstimateProgressChange(LMedSDualConicRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
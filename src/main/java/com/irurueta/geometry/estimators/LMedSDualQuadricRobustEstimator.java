@@ -199,7 +199,7 @@ public class LMedSDualQuadricRobustEstimator extends DualQuadricRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<DualQuadric>() {
+        final var innerListener = new LMedSRobustEstimatorListener<DualQuadric>() {
 
             @Override
             public int getTotalSamples() {
@@ -269,7 +269,9 @@ public class LMedSDualQuadricRobustEstimator extends DualQuadricRobustEstimator
                     listener.onEstimateProgressChange(LMedSDualQuadricRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -283,11 +283,12 @@ public class LMedSEuclideanTransformation2DRobustEstimator extends EuclideanTran
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(
+        final var innerEstimator = new LMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new LMedSRobustEstimatorListener<EuclideanTransformation2D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final EuclideanTransformation2DEstimator nonRobustEstimator =
                             new EuclideanTransformation2DEstimator(isWeakMinimumSizeAllowed());
@@ -326,6 +327,7 @@ public class LMedSEuclideanTransformation2DRobustEstimator extends EuclideanTran
 
                     @Override
                     public double computeResidual(final EuclideanTransformation2D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -371,7 +373,7 @@ public class LMedSEuclideanTransformation2DRobustEstimator extends EuclideanTran
                                     LMedSEuclideanTransformation2DRobustEstimator.this, progress);
                         }
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
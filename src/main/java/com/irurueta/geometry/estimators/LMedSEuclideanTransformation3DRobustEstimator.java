@@ -283,11 +283,12 @@ public class LMedSEuclideanTransformation3DRobustEstimator extends EuclideanTran
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(
+        final var innerEstimator = new LMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new LMedSRobustEstimatorListener<EuclideanTransformation3D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final EuclideanTransformation3DEstimator nonRobustEstimator =
                             new EuclideanTransformation3DEstimator(isWeakMinimumSizeAllowed());
@@ -326,6 +327,7 @@ public class LMedSEuclideanTransformation3DRobustEstimator extends EuclideanTran
 
                     @Override
                     public double computeResidual(final EuclideanTransformation3D currentEstimation, int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -371,7 +373,7 @@ public class LMedSEuclideanTransformation3DRobustEstimator extends EuclideanTran
                                     LMedSEuclideanTransformation3DRobustEstimator.this, progress);
                         }
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
@@ -197,7 +197,7 @@ public class LMedSLine2DRobustEstimator extends Line2DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<Line2D>() {
+        final var innerListener = new LMedSRobustEstimatorListener<Line2D>() {
 
             @Override
             public int getTotalSamples() {
@@ -261,7 +261,9 @@ public class LMedSLine2DRobustEstimator extends Line2DRobustEstimator {
                             LMedSLine2DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
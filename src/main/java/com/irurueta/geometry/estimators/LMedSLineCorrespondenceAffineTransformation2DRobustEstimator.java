@@ -218,11 +218,11 @@ public class LMedSLineCorrespondenceAffineTransformation2DRobustEstimator extend
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(
+        final var innerEstimator = new LMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new LMedSRobustEstimatorListener<AffineTransformation2D>() {
 
-                    // line to be reused when computing residuals
-                    private final Line2D testLine = new Line2D();
+                    // line to be reused by each thread when computing residuals
+                    private final ThreadLocal<Line2D> localTestLine = ThreadLocal.withInitial(Line2D::new);
 
                     @Override
                     public int getTotalSamples() {
@@ -256,6 +256,7 @@ public class LMedSLineCorrespondenceAffineTransformation2DRobustEstimator extend
 
                     @Override
                     public double computeResidual(final AffineTransformation2D currentEstimation, final int i) {
+                        final var testLine = localTestLine.get();
                         final var inputLine = inputLines.get(i);
                         final var outputLine = outputLines.get(i);
 
@@ -312,7 +313,7 @@ public class LMedSLineCorrespondenceAffineTransformation2DRobustEstimator extend
                                     progress);
                         }
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
@@ -218,11 +218,11 @@ public class LMedSLineCorrespondenceProjectiveTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(
+        final var innerEstimator = new LMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new LMedSRobustEstimatorListener<ProjectiveTransformation2D>() {
 
-                    // line to be reused when computing residuals
-                    private final Line2D testLine = new Line2D();
+                    // line to be reused by each thread when computing residuals
+                    private final ThreadLocal<Line2D> localTestLine = ThreadLocal.withInitial(Line2D::new);
 
                     @Override
                     public int getTotalSamples() {
@@ -258,6 +258,7 @@ public class LMedSLineCorrespondenceProjectiveTransformation2DRobustEstimator
 
                     @Override
                     public double computeResidual(final ProjectiveTransformation2D currentEstimation, final int i) {
+                        final var testLine = localTestLine.get();
                         final var inputLine = inputLines.get(i);
                         final var outputLine = outputLines.get(i);
 
@@ -314,7 +315,7 @@ public class LMedSLineCorrespondenceProjectiveTransformation2DRobustEstimator
                                     progress);
                         }
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
@@ -282,11 +282,12 @@ public class LMedSMetricTransformation2DRobustEstimator extends MetricTransforma
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(
+        final var innerEstimator = new LMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new LMedSRobustEstimatorListener<MetricTransformation2D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final MetricTransformation2DEstimator nonRobustEstimator =
                             new MetricTransformation2DEstimator(isWeakMinimumSizeAllowed());
@@ -325,6 +326,7 @@ public class LMedSMetricTransformation2DRobustEstimator extends MetricTransforma
 
                     @Override
                     public double computeResidual(final MetricTransformation2D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -370,7 +372,7 @@ public class LMedSMetricTransformation2DRobustEstimator extends MetricTransforma
                                     progress);
                         }
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
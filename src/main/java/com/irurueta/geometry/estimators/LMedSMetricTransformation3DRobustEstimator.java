@@ -275,11 +275,12 @@ public class LMedSMetricTransformation3DRobustEstimator extends MetricTransforma
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(
+        final var innerEstimator = new LMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new LMedSRobustEstimatorListener<MetricTransformation3D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final MetricTransformation3DEstimator nonRobustEstimator =
                             new MetricTransformation3DEstimator(isWeakMinimumSizeAllowed());
@@ -319,6 +320,7 @@ public class LMedSMetricTransformation3DRobustEstimator extends MetricTransforma
 
                     @Override
                     public double computeResidual(final MetricTransformation3D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -364,7 +366,7 @@ public class LMedSMetricTransformation3DRobustEstimator extends MetricTransforma
                                     LMedSMetricTransformation3DRobustEstimator.this, progress);
                         }
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
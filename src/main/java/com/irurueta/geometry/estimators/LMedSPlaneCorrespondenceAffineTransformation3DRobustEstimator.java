@@ -218,11 +218,11 @@ public class LMedSPlaneCorrespondenceAffineTransformation3DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(
+        final var innerEstimator = new LMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new LMedSRobustEstimatorListener<AffineTransformation3D>() {
 
-                    // plane to be reused when computing residuals
-                    private final Plane testPlane = new Plane();
+                    // plane to be reused by each thread when computing residuals
+                    private final ThreadLocal<Plane> localTestPlane = ThreadLocal.withInitial(Plane::new);
 
                     @Override
                     public int getTotalSamples() {
@@ -258,6 +258,7 @@ public class LMedSPlaneCorrespondenceAffineTransformation3DRobustEstimator
 
                     @Override
                     public double computeResidual(final AffineTransformation3D currentEstimation, final int i) {
+                        final var testPlane = localTestPlane.get();
                         final var inputLine = inputPlanes.get(i);
                         final var outputLine = outputPlanes.get(i);
 
@@ -314,7 +315,7 @@ public class LMedSPlaneCorrespondenceAffineTransformation3DRobustEstimator
                                     progress);
                         }
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
@@ -218,11 +218,11 @@ public class LMedSPlaneCorrespondenceProjectiveTransformation3DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(
+        final var innerEstimator = new LMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new LMedSRobustEstimatorListener<ProjectiveTransformation3D>() {
 
-                    // plane to be reused when computing residuals
-                    private final Plane testPlane = new Plane();
+                    // plane to be reused by each thread when computing residuals
+                    private final ThreadLocal<Plane> localTestPlane = ThreadLocal.withInitial(Plane::new);
 
                     @Override
                     public int getTotalSamples() {
@@ -261,6 +261,7 @@ public class LMedSPlaneCorrespondenceProjectiveTransformation3DRobustEstimator
 
                     @Override
                     public double computeResidual(final ProjectiveTransformation3D currentEstimation, final int i) {
+                        final var testPlane = localTestPlane.get();
                         final var inputPlane = inputPlanes.get(i);
                         final var outputPlane = outputPlanes.get(i);
 
@@ -317,7 +318,7 @@ public class LMedSPlaneCorrespondenceProjectiveTransformation3DRobustEstimator
                                     progress);
                         }
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
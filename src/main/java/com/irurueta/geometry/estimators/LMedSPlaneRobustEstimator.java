@@ -198,7 +198,7 @@ public class LMedSPlaneRobustEstimator extends PlaneRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<Plane>() {
+        final var innerListener = new LMedSRobustEstimatorListener<Plane>() {
 
             @Override
             public int getTotalSamples() {
@@ -261,7 +261,9 @@ public class LMedSPlaneRobustEstimator extends PlaneRobustEstimator {
                     listener.onEstimateProgressChange(LMedSPlaneRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
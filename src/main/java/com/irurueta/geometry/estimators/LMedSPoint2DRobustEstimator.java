@@ -197,7 +197,7 @@ public class LMedSPoint2DRobustEstimator extends Point2DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<Point2D>() {
+        final var innerListener = new LMedSRobustEstimatorListener<Point2D>() {
 
             @Override
             public int getTotalSamples() {
@@ -260,7 +260,9 @@ public class LMedSPoint2DRobustEstimator extends Point2DRobustEstimator {
                     listener.onEstimateProgressChange(LMedSPoint2DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
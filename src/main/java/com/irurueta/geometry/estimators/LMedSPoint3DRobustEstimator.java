@@ -197,7 +197,7 @@ public class LMedSPoint3DRobustEstimator extends Point3DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<Point3D>() {
+        final var innerListener = new LMedSRobustEstimatorListener<Point3D>() {
 
             @Override
             public int getTotalSamples() {
@@ -261,7 +261,9 @@ public class LMedSPoint3DRobustEstimator extends Point3DRobustEstimator {
                     listener.onEstimateProgressChange(LMedSPoint3DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -217,11 +217,12 @@ public class LMedSPointCorrespondenceAffineTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(
+        final var innerEstimator = new LMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new LMedSRobustEstimatorListener<AffineTransformation2D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     @Override
                     public int getTotalSamples() {
@@ -255,6 +256,7 @@ public class LMedSPointCorrespondenceAffineTransformation2DRobustEstimator
 
                     @Override
                     public double computeResidual(final AffineTransformation2D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -304,7 +306,7 @@ public class LMedSPointCorrespondenceAffineTransformation2DRobustEstimator
                                     progress);
                         }
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
@@ -217,11 +217,12 @@ public class LMedSPointCorrespondenceAffineTransformation3DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(
+        final var innerEstimator = new LMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new LMedSRobustEstimatorListener<AffineTransformation3D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     @Override
                     public int getTotalSamples() {
@@ -257,6 +258,7 @@ public class LMedSPointCorrespondenceAffineTransformation3DRobustEstimator
 
                     @Override
                     public double computeResidual(final AffineTransformation3D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -306,7 +308,7 @@ public class LMedSPointCorrespondenceAffineTransformation3DRobustEstimator
                                     progress);
                         }
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
@@ -217,11 +217,12 @@ public class LMedSPointCorrespondenceProjectiveTransformation3DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(
+        final var innerEstimator = new LMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new LMedSRobustEstimatorListener<ProjectiveTransformation3D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     @Override
                     public int getTotalSamples() {
@@ -260,6 +261,7 @@ public class LMedSPointCorrespondenceProjectiveTransformation3DRobustEstimator
 
                     @Override
                     public double computeResidual(final ProjectiveTransformation3D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -309,7 +311,7 @@ public class LMedSPointCorrespondenceProjectiveTransformation3DRobustEstimator
                                     progress);
                         }
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
@@ -197,7 +197,7 @@ public class LMedSQuadricRobustEstimator extends QuadricRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<Quadric>() {
+        final var innerListener = new LMedSRobustEstimatorListener<Quadric>() {
 
             @Override
             public int getTotalSamples() {
@@ -267,7 +267,9 @@ public class LMedSQuadricRobustEstimator extends QuadricRobustEstimator {
                     listener.onEstimateProgressChange(LMedSQuadricRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -197,7 +197,7 @@ public class LMedSSphereRobustEstimator extends SphereRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<Sphere>() {
+        final var innerListener = new LMedSRobustEstimatorListener<Sphere>() {
 
             @Override
             public int getTotalSamples() {
@@ -261,7 +261,9 @@ public class LMedSSphereRobustEstimator extends SphereRobustEstimator {
                     listener.onEstimateProgressChange(LMedSSphereRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -244,10 +244,11 @@ public class LMedSUPnPPointCorrespondencePinholeCameraRobustEstimator extends
         nonRobustEstimator.setSuggestCenterEnabled(isSuggestCenterEnabled());
         nonRobustEstimator.setSuggestedCenterValue(getSuggestedCenterValue());
 
-        final var innerEstimator = new LMedSRobustEstimator<>(new LMedSRobustEstimatorListener<PinholeCamera>() {
+        final var innerListener = new LMedSRobustEstimatorListener<PinholeCamera>() {
 
-            // point to be reused when computing residuals
-            private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+            // point to be reused by each thread when computing residuals
+            private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                    () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
             // 3D points for a subset of samples
             private final List<Point3D> subset3D = new ArrayList<>();
@@ -296,6 +297,7 @@ public class LMedSUPnPPointCorrespondencePinholeCameraRobustEstimator extends
 
             @Override
             public double computeResidual(final PinholeCamera currentEstimation, final int i) {
+                final var testPoint = localTestPoint.get();
                 // pick i-th points
                 final var point3D = points3D.get(i);
                 final var point2D = points2D.get(i);
@@ -341,7 +343,9 @@ public class LMedSUPnPPointCorrespondencePinholeCameraRobustEstimator extends
                             LMedSUPnPPointCorrespondencePinholeCameraRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new LMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
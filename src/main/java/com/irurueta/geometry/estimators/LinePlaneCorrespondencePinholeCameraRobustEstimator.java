@@ -55,9 +55,9 @@ public abstract class LinePlaneCorrespondencePinholeCameraRobustEstimator extend
     protected List<Line2D> lines;
 
     /**
-     * Plane to be reused when computing residuals.
+     * Plane to be reused by each thread when computing residuals.
      */
-    private final Plane residualTestPlane = new Plane();
+    private final ThreadLocal<Plane> residualTestPlane = ThreadLocal.withInitial(Plane::new);
 
     /**
      * Constructor.
@@ -530,12 +530,13 @@ public abstract class LinePlaneCorrespondencePinholeCameraRobustEstimator extend
     protected double singleBackprojectionResidual(
             final PinholeCamera pinholeCamera, final Line2D line, final Plane plane) {
         // back-project line into test plane
-        pinholeCamera.backProject(line, residualTestPlane);
-        residualTestPlane.normalize();
+        final var testPlane = residualTestPlane.get();
+        pinholeCamera.backProject(line, testPlane);
+        testPlane.normalize();
 
-        final var dotProduct = Math.abs(plane.getA() * residualTestPlane.getA()
-                + plane.getB() * residualTestPlane.getB() + plane.getC() * residualTestPlane.getC()
-                + plane.getD() * residualTestPlane.getD());
+        final var dotProduct = Math.abs(plane.getA() * testPlane.getA()
+                + plane.getB() * testPlane.getB() + plane.getC() * testPlane.getC()
+                + plane.getD() * testPlane.getD());
         return 1.0 - dotProduct;
     }
 
@@ -158,7 +158,7 @@ public class MSACCircleRobustEstimator extends CircleRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<Circle>() {
+        final var innerListener = new MSACRobustEstimatorListener<Circle>() {
 
             @Override
             public double getThreshold() {
@@ -226,7 +226,9 @@ public class MSACCircleRobustEstimator extends CircleRobustEstimator {
                     listener.onEstimateProgressChange(MSACCircleRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -159,7 +159,7 @@ public class MSACConicRobustEstimator extends ConicRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<Conic>() {
+        final var innerListener = new MSACRobustEstimatorListener<Conic>() {
 
             @Override
             public double getThreshold() {
@@ -229,7 +229,9 @@ public class MSACConicRobustEstimator extends ConicRobustEstimator {
                     listener.onEstimateProgressChange(MSACConicRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -225,7 +225,7 @@ public class MSACDLTLinePlaneCorrespondencePinholeCameraRobustEstimator extends
         nonRobustEstimator.setSuggestCenterEnabled(isSuggestCenterEnabled());
         nonRobustEstimator.setSuggestedCenterValue(getSuggestedCenterValue());
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<PinholeCamera>() {
+        final var innerListener = new MSACRobustEstimatorListener<PinholeCamera>() {
 
             // 3D planes for a subset of samples
             private final List<Plane> subsetPlanes = new ArrayList<>();
@@ -315,7 +315,9 @@ public class MSACDLTLinePlaneCorrespondencePinholeCameraRobustEstimator extends
                             MSACDLTLinePlaneCorrespondencePinholeCameraRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
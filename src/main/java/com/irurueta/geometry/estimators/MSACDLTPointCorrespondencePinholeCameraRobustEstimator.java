@@ -199,10 +199,11 @@ public class MSACDLTPointCorrespondencePinholeCameraRobustEstimator extends
         nonRobustEstimator.setSuggestedCenterValue(getSuggestedCenterValue());
 
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<PinholeCamera>() {
+        final var innerListener = new MSACRobustEstimatorListener<PinholeCamera>() {
 
-            // point to be reused when computing residuals
-            private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+            // point to be reused by each thread when computing residuals
+            private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                    () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
             // 3D points for a subset of samples
             private final List<Point3D> subset3D = new ArrayList<>();
@@ -256,6 +257,7 @@ public class MSACDLTPointCorrespondencePinholeCameraRobustEstimator extends
 
             @Override
             public double computeResidual(final PinholeCamera currentEstimation, final int i) {
+                final var testPoint = localTestPoint.get();
                 // pick i-th points
                 final var point3D = points3D.get(i);
                 final var point2D = points2D.get(i);
@@ -301,7 +303,10 @@ public class MSACDLTPointCorrespondencePinholeCameraRobustEstimator extends
                             MSACDLTPointCorrespondencePinholeCameraRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier,
+                        createLocalOptimizer(nonRobustEstimator)));
 
         try {
             locked = true;
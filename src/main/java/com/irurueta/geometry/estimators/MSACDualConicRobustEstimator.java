@@ -163,7 +163,7 @@ public class MSACDualConicRobustEstimator extends DualConicRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<DualConic>() {
+        final var innerListener = new MSACRobustEstimatorListener<DualConic>() {
 
             @Override
             public double getThreshold() {
@@ -233,7 +233,9 @@ public class MSACDualConicRobustEstimator extends DualConicRobustEstimator {
                     listener.onEstimateProgressChange(MSACDualConicRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -162,7 +162,7 @@ public class MSACDualQuadricRobustEstimator extends DualQuadricRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<DualQuadric>() {
+        final var innerListener = new MSACRobustEstimatorListener<DualQuadric>() {
 
             @Override
             public double getThreshold() {
@@ -237,7 +237,9 @@ public class MSACDualQuadricRobustEstimator extends DualQuadricRobustEstimator {
                     listener.onEstimateProgressChange(MSACDualQuadricRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
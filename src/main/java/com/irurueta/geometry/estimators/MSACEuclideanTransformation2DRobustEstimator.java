@@ -245,11 +245,12 @@ public class MSACEuclideanTransformation2DRobustEstimator extends EuclideanTrans
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(
+        final var innerEstimator = new MSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new MSACRobustEstimatorListener<EuclideanTransformation2D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final EuclideanTransformation2DEstimator nonRobustEstimator =
                             new EuclideanTransformation2DEstimator(isWeakMinimumSizeAllowed());
@@ -292,6 +293,7 @@ public class MSACEuclideanTransformation2DRobustEstimator extends EuclideanTrans
 
                     @Override
                     public double computeResidual(final EuclideanTransformation2D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -337,7 +339,7 @@ public class MSACEuclideanTransformation2DRobustEstimator extends EuclideanTrans
                                     MSACEuclideanTransformation2DRobustEstimator.this, progress);
                         }
                     }
-                });
+                }, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
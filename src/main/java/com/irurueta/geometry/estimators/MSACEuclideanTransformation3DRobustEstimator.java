@@ -245,11 +245,12 @@ public class MSACEuclideanTransformation3DRobustEstimator extends EuclideanTrans
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(
+        final var innerEstimator = new MSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new MSACRobustEstimatorListener<EuclideanTransformation3D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final EuclideanTransformation3DEstimator nonRobustEstimator =
                             new EuclideanTransformation3DEstimator(isWeakMinimumSizeAllowed());
@@ -292,6 +293,7 @@ public class MSACEuclideanTransformation3DRobustEstimator extends EuclideanTrans
 
                     @Override
                     public double computeResidual(final EuclideanTransformation3D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -337,7 +339,7 @@ public class MSACEuclideanTransformation3DRobustEstimator extends EuclideanTrans
                                     MSACEuclideanTransformation3DRobustEstimator.this, progress);
                         }
                     }
-                });
+                }, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
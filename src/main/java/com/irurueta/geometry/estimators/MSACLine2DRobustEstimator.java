@@ -157,7 +157,7 @@ public class MSACLine2DRobustEstimator extends Line2DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<Line2D>() {
+        final var innerListener = new MSACRobustEstimatorListener<Line2D>() {
 
             @Override
             public double getThreshold() {
@@ -224,7 +224,9 @@ public class MSACLine2DRobustEstimator extends Line2DRobustEstimator {
                     listener.onEstimateProgressChange(MSACLine2DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
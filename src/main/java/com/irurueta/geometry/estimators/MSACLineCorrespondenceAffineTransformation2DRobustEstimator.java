@@ -202,10 +202,10 @@ public class MSACLineCorrespondenceAffineTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<AffineTransformation2D>() {
+        final var innerListener = new MSACRobustEstimatorListener<AffineTransformation2D>() {
 
-            // line to be reused when computing residuals
-            private final Line2D testLine = new Line2D();
+            // line to be reused by each thread when computing residuals
+            private final ThreadLocal<Line2D> localTestLine = ThreadLocal.withInitial(Line2D::new);
 
             @Override
             public double getThreshold() {
@@ -244,6 +244,7 @@ public class MSACLineCorrespondenceAffineTransformation2DRobustEstimator
 
             @Override
             public double computeResidual(final AffineTransformation2D currentEstimation, final int i) {
+                final var testLine = localTestLine.get();
                 final var inputLine = inputLines.get(i);
                 final var outputLine = outputLines.get(i);
 
@@ -297,7 +298,9 @@ public class MSACLineCorrespondenceAffineTransformation2DRobustEstimator
                             MSACLineCorrespondenceAffineTransformation2DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -202,11 +202,11 @@ public class MSACLineCorrespondenceProjectiveTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(
+        final var innerEstimator = new MSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new MSACRobustEstimatorListener<ProjectiveTransformation2D>() {
 
-                    // line to be reused when computing residuals
-                    private final Line2D testLine = new Line2D();
+                    // line to be reused by each thread when computing residuals
+                    private final ThreadLocal<Line2D> localTestLine = ThreadLocal.withInitial(Line2D::new);
 
                     @Override
                     public double getThreshold() {
@@ -247,6 +247,7 @@ public class MSACLineCorrespondenceProjectiveTransformation2DRobustEstimator
 
                     @Override
                     public double computeResidual(final ProjectiveTransformation2D currentEstimation, final int i) {
+                        final var testLine = localTestLine.get();
                         final var inputLine = inputLines.get(i);
                         final var outputLine = outputLines.get(i);
 
@@ -303,7 +304,7 @@ public class MSACLineCorrespondenceProjectiveTransformation2DRobustEstimator
                                     progress);
                         }
                     }
-                });
+                }, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -244,10 +244,11 @@ public class MSACMetricTransformation2DRobustEstimator extends MetricTransformat
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<MetricTransformation2D>() {
+        final var innerListener = new MSACRobustEstimatorListener<MetricTransformation2D>() {
 
-            // point to be reused when computing residuals
-            private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+            // point to be reused by each thread when computing residuals
+            private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                    () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
             private final MetricTransformation2DEstimator nonRobustEstimator = new MetricTransformation2DEstimator(
                     isWeakMinimumSizeAllowed());
@@ -290,6 +291,7 @@ public class MSACMetricTransformation2DRobustEstimator extends MetricTransformat
 
             @Override
             public double computeResidual(final MetricTransformation2D currentEstimation, final int i) {
+                final var testPoint = localTestPoint.get();
                 final var inputPoint = inputPoints.get(i);
                 final var outputPoint = outputPoints.get(i);
 
@@ -335,7 +337,9 @@ public class MSACMetricTransformation2DRobustEstimator extends MetricTransformat
                             MSACMetricTransformation2DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
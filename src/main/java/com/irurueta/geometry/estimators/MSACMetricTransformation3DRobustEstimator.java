@@ -244,10 +244,11 @@ public class MSACMetricTransformation3DRobustEstimator extends MetricTransformat
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<MetricTransformation3D>() {
+        final var innerListener = new MSACRobustEstimatorListener<MetricTransformation3D>() {
 
-            // point to be reused when computing residuals
-            private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+            // point to be reused by each thread when computing residuals
+            private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                    () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
             private final MetricTransformation3DEstimator nonRobustEstimator = new MetricTransformation3DEstimator(
                     isWeakMinimumSizeAllowed());
@@ -290,6 +291,7 @@ public class MSACMetricTransformation3DRobustEstimator extends MetricTransformat
 
             @Override
             public double computeResidual(final MetricTransformation3D currentEstimation, final int i) {
+                final var testPoint = localTestPoint.get();
                 final var inputPoint = inputPoints.get(i);
                 final var outputPoint = outputPoints.get(i);
 
@@ -335,7 +337,9 @@ public class MSACMetricTransformation3DRobustEstimator extends MetricTransformat
                             MSACMetricTransformation3DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
@@ -202,10 +202,10 @@ public class MSACPlaneCorrespondenceAffineTransformation3DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<AffineTransformation3D>() {
+        final var innerListener = new MSACRobustEstimatorListener<AffineTransformation3D>() {
 
-            // plane to be reused when computing residuals
-            private final Plane testPlane = new Plane();
+            // plane to be reused by each thread when computing residuals
+            private final ThreadLocal<Plane> localTestPlane = ThreadLocal.withInitial(Plane::new);
 
             @Override
             public double getThreshold() {
@@ -246,6 +246,7 @@ public class MSACPlaneCorrespondenceAffineTransformation3DRobustEstimator
 
             @Override
             public double computeResidual(final AffineTransformation3D currentEstimation, final int i) {
+                final var testPlane = localTestPlane.get();
                 final var inputPlane = inputPlanes.get(i);
                 final var outputPlane = outputPlanes.get(i);
 
@@ -299,7 +300,9 @@ public class MSACPlaneCorrespondenceAffineTransformation3DRobustEstimator
                             MSACPlaneCorrespondenceAffineTransformation3DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
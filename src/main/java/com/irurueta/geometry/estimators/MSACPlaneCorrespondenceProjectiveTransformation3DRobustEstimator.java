@@ -202,11 +202,11 @@ public class MSACPlaneCorrespondenceProjectiveTransformation3DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(
+        final var innerEstimator = new MSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new MSACRobustEstimatorListener<ProjectiveTransformation3D>() {
 
-                    // plane to be reused when computing residuals
-                    private final Plane testPlane = new Plane();
+                    // plane to be reused by each thread when computing residuals
+                    private final ThreadLocal<Plane> localTestPlane = ThreadLocal.withInitial(Plane::new);
 
                     @Override
                     public double getThreshold() {
@@ -250,6 +250,7 @@ public class MSACPlaneCorrespondenceProjectiveTransformation3DRobustEstimator
 
                     @Override
                     public double computeResidual(final ProjectiveTransformation3D currentEstimation, final int i) {
+                        final var testPlane = localTestPlane.get();
                         final var inputPlane = inputPlanes.get(i);
                         final var outputPlane = outputPlanes.get(i);
 
@@ -306,7 +307,7 @@ public class MSACPlaneCorrespondenceProjectiveTransformation3DRobustEstimator
                                     progress);
                         }
                     }
-                });
+                }, parallelism, preVerifier));
 
         try {
             locked = true;
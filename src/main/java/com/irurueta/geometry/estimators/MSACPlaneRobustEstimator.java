@@ -158,7 +158,7 @@ public class MSACPlaneRobustEstimator extends PlaneRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<Plane>() {
+        final var innerListener = new MSACRobustEstimatorListener<Plane>() {
 
             @Override
             public double getThreshold() {
@@ -226,7 +226,9 @@ public class MSACPlaneRobustEstimator extends PlaneRobustEstimator {
                     listener.onEstimateProgressChange(MSACPlaneRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -158,7 +158,7 @@ public class MSACPoint2DRobustEstimator extends Point2DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<Point2D>() {
+        final var innerListener = new MSACRobustEstimatorListener<Point2D>() {
 
             @Override
             public double getThreshold() {
@@ -225,7 +225,9 @@ public class MSACPoint2DRobustEstimator extends Point2DRobustEstimator {
                     listener.onEstimateProgressChange(MSACPoint2DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
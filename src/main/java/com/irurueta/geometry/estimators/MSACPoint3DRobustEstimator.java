@@ -158,7 +158,7 @@ public class MSACPoint3DRobustEstimator extends Point3DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<Point3D>() {
+        final var innerListener = new MSACRobustEstimatorListener<Point3D>() {
 
             @Override
             public double getThreshold() {
@@ -227,7 +227,9 @@ public class MSACPoint3DRobustEstimator extends Point3DRobustEstimator {
                     listener.onEstimateProgressChange(MSACPoint3DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
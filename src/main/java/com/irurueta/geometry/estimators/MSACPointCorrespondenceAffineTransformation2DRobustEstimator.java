@@ -178,10 +178,11 @@ public class MSACPointCorrespondenceAffineTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<AffineTransformation2D>() {
+        final var innerListener = new MSACRobustEstimatorListener<AffineTransformation2D>() {
 
-            // point to be reused when computing residuals
-            private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+            // point to be reused by each thread when computing residuals
+            private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                    () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
             @Override
             public double getThreshold() {
@@ -220,6 +221,7 @@ public class MSACPointCorrespondenceAffineTransformation2DRobustEstimator
 
             @Override
             public double computeResidual(final AffineTransformation2D currentEstimation, final int i) {
+                final var testPoint = localTestPoint.get();
                 final var inputPoint = inputPoints.get(i);
                 final var outputPoint = outputPoints.get(i);
 
@@ -266,7 +268,9 @@ public class MSACPointCorrespondenceAffineTransformation2DRobustEstimator
                             MSACPointCorrespondenceAffineTransformation2DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
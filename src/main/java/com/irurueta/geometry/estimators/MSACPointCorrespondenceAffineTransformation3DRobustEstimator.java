@@ -178,10 +178,11 @@ public class MSACPointCorrespondenceAffineTransformation3DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<AffineTransformation3D>() {
+        final var innerListener = new MSACRobustEstimatorListener<AffineTransformation3D>() {
 
-            // point to be reused when computing residuals
-            private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+            // point to be reused by each thread when computing residuals
+            private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                    () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
             @Override
             public double getThreshold() {
@@ -222,6 +223,7 @@ public class MSACPointCorrespondenceAffineTransformation3DRobustEstimator
 
             @Override
             public double computeResidual(final AffineTransformation3D currentEstimation, final int i) {
+                final var testPoint = localTestPoint.get();
                 final var inputPoint = inputPoints.get(i);
                 final var outputPoint = outputPoints.get(i);
 
@@ -268,7 +270,9 @@ public class MSACPointCorrespondenceAffineTransformation3DRobustEstimator
                             MSACPointCorrespondenceAffineTransformation3DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
@@ -26,10 +26,14 @@ import com.irurueta.numerical.robust.RobustEstimatorException;
 import com.irurueta.numerical.robust.RobustEstimatorMethod;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Finds the best projective 2D transformation for provided collections of matched
  * 2D points using MSAC algorithm.
+ * Instances can be reused for subsequent estimations by setting new points,
+ * in which case the inner robust estimator, its listener and the
+ * transformations used as hypotheses are recycled.
  */
 @SuppressWarnings("DuplicatedCode")
 public class MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator
@@ -57,6 +61,33 @@ public class MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator
      */
     private double threshold;
 
+    /**
+     * Pool of transformations recycled as hypotheses when each estimation
+     * starts.
+     */
+    private final HypothesisPool<ProjectiveTransformation2D> hypothesisPool =
+            new HypothesisPool<>(ProjectiveTransformation2D::new);
+
+    /**
+     * Listener of inner robust estimator. It is created on first estimation
+     * and reused by subsequent ones.
+     */
+    private MSACRobustEstimatorListener<ProjectiveTransformation2D> innerListener;
+
+    /**
+     * Inner robust estimator. It is created on first estimation and reused by
+     * subsequent ones.
+     */
+    private MSACRobustEstimator<ProjectiveTransformation2D> innerEstimator;
+
+    /**
+     * Evaluator computing residuals of hypotheses of inner robust estimator.
+     * It is kept along with the listener wrapping the inner one, and both are
+     * only created again when parallelism, pre-verifier, threshold or
+     * local optimization settings change.
+     */
+    private ParallelResidualEvaluator<ProjectiveTransformation2D> evaluator;
+
     /**
      * Constructor.
      */
@@ -177,109 +208,127 @@ public class MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(
-                new MSACRobustEstimatorListener<ProjectiveTransformation2D>() {
-
-                    // point to be reused when computing residuals
-                    private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
-
-                    @Override
-                    public double getThreshold() {
-                        return threshold;
-                    }
-
-                    @Override
-                    public int getTotalSamples() {
-                        return inputPoints.size();
-                    }
-
-                    @Override
-                    public int getSubsetSize() {
-                        return ProjectiveTransformation2DRobustEstimator.MINIMUM_SIZE;
+        if (innerEstimator == null) {
+            innerListener = new MSACRobustEstimatorListener<>() {
+
+                // point to be reused by each thread when computing residuals
+                private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                        () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
+
+                @Override
+                public double getThreshold() {
+                    return threshold;
+                }
+
+                @Override
+                public int getTotalSamples() {
+                    return inputPoints.size();
+                }
+
+                @Override
+                public int getSubsetSize() {
+                    return ProjectiveTransformation2DRobustEstimator.MINIMUM_SIZE;
+                }
+
+                @Override
+                public void estimatePreliminarSolutions(
+                        final int[] samplesIndices, final List<ProjectiveTransformation2D> solutions) {
+                    final var inputPoint1 = inputPoints.get(samplesIndices[0]);
+                    final var inputPoint2 = inputPoints.get(samplesIndices[1]);
+                    final var inputPoint3 = inputPoints.get(samplesIndices[2]);
+                    final var inputPoint4 = inputPoints.get(samplesIndices[3]);
+
+                    final var outputPoint1 = outputPoints.get(samplesIndices[0]);
+                    final var outputPoint2 = outputPoints.get(samplesIndices[1]);
+                    final var outputPoint3 = outputPoints.get(samplesIndices[2]);
+                    final var outputPoint4 = outputPoints.get(samplesIndices[3]);
+
+                    final var transformation = hypothesisPool.acquire();
+                    try {
+                        transformation.setTransformationFromPoints(inputPoint1, inputPoint2, inputPoint3,
+                                inputPoint4, outputPoint1, outputPoint2, outputPoint3, outputPoint4);
+                        solutions.add(transformation);
+                    } catch (final CoincidentPointsException e) {
+                        // if points are coincident, no solution is added, and
+                        // transformation can be acquired again
+                        hypothesisPool.releaseLast();
                     }
-
-                    @Override
-                    public void estimatePreliminarSolutions(
-                            final int[] samplesIndices, final List<ProjectiveTransformation2D> solutions) {
-                        final var inputPoint1 = inputPoints.get(samplesIndices[0]);
-                        final var inputPoint2 = inputPoints.get(samplesIndices[1]);
-                        final var inputPoint3 = inputPoints.get(samplesIndices[2]);
-                        final var inputPoint4 = inputPoints.get(samplesIndices[3]);
-
-                        final var outputPoint1 = outputPoints.get(samplesIndices[0]);
-                        final var outputPoint2 = outputPoints.get(samplesIndices[1]);
-                        final var outputPoint3 = outputPoints.get(samplesIndices[2]);
-                        final var outputPoint4 = outputPoints.get(samplesIndices[3]);
-
-                        try {
-                            final var transformation = new ProjectiveTransformation2D(inputPoint1, inputPoint2,
-                                    inputPoint3, inputPoint4, outputPoint1, outputPoint2, outputPoint3, outputPoint4);
-                            solutions.add(transformation);
-                        } catch (final CoincidentPointsException e) {
-                            // if points are coincident, no solution is added
-                        }
+                }
+
+                @Override
+                public double computeResidual(final ProjectiveTransformation2D currentEstimation, final int i) {
+                    final var testPoint = localTestPoint.get();
+                    final var inputPoint = inputPoints.get(i);
+                    final var outputPoint = outputPoints.get(i);
+
+                    // transform input point and store result in mTestPoint
+                    currentEstimation.transform(inputPoint, testPoint);
+
+                    return outputPoint.distanceTo(testPoint);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator.this.isReady();
+                }
+
+                @Override
+                public void onEstimateStart(final RobustEstimator<ProjectiveTransformation2D> estimator) {
+                    if (listener != null) {
+                        listener.onEstimateStart(
+                                MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator.this);
                     }
+                }
 
-                    @Override
-                    public double computeResidual(final ProjectiveTransformation2D currentEstimation, final int i) {
-                        final var inputPoint = inputPoints.get(i);
-                        final var outputPoint = outputPoints.get(i);
-
-                        // transform input point and store result in mTestPoint
-                        currentEstimation.transform(inputPoint, testPoint);
-
-                        return outputPoint.distanceTo(testPoint);
+                @Override
+                public void onEstimateEnd(final RobustEstimator<ProjectiveTransformation2D> estimator) {
+                    if (listener != null) {
+                        listener.onEstimateEnd(
+                                MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator.this);
                     }
-
-                    @Override
-                    public boolean isReady() {
-                        return MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator.this.isReady();
+                }
+
+                @Override
+                public void onEstimateNextIteration(
+                        final RobustEstimator<ProjectiveTransformation2D> estimator, final int iteration) {
+                    if (listener != null) {
+                        listener.onEstimateNextIteration(
+                                MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator.this,
+                                iteration);
                     }
-
-                    @Override
-                    public void onEstimateStart(final RobustEstimator<ProjectiveTransformation2D> estimator) {
-                        if (listener != null) {
-                            listener.onEstimateStart(
-                                    MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator.this);
-                        }
+                }
+
+                @Override
+                public void onEstimateProgressChange(
+                        final RobustEstimator<ProjectiveTransformation2D> estimator, final float progress) {
+                    if (listener != null) {
+                        listener.onEstimateProgressChange(
+                                MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator.this,
+                                progress);
                     }
-
-                    @Override
-                    public void onEstimateEnd(final RobustEstimator<ProjectiveTransformation2D> estimator) {
-                        if (listener != null) {
-                            listener.onEstimateEnd(
-                                    MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator.this);
-                        }
-                    }
-
-                    @Override
-                    public void onEstimateNextIteration(
-                            final RobustEstimator<ProjectiveTransformation2D> estimator, final int iteration) {
-                        if (listener != null) {
-                            listener.onEstimateNextIteration(
-                                    MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator.this,
-                                    iteration);
-                        }
-                    }
-
-                    @Override
-                    public void onEstimateProgressChange(
-                            final RobustEstimator<ProjectiveTransformation2D> estimator, final float progress) {
-                        if (listener != null) {
-                            listener.onEstimateProgressChange(
-                                    MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator.this,
-                                    progress);
-                        }
-                    }
-                });
+                }
+            };
+            innerEstimator = new MSACRobustEstimator<>();
+        }
 
         try {
             locked = true;
             inliersData = null;
+            if (evaluator == null || evaluator.getParallelism() != parallelism
+                    || evaluator.getPreVerifier() != preVerifier || evaluator.getThreshold() != threshold
+                    || (evaluator.getLocalOptimizer() != null) != localOptimizationEnabled) {
+                evaluator = new ParallelResidualEvaluator<>(innerListener::computeResidual, parallelism,
+                        ForkJoinPool.commonPool(), preVerifier, threshold, createLocalOptimizer());
+                innerEstimator.setListener(ParallelResidualEvaluator.wrap(innerListener, evaluator,
+                        hypothesisPool));
+            }
+            evaluator.reset();
             innerEstimator.setConfidence(confidence);
             innerEstimator.setMaxIterations(maxIterations);
             innerEstimator.setProgressDelta(progressDelta);
-            final var transformation = innerEstimator.estimate();
+            // hypotheses are recycled by next estimation, hence a copy of the
+            // best one is kept
+            final var transformation = new ProjectiveTransformation2D(innerEstimator.estimate().asMatrix());
             inliersData = innerEstimator.getInliersData();
             return attemptRefine(transformation);
         } catch (final com.irurueta.numerical.LockedException e) {
@@ -177,11 +177,12 @@ public class MSACPointCorrespondenceProjectiveTransformation3DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(
+        final var innerEstimator = new MSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new MSACRobustEstimatorListener<ProjectiveTransformation3D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     @Override
                     public double getThreshold() {
@@ -225,6 +226,7 @@ public class MSACPointCorrespondenceProjectiveTransformation3DRobustEstimator
 
                     @Override
                     public double computeResidual(final ProjectiveTransformation3D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -274,7 +276,7 @@ public class MSACPointCorrespondenceProjectiveTransformation3DRobustEstimator
                                     progress);
                         }
                     }
-                });
+                }, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
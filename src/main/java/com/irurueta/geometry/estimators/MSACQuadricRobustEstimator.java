@@ -161,7 +161,7 @@ public class MSACQuadricRobustEstimator extends QuadricRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<Quadric>() {
+        final var innerListener = new MSACRobustEstimatorListener<Quadric>() {
 
             @Override
             public double getThreshold() {
@@ -236,7 +236,9 @@ public class MSACQuadricRobustEstimator extends QuadricRobustEstimator {
                     listener.onEstimateProgressChange(MSACQuadricRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
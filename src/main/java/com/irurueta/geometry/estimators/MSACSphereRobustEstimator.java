@@ -158,7 +158,7 @@ public class MSACSphereRobustEstimator extends SphereRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new MSACRobustEstimator<>(new MSACRobustEstimatorListener<Sphere>() {
+        final var innerListener = new MSACRobustEstimatorListener<Sphere>() {
 
             @Override
             public double getThreshold() {
@@ -227,7 +227,9 @@ public class MSACSphereRobustEstimator extends SphereRobustEstimator {
                     listener.onEstimateProgressChange(MSACSphereRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new MSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
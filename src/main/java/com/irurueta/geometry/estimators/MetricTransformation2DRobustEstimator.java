@@ -16,6 +16,7 @@
 package com.irurueta.geometry.estimators;
 
 import com.irurueta.algebra.Matrix;
+import com.irurueta.geometry.CoincidentPointsException;
 import com.irurueta.geometry.MetricTransformation2D;
 import com.irurueta.geometry.Point2D;
 import com.irurueta.geometry.refiners.MetricTransformation2DRefiner;
@@ -23,6 +24,7 @@ import com.irurueta.numerical.robust.InliersData;
 import com.irurueta.numerical.robust.RobustEstimatorException;
 import com.irurueta.numerical.robust.RobustEstimatorMethod;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -88,6 +90,17 @@ public abstract class MetricTransformation2DRobustEstimator {
      */
     public static final int MIN_ITERATIONS = 1;
 
+    /**
+     * Default number of tasks residuals of each hypothesis are split into.
+     * By default, residuals are computed sequentially.
+     */
+    public static final int DEFAULT_PARALLELISM = ParallelResidualEvaluator.DEFAULT_PARALLELISM;
+
+    /**
+     * Minimum allowed number of tasks residuals are split into.
+     */
+    public static final int MIN_PARALLELISM = ParallelResidualEvaluator.MIN_PARALLELISM;
+
     /**
      * Indicates that is refined by default using Levenberg-Marquardt
      * fitting algorithm over found inliers.
@@ -104,6 +117,12 @@ public abstract class MetricTransformation2DRobustEstimator {
      */
     public static final RobustEstimatorMethod DEFAULT_ROBUST_METHOD = RobustEstimatorMethod.PROMEDS;
 
+    /**
+     * Indicates that by default hypotheses are not locally optimized during
+     * robust estimation.
+     */
+    public static final boolean DEFAULT_LOCAL_OPTIMIZATION_ENABLED = false;
+
     /**
      * Listener to be notified of events such as when estimation starts, ends
      * or its progress significantly changes.
@@ -137,6 +156,20 @@ public abstract class MetricTransformation2DRobustEstimator {
      */
     protected int maxIterations;
 
+    /**
+     * Number of tasks residuals of each hypothesis are split into.
+     * Hypotheses are still generated sequentially, hence results do not
+     * depend on this value.
+     */
+    protected int parallelism;
+
+    /**
+     * Pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples, or null if hypotheses are
+     * always evaluated against all samples.
+     */
+    protected HypothesisPreVerifier preVerifier;
+
     /**
      * Data related to inliers found after estimation.
      */
@@ -181,6 +214,14 @@ public abstract class MetricTransformation2DRobustEstimator {
      */
     protected List<Point2D> outputPoints;
 
+    /**
+     * Indicates whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC). Only RANSAC, MSAC and PROSAC methods use local
+     * optimization.
+     */
+    protected boolean localOptimizationEnabled = DEFAULT_LOCAL_OPTIMIZATION_ENABLED;
+
     /**
      * Indicates whether estimation can start with only 2 points or not.
      * True allows 2 points, false requires 3.
@@ -194,6 +235,7 @@ public abstract class MetricTransformation2DRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
         refineResult = DEFAULT_REFINE_RESULT;
         keepCovariance = DEFAULT_KEEP_COVARIANCE;
     }
@@ -589,6 +631,76 @@ public abstract class MetricTransformation2DRobustEstimator {
         this.maxIterations = maxIterations;
     }
 
+    /**
+     * Returns number of tasks residuals of each hypothesis are split into.
+     * When more than one task is used, residuals of all samples are split
+     * into tasks run on the common fork-join pool, hence the number of
+     * threads actually used is bounded by the parallelism of that pool.
+     * Hypotheses are still generated sequentially, so that results are the
+     * same as when residuals are computed sequentially.
+     *
+     * @return number of tasks residuals are split into.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets number of tasks residuals of each hypothesis are split into.
+     * When more than one task is used, residuals of all samples are split
+     * into tasks run on the common fork-join pool, hence the number of
+     * threads actually used is bounded by the parallelism of that pool.
+     * Hypotheses are still generated sequentially, so that results are the
+     * same as when residuals are computed sequentially.
+     *
+     * @param parallelism number of tasks residuals are split into.
+     * @throws IllegalArgumentException if provided value is less than 1.
+     * @throws LockedException          if this estimator is locked because an
+     *                                  estimation is being computed.
+     */
+    public void setParallelism(final int parallelism) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples.
+     * Pre-verification is only done by methods using a threshold to determine
+     * inliers (RANSAC, MSAC and PROSAC), and statistics about saved residual
+     * evaluations can be obtained from returned instance.
+     *
+     * @return pre-verifier or null if hypotheses are always evaluated against
+     * all samples.
+     */
+    public HypothesisPreVerifier getPreVerifier() {
+        return preVerifier;
+    }
+
+    /**
+     * Sets pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples.
+     * Pre-verification is only done by methods using a threshold to determine
+     * inliers (RANSAC, MSAC and PROSAC), and statistics about saved residual
+     * evaluations can be obtained from provided instance.
+     *
+     * @param preVerifier pre-verifier or null if hypotheses must always be
+     *                    evaluated against all samples.
+     * @throws LockedException if this estimator is locked because an
+     *                         estimation is being computed.
+     */
+    public void setPreVerifier(final HypothesisPreVerifier preVerifier) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.preVerifier = preVerifier;
+    }
+
     /**
      * Gets data related to inliers found after estimation.
      *
@@ -1413,6 +1525,76 @@ public abstract class MetricTransformation2DRobustEstimator {
         this.outputPoints = outputPoints;
     }
 
+    /**
+     * Indicates whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC).
+     * Locally optimized hypotheses are evaluated by the robust estimator as
+     * any other hypothesis, which typically reduces the number of iterations
+     * required to reach the requested confidence.
+     * Only RANSAC, MSAC and PROSAC methods use local optimization.
+     *
+     * @return true if hypotheses are locally optimized, false otherwise.
+     */
+    public boolean isLocalOptimizationEnabled() {
+        return localOptimizationEnabled;
+    }
+
+    /**
+     * Specifies whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC).
+     * Only RANSAC, MSAC and PROSAC methods use local optimization.
+     *
+     * @param localOptimizationEnabled true to locally optimize hypotheses,
+     *                                 false otherwise.
+     * @throws LockedException if estimator is locked.
+     */
+    public void setLocalOptimizationEnabled(final boolean localOptimizationEnabled) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.localOptimizationEnabled = localOptimizationEnabled;
+    }
+
+    /**
+     * Creates a local optimizer re-estimating hypotheses with a least mean
+     * squared error solution over all their inliers.
+     *
+     * @return local optimizer or null if local optimization is disabled.
+     */
+    protected ParallelResidualEvaluator.LocalOptimizer<MetricTransformation2D> createLocalOptimizer() {
+        if (!localOptimizationEnabled) {
+            return null;
+        }
+
+        final var estimator = new MetricTransformation2DEstimator(isWeakMinimumSizeAllowed());
+        final var inlierInputPoints = new ArrayList<Point2D>();
+        final var inlierOutputPoints = new ArrayList<Point2D>();
+        return (transformation, inliers, residuals, numInliers) -> {
+            if (numInliers < estimator.getMinimumPoints()) {
+                // not enough inliers to re-estimate hypothesis
+                return null;
+            }
+
+            inlierInputPoints.clear();
+            inlierOutputPoints.clear();
+            for (var i = inliers.nextSetBit(0); i >= 0; i = inliers.nextSetBit(i + 1)) {
+                inlierInputPoints.add(inputPoints.get(i));
+                inlierOutputPoints.add(outputPoints.get(i));
+            }
+
+            try {
+                estimator.setPoints(inlierInputPoints, inlierOutputPoints);
+                return estimator.estimate();
+            } catch (final LockedException | NotReadyException | CoincidentPointsException e) {
+                // if inliers configuration is degenerate, hypothesis is kept
+                // as it is
+                return null;
+            }
+        };
+    }
+
     /**
      * Attempts to refine provided solution if refinement is requested.
      * This method returns a refined solution of the same provided solution
@@ -317,7 +317,7 @@ public class PROMedSCircleRobustEstimator extends CircleRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<Circle>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<Circle>() {
 
             @Override
             public double getThreshold() {
@@ -390,7 +390,9 @@ public class PROMedSCircleRobustEstimator extends CircleRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -318,7 +318,7 @@ public class PROMedSConicRobustEstimator extends ConicRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<Conic>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<Conic>() {
 
             @Override
             public double getThreshold() {
@@ -393,7 +393,9 @@ public class PROMedSConicRobustEstimator extends ConicRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -375,7 +375,7 @@ public class PROMedSDLTLinePlaneCorrespondencePinholeCameraRobustEstimator
         nonRobustEstimator.setSuggestCenterEnabled(isSuggestCenterEnabled());
         nonRobustEstimator.setSuggestedCenterValue(getSuggestedCenterValue());
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<PinholeCamera>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<PinholeCamera>() {
 
             // 3D planes for a subset of samples
             private final List<Plane> subsetPlanes = new ArrayList<>();
@@ -470,7 +470,9 @@ public class PROMedSDLTLinePlaneCorrespondencePinholeCameraRobustEstimator
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
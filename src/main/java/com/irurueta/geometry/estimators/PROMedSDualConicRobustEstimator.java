@@ -319,7 +319,7 @@ public class PROMedSDualConicRobustEstimator extends DualConicRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<DualConic>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<DualConic>() {
 
             @Override
             public double getThreshold() {
@@ -394,7 +394,9 @@ public class PROMedSDualConicRobustEstimator extends DualConicRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
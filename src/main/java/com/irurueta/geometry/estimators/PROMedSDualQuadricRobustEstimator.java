@@ -320,7 +320,7 @@ public class PROMedSDualQuadricRobustEstimator extends DualQuadricRobustEstimato
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<DualQuadric>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<DualQuadric>() {
 
             @Override
             public double getThreshold() {
@@ -400,7 +400,9 @@ public class PROMedSDualQuadricRobustEstimator extends DualQuadricRobustEstimato
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -316,7 +316,7 @@ public class PROMedSLine2DRobustEstimator extends Line2DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<Line2D>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<Line2D>() {
 
             @Override
             public double getThreshold() {
@@ -388,7 +388,9 @@ public class PROMedSLine2DRobustEstimator extends Line2DRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -356,7 +356,7 @@ public class PROMedSLineCorrespondenceAffineTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(
+        final var innerEstimator = new PROMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROMedSRobustEstimatorListener<AffineTransformation2D>() {
 
                     // line to be reused when computing residuals
@@ -460,7 +460,7 @@ public class PROMedSLineCorrespondenceAffineTransformation2DRobustEstimator
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
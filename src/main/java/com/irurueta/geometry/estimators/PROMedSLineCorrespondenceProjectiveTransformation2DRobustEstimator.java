@@ -357,11 +357,11 @@ public class PROMedSLineCorrespondenceProjectiveTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(
+        final var innerEstimator = new PROMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROMedSRobustEstimatorListener<ProjectiveTransformation2D>() {
 
-                    // line to be reused when computing residuals
-                    private final Line2D testLine = new Line2D();
+                    // line to be reused by each thread when computing residuals
+                    private final ThreadLocal<Line2D> localTestLine = ThreadLocal.withInitial(Line2D::new);
 
                     @Override
                     public double getThreshold() {
@@ -402,6 +402,7 @@ public class PROMedSLineCorrespondenceProjectiveTransformation2DRobustEstimator
 
                     @Override
                     public double computeResidual(final ProjectiveTransformation2D currentEstimation, final int i) {
+                        final var testLine = localTestLine.get();
                         final var inputLine = inputLines.get(i);
                         final var outputLine = outputLines.get(i);
 
@@ -463,7 +464,7 @@ public class PROMedSLineCorrespondenceProjectiveTransformation2DRobustEstimator
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
@@ -523,11 +523,12 @@ public class PROMedSMetricTransformation2DRobustEstimator extends MetricTransfor
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(
+        final var innerEstimator = new PROMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROMedSRobustEstimatorListener<MetricTransformation2D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final MetricTransformation2DEstimator nonRobustEstimator =
                             new MetricTransformation2DEstimator(isWeakMinimumSizeAllowed());
@@ -571,6 +572,7 @@ public class PROMedSMetricTransformation2DRobustEstimator extends MetricTransfor
 
                     @Override
                     public double computeResidual(final MetricTransformation2D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -621,7 +623,7 @@ public class PROMedSMetricTransformation2DRobustEstimator extends MetricTransfor
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
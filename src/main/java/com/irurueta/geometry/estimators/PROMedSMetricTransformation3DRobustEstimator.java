@@ -524,11 +524,12 @@ public class PROMedSMetricTransformation3DRobustEstimator extends MetricTransfor
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(
+        final var innerEstimator = new PROMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROMedSRobustEstimatorListener<MetricTransformation3D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final MetricTransformation3DEstimator nonRobustEstimator =
                             new MetricTransformation3DEstimator(isWeakMinimumSizeAllowed());
@@ -571,6 +572,7 @@ public class PROMedSMetricTransformation3DRobustEstimator extends MetricTransfor
 
                     @Override
                     public double computeResidual(final MetricTransformation3D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -621,7 +623,7 @@ public class PROMedSMetricTransformation3DRobustEstimator extends MetricTransfor
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
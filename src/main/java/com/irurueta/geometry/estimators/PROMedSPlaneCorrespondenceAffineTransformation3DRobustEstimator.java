@@ -357,11 +357,11 @@ public class PROMedSPlaneCorrespondenceAffineTransformation3DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(
+        final var innerEstimator = new PROMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROMedSRobustEstimatorListener<AffineTransformation3D>() {
 
-                    // plane to be reused when computing residuals
-                    private final Plane testPlane = new Plane();
+                    // plane to be reused by each thread when computing residuals
+                    private final ThreadLocal<Plane> localTestPlane = ThreadLocal.withInitial(Plane::new);
 
                     @Override
                     public double getThreshold() {
@@ -402,6 +402,7 @@ public class PROMedSPlaneCorrespondenceAffineTransformation3DRobustEstimator
 
                     @Override
                     public double computeResidual(final AffineTransformation3D currentEstimation, final int i) {
+                        final var testPlane = localTestPlane.get();
                         final var inputPlane = inputPlanes.get(i);
                         final var outputPlane = outputPlanes.get(i);
 
@@ -463,7 +464,7 @@ public class PROMedSPlaneCorrespondenceAffineTransformation3DRobustEstimator
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
@@ -357,11 +357,11 @@ public class PROMedSPlaneCorrespondenceProjectiveTransformation3DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(
+        final var innerEstimator = new PROMedSRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROMedSRobustEstimatorListener<ProjectiveTransformation3D>() {
 
-                    // plane to be reused when computing residuals
-                    private final Plane testPlane = new Plane();
+                    // plane to be reused by each thread when computing residuals
+                    private final ThreadLocal<Plane> localTestPlane = ThreadLocal.withInitial(Plane::new);
 
                     @Override
                     public double getThreshold() {
@@ -405,6 +405,7 @@ public class PROMedSPlaneCorrespondenceProjectiveTransformation3DRobustEstimator
 
                     @Override
                     public double computeResidual(final ProjectiveTransformation3D currentEstimation, final int i) {
+                        final var testPlane = localTestPlane.get();
                         final var inputPlane = inputPlanes.get(i);
                         final var outputPlane = outputPlanes.get(i);
 
@@ -466,7 +467,7 @@ public class PROMedSPlaneCorrespondenceProjectiveTransformation3DRobustEstimator
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism));
 
         try {
             locked = true;
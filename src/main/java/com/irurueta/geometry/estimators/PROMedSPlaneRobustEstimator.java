@@ -316,7 +316,7 @@ public class PROMedSPlaneRobustEstimator extends PlaneRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<Plane>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<Plane>() {
 
             @Override
             public double getThreshold() {
@@ -389,7 +389,9 @@ public class PROMedSPlaneRobustEstimator extends PlaneRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -317,7 +317,7 @@ public class PROMedSPoint2DRobustEstimator extends Point2DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<Point2D>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<Point2D>() {
 
             @Override
             public double getThreshold() {
@@ -389,7 +389,9 @@ public class PROMedSPoint2DRobustEstimator extends Point2DRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -316,7 +316,7 @@ public class PROMedSPoint3DRobustEstimator extends Point3DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<Point3D>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<Point3D>() {
 
             @Override
             public double getThreshold() {
@@ -391,7 +391,9 @@ public class PROMedSPoint3DRobustEstimator extends Point3DRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
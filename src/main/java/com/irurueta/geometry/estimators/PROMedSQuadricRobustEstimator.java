@@ -319,7 +319,7 @@ public class PROMedSQuadricRobustEstimator extends QuadricRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<Quadric>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<Quadric>() {
 
             @Override
             public double getThreshold() {
@@ -399,7 +399,9 @@ public class PROMedSQuadricRobustEstimator extends QuadricRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -317,7 +317,7 @@ public class PROMedSSphereRobustEstimator extends SphereRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<Sphere>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<Sphere>() {
 
             @Override
             public double getThreshold() {
@@ -391,7 +391,9 @@ public class PROMedSSphereRobustEstimator extends SphereRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -383,10 +383,11 @@ public class PROMedSUPnPPointCorrespondencePinholeCameraRobustEstimator extends
         nonRobustEstimator.setSuggestCenterEnabled(isSuggestCenterEnabled());
         nonRobustEstimator.setSuggestedCenterValue(getSuggestedCenterValue());
 
-        final var innerEstimator = new PROMedSRobustEstimator<>(new PROMedSRobustEstimatorListener<PinholeCamera>() {
+        final var innerListener = new PROMedSRobustEstimatorListener<PinholeCamera>() {
 
-                    // point to be reused when computing residuals
-                    private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     // 3D points for a subset of samples
                     private final List<Point3D> subset3D = new ArrayList<>();
@@ -441,6 +442,7 @@ public class PROMedSUPnPPointCorrespondencePinholeCameraRobustEstimator extends
 
                     @Override
                     public double computeResidual(final PinholeCamera currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         // pick i-th points
                         final var point3D = points3D.get(i);
                         final var point2D = points2D.get(i);
@@ -496,7 +498,9 @@ public class PROMedSUPnPPointCorrespondencePinholeCameraRobustEstimator extends
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                };
+        final var innerEstimator = new PROMedSRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism));
 
         try {
             locked = true;
@@ -277,7 +277,7 @@ public class PROSACCircleRobustEstimator extends CircleRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(new PROSACRobustEstimatorListener<Circle>() {
+        final var innerListener = new PROSACRobustEstimatorListener<Circle>() {
 
             @Override
             public double getThreshold() {
@@ -350,7 +350,9 @@ public class PROSACCircleRobustEstimator extends CircleRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
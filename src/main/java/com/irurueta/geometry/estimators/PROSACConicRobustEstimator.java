@@ -278,7 +278,7 @@ public class PROSACConicRobustEstimator extends ConicRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(new PROSACRobustEstimatorListener<Conic>() {
+        final var innerListener = new PROSACRobustEstimatorListener<Conic>() {
 
                     @Override
                     public double getThreshold() {
@@ -353,7 +353,9 @@ public class PROSACConicRobustEstimator extends ConicRobustEstimator {
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                };
+        final var innerEstimator = new PROSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -449,7 +449,7 @@ public class PROSACDLTLinePlaneCorrespondencePinholeCameraRobustEstimator
         nonRobustEstimator.setSuggestCenterEnabled(isSuggestCenterEnabled());
         nonRobustEstimator.setSuggestedCenterValue(getSuggestedCenterValue());
 
-        final var innerEstimator = new PROSACRobustEstimator<>(new PROSACRobustEstimatorListener<PinholeCamera>() {
+        final var innerListener = new PROSACRobustEstimatorListener<PinholeCamera>() {
 
             // 3D planes for a subset of samples
             private final List<Plane> subsetPlanes = new ArrayList<>();
@@ -545,7 +545,9 @@ public class PROSACDLTLinePlaneCorrespondencePinholeCameraRobustEstimator
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -281,7 +281,7 @@ public class PROSACDualConicRobustEstimator extends DualConicRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(new PROSACRobustEstimatorListener<DualConic>() {
+        final var innerListener = new PROSACRobustEstimatorListener<DualConic>() {
 
             @Override
             public double getThreshold() {
@@ -356,7 +356,9 @@ public class PROSACDualConicRobustEstimator extends DualConicRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -281,7 +281,7 @@ public class PROSACDualQuadricRobustEstimator extends DualQuadricRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(new PROSACRobustEstimatorListener<DualQuadric>() {
+        final var innerListener = new PROSACRobustEstimatorListener<DualQuadric>() {
 
             @Override
             public double getThreshold() {
@@ -361,7 +361,9 @@ public class PROSACDualQuadricRobustEstimator extends DualQuadricRobustEstimator
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
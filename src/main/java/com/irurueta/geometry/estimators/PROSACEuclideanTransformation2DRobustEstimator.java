@@ -583,11 +583,12 @@ public class PROSACEuclideanTransformation2DRobustEstimator extends EuclideanTra
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(
+        final var innerEstimator = new PROSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROSACRobustEstimatorListener<EuclideanTransformation2D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final EuclideanTransformation2DEstimator nonRobustEstimator =
                             new EuclideanTransformation2DEstimator(isWeakMinimumSizeAllowed());
@@ -631,6 +632,7 @@ public class PROSACEuclideanTransformation2DRobustEstimator extends EuclideanTra
 
                     @Override
                     public double computeResidual(final EuclideanTransformation2D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -681,7 +683,7 @@ public class PROSACEuclideanTransformation2DRobustEstimator extends EuclideanTra
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
@@ -584,11 +584,12 @@ public class PROSACEuclideanTransformation3DRobustEstimator extends EuclideanTra
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(
+        final var innerEstimator = new PROSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROSACRobustEstimatorListener<EuclideanTransformation3D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final EuclideanTransformation3DEstimator nonRobustEstimator =
                             new EuclideanTransformation3DEstimator(isWeakMinimumSizeAllowed());
@@ -631,6 +632,7 @@ public class PROSACEuclideanTransformation3DRobustEstimator extends EuclideanTra
 
                     @Override
                     public double computeResidual(final EuclideanTransformation3D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -681,7 +683,7 @@ public class PROSACEuclideanTransformation3DRobustEstimator extends EuclideanTra
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
@@ -275,7 +275,7 @@ public class PROSACLine2DRobustEstimator extends Line2DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(new PROSACRobustEstimatorListener<Line2D>() {
+        final var innerListener = new PROSACRobustEstimatorListener<Line2D>() {
 
             @Override
             public double getThreshold() {
@@ -347,7 +347,9 @@ public class PROSACLine2DRobustEstimator extends Line2DRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
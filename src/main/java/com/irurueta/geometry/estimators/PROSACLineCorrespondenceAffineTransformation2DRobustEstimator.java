@@ -426,11 +426,11 @@ public class PROSACLineCorrespondenceAffineTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(
+        final var innerEstimator = new PROSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROSACRobustEstimatorListener<AffineTransformation2D>() {
 
-                    // line to be reused when computing residuals
-                    private final Line2D testLine = new Line2D();
+                    // line to be reused by each thread when computing residuals
+                    private final ThreadLocal<Line2D> localTestLine = ThreadLocal.withInitial(Line2D::new);
 
                     @Override
                     public double getThreshold() {
@@ -469,6 +469,7 @@ public class PROSACLineCorrespondenceAffineTransformation2DRobustEstimator
 
                     @Override
                     public double computeResidual(final AffineTransformation2D currentEstimation, final int i) {
+                        final var testLine = localTestLine.get();
                         final var inputLine = inputLines.get(i);
                         final var outputLine = outputLines.get(i);
 
@@ -530,7 +531,7 @@ public class PROSACLineCorrespondenceAffineTransformation2DRobustEstimator
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -426,11 +426,11 @@ public class PROSACLineCorrespondenceProjectiveTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(
+        final var innerEstimator = new PROSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROSACRobustEstimatorListener<ProjectiveTransformation2D>() {
 
-                    // line to be reused when computing residuals
-                    private final Line2D testLine = new Line2D();
+                    // line to be reused by each thread when computing residuals
+                    private final ThreadLocal<Line2D> localTestLine = ThreadLocal.withInitial(Line2D::new);
 
                     @Override
                     public double getThreshold() {
@@ -471,6 +471,7 @@ public class PROSACLineCorrespondenceProjectiveTransformation2DRobustEstimator
 
                     @Override
                     public double computeResidual(final ProjectiveTransformation2D currentEstimation, final int i) {
+                        final var testLine = localTestLine.get();
                         final var inputLine = inputLines.get(i);
                         final var outputLine = outputLines.get(i);
 
@@ -532,7 +533,7 @@ public class PROSACLineCorrespondenceProjectiveTransformation2DRobustEstimator
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism, preVerifier));
 
         try {
             locked = true;
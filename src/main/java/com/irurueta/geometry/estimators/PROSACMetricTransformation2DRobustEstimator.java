@@ -583,11 +583,12 @@ public class PROSACMetricTransformation2DRobustEstimator extends MetricTransform
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(
+        final var innerEstimator = new PROSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROSACRobustEstimatorListener<MetricTransformation2D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final MetricTransformation2DEstimator nonRobustEstimator =
                             new MetricTransformation2DEstimator(isWeakMinimumSizeAllowed());
@@ -630,6 +631,7 @@ public class PROSACMetricTransformation2DRobustEstimator extends MetricTransform
 
                     @Override
                     public double computeResidual(final MetricTransformation2D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -680,7 +682,7 @@ public class PROSACMetricTransformation2DRobustEstimator extends MetricTransform
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
@@ -582,11 +582,12 @@ public class PROSACMetricTransformation3DRobustEstimator extends MetricTransform
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(
+        final var innerEstimator = new PROSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROSACRobustEstimatorListener<MetricTransformation3D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final MetricTransformation3DEstimator nonRobustEstimator =
                             new MetricTransformation3DEstimator(isWeakMinimumSizeAllowed());
@@ -629,6 +630,7 @@ public class PROSACMetricTransformation3DRobustEstimator extends MetricTransform
 
                     @Override
                     public double computeResidual(final MetricTransformation3D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -679,7 +681,7 @@ public class PROSACMetricTransformation3DRobustEstimator extends MetricTransform
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
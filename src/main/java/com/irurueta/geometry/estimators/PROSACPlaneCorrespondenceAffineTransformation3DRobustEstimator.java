@@ -426,11 +426,11 @@ public class PROSACPlaneCorrespondenceAffineTransformation3DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(
+        final var innerEstimator = new PROSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new PROSACRobustEstimatorListener<AffineTransformation3D>() {
 
-                    // plane to be reused when computing residuals
-                    private final Plane testPlane = new Plane();
+                    // plane to be reused by each thread when computing residuals
+                    private final ThreadLocal<Plane> localTestPlane = ThreadLocal.withInitial(Plane::new);
 
                     @Override
                     public double getThreshold() {
@@ -471,6 +471,7 @@ public class PROSACPlaneCorrespondenceAffineTransformation3DRobustEstimator
 
                     @Override
                     public double computeResidual(final AffineTransformation3D currentEstimation, final int i) {
+                        final var testPlane = localTestPlane.get();
                         final var inputPlane = inputPlanes.get(i);
                         final var outputPlane = outputPlanes.get(i);
 
@@ -532,7 +533,7 @@ public class PROSACPlaneCorrespondenceAffineTransformation3DRobustEstimator
                     public double[] getQualityScores() {
                         return qualityScores;
                     }
-                });
+                }, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -276,7 +276,7 @@ public class PROSACPlaneRobustEstimator extends PlaneRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(new PROSACRobustEstimatorListener<Plane>() {
+        final var innerListener = new PROSACRobustEstimatorListener<Plane>() {
 
             @Override
             public double getThreshold() {
@@ -349,7 +349,9 @@ public class PROSACPlaneRobustEstimator extends PlaneRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -360,7 +360,7 @@ public class PROSACPoint2DRobustEstimator extends Point2DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(new PROSACRobustEstimatorListener<Point2D>() {
+        final var innerListener = new PROSACRobustEstimatorListener<Point2D>() {
 
             @Override
             public double getThreshold() {
@@ -432,7 +432,9 @@ public class PROSACPoint2DRobustEstimator extends Point2DRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
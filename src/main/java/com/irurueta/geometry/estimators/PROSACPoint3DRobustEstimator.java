@@ -360,7 +360,7 @@ public class PROSACPoint3DRobustEstimator extends Point3DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(new PROSACRobustEstimatorListener<Point3D>() {
+        final var innerListener = new PROSACRobustEstimatorListener<Point3D>() {
 
             @Override
             public double getThreshold() {
@@ -433,7 +433,9 @@ public class PROSACPoint3DRobustEstimator extends Point3DRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -279,7 +279,7 @@ public class PROSACQuadricRobustEstimator extends QuadricRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(new PROSACRobustEstimatorListener<Quadric>() {
+        final var innerListener = new PROSACRobustEstimatorListener<Quadric>() {
 
             @Override
             public double getThreshold() {
@@ -359,7 +359,9 @@ public class PROSACQuadricRobustEstimator extends QuadricRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -276,7 +276,7 @@ public class PROSACSphereRobustEstimator extends SphereRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new PROSACRobustEstimator<>(new PROSACRobustEstimatorListener<Sphere>() {
+        final var innerListener = new PROSACRobustEstimatorListener<Sphere>() {
 
             @Override
             public double getThreshold() {
@@ -350,7 +350,9 @@ public class PROSACSphereRobustEstimator extends SphereRobustEstimator {
             public double[] getQualityScores() {
                 return qualityScores;
             }
-        });
+        };
+        final var innerEstimator = new PROSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
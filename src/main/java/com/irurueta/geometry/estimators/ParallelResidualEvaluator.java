@@ -0,0 +1,1736 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import com.irurueta.numerical.robust.LMedSRobustEstimatorListener;
+import com.irurueta.numerical.robust.MSACRobustEstimatorListener;
+import com.irurueta.numerical.robust.PROMedSRobustEstimatorListener;
+import com.irurueta.numerical.robust.PROSACRobustEstimatorListener;
+import com.irurueta.numerical.robust.RANSACRobustEstimatorListener;
+import com.irurueta.numerical.robust.RobustEstimator;
+import com.irurueta.numerical.robust.RobustEstimatorListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Evaluates residuals of hypotheses generated by robust estimators using
+ * several tasks run on a fork-join pool.
+ * Robust estimators score each hypothesis by requesting the residual of every
+ * sample one at a time. When more than one task is allowed, the first
+ * residual requested for a new hypothesis triggers the computation of the
+ * residuals of all samples, which are split into tasks run on a fork-join pool
+ * and kept in memory, so that the remaining requests for the same
+ * hypothesis are answered without further computations.
+ * Listeners wrapped by the static {@code wrap} methods run their tasks on the
+ * common fork-join pool, hence the number of threads actually used is bounded
+ * by the parallelism of that pool.
+ * Generation of hypotheses is not modified and each residual only depends on
+ * its hypothesis and sample, hence results are exactly the same ones that
+ * would be obtained by sequential evaluation for the same random seed.
+ * The residual of the first sample of each hypothesis is always computed on
+ * the calling thread, so that any lazy initialization of the hypothesis (such
+ * as normalization) takes place before residuals are computed concurrently.
+ * Optionally, hypotheses can be pre-verified on the calling thread using a
+ * {@link HypothesisPreVerifier}, so that the residuals of rejected hypotheses
+ * are not computed and are reported as outliers instead.
+ * Additionally, a {@link LocalOptimizer} can be provided to follow the
+ * LO-RANSAC scheme: hypotheses estimated from each subset of samples are
+ * evaluated as soon as they are estimated, and each time a hypothesis obtains
+ * more inliers than any previous one, it is re-estimated from its inliers on
+ * the calling thread. The locally optimized hypothesis is added to the
+ * solutions of the same subset, so that it is scored by the robust estimator
+ * within the same iteration as any other hypothesis. Residuals of all the
+ * hypotheses of a subset are kept until the next subset, hence they are
+ * computed only once.
+ * Finally, listeners can be wrapped along with a {@link HypothesisPool}, in
+ * which case all hypotheses acquired from the pool are recycled each time an
+ * estimation starts. Robust estimators keep a reference to their best
+ * hypothesis until estimation ends, hence no hypothesis is recycled during an
+ * estimation, and callers must copy the estimated hypothesis before starting
+ * a new estimation. Once the pool holds as many hypotheses as required by an
+ * estimation, later estimations do not instantiate any new hypothesis.
+ * Wrapped listeners and their evaluators can be kept and reused by
+ * subsequent estimations, since their state is reset when each estimation
+ * starts.
+ *
+ * @param <T> type of hypotheses being evaluated.
+ */
+public class ParallelResidualEvaluator<T> {
+
+    /**
+     * Default number of tasks residuals are split into. By default,
+     * residuals are computed sequentially.
+     */
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    /**
+     * Minimum allowed number of tasks residuals are split into.
+     */
+    public static final int MIN_PARALLELISM = 1;
+
+    /**
+     * Minimum number of samples whose residuals are computed by a single
+     * task. Splitting work into smaller tasks does not pay off the overhead
+     * of scheduling them.
+     */
+    public static final int MIN_SAMPLES_PER_TASK = 32;
+
+    /**
+     * Function computing residuals of hypotheses.
+     */
+    private final ResidualFunction<T> function;
+
+    /**
+     * Number of tasks residuals are split into.
+     */
+    private final int parallelism;
+
+    /**
+     * Pool where residuals are computed.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Pre-verifier of hypotheses or null if hypotheses are not pre-verified.
+     */
+    private final HypothesisPreVerifier preVerifier;
+
+    /**
+     * Threshold to determine whether a sample is an inlier during
+     * pre-verification.
+     */
+    private final double threshold;
+
+    /**
+     * Local optimizer of hypotheses or null if no local optimization is
+     * done.
+     */
+    private final LocalOptimizer<T> localOptimizer;
+
+    /**
+     * Largest number of inliers found so far. Only used for local
+     * optimization.
+     */
+    private int bestNumInliers;
+
+    /**
+     * Inliers of last hypothesis being locally optimized.
+     */
+    private BitSet inliers;
+
+    /**
+     * Hypotheses of current subset of samples whose residuals are kept. Only
+     * used for local optimization.
+     */
+    private final List<T> keptEstimations = new ArrayList<>();
+
+    /**
+     * Residuals of hypotheses of current subset of samples, in the same order
+     * as kept hypotheses. Arrays are reused for later subsets.
+     */
+    private final List<double[]> keptResiduals = new ArrayList<>();
+
+    /**
+     * Hypothesis whose residuals are currently kept.
+     */
+    private T estimation;
+
+    /**
+     * Residuals of all samples for current hypothesis.
+     */
+    private double[] residuals;
+
+    /**
+     * Indicates which residuals of current hypothesis have already been
+     * computed during pre-verification.
+     */
+    private boolean[] evaluated;
+
+    /**
+     * Function computing and storing residuals of samples requested by the
+     * pre-verifier for current hypothesis, reused for all hypotheses.
+     */
+    private final IntToDoubleFunction preVerifiedResiduals = this::preVerifiedResidual;
+
+    /**
+     * Constructor.
+     * Residuals are computed on the common fork-join pool.
+     *
+     * @param function    function computing residuals. Must be thread-safe
+     *                    once the first residual of a hypothesis has been
+     *                    computed.
+     * @param parallelism number of tasks residuals are split into.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public ParallelResidualEvaluator(final ResidualFunction<T> function, final int parallelism) {
+        this(function, parallelism, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param function    function computing residuals. Must be thread-safe
+     *                    once the first residual of a hypothesis has been
+     *                    computed.
+     * @param parallelism number of tasks residuals are split into.
+     * @param pool        pool where residuals are computed.
+     * @throws NullPointerException     if function or pool are null.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public ParallelResidualEvaluator(
+            final ResidualFunction<T> function, final int parallelism, final ForkJoinPool pool) {
+        this(function, parallelism, pool, null, 0.0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param function    function computing residuals. Must be thread-safe
+     *                    once the first residual of a hypothesis has been
+     *                    computed.
+     * @param parallelism number of tasks residuals are split into.
+     * @param pool        pool where residuals are computed.
+     * @param preVerifier pre-verifier of hypotheses or null if hypotheses
+     *                    must not be pre-verified.
+     * @param threshold   threshold to determine whether a sample is an inlier
+     *                    during pre-verification.
+     * @throws NullPointerException     if function or pool are null.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public ParallelResidualEvaluator(
+            final ResidualFunction<T> function, final int parallelism, final ForkJoinPool pool,
+            final HypothesisPreVerifier preVerifier, final double threshold) {
+        this(function, parallelism, pool, preVerifier, threshold, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param function       function computing residuals. Must be thread-safe
+     *                       once the first residual of a hypothesis has been
+     *                       computed.
+     * @param parallelism    number of tasks residuals are split into.
+     * @param pool           pool where residuals are computed.
+     * @param preVerifier    pre-verifier of hypotheses or null if hypotheses
+     *                       must not be pre-verified.
+     * @param threshold      threshold to determine whether a sample is an
+     *                       inlier during pre-verification and local
+     *                       optimization.
+     * @param localOptimizer local optimizer of hypotheses or null if no local
+     *                       optimization must be done.
+     * @throws NullPointerException     if function or pool are null.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public ParallelResidualEvaluator(
+            final ResidualFunction<T> function, final int parallelism, final ForkJoinPool pool,
+            final HypothesisPreVerifier preVerifier, final double threshold,
+            final LocalOptimizer<T> localOptimizer) {
+        if (function == null || pool == null) {
+            throw new NullPointerException();
+        }
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        this.function = function;
+        this.parallelism = parallelism;
+        this.pool = pool;
+        this.preVerifier = preVerifier;
+        this.threshold = threshold;
+        this.localOptimizer = localOptimizer;
+    }
+
+    /**
+     * Gets number of tasks residuals are split into.
+     *
+     * @return number of tasks residuals are split into.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Gets pool where residuals are computed.
+     *
+     * @return pool where residuals are computed.
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Gets pre-verifier of hypotheses.
+     *
+     * @return pre-verifier of hypotheses or null if hypotheses are not
+     * pre-verified.
+     */
+    public HypothesisPreVerifier getPreVerifier() {
+        return preVerifier;
+    }
+
+    /**
+     * Gets threshold to determine whether a sample is an inlier during
+     * pre-verification and local optimization.
+     *
+     * @return threshold used during pre-verification and local optimization.
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Gets local optimizer of hypotheses.
+     *
+     * @return local optimizer of hypotheses or null if no local optimization
+     * is done.
+     */
+    public LocalOptimizer<T> getLocalOptimizer() {
+        return localOptimizer;
+    }
+
+    /**
+     * Gets largest number of inliers found so far by any evaluated
+     * hypothesis. This value is only tracked when local optimization is
+     * enabled.
+     *
+     * @return largest number of inliers found so far.
+     */
+    public int getBestNumInliers() {
+        return bestNumInliers;
+    }
+
+    /**
+     * Evaluates hypotheses estimated from a subset of samples and locally
+     * optimizes the last one improving the largest number of inliers found
+     * so far, if any. The optimized hypothesis is added at the beginning of
+     * provided list, so that it is scored along with the rest of hypotheses
+     * of the subset and preferred over them in case of a tie.
+     * Residuals of all hypotheses in the list are kept until this method is
+     * called again, hence they are not computed again when the robust
+     * estimator requests them.
+     * If no local optimizer is available, this method does nothing.
+     *
+     * @param solutions    hypotheses estimated from a subset of samples.
+     * @param totalSamples total number of samples.
+     * @throws IllegalArgumentException if total number of samples is not
+     *                                  positive.
+     */
+    public void optimizeSolutions(final List<T> solutions, final int totalSamples) {
+        if (totalSamples <= 0) {
+            throw new IllegalArgumentException();
+        }
+        if (localOptimizer == null) {
+            return;
+        }
+
+        keptEstimations.clear();
+        T optimized = null;
+        for (final var solution : solutions) {
+            keepResiduals(solution, totalSamples);
+            final var candidate = optimize(solution, totalSamples);
+            if (candidate != null) {
+                optimized = candidate;
+            }
+        }
+
+        if (optimized != null) {
+            keepResiduals(optimized, totalSamples);
+            bestNumInliers = Math.max(bestNumInliers, countInliers(totalSamples));
+            // optimized hypothesis is scored first, so that it is kept when
+            // other hypotheses obtain the same score
+            solutions.add(0, optimized);
+        }
+    }
+
+    /**
+     * Gets residual of i-th sample for provided hypothesis.
+     * If provided hypothesis is not the one whose residuals are currently
+     * kept, residuals of all samples are computed.
+     *
+     * @param estimation   hypothesis to be evaluated.
+     * @param i            position of sample.
+     * @param totalSamples total number of samples.
+     * @return residual of i-th sample.
+     * @throws IllegalArgumentException if total number of samples is not
+     *                                  positive.
+     * @throws IndexOutOfBoundsException if position is not within the range
+     *                                   of samples.
+     */
+    public double getResidual(final T estimation, final int i, final int totalSamples) {
+        if (totalSamples <= 0) {
+            throw new IllegalArgumentException();
+        }
+        if (i < 0 || i >= totalSamples) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        if (estimation != this.estimation || residuals == null || residuals.length != totalSamples) {
+            final var k = indexOfKept(estimation);
+            if (k >= 0 && keptResiduals.get(k).length == totalSamples) {
+                this.estimation = estimation;
+                residuals = keptResiduals.get(k);
+            } else {
+                if (!keptEstimations.isEmpty()) {
+                    // kept residuals must not be overwritten
+                    residuals = null;
+                }
+                computeResiduals(estimation, totalSamples);
+            }
+        }
+        return residuals[i];
+    }
+
+    /**
+     * Releases current hypothesis, its residuals and any state kept for local
+     * optimization.
+     */
+    public void reset() {
+        estimation = null;
+        residuals = null;
+        evaluated = null;
+        bestNumInliers = 0;
+        inliers = null;
+        keptEstimations.clear();
+        keptResiduals.clear();
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed split into provided
+     * number of tasks.
+     * If only one task is allowed, provided listener is returned unchanged.
+     *
+     * @param listener    listener to be wrapped.
+     * @param parallelism number of tasks residuals are split into.
+     * @param <T>         type of hypotheses being evaluated.
+     * @return listener computing residuals concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> RANSACRobustEstimatorListener<T> wrap(
+            final RANSACRobustEstimatorListener<T> listener, final int parallelism) {
+        return wrap(listener, parallelism, null);
+    }
+
+    /**
+     * Wraps provided listener so that hypotheses are pre-verified using
+     * provided pre-verifier and residuals are computed using provided number
+     * of tasks.
+     * If only one task is allowed and no pre-verifier is provided, provided
+     * listener is returned unchanged.
+     *
+     * @param listener    listener to be wrapped.
+     * @param parallelism number of tasks residuals are split into.
+     * @param preVerifier pre-verifier of hypotheses or null if hypotheses
+     *                    must not be pre-verified.
+     * @param <T>         type of hypotheses being evaluated.
+     * @return listener pre-verifying hypotheses and computing residuals
+     * concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> RANSACRobustEstimatorListener<T> wrap(
+            final RANSACRobustEstimatorListener<T> listener, final int parallelism,
+            final HypothesisPreVerifier preVerifier) {
+        return wrap(listener, parallelism, preVerifier, null);
+    }
+
+    /**
+     * Wraps provided listener so that hypotheses are pre-verified using
+     * provided pre-verifier, residuals are computed using provided number of
+     * tasks and hypotheses improving the best number of inliers found so
+     * far are locally optimized.
+     * If only one task is allowed and neither a pre-verifier nor a local
+     * optimizer are provided, provided listener is returned unchanged.
+     *
+     * @param listener       listener to be wrapped.
+     * @param parallelism    number of tasks residuals are split into.
+     * @param preVerifier    pre-verifier of hypotheses or null if hypotheses
+     *                       must not be pre-verified.
+     * @param localOptimizer local optimizer of hypotheses or null if no local
+     *                       optimization must be done.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener pre-verifying, locally optimizing and computing
+     * residuals of hypotheses concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> RANSACRobustEstimatorListener<T> wrap(
+            final RANSACRobustEstimatorListener<T> listener, final int parallelism,
+            final HypothesisPreVerifier preVerifier, final LocalOptimizer<T> localOptimizer) {
+        return wrap(listener, parallelism, preVerifier, localOptimizer, null);
+    }
+
+    /**
+     * Wraps provided listener so that hypotheses are pre-verified using
+     * provided pre-verifier, residuals are computed using provided number of
+     * tasks, hypotheses improving the best number of inliers found so far are
+     * locally optimized and hypotheses acquired from provided pool are
+     * recycled when each estimation starts.
+     * If only one task is allowed and neither a pre-verifier, a local
+     * optimizer nor a pool are provided, provided listener is returned
+     * unchanged.
+     *
+     * @param listener       listener to be wrapped.
+     * @param parallelism    number of tasks residuals are split into.
+     * @param preVerifier    pre-verifier of hypotheses or null if hypotheses
+     *                       must not be pre-verified.
+     * @param localOptimizer local optimizer of hypotheses or null if no local
+     *                       optimization must be done.
+     * @param hypothesisPool pool where hypotheses estimated by provided
+     *                       listener are acquired, or null if hypotheses must
+     *                       not be recycled.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener pre-verifying, locally optimizing, recycling and
+     * computing residuals of hypotheses concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> RANSACRobustEstimatorListener<T> wrap(
+            final RANSACRobustEstimatorListener<T> listener, final int parallelism,
+            final HypothesisPreVerifier preVerifier, final LocalOptimizer<T> localOptimizer,
+            final HypothesisPool<T> hypothesisPool) {
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        return parallelism == MIN_PARALLELISM && preVerifier == null && localOptimizer == null
+                && hypothesisPool == null ? listener
+                : new ParallelRANSACListener<>(listener, parallelism, preVerifier, localOptimizer, hypothesisPool);
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed by provided
+     * evaluator and hypotheses acquired from provided pool are recycled when
+     * each estimation starts.
+     * Returned listener can be kept and reused by subsequent estimations, as
+     * long as the settings of provided evaluator remain valid, so that
+     * neither the listener nor the evaluator are instantiated again.
+     *
+     * @param listener       listener to be wrapped.
+     * @param evaluator      evaluator computing the residuals of provided
+     *                       listener.
+     * @param hypothesisPool pool where hypotheses estimated by provided
+     *                       listener are acquired, or null if hypotheses must
+     *                       not be recycled.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener computing residuals of hypotheses using provided
+     * evaluator.
+     * @throws NullPointerException if listener or evaluator are null.
+     */
+    public static <T> RANSACRobustEstimatorListener<T> wrap(
+            final RANSACRobustEstimatorListener<T> listener, final ParallelResidualEvaluator<T> evaluator,
+            final HypothesisPool<T> hypothesisPool) {
+        return new ParallelRANSACListener<>(listener, evaluator, hypothesisPool);
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed split into provided
+     * number of tasks.
+     * If only one task is allowed, provided listener is returned unchanged.
+     *
+     * @param listener    listener to be wrapped.
+     * @param parallelism number of tasks residuals are split into.
+     * @param <T>         type of hypotheses being evaluated.
+     * @return listener computing residuals concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> MSACRobustEstimatorListener<T> wrap(
+            final MSACRobustEstimatorListener<T> listener, final int parallelism) {
+        return wrap(listener, parallelism, null);
+    }
+
+    /**
+     * Wraps provided listener so that hypotheses are pre-verified using
+     * provided pre-verifier and residuals are computed using provided number
+     * of tasks.
+     * If only one task is allowed and no pre-verifier is provided, provided
+     * listener is returned unchanged.
+     *
+     * @param listener    listener to be wrapped.
+     * @param parallelism number of tasks residuals are split into.
+     * @param preVerifier pre-verifier of hypotheses or null if hypotheses
+     *                    must not be pre-verified.
+     * @param <T>         type of hypotheses being evaluated.
+     * @return listener pre-verifying hypotheses and computing residuals
+     * concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> MSACRobustEstimatorListener<T> wrap(
+            final MSACRobustEstimatorListener<T> listener, final int parallelism,
+            final HypothesisPreVerifier preVerifier) {
+        return wrap(listener, parallelism, preVerifier, null);
+    }
+
+    /**
+     * Wraps provided listener so that hypotheses are pre-verified using
+     * provided pre-verifier, residuals are computed using provided number of
+     * tasks and hypotheses improving the best number of inliers found so
+     * far are locally optimized.
+     * If only one task is allowed and neither a pre-verifier nor a local
+     * optimizer are provided, provided listener is returned unchanged.
+     *
+     * @param listener       listener to be wrapped.
+     * @param parallelism    number of tasks residuals are split into.
+     * @param preVerifier    pre-verifier of hypotheses or null if hypotheses
+     *                       must not be pre-verified.
+     * @param localOptimizer local optimizer of hypotheses or null if no local
+     *                       optimization must be done.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener pre-verifying, locally optimizing and computing
+     * residuals of hypotheses concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> MSACRobustEstimatorListener<T> wrap(
+            final MSACRobustEstimatorListener<T> listener, final int parallelism,
+            final HypothesisPreVerifier preVerifier, final LocalOptimizer<T> localOptimizer) {
+        return wrap(listener, parallelism, preVerifier, localOptimizer, null);
+    }
+
+    /**
+     * Wraps provided listener so that hypotheses are pre-verified using
+     * provided pre-verifier, residuals are computed using provided number of
+     * tasks, hypotheses improving the best number of inliers found so far are
+     * locally optimized and hypotheses acquired from provided pool are
+     * recycled when each estimation starts.
+     * If only one task is allowed and neither a pre-verifier, a local
+     * optimizer nor a pool are provided, provided listener is returned
+     * unchanged.
+     *
+     * @param listener       listener to be wrapped.
+     * @param parallelism    number of tasks residuals are split into.
+     * @param preVerifier    pre-verifier of hypotheses or null if hypotheses
+     *                       must not be pre-verified.
+     * @param localOptimizer local optimizer of hypotheses or null if no local
+     *                       optimization must be done.
+     * @param hypothesisPool pool where hypotheses estimated by provided
+     *                       listener are acquired, or null if hypotheses must
+     *                       not be recycled.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener pre-verifying, locally optimizing, recycling and
+     * computing residuals of hypotheses concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> MSACRobustEstimatorListener<T> wrap(
+            final MSACRobustEstimatorListener<T> listener, final int parallelism,
+            final HypothesisPreVerifier preVerifier, final LocalOptimizer<T> localOptimizer,
+            final HypothesisPool<T> hypothesisPool) {
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        return parallelism == MIN_PARALLELISM && preVerifier == null && localOptimizer == null
+                && hypothesisPool == null ? listener
+                : new ParallelMSACListener<>(listener, parallelism, preVerifier, localOptimizer, hypothesisPool);
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed by provided
+     * evaluator and hypotheses acquired from provided pool are recycled when
+     * each estimation starts.
+     * Returned listener can be kept and reused by subsequent estimations, as
+     * long as the settings of provided evaluator remain valid, so that
+     * neither the listener nor the evaluator are instantiated again.
+     *
+     * @param listener       listener to be wrapped.
+     * @param evaluator      evaluator computing the residuals of provided
+     *                       listener.
+     * @param hypothesisPool pool where hypotheses estimated by provided
+     *                       listener are acquired, or null if hypotheses must
+     *                       not be recycled.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener computing residuals of hypotheses using provided
+     * evaluator.
+     * @throws NullPointerException if listener or evaluator are null.
+     */
+    public static <T> MSACRobustEstimatorListener<T> wrap(
+            final MSACRobustEstimatorListener<T> listener, final ParallelResidualEvaluator<T> evaluator,
+            final HypothesisPool<T> hypothesisPool) {
+        return new ParallelMSACListener<>(listener, evaluator, hypothesisPool);
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed split into provided
+     * number of tasks.
+     * If only one task is allowed, provided listener is returned unchanged.
+     *
+     * @param listener    listener to be wrapped.
+     * @param parallelism number of tasks residuals are split into.
+     * @param <T>         type of hypotheses being evaluated.
+     * @return listener computing residuals concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> PROSACRobustEstimatorListener<T> wrap(
+            final PROSACRobustEstimatorListener<T> listener, final int parallelism) {
+        return wrap(listener, parallelism, null);
+    }
+
+    /**
+     * Wraps provided listener so that hypotheses are pre-verified using
+     * provided pre-verifier and residuals are computed using provided number
+     * of tasks.
+     * If only one task is allowed and no pre-verifier is provided, provided
+     * listener is returned unchanged.
+     *
+     * @param listener    listener to be wrapped.
+     * @param parallelism number of tasks residuals are split into.
+     * @param preVerifier pre-verifier of hypotheses or null if hypotheses
+     *                    must not be pre-verified.
+     * @param <T>         type of hypotheses being evaluated.
+     * @return listener pre-verifying hypotheses and computing residuals
+     * concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> PROSACRobustEstimatorListener<T> wrap(
+            final PROSACRobustEstimatorListener<T> listener, final int parallelism,
+            final HypothesisPreVerifier preVerifier) {
+        return wrap(listener, parallelism, preVerifier, null);
+    }
+
+    /**
+     * Wraps provided listener so that hypotheses are pre-verified using
+     * provided pre-verifier, residuals are computed using provided number of
+     * tasks and hypotheses improving the best number of inliers found so
+     * far are locally optimized.
+     * If only one task is allowed and neither a pre-verifier nor a local
+     * optimizer are provided, provided listener is returned unchanged.
+     *
+     * @param listener       listener to be wrapped.
+     * @param parallelism    number of tasks residuals are split into.
+     * @param preVerifier    pre-verifier of hypotheses or null if hypotheses
+     *                       must not be pre-verified.
+     * @param localOptimizer local optimizer of hypotheses or null if no local
+     *                       optimization must be done.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener pre-verifying, locally optimizing and computing
+     * residuals of hypotheses concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> PROSACRobustEstimatorListener<T> wrap(
+            final PROSACRobustEstimatorListener<T> listener, final int parallelism,
+            final HypothesisPreVerifier preVerifier, final LocalOptimizer<T> localOptimizer) {
+        return wrap(listener, parallelism, preVerifier, localOptimizer, null);
+    }
+
+    /**
+     * Wraps provided listener so that hypotheses are pre-verified using
+     * provided pre-verifier, residuals are computed using provided number of
+     * tasks, hypotheses improving the best number of inliers found so far are
+     * locally optimized and hypotheses acquired from provided pool are
+     * recycled when each estimation starts.
+     * If only one task is allowed and neither a pre-verifier, a local
+     * optimizer nor a pool are provided, provided listener is returned
+     * unchanged.
+     *
+     * @param listener       listener to be wrapped.
+     * @param parallelism    number of tasks residuals are split into.
+     * @param preVerifier    pre-verifier of hypotheses or null if hypotheses
+     *                       must not be pre-verified.
+     * @param localOptimizer local optimizer of hypotheses or null if no local
+     *                       optimization must be done.
+     * @param hypothesisPool pool where hypotheses estimated by provided
+     *                       listener are acquired, or null if hypotheses must
+     *                       not be recycled.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener pre-verifying, locally optimizing, recycling and
+     * computing residuals of hypotheses concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> PROSACRobustEstimatorListener<T> wrap(
+            final PROSACRobustEstimatorListener<T> listener, final int parallelism,
+            final HypothesisPreVerifier preVerifier, final LocalOptimizer<T> localOptimizer,
+            final HypothesisPool<T> hypothesisPool) {
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        return parallelism == MIN_PARALLELISM && preVerifier == null && localOptimizer == null
+                && hypothesisPool == null ? listener
+                : new ParallelPROSACListener<>(listener, parallelism, preVerifier, localOptimizer, hypothesisPool);
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed by provided
+     * evaluator and hypotheses acquired from provided pool are recycled when
+     * each estimation starts.
+     * Returned listener can be kept and reused by subsequent estimations, as
+     * long as the settings of provided evaluator remain valid, so that
+     * neither the listener nor the evaluator are instantiated again.
+     *
+     * @param listener       listener to be wrapped.
+     * @param evaluator      evaluator computing the residuals of provided
+     *                       listener.
+     * @param hypothesisPool pool where hypotheses estimated by provided
+     *                       listener are acquired, or null if hypotheses must
+     *                       not be recycled.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener computing residuals of hypotheses using provided
+     * evaluator.
+     * @throws NullPointerException if listener or evaluator are null.
+     */
+    public static <T> PROSACRobustEstimatorListener<T> wrap(
+            final PROSACRobustEstimatorListener<T> listener, final ParallelResidualEvaluator<T> evaluator,
+            final HypothesisPool<T> hypothesisPool) {
+        return new ParallelPROSACListener<>(listener, evaluator, hypothesisPool);
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed split into provided
+     * number of tasks.
+     * If only one task is allowed, provided listener is returned unchanged.
+     *
+     * @param listener    listener to be wrapped.
+     * @param parallelism number of tasks residuals are split into.
+     * @param <T>         type of hypotheses being evaluated.
+     * @return listener computing residuals concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> LMedSRobustEstimatorListener<T> wrap(
+            final LMedSRobustEstimatorListener<T> listener, final int parallelism) {
+        return wrap(listener, parallelism, null);
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed split into provided
+     * number of tasks and hypotheses acquired from provided pool are recycled
+     * when each estimation starts.
+     * If only one task is allowed and no pool is provided, provided listener
+     * is returned unchanged.
+     *
+     * @param listener       listener to be wrapped.
+     * @param parallelism    number of tasks residuals are split into.
+     * @param hypothesisPool pool where hypotheses estimated by provided
+     *                       listener are acquired, or null if hypotheses must
+     *                       not be recycled.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener recycling and computing residuals of hypotheses
+     * concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> LMedSRobustEstimatorListener<T> wrap(
+            final LMedSRobustEstimatorListener<T> listener, final int parallelism,
+            final HypothesisPool<T> hypothesisPool) {
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        return parallelism == MIN_PARALLELISM && hypothesisPool == null ? listener
+                : new ParallelLMedSListener<>(listener, parallelism, hypothesisPool);
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed by provided
+     * evaluator and hypotheses acquired from provided pool are recycled when
+     * each estimation starts.
+     * Returned listener can be kept and reused by subsequent estimations, as
+     * long as the settings of provided evaluator remain valid, so that
+     * neither the listener nor the evaluator are instantiated again.
+     *
+     * @param listener       listener to be wrapped.
+     * @param evaluator      evaluator computing the residuals of provided
+     *                       listener.
+     * @param hypothesisPool pool where hypotheses estimated by provided
+     *                       listener are acquired, or null if hypotheses must
+     *                       not be recycled.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener computing residuals of hypotheses using provided
+     * evaluator.
+     * @throws NullPointerException if listener or evaluator are null.
+     */
+    public static <T> LMedSRobustEstimatorListener<T> wrap(
+            final LMedSRobustEstimatorListener<T> listener, final ParallelResidualEvaluator<T> evaluator,
+            final HypothesisPool<T> hypothesisPool) {
+        return new ParallelLMedSListener<>(listener, evaluator, hypothesisPool);
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed split into provided
+     * number of tasks.
+     * If only one task is allowed, provided listener is returned unchanged.
+     *
+     * @param listener    listener to be wrapped.
+     * @param parallelism number of tasks residuals are split into.
+     * @param <T>         type of hypotheses being evaluated.
+     * @return listener computing residuals concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> PROMedSRobustEstimatorListener<T> wrap(
+            final PROMedSRobustEstimatorListener<T> listener, final int parallelism) {
+        return wrap(listener, parallelism, null);
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed split into provided
+     * number of tasks and hypotheses acquired from provided pool are recycled
+     * when each estimation starts.
+     * If only one task is allowed and no pool is provided, provided listener
+     * is returned unchanged.
+     *
+     * @param listener       listener to be wrapped.
+     * @param parallelism    number of tasks residuals are split into.
+     * @param hypothesisPool pool where hypotheses estimated by provided
+     *                       listener are acquired, or null if hypotheses must
+     *                       not be recycled.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener recycling and computing residuals of hypotheses
+     * concurrently.
+     * @throws IllegalArgumentException if parallelism is less than 1.
+     */
+    public static <T> PROMedSRobustEstimatorListener<T> wrap(
+            final PROMedSRobustEstimatorListener<T> listener, final int parallelism,
+            final HypothesisPool<T> hypothesisPool) {
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        return parallelism == MIN_PARALLELISM && hypothesisPool == null ? listener
+                : new ParallelPROMedSListener<>(listener, parallelism, hypothesisPool);
+    }
+
+    /**
+     * Wraps provided listener so that residuals are computed by provided
+     * evaluator and hypotheses acquired from provided pool are recycled when
+     * each estimation starts.
+     * Returned listener can be kept and reused by subsequent estimations, as
+     * long as the settings of provided evaluator remain valid, so that
+     * neither the listener nor the evaluator are instantiated again.
+     *
+     * @param listener       listener to be wrapped.
+     * @param evaluator      evaluator computing the residuals of provided
+     *                       listener.
+     * @param hypothesisPool pool where hypotheses estimated by provided
+     *                       listener are acquired, or null if hypotheses must
+     *                       not be recycled.
+     * @param <T>            type of hypotheses being evaluated.
+     * @return listener computing residuals of hypotheses using provided
+     * evaluator.
+     * @throws NullPointerException if listener or evaluator are null.
+     */
+    public static <T> PROMedSRobustEstimatorListener<T> wrap(
+            final PROMedSRobustEstimatorListener<T> listener, final ParallelResidualEvaluator<T> evaluator,
+            final HypothesisPool<T> hypothesisPool) {
+        return new ParallelPROMedSListener<>(listener, evaluator, hypothesisPool);
+    }
+
+    /**
+     * Computes and stores residual of a sample requested by the pre-verifier
+     * for current hypothesis.
+     *
+     * @param i position of sample.
+     * @return residual of sample.
+     */
+    private double preVerifiedResidual(final int i) {
+        residuals[i] = function.computeResidual(estimation, i);
+        evaluated[i] = true;
+        return residuals[i];
+    }
+
+    /**
+     * Computes residuals of all samples for provided hypothesis.
+     *
+     * @param estimation   hypothesis to be evaluated.
+     * @param totalSamples total number of samples.
+     */
+    private void computeResiduals(final T estimation, final int totalSamples) {
+        if (residuals == null || residuals.length != totalSamples) {
+            residuals = new double[totalSamples];
+            evaluated = null;
+        }
+        this.estimation = estimation;
+
+        if (preVerifier != null) {
+            if (evaluated == null) {
+                evaluated = new boolean[totalSamples];
+            } else {
+                Arrays.fill(evaluated, false);
+            }
+
+            // pre-verification is done on calling thread, hence any lazy
+            // initialization of the hypothesis is done before sharing it
+            final var accepted = preVerifier.verify(preVerifiedResiduals, totalSamples, threshold);
+
+            if (!accepted) {
+                // remaining samples of rejected hypotheses are reported as
+                // outliers without computing their residuals
+                for (var j = 0; j < totalSamples; j++) {
+                    if (!evaluated[j]) {
+                        residuals[j] = Double.MAX_VALUE;
+                    }
+                }
+                return;
+            }
+        } else {
+            // first residual is computed on calling thread so that any lazy
+            // initialization of the hypothesis is done before sharing it
+            residuals[0] = function.computeResidual(estimation, 0);
+        }
+
+        final var skip = preVerifier != null ? evaluated : null;
+        final var first = skip != null ? 0 : 1;
+        final var remaining = totalSamples - first;
+        final var taskSize = Math.max(MIN_SAMPLES_PER_TASK, (remaining + parallelism - 1) / parallelism);
+        if (parallelism == MIN_PARALLELISM || remaining <= taskSize) {
+            for (var j = first; j < totalSamples; j++) {
+                if (skip == null || !skip[j]) {
+                    residuals[j] = function.computeResidual(estimation, j);
+                }
+            }
+        } else {
+            pool.invoke(new ResidualsTask<>(function, estimation, residuals, skip, first, totalSamples,
+                    taskSize));
+        }
+        if (preVerifier != null) {
+            // pre-verifier adapts its test to the inliers of accepted hypotheses
+            preVerifier.onHypothesisEvaluated(countInliers(totalSamples), totalSamples);
+        }
+    }
+
+    /**
+     * Finds provided hypothesis in provided list by identity.
+     *
+     * @param estimations list of hypotheses.
+     * @param estimation  hypothesis to look for.
+     * @return position of hypothesis or -1 if not found.
+     */
+    private static <T> int indexOf(final List<T> estimations, final T estimation) {
+        for (var k = 0; k < estimations.size(); k++) {
+            if (estimations.get(k) == estimation) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Computes residuals of provided hypothesis into the next available array
+     * of kept residuals and keeps them along with the hypothesis.
+     *
+     * @param estimation   hypothesis to be evaluated.
+     * @param totalSamples total number of samples.
+     */
+    private void keepResiduals(final T estimation, final int totalSamples) {
+        final var k = keptEstimations.size();
+        final var reused = k < keptResiduals.size();
+        residuals = reused ? keptResiduals.get(k) : null;
+        computeResiduals(estimation, totalSamples);
+        if (reused) {
+            keptResiduals.set(k, residuals);
+        } else {
+            keptResiduals.add(residuals);
+        }
+        keptEstimations.add(estimation);
+    }
+
+    /**
+     * Finds provided hypothesis among the ones whose residuals are kept.
+     * Hypotheses are compared by identity, since residuals belong to a given
+     * instance.
+     *
+     * @param estimation hypothesis to look for.
+     * @return position of hypothesis or -1 if its residuals are not kept.
+     */
+    private int indexOfKept(final T estimation) {
+        return indexOf(keptEstimations, estimation);
+    }
+
+    /**
+     * Counts the number of inliers of the hypothesis whose residuals are
+     * currently kept.
+     *
+     * @param totalSamples total number of samples.
+     * @return number of inliers.
+     */
+    private int countInliers(final int totalSamples) {
+        var numInliers = 0;
+        for (var j = 0; j < totalSamples; j++) {
+            if (residuals[j] <= threshold) {
+                numInliers++;
+            }
+        }
+        return numInliers;
+    }
+
+    /**
+     * Locally optimizes hypothesis whose residuals are currently kept if it
+     * has more inliers than any previous hypothesis.
+     *
+     * @param estimation   hypothesis whose residuals are currently kept.
+     * @param totalSamples total number of samples.
+     * @return locally optimized hypothesis or null if provided hypothesis
+     * does not improve the largest number of inliers or optimization fails.
+     */
+    private T optimize(final T estimation, final int totalSamples) {
+        final var numInliers = countInliers(totalSamples);
+        if (numInliers <= bestNumInliers) {
+            return null;
+        }
+        bestNumInliers = numInliers;
+
+        if (inliers == null) {
+            inliers = new BitSet(totalSamples);
+        } else {
+            inliers.clear();
+        }
+        for (var j = 0; j < totalSamples; j++) {
+            if (residuals[j] <= threshold) {
+                inliers.set(j);
+            }
+        }
+
+        final var optimized = localOptimizer.optimize(estimation, inliers, residuals, numInliers);
+        return optimized != estimation ? optimized : null;
+    }
+
+    /**
+     * Computes the residual of a sample for a given hypothesis.
+     *
+     * @param <T> type of hypotheses being evaluated.
+     */
+    @FunctionalInterface
+    public interface ResidualFunction<T> {
+
+        /**
+         * Computes residual of i-th sample for provided hypothesis.
+         *
+         * @param estimation hypothesis to be evaluated.
+         * @param i          position of sample.
+         * @return residual of i-th sample.
+         */
+        double computeResidual(final T estimation, final int i);
+    }
+
+    /**
+     * Re-estimates a hypothesis from the inliers it has been found to have.
+     * Local optimization is always done on the calling thread of the robust
+     * estimator.
+     *
+     * @param <T> type of hypotheses being evaluated.
+     */
+    @FunctionalInterface
+    public interface LocalOptimizer<T> {
+
+        /**
+         * Re-estimates provided hypothesis using its inliers.
+         *
+         * @param estimation hypothesis to be optimized.
+         * @param inliers    indicates which samples are inliers of provided
+         *                   hypothesis.
+         * @param residuals  residuals of all samples for provided hypothesis.
+         * @param numInliers number of inliers of provided hypothesis.
+         * @return optimized hypothesis or null if optimization failed.
+         */
+        T optimize(final T estimation, final BitSet inliers, final double[] residuals, final int numInliers);
+    }
+
+    /**
+     * Task computing residuals within a range of samples, which is split in
+     * halves until it contains no more than a given number of samples.
+     *
+     * @param <T> type of hypotheses being evaluated.
+     */
+    private static class ResidualsTask<T> extends RecursiveAction {
+
+        /**
+         * Function computing residuals.
+         */
+        private final transient ResidualFunction<T> function;
+
+        /**
+         * Hypothesis being evaluated.
+         */
+        private final transient T estimation;
+
+        /**
+         * Array where residuals are stored.
+         */
+        private final double[] residuals;
+
+        /**
+         * Indicates which residuals are already computed or null if none is.
+         */
+        private final boolean[] skip;
+
+        /**
+         * Position of first sample (inclusive).
+         */
+        private final int from;
+
+        /**
+         * Position of last sample (exclusive).
+         */
+        private final int to;
+
+        /**
+         * Maximum number of samples computed without splitting the task.
+         */
+        private final int threshold;
+
+        /**
+         * Constructor.
+         *
+         * @param function   function computing residuals.
+         * @param estimation hypothesis being evaluated.
+         * @param residuals  array where residuals are stored.
+         * @param skip       indicates which residuals are already computed or
+         *                   null if none is.
+         * @param from       position of first sample (inclusive).
+         * @param to         position of last sample (exclusive).
+         * @param threshold  maximum number of samples computed without
+         *                   splitting the task.
+         */
+        ResidualsTask(final ResidualFunction<T> function, final T estimation, final double[] residuals,
+                      final boolean[] skip, final int from, final int to, final int threshold) {
+            this.function = function;
+            this.estimation = estimation;
+            this.residuals = residuals;
+            this.skip = skip;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        /**
+         * Computes residuals within range of samples.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (var j = from; j < to; j++) {
+                    if (skip == null || !skip[j]) {
+                        residuals[j] = function.computeResidual(estimation, j);
+                    }
+                }
+            } else {
+                final var middle = (from + to) >>> 1;
+                invokeAll(new ResidualsTask<>(function, estimation, residuals, skip, from, middle, threshold),
+                        new ResidualsTask<>(function, estimation, residuals, skip, middle, to, threshold));
+            }
+        }
+    }
+
+    /**
+     * Base class for listeners delegating on another listener and computing
+     * residuals concurrently.
+     *
+     * @param <T> type of hypotheses being evaluated.
+     * @param <L> type of wrapped listener.
+     */
+    private abstract static class ParallelListener<T, L extends RobustEstimatorListener<T>>
+            implements RobustEstimatorListener<T> {
+
+        /**
+         * Wrapped listener.
+         */
+        protected final L listener;
+
+        /**
+         * Evaluator computing residuals.
+         */
+        protected final ParallelResidualEvaluator<T> evaluator;
+
+        /**
+         * Pool where hypotheses are recycled or null if hypotheses are not
+         * recycled.
+         */
+        private final HypothesisPool<T> hypothesisPool;
+
+        /**
+         * Constructor.
+         *
+         * @param listener       wrapped listener.
+         * @param function       function computing residuals.
+         * @param parallelism    number of tasks residuals are split into.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelListener(final L listener, final ResidualFunction<T> function, final int parallelism,
+                         final HypothesisPool<T> hypothesisPool) {
+            this(listener, function, parallelism, null, 0.0, null, hypothesisPool);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param listener       wrapped listener.
+         * @param function       function computing residuals.
+         * @param parallelism    number of tasks residuals are split into.
+         * @param preVerifier    pre-verifier of hypotheses or null if
+         *                       hypotheses must not be pre-verified.
+         * @param threshold      threshold to determine whether a sample is an
+         *                       inlier during pre-verification and local
+         *                       optimization.
+         * @param localOptimizer local optimizer of hypotheses or null if no
+         *                       local optimization must be done.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelListener(final L listener, final ResidualFunction<T> function, final int parallelism,
+                         final HypothesisPreVerifier preVerifier, final double threshold,
+                         final LocalOptimizer<T> localOptimizer, final HypothesisPool<T> hypothesisPool) {
+            this(listener, new ParallelResidualEvaluator<>(function, parallelism, ForkJoinPool.commonPool(),
+                    preVerifier, threshold, localOptimizer), hypothesisPool);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param listener       wrapped listener.
+         * @param evaluator      evaluator computing residuals.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         * @throws NullPointerException if listener or evaluator are null.
+         */
+        ParallelListener(final L listener, final ParallelResidualEvaluator<T> evaluator,
+                         final HypothesisPool<T> hypothesisPool) {
+            if (listener == null || evaluator == null) {
+                throw new NullPointerException();
+            }
+            this.listener = listener;
+            this.evaluator = evaluator;
+            this.hypothesisPool = hypothesisPool;
+        }
+
+        /**
+         * Estimates solutions for provided subset of samples using wrapped
+         * listener and, if local optimization is enabled, adds the locally
+         * optimized hypothesis of the best one, so that it is scored within
+         * the same iteration.
+         *
+         * @param samplesIndices indices of subset of samples.
+         * @param solutions      list where estimated solutions are added.
+         */
+        public void estimatePreliminarSolutions(final int[] samplesIndices, final List<T> solutions) {
+            estimateSubsetSolutions(samplesIndices, solutions);
+            if (evaluator.getLocalOptimizer() != null) {
+                evaluator.optimizeSolutions(solutions, getTotalSamples());
+            }
+        }
+
+        /**
+         * Gets total number of samples.
+         *
+         * @return total number of samples.
+         */
+        public abstract int getTotalSamples();
+
+        /**
+         * Estimates solutions for provided subset of samples using wrapped
+         * listener.
+         *
+         * @param samplesIndices indices of subset of samples.
+         * @param solutions      list where estimated solutions are added.
+         */
+        protected abstract void estimateSubsetSolutions(final int[] samplesIndices, final List<T> solutions);
+
+        /**
+         * Determines whether wrapped listener is ready.
+         *
+         * @return true if wrapped listener is ready, false otherwise.
+         */
+        @Override
+        public boolean isReady() {
+            return listener.isReady();
+        }
+
+        /**
+         * Notifies wrapped listener and pre-verifier, if any, that estimation
+         * starts, and recycles all hypotheses of previous estimations.
+         *
+         * @param estimator estimator being used.
+         */
+        @Override
+        public void onEstimateStart(final RobustEstimator<T> estimator) {
+            if (hypothesisPool != null) {
+                hypothesisPool.recycle();
+            }
+            evaluator.reset();
+            final var preVerifier = evaluator.getPreVerifier();
+            if (preVerifier != null) {
+                preVerifier.onEstimateStart();
+            }
+            listener.onEstimateStart(estimator);
+        }
+
+        /**
+         * Notifies wrapped listener that estimation ends.
+         *
+         * @param estimator estimator being used.
+         */
+        @Override
+        public void onEstimateEnd(final RobustEstimator<T> estimator) {
+            evaluator.reset();
+            listener.onEstimateEnd(estimator);
+        }
+
+        /**
+         * Notifies wrapped listener that a new iteration starts.
+         *
+         * @param estimator estimator being used.
+         * @param iteration current iteration.
+         */
+        @Override
+        public void onEstimateNextIteration(final RobustEstimator<T> estimator, final int iteration) {
+            listener.onEstimateNextIteration(estimator, iteration);
+        }
+
+        /**
+         * Notifies wrapped listener that progress changes.
+         *
+         * @param estimator estimator being used.
+         * @param progress  estimation progress.
+         */
+        @Override
+        public void onEstimateProgressChange(final RobustEstimator<T> estimator, final float progress) {
+            listener.onEstimateProgressChange(estimator, progress);
+        }
+    }
+
+    /**
+     * Listener for RANSAC estimators computing residuals concurrently.
+     *
+     * @param <T> type of hypotheses being evaluated.
+     */
+    private static class ParallelRANSACListener<T>
+            extends ParallelListener<T, RANSACRobustEstimatorListener<T>>
+            implements RANSACRobustEstimatorListener<T> {
+
+        /**
+         * Constructor.
+         *
+         * @param listener       wrapped listener.
+         * @param parallelism    number of tasks residuals are split into.
+         * @param preVerifier    pre-verifier of hypotheses or null if
+         *                       hypotheses must not be pre-verified.
+         * @param localOptimizer local optimizer of hypotheses or null if no
+         *                       local optimization must be done.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelRANSACListener(final RANSACRobustEstimatorListener<T> listener, final int parallelism,
+                               final HypothesisPreVerifier preVerifier, final LocalOptimizer<T> localOptimizer,
+                               final HypothesisPool<T> hypothesisPool) {
+            super(listener, listener::computeResidual, parallelism, preVerifier, listener.getThreshold(),
+                    localOptimizer, hypothesisPool);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param listener       wrapped listener.
+         * @param evaluator      evaluator computing residuals.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelRANSACListener(final RANSACRobustEstimatorListener<T> listener,
+                               final ParallelResidualEvaluator<T> evaluator, final HypothesisPool<T> hypothesisPool) {
+            super(listener, evaluator, hypothesisPool);
+        }
+
+        @Override
+        public double getThreshold() {
+            return listener.getThreshold();
+        }
+
+        @Override
+        public int getTotalSamples() {
+            return listener.getTotalSamples();
+        }
+
+        @Override
+        public int getSubsetSize() {
+            return listener.getSubsetSize();
+        }
+
+        @Override
+        protected void estimateSubsetSolutions(final int[] samplesIndices, final List<T> solutions) {
+            listener.estimatePreliminarSolutions(samplesIndices, solutions);
+        }
+
+        @Override
+        public double computeResidual(final T currentEstimation, final int i) {
+            return evaluator.getResidual(currentEstimation, i, listener.getTotalSamples());
+        }
+    }
+
+    /**
+     * Listener for MSAC estimators computing residuals concurrently.
+     *
+     * @param <T> type of hypotheses being evaluated.
+     */
+    private static class ParallelMSACListener<T>
+            extends ParallelListener<T, MSACRobustEstimatorListener<T>>
+            implements MSACRobustEstimatorListener<T> {
+
+        /**
+         * Constructor.
+         *
+         * @param listener       wrapped listener.
+         * @param parallelism    number of tasks residuals are split into.
+         * @param preVerifier    pre-verifier of hypotheses or null if
+         *                       hypotheses must not be pre-verified.
+         * @param localOptimizer local optimizer of hypotheses or null if no
+         *                       local optimization must be done.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelMSACListener(final MSACRobustEstimatorListener<T> listener, final int parallelism,
+                             final HypothesisPreVerifier preVerifier, final LocalOptimizer<T> localOptimizer,
+                             final HypothesisPool<T> hypothesisPool) {
+            super(listener, listener::computeResidual, parallelism, preVerifier, listener.getThreshold(),
+                    localOptimizer, hypothesisPool);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param listener       wrapped listener.
+         * @param evaluator      evaluator computing residuals.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelMSACListener(final MSACRobustEstimatorListener<T> listener,
+                             final ParallelResidualEvaluator<T> evaluator, final HypothesisPool<T> hypothesisPool) {
+            super(listener, evaluator, hypothesisPool);
+        }
+
+        @Override
+        public double getThreshold() {
+            return listener.getThreshold();
+        }
+
+        @Override
+        public int getTotalSamples() {
+            return listener.getTotalSamples();
+        }
+
+        @Override
+        public int getSubsetSize() {
+            return listener.getSubsetSize();
+        }
+
+        @Override
+        protected void estimateSubsetSolutions(final int[] samplesIndices, final List<T> solutions) {
+            listener.estimatePreliminarSolutions(samplesIndices, solutions);
+        }
+
+        @Override
+        public double computeResidual(final T currentEstimation, final int i) {
+            return evaluator.getResidual(currentEstimation, i, listener.getTotalSamples());
+        }
+    }
+
+    /**
+     * Listener for PROSAC estimators computing residuals concurrently.
+     *
+     * @param <T> type of hypotheses being evaluated.
+     */
+    private static class ParallelPROSACListener<T>
+            extends ParallelListener<T, PROSACRobustEstimatorListener<T>>
+            implements PROSACRobustEstimatorListener<T> {
+
+        /**
+         * Constructor.
+         *
+         * @param listener       wrapped listener.
+         * @param parallelism    number of tasks residuals are split into.
+         * @param preVerifier    pre-verifier of hypotheses or null if
+         *                       hypotheses must not be pre-verified.
+         * @param localOptimizer local optimizer of hypotheses or null if no
+         *                       local optimization must be done.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelPROSACListener(final PROSACRobustEstimatorListener<T> listener, final int parallelism,
+                               final HypothesisPreVerifier preVerifier, final LocalOptimizer<T> localOptimizer,
+                               final HypothesisPool<T> hypothesisPool) {
+            super(listener, listener::computeResidual, parallelism, preVerifier, listener.getThreshold(),
+                    localOptimizer, hypothesisPool);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param listener       wrapped listener.
+         * @param evaluator      evaluator computing residuals.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelPROSACListener(final PROSACRobustEstimatorListener<T> listener,
+                               final ParallelResidualEvaluator<T> evaluator, final HypothesisPool<T> hypothesisPool) {
+            super(listener, evaluator, hypothesisPool);
+        }
+
+        @Override
+        public double getThreshold() {
+            return listener.getThreshold();
+        }
+
+        @Override
+        public int getTotalSamples() {
+            return listener.getTotalSamples();
+        }
+
+        @Override
+        public int getSubsetSize() {
+            return listener.getSubsetSize();
+        }
+
+        @Override
+        protected void estimateSubsetSolutions(final int[] samplesIndices, final List<T> solutions) {
+            listener.estimatePreliminarSolutions(samplesIndices, solutions);
+        }
+
+        @Override
+        public double computeResidual(final T currentEstimation, final int i) {
+            return evaluator.getResidual(currentEstimation, i, listener.getTotalSamples());
+        }
+
+        @Override
+        public double[] getQualityScores() {
+            return listener.getQualityScores();
+        }
+    }
+
+    /**
+     * Listener for LMedS estimators computing residuals concurrently.
+     *
+     * @param <T> type of hypotheses being evaluated.
+     */
+    private static class ParallelLMedSListener<T>
+            extends ParallelListener<T, LMedSRobustEstimatorListener<T>>
+            implements LMedSRobustEstimatorListener<T> {
+
+        /**
+         * Constructor.
+         *
+         * @param listener    wrapped listener.
+         * @param parallelism    number of tasks residuals are split into.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelLMedSListener(final LMedSRobustEstimatorListener<T> listener, final int parallelism,
+                              final HypothesisPool<T> hypothesisPool) {
+            super(listener, listener::computeResidual, parallelism, hypothesisPool);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param listener       wrapped listener.
+         * @param evaluator      evaluator computing residuals.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelLMedSListener(final LMedSRobustEstimatorListener<T> listener,
+                              final ParallelResidualEvaluator<T> evaluator, final HypothesisPool<T> hypothesisPool) {
+            super(listener, evaluator, hypothesisPool);
+        }
+
+        @Override
+        public int getTotalSamples() {
+            return listener.getTotalSamples();
+        }
+
+        @Override
+        public int getSubsetSize() {
+            return listener.getSubsetSize();
+        }
+
+        @Override
+        protected void estimateSubsetSolutions(final int[] samplesIndices, final List<T> solutions) {
+            listener.estimatePreliminarSolutions(samplesIndices, solutions);
+        }
+
+        @Override
+        public double computeResidual(final T currentEstimation, final int i) {
+            return evaluator.getResidual(currentEstimation, i, listener.getTotalSamples());
+        }
+    }
+
+    /**
+     * Listener for PROMedS estimators computing residuals concurrently.
+     *
+     * @param <T> type of hypotheses being evaluated.
+     */
+    private static class ParallelPROMedSListener<T>
+            extends ParallelListener<T, PROMedSRobustEstimatorListener<T>>
+            implements PROMedSRobustEstimatorListener<T> {
+
+        /**
+         * Constructor.
+         *
+         * @param listener    wrapped listener.
+         * @param parallelism    number of tasks residuals are split into.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelPROMedSListener(final PROMedSRobustEstimatorListener<T> listener, final int parallelism,
+                                final HypothesisPool<T> hypothesisPool) {
+            super(listener, listener::computeResidual, parallelism, hypothesisPool);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param listener       wrapped listener.
+         * @param evaluator      evaluator computing residuals.
+         * @param hypothesisPool pool where hypotheses are recycled when each
+         *                       estimation starts or null if hypotheses must
+         *                       not be recycled.
+         */
+        ParallelPROMedSListener(final PROMedSRobustEstimatorListener<T> listener,
+                                final ParallelResidualEvaluator<T> evaluator, final HypothesisPool<T> hypothesisPool) {
+            super(listener, evaluator, hypothesisPool);
+        }
+
+        @Override
+        public double getThreshold() {
+            return listener.getThreshold();
+        }
+
+        @Override
+        public int getTotalSamples() {
+            return listener.getTotalSamples();
+        }
+
+        @Override
+        public int getSubsetSize() {
+            return listener.getSubsetSize();
+        }
+
+        @Override
+        protected void estimateSubsetSolutions(final int[] samplesIndices, final List<T> solutions) {
+            listener.estimatePreliminarSolutions(samplesIndices, solutions);
+        }
+
+        @Override
+        public double computeResidual(final T currentEstimation, final int i) {
+            return evaluator.getResidual(currentEstimation, i, listener.getTotalSamples());
+        }
+
+        @Override
+        public double[] getQualityScores() {
+            return listener.getQualityScores();
+        }
+    }
+}
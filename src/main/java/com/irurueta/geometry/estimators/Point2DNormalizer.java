@@ -17,6 +17,7 @@ package com.irurueta.geometry.estimators;
 
 import com.irurueta.algebra.Matrix;
 import com.irurueta.geometry.Point2D;
+import com.irurueta.geometry.PointCloud2D;
 import com.irurueta.geometry.ProjectiveTransformation2D;
 
 import java.util.List;
@@ -113,6 +114,17 @@ public class Point2DNormalizer {
         reset();
     }
 
+    /**
+     * Constructor.
+     *
+     * @param cloud point cloud to be used to compute normalization.
+     * @throws IllegalArgumentException if provided point cloud does not
+     *                                  contain enough points, which is MIN_POINTS.
+     */
+    public Point2DNormalizer(final PointCloud2D cloud) {
+        this(cloud.asList());
+    }
+
     /**
      * Returns collection of points used to compute normalization.
      *
@@ -339,25 +351,46 @@ public class Point2DNormalizer {
     /**
      * Computes minimum and maximum inhomogeneous point coordinates from the
      * list of provided 2D points.
+     * When points are a view of a point cloud, coordinates are read directly
+     * from the arrays of the point cloud.
      */
-    @SuppressWarnings("DuplicatedCode")
     private void computeLimits() {
-        for (final var point : points) {
-            final var inhomX = point.getInhomX();
-            final var inhomY = point.getInhomY();
-            if (inhomX < minInhomX) {
-                minInhomX = inhomX;
+        if (points instanceof PointCloud2D.PointList list) {
+            final var cloud = list.getCloud();
+            final var x = cloud.getX();
+            final var y = cloud.getY();
+            final var n = cloud.size();
+            for (var i = 0; i < n; i++) {
+                updateLimits(x[i], y[i]);
             }
-            if (inhomY < minInhomY) {
-                minInhomY = inhomY;
+        } else {
+            for (final var point : points) {
+                updateLimits(point.getInhomX(), point.getInhomY());
             }
+        }
+    }
 
-            if (inhomX > maxInhomX) {
-                maxInhomX = inhomX;
-            }
-            if (inhomY > maxInhomY) {
-                maxInhomY = inhomY;
-            }
+    /**
+     * Updates minimum and maximum inhomogeneous point coordinates with provided
+     * point coordinates.
+     *
+     * @param inhomX x inhomogeneous coordinate.
+     * @param inhomY y inhomogeneous coordinate.
+     */
+    @SuppressWarnings("DuplicatedCode")
+    private void updateLimits(final double inhomX, final double inhomY) {
+        if (inhomX < minInhomX) {
+            minInhomX = inhomX;
+        }
+        if (inhomY < minInhomY) {
+            minInhomY = inhomY;
+        }
+
+        if (inhomX > maxInhomX) {
+            maxInhomX = inhomX;
+        }
+        if (inhomY > maxInhomY) {
+            maxInhomY = inhomY;
         }
     }
 
@@ -17,6 +17,7 @@ package com.irurueta.geometry.estimators;
 
 import com.irurueta.algebra.Matrix;
 import com.irurueta.geometry.Point3D;
+import com.irurueta.geometry.PointCloud3D;
 import com.irurueta.geometry.ProjectiveTransformation3D;
 
 import java.util.List;
@@ -127,6 +128,17 @@ public class Point3DNormalizer {
         reset();
     }
 
+    /**
+     * Constructor.
+     *
+     * @param cloud point cloud to be used to compute normalization.
+     * @throws IllegalArgumentException if provided point cloud does not
+     *                                  contain enough points, which is MIN_POINTS.
+     */
+    public Point3DNormalizer(final PointCloud3D cloud) {
+        this(cloud.asList());
+    }
+
     /**
      * Returns collection of points used to compute normalization.
      *
@@ -395,33 +407,55 @@ public class Point3DNormalizer {
 
     /**
      * Computes minimum and maximum inhomogeneous point coordinates from the
-     * list of provided 2D points.
+     * list of provided 3D points.
+     * When points are a view of a point cloud, coordinates are read directly
+     * from the arrays of the point cloud.
      */
-    @SuppressWarnings("DuplicatedCode")
     private void computeLimits() {
-        for (final var point : points) {
-            final var inhomX = point.getInhomX();
-            final var inhomY = point.getInhomY();
-            final var inhomZ = point.getInhomZ();
-            if (inhomX < minInhomX) {
-                minInhomX = inhomX;
-            }
-            if (inhomY < minInhomY) {
-                minInhomY = inhomY;
+        if (points instanceof PointCloud3D.PointList list) {
+            final var cloud = list.getCloud();
+            final var x = cloud.getX();
+            final var y = cloud.getY();
+            final var z = cloud.getZ();
+            final var n = cloud.size();
+            for (var i = 0; i < n; i++) {
+                updateLimits(x[i], y[i], z[i]);
             }
-            if (inhomZ < minInhomZ) {
-                minInhomZ = inhomZ;
+        } else {
+            for (final var point : points) {
+                updateLimits(point.getInhomX(), point.getInhomY(), point.getInhomZ());
             }
+        }
+    }
 
-            if (inhomX > maxInhomX) {
-                maxInhomX = inhomX;
-            }
-            if (inhomY > maxInhomY) {
-                maxInhomY = inhomY;
-            }
-            if (inhomZ > maxInhomZ) {
-                maxInhomZ = inhomZ;
-            }
+    /**
+     * Updates minimum and maximum inhomogeneous point coordinates with provided
+     * point coordinates.
+     *
+     * @param inhomX x inhomogeneous coordinate.
+     * @param inhomY y inhomogeneous coordinate.
+     * @param inhomZ z inhomogeneous coordinate.
+     */
+    @SuppressWarnings("DuplicatedCode")
+    private void updateLimits(final double inhomX, final double inhomY, final double inhomZ) {
+        if (inhomX < minInhomX) {
+            minInhomX = inhomX;
+        }
+        if (inhomY < minInhomY) {
+            minInhomY = inhomY;
+        }
+        if (inhomZ < minInhomZ) {
+            minInhomZ = inhomZ;
+        }
+
+        if (inhomX > maxInhomX) {
+            maxInhomX = inhomX;
+        }
+        if (inhomY > maxInhomY) {
+            maxInhomY = inhomY;
+        }
+        if (inhomZ > maxInhomZ) {
+            maxInhomZ = inhomZ;
         }
     }
 
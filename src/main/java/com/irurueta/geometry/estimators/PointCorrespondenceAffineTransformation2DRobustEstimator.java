@@ -18,9 +18,11 @@ package com.irurueta.geometry.estimators;
 import com.irurueta.geometry.AffineTransformation2D;
 import com.irurueta.geometry.Point2D;
 import com.irurueta.geometry.refiners.PointCorrespondenceAffineTransformation2DRefiner;
+import com.irurueta.geometry.refiners.RefinerException;
 import com.irurueta.numerical.robust.RobustEstimatorMethod;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This is an abstract class for algorithms to robustly find the best affine
@@ -36,6 +38,12 @@ public abstract class PointCorrespondenceAffineTransformation2DRobustEstimator
      */
     public static final RobustEstimatorMethod DEFAULT_ROBUST_METHOD = RobustEstimatorMethod.PROMEDS;
 
+    /**
+     * Indicates that by default hypotheses are not locally optimized during
+     * robust estimation.
+     */
+    public static final boolean DEFAULT_LOCAL_OPTIMIZATION_ENABLED = false;
+
     /**
      * List of points to be used to estimate an affine 2D transformation.
      * Each point in the list of input points must be matched with the
@@ -54,6 +62,14 @@ public abstract class PointCorrespondenceAffineTransformation2DRobustEstimator
      */
     protected List<Point2D> outputPoints;
 
+    /**
+     * Indicates whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC). Only RANSAC, MSAC and PROSAC methods use local
+     * optimization.
+     */
+    protected boolean localOptimizationEnabled = DEFAULT_LOCAL_OPTIMIZATION_ENABLED;
+
     /**
      * Constructor.
      */
@@ -552,6 +568,163 @@ public abstract class PointCorrespondenceAffineTransformation2DRobustEstimator
         return create(listener, inputPoints, outputPoints, qualityScores, DEFAULT_ROBUST_METHOD);
     }
 
+    /**
+     * Creates a batch estimator to solve many independent affine 2D transformation
+     * estimation problems (e.g. one per image tile or tracked object)
+     * concurrently on the common fork-join pool.
+     * Estimators created with provided robust method and configured with
+     * provided configurator are kept by returned instance and reused by later
+     * problems, and points of each problem are released once it is solved.
+     * Callers solving several batches should keep returned instance and reuse
+     * it, since estimators are then also reused across batches.
+     *
+     * @param method       robust estimator method.
+     * @param configurator configures each created estimator (e.g. to set
+     *                     threshold or confidence), or null to keep default
+     *                     settings.
+     * @return a batch estimator.
+     * @throws IllegalStateException if configurator finds a locked estimator
+     *                               when estimators are created.
+     */
+    public static BatchRobustEstimator<PointCorrespondenceSet<Point2D, Point2D>,
+            PointCorrespondenceAffineTransformation2DRobustEstimator, AffineTransformation2D>
+    createBatchEstimator(
+            final RobustEstimatorMethod method,
+            final BatchRobustEstimator.Configurator<PointCorrespondenceAffineTransformation2DRobustEstimator>
+                    configurator) {
+        return new BatchRobustEstimator<>(() -> {
+            final var estimator = create(method);
+            if (configurator != null) {
+                try {
+                    configurator.configure(estimator);
+                } catch (final LockedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return estimator;
+        }, (estimator, problem) -> {
+            estimator.setPoints(problem.getInputPoints(), problem.getOutputPoints());
+            // estimators are reused, hence scores of previous problems must not be kept
+            estimator.setQualityScores(problem.getQualityScoresOrDefault());
+            return estimator.estimate();
+        }, PointCorrespondenceAffineTransformation2DRobustEstimator::getInliersData, estimator -> {
+            // estimators are kept for later problems, hence points of solved
+            // problems must not be retained
+            estimator.inputPoints = null;
+            estimator.outputPoints = null;
+        }, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Solves many independent affine 2D transformation estimation problems concurrently
+     * using provided robust method and configurator.
+     * Results are returned in the same order as provided problems, and
+     * failure of a problem is reported in its result without aborting the
+     * remaining ones.
+     * A new batch estimator is created on every call, hence callers solving
+     * several batches should rather keep the one returned by
+     * {@link #createBatchEstimator(RobustEstimatorMethod, BatchRobustEstimator.Configurator)}
+     * so that estimators are reused across batches.
+     *
+     * @param problems     input points and output points of each problem.
+     * @param method       robust estimator method.
+     * @param configurator configures each created estimator, or null to keep
+     *                     default settings.
+     * @return results of each problem.
+     * @throws IllegalArgumentException if provided list of problems is null.
+     */
+    public static List<BatchEstimationResult<AffineTransformation2D>> estimateBatch(
+            final List<PointCorrespondenceSet<Point2D, Point2D>> problems, final RobustEstimatorMethod method,
+            final BatchRobustEstimator.Configurator<PointCorrespondenceAffineTransformation2DRobustEstimator>
+                    configurator) {
+        return createBatchEstimator(method, configurator).estimate(problems);
+    }
+
+    /**
+     * Solves many independent affine 2D transformation estimation problems concurrently
+     * using provided robust method and default settings.
+     *
+     * @param problems input points and output points of each problem.
+     * @param method   robust estimator method.
+     * @return results of each problem.
+     * @throws IllegalArgumentException if provided list of problems is null.
+     */
+    public static List<BatchEstimationResult<AffineTransformation2D>> estimateBatch(
+            final List<PointCorrespondenceSet<Point2D, Point2D>> problems, final RobustEstimatorMethod method) {
+        return estimateBatch(problems, method, null);
+    }
+
+    /**
+     * Solves many independent affine 2D transformation estimation problems concurrently
+     * using default robust method and settings.
+     *
+     * @param problems input points and output points of each problem.
+     * @return results of each problem.
+     * @throws IllegalArgumentException if provided list of problems is null.
+     */
+    public static List<BatchEstimationResult<AffineTransformation2D>> estimateBatch(
+            final List<PointCorrespondenceSet<Point2D, Point2D>> problems) {
+        return estimateBatch(problems, DEFAULT_ROBUST_METHOD, null);
+    }
+
+    /**
+     * Indicates whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC).
+     * Locally optimized hypotheses are evaluated by the robust estimator as
+     * any other hypothesis, which typically reduces the number of iterations
+     * required to reach the requested confidence.
+     * Only RANSAC, MSAC and PROSAC methods use local optimization.
+     *
+     * @return true if hypotheses are locally optimized, false otherwise.
+     */
+    public boolean isLocalOptimizationEnabled() {
+        return localOptimizationEnabled;
+    }
+
+    /**
+     * Specifies whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC).
+     * Only RANSAC, MSAC and PROSAC methods use local optimization.
+     *
+     * @param localOptimizationEnabled true to locally optimize hypotheses,
+     *                                 false otherwise.
+     * @throws LockedException if estimator is locked.
+     */
+    public void setLocalOptimizationEnabled(final boolean localOptimizationEnabled) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.localOptimizationEnabled = localOptimizationEnabled;
+    }
+
+    /**
+     * Creates a local optimizer re-estimating hypotheses with the
+     * Levenberg-Marquardt refiner over their inliers, since no linear
+     * estimator using more than the minimum number of point correspondences
+     * is available.
+     *
+     * @return local optimizer or null if local optimization is disabled.
+     */
+    protected ParallelResidualEvaluator.LocalOptimizer<AffineTransformation2D> createLocalOptimizer() {
+        if (!localOptimizationEnabled) {
+            return null;
+        }
+
+        return (transformation, inliers, residuals, numInliers) -> {
+            final var refiner = new PointCorrespondenceAffineTransformation2DRefiner(transformation, false, inliers,
+                    residuals, numInliers, inputPoints, outputPoints, getRefinementStandardDeviation());
+            try {
+                final var result = new AffineTransformation2D();
+                return refiner.refine(result) ? result : null;
+            } catch (final NotReadyException | LockedException | RefinerException e) {
+                // optimization failed, so hypothesis is kept as it is
+                return null;
+            }
+        };
+    }
+
     /**
      * Attempts to refine provided solution if refinement is requested.
      * This method returns a refined solution of the same provided solution
@@ -24,7 +24,9 @@ import com.irurueta.geometry.refiners.NonDecomposedPointCorrespondencePinholeCam
 import com.irurueta.numerical.robust.InliersData;
 import com.irurueta.numerical.robust.RobustEstimatorMethod;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This is an abstract class for algorithms to robustly find the best pinhole
@@ -52,6 +54,12 @@ public abstract class PointCorrespondencePinholeCameraRobustEstimator extends Pi
      */
     public static final RobustEstimatorMethod DEFAULT_ROBUST_METHOD = RobustEstimatorMethod.PROMEDS;
 
+    /**
+     * Indicates that by default hypotheses are not locally optimized during
+     * robust estimation.
+     */
+    public static final boolean DEFAULT_LOCAL_OPTIMIZATION_ENABLED = false;
+
     /**
      * List of matched 3D points.
      */
@@ -68,6 +76,14 @@ public abstract class PointCorrespondencePinholeCameraRobustEstimator extends Pi
      */
     protected boolean normalizeSubsetPointCorrespondences;
 
+    /**
+     * Indicates whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC). Only RANSAC, MSAC and PROSAC methods use local
+     * optimization.
+     */
+    protected boolean localOptimizationEnabled = DEFAULT_LOCAL_OPTIMIZATION_ENABLED;
+
     /**
      * Constructor.
      */
@@ -250,6 +266,41 @@ public abstract class PointCorrespondencePinholeCameraRobustEstimator extends Pi
         this.normalizeSubsetPointCorrespondences = normalizeSubsetPointCorrespondences;
     }
 
+    /**
+     * Indicates whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC).
+     * Hypotheses are re-estimated using the same non-robust estimator used
+     * for each subset of samples, but with all their inliers. Locally
+     * optimized hypotheses are evaluated by the robust estimator as any
+     * other hypothesis, which typically reduces the number of iterations
+     * required to reach the requested confidence.
+     * Only RANSAC, MSAC and PROSAC methods use local optimization.
+     *
+     * @return true if hypotheses are locally optimized, false otherwise.
+     */
+    public boolean isLocalOptimizationEnabled() {
+        return localOptimizationEnabled;
+    }
+
+    /**
+     * Specifies whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC).
+     * Only RANSAC, MSAC and PROSAC methods use local optimization.
+     *
+     * @param localOptimizationEnabled true to locally optimize hypotheses,
+     *                                 false otherwise.
+     * @throws LockedException if robust estimator is locked because an
+     *                         estimation is already in progress.
+     */
+    public void setLocalOptimizationEnabled(final boolean localOptimizationEnabled) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.localOptimizationEnabled = localOptimizationEnabled;
+    }
+
     /**
      * Creates a pinhole camera robust estimator based on point correspondences
      * and using provided robust estimator method + DLT.
@@ -1352,6 +1403,164 @@ public abstract class PointCorrespondencePinholeCameraRobustEstimator extends Pi
                 qualityScores, DEFAULT_ROBUST_METHOD);
     }
 
+    /**
+     * Creates a batch estimator to solve many independent pinhole camera
+     * estimation problems (e.g. one per image tile or tracked object)
+     * concurrently on the common fork-join pool.
+     * Estimators created with provided robust method and configured with
+     * provided configurator are kept by returned instance and reused by later
+     * problems, and points of each problem are released once it is solved.
+     * Callers solving several batches should keep returned instance and reuse
+     * it, since estimators are then also reused across batches.
+     *
+     * @param method       robust estimator method.
+     * @param configurator configures each created estimator (e.g. to set
+     *                     threshold or confidence), or null to keep default
+     *                     settings.
+     * @return a batch estimator.
+     * @throws IllegalStateException if configurator finds a locked estimator
+     *                               when estimators are created.
+     */
+    public static BatchRobustEstimator<PointCorrespondenceSet<Point3D, Point2D>,
+            PointCorrespondencePinholeCameraRobustEstimator, PinholeCamera>
+    createBatchEstimator(
+            final RobustEstimatorMethod method,
+            final BatchRobustEstimator.Configurator<PointCorrespondencePinholeCameraRobustEstimator>
+                    configurator) {
+        return new BatchRobustEstimator<>(() -> {
+            final var estimator = create(method);
+            if (configurator != null) {
+                try {
+                    configurator.configure(estimator);
+                } catch (final LockedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return estimator;
+        }, (estimator, problem) -> {
+            estimator.setPoints(problem.getInputPoints(), problem.getOutputPoints());
+            // estimators are reused, hence scores of previous problems must not be kept
+            estimator.setQualityScores(problem.getQualityScoresOrDefault());
+            return estimator.estimate();
+        }, PointCorrespondencePinholeCameraRobustEstimator::getInliersData, estimator -> {
+            // estimators are kept for later problems, hence points of solved
+            // problems must not be retained
+            estimator.points3D = null;
+            estimator.points2D = null;
+        }, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Solves many independent pinhole camera estimation problems concurrently
+     * using provided robust method and configurator.
+     * Results are returned in the same order as provided problems, and
+     * failure of a problem is reported in its result without aborting the
+     * remaining ones.
+     * A new batch estimator is created on every call, hence callers solving
+     * several batches should rather keep the one returned by
+     * {@link #createBatchEstimator(RobustEstimatorMethod, BatchRobustEstimator.Configurator)}
+     * so that estimators are reused across batches.
+     *
+     * @param problems     3D points and matched 2D points of each problem.
+     * @param method       robust estimator method.
+     * @param configurator configures each created estimator, or null to keep
+     *                     default settings.
+     * @return results of each problem.
+     * @throws IllegalArgumentException if provided list of problems is null.
+     */
+    public static List<BatchEstimationResult<PinholeCamera>> estimateBatch(
+            final List<PointCorrespondenceSet<Point3D, Point2D>> problems, final RobustEstimatorMethod method,
+            final BatchRobustEstimator.Configurator<PointCorrespondencePinholeCameraRobustEstimator>
+                    configurator) {
+        return createBatchEstimator(method, configurator).estimate(problems);
+    }
+
+    /**
+     * Solves many independent pinhole camera estimation problems concurrently
+     * using provided robust method and default settings.
+     *
+     * @param problems 3D points and matched 2D points of each problem.
+     * @param method   robust estimator method.
+     * @return results of each problem.
+     * @throws IllegalArgumentException if provided list of problems is null.
+     */
+    public static List<BatchEstimationResult<PinholeCamera>> estimateBatch(
+            final List<PointCorrespondenceSet<Point3D, Point2D>> problems, final RobustEstimatorMethod method) {
+        return estimateBatch(problems, method, null);
+    }
+
+    /**
+     * Solves many independent pinhole camera estimation problems concurrently
+     * using default robust method and settings.
+     *
+     * @param problems 3D points and matched 2D points of each problem.
+     * @return results of each problem.
+     * @throws IllegalArgumentException if provided list of problems is null.
+     */
+    public static List<BatchEstimationResult<PinholeCamera>> estimateBatch(
+            final List<PointCorrespondenceSet<Point3D, Point2D>> problems) {
+        return estimateBatch(problems, DEFAULT_ROBUST_METHOD, null);
+    }
+
+    /**
+     * Creates a local optimizer re-estimating hypotheses with provided
+     * non-robust estimator over all their inliers.
+     * Local optimization takes place on the calling thread of the robust
+     * estimator, hence provided estimator can also be used to estimate
+     * solutions for each subset of samples.
+     *
+     * @param estimator non-robust estimator used to estimate cameras.
+     * @return local optimizer or null if local optimization is disabled.
+     */
+    protected ParallelResidualEvaluator.LocalOptimizer<PinholeCamera> createLocalOptimizer(
+            final PointCorrespondencePinholeCameraEstimator estimator) {
+        if (!localOptimizationEnabled) {
+            return null;
+        }
+
+        final var inliers3D = new ArrayList<Point3D>();
+        final var inliers2D = new ArrayList<Point2D>();
+        return (camera, inliers, residuals, numInliers) -> {
+            inliers3D.clear();
+            inliers2D.clear();
+            for (var i = inliers.nextSetBit(0); i >= 0; i = inliers.nextSetBit(i + 1)) {
+                inliers3D.add(points3D.get(i));
+                inliers2D.add(points2D.get(i));
+            }
+
+            try {
+                return estimateFromInliers(estimator, inliers3D, inliers2D);
+            } catch (final LockedException | WrongListSizesException | NotReadyException
+                    | PinholeCameraEstimatorException e) {
+                // if inliers configuration is degenerate, hypothesis is kept
+                // as it is
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Estimates a camera using provided non-robust estimator and matched
+     * inlier points.
+     *
+     * @param estimator non-robust estimator used to estimate cameras.
+     * @param inliers3D 3D points being inliers of a hypothesis.
+     * @param inliers2D 2D points being inliers of a hypothesis.
+     * @return estimated camera.
+     * @throws LockedException                 if estimator is locked.
+     * @throws WrongListSizesException         if lists of points don't have
+     *                                         the same size or are too small.
+     * @throws NotReadyException               if estimator is not ready.
+     * @throws PinholeCameraEstimatorException if estimation fails.
+     */
+    protected PinholeCamera estimateFromInliers(
+            final PointCorrespondencePinholeCameraEstimator estimator, final List<Point3D> inliers3D,
+            final List<Point2D> inliers2D) throws LockedException, WrongListSizesException, NotReadyException,
+            PinholeCameraEstimatorException {
+        estimator.setLists(inliers3D, inliers2D);
+        return estimator.estimate();
+    }
+
     /**
      * Attempts to refine provided camera.
      *
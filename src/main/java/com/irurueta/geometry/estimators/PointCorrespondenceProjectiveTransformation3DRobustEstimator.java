@@ -18,6 +18,7 @@ package com.irurueta.geometry.estimators;
 import com.irurueta.geometry.Point3D;
 import com.irurueta.geometry.ProjectiveTransformation3D;
 import com.irurueta.geometry.refiners.PointCorrespondenceProjectiveTransformation3DRefiner;
+import com.irurueta.geometry.refiners.RefinerException;
 import com.irurueta.numerical.robust.RobustEstimatorMethod;
 
 import java.util.List;
@@ -36,6 +37,12 @@ public abstract class PointCorrespondenceProjectiveTransformation3DRobustEstimat
      */
     public static final RobustEstimatorMethod DEFAULT_ROBUST_METHOD = RobustEstimatorMethod.PROMEDS;
 
+    /**
+     * Indicates that by default hypotheses are not locally optimized during
+     * robust estimation.
+     */
+    public static final boolean DEFAULT_LOCAL_OPTIMIZATION_ENABLED = false;
+
     /**
      * List of points to be used to estimate a projective 3D transformation.
      * Each point in the list of input points must be matched with the
@@ -54,6 +61,14 @@ public abstract class PointCorrespondenceProjectiveTransformation3DRobustEstimat
      */
     protected List<Point3D> outputPoints;
 
+    /**
+     * Indicates whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC). Only RANSAC, MSAC and PROSAC methods use local
+     * optimization.
+     */
+    protected boolean localOptimizationEnabled = DEFAULT_LOCAL_OPTIMIZATION_ENABLED;
+
     /**
      * Constructor.
      */
@@ -556,6 +571,64 @@ public abstract class PointCorrespondenceProjectiveTransformation3DRobustEstimat
         return create(listener, inputPoints, outputPoints, qualityScores, DEFAULT_ROBUST_METHOD);
     }
 
+    /**
+     * Indicates whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC).
+     * Locally optimized hypotheses are evaluated by the robust estimator as
+     * any other hypothesis, which typically reduces the number of iterations
+     * required to reach the requested confidence.
+     * Only RANSAC, MSAC and PROSAC methods use local optimization.
+     *
+     * @return true if hypotheses are locally optimized, false otherwise.
+     */
+    public boolean isLocalOptimizationEnabled() {
+        return localOptimizationEnabled;
+    }
+
+    /**
+     * Specifies whether each hypothesis improving the largest number of
+     * inliers found so far is re-estimated from its inliers during robust
+     * estimation (LO-RANSAC).
+     * Only RANSAC, MSAC and PROSAC methods use local optimization.
+     *
+     * @param localOptimizationEnabled true to locally optimize hypotheses,
+     *                                 false otherwise.
+     * @throws LockedException if estimator is locked.
+     */
+    public void setLocalOptimizationEnabled(final boolean localOptimizationEnabled) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.localOptimizationEnabled = localOptimizationEnabled;
+    }
+
+    /**
+     * Creates a local optimizer re-estimating hypotheses with the
+     * Levenberg-Marquardt refiner over their inliers, since no linear
+     * estimator using more than the minimum number of point correspondences
+     * is available.
+     *
+     * @return local optimizer or null if local optimization is disabled.
+     */
+    protected ParallelResidualEvaluator.LocalOptimizer<ProjectiveTransformation3D> createLocalOptimizer() {
+        if (!localOptimizationEnabled) {
+            return null;
+        }
+
+        return (transformation, inliers, residuals, numInliers) -> {
+            final var refiner = new PointCorrespondenceProjectiveTransformation3DRefiner(transformation, false, inliers,
+                    residuals, numInliers, inputPoints, outputPoints, getRefinementStandardDeviation());
+            try {
+                final var result = new ProjectiveTransformation3D();
+                return refiner.refine(result) ? result : null;
+            } catch (final NotReadyException | LockedException | RefinerException e) {
+                // optimization failed, so hypothesis is kept as it is
+                return null;
+            }
+        };
+    }
+
     /**
      * Attempts to refine provided solution if refinement is requested.
      * This method returns a refined solution of the same provided solution
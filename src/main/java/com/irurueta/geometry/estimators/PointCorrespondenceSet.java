@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contains matched input and output points defining a single estimation
+ * problem, such as the point correspondences of an image tile or of a tracked
+ * object, along with optional quality scores.
+ * Points in both lists located at the same position are considered to be
+ * matched.
+ *
+ * @param <I> type of input points.
+ * @param <O> type of output points.
+ */
+public class PointCorrespondenceSet<I, O> {
+
+    /**
+     * Quality score assigned to all pairs of matched points when quality
+     * scores are not available.
+     */
+    public static final double DEFAULT_QUALITY_SCORE = 1.0;
+
+    /**
+     * List of input points.
+     */
+    private final List<I> inputPoints;
+
+    /**
+     * List of output points matched with input points.
+     */
+    private final List<O> outputPoints;
+
+    /**
+     * Quality scores of each pair of matched points or null if not
+     * available.
+     */
+    private final double[] qualityScores;
+
+    /**
+     * Constructor.
+     *
+     * @param inputPoints  list of input points.
+     * @param outputPoints list of output points matched with input points.
+     * @throws IllegalArgumentException if any of the lists is null or if they
+     *                                  don't have the same size.
+     */
+    public PointCorrespondenceSet(final List<I> inputPoints, final List<O> outputPoints) {
+        this(inputPoints, outputPoints, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param inputPoints   list of input points.
+     * @param outputPoints  list of output points matched with input points.
+     * @param qualityScores quality scores of each pair of matched points or
+     *                      null if not available.
+     * @throws IllegalArgumentException if any of the lists is null or if
+     *                                  lists and quality scores don't have the same size.
+     */
+    public PointCorrespondenceSet(final List<I> inputPoints, final List<O> outputPoints,
+                                  final double[] qualityScores) {
+        if (inputPoints == null || outputPoints == null || inputPoints.size() != outputPoints.size()) {
+            throw new IllegalArgumentException();
+        }
+        if (qualityScores != null && qualityScores.length != inputPoints.size()) {
+            throw new IllegalArgumentException();
+        }
+        this.inputPoints = inputPoints;
+        this.outputPoints = outputPoints;
+        this.qualityScores = qualityScores;
+    }
+
+    /**
+     * Gets list of input points.
+     *
+     * @return list of input points.
+     */
+    public List<I> getInputPoints() {
+        return inputPoints;
+    }
+
+    /**
+     * Gets list of output points matched with input points.
+     *
+     * @return list of output points.
+     */
+    public List<O> getOutputPoints() {
+        return outputPoints;
+    }
+
+    /**
+     * Gets quality scores of each pair of matched points.
+     *
+     * @return quality scores or null if not available.
+     */
+    public double[] getQualityScores() {
+        return qualityScores;
+    }
+
+    /**
+     * Gets quality scores of each pair of matched points, or the same quality
+     * score for all pairs if not available.
+     * This is useful to set quality scores into robust estimators reused for
+     * several problems, so that scores of a previous problem are not kept.
+     *
+     * @return quality scores or the same quality score for all pairs if not
+     * available.
+     */
+    public double[] getQualityScoresOrDefault() {
+        if (qualityScores != null) {
+            return qualityScores;
+        }
+        final var result = new double[inputPoints.size()];
+        Arrays.fill(result, DEFAULT_QUALITY_SCORE);
+        return result;
+    }
+
+    /**
+     * Gets number of pairs of matched points.
+     *
+     * @return number of pairs of matched points.
+     */
+    public int size() {
+        return inputPoints.size();
+    }
+}
@@ -15,8 +15,6 @@
  */
 package com.irurueta.geometry.estimators;
 
-import com.irurueta.algebra.AlgebraException;
-import com.irurueta.algebra.Matrix;
 import com.irurueta.geometry.Point3D;
 import com.irurueta.geometry.Quadric;
 import com.irurueta.numerical.robust.RobustEstimatorException;
@@ -81,6 +79,17 @@ public abstract class QuadricRobustEstimator {
      */
     public static final int MIN_ITERATIONS = 1;
 
+    /**
+     * Default number of tasks residuals of each hypothesis are split into.
+     * By default, residuals are computed sequentially.
+     */
+    public static final int DEFAULT_PARALLELISM = ParallelResidualEvaluator.DEFAULT_PARALLELISM;
+
+    /**
+     * Minimum allowed number of tasks residuals are split into.
+     */
+    public static final int MIN_PARALLELISM = ParallelResidualEvaluator.MIN_PARALLELISM;
+
     /**
      * Default robust estimator method when none is provided.
      */
@@ -126,16 +135,18 @@ public abstract class QuadricRobustEstimator {
     protected List<Point3D> points;
 
     /**
-     * Matrix representation of a 3D point to be reused when computing
-     * residuals.
+     * Number of tasks residuals of each hypothesis are split into.
+     * Hypotheses are still generated sequentially, hence results do not
+     * depend on this value.
      */
-    private Matrix testPoint;
+    protected int parallelism;
 
     /**
-     * Matrix representation of a quadric to be reused when computing
-     * residuals.
+     * Pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples, or null if hypotheses are
+     * always evaluated against all samples.
      */
-    private Matrix testQ;
+    protected HypothesisPreVerifier preVerifier;
 
     /**
      * Constructor.
@@ -144,6 +155,7 @@ public abstract class QuadricRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
     }
 
     /**
@@ -157,6 +169,7 @@ public abstract class QuadricRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
     }
 
     /**
@@ -170,6 +183,7 @@ public abstract class QuadricRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
         internalSetPoints(points);
     }
 
@@ -187,6 +201,7 @@ public abstract class QuadricRobustEstimator {
         progressDelta = DEFAULT_PROGRESS_DELTA;
         confidence = DEFAULT_CONFIDENCE;
         maxIterations = DEFAULT_MAX_ITERATIONS;
+        parallelism = DEFAULT_PARALLELISM;
         internalSetPoints(points);
     }
 
@@ -331,6 +346,76 @@ public abstract class QuadricRobustEstimator {
         this.maxIterations = maxIterations;
     }
 
+    /**
+     * Returns number of tasks residuals of each hypothesis are split into.
+     * When more than one task is used, residuals of all samples are split
+     * into tasks run on the common fork-join pool, hence the number of
+     * threads actually used is bounded by the parallelism of that pool.
+     * Hypotheses are still generated sequentially, so that results are the
+     * same as when residuals are computed sequentially.
+     *
+     * @return number of tasks residuals are split into.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets number of tasks residuals of each hypothesis are split into.
+     * When more than one task is used, residuals of all samples are split
+     * into tasks run on the common fork-join pool, hence the number of
+     * threads actually used is bounded by the parallelism of that pool.
+     * Hypotheses are still generated sequentially, so that results are the
+     * same as when residuals are computed sequentially.
+     *
+     * @param parallelism number of tasks residuals are split into.
+     * @throws IllegalArgumentException if provided value is less than 1.
+     * @throws LockedException          if this estimator is locked because an
+     *                                  estimation is being computed.
+     */
+    public void setParallelism(final int parallelism) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples.
+     * Pre-verification is only done by methods using a threshold to determine
+     * inliers (RANSAC, MSAC and PROSAC), and statistics about saved residual
+     * evaluations can be obtained from returned instance.
+     *
+     * @return pre-verifier or null if hypotheses are always evaluated against
+     * all samples.
+     */
+    public HypothesisPreVerifier getPreVerifier() {
+        return preVerifier;
+    }
+
+    /**
+     * Sets pre-verifier used to reject bad hypotheses after evaluating the
+     * residuals of a few randomly chosen samples.
+     * Pre-verification is only done by methods using a threshold to determine
+     * inliers (RANSAC, MSAC and PROSAC), and statistics about saved residual
+     * evaluations can be obtained from provided instance.
+     *
+     * @param preVerifier pre-verifier or null if hypotheses must always be
+     *                    evaluated against all samples.
+     * @throws LockedException if this estimator is locked because an
+     *                         estimation is being computed.
+     */
+    public void setPreVerifier(final HypothesisPreVerifier preVerifier) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.preVerifier = preVerifier;
+    }
+
     /**
      * Returns list of points to be used to estimate a quadric.
      * Provided list must have a size greater or equal than MINIMUM_SIZE.
@@ -737,27 +822,17 @@ public abstract class QuadricRobustEstimator {
      */
     protected double residual(final Quadric q, final Point3D point) {
         q.normalize();
-        try {
-            if (testQ == null) {
-                testQ = q.asMatrix();
-            } else {
-                q.asMatrix(testQ);
-            }
-
-            if (testPoint == null) {
-                testPoint = new Matrix(Point3D.POINT3D_HOMOGENEOUS_COORDINATES_LENGTH, 1);
-            }
-            point.normalize();
-            testPoint.setElementAt(0, 0, point.getHomX());
-            testPoint.setElementAt(1, 0, point.getHomY());
-            testPoint.setElementAt(2, 0, point.getHomZ());
-            testPoint.setElementAt(3, 0, point.getHomW());
-            final var locusMatrix = testPoint.transposeAndReturnNew();
-            locusMatrix.multiply(testQ);
-            locusMatrix.multiply(testPoint);
-            return Math.abs(locusMatrix.getElementAt(0, 0));
-        } catch (final AlgebraException e) {
-            return Double.MAX_VALUE;
-        }
+        point.normalize();
+
+        // evaluate p^T * Q * p without building matrices, so that residuals can
+        // be computed concurrently
+        final var x = point.getHomX();
+        final var y = point.getHomY();
+        final var z = point.getHomZ();
+        final var w = point.getHomW();
+        final var locus = q.getA() * x * x + q.getB() * y * y + q.getC() * z * z + q.getJ() * w * w
+                + 2.0 * (q.getD() * x * y + q.getE() * y * z + q.getF() * x * z
+                + q.getG() * x * w + q.getH() * y * w + q.getI() * z * w);
+        return Math.abs(locus);
     }
 }
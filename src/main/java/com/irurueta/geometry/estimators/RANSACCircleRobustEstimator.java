@@ -158,7 +158,7 @@ public class RANSACCircleRobustEstimator extends CircleRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(new RANSACRobustEstimatorListener<Circle>() {
+        final var innerListener = new RANSACRobustEstimatorListener<Circle>() {
 
             @Override
             public double getThreshold() {
@@ -226,7 +226,9 @@ public class RANSACCircleRobustEstimator extends CircleRobustEstimator {
                     listener.onEstimateProgressChange(RANSACCircleRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new RANSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
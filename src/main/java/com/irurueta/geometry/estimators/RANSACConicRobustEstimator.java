@@ -162,7 +162,7 @@ public class RANSACConicRobustEstimator extends ConicRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(new RANSACRobustEstimatorListener<Conic>() {
+        final var innerListener = new RANSACRobustEstimatorListener<Conic>() {
 
                     @Override
                     public double getThreshold() {
@@ -232,7 +232,9 @@ public class RANSACConicRobustEstimator extends ConicRobustEstimator {
                             listener.onEstimateProgressChange(RANSACConicRobustEstimator.this, progress);
                         }
                     }
-                });
+                };
+        final var innerEstimator = new RANSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
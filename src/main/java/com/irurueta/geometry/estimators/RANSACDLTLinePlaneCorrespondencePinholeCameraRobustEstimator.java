@@ -301,7 +301,7 @@ public class RANSACDLTLinePlaneCorrespondencePinholeCameraRobustEstimator
         nonRobustEstimator.setSuggestCenterEnabled(isSuggestCenterEnabled());
         nonRobustEstimator.setSuggestedCenterValue(getSuggestedCenterValue());
 
-        final var innerEstimator = new RANSACRobustEstimator<>(new RANSACRobustEstimatorListener<PinholeCamera>() {
+        final var innerListener = new RANSACRobustEstimatorListener<PinholeCamera>() {
 
             // 3D planes for a subset of samples
             private final List<Plane> subsetPlanes = new ArrayList<>();
@@ -391,7 +391,9 @@ public class RANSACDLTLinePlaneCorrespondencePinholeCameraRobustEstimator
                             RANSACDLTLinePlaneCorrespondencePinholeCameraRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new RANSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
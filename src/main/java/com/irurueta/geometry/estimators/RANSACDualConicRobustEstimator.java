@@ -162,7 +162,7 @@ public class RANSACDualConicRobustEstimator extends DualConicRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(new RANSACRobustEstimatorListener<DualConic>() {
+        final var innerListener = new RANSACRobustEstimatorListener<DualConic>() {
 
             @Override
             public double getThreshold() {
@@ -232,7 +232,9 @@ public class RANSACDualConicRobustEstimator extends DualConicRobustEstimator {
                     listener.onEstimateProgressChange(RANSACDualConicRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new RANSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -162,7 +162,7 @@ public class RANSACDualQuadricRobustEstimator extends DualQuadricRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(new RANSACRobustEstimatorListener<DualQuadric>() {
+        final var innerListener = new RANSACRobustEstimatorListener<DualQuadric>() {
 
             @Override
             public double getThreshold() {
@@ -237,7 +237,9 @@ public class RANSACDualQuadricRobustEstimator extends DualQuadricRobustEstimator
                     listener.onEstimateProgressChange(RANSACDualQuadricRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new RANSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -329,11 +329,12 @@ public class RANSACEuclideanTransformation2DRobustEstimator extends EuclideanTra
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(
+        final var innerEstimator = new RANSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new RANSACRobustEstimatorListener<EuclideanTransformation2D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final EuclideanTransformation2DEstimator nonRobustEstimator =
                             new EuclideanTransformation2DEstimator(isWeakMinimumSizeAllowed());
@@ -376,6 +377,7 @@ public class RANSACEuclideanTransformation2DRobustEstimator extends EuclideanTra
 
                     @Override
                     public double computeResidual(final EuclideanTransformation2D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -421,7 +423,7 @@ public class RANSACEuclideanTransformation2DRobustEstimator extends EuclideanTra
                                     RANSACEuclideanTransformation2DRobustEstimator.this, progress);
                         }
                     }
-                });
+                }, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
@@ -328,11 +328,12 @@ public class RANSACEuclideanTransformation3DRobustEstimator extends EuclideanTra
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(
+        final var innerEstimator = new RANSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new RANSACRobustEstimatorListener<EuclideanTransformation3D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final EuclideanTransformation3DEstimator nonRobustEstimator =
                             new EuclideanTransformation3DEstimator(isWeakMinimumSizeAllowed());
@@ -375,6 +376,7 @@ public class RANSACEuclideanTransformation3DRobustEstimator extends EuclideanTra
 
                     @Override
                     public double computeResidual(final EuclideanTransformation3D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -420,7 +422,7 @@ public class RANSACEuclideanTransformation3DRobustEstimator extends EuclideanTra
                                     RANSACEuclideanTransformation3DRobustEstimator.this, progress);
                         }
                     }
-                });
+                }, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
@@ -158,7 +158,7 @@ public class RANSACLine2DRobustEstimator extends Line2DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(new RANSACRobustEstimatorListener<Line2D>() {
+        final var innerListener = new RANSACRobustEstimatorListener<Line2D>() {
 
             @Override
             public double getThreshold() {
@@ -225,7 +225,9 @@ public class RANSACLine2DRobustEstimator extends Line2DRobustEstimator {
                     listener.onEstimateProgressChange(RANSACLine2DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new RANSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -277,11 +277,11 @@ public class RANSACLineCorrespondenceAffineTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(
+        final var innerEstimator = new RANSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new RANSACRobustEstimatorListener<AffineTransformation2D>() {
 
-                    // line to be reused when computing residuals
-                    private final Line2D testLine = new Line2D();
+                    // line to be reused by each thread when computing residuals
+                    private final ThreadLocal<Line2D> localTestLine = ThreadLocal.withInitial(Line2D::new);
 
                     @Override
                     public double getThreshold() {
@@ -320,6 +320,7 @@ public class RANSACLineCorrespondenceAffineTransformation2DRobustEstimator
 
                     @Override
                     public double computeResidual(final AffineTransformation2D currentEstimation, final int i) {
+                        final var testLine = localTestLine.get();
                         final var inputLine = inputLines.get(i);
                         final var outputLine = outputLines.get(i);
 
@@ -376,7 +377,7 @@ public class RANSACLineCorrespondenceAffineTransformation2DRobustEstimator
                                     progress);
                         }
                     }
-                });
+                }, parallelism, preVerifier));
 
         try {
             locked = true;
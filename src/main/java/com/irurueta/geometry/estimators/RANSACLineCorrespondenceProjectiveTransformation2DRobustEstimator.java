@@ -277,11 +277,11 @@ public class RANSACLineCorrespondenceProjectiveTransformation2DRobustEstimator
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(
+        final var innerEstimator = new RANSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new RANSACRobustEstimatorListener<ProjectiveTransformation2D>() {
 
-                    // line to be reused when computing residuals
-                    private final Line2D testLine = new Line2D();
+                    // line to be reused by each thread when computing residuals
+                    private final ThreadLocal<Line2D> localTestLine = ThreadLocal.withInitial(Line2D::new);
 
                     @Override
                     public double getThreshold() {
@@ -322,6 +322,7 @@ public class RANSACLineCorrespondenceProjectiveTransformation2DRobustEstimator
 
                     @Override
                     public double computeResidual(final ProjectiveTransformation2D currentEstimation, final int i) {
+                        final var testLine = localTestLine.get();
                         final var inputLine = inputLines.get(i);
                         final var outputLine = outputLines.get(i);
 
@@ -378,7 +379,7 @@ public class RANSACLineCorrespondenceProjectiveTransformation2DRobustEstimator
                                     progress);
                         }
                     }
-                });
+                }, parallelism, preVerifier));
 
         try {
             locked = true;
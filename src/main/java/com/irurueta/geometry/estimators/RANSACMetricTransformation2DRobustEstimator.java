@@ -327,11 +327,12 @@ public class RANSACMetricTransformation2DRobustEstimator extends MetricTransform
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(
+        final var innerEstimator = new RANSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new RANSACRobustEstimatorListener<MetricTransformation2D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point2D testPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point2D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final MetricTransformation2DEstimator nonRobustEstimator =
                             new MetricTransformation2DEstimator(isWeakMinimumSizeAllowed());
@@ -374,6 +375,7 @@ public class RANSACMetricTransformation2DRobustEstimator extends MetricTransform
 
                     @Override
                     public double computeResidual(final MetricTransformation2D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -419,7 +421,7 @@ public class RANSACMetricTransformation2DRobustEstimator extends MetricTransform
                                     RANSACMetricTransformation2DRobustEstimator.this, progress);
                         }
                     }
-                });
+                }, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
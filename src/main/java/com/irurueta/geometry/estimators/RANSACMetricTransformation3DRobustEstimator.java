@@ -328,11 +328,12 @@ public class RANSACMetricTransformation3DRobustEstimator extends MetricTransform
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(
+        final var innerEstimator = new RANSACRobustEstimator<>(ParallelResidualEvaluator.wrap(
                 new RANSACRobustEstimatorListener<MetricTransformation3D>() {
 
-                    // point to be reused when computing residuals
-                    private final Point3D testPoint = Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
+                    // point to be reused by each thread when computing residuals
+                    private final ThreadLocal<Point3D> localTestPoint = ThreadLocal.withInitial(
+                            () -> Point3D.create(CoordinatesType.HOMOGENEOUS_COORDINATES));
 
                     private final MetricTransformation3DEstimator nonRobustEstimator =
                             new MetricTransformation3DEstimator(isWeakMinimumSizeAllowed());
@@ -375,6 +376,7 @@ public class RANSACMetricTransformation3DRobustEstimator extends MetricTransform
 
                     @Override
                     public double computeResidual(final MetricTransformation3D currentEstimation, final int i) {
+                        final var testPoint = localTestPoint.get();
                         final var inputPoint = inputPoints.get(i);
                         final var outputPoint = outputPoints.get(i);
 
@@ -420,7 +422,7 @@ public class RANSACMetricTransformation3DRobustEstimator extends MetricTransform
                                     RANSACMetricTransformation3DRobustEstimator.this, progress);
                         }
                     }
-                });
+                }, parallelism, preVerifier, createLocalOptimizer()));
 
         try {
             locked = true;
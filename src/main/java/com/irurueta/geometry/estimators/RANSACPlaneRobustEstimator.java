@@ -158,7 +158,7 @@ public class RANSACPlaneRobustEstimator extends PlaneRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(new RANSACRobustEstimatorListener<Plane>() {
+        final var innerListener = new RANSACRobustEstimatorListener<Plane>() {
 
             @Override
             public double getThreshold() {
@@ -226,7 +226,9 @@ public class RANSACPlaneRobustEstimator extends PlaneRobustEstimator {
                     listener.onEstimateProgressChange(RANSACPlaneRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new RANSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
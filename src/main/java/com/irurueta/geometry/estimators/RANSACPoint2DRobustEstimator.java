@@ -233,7 +233,7 @@ public class RANSACPoint2DRobustEstimator extends Point2DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(new RANSACRobustEstimatorListener<Point2D>() {
+        final var innerListener = new RANSACRobustEstimatorListener<Point2D>() {
 
             @Override
             public double getThreshold() {
@@ -300,7 +300,9 @@ public class RANSACPoint2DRobustEstimator extends Point2DRobustEstimator {
                     listener.onEstimateProgressChange(RANSACPoint2DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new RANSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -233,7 +233,7 @@ public class RANSACPoint3DRobustEstimator extends Point3DRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(new RANSACRobustEstimatorListener<Point3D>() {
+        final var innerListener = new RANSACRobustEstimatorListener<Point3D>() {
 
             @Override
             public double getThreshold() {
@@ -301,7 +301,9 @@ public class RANSACPoint3DRobustEstimator extends Point3DRobustEstimator {
                     listener.onEstimateProgressChange(RANSACPoint3DRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new RANSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
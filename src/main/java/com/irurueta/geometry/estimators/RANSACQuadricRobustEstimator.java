@@ -161,7 +161,7 @@ public class RANSACQuadricRobustEstimator extends QuadricRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(new RANSACRobustEstimatorListener<Quadric>() {
+        final var innerListener = new RANSACRobustEstimatorListener<Quadric>() {
 
             @Override
             public double getThreshold() {
@@ -236,7 +236,9 @@ public class RANSACQuadricRobustEstimator extends QuadricRobustEstimator {
                     listener.onEstimateProgressChange(RANSACQuadricRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new RANSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
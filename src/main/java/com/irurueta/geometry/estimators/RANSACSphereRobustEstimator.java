@@ -158,7 +158,7 @@ public class RANSACSphereRobustEstimator extends SphereRobustEstimator {
             throw new NotReadyException();
         }
 
-        final var innerEstimator = new RANSACRobustEstimator<>(new RANSACRobustEstimatorListener<Sphere>() {
+        final var innerListener = new RANSACRobustEstimatorListener<Sphere>() {
 
             @Override
             public double getThreshold() {
@@ -227,7 +227,9 @@ public class RANSACSphereRobustEstimator extends SphereRobustEstimator {
                     listener.onEstimateProgressChange(RANSACSphereRobustEstimator.this, progress);
                 }
             }
-        });
+        };
+        final var innerEstimator = new RANSACRobustEstimator<>(
+                ParallelResidualEvaluator.wrap(innerListener, parallelism, preVerifier));
 
         try {
             locked = true;
@@ -0,0 +1,514 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Pre-verifies hypotheses using Wald's Sequential Probability Ratio Test
+ * (SPRT), as described in "Optimal Randomized RANSAC" by Chum and Matas.
+ * Samples are evaluated in random order, and after each one the likelihood
+ * ratio between a hypothesis being bad or good is updated. Hypotheses are
+ * rejected as soon as such ratio exceeds a decision threshold, which is
+ * obtained from the probabilities of a sample being an inlier for good and bad
+ * hypotheses and from the cost of generating hypotheses respect the cost of
+ * evaluating a residual.
+ * Both probabilities are adapted to the data during each estimation: the
+ * probability of a sample being an inlier of a good hypothesis is replaced by
+ * the inlier ratio of the best hypothesis found so far, and the probability
+ * of a sample being consistent with a bad hypothesis is estimated from the
+ * samples evaluated for rejected hypotheses. The decision threshold is
+ * recomputed each time any of them changes, and initial values are restored
+ * when a new estimation starts.
+ * Because good hypotheses are likely to be rejected while the probability of
+ * a sample being an inlier is overestimated, its initial value must be a
+ * conservative (low) estimate. The default value assumes that at least 10% of
+ * samples are inliers.
+ * The test stops accepting the hypothesis once a maximum number of samples
+ * has been evaluated without rejecting it, since by then the hypothesis is
+ * almost certainly good, so that the remaining residuals can be computed
+ * concurrently by the estimator. Residuals computed during the test are kept,
+ * hence no work is repeated.
+ */
+public class SPRTHypothesisPreVerifier extends HypothesisPreVerifier {
+
+    /**
+     * Default initial probability of a sample being an inlier of a good
+     * hypothesis.
+     */
+    public static final double DEFAULT_EPSILON = 0.1;
+
+    /**
+     * Default initial probability of a sample being consistent with a bad
+     * hypothesis.
+     */
+    public static final double DEFAULT_DELTA = 0.05;
+
+    /**
+     * Default cost of generating a hypothesis, expressed as a number of
+     * residual evaluations.
+     */
+    public static final double DEFAULT_HYPOTHESIS_COST = 200.0;
+
+    /**
+     * Default average number of hypotheses generated for each minimal subset
+     * of samples.
+     */
+    public static final double DEFAULT_HYPOTHESES_PER_SUBSET = 1.0;
+
+    /**
+     * Default maximum number of samples evaluated before accepting a
+     * hypothesis.
+     */
+    public static final int DEFAULT_MAX_TESTED_SAMPLES = 100;
+
+    /**
+     * Minimum allowed number of samples evaluated before accepting a
+     * hypothesis.
+     */
+    public static final int MIN_MAX_TESTED_SAMPLES = 1;
+
+    /**
+     * Maximum number of iterations to compute decision threshold.
+     */
+    private static final int MAX_THRESHOLD_ITERATIONS = 100;
+
+    /**
+     * Relative tolerance to stop computation of decision threshold.
+     */
+    private static final double THRESHOLD_TOLERANCE = 1e-9;
+
+    /**
+     * Relative difference between the estimated probability of a sample being
+     * consistent with a bad hypothesis and the one being used required to
+     * update the test.
+     */
+    private static final double DELTA_TOLERANCE = 0.05;
+
+    /**
+     * Initial probability of a sample being an inlier of a good hypothesis.
+     */
+    private double initialEpsilon;
+
+    /**
+     * Initial probability of a sample being consistent with a bad hypothesis.
+     */
+    private double initialDelta;
+
+    /**
+     * Probability of a sample being an inlier of a good hypothesis currently
+     * used by the test.
+     */
+    private double epsilon;
+
+    /**
+     * Probability of a sample being consistent with a bad hypothesis
+     * currently used by the test.
+     */
+    private double delta;
+
+    /**
+     * Cost of generating a hypothesis, expressed as a number of residual
+     * evaluations.
+     */
+    private double hypothesisCost;
+
+    /**
+     * Average number of hypotheses generated for each minimal subset of
+     * samples.
+     */
+    private double hypothesesPerSubset;
+
+    /**
+     * Threshold of likelihood ratio to reject hypotheses currently used by the
+     * test.
+     */
+    private double decisionThreshold;
+
+    /**
+     * Maximum number of samples evaluated before accepting a hypothesis.
+     */
+    private int maxTestedSamples = DEFAULT_MAX_TESTED_SAMPLES;
+
+    /**
+     * Largest number of inliers of any hypothesis evaluated during current
+     * estimation.
+     */
+    private int bestNumInliers;
+
+    /**
+     * Number of samples evaluated for rejected hypotheses during current
+     * estimation.
+     */
+    private long rejectedTestedSamples;
+
+    /**
+     * Number of samples evaluated for rejected hypotheses during current
+     * estimation that were consistent with them.
+     */
+    private long rejectedConsistentSamples;
+
+    /**
+     * Constructor.
+     */
+    public SPRTHypothesisPreVerifier() {
+        super();
+        internalSetParameters(DEFAULT_EPSILON, DEFAULT_DELTA, DEFAULT_HYPOTHESIS_COST,
+                DEFAULT_HYPOTHESES_PER_SUBSET);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param seed seed of random generator used to choose samples.
+     */
+    public SPRTHypothesisPreVerifier(final long seed) {
+        super(seed);
+        internalSetParameters(DEFAULT_EPSILON, DEFAULT_DELTA, DEFAULT_HYPOTHESIS_COST,
+                DEFAULT_HYPOTHESES_PER_SUBSET);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param epsilon             initial probability of a sample being an
+     *                            inlier of a good hypothesis.
+     * @param delta               initial probability of a sample being
+     *                            consistent with a bad hypothesis.
+     * @param hypothesisCost      cost of generating a hypothesis, expressed as
+     *                            a number of residual evaluations.
+     * @param hypothesesPerSubset average number of hypotheses generated for
+     *                            each minimal subset of samples.
+     * @param seed                seed of random generator used to choose
+     *                            samples.
+     * @throws IllegalArgumentException if delta is not positive, epsilon is
+     *                                  not between delta and 1.0 (exclusive)
+     *                                  or costs are not positive.
+     */
+    public SPRTHypothesisPreVerifier(final double epsilon, final double delta, final double hypothesisCost,
+                                     final double hypothesesPerSubset, final long seed) {
+        super(seed);
+        internalSetParameters(epsilon, delta, hypothesisCost, hypothesesPerSubset);
+    }
+
+    /**
+     * Gets initial probability of a sample being an inlier of a good
+     * hypothesis, which is used until a hypothesis is evaluated during an
+     * estimation.
+     *
+     * @return initial probability of a sample being an inlier of a good
+     * hypothesis.
+     */
+    public double getInitialEpsilon() {
+        return initialEpsilon;
+    }
+
+    /**
+     * Gets initial probability of a sample being consistent with a bad
+     * hypothesis, which is used until it is estimated from rejected
+     * hypotheses during an estimation.
+     *
+     * @return initial probability of a sample being consistent with a bad
+     * hypothesis.
+     */
+    public double getInitialDelta() {
+        return initialDelta;
+    }
+
+    /**
+     * Gets probability of a sample being an inlier of a good hypothesis
+     * currently used by the test, which is the inlier ratio of the best
+     * hypothesis found so far once any hypothesis has been evaluated.
+     *
+     * @return probability of a sample being an inlier of a good hypothesis.
+     */
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    /**
+     * Gets probability of a sample being consistent with a bad hypothesis
+     * currently used by the test, which is estimated from the samples
+     * evaluated for rejected hypotheses.
+     *
+     * @return probability of a sample being consistent with a bad hypothesis.
+     */
+    public double getDelta() {
+        return delta;
+    }
+
+    /**
+     * Gets cost of generating a hypothesis, expressed as a number of residual
+     * evaluations.
+     *
+     * @return cost of generating a hypothesis.
+     */
+    public double getHypothesisCost() {
+        return hypothesisCost;
+    }
+
+    /**
+     * Gets average number of hypotheses generated for each minimal subset of
+     * samples.
+     *
+     * @return average number of hypotheses generated for each subset.
+     */
+    public double getHypothesesPerSubset() {
+        return hypothesesPerSubset;
+    }
+
+    /**
+     * Gets threshold of likelihood ratio to reject hypotheses currently used
+     * by the test.
+     *
+     * @return threshold of likelihood ratio.
+     */
+    public double getDecisionThreshold() {
+        return decisionThreshold;
+    }
+
+    /**
+     * Gets maximum number of samples evaluated before accepting a hypothesis.
+     * Hypotheses that have not been rejected after evaluating this number of
+     * samples are accepted, and their remaining residuals are computed by the
+     * estimator.
+     *
+     * @return maximum number of samples evaluated before accepting a
+     * hypothesis.
+     */
+    public int getMaxTestedSamples() {
+        return maxTestedSamples;
+    }
+
+    /**
+     * Sets maximum number of samples evaluated before accepting a hypothesis.
+     * Hypotheses that have not been rejected after evaluating this number of
+     * samples are accepted, and their remaining residuals are computed by the
+     * estimator.
+     *
+     * @param maxTestedSamples maximum number of samples evaluated before
+     *                         accepting a hypothesis.
+     * @throws IllegalArgumentException if provided value is less than 1.
+     */
+    public void setMaxTestedSamples(final int maxTestedSamples) {
+        if (maxTestedSamples < MIN_MAX_TESTED_SAMPLES) {
+            throw new IllegalArgumentException();
+        }
+        this.maxTestedSamples = maxTestedSamples;
+    }
+
+    /**
+     * Sets parameters of the test and recomputes decision threshold.
+     * Provided probabilities are used as initial values, which are adapted to
+     * the data during each estimation.
+     *
+     * @param epsilon             initial probability of a sample being an
+     *                            inlier of a good hypothesis.
+     * @param delta               initial probability of a sample being
+     *                            consistent with a bad hypothesis.
+     * @param hypothesisCost      cost of generating a hypothesis, expressed as
+     *                            a number of residual evaluations.
+     * @param hypothesesPerSubset average number of hypotheses generated for
+     *                            each minimal subset of samples.
+     * @throws IllegalArgumentException if delta is not positive, epsilon is
+     *                                  not between delta and 1.0 (exclusive)
+     *                                  or costs are not positive.
+     */
+    public void setParameters(final double epsilon, final double delta, final double hypothesisCost,
+                              final double hypothesesPerSubset) {
+        internalSetParameters(epsilon, delta, hypothesisCost, hypothesesPerSubset);
+    }
+
+    /**
+     * Returns type of pre-verifier.
+     *
+     * @return type of pre-verifier.
+     */
+    @Override
+    public HypothesisPreVerifierType getType() {
+        return HypothesisPreVerifierType.SPRT_PRE_VERIFIER;
+    }
+
+    /**
+     * Restores initial probabilities and decision threshold, and discards
+     * the statistics gathered to adapt them during a previous estimation.
+     */
+    @Override
+    public void onEstimateStart() {
+        restart();
+    }
+
+    /**
+     * Replaces the probability of a sample being an inlier of a good
+     * hypothesis with the inlier ratio of provided hypothesis if it is the
+     * best one found so far, and recomputes decision threshold.
+     * The probability is not modified if such ratio does not exceed the
+     * probability of a sample being consistent with a bad hypothesis, or if
+     * all samples are inliers.
+     *
+     * @param numInliers   number of inliers of accepted hypothesis.
+     * @param totalSamples total number of samples.
+     */
+    @Override
+    public void onHypothesisEvaluated(final int numInliers, final int totalSamples) {
+        if (numInliers <= bestNumInliers) {
+            return;
+        }
+        bestNumInliers = numInliers;
+
+        final var inlierRatio = (double) numInliers / (double) totalSamples;
+        if (inlierRatio > delta && inlierRatio < 1.0) {
+            epsilon = inlierRatio;
+            decisionThreshold = computeDecisionThreshold(epsilon, delta, hypothesisCost, hypothesesPerSubset);
+        }
+    }
+
+    /**
+     * Evaluates randomly chosen samples until the likelihood ratio exceeds
+     * the decision threshold or the maximum number of tested samples has been
+     * reached.
+     * Samples evaluated for rejected hypotheses are used to estimate the
+     * probability of a sample being consistent with a bad hypothesis.
+     *
+     * @param residuals    function returning residual of i-th randomly chosen
+     *                     sample.
+     * @param totalSamples total number of samples.
+     * @param threshold    threshold to determine whether a sample is an
+     *                     inlier.
+     * @return true if hypothesis is accepted, false if it is rejected.
+     */
+    @Override
+    protected boolean test(final IntToDoubleFunction residuals, final int totalSamples, final double threshold) {
+        final var inlierRatio = delta / epsilon;
+        final var outlierRatio = (1.0 - delta) / (1.0 - epsilon);
+
+        final var testedSamples = Math.min(totalSamples, maxTestedSamples);
+        var lambda = 1.0;
+        var consistent = 0;
+        for (var i = 0; i < testedSamples; i++) {
+            if (residuals.applyAsDouble(i) <= threshold) {
+                lambda *= inlierRatio;
+                consistent++;
+            } else {
+                lambda *= outlierRatio;
+            }
+            if (lambda > decisionThreshold) {
+                rejectedTestedSamples += i + 1;
+                rejectedConsistentSamples += consistent;
+                updateDelta();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the probability of a sample being consistent with a bad
+     * hypothesis with the ratio of consistent samples evaluated for rejected
+     * hypotheses, and recomputes decision threshold, if both differ
+     * significantly.
+     * The probability is not modified if no consistent sample has been found
+     * or if the estimated ratio is not smaller than the probability of a
+     * sample being an inlier of a good hypothesis.
+     */
+    private void updateDelta() {
+        if (rejectedConsistentSamples == 0) {
+            return;
+        }
+
+        final var estimatedDelta = (double) rejectedConsistentSamples / (double) rejectedTestedSamples;
+        if (estimatedDelta < epsilon && Math.abs(estimatedDelta - delta) > DELTA_TOLERANCE * delta) {
+            delta = estimatedDelta;
+            decisionThreshold = computeDecisionThreshold(epsilon, delta, hypothesisCost, hypothesesPerSubset);
+        }
+    }
+
+    /**
+     * Restores initial probabilities and decision threshold, and discards
+     * the statistics gathered to adapt them.
+     */
+    private void restart() {
+        epsilon = initialEpsilon;
+        delta = initialDelta;
+        decisionThreshold = computeDecisionThreshold(epsilon, delta, hypothesisCost, hypothesesPerSubset);
+        bestNumInliers = 0;
+        rejectedTestedSamples = 0;
+        rejectedConsistentSamples = 0;
+    }
+
+    /**
+     * Sets parameters of the test and recomputes decision threshold.
+     *
+     * @param epsilon             initial probability of a sample being an
+     *                            inlier of a good hypothesis.
+     * @param delta               initial probability of a sample being
+     *                            consistent with a bad hypothesis.
+     * @param hypothesisCost      cost of generating a hypothesis, expressed as
+     *                            a number of residual evaluations.
+     * @param hypothesesPerSubset average number of hypotheses generated for
+     *                            each minimal subset of samples.
+     * @throws IllegalArgumentException if delta is not positive, epsilon is
+     *                                  not between delta and 1.0 (exclusive)
+     *                                  or costs are not positive.
+     */
+    private void internalSetParameters(final double epsilon, final double delta, final double hypothesisCost,
+                                       final double hypothesesPerSubset) {
+        if (delta <= 0.0 || epsilon <= delta || epsilon >= 1.0 || hypothesisCost <= 0.0
+                || hypothesesPerSubset <= 0.0) {
+            throw new IllegalArgumentException();
+        }
+
+        initialEpsilon = epsilon;
+        initialDelta = delta;
+        this.hypothesisCost = hypothesisCost;
+        this.hypothesesPerSubset = hypothesesPerSubset;
+        restart();
+    }
+
+    /**
+     * Computes decision threshold as the fixed point of A = K + 1 + log(A),
+     * where K is the cost of generating hypotheses weighted by the
+     * information gained on each evaluated sample.
+     *
+     * @param epsilon             probability of a sample being an inlier of a
+     *                            good hypothesis.
+     * @param delta               probability of a sample being consistent with
+     *                            a bad hypothesis.
+     * @param hypothesisCost      cost of generating a hypothesis, expressed as
+     *                            a number of residual evaluations.
+     * @param hypothesesPerSubset average number of hypotheses generated for
+     *                            each minimal subset of samples.
+     * @return decision threshold.
+     */
+    private static double computeDecisionThreshold(final double epsilon, final double delta,
+                                                   final double hypothesisCost,
+                                                   final double hypothesesPerSubset) {
+        final var c = (1.0 - delta) * Math.log((1.0 - delta) / (1.0 - epsilon))
+                + delta * Math.log(delta / epsilon);
+        final var k = hypothesisCost * c / hypothesesPerSubset + 1.0;
+
+        var a = k;
+        for (var i = 0; i < MAX_THRESHOLD_ITERATIONS; i++) {
+            final var next = k + Math.log(a);
+            final var converged = Math.abs(next - a) <= THRESHOLD_TOLERANCE * next;
+            a = next;
+            if (converged) {
+                break;
+            }
+        }
+        return a;
+    }
+}
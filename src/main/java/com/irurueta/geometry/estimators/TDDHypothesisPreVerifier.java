@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Pre-verifies hypotheses using the T(d,d) test.
+ * A hypothesis is only fully evaluated if d randomly chosen samples are all
+ * inliers. Good hypotheses are wrongly rejected with a probability that grows
+ * with d, hence small values (typically d = 1) are used, which reject most
+ * bad hypotheses after a single residual evaluation.
+ */
+public class TDDHypothesisPreVerifier extends HypothesisPreVerifier {
+
+    /**
+     * Default number of samples that must be inliers.
+     */
+    public static final int DEFAULT_SAMPLES = 1;
+
+    /**
+     * Minimum allowed number of samples that must be inliers.
+     */
+    public static final int MIN_SAMPLES = 1;
+
+    /**
+     * Number of samples that must be inliers.
+     */
+    private int samples;
+
+    /**
+     * Constructor.
+     */
+    public TDDHypothesisPreVerifier() {
+        super();
+        samples = DEFAULT_SAMPLES;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param seed seed of random generator used to choose samples.
+     */
+    public TDDHypothesisPreVerifier(final long seed) {
+        super(seed);
+        samples = DEFAULT_SAMPLES;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param samples number of samples that must be inliers.
+     * @param seed    seed of random generator used to choose samples.
+     * @throws IllegalArgumentException if number of samples is less than 1.
+     */
+    public TDDHypothesisPreVerifier(final int samples, final long seed) {
+        super(seed);
+        setSamples(samples);
+    }
+
+    /**
+     * Gets number of samples that must be inliers.
+     *
+     * @return number of samples that must be inliers.
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * Sets number of samples that must be inliers.
+     *
+     * @param samples number of samples that must be inliers.
+     * @throws IllegalArgumentException if number of samples is less than 1.
+     */
+    public final void setSamples(final int samples) {
+        if (samples < MIN_SAMPLES) {
+            throw new IllegalArgumentException();
+        }
+        this.samples = samples;
+    }
+
+    /**
+     * Returns type of pre-verifier.
+     *
+     * @return type of pre-verifier.
+     */
+    @Override
+    public HypothesisPreVerifierType getType() {
+        return HypothesisPreVerifierType.TDD_PRE_VERIFIER;
+    }
+
+    /**
+     * Tests whether all randomly chosen samples are inliers.
+     *
+     * @param residuals    function returning residual of i-th randomly chosen
+     *                     sample.
+     * @param totalSamples total number of samples.
+     * @param threshold    threshold to determine whether a sample is an
+     *                     inlier.
+     * @return true if all chosen samples are inliers, false otherwise.
+     */
+    @Override
+    protected boolean test(final IntToDoubleFunction residuals, final int totalSamples, final double threshold) {
+        final var n = Math.min(samples, totalSamples);
+        for (var i = 0; i < n; i++) {
+            if (residuals.applyAsDouble(i) > threshold) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -27,7 +27,6 @@ import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
 import com.irurueta.numerical.MultiDimensionFunctionEvaluatorListener;
 import com.irurueta.numerical.NumericalException;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.optimization.PowellMultiOptimizer;
 import com.irurueta.numerical.robust.InliersData;
@@ -419,13 +418,9 @@ public class DecomposedLinePlaneCorrespondencePinholeCameraRefiner extends LineP
                 }
             };
 
-            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y,
-                    getRefinementStandardDeviation());
-
-            fitter.fit();
-
-            // obtain covariance
-            return fitter.getCovar();
+            // fit parameters to obtain covariance
+            fit(evaluator, x, y, getRefinementStandardDeviation());
+            return covariance;
 
         } catch (final Exception e) {
             // estimation failed, so we return null
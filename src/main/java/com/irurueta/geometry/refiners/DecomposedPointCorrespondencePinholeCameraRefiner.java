@@ -28,7 +28,6 @@ import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
 import com.irurueta.numerical.MultiDimensionFunctionEvaluatorListener;
 import com.irurueta.numerical.NumericalException;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.optimization.PowellMultiOptimizer;
 import com.irurueta.numerical.robust.InliersData;
@@ -410,6 +409,10 @@ public class DecomposedPointCorrespondencePinholeCameraRefiner extends PointCorr
                 @Override
                 public double evaluate(final int i, final double[] point, final double[] params,
                                        final double[] derivatives) throws EvaluationException {
+                    if (!useNumericalDerivatives) {
+                        return residualLevenbergMarquardtAndDerivatives(point, params, weight, derivatives);
+                    }
+
                     point2D.setHomogeneousCoordinates(point[0], point[1], point[2]);
                     point3D.setHomogeneousCoordinates(point[3], point[4], point[5], point[6]);
 
@@ -421,13 +424,9 @@ public class DecomposedPointCorrespondencePinholeCameraRefiner extends PointCorr
                 }
             };
 
-            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y,
-                    getRefinementStandardDeviation());
-
-            fitter.fit();
-
-            // obtain covariance
-            return fitter.getCovar();
+            // fit parameters to obtain covariance
+            fit(evaluator, x, y, getRefinementStandardDeviation());
+            return covariance;
 
         } catch (final Exception e) {
             // estimation failed, so we return null
@@ -23,7 +23,6 @@ import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.InliersData;
 
@@ -233,6 +232,8 @@ public class EuclideanTransformation2DRefiner extends
 
                 private final EuclideanTransformation2D transformation = new EuclideanTransformation2D();
 
+                private final double[] gradient = new double[Point2D.POINT2D_HOMOGENEOUS_COORDINATES_LENGTH];
+
                 private final GradientEstimator mGradientEstimator = new GradientEstimator(params -> {
                     // copy values
                     transformation.getRotation().setTheta(params[0]);
@@ -255,6 +256,10 @@ public class EuclideanTransformation2DRefiner extends
                 @Override
                 public double evaluate(final int i, final double[] point, final double[] params,
                                        final double[] derivatives) throws EvaluationException {
+                    if (!useNumericalDerivatives) {
+                        return residualAndDerivatives(params, point, gradient, derivatives);
+                    }
+
                     inputPoint.setHomogeneousCoordinates(point[0], point[1], point[2]);
                     outputPoint.setHomogeneousCoordinates(point[3], point[4], point[5]);
 
@@ -270,24 +275,14 @@ public class EuclideanTransformation2DRefiner extends
                 }
             };
 
-            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y,
-                    getRefinementStandardDeviation());
-
-            fitter.fit();
-
             // obtain estimated params
-            final var params = fitter.getA();
+            final var params = fit(evaluator, x, y, getRefinementStandardDeviation());
 
             // update transformation
             result.getRotation().setTheta(params[0]);
             System.arraycopy(params, 1, result.getTranslation(), 0,
                     EuclideanTransformation2D.NUM_TRANSLATION_COORDS);
 
-            if (keepCovariance) {
-                // keep covariance
-                covariance = fitter.getCovar();
-            }
-
             final var finalTotalResidual = totalResidual(result);
             final var errorDecreased = finalTotalResidual < initialTotalResidual;
 
@@ -322,6 +317,37 @@ public class EuclideanTransformation2DRefiner extends
         return residualTestPoint.distanceTo(outputPoint);
     }
 
+    /**
+     * Computes the residual between the transformation defined by provided
+     * parameters and a pair of matched points, along with its derivatives
+     * respect to such parameters in closed form.
+     *
+     * @param params      rotation angle and translation parameters.
+     * @param point       homogeneous coordinates of input point followed by
+     *                    homogeneous coordinates of output point.
+     * @param gradient    array of length 3 to be reused to store derivatives
+     *                    respect to transformed point.
+     * @param derivatives array where derivatives respect to parameters will be
+     *                    stored.
+     * @return residual.
+     */
+    private static double residualAndDerivatives(final double[] params, final double[] point,
+                                                 final double[] gradient, final double[] derivatives) {
+        final var x = point[0] / point[2];
+        final var y = point[1] / point[2];
+        final var sinTheta = Math.sin(params[0]);
+        final var cosTheta = Math.cos(params[0]);
+        final var rotatedX = cosTheta * x - sinTheta * y;
+        final var rotatedY = sinTheta * x + cosTheta * y;
+        final var result = ResidualDerivatives.distance2D(rotatedX + params[1], rotatedY + params[2], 1.0,
+                point[3] / point[5], point[4] / point[5], gradient);
+
+        derivatives[0] = gradient[1] * rotatedX - gradient[0] * rotatedY;
+        derivatives[1] = gradient[0];
+        derivatives[2] = gradient[1];
+        return result;
+    }
+
     /**
      * Computes total residual among all provided inlier samples.
      *
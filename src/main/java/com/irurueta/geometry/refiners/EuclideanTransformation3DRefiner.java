@@ -15,18 +15,21 @@
  */
 package com.irurueta.geometry.refiners;
 
+import com.irurueta.algebra.AlgebraException;
 import com.irurueta.algebra.Matrix;
 import com.irurueta.geometry.CoordinatesType;
 import com.irurueta.geometry.EuclideanTransformation3D;
 import com.irurueta.geometry.Point3D;
 import com.irurueta.geometry.Quaternion;
-import com.irurueta.geometry.Rotation3DType;
 import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
+import com.irurueta.numerical.JacobianEstimator;
+import com.irurueta.numerical.MultiVariateFunctionEvaluatorListener;
+import com.irurueta.numerical.NumericalException;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiVariateFunctionEvaluator;
 import com.irurueta.numerical.robust.InliersData;
 
 import java.util.BitSet;
@@ -44,6 +47,18 @@ import java.util.List;
 public class EuclideanTransformation3DRefiner extends
         PairMatchesAndInliersDataRefiner<EuclideanTransformation3D, Point3D, Point3D> {
 
+    /**
+     * Default parameterization of rotation during refinement.
+     */
+    public static final RotationParameterization DEFAULT_ROTATION_PARAMETERIZATION =
+            RotationParameterization.QUATERNION;
+
+    /**
+     * Number of parameters of rotation when using tangent space
+     * parameterization.
+     */
+    private static final int ROTATION_VECTOR_LENGTH = 3;
+
     /**
      * Point to be reused when computing residuals.
      */
@@ -65,6 +80,11 @@ public class EuclideanTransformation3DRefiner extends
      */
     private double refinementStandardDeviation;
 
+    /**
+     * Parameterization of rotation during refinement.
+     */
+    private RotationParameterization rotationParameterization = DEFAULT_ROTATION_PARAMETERIZATION;
+
     /**
      * Constructor.
      */
@@ -149,6 +169,36 @@ public class EuclideanTransformation3DRefiner extends
         this.refinementStandardDeviation = refinementStandardDeviation;
     }
 
+    /**
+     * Gets parameterization of rotation during refinement.
+     *
+     * @return parameterization of rotation.
+     */
+    public RotationParameterization getRotationParameterization() {
+        return rotationParameterization;
+    }
+
+    /**
+     * Sets parameterization of rotation during refinement.
+     * When {@link RotationParameterization#TANGENT_SPACE} is used, 6 parameters
+     * are refined: a rotation vector increment respect to the initial rotation
+     * followed by the translation. Each coordinate of the difference between
+     * transformed and matched points is fitted, which keeps the problem
+     * well-conditioned and converges in fewer iterations. In such case, kept
+     * covariance refers to those 6 parameters instead of the 4 quaternion
+     * values and translation.
+     *
+     * @param rotationParameterization parameterization of rotation.
+     * @throws LockedException if estimator is locked.
+     */
+    public void setRotationParameterization(final RotationParameterization rotationParameterization)
+            throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.rotationParameterization = rotationParameterization;
+    }
+
     /**
      * Refines provided initial estimation.
      *
@@ -201,12 +251,8 @@ public class EuclideanTransformation3DRefiner extends
         try {
             // parameters: rotation angle + scale + translation
             final var initParams = new double[Quaternion.N_PARAMS + EuclideanTransformation3D.NUM_TRANSLATION_COORDS];
-            // copy rotation values
-            if (initialEstimation.getRotation().getType() == Rotation3DType.QUATERNION) {
-                quaternion = (Quaternion) initialEstimation.getRotation();
-            } else {
-                quaternion = initialEstimation.getRotation().toQuaternion();
-            }
+            // copy rotation values, so that initial estimation is not modified
+            quaternion = initialEstimation.getRotation().toQuaternion();
             quaternion.normalize();
 
             // copy values
@@ -254,6 +300,12 @@ public class EuclideanTransformation3DRefiner extends
 
                 private final EuclideanTransformation3D transformation = new EuclideanTransformation3D();
 
+                private final double[] gradient = new double[Point3D.POINT3D_HOMOGENEOUS_COORDINATES_LENGTH];
+
+                private final double[] jacobian = new double[ResidualDerivatives.QUATERNION_JACOBIAN_LENGTH];
+
+                private final double[] rotatedPoint = new double[Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH];
+
                 private final GradientEstimator gradientEstimator = new GradientEstimator(params -> {
                     // copy values
                     quaternion.setA(params[0]);
@@ -281,6 +333,10 @@ public class EuclideanTransformation3DRefiner extends
                 @Override
                 public double evaluate(final int i, final double[] point, final double[] params,
                                        final double[] derivatives) throws EvaluationException {
+                    if (!useNumericalDerivatives) {
+                        return residualAndDerivatives(params, point, gradient, jacobian, rotatedPoint, derivatives);
+                    }
+
                     inputPoint.setHomogeneousCoordinates(point[0], point[1], point[2], point[3]);
                     outputPoint.setHomogeneousCoordinates(point[4], point[5], point[6], point[7]);
 
@@ -301,13 +357,9 @@ public class EuclideanTransformation3DRefiner extends
                 }
             };
 
-            final LevenbergMarquardtMultiDimensionFitter fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator,
-                    x, y, getRefinementStandardDeviation());
-
-            fitter.fit();
-
             // obtain estimated params
-            final var params = fitter.getA();
+            final var params = rotationParameterization == RotationParameterization.TANGENT_SPACE
+                    ? fitTangentSpace(x) : fit(evaluator, x, y, getRefinementStandardDeviation());
 
             // update transformation
             quaternion.setA(params[0]);
@@ -318,11 +370,6 @@ public class EuclideanTransformation3DRefiner extends
             System.arraycopy(params, Quaternion.N_PARAMS, result.getTranslation(), 0,
                     EuclideanTransformation3D.NUM_TRANSLATION_COORDS);
 
-            if (keepCovariance) {
-                // keep covariance
-                covariance = fitter.getCovar();
-            }
-
             final var finalTotalResidual = totalResidual(result);
             final var errorDecreased = finalTotalResidual < initialTotalResidual;
 
@@ -357,6 +404,208 @@ public class EuclideanTransformation3DRefiner extends
         return residualTestPoint.distanceTo(outputPoint);
     }
 
+    /**
+     * Computes the residual between the transformation defined by provided
+     * parameters and a pair of matched points, along with its derivatives
+     * respect to such parameters in closed form.
+     *
+     * @param params       quaternion and translation parameters.
+     * @param point        homogeneous coordinates of input point followed by
+     *                     homogeneous coordinates of output point.
+     * @param gradient     array of length 4 to be reused to store derivatives
+     *                     respect to transformed point.
+     * @param jacobian     array of length 12 to be reused to store jacobian of
+     *                     rotated point respect to quaternion.
+     * @param rotatedPoint array of length 3 to be reused to store rotated
+     *                     point.
+     * @param derivatives  array where derivatives respect to parameters will be
+     *                     stored.
+     * @return residual.
+     */
+    private static double residualAndDerivatives(final double[] params, final double[] point,
+                                                 final double[] gradient, final double[] jacobian,
+                                                 final double[] rotatedPoint, final double[] derivatives) {
+        final var x = point[0] / point[3];
+        final var y = point[1] / point[3];
+        final var z = point[2] / point[3];
+        ResidualDerivatives.rotate(params[0], params[1], params[2], params[3], x, y, z, rotatedPoint);
+        final var result = ResidualDerivatives.distance3D(rotatedPoint[0] + params[4], rotatedPoint[1] + params[5],
+                rotatedPoint[2] + params[6], 1.0, point[4] / point[7], point[5] / point[7], point[6] / point[7],
+                gradient);
+
+        ResidualDerivatives.quaternionRotationJacobian(params[0], params[1], params[2], params[3], x, y, z,
+                jacobian);
+
+        for (var j = 0; j < Quaternion.N_PARAMS; j++) {
+            derivatives[j] = gradient[0] * jacobian[j] + gradient[1] * jacobian[4 + j]
+                    + gradient[2] * jacobian[8 + j];
+        }
+        derivatives[4] = gradient[0];
+        derivatives[5] = gradient[1];
+        derivatives[6] = gradient[2];
+        return result;
+    }
+
+    /**
+     * Fits rotation vector increment and translation respect to initial
+     * estimation.
+     * Instead of the distance between transformed and matched points, the 3
+     * coordinates of their difference are evaluated for each matched pair, so
+     * that normal equations remain well-conditioned even when errors are
+     * dominated by a common translation.
+     * Input points are rotated once by the initial rotation, so that only
+     * the rotation increment needs to be evaluated for each sample.
+     *
+     * @param x input values containing homogeneous coordinates of matched
+     *          points.
+     * @return refined quaternion and translation parameters.
+     * @throws AlgebraException   if there are numerical instabilities.
+     * @throws NumericalException if fitting fails.
+     */
+    private double[] fitTangentSpace(final Matrix x) throws AlgebraException, NumericalException {
+        final var a0 = quaternion.getA();
+        final var b0 = quaternion.getB();
+        final var c0 = quaternion.getC();
+        final var d0 = quaternion.getD();
+
+        // each row contains input point rotated by initial rotation and
+        // matched output point, whose difference is fitted to zero
+        final var nRows = x.getRows();
+        final var nVars = Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH;
+        final var nDims = 2 * nVars;
+        final var tangentX = new Matrix(nRows, nDims);
+        final var y = new Matrix(nRows, nVars);
+        final var rotated = new double[nVars];
+        for (var i = 0; i < nRows; i++) {
+            final var w = x.getElementAt(i, 3);
+            final var ow = x.getElementAt(i, 7);
+            ResidualDerivatives.rotate(a0, b0, c0, d0, x.getElementAt(i, 0) / w, x.getElementAt(i, 1) / w,
+                    x.getElementAt(i, 2) / w, rotated);
+            tangentX.setElementAt(i, 0, rotated[0]);
+            tangentX.setElementAt(i, 1, rotated[1]);
+            tangentX.setElementAt(i, 2, rotated[2]);
+            tangentX.setElementAt(i, 3, x.getElementAt(i, 4) / ow);
+            tangentX.setElementAt(i, 4, x.getElementAt(i, 5) / ow);
+            tangentX.setElementAt(i, 5, x.getElementAt(i, 6) / ow);
+        }
+
+        final var initParams = new double[ROTATION_VECTOR_LENGTH + EuclideanTransformation3D.NUM_TRANSLATION_COORDS];
+        System.arraycopy(initialEstimation.getTranslation(), 0, initParams, ROTATION_VECTOR_LENGTH,
+                EuclideanTransformation3D.NUM_TRANSLATION_COORDS);
+
+        final var evaluator = new LevenbergMarquardtMultiVariateFunctionEvaluator() {
+
+            private final double[] rotationJacobian = new double[ResidualDerivatives.ROTATION_VECTOR_JACOBIAN_LENGTH];
+
+            private double[] currentPoint;
+
+            private final JacobianEstimator jacobianEstimator = new JacobianEstimator(
+                    new MultiVariateFunctionEvaluatorListener() {
+                        @Override
+                        public void evaluate(final double[] params, final double[] result) {
+                            tangentSpaceResidualsAndJacobian(params, currentPoint, result, null, null);
+                        }
+
+                        @Override
+                        public int getNumberOfVariables() {
+                            return nVars;
+                        }
+                    });
+
+            @Override
+            public int getNumberOfDimensions() {
+                return nDims;
+            }
+
+            @Override
+            public int getNumberOfVariables() {
+                return nVars;
+            }
+
+            @Override
+            public double[] createInitialParametersArray() {
+                return initParams;
+            }
+
+            @Override
+            public void evaluate(final int i, final double[] point, final double[] result, final double[] params,
+                                 final Matrix jacobian) throws EvaluationException {
+                if (!useNumericalDerivatives) {
+                    tangentSpaceResidualsAndJacobian(params, point, result, rotationJacobian, jacobian);
+                    return;
+                }
+
+                currentPoint = point;
+                tangentSpaceResidualsAndJacobian(params, point, result, null, null);
+                jacobianEstimator.jacobian(params, jacobian);
+            }
+        };
+
+        final var params = fit(evaluator, tangentX, y, getRefinementStandardDeviation());
+
+        // compose rotation increment with initial rotation
+        final var increment = new Quaternion();
+        ResidualDerivatives.rotationVectorToQuaternion(params[0], params[1], params[2], increment);
+        final var initialRotation = new Quaternion(a0, b0, c0, d0);
+        final var refinedRotation = new Quaternion();
+        Quaternion.product(increment, initialRotation, refinedRotation);
+        refinedRotation.normalize();
+
+        final var result = new double[Quaternion.N_PARAMS + EuclideanTransformation3D.NUM_TRANSLATION_COORDS];
+        result[0] = refinedRotation.getA();
+        result[1] = refinedRotation.getB();
+        result[2] = refinedRotation.getC();
+        result[3] = refinedRotation.getD();
+        System.arraycopy(params, ROTATION_VECTOR_LENGTH, result, Quaternion.N_PARAMS,
+                EuclideanTransformation3D.NUM_TRANSLATION_COORDS);
+        return result;
+    }
+
+    /**
+     * Computes the coordinates of the difference between a point transformed
+     * by a rotation vector increment and a translation and its matched point,
+     * along with their jacobian respect to such parameters in closed form.
+     *
+     * @param params           rotation vector increment and translation
+     *                         parameters.
+     * @param point            inhomogeneous coordinates of input point already
+     *                         rotated by initial rotation, followed by
+     *                         inhomogeneous coordinates of output point.
+     * @param result           array of length 3 where coordinates of difference
+     *                         between transformed and output points will be
+     *                         stored.
+     * @param rotationJacobian array of length 9 to be reused to store jacobian
+     *                         of rotated point respect to rotation vector, or
+     *                         null if jacobian is not needed.
+     * @param jacobian         3x6 matrix where jacobian respect to parameters
+     *                         will be stored, or null if jacobian is not
+     *                         needed.
+     */
+    private static void tangentSpaceResidualsAndJacobian(
+            final double[] params, final double[] point, final double[] result, final double[] rotationJacobian,
+            final Matrix jacobian) {
+        ResidualDerivatives.rotateByRotationVector(params[0], params[1], params[2], point[0], point[1], point[2],
+                result);
+        if (jacobian != null) {
+            ResidualDerivatives.rotationVectorJacobian(params[0], params[1], params[2], result[0], result[1],
+                    result[2], rotationJacobian);
+        }
+
+        for (var coord = 0; coord < Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH; coord++) {
+            result[coord] += params[ROTATION_VECTOR_LENGTH + coord] - point[3 + coord];
+            if (jacobian == null) {
+                continue;
+            }
+
+            for (var j = 0; j < ROTATION_VECTOR_LENGTH; j++) {
+                jacobian.setElementAt(coord, j, rotationJacobian[coord * ROTATION_VECTOR_LENGTH + j]);
+            }
+            for (var j = 0; j < EuclideanTransformation3D.NUM_TRANSLATION_COORDS; j++) {
+                jacobian.setElementAt(coord, ROTATION_VECTOR_LENGTH + j, j == coord ? 1.0 : 0.0);
+            }
+        }
+    }
+
     /**
      * Computes total residual among all provided inlier samples.
      *
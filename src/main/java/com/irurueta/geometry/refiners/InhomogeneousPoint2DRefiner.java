@@ -22,7 +22,6 @@ import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.InliersData;
 
@@ -194,22 +193,12 @@ public class InhomogeneousPoint2DRefiner extends Point2DRefiner<InhomogeneousPoi
                 }
             };
 
-            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y,
-                    getRefinementStandardDeviation());
-
-            fitter.fit();
-
             // obtain estimated params
-            final var params = fitter.getA();
+            final var params = fit(evaluator, x, y, getRefinementStandardDeviation());
 
             // update point
             result.setCoordinates(params);
 
-            if (keepCovariance) {
-                // keep covariance
-                covariance = fitter.getCovar();
-            }
-
             final var finalTotalResidual = totalResidual(result);
             final var errorDecreased = finalTotalResidual < initialTotalResidual;
 
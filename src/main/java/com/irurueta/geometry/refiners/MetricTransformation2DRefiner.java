@@ -24,7 +24,6 @@ import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.InliersData;
 
@@ -235,6 +234,8 @@ public class MetricTransformation2DRefiner extends
 
                 private final MetricTransformation2D transformation = new MetricTransformation2D();
 
+                private final double[] gradient = new double[Point2D.POINT2D_HOMOGENEOUS_COORDINATES_LENGTH];
+
                 private final GradientEstimator gradientEstimator = new GradientEstimator(params -> {
                     // copy values
                     transformation.setScale(params[0]);
@@ -258,6 +259,10 @@ public class MetricTransformation2DRefiner extends
                 @Override
                 public double evaluate(final int i, final double[] point, final double[] params,
                                        final double[] derivatives) throws EvaluationException {
+                    if (!useNumericalDerivatives) {
+                        return residualAndDerivatives(params, point, gradient, derivatives);
+                    }
+
                     inputPoint.setHomogeneousCoordinates(point[0], point[1], point[2]);
                     outputPoint.setHomogeneousCoordinates(point[3], point[4], point[5]);
 
@@ -274,13 +279,8 @@ public class MetricTransformation2DRefiner extends
                 }
             };
 
-            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y,
-                    getRefinementStandardDeviation());
-
-            fitter.fit();
-
             // obtain estimated params
-            final var params = fitter.getA();
+            final var params = fit(evaluator, x, y, getRefinementStandardDeviation());
 
             // update transformation
             result.setScale(params[0]);
@@ -288,11 +288,6 @@ public class MetricTransformation2DRefiner extends
             System.arraycopy(params, 2, result.getTranslation(), 0,
                     EuclideanTransformation2D.NUM_TRANSLATION_COORDS);
 
-            if (keepCovariance) {
-                // keep covariance
-                covariance = fitter.getCovar();
-            }
-
             final var finalTotalResidual = totalResidual(result);
             final var errorDecreased = finalTotalResidual < initialTotalResidual;
 
@@ -327,6 +322,39 @@ public class MetricTransformation2DRefiner extends
         return residualTestPoint.distanceTo(outputPoint);
     }
 
+    /**
+     * Computes the residual between the transformation defined by provided
+     * parameters and a pair of matched points, along with its derivatives
+     * respect to such parameters in closed form.
+     *
+     * @param params      scale, rotation angle and translation parameters.
+     * @param point       homogeneous coordinates of input point followed by
+     *                    homogeneous coordinates of output point.
+     * @param gradient    array of length 3 to be reused to store derivatives
+     *                    respect to transformed point.
+     * @param derivatives array where derivatives respect to parameters will be
+     *                    stored.
+     * @return residual.
+     */
+    private static double residualAndDerivatives(final double[] params, final double[] point,
+                                                 final double[] gradient, final double[] derivatives) {
+        final var x = point[0] / point[2];
+        final var y = point[1] / point[2];
+        final var scale = params[0];
+        final var sinTheta = Math.sin(params[1]);
+        final var cosTheta = Math.cos(params[1]);
+        final var rotatedX = cosTheta * x - sinTheta * y;
+        final var rotatedY = sinTheta * x + cosTheta * y;
+        final var result = ResidualDerivatives.distance2D(scale * rotatedX + params[2],
+                scale * rotatedY + params[3], 1.0, point[3] / point[5], point[4] / point[5], gradient);
+
+        derivatives[0] = gradient[0] * rotatedX + gradient[1] * rotatedY;
+        derivatives[1] = scale * (gradient[1] * rotatedX - gradient[0] * rotatedY);
+        derivatives[2] = gradient[0];
+        derivatives[3] = gradient[1];
+        return result;
+    }
+
     /**
      * Computes total residual among all provided inlier samples.
      *
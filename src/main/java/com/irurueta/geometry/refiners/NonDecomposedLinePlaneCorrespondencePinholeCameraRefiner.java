@@ -23,7 +23,6 @@ import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.InliersData;
 
@@ -237,18 +236,10 @@ public class NonDecomposedLinePlaneCorrespondencePinholeCameraRefiner extends
                 }
             };
 
-            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y, refinementStandardDeviation);
-
-            fitter.fit();
-
-            final var finalParams = fitter.getA();
+            final var finalParams = fit(evaluator, x, y, refinementStandardDeviation);
 
             parametersToCamera(finalParams, result);
 
-            if (keepCovariance) {
-                covariance = fitter.getCovar();
-            }
-
             final var finalResidual = residualPowell(result, finalParams, suggestionErrorWeight);
             final var errorDecreased = finalResidual < initResidual;
 
@@ -24,7 +24,6 @@ import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.InliersData;
 
@@ -225,6 +224,11 @@ public class NonDecomposedPointCorrespondencePinholeCameraRefiner extends PointC
                 public double evaluate(
                         final int i, final double[] point, final double[] params, final double[] derivatives)
                         throws EvaluationException {
+                    if (!useNumericalDerivatives) {
+                        return residualLevenbergMarquardtAndDerivatives(point, params, suggestionErrorWeight,
+                                derivatives);
+                    }
+
                     point2D.setHomogeneousCoordinates(point[0], point[1], point[2]);
                     point3D.setHomogeneousCoordinates(point[3], point[4], point[5], point[6]);
 
@@ -240,18 +244,10 @@ public class NonDecomposedPointCorrespondencePinholeCameraRefiner extends PointC
                 }
             };
 
-            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y, refinementStandardDeviation);
-
-            fitter.fit();
-
-            final var finalParams = fitter.getA();
+            final var finalParams = fit(evaluator, x, y, refinementStandardDeviation);
 
             parametersToCamera(finalParams, result);
 
-            if (keepCovariance) {
-                covariance = fitter.getCovar();
-            }
-
             final var finalResidual = residualPowell(result, finalParams, suggestionErrorWeight);
             final var errorDecreased = finalResidual < initResidual;
 
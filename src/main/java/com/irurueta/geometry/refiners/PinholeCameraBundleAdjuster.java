@@ -0,0 +1,2219 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+import com.irurueta.algebra.AlgebraException;
+import com.irurueta.algebra.Matrix;
+import com.irurueta.geometry.GeometryException;
+import com.irurueta.geometry.InhomogeneousPoint3D;
+import com.irurueta.geometry.PinholeCamera;
+import com.irurueta.geometry.PinholeCameraIntrinsicParameters;
+import com.irurueta.geometry.Point2D;
+import com.irurueta.geometry.Point3D;
+import com.irurueta.geometry.Quaternion;
+import com.irurueta.geometry.estimators.LockedException;
+import com.irurueta.geometry.estimators.NotReadyException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Jointly refines a collection of pinhole cameras and the 3D points they
+ * observe by minimizing the reprojection error of all observations in LMSE
+ * terms (bundle adjustment).
+ * Each camera is parameterized by its decomposition into intrinsic
+ * parameters, rotation and center. Rotations are refined in the tangent space
+ * of their current value, so that each camera has 6 pose parameters (rotation
+ * vector increment and center) and optionally its 5 intrinsic parameters
+ * (skewness, focal lengths and principal point). Points are refined using
+ * their inhomogeneous coordinates.
+ * Levenberg-Marquardt iterations are solved by eliminating points from the
+ * normal equations using the Schur complement, so that only the reduced
+ * camera system needs to be solved. The reduced camera system is kept in
+ * block-sparse storage containing only blocks of cameras sharing at least one
+ * point, and it is solved using conjugate gradients preconditioned with the
+ * inverse of its diagonal blocks. Hence, memory and computational cost scale
+ * with the number of observations and the co-visibility of cameras rather
+ * than with the square of the number of parameters.
+ * Jacobians of observations, normal equations, the reduced camera system and
+ * point updates can be computed using several threads.
+ * Because reprojection error is invariant to a similarity transformation of
+ * the whole scene, it is advised to fix at least one camera, otherwise the
+ * gauge of the solution is only determined by damping.
+ */
+public class PinholeCameraBundleAdjuster {
+
+    /**
+     * Indicates whether intrinsic parameters of cameras are refined by
+     * default. By default, only camera poses and points are refined.
+     */
+    public static final boolean DEFAULT_INTRINSICS_REFINED = false;
+
+    /**
+     * Default maximum number of Levenberg-Marquardt iterations.
+     */
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    /**
+     * Minimum allowed maximum number of Levenberg-Marquardt iterations.
+     */
+    public static final int MIN_ITERATIONS = 1;
+
+    /**
+     * Default relative decrease of squared reprojection error below which
+     * adjustment is considered to have converged.
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-6;
+
+    /**
+     * Default damping used on first Levenberg-Marquardt iteration, relative to
+     * the diagonal of the normal equations.
+     */
+    public static final double DEFAULT_INITIAL_DAMPING = 1e-4;
+
+    /**
+     * Default maximum number of conjugate gradient iterations used to solve
+     * the reduced camera system.
+     */
+    public static final int DEFAULT_MAX_SOLVER_ITERATIONS = 500;
+
+    /**
+     * Minimum allowed maximum number of conjugate gradient iterations.
+     */
+    public static final int MIN_SOLVER_ITERATIONS = 1;
+
+    /**
+     * Default relative norm of the residual of the reduced camera system at
+     * which conjugate gradient iterations stop.
+     */
+    public static final double DEFAULT_SOLVER_TOLERANCE = 1e-10;
+
+    /**
+     * Default number of threads. By default, adjustment is sequential.
+     */
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    /**
+     * Minimum allowed number of threads.
+     */
+    public static final int MIN_PARALLELISM = 1;
+
+    /**
+     * Minimum number of observations, cameras or points processed by a single
+     * task. Splitting work into smaller tasks does not pay off the overhead
+     * of scheduling them.
+     */
+    public static final int MIN_ITEMS_PER_TASK = 64;
+
+    /**
+     * Number of pose parameters of each camera (rotation vector increment and
+     * center).
+     */
+    private static final int POSE_PARAMS = 6;
+
+    /**
+     * Number of intrinsic parameters of each camera (skewness, horizontal and
+     * vertical focal lengths and principal point).
+     */
+    private static final int INTRINSIC_PARAMS = 5;
+
+    /**
+     * Number of parameters of each point.
+     */
+    private static final int POINT_PARAMS = 3;
+
+    /**
+     * Number of elements of a 3x3 matrix.
+     */
+    private static final int POINT_BLOCK_LENGTH = POINT_PARAMS * POINT_PARAMS;
+
+    /**
+     * Number of components of a quaternion.
+     */
+    private static final int QUATERNION_LENGTH = 4;
+
+    /**
+     * Number of elements of a 3x3 rotation matrix.
+     */
+    private static final int ROTATION_LENGTH = 9;
+
+    /**
+     * Smallest diagonal element used to scale damping, so that parameters
+     * without curvature are also damped.
+     */
+    private static final double MIN_DIAGONAL = 1e-6;
+
+    /**
+     * Relative norm of Levenberg-Marquardt step respect to parameters below
+     * which parameters cannot be further improved.
+     */
+    private static final double STEP_TOLERANCE = 1e-10;
+
+    /**
+     * Minimum damping.
+     */
+    private static final double MIN_DAMPING = 1e-15;
+
+    /**
+     * Damping above which adjustment stops because no step decreasing error
+     * can be found.
+     */
+    private static final double MAX_DAMPING = 1e32;
+
+    /**
+     * Factor to increase or decrease damping.
+     */
+    private static final double DAMPING_FACTOR = 10.0;
+
+    /**
+     * Cameras to be adjusted.
+     */
+    private List<PinholeCamera> cameras;
+
+    /**
+     * 3D points to be adjusted.
+     */
+    private List<Point3D> points;
+
+    /**
+     * Position of observing camera for each observation.
+     */
+    private int[] cameraIndices;
+
+    /**
+     * Position of observed point for each observation.
+     */
+    private int[] pointIndices;
+
+    /**
+     * Inhomogeneous coordinates of each observation stored consecutively as
+     * x0, y0, x1, y1, ...
+     */
+    private double[] measurements;
+
+    /**
+     * Positions of cameras kept fixed or null if no camera is fixed.
+     */
+    private BitSet fixedCameras;
+
+    /**
+     * Positions of points kept fixed or null if no point is fixed.
+     */
+    private BitSet fixedPoints;
+
+    /**
+     * Indicates whether intrinsic parameters of cameras are refined.
+     */
+    private boolean intrinsicsRefined = DEFAULT_INTRINSICS_REFINED;
+
+    /**
+     * Maximum number of Levenberg-Marquardt iterations.
+     */
+    private int maxIterations = DEFAULT_MAX_ITERATIONS;
+
+    /**
+     * Relative decrease of squared reprojection error below which adjustment
+     * is considered to have converged.
+     */
+    private double tolerance = DEFAULT_TOLERANCE;
+
+    /**
+     * Damping used on first Levenberg-Marquardt iteration.
+     */
+    private double initialDamping = DEFAULT_INITIAL_DAMPING;
+
+    /**
+     * Maximum number of conjugate gradient iterations used to solve the
+     * reduced camera system.
+     */
+    private int maxSolverIterations = DEFAULT_MAX_SOLVER_ITERATIONS;
+
+    /**
+     * Relative norm of the residual of the reduced camera system at which
+     * conjugate gradient iterations stop.
+     */
+    private double solverTolerance = DEFAULT_SOLVER_TOLERANCE;
+
+    /**
+     * Number of threads.
+     */
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    /**
+     * Pool where work is executed when more than one thread is allowed.
+     */
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Listener to be notified of events such as when adjustment starts, ends
+     * or an iteration completes.
+     */
+    private PinholeCameraBundleAdjusterListener listener;
+
+    /**
+     * Indicates whether this instance is locked because adjustment is in
+     * progress.
+     */
+    private boolean locked;
+
+    /**
+     * Adjusted cameras or null if adjustment has not been done yet.
+     */
+    private List<PinholeCamera> adjustedCameras;
+
+    /**
+     * Adjusted points or null if adjustment has not been done yet.
+     */
+    private List<Point3D> adjustedPoints;
+
+    /**
+     * Root mean square reprojection error before adjustment.
+     */
+    private double initialRmsError;
+
+    /**
+     * Root mean square reprojection error after adjustment.
+     */
+    private double finalRmsError;
+
+    /**
+     * Number of Levenberg-Marquardt iterations done during last adjustment.
+     */
+    private int iterations;
+
+    /**
+     * Constructor.
+     */
+    public PinholeCameraBundleAdjuster() {
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param cameras       cameras to be adjusted.
+     * @param points        3D points to be adjusted.
+     * @param cameraIndices position of observing camera for each observation.
+     * @param pointIndices  position of observed point for each observation.
+     * @param measurements  inhomogeneous coordinates of each observation
+     *                      stored consecutively as x0, y0, x1, y1, ...
+     * @throws IllegalArgumentException if lengths of provided arrays do not
+     *                                  match.
+     */
+    public PinholeCameraBundleAdjuster(
+            final List<PinholeCamera> cameras, final List<Point3D> points, final int[] cameraIndices,
+            final int[] pointIndices, final double[] measurements) {
+        this.cameras = cameras;
+        this.points = points;
+        internalSetObservations(cameraIndices, pointIndices, measurements);
+    }
+
+    /**
+     * Gets cameras to be adjusted.
+     *
+     * @return cameras to be adjusted.
+     */
+    public List<PinholeCamera> getCameras() {
+        return cameras;
+    }
+
+    /**
+     * Sets cameras to be adjusted. Provided cameras are not modified.
+     *
+     * @param cameras cameras to be adjusted.
+     * @throws LockedException if adjuster is locked.
+     */
+    public void setCameras(final List<PinholeCamera> cameras) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.cameras = cameras;
+    }
+
+    /**
+     * Gets 3D points to be adjusted.
+     *
+     * @return 3D points to be adjusted.
+     */
+    public List<Point3D> getPoints() {
+        return points;
+    }
+
+    /**
+     * Sets 3D points to be adjusted. Provided points are not modified.
+     *
+     * @param points 3D points to be adjusted.
+     * @throws LockedException if adjuster is locked.
+     */
+    public void setPoints(final List<Point3D> points) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.points = points;
+    }
+
+    /**
+     * Gets position of observing camera for each observation.
+     *
+     * @return position of observing camera for each observation.
+     */
+    public int[] getCameraIndices() {
+        return cameraIndices;
+    }
+
+    /**
+     * Gets position of observed point for each observation.
+     *
+     * @return position of observed point for each observation.
+     */
+    public int[] getPointIndices() {
+        return pointIndices;
+    }
+
+    /**
+     * Gets inhomogeneous coordinates of each observation stored consecutively
+     * as x0, y0, x1, y1, ...
+     *
+     * @return inhomogeneous coordinates of observations.
+     */
+    public double[] getMeasurements() {
+        return measurements;
+    }
+
+    /**
+     * Sets observations of points by cameras.
+     * Provided arrays are not copied to avoid duplicating large amounts of
+     * data, hence they must not be modified while adjustment is in progress.
+     *
+     * @param cameraIndices position of observing camera for each observation.
+     * @param pointIndices  position of observed point for each observation.
+     * @param measurements  inhomogeneous coordinates of each observation
+     *                      stored consecutively as x0, y0, x1, y1, ...
+     * @throws LockedException          if adjuster is locked.
+     * @throws IllegalArgumentException if lengths of provided arrays do not
+     *                                  match.
+     */
+    public void setObservations(final int[] cameraIndices, final int[] pointIndices, final double[] measurements)
+            throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        internalSetObservations(cameraIndices, pointIndices, measurements);
+    }
+
+    /**
+     * Sets observations of points by cameras.
+     *
+     * @param cameraIndices position of observing camera for each observation.
+     * @param pointIndices  position of observed point for each observation.
+     * @param measurements  2D points observed on each observation.
+     * @throws LockedException          if adjuster is locked.
+     * @throws IllegalArgumentException if provided arrays and list do not
+     *                                  have the same length.
+     */
+    public void setObservations(final int[] cameraIndices, final int[] pointIndices,
+                                final List<Point2D> measurements) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (measurements == null) {
+            throw new IllegalArgumentException();
+        }
+
+        final var n = measurements.size();
+        final var packed = new double[2 * n];
+        for (var k = 0; k < n; k++) {
+            final var measurement = measurements.get(k);
+            packed[2 * k] = measurement.getInhomX();
+            packed[2 * k + 1] = measurement.getInhomY();
+        }
+        internalSetObservations(cameraIndices, pointIndices, packed);
+    }
+
+    /**
+     * Gets number of observations.
+     *
+     * @return number of observations.
+     */
+    public int getNumberOfObservations() {
+        return cameraIndices != null ? cameraIndices.length : 0;
+    }
+
+    /**
+     * Gets positions of cameras kept fixed during adjustment.
+     *
+     * @return positions of fixed cameras or null if no camera is fixed.
+     */
+    public BitSet getFixedCameras() {
+        return fixedCameras;
+    }
+
+    /**
+     * Sets positions of cameras kept fixed during adjustment.
+     *
+     * @param fixedCameras positions of fixed cameras or null if no camera is
+     *                     fixed.
+     * @throws LockedException if adjuster is locked.
+     */
+    public void setFixedCameras(final BitSet fixedCameras) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.fixedCameras = fixedCameras;
+    }
+
+    /**
+     * Gets positions of points kept fixed during adjustment.
+     *
+     * @return positions of fixed points or null if no point is fixed.
+     */
+    public BitSet getFixedPoints() {
+        return fixedPoints;
+    }
+
+    /**
+     * Sets positions of points kept fixed during adjustment.
+     *
+     * @param fixedPoints positions of fixed points or null if no point is
+     *                    fixed.
+     * @throws LockedException if adjuster is locked.
+     */
+    public void setFixedPoints(final BitSet fixedPoints) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.fixedPoints = fixedPoints;
+    }
+
+    /**
+     * Indicates whether intrinsic parameters of cameras are refined.
+     *
+     * @return true if intrinsic parameters are refined, false if only camera
+     * poses are refined.
+     */
+    public boolean areIntrinsicsRefined() {
+        return intrinsicsRefined;
+    }
+
+    /**
+     * Specifies whether intrinsic parameters of cameras are refined.
+     *
+     * @param intrinsicsRefined true if intrinsic parameters are refined, false
+     *                          if only camera poses are refined.
+     * @throws LockedException if adjuster is locked.
+     */
+    public void setIntrinsicsRefined(final boolean intrinsicsRefined) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.intrinsicsRefined = intrinsicsRefined;
+    }
+
+    /**
+     * Gets maximum number of Levenberg-Marquardt iterations.
+     *
+     * @return maximum number of iterations.
+     */
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Sets maximum number of Levenberg-Marquardt iterations.
+     *
+     * @param maxIterations maximum number of iterations.
+     * @throws LockedException          if adjuster is locked.
+     * @throws IllegalArgumentException if provided value is less than 1.
+     */
+    public void setMaxIterations(final int maxIterations) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (maxIterations < MIN_ITERATIONS) {
+            throw new IllegalArgumentException();
+        }
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Gets relative decrease of squared reprojection error below which
+     * adjustment is considered to have converged.
+     *
+     * @return tolerance to determine convergence.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Sets relative decrease of squared reprojection error below which
+     * adjustment is considered to have converged.
+     *
+     * @param tolerance tolerance to determine convergence.
+     * @throws LockedException          if adjuster is locked.
+     * @throws IllegalArgumentException if provided value is negative.
+     */
+    public void setTolerance(final double tolerance) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (tolerance < 0.0) {
+            throw new IllegalArgumentException();
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Gets damping used on first Levenberg-Marquardt iteration, relative to
+     * the diagonal of the normal equations.
+     *
+     * @return initial damping.
+     */
+    public double getInitialDamping() {
+        return initialDamping;
+    }
+
+    /**
+     * Sets damping used on first Levenberg-Marquardt iteration, relative to
+     * the diagonal of the normal equations.
+     *
+     * @param initialDamping initial damping.
+     * @throws LockedException          if adjuster is locked.
+     * @throws IllegalArgumentException if provided value is not positive.
+     */
+    public void setInitialDamping(final double initialDamping) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (initialDamping <= 0.0) {
+            throw new IllegalArgumentException();
+        }
+        this.initialDamping = initialDamping;
+    }
+
+    /**
+     * Gets maximum number of conjugate gradient iterations used to solve the
+     * reduced camera system on each Levenberg-Marquardt iteration.
+     *
+     * @return maximum number of conjugate gradient iterations.
+     */
+    public int getMaxSolverIterations() {
+        return maxSolverIterations;
+    }
+
+    /**
+     * Sets maximum number of conjugate gradient iterations used to solve the
+     * reduced camera system on each Levenberg-Marquardt iteration.
+     *
+     * @param maxSolverIterations maximum number of conjugate gradient
+     *                            iterations.
+     * @throws LockedException          if adjuster is locked.
+     * @throws IllegalArgumentException if provided value is less than 1.
+     */
+    public void setMaxSolverIterations(final int maxSolverIterations) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (maxSolverIterations < MIN_SOLVER_ITERATIONS) {
+            throw new IllegalArgumentException();
+        }
+        this.maxSolverIterations = maxSolverIterations;
+    }
+
+    /**
+     * Gets relative norm of the residual of the reduced camera system at
+     * which conjugate gradient iterations stop.
+     *
+     * @return tolerance of conjugate gradient iterations.
+     */
+    public double getSolverTolerance() {
+        return solverTolerance;
+    }
+
+    /**
+     * Sets relative norm of the residual of the reduced camera system at
+     * which conjugate gradient iterations stop.
+     *
+     * @param solverTolerance tolerance of conjugate gradient iterations.
+     * @throws LockedException          if adjuster is locked.
+     * @throws IllegalArgumentException if provided value is negative.
+     */
+    public void setSolverTolerance(final double solverTolerance) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (solverTolerance < 0.0) {
+            throw new IllegalArgumentException();
+        }
+        this.solverTolerance = solverTolerance;
+    }
+
+    /**
+     * Gets number of threads used during adjustment.
+     *
+     * @return number of threads.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets number of threads used during adjustment.
+     *
+     * @param parallelism number of threads.
+     * @throws LockedException          if adjuster is locked.
+     * @throws IllegalArgumentException if provided value is less than 1.
+     */
+    public void setParallelism(final int parallelism) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (parallelism < MIN_PARALLELISM) {
+            throw new IllegalArgumentException();
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Gets pool where work is executed when more than one thread is allowed.
+     *
+     * @return pool where work is executed.
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Sets pool where work is executed when more than one thread is allowed.
+     *
+     * @param pool pool where work is executed.
+     * @throws LockedException          if adjuster is locked.
+     * @throws IllegalArgumentException if provided pool is null.
+     */
+    public void setPool(final ForkJoinPool pool) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException();
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Gets listener to be notified of events such as when adjustment starts,
+     * ends or an iteration completes.
+     *
+     * @return listener to be notified of events.
+     */
+    public PinholeCameraBundleAdjusterListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets listener to be notified of events such as when adjustment starts,
+     * ends or an iteration completes.
+     *
+     * @param listener listener to be notified of events.
+     * @throws LockedException if adjuster is locked.
+     */
+    public void setListener(final PinholeCameraBundleAdjusterListener listener) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.listener = listener;
+    }
+
+    /**
+     * Indicates whether this instance is locked because adjustment is in
+     * progress.
+     *
+     * @return true if adjuster is locked, false otherwise.
+     */
+    public boolean isLocked() {
+        return locked;
+    }
+
+    /**
+     * Indicates whether adjuster is ready to start adjustment because
+     * cameras, points and observations referring to them have been provided.
+     *
+     * @return true if adjuster is ready, false otherwise.
+     */
+    public boolean isReady() {
+        if (cameras == null || points == null || cameraIndices == null || cameraIndices.length == 0) {
+            return false;
+        }
+
+        final var numCameras = cameras.size();
+        final var numPoints = points.size();
+        for (var k = 0; k < cameraIndices.length; k++) {
+            final var i = cameraIndices[k];
+            final var j = pointIndices[k];
+            if (i < 0 || i >= numCameras || j < 0 || j >= numPoints) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets adjusted cameras, in the same order as provided cameras.
+     *
+     * @return adjusted cameras or null if adjustment has not been done yet.
+     */
+    public List<PinholeCamera> getAdjustedCameras() {
+        return adjustedCameras;
+    }
+
+    /**
+     * Gets adjusted points, in the same order as provided points.
+     *
+     * @return adjusted points or null if adjustment has not been done yet.
+     */
+    public List<Point3D> getAdjustedPoints() {
+        return adjustedPoints;
+    }
+
+    /**
+     * Gets root mean square reprojection error of observations before last
+     * adjustment.
+     *
+     * @return initial root mean square reprojection error.
+     */
+    public double getInitialRmsError() {
+        return initialRmsError;
+    }
+
+    /**
+     * Gets root mean square reprojection error of observations after last
+     * adjustment.
+     *
+     * @return final root mean square reprojection error.
+     */
+    public double getFinalRmsError() {
+        return finalRmsError;
+    }
+
+    /**
+     * Gets number of Levenberg-Marquardt iterations done during last
+     * adjustment.
+     *
+     * @return number of iterations.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Jointly adjusts cameras and points so that reprojection error of all
+     * observations is minimized.
+     * Adjusted cameras and points can be obtained afterwards using
+     * {@link #getAdjustedCameras()} and {@link #getAdjustedPoints()}.
+     *
+     * @return true if reprojection error decreased, false otherwise.
+     * @throws LockedException   if adjuster is locked.
+     * @throws NotReadyException if adjuster is not ready.
+     * @throws RefinerException  if any of the cameras cannot be decomposed
+     *                           or initial reprojection error is not finite.
+     */
+    public boolean adjust() throws LockedException, NotReadyException, RefinerException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (!isReady()) {
+            throw new NotReadyException();
+        }
+
+        try {
+            locked = true;
+            if (listener != null) {
+                listener.onAdjustStart(this);
+            }
+
+            final var problem = new Problem();
+            final var errorDecreased = problem.solve();
+
+            adjustedCameras = problem.toCameras();
+            adjustedPoints = problem.toPoints();
+
+            if (listener != null) {
+                listener.onAdjustEnd(this, errorDecreased);
+            }
+            return errorDecreased;
+        } finally {
+            locked = false;
+        }
+    }
+
+    /**
+     * Internally sets observations of points by cameras.
+     *
+     * @param cameraIndices position of observing camera for each observation.
+     * @param pointIndices  position of observed point for each observation.
+     * @param measurements  inhomogeneous coordinates of each observation
+     *                      stored consecutively as x0, y0, x1, y1, ...
+     * @throws IllegalArgumentException if lengths of provided arrays do not
+     *                                  match.
+     */
+    private void internalSetObservations(final int[] cameraIndices, final int[] pointIndices,
+                                         final double[] measurements) {
+        if (cameraIndices == null || pointIndices == null || measurements == null
+                || cameraIndices.length != pointIndices.length || measurements.length != 2 * cameraIndices.length) {
+            throw new IllegalArgumentException();
+        }
+        this.cameraIndices = cameraIndices;
+        this.pointIndices = pointIndices;
+        this.measurements = measurements;
+    }
+
+    /**
+     * Executes provided body for each position within range [0, n), using
+     * several threads if allowed.
+     *
+     * @param n    number of positions.
+     * @param body body to be executed for each position.
+     */
+    private void parallelFor(final int n, final IntConsumer body) {
+        final var taskSize = Math.max(MIN_ITEMS_PER_TASK, (n + parallelism - 1) / parallelism);
+        if (parallelism == MIN_PARALLELISM || n <= taskSize) {
+            for (var k = 0; k < n; k++) {
+                body.accept(k);
+            }
+        } else {
+            pool.invoke(new RangeTask(body, 0, n, taskSize));
+        }
+    }
+
+    /**
+     * Computes rotation matrix of a unit quaternion.
+     *
+     * @param quaternions    array containing quaternion components a, b, c, d.
+     * @param offset         position of quaternion within array.
+     * @param rotations      array where 3x3 rotation matrix will be stored in
+     *                       row order.
+     * @param rotationOffset position where rotation matrix will be stored.
+     */
+    private static void quaternionToRotation(final double[] quaternions, final int offset, final double[] rotations,
+                                             final int rotationOffset) {
+        final var a = quaternions[offset];
+        final var b = quaternions[offset + 1];
+        final var c = quaternions[offset + 2];
+        final var d = quaternions[offset + 3];
+
+        final var aa = a * a;
+        final var bb = b * b;
+        final var cc = c * c;
+        final var dd = d * d;
+        final var ab = 2.0 * a * b;
+        final var ac = 2.0 * a * c;
+        final var ad = 2.0 * a * d;
+        final var bc = 2.0 * b * c;
+        final var bd = 2.0 * b * d;
+        final var cd = 2.0 * c * d;
+
+        rotations[rotationOffset] = aa + bb - cc - dd;
+        rotations[rotationOffset + 1] = bc - ad;
+        rotations[rotationOffset + 2] = bd + ac;
+        rotations[rotationOffset + 3] = bc + ad;
+        rotations[rotationOffset + 4] = aa - bb + cc - dd;
+        rotations[rotationOffset + 5] = cd - ab;
+        rotations[rotationOffset + 6] = bd - ac;
+        rotations[rotationOffset + 7] = cd + ab;
+        rotations[rotationOffset + 8] = aa - bb - cc + dd;
+    }
+
+    /**
+     * Inverts a symmetric positive definite 3x3 matrix.
+     *
+     * @param m            array containing matrix in row order.
+     * @param offset       position of matrix within array.
+     * @param result       array where inverse will be stored in row order.
+     * @param resultOffset position where inverse will be stored.
+     * @return true if matrix could be inverted, false if it is singular, in
+     * which case a zero matrix is stored.
+     */
+    private static boolean invertSymmetric3x3(final double[] m, final int offset, final double[] result,
+                                              final int resultOffset) {
+        final var m00 = m[offset];
+        final var m01 = m[offset + 1];
+        final var m02 = m[offset + 2];
+        final var m11 = m[offset + 4];
+        final var m12 = m[offset + 5];
+        final var m22 = m[offset + 8];
+
+        final var c00 = m11 * m22 - m12 * m12;
+        final var c01 = m02 * m12 - m01 * m22;
+        final var c02 = m01 * m12 - m02 * m11;
+        final var det = m00 * c00 + m01 * c01 + m02 * c02;
+        if (!(det > 0.0) || Double.isInfinite(det)) {
+            Arrays.fill(result, resultOffset, resultOffset + POINT_BLOCK_LENGTH, 0.0);
+            return false;
+        }
+
+        final var invDet = 1.0 / det;
+        final var i01 = c01 * invDet;
+        final var i02 = c02 * invDet;
+        final var i12 = (m01 * m02 - m00 * m12) * invDet;
+        result[resultOffset] = c00 * invDet;
+        result[resultOffset + 1] = i01;
+        result[resultOffset + 2] = i02;
+        result[resultOffset + 3] = i01;
+        result[resultOffset + 4] = (m00 * m22 - m02 * m02) * invDet;
+        result[resultOffset + 5] = i12;
+        result[resultOffset + 6] = i02;
+        result[resultOffset + 7] = i12;
+        result[resultOffset + 8] = (m00 * m11 - m01 * m01) * invDet;
+        return true;
+    }
+
+    /**
+     * Computes the Cholesky factorization of a symmetric positive definite
+     * square block, so that the lower triangle of factor contains L such that
+     * block = L * L^T.
+     * If block is not positive definite, its off-diagonal elements are
+     * discarded and only the square root of its diagonal is kept. Because
+     * source block is left untouched, such fallback is always computed from
+     * the original diagonal rather than from a partially factorized one.
+     *
+     * @param source       array containing block in row order.
+     * @param sourceOffset position of block within source array.
+     * @param block        array where factor will be stored in row order.
+     * @param offset       position of factor within array.
+     * @param size         number of rows and columns of block.
+     */
+    private static void cholesky(final double[] source, final int sourceOffset,
+                                 final double[] block, final int offset, final int size) {
+        System.arraycopy(source, sourceOffset, block, offset, size * size);
+        for (var j = 0; j < size; j++) {
+            var d = block[offset + j * size + j];
+            for (var k = 0; k < j; k++) {
+                final var ljk = block[offset + j * size + k];
+                d -= ljk * ljk;
+            }
+            if (!(d > 0.0)) {
+                diagonalFactor(source, sourceOffset, block, offset, size);
+                return;
+            }
+            final var ljj = Math.sqrt(d);
+            block[offset + j * size + j] = ljj;
+            for (var i = j + 1; i < size; i++) {
+                var s = block[offset + i * size + j];
+                for (var k = 0; k < j; k++) {
+                    s -= block[offset + i * size + k] * block[offset + j * size + k];
+                }
+                block[offset + i * size + j] = s / ljj;
+            }
+        }
+        for (var i = 0; i < size; i++) {
+            for (var j = i + 1; j < size; j++) {
+                block[offset + i * size + j] = 0.0;
+            }
+        }
+    }
+
+    /**
+     * Computes a diagonal factor containing the square root of the diagonal
+     * elements of a block.
+     *
+     * @param source       array containing block in row order.
+     * @param sourceOffset position of block within source array.
+     * @param block        array where factor will be stored in row order.
+     * @param offset       position of factor within array.
+     * @param size         number of rows and columns of block.
+     */
+    private static void diagonalFactor(final double[] source, final int sourceOffset,
+                                       final double[] block, final int offset, final int size) {
+        for (var i = 0; i < size; i++) {
+            for (var j = 0; j < size; j++) {
+                block[offset + i * size + j] = i == j
+                        ? Math.sqrt(Math.max(Math.abs(source[sourceOffset + i * size + j]), MIN_DIAGONAL)) : 0.0;
+            }
+        }
+    }
+
+    /**
+     * Solves L * L^T * x = b, where L is a lower triangular factor.
+     *
+     * @param factor       array containing factor in row order.
+     * @param factorOffset position of factor within array.
+     * @param size         number of rows and columns of factor.
+     * @param b            array containing right-hand side.
+     * @param x            array where solution will be stored.
+     * @param offset       position of right-hand side and solution within
+     *                     their arrays.
+     */
+    private static void choleskySolve(final double[] factor, final int factorOffset, final int size,
+                                      final double[] b, final double[] x, final int offset) {
+        for (var i = 0; i < size; i++) {
+            var s = b[offset + i];
+            for (var k = 0; k < i; k++) {
+                s -= factor[factorOffset + i * size + k] * x[offset + k];
+            }
+            x[offset + i] = s / factor[factorOffset + i * size + i];
+        }
+        for (var i = size - 1; i >= 0; i--) {
+            var s = x[offset + i];
+            for (var k = i + 1; k < size; k++) {
+                s -= factor[factorOffset + k * size + i] * x[offset + k];
+            }
+            x[offset + i] = s / factor[factorOffset + i * size + i];
+        }
+    }
+
+    /**
+     * Computes dot product of two vectors.
+     *
+     * @param a first vector.
+     * @param b second vector.
+     * @return dot product.
+     */
+    private static double dot(final double[] a, final double[] b) {
+        var result = 0.0;
+        for (var k = 0; k < a.length; k++) {
+            result += a[k] * b[k];
+        }
+        return result;
+    }
+
+    /**
+     * Parameters of cameras and points at a given Levenberg-Marquardt step.
+     */
+    private static final class State {
+
+        /**
+         * Intrinsic parameters of each camera stored consecutively as
+         * skewness, horizontal focal length, vertical focal length,
+         * horizontal principal point and vertical principal point.
+         */
+        private final double[] intrinsics;
+
+        /**
+         * Unit quaternion of rotation of each camera.
+         */
+        private final double[] quaternions;
+
+        /**
+         * Rotation matrix of each camera in row order, computed from its
+         * quaternion.
+         */
+        private final double[] rotations;
+
+        /**
+         * Inhomogeneous coordinates of center of each camera.
+         */
+        private final double[] centers;
+
+        /**
+         * Inhomogeneous coordinates of each point.
+         */
+        private final double[] coordinates;
+
+        /**
+         * Constructor.
+         *
+         * @param numCameras number of cameras.
+         * @param numPoints  number of points.
+         */
+        State(final int numCameras, final int numPoints) {
+            intrinsics = new double[INTRINSIC_PARAMS * numCameras];
+            quaternions = new double[QUATERNION_LENGTH * numCameras];
+            rotations = new double[ROTATION_LENGTH * numCameras];
+            centers = new double[POINT_PARAMS * numCameras];
+            coordinates = new double[POINT_PARAMS * numPoints];
+        }
+
+        /**
+         * Copies parameters of another state into this instance.
+         *
+         * @param other state to copy from.
+         */
+        void copyFrom(final State other) {
+            System.arraycopy(other.intrinsics, 0, intrinsics, 0, intrinsics.length);
+            System.arraycopy(other.quaternions, 0, quaternions, 0, quaternions.length);
+            System.arraycopy(other.rotations, 0, rotations, 0, rotations.length);
+            System.arraycopy(other.centers, 0, centers, 0, centers.length);
+            System.arraycopy(other.coordinates, 0, coordinates, 0, coordinates.length);
+        }
+    }
+
+    /**
+     * Bundle adjustment problem containing the working data of a single
+     * adjustment.
+     */
+    private final class Problem {
+
+        /**
+         * Number of cameras.
+         */
+        private final int numCameras;
+
+        /**
+         * Number of points.
+         */
+        private final int numPoints;
+
+        /**
+         * Number of observations.
+         */
+        private final int numObservations;
+
+        /**
+         * Number of parameters of each camera being refined.
+         */
+        private final int blockSize;
+
+        /**
+         * Number of elements of a square camera block.
+         */
+        private final int blockLength;
+
+        /**
+         * Position of each camera among refined cameras or -1 if camera is
+         * not refined.
+         */
+        private final int[] cameraBlocks;
+
+        /**
+         * Position of camera of each refined camera.
+         */
+        private final int[] freeCameras;
+
+        /**
+         * Position of each point among refined points or -1 if point is not
+         * refined.
+         */
+        private final int[] pointBlocks;
+
+        /**
+         * Position of point of each refined point.
+         */
+        private final int[] freePoints;
+
+        /**
+         * Position within {@link #cameraObservations} of first observation of
+         * each camera.
+         */
+        private final int[] cameraObservationsStart;
+
+        /**
+         * Observations grouped by camera.
+         */
+        private final int[] cameraObservations;
+
+        /**
+         * Position within {@link #pointObservations} of first observation of
+         * each point.
+         */
+        private final int[] pointObservationsStart;
+
+        /**
+         * Observations grouped by point.
+         */
+        private final int[] pointObservations;
+
+        /**
+         * Position within {@link #schurColumns} of first block of each row of
+         * the reduced camera system.
+         */
+        private int[] schurRowStart;
+
+        /**
+         * Sorted refined camera of each non-zero block of the reduced camera
+         * system, grouped by rows.
+         */
+        private int[] schurColumns;
+
+        /**
+         * Current parameters.
+         */
+        private State current;
+
+        /**
+         * Parameters being evaluated.
+         */
+        private State candidate;
+
+        /**
+         * Residual of each observation, stored consecutively as x and y
+         * components.
+         */
+        private final double[] residuals;
+
+        /**
+         * Squared reprojection error of each observation.
+         */
+        private final double[] squaredErrors;
+
+        /**
+         * 2xN jacobian of each observation respect to parameters of its
+         * camera, in row order.
+         */
+        private final double[] cameraJacobians;
+
+        /**
+         * 2x3 jacobian of each observation respect to coordinates of its
+         * point, in row order.
+         */
+        private final double[] pointJacobians;
+
+        /**
+         * Diagonal block of normal equations of each refined camera.
+         */
+        private final double[] cameraHessians;
+
+        /**
+         * Gradient of each refined camera.
+         */
+        private final double[] cameraGradients;
+
+        /**
+         * Diagonal block of normal equations of each refined point.
+         */
+        private final double[] pointHessians;
+
+        /**
+         * Gradient of each refined point.
+         */
+        private final double[] pointGradients;
+
+        /**
+         * Inverse of damped diagonal block of each refined point.
+         */
+        private final double[] inversePointHessians;
+
+        /**
+         * Non-zero blocks of the reduced camera system.
+         */
+        private double[] schurBlocks;
+
+        /**
+         * Cholesky factors of diagonal blocks of the reduced camera system.
+         */
+        private final double[] preconditioner;
+
+        /**
+         * Right-hand side of the reduced camera system.
+         */
+        private final double[] reducedGradient;
+
+        /**
+         * Step of refined cameras.
+         */
+        private final double[] cameraSteps;
+
+        /**
+         * Step of refined points.
+         */
+        private final double[] pointSteps;
+
+        /**
+         * Constructor.
+         * Decomposes cameras and builds the structure of the problem.
+         *
+         * @throws RefinerException if any of the cameras cannot be decomposed.
+         */
+        Problem() throws RefinerException {
+            numCameras = cameras.size();
+            numPoints = points.size();
+            numObservations = cameraIndices.length;
+            blockSize = intrinsicsRefined ? POSE_PARAMS + INTRINSIC_PARAMS : POSE_PARAMS;
+            blockLength = blockSize * blockSize;
+
+            current = new State(numCameras, numPoints);
+            candidate = new State(numCameras, numPoints);
+            initState();
+
+            cameraObservationsStart = new int[numCameras + 1];
+            cameraObservations = new int[numObservations];
+            group(cameraIndices, cameraObservationsStart, cameraObservations);
+
+            pointObservationsStart = new int[numPoints + 1];
+            pointObservations = new int[numObservations];
+            group(pointIndices, pointObservationsStart, pointObservations);
+
+            cameraBlocks = new int[numCameras];
+            freeCameras = assignBlocks(cameraObservationsStart, fixedCameras, cameraBlocks);
+            pointBlocks = new int[numPoints];
+            freePoints = assignBlocks(pointObservationsStart, fixedPoints, pointBlocks);
+
+            buildSchurStructure();
+
+            final var numFreeCameras = freeCameras.length;
+            final var numFreePoints = freePoints.length;
+            residuals = new double[2 * numObservations];
+            squaredErrors = new double[numObservations];
+            cameraJacobians = new double[2 * blockSize * numObservations];
+            pointJacobians = new double[2 * POINT_PARAMS * numObservations];
+            cameraHessians = new double[blockLength * numFreeCameras];
+            cameraGradients = new double[blockSize * numFreeCameras];
+            pointHessians = new double[POINT_BLOCK_LENGTH * numFreePoints];
+            pointGradients = new double[POINT_PARAMS * numFreePoints];
+            inversePointHessians = new double[POINT_BLOCK_LENGTH * numFreePoints];
+            preconditioner = new double[blockLength * numFreeCameras];
+            reducedGradient = new double[blockSize * numFreeCameras];
+            cameraSteps = new double[blockSize * numFreeCameras];
+            pointSteps = new double[POINT_PARAMS * numFreePoints];
+        }
+
+        /**
+         * Minimizes reprojection error using Levenberg-Marquardt iterations.
+         *
+         * @return true if reprojection error decreased, false otherwise.
+         * @throws RefinerException if initial reprojection error is not
+         *                          finite.
+         */
+        boolean solve() throws RefinerException {
+            var cost = evaluate(current, true);
+            if (!Double.isFinite(cost)) {
+                throw new RefinerException();
+            }
+            final var initialCost = cost;
+            initialRmsError = Math.sqrt(initialCost / numObservations);
+            finalRmsError = initialRmsError;
+            iterations = 0;
+
+            var damping = initialDamping;
+            while (iterations < maxIterations && cost > 0.0) {
+                buildNormalEquations();
+
+                var accepted = false;
+                var candidateCost = cost;
+                while (!accepted && damping <= MAX_DAMPING) {
+                    computeStep(damping);
+                    if (isStepNegligible()) {
+                        // parameters cannot be further improved
+                        break;
+                    }
+
+                    update();
+                    candidateCost = evaluate(candidate, false);
+                    if (candidateCost < cost) {
+                        accepted = true;
+                        damping = Math.max(damping / DAMPING_FACTOR, MIN_DAMPING);
+                    } else {
+                        damping *= DAMPING_FACTOR;
+                    }
+                }
+
+                if (!accepted) {
+                    break;
+                }
+
+                final var swap = current;
+                current = candidate;
+                candidate = swap;
+                final var decrease = cost - candidateCost;
+                cost = candidateCost;
+                iterations++;
+                finalRmsError = Math.sqrt(cost / numObservations);
+
+                if (listener != null) {
+                    listener.onAdjustIteration(PinholeCameraBundleAdjuster.this, iterations, finalRmsError);
+                }
+
+                if (decrease <= tolerance * (cost + decrease)) {
+                    break;
+                }
+                evaluate(current, true);
+            }
+
+            return cost < initialCost;
+        }
+
+        /**
+         * Indicates whether computed step is negligible respect to current
+         * parameters, in which case adjustment has converged.
+         *
+         * @return true if step is negligible, false otherwise.
+         */
+        private boolean isStepNegligible() {
+            final var stepNorm = Math.sqrt(dot(cameraSteps, cameraSteps) + dot(pointSteps, pointSteps));
+            final var parametersNorm = Math.sqrt(dot(current.centers, current.centers)
+                    + dot(current.coordinates, current.coordinates)
+                    + (intrinsicsRefined ? dot(current.intrinsics, current.intrinsics) : 0.0));
+            return stepNorm <= STEP_TOLERANCE * (parametersNorm + STEP_TOLERANCE);
+        }
+
+        /**
+         * Converts current parameters into cameras.
+         *
+         * @return adjusted cameras.
+         */
+        List<PinholeCamera> toCameras() {
+            final var result = new ArrayList<PinholeCamera>(numCameras);
+            for (var i = 0; i < numCameras; i++) {
+                final var k = INTRINSIC_PARAMS * i;
+                final var q = QUATERNION_LENGTH * i;
+                final var c = POINT_PARAMS * i;
+                final var intrinsics = new PinholeCameraIntrinsicParameters(
+                        current.intrinsics[k + 1], current.intrinsics[k + 2], current.intrinsics[k + 3],
+                        current.intrinsics[k + 4], current.intrinsics[k]);
+                final var rotation = new Quaternion(current.quaternions[q], current.quaternions[q + 1],
+                        current.quaternions[q + 2], current.quaternions[q + 3]);
+                final var center = new InhomogeneousPoint3D(current.centers[c], current.centers[c + 1],
+                        current.centers[c + 2]);
+                result.add(new PinholeCamera(intrinsics, rotation, center));
+            }
+            return result;
+        }
+
+        /**
+         * Converts current parameters into points.
+         *
+         * @return adjusted points.
+         */
+        List<Point3D> toPoints() {
+            final var result = new ArrayList<Point3D>(numPoints);
+            for (var j = 0; j < numPoints; j++) {
+                final var p = POINT_PARAMS * j;
+                result.add(new InhomogeneousPoint3D(current.coordinates[p], current.coordinates[p + 1],
+                        current.coordinates[p + 2]));
+            }
+            return result;
+        }
+
+        /**
+         * Initializes current parameters from provided cameras and points.
+         *
+         * @throws RefinerException if any of the cameras cannot be decomposed.
+         */
+        private void initState() throws RefinerException {
+            try {
+                for (var i = 0; i < numCameras; i++) {
+                    // decompose a copy to avoid modifying provided camera
+                    final var camera = new PinholeCamera(new Matrix(cameras.get(i).getInternalMatrix()));
+                    camera.decompose();
+
+                    final var intrinsics = camera.getIntrinsicParameters();
+                    final var k = INTRINSIC_PARAMS * i;
+                    current.intrinsics[k] = intrinsics.getSkewness();
+                    current.intrinsics[k + 1] = intrinsics.getHorizontalFocalLength();
+                    current.intrinsics[k + 2] = intrinsics.getVerticalFocalLength();
+                    current.intrinsics[k + 3] = intrinsics.getHorizontalPrincipalPoint();
+                    current.intrinsics[k + 4] = intrinsics.getVerticalPrincipalPoint();
+
+                    final var quaternion = camera.getCameraRotation().toQuaternion();
+                    quaternion.normalize();
+                    final var q = QUATERNION_LENGTH * i;
+                    current.quaternions[q] = quaternion.getA();
+                    current.quaternions[q + 1] = quaternion.getB();
+                    current.quaternions[q + 2] = quaternion.getC();
+                    current.quaternions[q + 3] = quaternion.getD();
+                    quaternionToRotation(current.quaternions, q, current.rotations, ROTATION_LENGTH * i);
+
+                    final var center = camera.getCameraCenter();
+                    final var c = POINT_PARAMS * i;
+                    current.centers[c] = center.getInhomX();
+                    current.centers[c + 1] = center.getInhomY();
+                    current.centers[c + 2] = center.getInhomZ();
+                }
+            } catch (final GeometryException | AlgebraException e) {
+                throw new RefinerException(e);
+            }
+
+            for (var j = 0; j < numPoints; j++) {
+                final var point = points.get(j);
+                final var p = POINT_PARAMS * j;
+                current.coordinates[p] = point.getInhomX();
+                current.coordinates[p + 1] = point.getInhomY();
+                current.coordinates[p + 2] = point.getInhomZ();
+            }
+            candidate.copyFrom(current);
+        }
+
+        /**
+         * Groups observations by the camera or point they refer to.
+         *
+         * @param indices      camera or point of each observation.
+         * @param start        array where position of first observation of
+         *                     each group will be stored.
+         * @param observations array where grouped observations will be
+         *                     stored.
+         */
+        private void group(final int[] indices, final int[] start, final int[] observations) {
+            for (final var index : indices) {
+                start[index + 1]++;
+            }
+            for (var k = 1; k < start.length; k++) {
+                start[k] += start[k - 1];
+            }
+            final var next = Arrays.copyOf(start, start.length - 1);
+            for (var o = 0; o < indices.length; o++) {
+                observations[next[indices[o]]++] = o;
+            }
+        }
+
+        /**
+         * Assigns consecutive blocks to observed and not fixed cameras or
+         * points.
+         *
+         * @param start  position of first observation of each camera or
+         *               point.
+         * @param fixed  fixed cameras or points or null if none is fixed.
+         * @param blocks array where assigned block, or -1 if not refined,
+         *               will be stored.
+         * @return camera or point of each assigned block.
+         */
+        private int[] assignBlocks(final int[] start, final BitSet fixed, final int[] blocks) {
+            var count = 0;
+            for (var k = 0; k < blocks.length; k++) {
+                if (start[k + 1] > start[k] && (fixed == null || !fixed.get(k))) {
+                    blocks[k] = count++;
+                } else {
+                    blocks[k] = -1;
+                }
+            }
+            final var result = new int[count];
+            for (var k = 0; k < blocks.length; k++) {
+                if (blocks[k] >= 0) {
+                    result[blocks[k]] = k;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Builds the block-sparse structure of the reduced camera system,
+         * which has a non-zero block for each pair of refined cameras
+         * observing a common refined point.
+         */
+        private void buildSchurStructure() {
+            final var numFreeCameras = freeCameras.length;
+            final var marker = new int[numFreeCameras];
+            Arrays.fill(marker, -1);
+
+            schurRowStart = new int[numFreeCameras + 1];
+            for (var a = 0; a < numFreeCameras; a++) {
+                schurRowStart[a + 1] = schurRowStart[a] + visitRow(a, marker, null, 0);
+            }
+
+            schurColumns = new int[schurRowStart[numFreeCameras]];
+            Arrays.fill(marker, -1);
+            for (var a = 0; a < numFreeCameras; a++) {
+                visitRow(a, marker, schurColumns, schurRowStart[a]);
+                Arrays.sort(schurColumns, schurRowStart[a], schurRowStart[a + 1]);
+            }
+            schurBlocks = new double[blockLength * schurColumns.length];
+        }
+
+        /**
+         * Finds refined cameras sharing a refined point with a given refined
+         * camera, including itself.
+         *
+         * @param a       refined camera.
+         * @param marker  last row where each refined camera was found.
+         * @param columns array where found cameras will be stored or null.
+         * @param offset  position where found cameras will be stored.
+         * @return number of found cameras.
+         */
+        private int visitRow(final int a, final int[] marker, final int[] columns, final int offset) {
+            var count = 0;
+            marker[a] = a;
+            if (columns != null) {
+                columns[offset] = a;
+            }
+            count++;
+
+            final var i = freeCameras[a];
+            for (var k = cameraObservationsStart[i]; k < cameraObservationsStart[i + 1]; k++) {
+                final var j = pointIndices[cameraObservations[k]];
+                if (pointBlocks[j] < 0) {
+                    continue;
+                }
+                for (var l = pointObservationsStart[j]; l < pointObservationsStart[j + 1]; l++) {
+                    final var b = cameraBlocks[cameraIndices[pointObservations[l]]];
+                    if (b >= 0 && marker[b] != a) {
+                        marker[b] = a;
+                        if (columns != null) {
+                            columns[offset + count] = b;
+                        }
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Evaluates residuals of all observations and optionally their
+         * jacobians.
+         *
+         * @param state     parameters to be evaluated.
+         * @param jacobians true to also compute jacobians.
+         * @return sum of squared reprojection errors.
+         */
+        private double evaluate(final State state, final boolean jacobians) {
+            parallelFor(numObservations, o -> evaluateObservation(state, o, jacobians));
+            var cost = 0.0;
+            for (final var error : squaredErrors) {
+                cost += error;
+            }
+            return cost;
+        }
+
+        /**
+         * Evaluates residual of an observation and optionally its jacobians.
+         *
+         * @param state     parameters to be evaluated.
+         * @param o         observation.
+         * @param jacobians true to also compute jacobians.
+         */
+        private void evaluateObservation(final State state, final int o, final boolean jacobians) {
+            final var i = cameraIndices[o];
+            final var j = pointIndices[o];
+            final var r = state.rotations;
+            final var rOffset = ROTATION_LENGTH * i;
+            final var cOffset = POINT_PARAMS * i;
+            final var pOffset = POINT_PARAMS * j;
+            final var kOffset = INTRINSIC_PARAMS * i;
+
+            final var dx = state.coordinates[pOffset] - state.centers[cOffset];
+            final var dy = state.coordinates[pOffset + 1] - state.centers[cOffset + 1];
+            final var dz = state.coordinates[pOffset + 2] - state.centers[cOffset + 2];
+
+            // point in camera coordinates
+            final var xc = r[rOffset] * dx + r[rOffset + 1] * dy + r[rOffset + 2] * dz;
+            final var yc = r[rOffset + 3] * dx + r[rOffset + 4] * dy + r[rOffset + 5] * dz;
+            final var zc = r[rOffset + 6] * dx + r[rOffset + 7] * dy + r[rOffset + 8] * dz;
+
+            final var skew = state.intrinsics[kOffset];
+            final var fx = state.intrinsics[kOffset + 1];
+            final var fy = state.intrinsics[kOffset + 2];
+            final var invZ = 1.0 / zc;
+            final var u = xc * invZ;
+            final var v = yc * invZ;
+            final var px = fx * u + skew * v + state.intrinsics[kOffset + 3];
+            final var py = fy * v + state.intrinsics[kOffset + 4];
+
+            final var ex = measurements[2 * o] - px;
+            final var ey = measurements[2 * o + 1] - py;
+            residuals[2 * o] = ex;
+            residuals[2 * o + 1] = ey;
+            squaredErrors[o] = ex * ex + ey * ey;
+
+            if (!jacobians) {
+                return;
+            }
+
+            // derivatives of projection respect to point in camera coordinates
+            final var p00 = fx * invZ;
+            final var p01 = skew * invZ;
+            final var p02 = -(fx * u + skew * v) * invZ;
+            final var p11 = fy * invZ;
+            final var p12 = -fy * v * invZ;
+
+            // derivatives respect to point coordinates (P * R)
+            final var b00 = p00 * r[rOffset] + p01 * r[rOffset + 3] + p02 * r[rOffset + 6];
+            final var b01 = p00 * r[rOffset + 1] + p01 * r[rOffset + 4] + p02 * r[rOffset + 7];
+            final var b02 = p00 * r[rOffset + 2] + p01 * r[rOffset + 5] + p02 * r[rOffset + 8];
+            final var b10 = p11 * r[rOffset + 3] + p12 * r[rOffset + 6];
+            final var b11 = p11 * r[rOffset + 4] + p12 * r[rOffset + 7];
+            final var b12 = p11 * r[rOffset + 5] + p12 * r[rOffset + 8];
+
+            if (pointBlocks[j] >= 0) {
+                final var offset = 2 * POINT_PARAMS * o;
+                pointJacobians[offset] = b00;
+                pointJacobians[offset + 1] = b01;
+                pointJacobians[offset + 2] = b02;
+                pointJacobians[offset + 3] = b10;
+                pointJacobians[offset + 4] = b11;
+                pointJacobians[offset + 5] = b12;
+            }
+
+            if (cameraBlocks[i] >= 0) {
+                final var row0 = 2 * blockSize * o;
+                final var row1 = row0 + blockSize;
+
+                // derivatives respect to rotation vector increment, where
+                // derivative of point in camera coordinates is -[Xc]x
+                cameraJacobians[row0] = -p01 * zc + p02 * yc;
+                cameraJacobians[row0 + 1] = p00 * zc - p02 * xc;
+                cameraJacobians[row0 + 2] = -p00 * yc + p01 * xc;
+                cameraJacobians[row1] = -p11 * zc + p12 * yc;
+                cameraJacobians[row1 + 1] = -p12 * xc;
+                cameraJacobians[row1 + 2] = p11 * xc;
+
+                // derivatives respect to camera center
+                cameraJacobians[row0 + 3] = -b00;
+                cameraJacobians[row0 + 4] = -b01;
+                cameraJacobians[row0 + 5] = -b02;
+                cameraJacobians[row1 + 3] = -b10;
+                cameraJacobians[row1 + 4] = -b11;
+                cameraJacobians[row1 + 5] = -b12;
+
+                if (intrinsicsRefined) {
+                    // derivatives respect to skewness, focal lengths and
+                    // principal point
+                    cameraJacobians[row0 + 6] = v;
+                    cameraJacobians[row0 + 7] = u;
+                    cameraJacobians[row0 + 8] = 0.0;
+                    cameraJacobians[row0 + 9] = 1.0;
+                    cameraJacobians[row0 + 10] = 0.0;
+                    cameraJacobians[row1 + 6] = 0.0;
+                    cameraJacobians[row1 + 7] = 0.0;
+                    cameraJacobians[row1 + 8] = v;
+                    cameraJacobians[row1 + 9] = 0.0;
+                    cameraJacobians[row1 + 10] = 1.0;
+                }
+            }
+        }
+
+        /**
+         * Accumulates diagonal blocks and gradients of normal equations of
+         * refined cameras and points.
+         */
+        private void buildNormalEquations() {
+            parallelFor(freeCameras.length, this::buildCameraBlock);
+            parallelFor(freePoints.length, this::buildPointBlock);
+        }
+
+        /**
+         * Accumulates diagonal block and gradient of a refined camera.
+         *
+         * @param a refined camera.
+         */
+        private void buildCameraBlock(final int a) {
+            final var i = freeCameras[a];
+            final var hOffset = blockLength * a;
+            final var gOffset = blockSize * a;
+            Arrays.fill(cameraHessians, hOffset, hOffset + blockLength, 0.0);
+            Arrays.fill(cameraGradients, gOffset, gOffset + blockSize, 0.0);
+
+            for (var k = cameraObservationsStart[i]; k < cameraObservationsStart[i + 1]; k++) {
+                final var o = cameraObservations[k];
+                final var row0 = 2 * blockSize * o;
+                final var row1 = row0 + blockSize;
+                final var ex = residuals[2 * o];
+                final var ey = residuals[2 * o + 1];
+                for (var p = 0; p < blockSize; p++) {
+                    final var a0 = cameraJacobians[row0 + p];
+                    final var a1 = cameraJacobians[row1 + p];
+                    cameraGradients[gOffset + p] += a0 * ex + a1 * ey;
+                    for (var q = 0; q < blockSize; q++) {
+                        cameraHessians[hOffset + p * blockSize + q] +=
+                                a0 * cameraJacobians[row0 + q] + a1 * cameraJacobians[row1 + q];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Accumulates diagonal block and gradient of a refined point.
+         *
+         * @param b refined point.
+         */
+        private void buildPointBlock(final int b) {
+            final var j = freePoints[b];
+            final var hOffset = POINT_BLOCK_LENGTH * b;
+            final var gOffset = POINT_PARAMS * b;
+            Arrays.fill(pointHessians, hOffset, hOffset + POINT_BLOCK_LENGTH, 0.0);
+            Arrays.fill(pointGradients, gOffset, gOffset + POINT_PARAMS, 0.0);
+
+            for (var k = pointObservationsStart[j]; k < pointObservationsStart[j + 1]; k++) {
+                final var o = pointObservations[k];
+                final var row0 = 2 * POINT_PARAMS * o;
+                final var row1 = row0 + POINT_PARAMS;
+                final var ex = residuals[2 * o];
+                final var ey = residuals[2 * o + 1];
+                for (var p = 0; p < POINT_PARAMS; p++) {
+                    final var b0 = pointJacobians[row0 + p];
+                    final var b1 = pointJacobians[row1 + p];
+                    pointGradients[gOffset + p] += b0 * ex + b1 * ey;
+                    for (var q = 0; q < POINT_PARAMS; q++) {
+                        pointHessians[hOffset + p * POINT_PARAMS + q] +=
+                                b0 * pointJacobians[row0 + q] + b1 * pointJacobians[row1 + q];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Computes Levenberg-Marquardt step for provided damping by solving
+         * the reduced camera system and back-substituting points.
+         *
+         * @param damping damping relative to the diagonal of normal equations.
+         */
+        private void computeStep(final double damping) {
+            parallelFor(freePoints.length, b -> invertPointBlock(b, damping));
+            parallelFor(freeCameras.length, a -> buildSchurRow(a, damping));
+            solveReducedCameraSystem();
+            parallelFor(freePoints.length, this::backSubstitute);
+        }
+
+        /**
+         * Inverts damped diagonal block of a refined point.
+         *
+         * @param b       refined point.
+         * @param damping damping relative to the diagonal of normal equations.
+         */
+        private void invertPointBlock(final int b, final double damping) {
+            final var offset = POINT_BLOCK_LENGTH * b;
+            final var damped = Arrays.copyOfRange(pointHessians, offset, offset + POINT_BLOCK_LENGTH);
+            for (var p = 0; p < POINT_PARAMS; p++) {
+                final var pos = p * POINT_PARAMS + p;
+                damped[pos] += damping * Math.max(damped[pos], MIN_DIAGONAL);
+            }
+            invertSymmetric3x3(damped, 0, inversePointHessians, offset);
+        }
+
+        /**
+         * Computes a row of blocks of the reduced camera system
+         * S = U - W * V^-1 * W^T, its right-hand side and the Cholesky factor
+         * of its diagonal block, where U and V are the damped diagonal blocks
+         * of cameras and points and W contains the products of camera and
+         * point jacobians of each observation.
+         *
+         * @param a       refined camera.
+         * @param damping damping relative to the diagonal of normal equations.
+         */
+        private void buildSchurRow(final int a, final double damping) {
+            final var i = freeCameras[a];
+            final var rowStart = schurRowStart[a];
+            final var rowEnd = schurRowStart[a + 1];
+            Arrays.fill(schurBlocks, blockLength * rowStart, blockLength * rowEnd, 0.0);
+
+            final var diagOffset = blockLength * Arrays.binarySearch(schurColumns, rowStart, rowEnd, a);
+            final var hOffset = blockLength * a;
+            for (var p = 0; p < blockSize; p++) {
+                for (var q = 0; q < blockSize; q++) {
+                    schurBlocks[diagOffset + p * blockSize + q] = cameraHessians[hOffset + p * blockSize + q];
+                }
+                final var pos = diagOffset + p * blockSize + p;
+                schurBlocks[pos] += damping * Math.max(schurBlocks[pos], MIN_DIAGONAL);
+            }
+
+            final var gOffset = blockSize * a;
+            System.arraycopy(cameraGradients, gOffset, reducedGradient, gOffset, blockSize);
+
+            final var w = new double[blockSize * POINT_PARAMS];
+            final var y = new double[blockSize * POINT_PARAMS];
+            final var w2 = new double[blockSize * POINT_PARAMS];
+            for (var k = cameraObservationsStart[i]; k < cameraObservationsStart[i + 1]; k++) {
+                final var o = cameraObservations[k];
+                final var j = pointIndices[o];
+                final var pb = pointBlocks[j];
+                if (pb < 0) {
+                    continue;
+                }
+
+                // Y = W * V^-1
+                computeW(o, w);
+                final var vOffset = POINT_BLOCK_LENGTH * pb;
+                for (var p = 0; p < blockSize; p++) {
+                    for (var q = 0; q < POINT_PARAMS; q++) {
+                        var s = 0.0;
+                        for (var t = 0; t < POINT_PARAMS; t++) {
+                            s += w[p * POINT_PARAMS + t] * inversePointHessians[vOffset + t * POINT_PARAMS + q];
+                        }
+                        y[p * POINT_PARAMS + q] = s;
+                    }
+                }
+
+                // reduced gradient: g - Y * ep
+                final var epOffset = POINT_PARAMS * pb;
+                for (var p = 0; p < blockSize; p++) {
+                    var s = 0.0;
+                    for (var t = 0; t < POINT_PARAMS; t++) {
+                        s += y[p * POINT_PARAMS + t] * pointGradients[epOffset + t];
+                    }
+                    reducedGradient[gOffset + p] -= s;
+                }
+
+                // S_ab -= Y * W_b^T for every refined camera b observing
+                // the same point
+                for (var l = pointObservationsStart[j]; l < pointObservationsStart[j + 1]; l++) {
+                    final var o2 = pointObservations[l];
+                    final var b = cameraBlocks[cameraIndices[o2]];
+                    if (b < 0) {
+                        continue;
+                    }
+                    computeW(o2, w2);
+                    final var sOffset = blockLength * Arrays.binarySearch(schurColumns, rowStart, rowEnd, b);
+                    for (var p = 0; p < blockSize; p++) {
+                        for (var q = 0; q < blockSize; q++) {
+                            var s = 0.0;
+                            for (var t = 0; t < POINT_PARAMS; t++) {
+                                s += y[p * POINT_PARAMS + t] * w2[q * POINT_PARAMS + t];
+                            }
+                            schurBlocks[sOffset + p * blockSize + q] -= s;
+                        }
+                    }
+                }
+            }
+
+            cholesky(schurBlocks, diagOffset, preconditioner, hOffset, blockSize);
+        }
+
+        /**
+         * Computes the product of the transposed camera jacobian and the point
+         * jacobian of an observation.
+         *
+         * @param o      observation.
+         * @param result array where Nx3 product will be stored in row order.
+         */
+        private void computeW(final int o, final double[] result) {
+            final var row0 = 2 * blockSize * o;
+            final var row1 = row0 + blockSize;
+            final var pRow0 = 2 * POINT_PARAMS * o;
+            final var pRow1 = pRow0 + POINT_PARAMS;
+            for (var p = 0; p < blockSize; p++) {
+                final var a0 = cameraJacobians[row0 + p];
+                final var a1 = cameraJacobians[row1 + p];
+                for (var q = 0; q < POINT_PARAMS; q++) {
+                    result[p * POINT_PARAMS + q] = a0 * pointJacobians[pRow0 + q]
+                            + a1 * pointJacobians[pRow1 + q];
+                }
+            }
+        }
+
+        /**
+         * Solves the reduced camera system using conjugate gradients
+         * preconditioned with the inverse of its diagonal blocks.
+         */
+        private void solveReducedCameraSystem() {
+            final var n = cameraSteps.length;
+            Arrays.fill(cameraSteps, 0.0);
+            if (n == 0) {
+                return;
+            }
+
+            final var r = Arrays.copyOf(reducedGradient, n);
+            final var z = new double[n];
+            final var q = new double[n];
+            final var gradientNorm = Math.sqrt(dot(r, r));
+            if (gradientNorm == 0.0) {
+                return;
+            }
+
+            precondition(r, z);
+            final var p = Arrays.copyOf(z, n);
+            var rz = dot(r, z);
+            for (var iteration = 0; iteration < maxSolverIterations; iteration++) {
+                multiply(p, q);
+                final var pq = dot(p, q);
+                if (!(pq > 0.0)) {
+                    break;
+                }
+
+                final var alpha = rz / pq;
+                for (var k = 0; k < n; k++) {
+                    cameraSteps[k] += alpha * p[k];
+                    r[k] -= alpha * q[k];
+                }
+                if (Math.sqrt(dot(r, r)) <= solverTolerance * gradientNorm) {
+                    break;
+                }
+
+                precondition(r, z);
+                final var rzNew = dot(r, z);
+                final var beta = rzNew / rz;
+                for (var k = 0; k < n; k++) {
+                    p[k] = z[k] + beta * p[k];
+                }
+                rz = rzNew;
+            }
+        }
+
+        /**
+         * Applies block-Jacobi preconditioner to a vector.
+         *
+         * @param r vector to be preconditioned.
+         * @param z array where preconditioned vector will be stored.
+         */
+        private void precondition(final double[] r, final double[] z) {
+            parallelFor(freeCameras.length,
+                    a -> choleskySolve(preconditioner, blockLength * a, blockSize, r, z, blockSize * a));
+        }
+
+        /**
+         * Multiplies the reduced camera system by a vector.
+         *
+         * @param x vector to be multiplied.
+         * @param result array where product will be stored.
+         */
+        private void multiply(final double[] x, final double[] result) {
+            parallelFor(freeCameras.length, a -> {
+                final var offset = blockSize * a;
+                Arrays.fill(result, offset, offset + blockSize, 0.0);
+                for (var k = schurRowStart[a]; k < schurRowStart[a + 1]; k++) {
+                    final var sOffset = blockLength * k;
+                    final var xOffset = blockSize * schurColumns[k];
+                    for (var p = 0; p < blockSize; p++) {
+                        var s = 0.0;
+                        for (var q = 0; q < blockSize; q++) {
+                            s += schurBlocks[sOffset + p * blockSize + q] * x[xOffset + q];
+                        }
+                        result[offset + p] += s;
+                    }
+                }
+            });
+        }
+
+        /**
+         * Computes step of a refined point once step of cameras is known as
+         * V^-1 * (ep - sum(W^T * step of camera)).
+         *
+         * @param b refined point.
+         */
+        private void backSubstitute(final int b) {
+            final var j = freePoints[b];
+            final var gOffset = POINT_PARAMS * b;
+            final var t = Arrays.copyOfRange(pointGradients, gOffset, gOffset + POINT_PARAMS);
+            final var w = new double[blockSize * POINT_PARAMS];
+            for (var k = pointObservationsStart[j]; k < pointObservationsStart[j + 1]; k++) {
+                final var o = pointObservations[k];
+                final var a = cameraBlocks[cameraIndices[o]];
+                if (a < 0) {
+                    continue;
+                }
+                computeW(o, w);
+                final var cOffset = blockSize * a;
+                for (var q = 0; q < POINT_PARAMS; q++) {
+                    var s = 0.0;
+                    for (var p = 0; p < blockSize; p++) {
+                        s += w[p * POINT_PARAMS + q] * cameraSteps[cOffset + p];
+                    }
+                    t[q] -= s;
+                }
+            }
+
+            final var vOffset = POINT_BLOCK_LENGTH * b;
+            for (var p = 0; p < POINT_PARAMS; p++) {
+                var s = 0.0;
+                for (var q = 0; q < POINT_PARAMS; q++) {
+                    s += inversePointHessians[vOffset + p * POINT_PARAMS + q] * t[q];
+                }
+                pointSteps[gOffset + p] = s;
+            }
+        }
+
+        /**
+         * Applies computed step to current parameters and stores the result
+         * as candidate parameters.
+         */
+        private void update() {
+            candidate.copyFrom(current);
+
+            final var increment = new Quaternion();
+            final var rotation = new Quaternion();
+            final var updated = new Quaternion();
+            for (var a = 0; a < freeCameras.length; a++) {
+                final var i = freeCameras[a];
+                final var s = blockSize * a;
+
+                // rotation is updated on the left by the exponential map of
+                // rotation vector increment
+                final var q = QUATERNION_LENGTH * i;
+                ResidualDerivatives.rotationVectorToQuaternion(cameraSteps[s], cameraSteps[s + 1],
+                        cameraSteps[s + 2], increment);
+                rotation.setA(current.quaternions[q]);
+                rotation.setB(current.quaternions[q + 1]);
+                rotation.setC(current.quaternions[q + 2]);
+                rotation.setD(current.quaternions[q + 3]);
+                Quaternion.product(increment, rotation, updated);
+                updated.normalize();
+                candidate.quaternions[q] = updated.getA();
+                candidate.quaternions[q + 1] = updated.getB();
+                candidate.quaternions[q + 2] = updated.getC();
+                candidate.quaternions[q + 3] = updated.getD();
+                quaternionToRotation(candidate.quaternions, q, candidate.rotations, ROTATION_LENGTH * i);
+
+                final var c = POINT_PARAMS * i;
+                for (var k = 0; k < POINT_PARAMS; k++) {
+                    candidate.centers[c + k] += cameraSteps[s + 3 + k];
+                }
+
+                if (intrinsicsRefined) {
+                    final var k0 = INTRINSIC_PARAMS * i;
+                    for (var k = 0; k < INTRINSIC_PARAMS; k++) {
+                        candidate.intrinsics[k0 + k] += cameraSteps[s + POSE_PARAMS + k];
+                    }
+                }
+            }
+
+            for (var b = 0; b < freePoints.length; b++) {
+                final var p = POINT_PARAMS * freePoints[b];
+                final var s = POINT_PARAMS * b;
+                for (var k = 0; k < POINT_PARAMS; k++) {
+                    candidate.coordinates[p + k] += pointSteps[s + k];
+                }
+            }
+        }
+    }
+
+    /**
+     * Task executing a body for each position within a range, which is split
+     * in halves until it contains no more than a given number of positions.
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        /**
+         * Body to be executed for each position.
+         */
+        private final transient IntConsumer body;
+
+        /**
+         * First position (inclusive).
+         */
+        private final int from;
+
+        /**
+         * Last position (exclusive).
+         */
+        private final int to;
+
+        /**
+         * Maximum number of positions processed without splitting the task.
+         */
+        private final int threshold;
+
+        /**
+         * Constructor.
+         *
+         * @param body      body to be executed for each position.
+         * @param from      first position (inclusive).
+         * @param to        last position (exclusive).
+         * @param threshold maximum number of positions processed without
+         *                  splitting the task.
+         */
+        RangeTask(final IntConsumer body, final int from, final int to, final int threshold) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        /**
+         * Executes body for each position within range.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (var k = from; k < to; k++) {
+                    body.accept(k);
+                }
+            } else {
+                final var middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(body, from, middle, threshold), new RangeTask(body, middle, to, threshold));
+            }
+        }
+    }
+}
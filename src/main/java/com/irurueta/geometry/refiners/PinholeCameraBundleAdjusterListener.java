@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+/**
+ * Listener for a bundle adjuster of pinhole cameras and 3D points.
+ */
+public interface PinholeCameraBundleAdjusterListener {
+
+    /**
+     * Called when bundle adjustment starts.
+     *
+     * @param adjuster bundle adjuster that raised the event.
+     */
+    void onAdjustStart(final PinholeCameraBundleAdjuster adjuster);
+
+    /**
+     * Called each time an iteration of bundle adjustment decreases
+     * reprojection error.
+     *
+     * @param adjuster  bundle adjuster that raised the event.
+     * @param iteration number of completed iterations.
+     * @param rmsError  root mean square reprojection error after iteration.
+     */
+    void onAdjustIteration(final PinholeCameraBundleAdjuster adjuster, final int iteration, final double rmsError);
+
+    /**
+     * Called when bundle adjustment finishes successfully.
+     *
+     * @param adjuster       bundle adjuster that raised the event.
+     * @param errorDecreased true if reprojection error decreased after
+     *                       adjustment, false otherwise.
+     */
+    void onAdjustEnd(final PinholeCameraBundleAdjuster adjuster, final boolean errorDecreased);
+}
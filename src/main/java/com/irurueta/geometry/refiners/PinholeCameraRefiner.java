@@ -858,6 +858,75 @@ public abstract class PinholeCameraRefiner<S1, S2> extends PairMatchesAndInliers
         return weight * residual;
     }
 
+    /**
+     * Adds derivatives of residual term for any required suggestions respect
+     * to provided parameters into provided array of derivatives.
+     *
+     * @param params      parameters being optimized. In the following order:
+     *                    skewness, horizontal focal length, vertical focal length,
+     *                    horizontal principal point, vertical principal point, quaternion A,
+     *                    quaternion B, quaternion C, quaternion D, center x, center y, center z.
+     * @param weight      weight to apply to suggestion residual.
+     * @param derivatives array where derivatives will be added.
+     * @see #suggestionResidual(double[], double)
+     */
+    protected void addSuggestionResidualDerivatives(final double[] params, final double weight,
+                                                    final double[] derivatives) {
+        final var weight2 = 2.0 * weight;
+
+        if (suggestSkewnessValueEnabled) {
+            derivatives[0] += weight2 * (params[0] - suggestedSkewnessValue);
+        }
+
+        if (suggestHorizontalFocalLengthEnabled) {
+            derivatives[1] += weight2 * (params[1] - suggestedHorizontalFocalLengthValue);
+        }
+
+        if (suggestVerticalFocalLengthEnabled) {
+            derivatives[2] += weight2 * (params[2] - suggestedVerticalFocalLengthValue);
+        }
+
+        if (suggestAspectRatioEnabled) {
+            final var aspectRatio = params[2] / params[1];
+            final var factor = weight2 * (aspectRatio - suggestedAspectRatioValue) / params[1];
+            derivatives[1] -= factor * aspectRatio;
+            derivatives[2] += factor;
+        }
+
+        if (suggestPrincipalPointEnabled) {
+            derivatives[3] += weight2 * (params[3] - suggestedPrincipalPointValue.getInhomX());
+            derivatives[4] += weight2 * (params[4] - suggestedPrincipalPointValue.getInhomY());
+        }
+
+        if (suggestRotationEnabled) {
+            // residual depends on normalized quaternion, hence derivatives
+            // respect to normalized quaternion are projected onto the plane
+            // orthogonal to it and scaled by the inverse of its norm
+            final var norm = Math.sqrt(params[5] * params[5] + params[6] * params[6]
+                    + params[7] * params[7] + params[8] * params[8]);
+            suggestedRotationValue.normalize();
+            final var a = params[5] / norm;
+            final var b = params[6] / norm;
+            final var c = params[7] / norm;
+            final var d = params[8] / norm;
+            final var ga = weight2 * (a - suggestedRotationValue.getA());
+            final var gb = weight2 * (b - suggestedRotationValue.getB());
+            final var gc = weight2 * (c - suggestedRotationValue.getC());
+            final var gd = weight2 * (d - suggestedRotationValue.getD());
+            final var dot = a * ga + b * gb + c * gc + d * gd;
+            derivatives[5] += (ga - a * dot) / norm;
+            derivatives[6] += (gb - b * dot) / norm;
+            derivatives[7] += (gc - c * dot) / norm;
+            derivatives[8] += (gd - d * dot) / norm;
+        }
+
+        if (suggestCenterEnabled) {
+            derivatives[9] += weight2 * (params[9] - suggestedCenterValue.getInhomX());
+            derivatives[10] += weight2 * (params[10] - suggestedCenterValue.getInhomY());
+            derivatives[11] += weight2 * (params[11] - suggestedCenterValue.getInhomZ());
+        }
+    }
+
     /**
      * Sets array of parameters into a pinhole camera.
      * This method is used internally during refinement.
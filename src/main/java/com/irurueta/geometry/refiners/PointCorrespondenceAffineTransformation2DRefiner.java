@@ -23,7 +23,6 @@ import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.InliersData;
 
@@ -170,6 +169,8 @@ public class PointCorrespondenceAffineTransformation2DRefiner extends AffineTran
 
                 private final AffineTransformation2D transformation = new AffineTransformation2D();
 
+                private final double[] gradient = new double[Point2D.POINT2D_HOMOGENEOUS_COORDINATES_LENGTH];
+
                 private final GradientEstimator gradientEstimator = new GradientEstimator(params -> {
                     // copy values for A matrix
                     System.arraycopy(params, 0, transformation.getA().getBuffer(), 0,
@@ -195,6 +196,10 @@ public class PointCorrespondenceAffineTransformation2DRefiner extends AffineTran
                 @Override
                 public double evaluate(final int i, final double[] point, final double[] params,
                                        final double[] derivatives) throws EvaluationException {
+                    if (!useNumericalDerivatives) {
+                        return residualAndDerivatives(params, point, gradient, derivatives);
+                    }
+
                     inputPoint.setHomogeneousCoordinates(point[0], point[1], point[2]);
                     outputPoint.setHomogeneousCoordinates(point[3], point[4], point[5]);
 
@@ -213,13 +218,8 @@ public class PointCorrespondenceAffineTransformation2DRefiner extends AffineTran
                 }
             };
 
-            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y,
-                    getRefinementStandardDeviation());
-
-            fitter.fit();
-
             // obtain estimated params
-            final var params = fitter.getA();
+            final var params = fit(evaluator, x, y, getRefinementStandardDeviation());
 
             // update transformation
 
@@ -230,11 +230,6 @@ public class PointCorrespondenceAffineTransformation2DRefiner extends AffineTran
             System.arraycopy(params, AffineTransformation2D.INHOM_COORDS * AffineTransformation2D.INHOM_COORDS,
                     result.getTranslation(), 0, AffineTransformation2D.NUM_TRANSLATION_COORDS);
 
-            if (keepCovariance) {
-                // keep covariance
-                covariance = fitter.getCovar();
-            }
-
             final var finalTotalResidual = totalResidual(result);
             final var errorDecreased = finalTotalResidual < initialTotalResidual;
 
@@ -269,6 +264,39 @@ public class PointCorrespondenceAffineTransformation2DRefiner extends AffineTran
         return residualTestPoint.distanceTo(outputPoint);
     }
 
+    /**
+     * Computes the residual between the transformation defined by provided
+     * parameters and a pair of matched points, along with its derivatives
+     * respect to such parameters in closed form.
+     *
+     * @param params      parameters of linear mapping in column order followed
+     *                    by translation parameters.
+     * @param point       homogeneous coordinates of input point followed by
+     *                    homogeneous coordinates of output point.
+     * @param gradient    array of length 3 to be reused to store derivatives
+     *                    respect to transformed point.
+     * @param derivatives array where derivatives respect to parameters will be
+     *                    stored.
+     * @return residual.
+     */
+    private static double residualAndDerivatives(final double[] params, final double[] point,
+                                                 final double[] gradient, final double[] derivatives) {
+        final var x = point[0] / point[2];
+        final var y = point[1] / point[2];
+        final var u = params[0] * x + params[2] * y + params[4];
+        final var v = params[1] * x + params[3] * y + params[5];
+        final var result = ResidualDerivatives.distance2D(u, v, 1.0, point[3] / point[5], point[4] / point[5],
+                gradient);
+
+        derivatives[0] = gradient[0] * x;
+        derivatives[1] = gradient[1] * x;
+        derivatives[2] = gradient[0] * y;
+        derivatives[3] = gradient[1] * y;
+        derivatives[4] = gradient[0];
+        derivatives[5] = gradient[1];
+        return result;
+    }
+
     /**
      * Computes total residual among all provided inlier samples.
      *
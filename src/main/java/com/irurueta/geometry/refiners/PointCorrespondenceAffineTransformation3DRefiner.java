@@ -23,7 +23,6 @@ import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.InliersData;
 
@@ -172,6 +171,8 @@ public class PointCorrespondenceAffineTransformation3DRefiner extends AffineTran
 
                 private final AffineTransformation3D transformation = new AffineTransformation3D();
 
+                private final double[] gradient = new double[Point3D.POINT3D_HOMOGENEOUS_COORDINATES_LENGTH];
+
                 private final GradientEstimator gradientEstimator = new GradientEstimator(params -> {
                     // copy values for A matrix
                     System.arraycopy(params, 0, transformation.getA().getBuffer(), 0,
@@ -198,6 +199,10 @@ public class PointCorrespondenceAffineTransformation3DRefiner extends AffineTran
                 @Override
                 public double evaluate(final int i, final double[] point, final double[] params,
                                        final double[] derivatives) throws EvaluationException {
+                    if (!useNumericalDerivatives) {
+                        return residualAndDerivatives(params, point, gradient, derivatives);
+                    }
+
                     inputPoint.setHomogeneousCoordinates(point[0], point[1], point[2], point[3]);
                     outputPoint.setHomogeneousCoordinates(point[4], point[5], point[6], point[7]);
 
@@ -216,13 +221,8 @@ public class PointCorrespondenceAffineTransformation3DRefiner extends AffineTran
                 }
             };
 
-            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y,
-                    getRefinementStandardDeviation());
-
-            fitter.fit();
-
             // obtain estimated params
-            final var params = fitter.getA();
+            final var params = fit(evaluator, x, y, getRefinementStandardDeviation());
 
             // update transformation
 
@@ -233,11 +233,6 @@ public class PointCorrespondenceAffineTransformation3DRefiner extends AffineTran
             System.arraycopy(params, AffineTransformation3D.INHOM_COORDS * AffineTransformation3D.INHOM_COORDS,
                     result.getTranslation(), 0, AffineTransformation3D.NUM_TRANSLATION_COORDS);
 
-            if (keepCovariance) {
-                // keep covariance
-                covariance = fitter.getCovar();
-            }
-
             final var finalTotalResidual = totalResidual(result);
             final var errorDecreased = finalTotalResidual < initialTotalResidual;
 
@@ -272,6 +267,41 @@ public class PointCorrespondenceAffineTransformation3DRefiner extends AffineTran
         return residualTestPoint.distanceTo(outputPoint);
     }
 
+    /**
+     * Computes the residual between the transformation defined by provided
+     * parameters and a pair of matched points, along with its derivatives
+     * respect to such parameters in closed form.
+     *
+     * @param params      parameters of linear mapping in column order followed
+     *                    by translation parameters.
+     * @param point       homogeneous coordinates of input point followed by
+     *                    homogeneous coordinates of output point.
+     * @param gradient    array of length 4 to be reused to store derivatives
+     *                    respect to transformed point.
+     * @param derivatives array where derivatives respect to parameters will be
+     *                    stored.
+     * @return residual.
+     */
+    private static double residualAndDerivatives(final double[] params, final double[] point,
+                                                 final double[] gradient, final double[] derivatives) {
+        final var x = point[0] / point[3];
+        final var y = point[1] / point[3];
+        final var z = point[2] / point[3];
+        final var u = params[0] * x + params[3] * y + params[6] * z + params[9];
+        final var v = params[1] * x + params[4] * y + params[7] * z + params[10];
+        final var w = params[2] * x + params[5] * y + params[8] * z + params[11];
+        final var result = ResidualDerivatives.distance3D(u, v, w, 1.0, point[4] / point[7],
+                point[5] / point[7], point[6] / point[7], gradient);
+
+        for (var i = 0; i < AffineTransformation3D.INHOM_COORDS; i++) {
+            derivatives[i] = gradient[i] * x;
+            derivatives[i + 3] = gradient[i] * y;
+            derivatives[i + 6] = gradient[i] * z;
+            derivatives[i + 9] = gradient[i];
+        }
+        return result;
+    }
+
     /**
      * Computes total residual among all provided inlier samples.
      *
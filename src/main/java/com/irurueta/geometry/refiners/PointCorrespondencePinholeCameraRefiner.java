@@ -19,6 +19,7 @@ import com.irurueta.geometry.CoordinatesType;
 import com.irurueta.geometry.PinholeCamera;
 import com.irurueta.geometry.Point2D;
 import com.irurueta.geometry.Point3D;
+import com.irurueta.geometry.Quaternion;
 import com.irurueta.numerical.robust.InliersData;
 
 import java.util.BitSet;
@@ -40,6 +41,24 @@ public abstract class PointCorrespondencePinholeCameraRefiner extends PinholeCam
      */
     private final Point2D residualTestPoint = Point2D.create(CoordinatesType.HOMOGENEOUS_COORDINATES);
 
+    /**
+     * Array to be reused when computing derivatives respect to projected
+     * point.
+     */
+    private final double[] residualGradient = new double[Point2D.POINT2D_HOMOGENEOUS_COORDINATES_LENGTH];
+
+    /**
+     * Array to be reused when computing rotated points and derivatives
+     * respect to them.
+     */
+    private final double[] residualRotated = new double[Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH];
+
+    /**
+     * Array to be reused when computing jacobians of rotated points respect to
+     * quaternion parameters.
+     */
+    private final double[] residualJacobian = new double[ResidualDerivatives.QUATERNION_JACOBIAN_LENGTH];
+
     /**
      * Constructor.
      */
@@ -163,6 +182,117 @@ public abstract class PointCorrespondencePinholeCameraRefiner extends PinholeCam
         return residual;
     }
 
+    /**
+     * Computes total residual to be used during Levenberg/Marquardt covariance
+     * estimation along with its derivatives respect to camera parameters in
+     * closed form.
+     *
+     * @param point       homogeneous coordinates of 2D point followed by
+     *                    homogeneous coordinates of 3D point.
+     * @param params      camera parameters. In the following order:
+     *                    skewness, horizontal focal length, vertical focal length,
+     *                    horizontal principal point, vertical principal point, quaternion A,
+     *                    quaternion B, quaternion C, quaternion D, center x, center y, center z.
+     * @param weight      weight for suggestion residual.
+     * @param derivatives array where derivatives respect to camera parameters
+     *                    will be stored.
+     * @return total residual.
+     * @see #residualLevenbergMarquardt(PinholeCamera, Point3D, Point2D, double[], double)
+     */
+    protected double residualLevenbergMarquardtAndDerivatives(
+            final double[] point, final double[] params, final double weight, final double[] derivatives) {
+        var residual = singleProjectionResidualAndDerivatives(point, params, derivatives);
+        if (hasSuggestions()) {
+            residual += suggestionResidual(params, weight);
+            addSuggestionResidualDerivatives(params, weight, derivatives);
+        }
+        return residual;
+    }
+
+    /**
+     * Projection residual/error for a single point using camera defined by
+     * provided parameters along with its derivatives respect to such
+     * parameters.
+     * Camera matrix is P = K * R * [I | -C], where R is the rotation of the
+     * normalized quaternion, hence the projection of a 3D point X = (Xh, w)
+     * is K * R * (Xh - w * C).
+     *
+     * @param point       homogeneous coordinates of 2D point followed by
+     *                    homogeneous coordinates of 3D point.
+     * @param params      camera parameters.
+     * @param derivatives array where derivatives will be stored.
+     * @return distance between projected point and 2D point.
+     */
+    private double singleProjectionResidualAndDerivatives(
+            final double[] point, final double[] params, final double[] derivatives) {
+        final var skewness = params[0];
+        final var horizontalFocalLength = params[1];
+        final var verticalFocalLength = params[2];
+        final var horizontalPrincipalPoint = params[3];
+        final var verticalPrincipalPoint = params[4];
+
+        final var norm = Math.sqrt(params[5] * params[5] + params[6] * params[6]
+                + params[7] * params[7] + params[8] * params[8]);
+        final var a = params[5] / norm;
+        final var b = params[6] / norm;
+        final var c = params[7] / norm;
+        final var d = params[8] / norm;
+
+        final var w = point[6];
+        final var x = point[3] - w * params[9];
+        final var y = point[4] - w * params[10];
+        final var z = point[5] - w * params[11];
+
+        ResidualDerivatives.rotate(a, b, c, d, x, y, z, residualRotated);
+        final var rx = residualRotated[0];
+        final var ry = residualRotated[1];
+        final var rz = residualRotated[2];
+
+        final var result = ResidualDerivatives.distance2D(
+                horizontalFocalLength * rx + skewness * ry + horizontalPrincipalPoint * rz,
+                verticalFocalLength * ry + verticalPrincipalPoint * rz, rz,
+                point[0] / point[2], point[1] / point[2], residualGradient);
+        final var gx = residualGradient[0];
+        final var gy = residualGradient[1];
+        final var gw = residualGradient[2];
+
+        // intrinsic parameters
+        derivatives[0] = gx * ry;
+        derivatives[1] = gx * rx;
+        derivatives[2] = gy * ry;
+        derivatives[3] = gx * rz;
+        derivatives[4] = gy * rz;
+
+        // derivatives respect to rotated point (K^T * gradient)
+        final var grx = horizontalFocalLength * gx;
+        final var gry = skewness * gx + verticalFocalLength * gy;
+        final var grz = horizontalPrincipalPoint * gx + verticalPrincipalPoint * gy + gw;
+
+        // rotation, projecting derivatives respect to normalized quaternion
+        // onto the plane orthogonal to it
+        ResidualDerivatives.quaternionRotationJacobian(a, b, c, d, x, y, z, residualJacobian);
+        var dot = 0.0;
+        for (var j = 0; j < Quaternion.N_PARAMS; j++) {
+            final var value = grx * residualJacobian[j] + gry * residualJacobian[4 + j]
+                    + grz * residualJacobian[8 + j];
+            derivatives[5 + j] = value;
+            dot += params[5 + j] * value;
+        }
+        dot /= norm;
+        for (var j = 0; j < Quaternion.N_PARAMS; j++) {
+            derivatives[5 + j] = (derivatives[5 + j] - params[5 + j] / norm * dot) / norm;
+        }
+
+        // center (-w * R^T * derivatives respect to rotated point), where R^T
+        // is the rotation of the conjugated quaternion
+        ResidualDerivatives.rotate(a, -b, -c, -d, grx, gry, grz, residualRotated);
+        derivatives[9] = -w * residualRotated[0];
+        derivatives[10] = -w * residualRotated[1];
+        derivatives[11] = -w * residualRotated[2];
+
+        return result;
+    }
+
     /**
      * Projection residual/error for a single point using provided camera.
      *
@@ -23,7 +23,6 @@ import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.InliersData;
 
@@ -169,6 +168,8 @@ public class PointCorrespondenceProjectiveTransformation2DRefiner extends
 
                 private final ProjectiveTransformation2D transformation = new ProjectiveTransformation2D();
 
+                private final double[] gradient = new double[Point2D.POINT2D_HOMOGENEOUS_COORDINATES_LENGTH];
+
                 private final GradientEstimator mGradientEstimator = new GradientEstimator(params -> {
                     // copy values
                     System.arraycopy(params, 0, transformation.getT().getBuffer(), 0, params.length);
@@ -188,6 +189,10 @@ public class PointCorrespondenceProjectiveTransformation2DRefiner extends
                 @Override
                 public double evaluate(final int i, final double[] point, final double[] params,
                                        final double[] derivatives) throws EvaluationException {
+                    if (!useNumericalDerivatives) {
+                        return residualAndDerivatives(params, point, gradient, derivatives);
+                    }
+
                     inputPoint.setHomogeneousCoordinates(point[0], point[1], point[2]);
                     outputPoint.setHomogeneousCoordinates(point[3], point[4], point[5]);
 
@@ -201,24 +206,14 @@ public class PointCorrespondenceProjectiveTransformation2DRefiner extends
                 }
             };
 
-            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y,
-                    getRefinementStandardDeviation());
-
-            fitter.fit();
-
             // obtain estimated params
-            final var params = fitter.getA();
+            final var params = fit(evaluator, x, y, getRefinementStandardDeviation());
 
             // update transformation
 
             // copy values
             System.arraycopy(params, 0, result.getT().getBuffer(), 0, params.length);
 
-            if (keepCovariance) {
-                // keep covariance
-                covariance = fitter.getCovar();
-            }
-
             final var finalTotalResidual = totalResidual(result);
             final var errorDecreased = finalTotalResidual < initialTotalResidual;
 
@@ -253,6 +248,40 @@ public class PointCorrespondenceProjectiveTransformation2DRefiner extends
         return residualTestPoint.distanceTo(outputPoint);
     }
 
+    /**
+     * Computes the residual between the transformation defined by provided
+     * parameters and a pair of matched points, along with its derivatives
+     * respect to such parameters in closed form.
+     *
+     * @param params      transformation matrix parameters in column order.
+     * @param point       homogeneous coordinates of input point followed by
+     *                    homogeneous coordinates of output point.
+     * @param gradient    array of length 3 to be reused to store derivatives
+     *                    respect to transformed point.
+     * @param derivatives array where derivatives respect to parameters will be
+     *                    stored.
+     * @return residual.
+     */
+    private static double residualAndDerivatives(final double[] params, final double[] point,
+                                                 final double[] gradient, final double[] derivatives) {
+        final var u = params[0] * point[0] + params[3] * point[1] + params[6] * point[2];
+        final var v = params[1] * point[0] + params[4] * point[1] + params[7] * point[2];
+        final var w = params[2] * point[0] + params[5] * point[1] + params[8] * point[2];
+        final var result = ResidualDerivatives.distance2D(u, v, w, point[3] / point[5], point[4] / point[5],
+                gradient);
+
+        // transformed point is linear respect to each matrix element, being
+        // the derivative of row i respect to element (i, j) the j-th coordinate
+        // of input point
+        var pos = 0;
+        for (var j = 0; j < ProjectiveTransformation2D.HOM_COORDS; j++) {
+            for (var i = 0; i < ProjectiveTransformation2D.HOM_COORDS; i++) {
+                derivatives[pos++] = gradient[i] * point[j];
+            }
+        }
+        return result;
+    }
+
     /**
      * Computes total residual among all provided inlier samples.
      *
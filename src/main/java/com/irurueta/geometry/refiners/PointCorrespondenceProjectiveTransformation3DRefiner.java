@@ -24,7 +24,6 @@ import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.numerical.EvaluationException;
 import com.irurueta.numerical.GradientEstimator;
 import com.irurueta.numerical.MultiDimensionFunctionEvaluatorListener;
-import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
 import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.InliersData;
 
@@ -172,6 +171,11 @@ public class PointCorrespondenceProjectiveTransformation3DRefiner extends
 
                 private final ProjectiveTransformation3D transformation = new ProjectiveTransformation3D();
 
+                private final double[] gradient = new double[Point3D.POINT3D_HOMOGENEOUS_COORDINATES_LENGTH];
+
+                private final double[] transformedPoint =
+                        new double[Point3D.POINT3D_HOMOGENEOUS_COORDINATES_LENGTH];
+
                 private final GradientEstimator gradientEstimator = new GradientEstimator(params -> {
                     // copy values
                     System.arraycopy(params, 0, transformation.getT().getBuffer(), 0, params.length);
@@ -191,6 +195,10 @@ public class PointCorrespondenceProjectiveTransformation3DRefiner extends
                 @Override
                 public double evaluate(final int i, final double[] point, final double[] params,
                                        final double[] derivatives) throws EvaluationException {
+                    if (!useNumericalDerivatives) {
+                        return residualAndDerivatives(params, point, transformedPoint, gradient, derivatives);
+                    }
+
                     inputPoint.setHomogeneousCoordinates(point[0], point[1], point[2], point[3]);
                     outputPoint.setHomogeneousCoordinates(point[4], point[5], point[6], point[7]);
 
@@ -205,24 +213,14 @@ public class PointCorrespondenceProjectiveTransformation3DRefiner extends
                 }
             };
 
-            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y,
-                    getRefinementStandardDeviation());
-
-            fitter.fit();
-
             // obtain estimated params
-            final var params = fitter.getA();
+            final var params = fit(evaluator, x, y, getRefinementStandardDeviation());
 
             // update transformation
 
             // copy values
             System.arraycopy(params, 0, result.getT().getBuffer(), 0, params.length);
 
-            if (keepCovariance) {
-                // keep covariance
-                covariance = fitter.getCovar();
-            }
-
             final var finalTotalResidual = totalResidual(result);
             final var errorDecreased = finalTotalResidual < initialTotalResidual;
 
@@ -257,6 +255,50 @@ public class PointCorrespondenceProjectiveTransformation3DRefiner extends
         return residualTestPoint.distanceTo(outputPoint);
     }
 
+    /**
+     * Computes the residual between the transformation defined by provided
+     * parameters and a pair of matched points, along with its derivatives
+     * respect to such parameters in closed form.
+     *
+     * @param params           transformation matrix parameters in column order.
+     * @param point            homogeneous coordinates of input point followed by
+     *                         homogeneous coordinates of output point.
+     * @param transformedPoint array of length 4 to be reused to store
+     *                         transformed point.
+     * @param gradient         array of length 4 to be reused to store
+     *                         derivatives respect to transformed point.
+     * @param derivatives      array where derivatives respect to parameters
+     *                         will be stored.
+     * @return residual.
+     */
+    private static double residualAndDerivatives(final double[] params, final double[] point,
+                                                 final double[] transformedPoint, final double[] gradient,
+                                                 final double[] derivatives) {
+        final var n = ProjectiveTransformation3D.HOM_COORDS;
+        for (var i = 0; i < n; i++) {
+            var value = 0.0;
+            for (var j = 0; j < n; j++) {
+                value += params[i + j * n] * point[j];
+            }
+            transformedPoint[i] = value;
+        }
+
+        final var result = ResidualDerivatives.distance3D(transformedPoint[0], transformedPoint[1],
+                transformedPoint[2], transformedPoint[3], point[4] / point[7], point[5] / point[7],
+                point[6] / point[7], gradient);
+
+        // transformed point is linear respect to each matrix element, being
+        // the derivative of row i respect to element (i, j) the j-th coordinate
+        // of input point
+        var pos = 0;
+        for (var j = 0; j < n; j++) {
+            for (var i = 0; i < n; i++) {
+                derivatives[pos++] = gradient[i] * point[j];
+            }
+        }
+        return result;
+    }
+
     /**
      * Computes total residual among all provided inlier samples.
      *
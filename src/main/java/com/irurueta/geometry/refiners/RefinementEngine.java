@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+/**
+ * Contains engines to solve the non-linear least squares problems of
+ * refiners.
+ */
+public enum RefinementEngine {
+    /**
+     * Generic Levenberg-Marquardt fitter.
+     */
+    LEVENBERG_MARQUARDT,
+
+    /**
+     * Levenberg-Marquardt solver that streams over samples accumulating normal
+     * equations into fixed size buffers, so that memory only depends on the
+     * number of parameters and cost is linear on the number of samples.
+     */
+    STREAMING_LEVENBERG_MARQUARDT
+}
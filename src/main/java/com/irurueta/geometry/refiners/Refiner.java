@@ -16,8 +16,16 @@
 package com.irurueta.geometry.refiners;
 
 import com.irurueta.algebra.Matrix;
+import com.irurueta.algebra.WrongSizeException;
 import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
+import com.irurueta.numerical.EvaluationException;
+import com.irurueta.numerical.NumericalException;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFitter;
+import com.irurueta.numerical.fitting.FittingException;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiVariateFitter;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiVariateFunctionEvaluator;
 
 /**
  * Refines an instance of type T by taking into account an initial estimation.
@@ -36,6 +44,47 @@ public abstract class Refiner<T> {
      */
     public static final boolean DEFAULT_KEEP_COVARIANCE = false;
 
+    /**
+     * Indicates whether by default derivatives of residuals are estimated
+     * numerically instead of being computed in closed form.
+     */
+    public static final boolean DEFAULT_USE_NUMERICAL_DERIVATIVES = false;
+
+    /**
+     * Default engine to solve non-linear least squares problems.
+     */
+    public static final RefinementEngine DEFAULT_REFINEMENT_ENGINE = RefinementEngine.LEVENBERG_MARQUARDT;
+
+    /**
+     * Default robust loss. By default, plain least squares is used.
+     */
+    public static final RobustLoss DEFAULT_ROBUST_LOSS = RobustLoss.NONE;
+
+    /**
+     * Default maximum number of iteratively reweighted least squares
+     * iterations when a robust loss is used.
+     */
+    public static final int DEFAULT_MAX_ROBUST_ITERATIONS = 10;
+
+    /**
+     * Minimum allowed number of iteratively reweighted least squares
+     * iterations.
+     */
+    public static final int MIN_ROBUST_ITERATIONS = 1;
+
+    /**
+     * Relative change of parameters below which iteratively reweighted least
+     * squares is considered to have converged.
+     */
+    private static final double ROBUST_ITERATIONS_TOLERANCE = 1e-9;
+
+    /**
+     * Minimum weight of samples during iteratively reweighted least squares.
+     * Samples having smaller weights are kept with this weight so that
+     * standard deviations of samples remain finite.
+     */
+    private static final double MIN_ROBUST_WEIGHT = 1e-12;
+
     /**
      * Initial estimation.
      */
@@ -46,11 +95,65 @@ public abstract class Refiner<T> {
      */
     protected boolean keepCovariance = DEFAULT_KEEP_COVARIANCE;
 
+    /**
+     * Indicates whether derivatives of residuals are estimated numerically
+     * using finite differences instead of being computed in closed form.
+     */
+    protected boolean useNumericalDerivatives = DEFAULT_USE_NUMERICAL_DERIVATIVES;
+
+    /**
+     * Engine to solve non-linear least squares problems.
+     */
+    protected RefinementEngine refinementEngine = DEFAULT_REFINEMENT_ENGINE;
+
+    /**
+     * Robust loss used to reweight samples during refinement.
+     */
+    protected RobustLoss robustLoss = DEFAULT_ROBUST_LOSS;
+
+    /**
+     * Tuning constant of robust loss, expressed in terms of the standard
+     * deviation of residuals.
+     */
+    protected double robustLossTuningConstant = RobustLossFunctions.getDefaultTuningConstant(DEFAULT_ROBUST_LOSS);
+
+    /**
+     * Maximum number of iteratively reweighted least squares iterations.
+     */
+    protected int maxRobustIterations = DEFAULT_MAX_ROBUST_ITERATIONS;
+
     /**
      * Estimated covariance after refinement.
      */
     protected Matrix covariance;
 
+    /**
+     * Gets engine to solve non-linear least squares problems.
+     *
+     * @return engine to solve non-linear least squares problems.
+     */
+    public RefinementEngine getRefinementEngine() {
+        return refinementEngine;
+    }
+
+    /**
+     * Sets engine to solve non-linear least squares problems.
+     * {@link RefinementEngine#STREAMING_LEVENBERG_MARQUARDT} streams over
+     * samples accumulating normal equations, so that its memory only depends on
+     * the number of refined parameters and its cost is linear on the number of
+     * samples.
+     *
+     * @param refinementEngine engine to solve non-linear least squares
+     *                         problems.
+     * @throws LockedException if estimator is locked.
+     */
+    public void setRefinementEngine(final RefinementEngine refinementEngine) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.refinementEngine = refinementEngine;
+    }
+
     /**
      * Indicates if this estimator is locked because a refinement is being
      * computed.
@@ -148,6 +251,125 @@ public abstract class Refiner<T> {
         this.keepCovariance = keepCovariance;
     }
 
+    /**
+     * Indicates whether derivatives of residuals are estimated numerically
+     * using finite differences instead of being computed in closed form.
+     * Numerical derivatives are slower and less accurate, but can be used to
+     * validate closed-form ones.
+     * Refiners not providing closed-form derivatives always estimate them
+     * numerically regardless of this value.
+     *
+     * @return true if derivatives are estimated numerically, false if they
+     * are computed in closed form.
+     */
+    public boolean isNumericalDerivativesUsed() {
+        return useNumericalDerivatives;
+    }
+
+    /**
+     * Specifies whether derivatives of residuals are estimated numerically
+     * using finite differences instead of being computed in closed form.
+     * Numerical derivatives are slower and less accurate, but can be used to
+     * validate closed-form ones.
+     * Refiners not providing closed-form derivatives always estimate them
+     * numerically regardless of this value.
+     *
+     * @param useNumericalDerivatives true to estimate derivatives numerically,
+     *                                false to compute them in closed form.
+     * @throws LockedException if estimator is locked.
+     */
+    public void setNumericalDerivativesUsed(final boolean useNumericalDerivatives) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        this.useNumericalDerivatives = useNumericalDerivatives;
+    }
+
+    /**
+     * Gets robust loss used to reweight samples during refinement.
+     *
+     * @return robust loss.
+     */
+    public RobustLoss getRobustLoss() {
+        return robustLoss;
+    }
+
+    /**
+     * Sets robust loss used to reweight samples during refinement and resets
+     * its tuning constant to the default value of provided loss.
+     * When a robust loss other than {@link RobustLoss#NONE} is used,
+     * refinement is done by iteratively reweighted least squares (IRLS), so
+     * that samples having large residuals respect to the refinement standard
+     * deviation have a reduced influence. This allows refining with loose
+     * inlier thresholds without an additional inlier re-classification pass.
+     *
+     * @param robustLoss robust loss.
+     * @throws LockedException if estimator is locked.
+     */
+    public void setRobustLoss(final RobustLoss robustLoss) throws LockedException {
+        setRobustLoss(robustLoss, RobustLossFunctions.getDefaultTuningConstant(robustLoss));
+    }
+
+    /**
+     * Sets robust loss used to reweight samples during refinement along with
+     * its tuning constant.
+     *
+     * @param robustLoss     robust loss.
+     * @param tuningConstant tuning constant of robust loss, expressed in terms
+     *                       of the standard deviation of residuals.
+     * @throws LockedException          if estimator is locked.
+     * @throws IllegalArgumentException if tuning constant is not positive.
+     */
+    public void setRobustLoss(final RobustLoss robustLoss, final double tuningConstant) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (tuningConstant <= 0.0) {
+            throw new IllegalArgumentException();
+        }
+        this.robustLoss = robustLoss;
+        robustLossTuningConstant = tuningConstant;
+    }
+
+    /**
+     * Gets tuning constant of robust loss, expressed in terms of the standard
+     * deviation of residuals.
+     * Samples having residuals larger than the tuning constant times the
+     * refinement standard deviation are down-weighted.
+     *
+     * @return tuning constant of robust loss.
+     */
+    public double getRobustLossTuningConstant() {
+        return robustLossTuningConstant;
+    }
+
+    /**
+     * Gets maximum number of iteratively reweighted least squares iterations
+     * when a robust loss is used.
+     *
+     * @return maximum number of iterations.
+     */
+    public int getMaxRobustIterations() {
+        return maxRobustIterations;
+    }
+
+    /**
+     * Sets maximum number of iteratively reweighted least squares iterations
+     * when a robust loss is used.
+     *
+     * @param maxRobustIterations maximum number of iterations.
+     * @throws LockedException          if estimator is locked.
+     * @throws IllegalArgumentException if provided value is less than 1.
+     */
+    public void setMaxRobustIterations(final int maxRobustIterations) throws LockedException {
+        if (isLocked()) {
+            throw new LockedException();
+        }
+        if (maxRobustIterations < MIN_ROBUST_ITERATIONS) {
+            throw new IllegalArgumentException();
+        }
+        this.maxRobustIterations = maxRobustIterations;
+    }
 
     /**
      * Indicates if this estimator is locked because a refinement is being
@@ -168,6 +390,250 @@ public abstract class Refiner<T> {
         return covariance;
     }
 
+    /**
+     * Fits parameters of provided function evaluator to provided samples using
+     * configured refinement engine.
+     * If a robust loss is used, samples are iteratively reweighted according
+     * to their residuals respect to fitted function values.
+     * If covariance must be kept, estimated covariance is stored as well.
+     *
+     * @param evaluator         evaluator of function to be fitted.
+     * @param x                 input points of samples. Each row contains one sample.
+     * @param y                 function values of samples.
+     * @param standardDeviation standard deviation of function values.
+     * @return fitted parameters.
+     * @throws NumericalException if fitting fails.
+     */
+    protected double[] fit(final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator, final Matrix x,
+                           final double[] y, final double standardDeviation) throws NumericalException {
+        if (robustLoss == RobustLoss.NONE) {
+            return fit(evaluator, x, y, StreamingLevenbergMarquardtFitter.filledArray(y.length, standardDeviation));
+        }
+
+        final var sig = new double[y.length];
+        final var point = new double[x.getColumns()];
+        final var scale = robustLossTuningConstant * standardDeviation;
+        final var params = evaluator.createInitialParametersArray().clone();
+        final var derivatives = new double[params.length];
+
+        // evaluator starting each weighted fit at current parameters
+        final var reweightedEvaluator = new LevenbergMarquardtMultiDimensionFunctionEvaluator() {
+            @Override
+            public int getNumberOfDimensions() {
+                return evaluator.getNumberOfDimensions();
+            }
+
+            @Override
+            public double[] createInitialParametersArray() {
+                return params.clone();
+            }
+
+            @Override
+            public double evaluate(final int i, final double[] point, final double[] params,
+                                   final double[] derivatives) throws EvaluationException {
+                return evaluator.evaluate(i, point, params, derivatives);
+            }
+        };
+
+        for (var iter = 0; iter < maxRobustIterations; iter++) {
+            // update weights using residuals at current parameters
+            for (var i = 0; i < y.length; i++) {
+                for (var j = 0; j < point.length; j++) {
+                    point[j] = x.getElementAt(i, j);
+                }
+                final var residual = y[i] - evaluator.evaluate(i, point, params, derivatives);
+                sig[i] = robustStandardDeviation(residual, scale, standardDeviation);
+            }
+
+            if (updateRobustParams(fit(reweightedEvaluator, x, y, sig), params)) {
+                break;
+            }
+        }
+
+        return params;
+    }
+
+    /**
+     * Fits parameters of provided function evaluator returning several values
+     * for each sample (e.g. the coordinates of the difference between matched
+     * points) using configured refinement engine.
+     * If a robust loss is used, samples are iteratively reweighted according
+     * to the norm of their residuals respect to fitted function values, so
+     * that all values of a sample share the same weight.
+     * If covariance must be kept, estimated covariance is stored as well.
+     *
+     * @param evaluator         evaluator of function to be fitted.
+     * @param x                 input points of samples. Each row contains one sample.
+     * @param y                 function values of samples. Each row contains the values of one sample.
+     * @param standardDeviation standard deviation of function values.
+     * @return fitted parameters.
+     * @throws NumericalException if fitting fails.
+     */
+    protected double[] fit(final LevenbergMarquardtMultiVariateFunctionEvaluator evaluator, final Matrix x,
+                           final Matrix y, final double standardDeviation) throws NumericalException {
+        if (robustLoss == RobustLoss.NONE) {
+            return fit(evaluator, x, y, StreamingLevenbergMarquardtFitter.filledArray(y.getRows(),
+                    standardDeviation));
+        }
+
+        final var nVars = y.getColumns();
+        final var sig = new double[y.getRows()];
+        final var point = new double[x.getColumns()];
+        final var values = new double[nVars];
+        final var scale = robustLossTuningConstant * standardDeviation;
+        final var params = evaluator.createInitialParametersArray().clone();
+        final Matrix jacobian;
+        try {
+            jacobian = new Matrix(nVars, params.length);
+        } catch (final WrongSizeException e) {
+            throw new FittingException(e);
+        }
+
+        // evaluator starting each weighted fit at current parameters
+        final var reweightedEvaluator = new LevenbergMarquardtMultiVariateFunctionEvaluator() {
+            @Override
+            public int getNumberOfDimensions() {
+                return evaluator.getNumberOfDimensions();
+            }
+
+            @Override
+            public int getNumberOfVariables() {
+                return evaluator.getNumberOfVariables();
+            }
+
+            @Override
+            public double[] createInitialParametersArray() {
+                return params.clone();
+            }
+
+            @Override
+            public void evaluate(final int i, final double[] point, final double[] result, final double[] params,
+                                 final Matrix jacobian) throws EvaluationException {
+                evaluator.evaluate(i, point, result, params, jacobian);
+            }
+        };
+
+        for (var iter = 0; iter < maxRobustIterations; iter++) {
+            // update weights using norm of residuals at current parameters
+            for (var i = 0; i < sig.length; i++) {
+                for (var j = 0; j < point.length; j++) {
+                    point[j] = x.getElementAt(i, j);
+                }
+                evaluator.evaluate(i, point, values, params, jacobian);
+                var sqrNorm = 0.0;
+                for (var k = 0; k < nVars; k++) {
+                    final var residual = y.getElementAt(i, k) - values[k];
+                    sqrNorm += residual * residual;
+                }
+                sig[i] = robustStandardDeviation(Math.sqrt(sqrNorm), scale, standardDeviation);
+            }
+
+            if (updateRobustParams(fit(reweightedEvaluator, x, y, sig), params)) {
+                break;
+            }
+        }
+
+        return params;
+    }
+
+    /**
+     * Computes standard deviation of a sample reweighted by the robust loss.
+     *
+     * @param residual          residual of sample.
+     * @param scale             scale of robust loss.
+     * @param standardDeviation standard deviation of function values.
+     * @return reweighted standard deviation.
+     */
+    private double robustStandardDeviation(final double residual, final double scale,
+                                           final double standardDeviation) {
+        final var weight = Math.max(RobustLossFunctions.weight(robustLoss, residual, scale), MIN_ROBUST_WEIGHT);
+        return standardDeviation / Math.sqrt(weight);
+    }
+
+    /**
+     * Copies parameters obtained by a weighted fit into current ones.
+     *
+     * @param result parameters obtained by weighted fit.
+     * @param params current parameters to be updated.
+     * @return true if parameters have converged, false otherwise.
+     */
+    private static boolean updateRobustParams(final double[] result, final double[] params) {
+        var change = 0.0;
+        var norm = 0.0;
+        for (var j = 0; j < params.length; j++) {
+            final var diff = result[j] - params[j];
+            change += diff * diff;
+            norm += params[j] * params[j];
+        }
+        System.arraycopy(result, 0, params, 0, params.length);
+
+        return Math.sqrt(change) <= ROBUST_ITERATIONS_TOLERANCE * (Math.sqrt(norm) + ROBUST_ITERATIONS_TOLERANCE);
+    }
+
+    /**
+     * Fits parameters of provided function evaluator to provided samples,
+     * where each sample has its own standard deviation, using configured
+     * refinement engine.
+     * If covariance must be kept, estimated covariance is stored as well.
+     *
+     * @param evaluator evaluator of function to be fitted.
+     * @param x         input points of samples. Each row contains one sample.
+     * @param y         function values of samples.
+     * @param sig       standard deviations of function values.
+     * @return fitted parameters.
+     * @throws NumericalException if fitting fails.
+     */
+    private double[] fit(final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator, final Matrix x,
+                         final double[] y, final double[] sig) throws NumericalException {
+        if (refinementEngine == RefinementEngine.STREAMING_LEVENBERG_MARQUARDT) {
+            final var fitter = new StreamingLevenbergMarquardtFitter(evaluator, x, y, sig);
+            fitter.fit();
+            if (keepCovariance) {
+                covariance = fitter.getCovar();
+            }
+            return fitter.getA();
+        } else {
+            final var fitter = new LevenbergMarquardtMultiDimensionFitter(evaluator, x, y, sig);
+            fitter.fit();
+            if (keepCovariance) {
+                covariance = fitter.getCovar();
+            }
+            return fitter.getA();
+        }
+    }
+
+    /**
+     * Fits parameters of provided function evaluator returning several values
+     * for each sample to provided samples, where each sample has its own
+     * standard deviation, using configured refinement engine.
+     * If covariance must be kept, estimated covariance is stored as well.
+     *
+     * @param evaluator evaluator of function to be fitted.
+     * @param x         input points of samples. Each row contains one sample.
+     * @param y         function values of samples. Each row contains the values of one sample.
+     * @param sig       standard deviations of function values of each sample.
+     * @return fitted parameters.
+     * @throws NumericalException if fitting fails.
+     */
+    private double[] fit(final LevenbergMarquardtMultiVariateFunctionEvaluator evaluator, final Matrix x,
+                         final Matrix y, final double[] sig) throws NumericalException {
+        if (refinementEngine == RefinementEngine.STREAMING_LEVENBERG_MARQUARDT) {
+            final var fitter = new StreamingLevenbergMarquardtFitter(evaluator, x, y, sig);
+            fitter.fit();
+            if (keepCovariance) {
+                covariance = fitter.getCovar();
+            }
+            return fitter.getA();
+        } else {
+            final var fitter = new LevenbergMarquardtMultiVariateFitter(evaluator, x, y, sig);
+            fitter.fit();
+            if (keepCovariance) {
+                covariance = fitter.getCovar();
+            }
+            return fitter.getA();
+        }
+    }
+
     /**
      * Indicates whether this refiner is ready to start refinement computation.
      *
@@ -0,0 +1,320 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+import com.irurueta.geometry.Quaternion;
+
+/**
+ * Closed-form derivatives shared by refiners whose residual is the Euclidean
+ * distance between a transformed (or projected) point and its matched point.
+ * Derivatives are obtained by applying the chain rule from the derivatives of
+ * the distance respect to the homogeneous coordinates of the transformed
+ * point.
+ * When distance is zero, distance is not differentiable and zero derivatives
+ * are returned instead.
+ */
+final class ResidualDerivatives {
+
+    /**
+     * Number of elements of a 3x4 jacobian of a rotated point respect to the
+     * parameters of a quaternion.
+     */
+    static final int QUATERNION_JACOBIAN_LENGTH = 12;
+
+    /**
+     * Number of elements of a 3x3 jacobian of a rotated point respect to a
+     * rotation vector.
+     */
+    static final int ROTATION_VECTOR_JACOBIAN_LENGTH = 9;
+
+    /**
+     * Squared rotation angle below which Taylor expansions are used to
+     * evaluate the exponential map of rotation vectors.
+     */
+    private static final double SMALL_ANGLE_SQUARED = 1e-8;
+
+    /**
+     * Constructor.
+     * Prevents instantiation of utility class.
+     */
+    private ResidualDerivatives() {
+    }
+
+    /**
+     * Computes distance between a 2D point expressed in homogeneous
+     * coordinates and another 2D point expressed in inhomogeneous coordinates,
+     * along with the derivatives of such distance respect to the homogeneous
+     * coordinates of the first point.
+     *
+     * @param x        homogeneous x coordinate of first point.
+     * @param y        homogeneous y coordinate of first point.
+     * @param w        homogeneous w coordinate of first point.
+     * @param ox       inhomogeneous x coordinate of second point.
+     * @param oy       inhomogeneous y coordinate of second point.
+     * @param gradient array of length 3 where derivatives respect to x, y and w
+     *                 will be stored.
+     * @return distance between both points.
+     */
+    static double distance2D(final double x, final double y, final double w, final double ox, final double oy,
+                             final double[] gradient) {
+        final var px = x / w;
+        final var py = y / w;
+        final var ex = px - ox;
+        final var ey = py - oy;
+        final var distance = Math.sqrt(ex * ex + ey * ey);
+        if (distance == 0.0) {
+            gradient[0] = gradient[1] = gradient[2] = 0.0;
+            return distance;
+        }
+
+        final var factor = 1.0 / (distance * w);
+        gradient[0] = ex * factor;
+        gradient[1] = ey * factor;
+        gradient[2] = -(ex * px + ey * py) * factor;
+        return distance;
+    }
+
+    /**
+     * Computes distance between a 3D point expressed in homogeneous
+     * coordinates and another 3D point expressed in inhomogeneous coordinates,
+     * along with the derivatives of such distance respect to the homogeneous
+     * coordinates of the first point.
+     *
+     * @param x        homogeneous x coordinate of first point.
+     * @param y        homogeneous y coordinate of first point.
+     * @param z        homogeneous z coordinate of first point.
+     * @param w        homogeneous w coordinate of first point.
+     * @param ox       inhomogeneous x coordinate of second point.
+     * @param oy       inhomogeneous y coordinate of second point.
+     * @param oz       inhomogeneous z coordinate of second point.
+     * @param gradient array of length 4 where derivatives respect to x, y, z
+     *                 and w will be stored.
+     * @return distance between both points.
+     */
+    @SuppressWarnings("DuplicatedCode")
+    static double distance3D(final double x, final double y, final double z, final double w,
+                             final double ox, final double oy, final double oz, final double[] gradient) {
+        final var px = x / w;
+        final var py = y / w;
+        final var pz = z / w;
+        final var ex = px - ox;
+        final var ey = py - oy;
+        final var ez = pz - oz;
+        final var distance = Math.sqrt(ex * ex + ey * ey + ez * ez);
+        if (distance == 0.0) {
+            gradient[0] = gradient[1] = gradient[2] = gradient[3] = 0.0;
+            return distance;
+        }
+
+        final var factor = 1.0 / (distance * w);
+        gradient[0] = ex * factor;
+        gradient[1] = ey * factor;
+        gradient[2] = ez * factor;
+        gradient[3] = -(ex * px + ey * py + ez * pz) * factor;
+        return distance;
+    }
+
+    /**
+     * Computes the jacobian of a 3D point rotated by quaternion (a, b, c, d)
+     * respect to the quaternion parameters, assuming that rotation is computed
+     * as q * v * q', so that no normalization of the quaternion takes place.
+     *
+     * @param a        a parameter of quaternion.
+     * @param b        b parameter of quaternion.
+     * @param c        c parameter of quaternion.
+     * @param d        d parameter of quaternion.
+     * @param x        inhomogeneous x coordinate of point being rotated.
+     * @param y        inhomogeneous y coordinate of point being rotated.
+     * @param z        inhomogeneous z coordinate of point being rotated.
+     * @param jacobian array of length 12 where 3x4 jacobian will be stored in
+     *                 row order.
+     * @see com.irurueta.geometry.Quaternion#rotate(com.irurueta.geometry.Point3D,
+     * com.irurueta.geometry.Point3D, com.irurueta.algebra.Matrix, com.irurueta.algebra.Matrix)
+     */
+    static void quaternionRotationJacobian(final double a, final double b, final double c, final double d,
+                                           final double x, final double y, final double z,
+                                           final double[] jacobian) {
+        final var axdycz = 2.0 * (a * x - d * y + c * z);
+        final var bxcydz = 2.0 * (b * x + c * y + d * z);
+        final var cxbyaz = 2.0 * (c * x - b * y - a * z);
+        final var dxaybz = 2.0 * (d * x + a * y - b * z);
+
+        jacobian[0] = axdycz;
+        jacobian[1] = bxcydz;
+        jacobian[2] = -cxbyaz;
+        jacobian[3] = -dxaybz;
+
+        jacobian[4] = dxaybz;
+        jacobian[5] = cxbyaz;
+        jacobian[6] = bxcydz;
+        jacobian[7] = axdycz;
+
+        jacobian[8] = -cxbyaz;
+        jacobian[9] = dxaybz;
+        jacobian[10] = -axdycz;
+        jacobian[11] = bxcydz;
+    }
+
+    /**
+     * Rotates a 3D point expressed in inhomogeneous coordinates using
+     * quaternion (a, b, c, d) as q * v * q', so that no normalization of the
+     * quaternion takes place.
+     *
+     * @param a      a parameter of quaternion.
+     * @param b      b parameter of quaternion.
+     * @param c      c parameter of quaternion.
+     * @param d      d parameter of quaternion.
+     * @param x      inhomogeneous x coordinate of point being rotated.
+     * @param y      inhomogeneous y coordinate of point being rotated.
+     * @param z      inhomogeneous z coordinate of point being rotated.
+     * @param result array of length 3 where rotated point will be stored.
+     */
+    static void rotate(final double a, final double b, final double c, final double d,
+                       final double x, final double y, final double z, final double[] result) {
+        final var aa = a * a;
+        final var ab = 2.0 * a * b;
+        final var ac = 2.0 * a * c;
+        final var ad = 2.0 * a * d;
+        final var bb = b * b;
+        final var bc = 2.0 * b * c;
+        final var bd = 2.0 * b * d;
+        final var cc = c * c;
+        final var cd = 2.0 * c * d;
+        final var dd = d * d;
+
+        result[0] = (aa + bb - cc - dd) * x + (bc - ad) * y + (bd + ac) * z;
+        result[1] = (bc + ad) * x + (aa - bb + cc - dd) * y + (cd - ab) * z;
+        result[2] = (bd - ac) * x + (cd + ab) * y + (aa - bb - cc + dd) * z;
+    }
+
+    /**
+     * Rotates a 3D point expressed in inhomogeneous coordinates using the
+     * rotation obtained from the exponential map of provided rotation vector
+     * (axis times angle), following Rodrigues' formula.
+     *
+     * @param wx     x coordinate of rotation vector.
+     * @param wy     y coordinate of rotation vector.
+     * @param wz     z coordinate of rotation vector.
+     * @param x      inhomogeneous x coordinate of point being rotated.
+     * @param y      inhomogeneous y coordinate of point being rotated.
+     * @param z      inhomogeneous z coordinate of point being rotated.
+     * @param result array of length 3 where rotated point will be stored.
+     */
+    static void rotateByRotationVector(final double wx, final double wy, final double wz,
+                                       final double x, final double y, final double z, final double[] result) {
+        final var theta2 = wx * wx + wy * wy + wz * wz;
+        final double a;
+        final double b;
+        if (theta2 < SMALL_ANGLE_SQUARED) {
+            a = 1.0 - theta2 / 6.0;
+            b = 0.5 - theta2 / 24.0;
+        } else {
+            final var theta = Math.sqrt(theta2);
+            a = Math.sin(theta) / theta;
+            b = (1.0 - Math.cos(theta)) / theta2;
+        }
+
+        // w x v
+        final var cx = wy * z - wz * y;
+        final var cy = wz * x - wx * z;
+        final var cz = wx * y - wy * x;
+
+        // R * v = v + a * (w x v) + b * w x (w x v)
+        result[0] = x + a * cx + b * (wy * cz - wz * cy);
+        result[1] = y + a * cy + b * (wz * cx - wx * cz);
+        result[2] = z + a * cz + b * (wx * cy - wy * cx);
+    }
+
+    /**
+     * Computes the jacobian of a rotated point respect to the rotation vector
+     * used to rotate it, which is -[R * v]x * Jl(w), where [.]x is the skew
+     * matrix of a cross product and Jl is the left jacobian of SO(3).
+     *
+     * @param wx       x coordinate of rotation vector.
+     * @param wy       y coordinate of rotation vector.
+     * @param wz       z coordinate of rotation vector.
+     * @param rx       inhomogeneous x coordinate of already rotated point.
+     * @param ry       inhomogeneous y coordinate of already rotated point.
+     * @param rz       inhomogeneous z coordinate of already rotated point.
+     * @param jacobian array of length 9 where 3x3 jacobian will be stored in
+     *                 row order.
+     */
+    static void rotationVectorJacobian(final double wx, final double wy, final double wz,
+                                       final double rx, final double ry, final double rz,
+                                       final double[] jacobian) {
+        final var theta2 = wx * wx + wy * wy + wz * wz;
+        final double b;
+        final double c;
+        if (theta2 < SMALL_ANGLE_SQUARED) {
+            b = 0.5 - theta2 / 24.0;
+            c = 1.0 / 6.0 - theta2 / 120.0;
+        } else {
+            final var theta = Math.sqrt(theta2);
+            b = (1.0 - Math.cos(theta)) / theta2;
+            c = (theta - Math.sin(theta)) / (theta2 * theta);
+        }
+
+        // Jl = I + b * [w]x + c * [w]x^2, where [w]x^2 = w * w^T - theta^2 * I
+        final var diag = 1.0 - c * theta2;
+        final var l00 = diag + c * wx * wx;
+        final var l01 = -b * wz + c * wx * wy;
+        final var l02 = b * wy + c * wx * wz;
+        final var l10 = b * wz + c * wy * wx;
+        final var l11 = diag + c * wy * wy;
+        final var l12 = -b * wx + c * wy * wz;
+        final var l20 = -b * wy + c * wz * wx;
+        final var l21 = b * wx + c * wz * wy;
+        final var l22 = diag + c * wz * wz;
+
+        // -[r]x = [[0, rz, -ry], [-rz, 0, rx], [ry, -rx, 0]]
+        jacobian[0] = rz * l10 - ry * l20;
+        jacobian[1] = rz * l11 - ry * l21;
+        jacobian[2] = rz * l12 - ry * l22;
+        jacobian[3] = -rz * l00 + rx * l20;
+        jacobian[4] = -rz * l01 + rx * l21;
+        jacobian[5] = -rz * l02 + rx * l22;
+        jacobian[6] = ry * l00 - rx * l10;
+        jacobian[7] = ry * l01 - rx * l11;
+        jacobian[8] = ry * l02 - rx * l12;
+    }
+
+    /**
+     * Converts a rotation vector (axis times angle) into a unit quaternion.
+     *
+     * @param wx     x coordinate of rotation vector.
+     * @param wy     y coordinate of rotation vector.
+     * @param wz     z coordinate of rotation vector.
+     * @param result instance where quaternion will be stored.
+     */
+    static void rotationVectorToQuaternion(final double wx, final double wy, final double wz,
+                                           final Quaternion result) {
+        final var theta2 = wx * wx + wy * wy + wz * wz;
+        final double a;
+        final double k;
+        if (theta2 < SMALL_ANGLE_SQUARED) {
+            a = 1.0 - theta2 / 8.0;
+            k = 0.5 - theta2 / 48.0;
+        } else {
+            final var theta = Math.sqrt(theta2);
+            a = Math.cos(0.5 * theta);
+            k = Math.sin(0.5 * theta) / theta;
+        }
+        result.setA(a);
+        result.setB(k * wx);
+        result.setC(k * wy);
+        result.setD(k * wz);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+/**
+ * Contains loss functions that can be used by refiners to reduce the influence
+ * of samples having large residuals by means of iteratively reweighted least
+ * squares (IRLS).
+ */
+public enum RobustLoss {
+    /**
+     * Plain least squares. All samples have the same weight and no reweighting
+     * is done.
+     */
+    NONE,
+
+    /**
+     * Huber loss. Quadratic for small residuals and linear for large ones.
+     */
+    HUBER,
+
+    /**
+     * Cauchy (Lorentzian) loss. Logarithmic growth for large residuals.
+     */
+    CAUCHY,
+
+    /**
+     * Tukey biweight loss. Samples having residuals larger than the tuning
+     * constant are fully ignored.
+     */
+    TUKEY,
+
+    /**
+     * Geman-McClure loss. Bounded loss with smoothly vanishing weights for
+     * large residuals.
+     */
+    GEMAN_MCCLURE
+}
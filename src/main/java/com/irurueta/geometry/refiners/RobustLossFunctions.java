@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+/**
+ * Computes weights of robust loss functions used on iteratively reweighted
+ * least squares (IRLS) refinement.
+ * Given a residual r and a scale c (tuning constant times standard deviation
+ * of residuals), the weight of a sample is w(r) = rho'(r) / r, where rho is
+ * the robust loss function, so that minimizing sum(w_i * r_i^2) with fixed
+ * weights and iteratively updating them converges to a minimizer of
+ * sum(rho(r_i)).
+ */
+public final class RobustLossFunctions {
+
+    /**
+     * Default tuning constant of Huber loss, which achieves 95% asymptotic
+     * efficiency for gaussian residuals.
+     */
+    public static final double DEFAULT_HUBER_TUNING_CONSTANT = 1.345;
+
+    /**
+     * Default tuning constant of Cauchy loss, which achieves 95% asymptotic
+     * efficiency for gaussian residuals.
+     */
+    public static final double DEFAULT_CAUCHY_TUNING_CONSTANT = 2.3849;
+
+    /**
+     * Default tuning constant of Tukey loss, which achieves 95% asymptotic
+     * efficiency for gaussian residuals.
+     */
+    public static final double DEFAULT_TUKEY_TUNING_CONSTANT = 4.6851;
+
+    /**
+     * Default tuning constant of Geman-McClure loss.
+     */
+    public static final double DEFAULT_GEMAN_MCCLURE_TUNING_CONSTANT = 1.0;
+
+    /**
+     * Constructor.
+     * Prevents instantiation of utility class.
+     */
+    private RobustLossFunctions() {
+    }
+
+    /**
+     * Gets default tuning constant of provided loss, expressed in terms of
+     * the standard deviation of residuals.
+     *
+     * @param loss a robust loss.
+     * @return default tuning constant or 1.0 if no robust loss is used.
+     */
+    public static double getDefaultTuningConstant(final RobustLoss loss) {
+        return switch (loss) {
+            case HUBER -> DEFAULT_HUBER_TUNING_CONSTANT;
+            case CAUCHY -> DEFAULT_CAUCHY_TUNING_CONSTANT;
+            case TUKEY -> DEFAULT_TUKEY_TUNING_CONSTANT;
+            case GEMAN_MCCLURE -> DEFAULT_GEMAN_MCCLURE_TUNING_CONSTANT;
+            default -> 1.0;
+        };
+    }
+
+    /**
+     * Computes weight of a sample having provided residual.
+     *
+     * @param loss     a robust loss.
+     * @param residual residual of sample.
+     * @param scale    scale of loss, which is the tuning constant multiplied by
+     *                 the standard deviation of residuals.
+     * @return weight of sample, which is a value between 0.0 and 1.0.
+     * @throws IllegalArgumentException if scale is not positive.
+     */
+    public static double weight(final RobustLoss loss, final double residual, final double scale) {
+        if (scale <= 0.0) {
+            throw new IllegalArgumentException();
+        }
+
+        final var u = Math.abs(residual) / scale;
+        return switch (loss) {
+            case HUBER -> u <= 1.0 ? 1.0 : 1.0 / u;
+            case CAUCHY -> 1.0 / (1.0 + u * u);
+            case TUKEY -> {
+                if (u >= 1.0) {
+                    yield 0.0;
+                }
+                final var v = 1.0 - u * u;
+                yield v * v;
+            }
+            case GEMAN_MCCLURE -> {
+                final var v = 1.0 + u * u;
+                yield 1.0 / (v * v);
+            }
+            default -> 1.0;
+        };
+    }
+}
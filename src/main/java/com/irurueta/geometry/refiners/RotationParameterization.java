@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+/**
+ * Contains parameterizations of 3D rotations used by refiners of 3D
+ * transformations.
+ */
+public enum RotationParameterization {
+    /**
+     * Rotation is parameterized by the 4 values of a quaternion, which is
+     * over-parameterized and is normalized after each evaluation.
+     */
+    QUATERNION,
+
+    /**
+     * Rotation is parameterized by a rotation vector (axis times angle)
+     * belonging to the tangent space of SO(3) at the initial rotation, so that
+     * refined rotation is exp([w]x) * R0. This is a minimal parameterization
+     * that needs no normalization and is well-conditioned around the initial
+     * estimation.
+     */
+    TANGENT_SPACE
+}
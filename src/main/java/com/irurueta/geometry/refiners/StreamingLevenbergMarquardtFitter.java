@@ -0,0 +1,640 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+import com.irurueta.algebra.AlgebraException;
+import com.irurueta.algebra.Matrix;
+import com.irurueta.algebra.Utils;
+import com.irurueta.algebra.WrongSizeException;
+import com.irurueta.numerical.EvaluationException;
+import com.irurueta.numerical.fitting.FittingException;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiVariateFunctionEvaluator;
+
+import java.util.Arrays;
+
+/**
+ * Fits a multi dimension function to a set of samples by minimizing
+ * chi square = sum((y_i - f(x_i, a))^2 / sigma_i^2) using the
+ * Levenberg-Marquardt method.
+ * Unlike a generic Levenberg-Marquardt fitter, samples are streamed one at a
+ * time and normal equations J^T*J and J^T*r are accumulated into fixed size
+ * buffers, so that memory only depends on the number of parameters and each
+ * iteration has a cost linear on the number of samples.
+ * The diagonal of the normal equations is damped by a factor that is
+ * increased until a step reducing chi square is found, and decreased again
+ * once steps succeed, so that steps move between Gauss-Newton and gradient
+ * descent ones.
+ * Normal equations are solved using an in-place Cholesky decomposition, since
+ * the number of parameters of refiners is small.
+ * Functions returning several values for each sample (e.g. the coordinates of
+ * the difference between matched points) can also be fitted, in which case all
+ * values of a sample share its standard deviation.
+ */
+final class StreamingLevenbergMarquardtFitter {
+
+    /**
+     * Default maximum number of iterations.
+     */
+    static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    /**
+     * Default tolerance to determine convergence, relative to chi square and
+     * parameter values.
+     */
+    static final double DEFAULT_TOLERANCE = 1e-12;
+
+    /**
+     * Minimum relative damping of the diagonal of normal equations, which is
+     * always applied to keep steps bounded along directions where residuals
+     * are invariant, such as the scale of parameters of homogeneous
+     * transformations.
+     */
+    private static final double MIN_DAMPING = 1e-9;
+
+    /**
+     * Factor to increase or decrease damping.
+     */
+    private static final double DAMPING_FACTOR = 10.0;
+
+    /**
+     * Damping above which no further progress is considered possible.
+     */
+    private static final double MAX_DAMPING = 1e16;
+
+    /**
+     * Evaluator of function to be fitted when function returns one value for
+     * each sample, or null otherwise.
+     */
+    private final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator;
+
+    /**
+     * Evaluator of function to be fitted when function returns several values
+     * for each sample, or null otherwise.
+     */
+    private final LevenbergMarquardtMultiVariateFunctionEvaluator multiVariateEvaluator;
+
+    /**
+     * Input points of samples. Each row contains one sample.
+     */
+    private final Matrix x;
+
+    /**
+     * Function values of samples stored consecutively for each sample.
+     */
+    private final double[] y;
+
+    /**
+     * Number of function values of each sample.
+     */
+    private final int nVars;
+
+    /**
+     * Inverse of variance of function values of each sample.
+     */
+    private final double[] weights;
+
+    /**
+     * Maximum number of iterations.
+     */
+    private final int maxIterations;
+
+    /**
+     * Tolerance to determine convergence.
+     */
+    private final double tolerance;
+
+    /**
+     * Estimated parameters.
+     */
+    private double[] a;
+
+    /**
+     * Estimated covariance of parameters.
+     */
+    private Matrix covar;
+
+    /**
+     * Chi square of estimated parameters.
+     */
+    private double chisq;
+
+    /**
+     * Number of iterations that have been done.
+     */
+    private int iterations;
+
+    /**
+     * Constructor.
+     *
+     * @param evaluator evaluator of function to be fitted.
+     * @param x         input points of samples. Each row contains one sample.
+     * @param y         function values of samples.
+     * @param sig       standard deviation of function values.
+     * @throws IllegalArgumentException if number of rows of x and length of
+     *                                  y are not equal, if number of columns of x does not match
+     *                                  evaluator dimensions or if standard deviation is not
+     *                                  positive.
+     */
+    StreamingLevenbergMarquardtFitter(final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator, final Matrix x,
+                      final double[] y, final double sig) {
+        this(evaluator, x, y, sig, DEFAULT_MAX_ITERATIONS, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param evaluator     evaluator of function to be fitted.
+     * @param x             input points of samples. Each row contains one sample.
+     * @param y             function values of samples.
+     * @param sig           standard deviation of function values.
+     * @param maxIterations maximum number of iterations.
+     * @param tolerance     tolerance to determine convergence.
+     * @throws IllegalArgumentException if number of rows of x and length of
+     *                                  y are not equal, if number of columns of x does not match
+     *                                  evaluator dimensions, if standard deviation or tolerance are
+     *                                  not positive or if maximum number of iterations is less than 1.
+     */
+    StreamingLevenbergMarquardtFitter(final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator, final Matrix x,
+                      final double[] y, final double sig, final int maxIterations, final double tolerance) {
+        this(evaluator, x, y, filledArray(y.length, sig), maxIterations, tolerance);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param evaluator evaluator of function to be fitted.
+     * @param x         input points of samples. Each row contains one sample.
+     * @param y         function values of samples.
+     * @param sig       standard deviation of function value of each sample.
+     *                  Samples having infinite standard deviation are ignored.
+     * @throws IllegalArgumentException if number of rows of x, length of y and
+     *                                  length of sig are not equal, if number of columns of x does not
+     *                                  match evaluator dimensions or if any standard deviation is not
+     *                                  positive.
+     */
+    StreamingLevenbergMarquardtFitter(final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator, final Matrix x,
+                      final double[] y, final double[] sig) {
+        this(evaluator, x, y, sig, DEFAULT_MAX_ITERATIONS, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param evaluator     evaluator of function to be fitted.
+     * @param x             input points of samples. Each row contains one sample.
+     * @param y             function values of samples.
+     * @param sig           standard deviation of function value of each sample.
+     *                      Samples having infinite standard deviation are ignored.
+     * @param maxIterations maximum number of iterations.
+     * @param tolerance     tolerance to determine convergence.
+     * @throws IllegalArgumentException if number of rows of x, length of y and
+     *                                  length of sig are not equal, if number of columns of x does not
+     *                                  match evaluator dimensions, if any standard deviation or
+     *                                  tolerance are not positive or if maximum number of iterations is
+     *                                  less than 1.
+     */
+    StreamingLevenbergMarquardtFitter(final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator, final Matrix x,
+                      final double[] y, final double[] sig, final int maxIterations, final double tolerance) {
+        if (x.getRows() != y.length || sig.length != y.length
+                || x.getColumns() != evaluator.getNumberOfDimensions() || maxIterations < 1 || tolerance <= 0.0) {
+            throw new IllegalArgumentException();
+        }
+        weights = weights(sig);
+        this.evaluator = evaluator;
+        multiVariateEvaluator = null;
+        this.x = x;
+        this.y = y;
+        nVars = 1;
+        this.maxIterations = maxIterations;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param evaluator evaluator of function to be fitted.
+     * @param x         input points of samples. Each row contains one sample.
+     * @param y         function values of samples. Each row contains the
+     *                  values of one sample.
+     * @param sig       standard deviation of function values of each sample.
+     *                  Samples having infinite standard deviation are ignored.
+     * @throws IllegalArgumentException if number of rows of x, number of rows
+     *                                  of y and length of sig are not equal, if number of columns of x
+     *                                  or y do not match evaluator dimensions or number of variables or
+     *                                  if any standard deviation is not positive.
+     */
+    StreamingLevenbergMarquardtFitter(final LevenbergMarquardtMultiVariateFunctionEvaluator evaluator, final Matrix x,
+                      final Matrix y, final double[] sig) {
+        this(evaluator, x, y, sig, DEFAULT_MAX_ITERATIONS, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param evaluator     evaluator of function to be fitted.
+     * @param x             input points of samples. Each row contains one sample.
+     * @param y             function values of samples. Each row contains the
+     *                      values of one sample.
+     * @param sig           standard deviation of function values of each sample.
+     *                      Samples having infinite standard deviation are ignored.
+     * @param maxIterations maximum number of iterations.
+     * @param tolerance     tolerance to determine convergence.
+     * @throws IllegalArgumentException if number of rows of x, number of rows
+     *                                  of y and length of sig are not equal, if number of columns of x
+     *                                  or y do not match evaluator dimensions or number of variables, if
+     *                                  any standard deviation or tolerance are not positive or if
+     *                                  maximum number of iterations is less than 1.
+     */
+    StreamingLevenbergMarquardtFitter(final LevenbergMarquardtMultiVariateFunctionEvaluator evaluator, final Matrix x,
+                      final Matrix y, final double[] sig, final int maxIterations, final double tolerance) {
+        final var rows = y.getRows();
+        nVars = y.getColumns();
+        if (x.getRows() != rows || sig.length != rows || x.getColumns() != evaluator.getNumberOfDimensions()
+                || nVars != evaluator.getNumberOfVariables() || maxIterations < 1 || tolerance <= 0.0) {
+            throw new IllegalArgumentException();
+        }
+        weights = weights(sig);
+        this.evaluator = null;
+        multiVariateEvaluator = evaluator;
+        this.x = x;
+        this.y = new double[rows * nVars];
+        for (int i = 0, pos = 0; i < rows; i++) {
+            for (var k = 0; k < nVars; k++) {
+                this.y[pos++] = y.getElementAt(i, k);
+            }
+        }
+        this.maxIterations = maxIterations;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Fits function to provided samples.
+     *
+     * @throws FittingException if function evaluation fails or no solution
+     *                          can be found.
+     */
+    void fit() throws FittingException {
+        try {
+            final var params = evaluator != null ? evaluator.createInitialParametersArray().clone()
+                    : multiVariateEvaluator.createInitialParametersArray().clone();
+            final var n = params.length;
+
+            // current and candidate normal equations, stored as full n x n
+            // matrices in row order
+            var alpha = new double[n * n];
+            var beta = new double[n];
+            var trialAlpha = new double[n * n];
+            var trialBeta = new double[n];
+            final var system = new double[n * n];
+            final var delta = new double[n];
+            final var trial = new double[n];
+            final var residuals = new double[nVars];
+            final var jacobian = new double[nVars * n];
+            final var point = new double[x.getColumns()];
+            final var values = multiVariateEvaluator != null ? new double[nVars] : null;
+            final var jacobianMatrix = multiVariateEvaluator != null ? new Matrix(nVars, n) : null;
+
+            var currentChisq = accumulate(params, alpha, beta, residuals, jacobian, point, values, jacobianMatrix);
+            var damping = MIN_DAMPING;
+            iterations = 0;
+            while (iterations < maxIterations) {
+                iterations++;
+
+                System.arraycopy(alpha, 0, system, 0, n * n);
+                for (var i = 0; i < n; i++) {
+                    final var pos = i * n + i;
+                    system[pos] += damping * Math.max(alpha[pos], Double.MIN_NORMAL);
+                }
+                System.arraycopy(beta, 0, delta, 0, n);
+                if (!choleskySolve(system, delta, n)) {
+                    // numerically rank deficient normal equations, damp them
+                    damping *= DAMPING_FACTOR;
+                    if (damping > MAX_DAMPING) {
+                        break;
+                    }
+                    continue;
+                }
+
+                var deltaNorm = 0.0;
+                var paramsNorm = 0.0;
+                for (var i = 0; i < n; i++) {
+                    trial[i] = params[i] + delta[i];
+                    deltaNorm += delta[i] * delta[i];
+                    paramsNorm += params[i] * params[i];
+                }
+
+                final var trialChisq = accumulate(trial, trialAlpha, trialBeta, residuals, jacobian, point, values,
+                        jacobianMatrix);
+                if (trialChisq <= currentChisq) {
+                    // step is accepted
+                    final var decrease = currentChisq - trialChisq;
+                    System.arraycopy(trial, 0, params, 0, n);
+                    currentChisq = trialChisq;
+
+                    var tmp = alpha;
+                    alpha = trialAlpha;
+                    trialAlpha = tmp;
+                    tmp = beta;
+                    beta = trialBeta;
+                    trialBeta = tmp;
+
+                    damping = Math.max(damping / DAMPING_FACTOR, MIN_DAMPING);
+
+                    if (decrease <= tolerance * currentChisq
+                            || Math.sqrt(deltaNorm) <= tolerance * (Math.sqrt(paramsNorm) + tolerance)) {
+                        break;
+                    }
+                } else {
+                    damping *= DAMPING_FACTOR;
+                    if (damping > MAX_DAMPING) {
+                        break;
+                    }
+                }
+            }
+
+            a = params;
+            chisq = currentChisq;
+            covar = covariance(alpha, n);
+        } catch (final EvaluationException | WrongSizeException e) {
+            throw new FittingException(e);
+        }
+    }
+
+    /**
+     * Gets estimated parameters.
+     *
+     * @return estimated parameters or null if not fitted yet.
+     */
+    double[] getA() {
+        return a;
+    }
+
+    /**
+     * Gets estimated covariance of parameters, which is the inverse of the
+     * normal equations matrix J^T * J / sigma^2 at the estimated parameters.
+     *
+     * When normal equations are rank deficient, the pseudo-inverse is used.
+     *
+     * @return estimated covariance or null if not fitted yet.
+     */
+    Matrix getCovar() {
+        return covar;
+    }
+
+    /**
+     * Gets chi square of estimated parameters.
+     *
+     * @return chi square of estimated parameters.
+     */
+    double getChisq() {
+        return chisq;
+    }
+
+    /**
+     * Gets number of iterations that have been done.
+     *
+     * @return number of iterations.
+     */
+    int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Streams over all samples to compute chi square and normal equations for
+     * provided parameters.
+     *
+     * @param params         parameters to evaluate function at.
+     * @param alpha          array where J^T * J / sigma^2 will be stored.
+     * @param beta           array where J^T * r / sigma^2 will be stored.
+     * @param residuals      array to be reused to store residuals of a sample.
+     * @param jacobian       array to be reused to store function derivatives
+     *                       of a sample in row order.
+     * @param point          array to be reused to store sample input point.
+     * @param values         array to be reused to store function values of a
+     *                       sample, or null if function returns one value.
+     * @param jacobianMatrix matrix to be reused to store function derivatives
+     *                       of a sample, or null if function returns one value.
+     * @return chi square.
+     * @throws EvaluationException if function evaluation fails.
+     */
+    private double accumulate(final double[] params, final double[] alpha, final double[] beta,
+                              final double[] residuals, final double[] jacobian, final double[] point,
+                              final double[] values, final Matrix jacobianMatrix) throws EvaluationException {
+        final var n = params.length;
+        final var dims = point.length;
+        final var rows = weights.length;
+        Arrays.fill(alpha, 0.0);
+        Arrays.fill(beta, 0.0);
+
+        var result = 0.0;
+        for (var i = 0; i < rows; i++) {
+            final var weight = weights[i];
+            if (weight == 0.0) {
+                continue;
+            }
+            for (var j = 0; j < dims; j++) {
+                point[j] = x.getElementAt(i, j);
+            }
+
+            if (evaluator != null) {
+                residuals[0] = y[i] - evaluator.evaluate(i, point, params, jacobian);
+            } else {
+                multiVariateEvaluator.evaluate(i, point, values, params, jacobianMatrix);
+                for (var v = 0; v < nVars; v++) {
+                    residuals[v] = y[i * nVars + v] - values[v];
+                    for (var j = 0; j < n; j++) {
+                        jacobian[v * n + j] = jacobianMatrix.getElementAt(v, j);
+                    }
+                }
+            }
+
+            for (var v = 0; v < nVars; v++) {
+                final var residual = residuals[v];
+                final var offset = v * n;
+                result += residual * residual * weight;
+                for (var j = 0; j < n; j++) {
+                    final var wd = jacobian[offset + j] * weight;
+                    beta[j] += wd * residual;
+                    final var row = j * n;
+                    for (var k = 0; k <= j; k++) {
+                        alpha[row + k] += wd * jacobian[offset + k];
+                    }
+                }
+            }
+        }
+
+        // fill upper triangle
+        for (var j = 0; j < n; j++) {
+            for (var k = j + 1; k < n; k++) {
+                alpha[j * n + k] = alpha[k * n + j];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes inverse of variance of function values of each sample.
+     *
+     * @param sig standard deviation of function values of each sample.
+     * @return inverse of variances.
+     * @throws IllegalArgumentException if any standard deviation is not
+     *                                  positive.
+     */
+    private static double[] weights(final double[] sig) {
+        final var result = new double[sig.length];
+        for (var i = 0; i < sig.length; i++) {
+            if (!(sig[i] > 0.0)) {
+                throw new IllegalArgumentException();
+            }
+            result[i] = 1.0 / (sig[i] * sig[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Creates an array filled with provided value.
+     * This is also used by refiners to provide the same standard deviation for
+     * all samples.
+     *
+     * @param length length of array.
+     * @param value  value to fill array with.
+     * @return created array.
+     */
+    static double[] filledArray(final int length, final double value) {
+        final var result = new double[length];
+        Arrays.fill(result, value);
+        return result;
+    }
+
+    /**
+     * Solves a symmetric positive definite system in place using Cholesky
+     * decomposition.
+     *
+     * @param m matrix of system stored in row order. Its lower triangle is
+     *          replaced by its Cholesky factor.
+     * @param b right hand side of system, where solution will be stored.
+     * @param n size of system.
+     * @return true if system could be solved, false if matrix is not positive
+     * definite.
+     */
+    private static boolean choleskySolve(final double[] m, final double[] b, final int n) {
+        if (!cholesky(m, n)) {
+            return false;
+        }
+        solveFactored(m, b, n);
+        return true;
+    }
+
+    /**
+     * Computes in place the Cholesky factor of a symmetric positive definite
+     * matrix, which is stored in its lower triangle.
+     *
+     * @param m matrix stored in row order.
+     * @param n size of matrix.
+     * @return true if matrix is positive definite, false otherwise.
+     */
+    private static boolean cholesky(final double[] m, final int n) {
+        for (var i = 0; i < n; i++) {
+            for (var j = 0; j <= i; j++) {
+                var sum = m[i * n + j];
+                for (var k = 0; k < j; k++) {
+                    sum -= m[i * n + k] * m[j * n + k];
+                }
+                if (i == j) {
+                    if (sum <= 0.0 || Double.isNaN(sum)) {
+                        return false;
+                    }
+                    m[i * n + i] = Math.sqrt(sum);
+                } else {
+                    m[i * n + j] = sum / m[j * n + j];
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes covariance of parameters as the inverse of provided normal
+     * equations matrix.
+     *
+     * When normal equations are rank deficient (e.g. because of gauge freedoms
+     * such as the arbitrary scale of homogeneous parameters), the
+     * pseudo-inverse is returned instead.
+     *
+     * @param alpha normal equations matrix stored in row order.
+     * @param n     number of parameters.
+     * @return covariance or null if it cannot be computed.
+     */
+    private static Matrix covariance(final double[] alpha, final int n) {
+        final var factor = alpha.clone();
+        if (!cholesky(factor, n)) {
+            try {
+                final var m = new Matrix(n, n);
+                for (var i = 0; i < n; i++) {
+                    for (var j = 0; j < n; j++) {
+                        m.setElementAt(i, j, alpha[i * n + j]);
+                    }
+                }
+                return Utils.pseudoInverse(m);
+            } catch (final AlgebraException e) {
+                return null;
+            }
+        }
+
+        try {
+            final var result = new Matrix(n, n);
+            final var column = new double[n];
+            for (var j = 0; j < n; j++) {
+                Arrays.fill(column, 0.0);
+                column[j] = 1.0;
+                solveFactored(factor, column, n);
+                for (var i = 0; i < n; i++) {
+                    result.setElementAt(i, j, column[i]);
+                }
+            }
+            return result;
+        } catch (final WrongSizeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Solves a system using an already computed Cholesky factor.
+     *
+     * @param l Cholesky factor stored in the lower triangle in row order.
+     * @param b right hand side of system, where solution will be stored.
+     * @param n size of system.
+     */
+    private static void solveFactored(final double[] l, final double[] b, final int n) {
+        // forward substitution L * z = b
+        for (var i = 0; i < n; i++) {
+            var sum = b[i];
+            for (var k = 0; k < i; k++) {
+                sum -= l[i * n + k] * b[k];
+            }
+            b[i] = sum / l[i * n + i];
+        }
+        // backward substitution L^T * x = z
+        for (var i = n - 1; i >= 0; i--) {
+            var sum = b[i];
+            for (var k = i + 1; k < n; k++) {
+                sum -= l[k * n + i] * b[k];
+            }
+            b[i] = sum / l[i * n + i];
+        }
+    }
+}
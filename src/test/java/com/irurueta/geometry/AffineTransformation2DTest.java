@@ -840,6 +840,112 @@ class AffineTransformation2DTest {
         }
     }
 
+    @Test
+    void testTransformPackedPoints() throws AlgebraException {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var translation = new double[AffineTransformation2D.NUM_TRANSLATION_COORDS];
+        randomizer.fill(translation, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var scaleX = randomizer.nextDouble(MIN_SCALE, MAX_SCALE);
+        final var scaleY = randomizer.nextDouble(MIN_SCALE, MAX_SCALE);
+        final var skewness = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var theta = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+
+        final var rotation = new Rotation2D(theta);
+        final var params = new AffineParameters2D(scaleX, scaleY, skewness);
+
+        final var transformation = new AffineTransformation2D(params, rotation, translation);
+
+        // points are packed with an extra unused value and an initial offset
+        final var stride = Point2D.POINT2D_INHOMOGENEOUS_COORDINATES_LENGTH + 1;
+        final var offset = 1;
+        final var src = new double[offset + size * stride];
+        final var expectedPoints = new ArrayList<Point2D>(size);
+        for (var i = 0; i < size; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            src[offset + i * stride] = x;
+            src[offset + i * stride + 1] = y;
+
+            expectedPoints.add(transformation.transformAndReturnNew(new InhomogeneousPoint2D(x, y)));
+        }
+
+        final var dst = new double[src.length];
+        transformation.transform(src, offset, dst, offset, size, stride);
+
+        // check correctness
+        for (var i = 0; i < size; i++) {
+            final var expectedPoint = expectedPoints.get(i);
+            final var outPoint = new InhomogeneousPoint2D(dst[offset + i * stride], dst[offset + i * stride + 1]);
+            assertTrue(outPoint.equals(expectedPoint, ABSOLUTE_ERROR));
+        }
+
+        // transform in place
+        transformation.transform(src, offset, src, offset, size, stride);
+        assertArrayEquals(dst, src, 0.0);
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> transformation.transform(src, offset, dst, offset,
+                -1, stride));
+        assertThrows(IllegalArgumentException.class, () -> transformation.transform(src, -1, dst, offset,
+                size, stride));
+        assertThrows(IllegalArgumentException.class, () -> transformation.transform(src, offset, dst, -1,
+                size, stride));
+        assertThrows(IllegalArgumentException.class, () -> transformation.transform(src, offset, dst, offset,
+                size, 1));
+        assertThrows(IllegalArgumentException.class, () -> transformation.transform(src, offset, dst, offset,
+                size + 1, stride));
+    }
+
+    @Test
+    void testTransformHomogeneousPackedPoints() throws AlgebraException {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var translation = new double[AffineTransformation2D.NUM_TRANSLATION_COORDS];
+        randomizer.fill(translation, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var scaleX = randomizer.nextDouble(MIN_SCALE, MAX_SCALE);
+        final var scaleY = randomizer.nextDouble(MIN_SCALE, MAX_SCALE);
+        final var skewness = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var theta = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+
+        final var rotation = new Rotation2D(theta);
+        final var params = new AffineParameters2D(scaleX, scaleY, skewness);
+
+        final var transformation = new AffineTransformation2D(params, rotation, translation);
+
+        final var stride = Point2D.POINT2D_HOMOGENEOUS_COORDINATES_LENGTH;
+        final var src = new double[size * stride];
+        final var expectedPoints = new ArrayList<Point2D>(size);
+        for (var i = 0; i < size; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var w = randomizer.nextDouble(1.0, MAX_RANDOM_VALUE);
+            src[i * stride] = x;
+            src[i * stride + 1] = y;
+            src[i * stride + 2] = w;
+
+            expectedPoints.add(transformation.transformAndReturnNew(new HomogeneousPoint2D(x, y, w)));
+        }
+
+        final var dst = new double[src.length];
+        transformation.transformHomogeneous(src, 0, dst, 0, size, stride);
+
+        // check correctness
+        for (var i = 0; i < size; i++) {
+            final var expectedPoint = expectedPoints.get(i);
+            final var outPoint = new HomogeneousPoint2D(dst[i * stride], dst[i * stride + 1], dst[i * stride + 2]);
+            assertTrue(outPoint.equals(expectedPoint, ABSOLUTE_ERROR));
+        }
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> transformation.transformHomogeneous(src, 0, dst, 0,
+                size, stride - 1));
+        assertThrows(IllegalArgumentException.class, () -> transformation.transformHomogeneous(src, 1, dst, 0,
+                size, stride));
+    }
+
     @Test
     void testTransformAndOverwritePoints() throws AlgebraException {
         final var randomizer = new UniformRandomizer();
@@ -0,0 +1,612 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundingVolumeHierarchy3DTest {
+
+    private static final double ABSOLUTE_ERROR = 1e-8;
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+    private static final double MIN_TRIANGLE_SIZE = 1.0;
+    private static final double MAX_TRIANGLE_SIZE = 10.0;
+
+    private static final int MIN_TRIANGLES = 50;
+    private static final int MAX_TRIANGLES = 500;
+    private static final int QUERIES = 50;
+
+    private static final double SPHERE_RADIUS = 10.0;
+    private static final int SPHERE_SLICES = 16;
+    private static final int SPHERE_STACKS = 12;
+
+    private static final double CUBE_HALF_SIZE = 1.0;
+
+    private static final int PARALLEL_TRIANGLES = 20000;
+
+    private static final int BENCHMARK_TRIANGLES = 100000;
+    private static final int BENCHMARK_QUERIES = 2000;
+
+    @Test
+    void testConstructor() {
+        final var randomizer = new UniformRandomizer();
+        final var triangles = createTriangles(randomizer, randomizer.nextInt(MIN_TRIANGLES, MAX_TRIANGLES));
+
+        var bvh = new BoundingVolumeHierarchy3D(triangles);
+        assertEquals(BoundingVolumeHierarchy3D.DEFAULT_SPLIT_METHOD, bvh.getSplitMethod());
+        assertEquals(BoundingVolumeHierarchySplitMethod.SURFACE_AREA_HEURISTIC, bvh.getSplitMethod());
+        assertEquals(triangles.size(), bvh.getNumberOfTriangles());
+        for (var i = 0; i < triangles.size(); i++) {
+            assertSame(triangles.get(i), bvh.getTriangle(i));
+        }
+        assertTrue(bvh.getNumberOfNodes() <= 2 * triangles.size() - 1);
+        assertTrue(bvh.getDepth() > 1);
+        checkBounds(triangles, bvh.getBounds());
+
+        bvh = new BoundingVolumeHierarchy3D(triangles, BoundingVolumeHierarchySplitMethod.MEDIAN);
+        assertEquals(BoundingVolumeHierarchySplitMethod.MEDIAN, bvh.getSplitMethod());
+        assertEquals(triangles.size(), bvh.getNumberOfTriangles());
+        checkBounds(triangles, bvh.getBounds());
+
+        // a single triangle is a leaf
+        bvh = new BoundingVolumeHierarchy3D(Collections.singletonList(triangles.get(0)));
+        assertEquals(1, bvh.getNumberOfNodes());
+        assertEquals(1, bvh.getDepth());
+
+        // coincident triangles cannot be split by their centroids but are still indexed
+        final var coincident = Collections.nCopies(MAX_TRIANGLES, triangles.get(0));
+        bvh = new BoundingVolumeHierarchy3D(coincident);
+        assertEquals(MAX_TRIANGLES, bvh.getNumberOfTriangles());
+        assertTrue(bvh.getNumberOfNodes() > 1);
+
+        // force IllegalArgumentException
+        final var empty = new ArrayList<Triangle3D>();
+        assertThrows(IllegalArgumentException.class, () -> new BoundingVolumeHierarchy3D(empty));
+    }
+
+    @Test
+    void testFromPolygons() throws GeometryException {
+        final var randomizer = new UniformRandomizer();
+        final var triangles = createTriangles(randomizer, randomizer.nextInt(MIN_TRIANGLES, MAX_TRIANGLES));
+        final var polygons = new ArrayList<Polygon3D>();
+        for (final var triangle : triangles) {
+            polygons.add(new Polygon3D(triangle.getVertices()));
+        }
+
+        final var bvh = BoundingVolumeHierarchy3D.fromPolygons(polygons);
+        assertEquals(triangles.size(), bvh.getNumberOfTriangles());
+        checkBounds(triangles, bvh.getBounds());
+    }
+
+    @Test
+    void testParallelBuild() {
+        final var randomizer = new UniformRandomizer();
+        final var triangles = createTriangles(randomizer, PARALLEL_TRIANGLES);
+
+        for (final var method : BoundingVolumeHierarchySplitMethod.values()) {
+            final var serial = new BoundingVolumeHierarchy3D(triangles, method);
+            final var parallel = new BoundingVolumeHierarchy3D(triangles, method, ForkJoinPool.commonPool());
+
+            assertEquals(serial.getNumberOfNodes(), parallel.getNumberOfNodes());
+            assertEquals(serial.getDepth(), parallel.getDepth());
+            for (var i = 0; i < QUERIES; i++) {
+                final var point = createPoint(randomizer);
+                assertEquals(serial.closestTriangleIndex(point), parallel.closestTriangleIndex(point));
+            }
+        }
+    }
+
+    @Test
+    void testClosestPoint() {
+        final var randomizer = new UniformRandomizer();
+        final var triangles = createTriangles(randomizer, randomizer.nextInt(MIN_TRIANGLES, MAX_TRIANGLES));
+
+        for (final var method : BoundingVolumeHierarchySplitMethod.values()) {
+            final var bvh = new BoundingVolumeHierarchy3D(triangles, method);
+            for (var i = 0; i < QUERIES; i++) {
+                final var point = createPoint(randomizer);
+
+                // brute force
+                var bestIndex = -1;
+                var bestDistance = Double.MAX_VALUE;
+                for (var j = 0; j < triangles.size(); j++) {
+                    final var distance = point.distanceTo(closestPoint(triangles.get(j), point));
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        bestIndex = j;
+                    }
+                }
+
+                final var result = Point3D.create();
+                final var index = bvh.closestPoint(point, result);
+                assertEquals(bestDistance, point.distanceTo(closestPoint(triangles.get(index), point)),
+                        ABSOLUTE_ERROR);
+                assertEquals(bestDistance, point.distanceTo(result), ABSOLUTE_ERROR);
+                assertEquals(bestDistance, bvh.getShortestDistance(point), ABSOLUTE_ERROR);
+                assertTrue(closestPoint(triangles.get(bestIndex), point).equals(result, ABSOLUTE_ERROR));
+                assertTrue(bvh.getClosestPoint(point).equals(result, ABSOLUTE_ERROR));
+                assertEquals(index, bvh.closestTriangleIndex(point));
+                assertEquals(index, bvh.closestPoint(point, null));
+            }
+        }
+    }
+
+    @Test
+    void testClosestPointDegenerateTriangle() {
+        final var randomizer = new UniformRandomizer();
+        final var start = createPoint(randomizer);
+        final var end = createPoint(randomizer);
+        final var middle = new InhomogeneousPoint3D(
+                0.25 * start.getInhomX() + 0.75 * end.getInhomX(),
+                0.25 * start.getInhomY() + 0.75 * end.getInhomY(),
+                0.25 * start.getInhomZ() + 0.75 * end.getInhomZ());
+        final var triangles = Collections.singletonList(new Triangle3D(start, middle, end));
+        final var bvh = new BoundingVolumeHierarchy3D(triangles);
+
+        for (var i = 0; i < QUERIES; i++) {
+            final var point = createPoint(randomizer);
+            final var result = bvh.getClosestPoint(point);
+
+            // closest point lays on segment joining start and end
+            final var expected = closestPointOnSegment(start, end, point);
+            assertEquals(point.distanceTo(expected), point.distanceTo(result), ABSOLUTE_ERROR);
+        }
+    }
+
+    @Test
+    void testIntersectRay() {
+        final var randomizer = new UniformRandomizer();
+        final var triangles = createTriangles(randomizer, randomizer.nextInt(MIN_TRIANGLES, MAX_TRIANGLES));
+        final var bvh = new BoundingVolumeHierarchy3D(triangles);
+
+        var hits = 0;
+        for (var i = 0; i < QUERIES; i++) {
+            // aim at a random triangle so that most rays hit something
+            final var origin = createPoint(randomizer);
+            final var target = triangles.get(randomizer.nextInt(0, triangles.size())).getCenter();
+            final var direction = new double[]{target.getInhomX() - origin.getInhomX(),
+                    target.getInhomY() - origin.getInhomY(), target.getInhomZ() - origin.getInhomZ()};
+
+            // brute force
+            var bestIndex = -1;
+            var bestT = Double.MAX_VALUE;
+            for (var j = 0; j < triangles.size(); j++) {
+                final var t = rayTriangle(triangles.get(j), origin, direction);
+                if (t >= 0.0 && t < bestT) {
+                    bestT = t;
+                    bestIndex = j;
+                }
+            }
+
+            final var result = Point3D.create();
+            final var index = bvh.intersect(origin, direction, result);
+            assertEquals(bestIndex, index);
+            if (index >= 0) {
+                hits++;
+                final var expected = new InhomogeneousPoint3D(origin.getInhomX() + bestT * direction[0],
+                        origin.getInhomY() + bestT * direction[1], origin.getInhomZ() + bestT * direction[2]);
+                assertTrue(expected.equals(result, ABSOLUTE_ERROR));
+                assertTrue(triangles.get(index).isInside(result, ABSOLUTE_ERROR));
+            }
+            assertEquals(index, bvh.intersect(origin, direction, null));
+        }
+        assertTrue(hits > 0);
+
+        // a ray pointing away from all triangles does not hit anything
+        final var outside = new InhomogeneousPoint3D(2.0 * MAX_RANDOM_VALUE, 0.0, 0.0);
+        assertEquals(-1, bvh.intersect(outside, new double[]{1.0, 0.0, 0.0}, null));
+
+        // force IllegalArgumentException
+        final var origin = createPoint(randomizer);
+        assertThrows(IllegalArgumentException.class, () -> bvh.intersect(origin, new double[2], null));
+        assertThrows(IllegalArgumentException.class, () -> bvh.intersect(origin, new double[3], null));
+    }
+
+    @Test
+    void testIntersectLine() throws CoincidentPlanesException {
+        final var randomizer = new UniformRandomizer();
+        final var triangles = createTriangles(randomizer, randomizer.nextInt(MIN_TRIANGLES, MAX_TRIANGLES));
+        final var bvh = new BoundingVolumeHierarchy3D(triangles);
+        final var list = new int[triangles.size()];
+
+        for (var i = 0; i < QUERIES; i++) {
+            final var origin = createPoint(randomizer);
+            final var target = triangles.get(randomizer.nextInt(0, triangles.size())).getCenter();
+            final var direction = new double[]{target.getInhomX() - origin.getInhomX(),
+                    target.getInhomY() - origin.getInhomY(), target.getInhomZ() - origin.getInhomZ()};
+            final var line = createLine(origin, direction);
+
+            // brute force on both sides of origin
+            final var expected = new HashSet<Integer>();
+            for (var j = 0; j < triangles.size(); j++) {
+                if (!Double.isNaN(rayTriangle(triangles.get(j), origin, direction))) {
+                    expected.add(j);
+                }
+            }
+
+            final var n = bvh.intersect(line, list, list.length);
+            final var found = new HashSet<Integer>();
+            for (var j = 0; j < n; j++) {
+                found.add(list[j]);
+            }
+            assertEquals(n, found.size());
+            assertEquals(expected, found);
+            assertFalse(found.isEmpty());
+
+            // limited results
+            assertEquals(1, bvh.intersect(line, list, 1));
+            assertTrue(expected.contains(list[0]));
+        }
+
+        // force IllegalArgumentException
+        final var line = createLine(createPoint(randomizer), new double[]{1.0, 0.0, 0.0});
+        assertThrows(IllegalArgumentException.class, () -> bvh.intersect(line, list, 0));
+        assertThrows(IllegalArgumentException.class, () -> bvh.intersect(line, new int[1], 2));
+    }
+
+    @Test
+    void testIsInside() {
+        final var randomizer = new UniformRandomizer();
+        final var bvh = new BoundingVolumeHierarchy3D(createSphere());
+
+        for (var i = 0; i < QUERIES; i++) {
+            // points well inside or outside sphere so that faceting does not matter
+            final var inside = createPointInShell(randomizer, 0.0, 0.8 * SPHERE_RADIUS);
+            assertTrue(bvh.isInside(inside));
+
+            final var outside = createPointInShell(randomizer, 1.1 * SPHERE_RADIUS, 2.0 * SPHERE_RADIUS);
+            assertFalse(bvh.isInside(outside));
+        }
+    }
+
+    @Test
+    void testIsInsideCube() {
+        final var randomizer = new UniformRandomizer();
+        final var bvh = new BoundingVolumeHierarchy3D(createCube());
+
+        // rays from points on cube diagonals towards cube corners go through vertices shared by several triangles
+        assertTrue(bvh.isInside(new InhomogeneousPoint3D(0.0, 0.0, 0.0)));
+        for (var i = 0; i < QUERIES; i++) {
+            final var value = randomizer.nextDouble(-0.9 * CUBE_HALF_SIZE, 0.9 * CUBE_HALF_SIZE);
+            assertTrue(bvh.isInside(new InhomogeneousPoint3D(value, value, value)));
+            assertTrue(bvh.isInside(new InhomogeneousPoint3D(value, -value, value)));
+            assertTrue(bvh.isInside(new InhomogeneousPoint3D(value, value, 0.0)));
+
+            final var outside = randomizer.nextDouble(1.1 * CUBE_HALF_SIZE, 2.0 * CUBE_HALF_SIZE);
+            assertFalse(bvh.isInside(new InhomogeneousPoint3D(-outside, -outside, -outside)));
+            assertFalse(bvh.isInside(new InhomogeneousPoint3D(outside, 0.0, 0.0)));
+            assertFalse(bvh.isInside(new InhomogeneousPoint3D(0.0, -outside, 0.0)));
+        }
+    }
+
+    @Test
+    void testLocateOverlapping() {
+        final var randomizer = new UniformRandomizer();
+        final var triangles = createTriangles(randomizer, randomizer.nextInt(MIN_TRIANGLES, MAX_TRIANGLES));
+        final var bvh = new BoundingVolumeHierarchy3D(triangles);
+        final var list = new int[triangles.size()];
+
+        for (var i = 0; i < QUERIES; i++) {
+            final var center = createPoint(randomizer);
+            final var size = randomizer.nextDouble(MIN_TRIANGLE_SIZE, 2.0 * MAX_RANDOM_VALUE / 5.0);
+            final var box = new Box3D(
+                    new InhomogeneousPoint3D(center.getInhomX() - size, center.getInhomY() - size,
+                            center.getInhomZ() - size),
+                    new InhomogeneousPoint3D(center.getInhomX() + size, center.getInhomY() + size,
+                            center.getInhomZ() + size));
+
+            final var n = bvh.locateOverlapping(box, list, list.length);
+            final var found = new HashSet<Integer>();
+            for (var j = 0; j < n; j++) {
+                found.add(list[j]);
+            }
+            assertEquals(n, found.size());
+
+            for (var j = 0; j < triangles.size(); j++) {
+                final var triangle = triangles.get(j);
+                if (isInside(box, triangle.getVertex1()) || isInside(box, triangle.getVertex2())
+                        || isInside(box, triangle.getVertex3()) || isInside(box, triangle.getCenter())) {
+                    // triangles having points inside box overlap it
+                    assertTrue(found.contains(j));
+                }
+                if (!boundsOverlap(box, triangle)) {
+                    // triangles whose bounds do not overlap box cannot overlap it
+                    assertFalse(found.contains(j));
+                }
+            }
+        }
+
+        // a triangle crossing a box without any vertex inside it overlaps the box
+        final var crossing = new Triangle3D(new InhomogeneousPoint3D(-10.0, -10.0, 0.0),
+                new InhomogeneousPoint3D(10.0, -10.0, 0.0), new InhomogeneousPoint3D(0.0, 20.0, 0.0));
+        final var single = new BoundingVolumeHierarchy3D(Collections.singletonList(crossing));
+        final var box = new Box3D(new InhomogeneousPoint3D(-1.0, -1.0, -1.0), new InhomogeneousPoint3D(1.0, 1.0, 1.0));
+        assertEquals(1, single.locateOverlapping(box, list, 1));
+
+        // a box inside the bounds of a triangle but separated by its plane does not overlap it
+        final var tilted = new Triangle3D(new InhomogeneousPoint3D(-10.0, 0.0, -10.0),
+                new InhomogeneousPoint3D(10.0, 0.0, 10.0), new InhomogeneousPoint3D(10.0, 10.0, 10.0));
+        final var separated = new BoundingVolumeHierarchy3D(Collections.singletonList(tilted));
+        final var corner = new Box3D(new InhomogeneousPoint3D(-9.0, 1.0, 7.0), new InhomogeneousPoint3D(-8.0, 2.0, 8.0));
+        assertEquals(0, separated.locateOverlapping(corner, list, 1));
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> bvh.locateOverlapping(box, list, 0));
+        assertThrows(IllegalArgumentException.class, () -> bvh.locateOverlapping(box, new int[1], 2));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testClosestPointBenchmark() {
+        final var randomizer = new UniformRandomizer();
+        final var triangles = createTriangles(randomizer, BENCHMARK_TRIANGLES);
+        final var queries = new ArrayList<Point3D>();
+        for (var i = 0; i < BENCHMARK_QUERIES; i++) {
+            queries.add(createPoint(randomizer));
+        }
+
+        var startTime = System.nanoTime();
+        final var bvh = new BoundingVolumeHierarchy3D(triangles);
+        final var buildTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        final var parallel = new BoundingVolumeHierarchy3D(triangles, BoundingVolumeHierarchy3D.DEFAULT_SPLIT_METHOD,
+                ForkJoinPool.commonPool());
+        final var parallelBuildTime = System.nanoTime() - startTime;
+        assertEquals(bvh.getNumberOfNodes(), parallel.getNumberOfNodes());
+
+        startTime = System.nanoTime();
+        final var indices = new int[BENCHMARK_QUERIES];
+        for (var i = 0; i < BENCHMARK_QUERIES; i++) {
+            indices[i] = bvh.closestTriangleIndex(queries.get(i));
+        }
+        final var queryTime = System.nanoTime() - startTime;
+
+        // brute force on a subset of queries
+        final var bruteForceQueries = BENCHMARK_QUERIES / 100;
+        startTime = System.nanoTime();
+        for (var i = 0; i < bruteForceQueries; i++) {
+            final var point = queries.get(i);
+            var bestDistance = Double.MAX_VALUE;
+            for (final var triangle : triangles) {
+                bestDistance = Math.min(bestDistance, point.distanceTo(closestPoint(triangle, point)));
+            }
+            assertEquals(bestDistance, point.distanceTo(closestPoint(triangles.get(indices[i]), point)),
+                    ABSOLUTE_ERROR);
+        }
+        final var bruteForceTime = (System.nanoTime() - startTime) * (BENCHMARK_QUERIES / bruteForceQueries);
+
+        Logger.getGlobal().log(Level.INFO, String.format(
+                "BVH build: %d ms, parallel build: %d ms, depth: %d, closest point queries: %d ms, "
+                        + "estimated brute force: %d ms",
+                buildTime / 1000000, parallelBuildTime / 1000000, bvh.getDepth(), queryTime / 1000000,
+                bruteForceTime / 1000000));
+    }
+
+    private static List<Triangle3D> createTriangles(final UniformRandomizer randomizer, final int n) {
+        final var triangles = new ArrayList<Triangle3D>(n);
+        for (var i = 0; i < n; i++) {
+            final var center = createPoint(randomizer);
+            final var vertices = new Point3D[3];
+            for (var v = 0; v < 3; v++) {
+                vertices[v] = new InhomogeneousPoint3D(
+                        center.getInhomX() + randomizer.nextDouble(-MAX_TRIANGLE_SIZE, MAX_TRIANGLE_SIZE),
+                        center.getInhomY() + randomizer.nextDouble(-MAX_TRIANGLE_SIZE, MAX_TRIANGLE_SIZE),
+                        center.getInhomZ() + randomizer.nextDouble(-MAX_TRIANGLE_SIZE, MAX_TRIANGLE_SIZE));
+            }
+            triangles.add(new Triangle3D(vertices[0], vertices[1], vertices[2]));
+        }
+        return triangles;
+    }
+
+    private static List<Triangle3D> createSphere() {
+        final var vertices = new Point3D[SPHERE_STACKS + 1][SPHERE_SLICES];
+        for (var i = 0; i <= SPHERE_STACKS; i++) {
+            final var theta = Math.PI * i / SPHERE_STACKS;
+            for (var j = 0; j < SPHERE_SLICES; j++) {
+                final var phi = 2.0 * Math.PI * j / SPHERE_SLICES;
+                vertices[i][j] = new InhomogeneousPoint3D(SPHERE_RADIUS * Math.sin(theta) * Math.cos(phi),
+                        SPHERE_RADIUS * Math.sin(theta) * Math.sin(phi), SPHERE_RADIUS * Math.cos(theta));
+            }
+        }
+
+        final var triangles = new ArrayList<Triangle3D>();
+        for (var i = 0; i < SPHERE_STACKS; i++) {
+            for (var j = 0; j < SPHERE_SLICES; j++) {
+                final var next = (j + 1) % SPHERE_SLICES;
+                if (i > 0) {
+                    triangles.add(new Triangle3D(vertices[i][j], vertices[i][next], vertices[i + 1][j]));
+                }
+                if (i < SPHERE_STACKS - 1) {
+                    triangles.add(new Triangle3D(vertices[i][next], vertices[i + 1][next], vertices[i + 1][j]));
+                }
+            }
+        }
+        return triangles;
+    }
+
+    private static List<Triangle3D> createCube() {
+        final var vertices = new Point3D[8];
+        for (var i = 0; i < 8; i++) {
+            vertices[i] = new InhomogeneousPoint3D((i & 1) == 0 ? -CUBE_HALF_SIZE : CUBE_HALF_SIZE,
+                    (i & 2) == 0 ? -CUBE_HALF_SIZE : CUBE_HALF_SIZE, (i & 4) == 0 ? -CUBE_HALF_SIZE : CUBE_HALF_SIZE);
+        }
+
+        // each face is split into two triangles along one of its diagonals
+        final int[][] faces = {{0, 1, 3, 2}, {4, 5, 7, 6}, {0, 1, 5, 4}, {2, 3, 7, 6}, {0, 2, 6, 4}, {1, 3, 7, 5}};
+        final var triangles = new ArrayList<Triangle3D>();
+        for (final var face : faces) {
+            triangles.add(new Triangle3D(vertices[face[0]], vertices[face[1]], vertices[face[2]]));
+            triangles.add(new Triangle3D(vertices[face[0]], vertices[face[2]], vertices[face[3]]));
+        }
+        return triangles;
+    }
+
+    private static Point3D createPoint(final UniformRandomizer randomizer) {
+        return new InhomogeneousPoint3D(randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+    }
+
+    private static Point3D createPointInShell(final UniformRandomizer randomizer, final double minRadius,
+                                              final double maxRadius) {
+        final var radius = randomizer.nextDouble(minRadius, maxRadius);
+        final var theta = randomizer.nextDouble(0.0, Math.PI);
+        final var phi = randomizer.nextDouble(0.0, 2.0 * Math.PI);
+        return new InhomogeneousPoint3D(radius * Math.sin(theta) * Math.cos(phi),
+                radius * Math.sin(theta) * Math.sin(phi), radius * Math.cos(theta));
+    }
+
+    private static Line3D createLine(final Point3D origin, final double[] direction)
+            throws CoincidentPlanesException {
+        // line is the intersection of two planes containing origin and whose normals are orthogonal to direction
+        final var helper = Math.abs(direction[0]) < Math.abs(direction[1])
+                ? new double[]{1.0, 0.0, 0.0} : new double[]{0.0, 1.0, 0.0};
+        final var n1 = cross(direction, helper);
+        final var n2 = cross(direction, n1);
+        final var plane1 = new Plane(n1[0], n1[1], n1[2], -(n1[0] * origin.getInhomX()
+                + n1[1] * origin.getInhomY() + n1[2] * origin.getInhomZ()));
+        final var plane2 = new Plane(n2[0], n2[1], n2[2], -(n2[0] * origin.getInhomX()
+                + n2[1] * origin.getInhomY() + n2[2] * origin.getInhomZ()));
+        return new Line3D(plane1, plane2);
+    }
+
+    private static double rayTriangle(final Triangle3D triangle, final Point3D origin, final double[] direction) {
+        // intersect ray with triangle plane and check whether intersection is inside triangle
+        final var v1 = triangle.getVertex1();
+        final var v2 = triangle.getVertex2();
+        final var v3 = triangle.getVertex3();
+        final var e1 = new double[]{v2.getInhomX() - v1.getInhomX(), v2.getInhomY() - v1.getInhomY(),
+                v2.getInhomZ() - v1.getInhomZ()};
+        final var e2 = new double[]{v3.getInhomX() - v1.getInhomX(), v3.getInhomY() - v1.getInhomY(),
+                v3.getInhomZ() - v1.getInhomZ()};
+        final var normal = cross(e1, e2);
+        final var denominator = normal[0] * direction[0] + normal[1] * direction[1] + normal[2] * direction[2];
+        if (denominator == 0.0) {
+            return Double.NaN;
+        }
+        final var t = (normal[0] * (v1.getInhomX() - origin.getInhomX())
+                + normal[1] * (v1.getInhomY() - origin.getInhomY())
+                + normal[2] * (v1.getInhomZ() - origin.getInhomZ())) / denominator;
+        final var point = new InhomogeneousPoint3D(origin.getInhomX() + t * direction[0],
+                origin.getInhomY() + t * direction[1], origin.getInhomZ() + t * direction[2]);
+        return triangle.isInside(point, ABSOLUTE_ERROR) ? t : Double.NaN;
+    }
+
+    private static Point3D closestPoint(final Triangle3D triangle, final Point3D point) {
+        // project point on triangle plane and use it if inside triangle, otherwise closest point is on an edge
+        final var v1 = triangle.getVertex1();
+        final var v2 = triangle.getVertex2();
+        final var v3 = triangle.getVertex3();
+        final var e1 = new double[]{v2.getInhomX() - v1.getInhomX(), v2.getInhomY() - v1.getInhomY(),
+                v2.getInhomZ() - v1.getInhomZ()};
+        final var e2 = new double[]{v3.getInhomX() - v1.getInhomX(), v3.getInhomY() - v1.getInhomY(),
+                v3.getInhomZ() - v1.getInhomZ()};
+        final var normal = cross(e1, e2);
+        final var sqrNorm = normal[0] * normal[0] + normal[1] * normal[1] + normal[2] * normal[2];
+        final var t = (normal[0] * (point.getInhomX() - v1.getInhomX())
+                + normal[1] * (point.getInhomY() - v1.getInhomY())
+                + normal[2] * (point.getInhomZ() - v1.getInhomZ())) / sqrNorm;
+        final var projected = new InhomogeneousPoint3D(point.getInhomX() - t * normal[0],
+                point.getInhomY() - t * normal[1], point.getInhomZ() - t * normal[2]);
+        if (triangle.isInside(projected, ABSOLUTE_ERROR)) {
+            return projected;
+        }
+
+        Point3D best = null;
+        var bestDistance = Double.MAX_VALUE;
+        for (final var candidate : new Point3D[]{closestPointOnSegment(v1, v2, point),
+                closestPointOnSegment(v2, v3, point), closestPointOnSegment(v3, v1, point)}) {
+            final var distance = point.distanceTo(candidate);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static Point3D closestPointOnSegment(final Point3D start, final Point3D end, final Point3D point) {
+        final var dx = end.getInhomX() - start.getInhomX();
+        final var dy = end.getInhomY() - start.getInhomY();
+        final var dz = end.getInhomZ() - start.getInhomZ();
+        var s = ((point.getInhomX() - start.getInhomX()) * dx + (point.getInhomY() - start.getInhomY()) * dy
+                + (point.getInhomZ() - start.getInhomZ()) * dz) / (dx * dx + dy * dy + dz * dz);
+        s = Math.max(0.0, Math.min(1.0, s));
+        return new InhomogeneousPoint3D(start.getInhomX() + s * dx, start.getInhomY() + s * dy,
+                start.getInhomZ() + s * dz);
+    }
+
+    private static double[] cross(final double[] a, final double[] b) {
+        return new double[]{a[1] * b[2] - a[2] * b[1], a[2] * b[0] - a[0] * b[2], a[0] * b[1] - a[1] * b[0]};
+    }
+
+    private static boolean isInside(final Box3D box, final Point3D point) {
+        final var lo = box.getLo();
+        final var hi = box.getHi();
+        return point.getInhomX() >= lo.getInhomX() && point.getInhomX() <= hi.getInhomX()
+                && point.getInhomY() >= lo.getInhomY() && point.getInhomY() <= hi.getInhomY()
+                && point.getInhomZ() >= lo.getInhomZ() && point.getInhomZ() <= hi.getInhomZ();
+    }
+
+    private static boolean boundsOverlap(final Box3D box, final Triangle3D triangle) {
+        final var lo = box.getLo();
+        final var hi = box.getHi();
+        final var vertices = triangle.getVertices();
+        var minX = Double.MAX_VALUE;
+        var minY = Double.MAX_VALUE;
+        var minZ = Double.MAX_VALUE;
+        var maxX = -Double.MAX_VALUE;
+        var maxY = -Double.MAX_VALUE;
+        var maxZ = -Double.MAX_VALUE;
+        for (final var vertex : vertices) {
+            minX = Math.min(minX, vertex.getInhomX());
+            minY = Math.min(minY, vertex.getInhomY());
+            minZ = Math.min(minZ, vertex.getInhomZ());
+            maxX = Math.max(maxX, vertex.getInhomX());
+            maxY = Math.max(maxY, vertex.getInhomY());
+            maxZ = Math.max(maxZ, vertex.getInhomZ());
+        }
+        return minX <= hi.getInhomX() && maxX >= lo.getInhomX() && minY <= hi.getInhomY()
+                && maxY >= lo.getInhomY() && minZ <= hi.getInhomZ() && maxZ >= lo.getInhomZ();
+    }
+
+    private static void checkBounds(final List<Triangle3D> triangles, final Box3D bounds) {
+        var minX = Double.MAX_VALUE;
+        var maxX = -Double.MAX_VALUE;
+        for (final var triangle : triangles) {
+            for (final var vertex : triangle.getVertices()) {
+                minX = Math.min(minX, vertex.getInhomX());
+                maxX = Math.max(maxX, vertex.getInhomX());
+                assertTrue(isInside(bounds, vertex));
+            }
+        }
+        assertEquals(minX, bounds.getLo().getInhomX(), 0.0);
+        assertEquals(maxX, bounds.getHi().getInhomX(), 0.0);
+    }
+}
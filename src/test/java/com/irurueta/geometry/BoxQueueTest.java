@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoxQueueTest {
+
+    private static final int MIN_BOXES = 1;
+    private static final int MAX_BOXES = 500;
+
+    @Test
+    void testConstructor() {
+        final var queue = new BoxQueue();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testPushAndPop() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_BOXES, MAX_BOXES);
+
+        final var queue = new BoxQueue();
+        final var distances = new double[n];
+        for (var i = 0; i < n; i++) {
+            distances[i] = randomizer.nextDouble();
+            queue.push(i, distances[i]);
+        }
+
+        assertFalse(queue.isEmpty());
+        assertEquals(n, queue.size());
+
+        // boxes are popped by increasing distance
+        final var sorted = Arrays.copyOf(distances, n);
+        Arrays.sort(sorted);
+        for (var i = 0; i < n; i++) {
+            assertEquals(sorted[i], queue.peekDistance(), 0.0);
+            final var box = queue.pop();
+            assertEquals(sorted[i], distances[box], 0.0);
+        }
+
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testClear() {
+        final var queue = new BoxQueue();
+        queue.push(1, 1.0);
+        queue.push(2, 2.0);
+
+        assertEquals(2, queue.size());
+
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicKDTree2DTest {
+
+    private static final double ABSOLUTE_ERROR = 1e-9;
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+
+    private static final int MIN_POINTS = 50;
+    private static final int MAX_POINTS = 500;
+
+    private static final int MAX_NEIGHBOURS = 10;
+
+    private static final int TIMES = 50;
+
+    @Test
+    void testConstructor() {
+        // test empty constructor
+        var tree = new DynamicKDTree2D();
+
+        // check
+        assertEquals(2, tree.getDimensions());
+        assertEquals(0, tree.size());
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.getHeight());
+        assertEquals(-1, tree.nearestIndex(createPoint(new UniformRandomizer())));
+        assertNull(tree.nearestPoint(createPoint(new UniformRandomizer())));
+
+        // test constructor with collection of points
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var points = new ArrayList<Point2D>();
+        for (var i = 0; i < n; i++) {
+            points.add(createPoint(randomizer));
+        }
+        tree = new DynamicKDTree2D(points);
+
+        // check
+        assertEquals(n, tree.size());
+        assertFalse(tree.isEmpty());
+        for (var i = 0; i < n; i++) {
+            assertTrue(tree.contains(i));
+            assertSame(points.get(i), tree.getPoint(i));
+        }
+        assertFalse(tree.contains(-1));
+        assertFalse(tree.contains(n));
+
+        // tree is balanced
+        assertEquals(32 - Integer.numberOfLeadingZeros(n), tree.getHeight());
+    }
+
+    @Test
+    void testAddAndRemove() {
+        final var randomizer = new UniformRandomizer();
+        final var tree = new DynamicKDTree2D();
+        final var reference = new HashMap<Integer, Point2D>();
+
+        // add points one by one
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        for (var i = 0; i < n; i++) {
+            final var p = createPoint(randomizer);
+            final var index = tree.add(p);
+            assertNull(reference.put(index, p));
+            assertEquals(reference.size(), tree.size());
+
+            // tree is kept balanced
+            assertTrue(tree.getHeight() <= maxHeight(reference.size()));
+        }
+        checkTree(tree, reference, randomizer);
+
+        // remove some points
+        final var indices = new ArrayList<>(reference.keySet());
+        for (final var index : indices) {
+            if (randomizer.nextBoolean()) {
+                assertTrue(tree.remove(index));
+                assertFalse(tree.remove(index));
+                reference.remove(index);
+                assertFalse(tree.contains(index));
+                assertEquals(reference.size(), tree.size());
+            }
+        }
+        checkTree(tree, reference, randomizer);
+
+        // interleave additions and removals
+        for (var t = 0; t < TIMES * n; t++) {
+            if (reference.isEmpty() || randomizer.nextBoolean()) {
+                final var p = createPoint(randomizer);
+                final var index = tree.add(p);
+                assertNull(reference.put(index, p));
+            } else {
+                final var index = reference.keySet().iterator().next();
+                assertTrue(tree.remove(index));
+                reference.remove(index);
+            }
+            assertEquals(reference.size(), tree.size());
+        }
+        checkTree(tree, reference, randomizer);
+
+        // tree is kept balanced, although removed points might still be linked
+        assertTrue(tree.getHeight() <= maxHeight(2 * reference.size() + 1));
+
+        // remove all points
+        for (final var index : new ArrayList<>(reference.keySet())) {
+            assertTrue(tree.remove(index));
+        }
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.getHeight());
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.add(null));
+        assertThrows(IllegalArgumentException.class, () -> tree.getPoint(0));
+    }
+
+    @Test
+    void testClear() {
+        final var randomizer = new UniformRandomizer();
+        final var tree = new DynamicKDTree2D();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        for (var i = 0; i < n; i++) {
+            tree.add(createPoint(randomizer));
+        }
+        assertEquals(n, tree.size());
+
+        tree.clear();
+
+        // check
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.getHeight());
+        assertFalse(tree.contains(0));
+
+        // tree can be refilled
+        final var p = createPoint(randomizer);
+        assertEquals(0, tree.add(p));
+        assertSame(p, tree.nearestPoint(p));
+    }
+
+    @Test
+    void testDistance() {
+        final var randomizer = new UniformRandomizer();
+        final var points = new ArrayList<Point2D>();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        for (var i = 0; i < n; i++) {
+            points.add(createPoint(randomizer));
+        }
+        final var tree = new DynamicKDTree2D(points);
+
+        for (var i = 0; i < n; i++) {
+            for (var j = 0; j < n; j++) {
+                if (i == j) {
+                    assertEquals(KDTree.BIG, tree.distance(i, j), 0.0);
+                } else {
+                    assertEquals(points.get(i).distanceTo(points.get(j)), tree.distance(i, j), ABSOLUTE_ERROR);
+                }
+            }
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.distance(0, n));
+    }
+
+    private static void checkTree(final DynamicKDTree2D tree, final Map<Integer, Point2D> reference,
+                                  final UniformRandomizer randomizer) {
+        for (final var entry : reference.entrySet()) {
+            assertTrue(tree.contains(entry.getKey()));
+            assertSame(entry.getValue(), tree.getPoint(entry.getKey()));
+        }
+
+        final var n = reference.size();
+        final var k = Math.min(n, randomizer.nextInt(1, MAX_NEIGHBOURS));
+        final var nn = new int[k];
+        final var dn = new double[k];
+        final var pn = new Point2D[k];
+        final var list = new int[Math.max(n, 1)];
+        final var plist = new Point2D[Math.max(n, 1)];
+        final var distances = new double[n];
+        for (var t = 0; t < TIMES; t++) {
+            final var query = createPoint(randomizer);
+
+            // compute distances by brute force
+            var bestIndex = -1;
+            var bestDist = Double.MAX_VALUE;
+            var pos = 0;
+            for (final var entry : reference.entrySet()) {
+                final var dist = query.distanceTo(entry.getValue());
+                distances[pos++] = dist;
+                if (dist < bestDist) {
+                    bestDist = dist;
+                    bestIndex = entry.getKey();
+                }
+            }
+            Arrays.sort(distances);
+
+            // nearest
+            assertEquals(bestIndex, tree.nearestIndex(query));
+            if (bestIndex >= 0) {
+                assertSame(reference.get(bestIndex), tree.nearestPoint(query));
+            }
+
+            // n nearest sorted by increasing distance
+            tree.nNearest(query, nn, dn, k);
+            for (var j = 0; j < k; j++) {
+                assertEquals(distances[j], dn[j], ABSOLUTE_ERROR);
+                assertEquals(query.distanceTo(reference.get(nn[j])), dn[j], ABSOLUTE_ERROR);
+            }
+            tree.nNearest(query, pn, dn, k);
+            for (var j = 0; j < k; j++) {
+                assertEquals(distances[j], query.distanceTo(pn[j]), ABSOLUTE_ERROR);
+            }
+
+            // radius search
+            final var r = randomizer.nextDouble(0.0, MAX_RANDOM_VALUE);
+            var expected = 0;
+            for (final var p : reference.values()) {
+                if (query.distanceTo(p) <= r) {
+                    expected++;
+                }
+            }
+            final var nret = tree.locateNear(query, r, list, list.length);
+            assertEquals(expected, nret);
+            for (var j = 0; j < nret; j++) {
+                assertTrue(query.distanceTo(reference.get(list[j])) <= r);
+            }
+            assertEquals(expected, tree.locateNear(query, r, plist, plist.length));
+        }
+
+        // Force IllegalArgumentException
+        final var query = createPoint(randomizer);
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(query, nn, dn, -1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(query, new int[n + 1],
+                new double[n + 1], n + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(query, nn, dn, k + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(query, -1.0, list, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(query, 1.0, list, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(query, 1.0, list, list.length + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nearestIndex(new double[3]));
+    }
+
+    private static int maxHeight(final int n) {
+        return (int) (Math.log(n) / Math.log(1.0 / DynamicKDTree.ALPHA)) + 2;
+    }
+
+    private static Point2D createPoint(final UniformRandomizer randomizer) {
+        final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        return new InhomogeneousPoint2D(x, y);
+    }
+}
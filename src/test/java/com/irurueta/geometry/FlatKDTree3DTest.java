@@ -0,0 +1,627 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlatKDTree3DTest {
+
+    private static final double ABSOLUTE_ERROR = 1e-9;
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+
+    private static final int MIN_POINTS = 50;
+    private static final int MAX_POINTS = 500;
+
+    private static final int MAX_NEIGHBOURS = 10;
+
+    private static final double MIN_EPSILON = 0.1;
+    private static final double MAX_EPSILON = 1.0;
+
+    @Test
+    void testConstructor() {
+        final var points = createPoints();
+        final var n = points.size();
+
+        // test constructor with collection of points
+        var tree = new FlatKDTree3D(points);
+
+        // check
+        assertEquals(3, tree.getDimensions());
+        assertEquals(n, tree.getNumberOfPoints());
+        assertEquals(new KDTree3D(points).boxes.length, tree.getNumberOfBoxes());
+        for (var i = 0; i < n; i++) {
+            assertSame(points.get(i), tree.getPoint(i));
+        }
+
+        // test constructor with arrays of coordinates
+        final var x = new double[n];
+        final var y = new double[n];
+        final var z = new double[n];
+        for (var i = 0; i < n; i++) {
+            x[i] = points.get(i).getInhomX();
+            y[i] = points.get(i).getInhomY();
+            z[i] = points.get(i).getInhomZ();
+        }
+        tree = new FlatKDTree3D(x, y, z);
+
+        // check
+        assertEquals(n, tree.getNumberOfPoints());
+        for (var i = 0; i < n; i++) {
+            assertTrue(points.get(i).equals(tree.getPoint(i), ABSOLUTE_ERROR));
+            for (var j = 0; j < 3; j++) {
+                assertEquals(points.get(i).getInhomogeneousCoordinate(j), tree.getCoordinate(i, j), 0.0);
+            }
+        }
+
+        // test constructor with point cloud
+        tree = new FlatKDTree3D(new PointCloud3D(points));
+
+        // check
+        assertEquals(n, tree.getNumberOfPoints());
+        for (var i = 0; i < n; i++) {
+            assertTrue(points.get(i).equals(tree.getPoint(i), ABSOLUTE_ERROR));
+        }
+
+        // Force IllegalArgumentException
+        final var fewPoints = new ArrayList<Point3D>();
+        fewPoints.add(points.get(0));
+        fewPoints.add(points.get(1));
+        assertThrows(IllegalArgumentException.class, () -> new FlatKDTree3D(fewPoints));
+        final var wrong = new double[n + 1];
+        assertThrows(IllegalArgumentException.class, () -> new FlatKDTree3D(wrong, y, z));
+    }
+
+    @Test
+    void testConstructorWithPool() {
+        final var points = createPoints();
+        final var n = points.size();
+
+        final var pool = new ForkJoinPool();
+        try {
+            final var serialTree = new FlatKDTree3D(points);
+            final var trees = List.of(new FlatKDTree3D(points, pool),
+                    new FlatKDTree3D(new PointCloud3D(points), pool));
+
+            // trees are identical
+            for (final var tree : trees) {
+                assertEquals(serialTree.getNumberOfBoxes(), tree.getNumberOfBoxes());
+                for (var k = 0; k < tree.getNumberOfBoxes(); k++) {
+                    assertEquals(serialTree.getBoxMom(k), tree.getBoxMom(k));
+                    assertEquals(serialTree.getBoxDau1(k), tree.getBoxDau1(k));
+                    assertEquals(serialTree.getBoxDau2(k), tree.getBoxDau2(k));
+                    assertEquals(serialTree.getBoxPtLo(k), tree.getBoxPtLo(k));
+                    assertEquals(serialTree.getBoxPtHi(k), tree.getBoxPtHi(k));
+                    for (var j = 0; j < 3; j++) {
+                        assertEquals(serialTree.getBoxLo(k, j), tree.getBoxLo(k, j), 0.0);
+                        assertEquals(serialTree.getBoxHi(k, j), tree.getBoxHi(k, j), 0.0);
+                    }
+                }
+                for (var i = 0; i < n; i++) {
+                    assertEquals(serialTree.getPointIndex(i), tree.getPointIndex(i));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBoxes() {
+        final var points = createPoints();
+
+        final var tree = new FlatKDTree3D(points);
+        final var kdTree = new KDTree3D(points);
+
+        // boxes are equal to the ones of a KDTree
+        for (var k = 0; k < tree.getNumberOfBoxes(); k++) {
+            final var box = kdTree.boxes[k];
+            assertEquals(box.getMom(), tree.getBoxMom(k));
+            assertEquals(box.getDau1(), tree.getBoxDau1(k));
+            assertEquals(box.getDau2(), tree.getBoxDau2(k));
+            assertEquals(box.getPtLo(), tree.getBoxPtLo(k));
+            assertEquals(box.getPtHi(), tree.getBoxPtHi(k));
+            for (var j = 0; j < 3; j++) {
+                assertEquals(box.getLo().getInhomogeneousCoordinate(j), tree.getBoxLo(k, j), 0.0);
+                assertEquals(box.getHi().getInhomogeneousCoordinate(j), tree.getBoxHi(k, j), 0.0);
+            }
+
+            // points of leaf boxes are inside them
+            if (tree.getBoxDau1(k) == 0) {
+                for (var i = tree.getBoxPtLo(k); i <= tree.getBoxPtHi(k); i++) {
+                    final var p = points.get(tree.getPointIndex(i));
+                    assertEquals(0.0, tree.getBoxDistance(k, p), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDistance() {
+        final var points = createPoints();
+        final var n = points.size();
+
+        final var tree = new FlatKDTree3D(points);
+
+        for (var i = 0; i < n; i++) {
+            for (var j = 0; j < n; j++) {
+                if (i == j) {
+                    assertEquals(KDTree.BIG, tree.distance(i, j), 0.0);
+                } else {
+                    assertEquals(points.get(i).distanceTo(points.get(j)), tree.distance(i, j), ABSOLUTE_ERROR);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLocateBoxIndex() {
+        final var points = createPoints();
+
+        final var tree = new FlatKDTree3D(points);
+        final var kdTree = new KDTree3D(points);
+
+        for (final var p : points) {
+            final var boxIndex = tree.locateBoxIndex(p);
+
+            assertEquals(kdTree.locateBoxIndex(p), boxIndex);
+            assertEquals(boxIndex, tree.locateBoxIndex(toArray(p)));
+
+            // point is inside box, so its distance is zero
+            assertEquals(0.0, tree.getBoxDistance(boxIndex, p), 0.0);
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.locateBoxIndex(new double[4]));
+    }
+
+    @Test
+    void testNearestIndexAndPoint() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints();
+        final var n = points.size();
+
+        final var tree = new FlatKDTree3D(points);
+
+        for (var t = 0; t < n; t++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var p = new InhomogeneousPoint3D(x, y, z);
+
+            // find nearest by brute force
+            var bestIndex = 0;
+            var bestDist = Double.MAX_VALUE;
+            for (var j = 0; j < n; j++) {
+                final var dist = p.distanceTo(points.get(j));
+                if (dist < bestDist) {
+                    bestDist = dist;
+                    bestIndex = j;
+                }
+            }
+
+            assertEquals(bestIndex, tree.nearestIndex(p));
+            assertEquals(bestIndex, tree.nearestIndex(toArray(p)));
+            assertSame(points.get(bestIndex), tree.nearestPoint(p));
+        }
+    }
+
+    @Test
+    void testNNearest() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints();
+        final var n = points.size();
+
+        final var tree = new FlatKDTree3D(points);
+
+        final var k = randomizer.nextInt(1, MAX_NEIGHBOURS);
+        final var nn = new int[k];
+        final var dn = new double[k];
+        final var pn = new Point3D[k];
+        final var distances = new double[n - 1];
+        for (var i = 0; i < n; i++) {
+            final var pi = points.get(i);
+
+            // compute sorted distances by brute force
+            var pos = 0;
+            for (var j = 0; j < n; j++) {
+                if (i != j) {
+                    distances[pos++] = pi.distanceTo(points.get(j));
+                }
+            }
+            Arrays.sort(distances);
+
+            tree.nNearest(i, nn, dn, k);
+
+            final var sorted = Arrays.copyOf(dn, k);
+            Arrays.sort(sorted);
+            for (var j = 0; j < k; j++) {
+                assertNotEquals(i, nn[j]);
+                assertEquals(distances[j], sorted[j], ABSOLUTE_ERROR);
+                assertEquals(pi.distanceTo(points.get(nn[j])), dn[j], ABSOLUTE_ERROR);
+            }
+
+            tree.nNearest(pi, pn, dn, k);
+            for (var j = 0; j < k; j++) {
+                assertEquals(pi.distanceTo(pn[j]), dn[j], ABSOLUTE_ERROR);
+            }
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(0, nn, dn, -1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(0, nn, dn, n));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(0, nn, dn, k + 1));
+    }
+
+    @Test
+    void testLocateNear() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints();
+        final var n = points.size();
+
+        final var tree = new FlatKDTree3D(points);
+
+        final var list = new int[n];
+        final var plist = new Point3D[n];
+        for (var i = 0; i < n; i++) {
+            final var p = points.get(i);
+            final var r = randomizer.nextDouble(0.0, MAX_RANDOM_VALUE);
+
+            final var nret = tree.locateNear(p, r, list, n);
+
+            // check by brute force
+            var expected = 0;
+            for (final var q : points) {
+                if (p.distanceTo(q) <= r) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, nret);
+            for (var j = 0; j < nret; j++) {
+                assertTrue(p.distanceTo(points.get(list[j])) <= r);
+            }
+
+            assertEquals(nret, tree.locateNear(toArray(p), r, list, n));
+            assertEquals(nret, tree.locateNear(p, r, plist, n));
+            for (var j = 0; j < nret; j++) {
+                assertTrue(p.distanceTo(plist[j]) <= r);
+            }
+
+            // results are limited to provided maximum
+            assertEquals(1, tree.locateNear(p, r, list, 1));
+        }
+
+        // Force IllegalArgumentException
+        final var p = points.get(0);
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, -1.0, list, n));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, 1.0, list, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, 1.0, list, n + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, -1.0, plist, n));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, 1.0, plist, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, 1.0, plist, n + 1));
+    }
+
+    @Test
+    void testNNearestBatch() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints();
+        final var n = points.size();
+
+        final var tree = new FlatKDTree3D(points);
+
+        final var nQueries = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var k = randomizer.nextInt(1, MAX_NEIGHBOURS);
+        final var queries = new double[nQueries * 3];
+        randomizer.fill(queries, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+
+        final var nn = new int[nQueries * k];
+        final var dn = new double[nQueries * k];
+        final var nn2 = new int[nQueries * k];
+        final var dn2 = new double[nQueries * k];
+        tree.nNearest(queries, nQueries, k, nn, dn);
+        final var pool = new ForkJoinPool();
+        try {
+            tree.nNearest(queries, nQueries, k, nn2, dn2, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        // parallel results are equal to sequential ones
+        assertArrayEquals(nn, nn2);
+        assertArrayEquals(dn, dn2, 0.0);
+
+        // check by brute force
+        final var distances = new double[n];
+        for (var q = 0; q < nQueries; q++) {
+            final var query = Arrays.copyOfRange(queries, q * 3, (q + 1) * 3);
+            for (var j = 0; j < n; j++) {
+                distances[j] = distance(query, points.get(j));
+            }
+            Arrays.sort(distances);
+
+            for (var j = 0; j < k; j++) {
+                // results are sorted by increasing distance
+                assertEquals(distances[j], dn[q * k + j], ABSOLUTE_ERROR);
+                assertEquals(distance(query, points.get(nn[q * k + j])), dn[q * k + j], ABSOLUTE_ERROR);
+            }
+
+            // nearest result is the same as single query
+            assertEquals(tree.nearestIndex(query), nn[q * k]);
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(queries, nQueries, -1, nn, dn));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(queries, nQueries, n + 1, nn, dn));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(queries, nQueries, k + 1, nn, dn));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(queries, nQueries + 1, k, nn, dn));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(queries, -1, k, nn, dn));
+    }
+
+    @Test
+    void testNNearestAll() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints();
+        final var n = points.size();
+
+        final var tree = new FlatKDTree3D(points);
+
+        final var k = randomizer.nextInt(1, MAX_NEIGHBOURS);
+        final var nn = new int[n * k];
+        final var dn = new double[n * k];
+        final var nn2 = new int[n * k];
+        final var dn2 = new double[n * k];
+        tree.nNearestAll(k, nn, dn);
+        final var pool = new ForkJoinPool();
+        try {
+            tree.nNearestAll(k, nn2, dn2, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        // parallel results are equal to sequential ones
+        assertArrayEquals(nn, nn2);
+        assertArrayEquals(dn, dn2, 0.0);
+
+        final var singleNn = new int[k];
+        final var singleDn = new double[k];
+        for (var i = 0; i < n; i++) {
+            tree.nNearest(i, singleNn, singleDn, k);
+            Arrays.sort(singleDn);
+
+            for (var j = 0; j < k; j++) {
+                // point itself is excluded
+                assertNotEquals(i, nn[i * k + j]);
+                // results are sorted by increasing distance and match single queries
+                assertEquals(singleDn[j], dn[i * k + j], ABSOLUTE_ERROR);
+                assertEquals(points.get(i).distanceTo(points.get(nn[i * k + j])), dn[i * k + j], ABSOLUTE_ERROR);
+            }
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearestAll(-1, nn, dn));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearestAll(n, nn, dn));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearestAll(k + 1, nn, dn));
+    }
+
+    @Test
+    void testLocateNearBatch() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints();
+        final var n = points.size();
+
+        final var tree = new FlatKDTree3D(points);
+
+        final var nQueries = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var queries = new double[nQueries * 3];
+        randomizer.fill(queries, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var r = randomizer.nextDouble(0.0, MAX_RANDOM_VALUE);
+
+        final var list = new int[nQueries * n];
+        final var counts = new int[nQueries];
+        final var list2 = new int[nQueries * n];
+        final var counts2 = new int[nQueries];
+        tree.locateNear(queries, nQueries, r, n, list, counts);
+        final var pool = new ForkJoinPool();
+        try {
+            tree.locateNear(queries, nQueries, r, n, list2, counts2, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        // parallel results are equal to sequential ones
+        assertArrayEquals(list, list2);
+        assertArrayEquals(counts, counts2);
+
+        final var singleList = new int[n];
+        for (var q = 0; q < nQueries; q++) {
+            final var query = Arrays.copyOfRange(queries, q * 3, (q + 1) * 3);
+
+            // check by brute force
+            var expected = 0;
+            for (final var p : points) {
+                if (distance(query, p) <= r) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, counts[q]);
+            for (var j = 0; j < counts[q]; j++) {
+                assertTrue(distance(query, points.get(list[q * n + j])) <= r);
+            }
+
+            // results are the same as single query
+            assertEquals(tree.locateNear(query, r, singleList, n), counts[q]);
+            for (var j = 0; j < counts[q]; j++) {
+                assertEquals(singleList[j], list[q * n + j]);
+            }
+        }
+
+        // results are limited to provided maximum
+        final var limitedList = new int[nQueries];
+        tree.locateNear(queries, nQueries, r, 1, limitedList, counts);
+        for (var q = 0; q < nQueries; q++) {
+            assertTrue(counts[q] <= 1);
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(queries, nQueries, -1.0, n, list,
+                counts));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(queries, nQueries, r, 0, list,
+                counts));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(queries, nQueries, r, n + 1, list,
+                counts));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(queries, nQueries + 1, r, 1, list,
+                counts));
+    }
+
+    @Test
+    void testNearestIndexApproximate() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints();
+
+        final var tree = new FlatKDTree3D(points);
+
+        final var epsilon = randomizer.nextDouble(MIN_EPSILON, MAX_EPSILON);
+        final var query = new double[3];
+        for (var i = 0; i < MIN_POINTS; i++) {
+            randomizer.fill(query, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var exactDist = distance(query, points.get(tree.nearestIndex(query)));
+
+            // exact search when epsilon is zero and checks are not bounded
+            assertEquals(exactDist, distance(query, points.get(tree.nearestIndex(query, 0.0,
+                    KDTree.UNLIMITED_CHECKS))), 0.0);
+
+            // distance is bounded by (1 + epsilon) times the exact distance
+            final var index = tree.nearestIndex(query, epsilon, KDTree.UNLIMITED_CHECKS);
+            assertTrue(distance(query, points.get(index)) <= (1.0 + epsilon) * exactDist + ABSOLUTE_ERROR);
+
+            // bounded number of checks still returns a valid point
+            final var p = new InhomogeneousPoint3D(query[0], query[1], query[2]);
+            final var index2 = tree.nearestIndex(p, 0.0, 1);
+            assertTrue(distance(query, points.get(index2)) >= exactDist);
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.nearestIndex(query, -1.0,
+                KDTree.UNLIMITED_CHECKS));
+        assertThrows(IllegalArgumentException.class, () -> tree.nearestIndex(query, 0.0, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.nearestIndex(new double[2], 0.0, 1));
+    }
+
+    @Test
+    void testNNearestBatchApproximate() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints();
+        final var n = points.size();
+
+        final var tree = new FlatKDTree3D(points);
+
+        final var nQueries = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var k = randomizer.nextInt(1, MAX_NEIGHBOURS);
+        final var epsilon = randomizer.nextDouble(MIN_EPSILON, MAX_EPSILON);
+        final var queries = new double[nQueries * 3];
+        randomizer.fill(queries, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+
+        final var nn = new int[nQueries * k];
+        final var dn = new double[nQueries * k];
+        tree.nNearest(queries, nQueries, k, nn, dn);
+
+        // exact search when epsilon is zero and checks are not bounded
+        final var nn2 = new int[nQueries * k];
+        final var dn2 = new double[nQueries * k];
+        tree.nNearest(queries, nQueries, k, nn2, dn2, 0.0, KDTree.UNLIMITED_CHECKS, null);
+        assertArrayEquals(dn, dn2, 0.0);
+
+        // parallel results are equal to sequential ones
+        final var nn3 = new int[nQueries * k];
+        final var dn3 = new double[nQueries * k];
+        final var nn4 = new int[nQueries * k];
+        final var dn4 = new double[nQueries * k];
+        tree.nNearest(queries, nQueries, k, nn3, dn3, epsilon, KDTree.UNLIMITED_CHECKS, null);
+        final var pool = new ForkJoinPool();
+        try {
+            tree.nNearest(queries, nQueries, k, nn4, dn4, epsilon, KDTree.UNLIMITED_CHECKS, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(nn3, nn4);
+        assertArrayEquals(dn3, dn4, 0.0);
+
+        // distances are bounded by (1 + epsilon) times the exact distances
+        for (var q = 0; q < nQueries; q++) {
+            final var query = Arrays.copyOfRange(queries, q * 3, (q + 1) * 3);
+            for (var j = 0; j < k; j++) {
+                final var pos = q * k + j;
+                assertEquals(distance(query, points.get(nn3[pos])), dn3[pos], ABSOLUTE_ERROR);
+                assertTrue(dn3[pos] <= (1.0 + epsilon) * dn[pos] + ABSOLUTE_ERROR);
+                if (j > 0) {
+                    assertTrue(dn3[pos - 1] <= dn3[pos]);
+                }
+            }
+        }
+
+        // bounded number of checks still finds k points
+        tree.nNearest(queries, nQueries, k, nn3, dn3, 0.0, 1, null);
+        for (var pos = 0; pos < nQueries * k; pos++) {
+            assertTrue(dn3[pos] >= dn[pos] - ABSOLUTE_ERROR);
+            assertTrue(dn3[pos] < Double.MAX_VALUE);
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(queries, nQueries, n + 1, nn, dn,
+                0.0, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(queries, nQueries, k + 1, nn, dn,
+                0.0, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(queries, nQueries, k, nn, dn,
+                -1.0, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(queries, nQueries, k, nn, dn,
+                0.0, 0, null));
+    }
+
+    private static double distance(final double[] query, final Point3D p) {
+        var d = 0.0;
+        for (var j = 0; j < 3; j++) {
+            final var diff = query[j] - p.getInhomogeneousCoordinate(j);
+            d += diff * diff;
+        }
+        return Math.sqrt(d);
+    }
+
+    private static double[] toArray(final Point3D p) {
+        return new double[]{p.getInhomX(), p.getInhomY(), p.getInhomZ()};
+    }
+
+    private static List<Point3D> createPoints() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var points = new ArrayList<Point3D>();
+        for (var i = 0; i < n; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            points.add(new InhomogeneousPoint3D(x, y, z));
+        }
+        return points;
+    }
+}
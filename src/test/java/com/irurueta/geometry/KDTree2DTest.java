@@ -16,10 +16,17 @@
 
 package com.irurueta.geometry;
 
+import com.irurueta.algebra.AlgebraException;
+import com.irurueta.algebra.Matrix;
+import com.irurueta.algebra.WrongSizeException;
 import com.irurueta.statistics.UniformRandomizer;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,6 +39,12 @@ class KDTree2DTest {
     private static final int MIN_POINTS = 50;
     private static final int MAX_POINTS = 500;
 
+    private static final int MAX_NEIGHBOURS = 10;
+
+    private static final double MIN_STANDARD_DEVIATION = 1.0;
+    private static final double MAX_STANDARD_DEVIATION = 20.0;
+    private static final double MAX_MAHALANOBIS_DISTANCE = 3.0;
+
     @Test
     void testConstructor() {
         // test empty list
@@ -76,6 +89,49 @@ class KDTree2DTest {
         assertEquals(3, KDTree2D.MIN_PTS);
     }
 
+    @Test
+    void testConstructorWithPool() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var points = new ArrayList<Point2D>();
+        for (var i = 0; i < n; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            points.add(new InhomogeneousPoint2D(x, y));
+        }
+
+        final var pool = new ForkJoinPool();
+        try {
+            final var tree = new KDTree2D(points, pool);
+            final var serialTree = new KDTree2D(points);
+
+            // trees are identical
+            assertEquals(serialTree.boxes.length, tree.boxes.length);
+            for (var k = 0; k < tree.boxes.length; k++) {
+                final var box = tree.boxes[k];
+                final var serialBox = serialTree.boxes[k];
+                assertEquals(serialBox.getMom(), box.getMom());
+                assertEquals(serialBox.getDau1(), box.getDau1());
+                assertEquals(serialBox.getDau2(), box.getDau2());
+                assertEquals(serialBox.getPtLo(), box.getPtLo());
+                assertEquals(serialBox.getPtHi(), box.getPtHi());
+                assertTrue(serialBox.getLo().equals(box.getLo()));
+                assertTrue(serialBox.getHi().equals(box.getHi()));
+            }
+            for (final var p : points) {
+                assertEquals(serialTree.nearestIndex(p), tree.nearestIndex(p));
+            }
+
+            // Force IllegalArgumentException
+            final var fewPoints = new ArrayList<>(points.subList(0, 2));
+            assertThrows(IllegalArgumentException.class, () -> new KDTree2D(fewPoints, pool));
+            assertThrows(IllegalArgumentException.class, () -> new KDTree2D(points, null));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     void testDistance() {
         final var randomizer = new UniformRandomizer();
@@ -876,6 +932,152 @@ class KDTree2DTest {
                 () -> tree.locateNear(p0, 1.0, plist2, numberPoints));
     }
 
+    @Test
+    void testLocateInBox() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createMahalanobisPoints(randomizer);
+        final var n = points.size();
+
+        final var tree = new KDTree2D(points);
+
+        final var list = new int[n];
+        for (var t = 0; t < MIN_POINTS; t++) {
+            final var p1 = createMahalanobisPoint(randomizer);
+            final var p2 = createMahalanobisPoint(randomizer);
+            final var lo = new InhomogeneousPoint2D();
+            final var hi = new InhomogeneousPoint2D();
+            for (var d = 0; d < 2; d++) {
+                lo.setInhomogeneousCoordinate(d, Math.min(p1.getInhomogeneousCoordinate(d),
+                        p2.getInhomogeneousCoordinate(d)));
+                hi.setInhomogeneousCoordinate(d, Math.max(p1.getInhomogeneousCoordinate(d),
+                        p2.getInhomogeneousCoordinate(d)));
+            }
+            final var region = new Box2D(lo, hi);
+
+            final var found = tree.locateInBox(region, list, n);
+
+            final var expected = new HashSet<Integer>();
+            for (var i = 0; i < n; i++) {
+                if (isInside(points.get(i), lo, hi)) {
+                    expected.add(i);
+                }
+            }
+            final var result = new HashSet<Integer>();
+            for (var i = 0; i < found; i++) {
+                result.add(list[i]);
+            }
+            assertEquals(expected.size(), found);
+            assertEquals(expected, result);
+
+            // search is limited to provided maximum
+            if (found > 0) {
+                assertEquals(1, tree.locateInBox(region, list, 1));
+                assertTrue(expected.contains(list[0]));
+            }
+        }
+
+        // a region containing all points returns all of them
+        final var all = new Box2D(new InhomogeneousPoint2D(MIN_RANDOM_VALUE, MIN_RANDOM_VALUE),
+                new InhomogeneousPoint2D(MAX_RANDOM_VALUE, MAX_RANDOM_VALUE));
+        assertEquals(n, tree.locateInBox(all, list, n));
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.locateInBox(all, list, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateInBox(all, list, n + 1));
+    }
+
+    @Test
+    void testLocateNearMahalanobis() throws AlgebraException {
+        final var randomizer = new UniformRandomizer();
+        final var points = createMahalanobisPoints(randomizer);
+        final var n = points.size();
+
+        final var tree = new KDTree2D(points);
+
+        final var rotation = createRotation(randomizer);
+        final var variances = createVariances(randomizer);
+        final var accuracy = new Accuracy2D(createCovariance(rotation, variances));
+
+        final var list = new int[n];
+        for (var t = 0; t < MIN_POINTS; t++) {
+            final var p = createMahalanobisPoint(randomizer);
+            final var maxDistance = randomizer.nextDouble(0.0, MAX_MAHALANOBIS_DISTANCE);
+
+            final var found = tree.locateNear(p, accuracy, maxDistance, list, n);
+
+            final var expected = new HashSet<Integer>();
+            for (var i = 0; i < n; i++) {
+                if (mahalanobis(points.get(i), p, rotation, variances) <= maxDistance) {
+                    expected.add(i);
+                }
+            }
+            final var result = new HashSet<Integer>();
+            for (var i = 0; i < found; i++) {
+                result.add(list[i]);
+            }
+            assertEquals(expected, result);
+
+            // gate defined by standard deviation factor of accuracy
+            final var found2 = tree.locateNear(p, accuracy, list, n);
+            var expected2 = 0;
+            for (var i = 0; i < n; i++) {
+                if (mahalanobis(points.get(i), p, rotation, variances) <= accuracy.getStandardDeviationFactor()) {
+                    expected2++;
+                }
+            }
+            assertEquals(expected2, found2);
+        }
+
+        // Force IllegalArgumentException
+        final var p = createMahalanobisPoint(randomizer);
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, accuracy, -1.0, list, n));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, accuracy, 1.0, list, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, accuracy, 1.0, list, n + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, new Accuracy2D(), 1.0, list, n));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, new Accuracy3D(
+                Matrix.identity(3, 3)), list, n));
+    }
+
+    @Test
+    void testNNearestMahalanobis() throws AlgebraException {
+        final var randomizer = new UniformRandomizer();
+        final var points = createMahalanobisPoints(randomizer);
+        final var n = points.size();
+
+        final var tree = new KDTree2D(points);
+
+        final var rotation = createRotation(randomizer);
+        final var variances = createVariances(randomizer);
+        final var accuracy = new Accuracy2D(createCovariance(rotation, variances));
+
+        final var k = randomizer.nextInt(1, MAX_NEIGHBOURS);
+        final var nn = new int[k];
+        final var dn = new double[k];
+        final var distances = new double[n];
+        for (var t = 0; t < MIN_POINTS; t++) {
+            final var p = createMahalanobisPoint(randomizer);
+            for (var i = 0; i < n; i++) {
+                distances[i] = mahalanobis(points.get(i), p, rotation, variances);
+            }
+            Arrays.sort(distances);
+
+            tree.nNearest(p, accuracy, nn, dn, k);
+
+            for (var j = 0; j < k; j++) {
+                assertEquals(distances[j], dn[j], ABSOLUTE_ERROR);
+                assertEquals(mahalanobis(points.get(nn[j]), p, rotation, variances), dn[j], ABSOLUTE_ERROR);
+            }
+        }
+
+        // Force IllegalArgumentException
+        final var p = createMahalanobisPoint(randomizer);
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(p, accuracy, nn, dn, -1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(p, accuracy, nn, dn, k + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(p, accuracy, new int[n + 1],
+                new double[n + 1], n + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(p, new Accuracy2D(), nn, dn, k));
+    }
+
     @Test
     void testBoxNode() {
 
@@ -903,4 +1105,73 @@ class KDTree2DTest {
         assertThrows(IllegalArgumentException.class, () -> node.setHi(lo));
         assertThrows(IllegalArgumentException.class, () -> node.setBounds(hi, lo));
     }
+
+    private static List<Point2D> createMahalanobisPoints(final UniformRandomizer randomizer) {
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var points = new ArrayList<Point2D>();
+        for (var i = 0; i < n; i++) {
+            points.add(createMahalanobisPoint(randomizer));
+        }
+        return points;
+    }
+
+    private static Point2D createMahalanobisPoint(final UniformRandomizer randomizer) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        return new InhomogeneousPoint2D(x, y);
+    }
+
+    private static boolean isInside(final Point2D p, final Point2D lo, final Point2D hi) {
+        for (var d = 0; d < 2; d++) {
+            final var value = p.getInhomogeneousCoordinate(d);
+            if (value < lo.getInhomogeneousCoordinate(d) || value > hi.getInhomogeneousCoordinate(d)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double[][] createRotation(final UniformRandomizer randomizer) {
+        final var theta = randomizer.nextDouble(-Math.PI, Math.PI);
+        final var c = Math.cos(theta);
+        final var s = Math.sin(theta);
+        return new double[][]{{c, -s}, {s, c}};
+    }
+
+    private static double[] createVariances(final UniformRandomizer randomizer) {
+        final var result = new double[2];
+        for (var i = 0; i < 2; i++) {
+            final var std = randomizer.nextDouble(MIN_STANDARD_DEVIATION, MAX_STANDARD_DEVIATION);
+            result[i] = std * std;
+        }
+        return result;
+    }
+
+    private static Matrix createCovariance(final double[][] rotation, final double[] variances)
+            throws WrongSizeException {
+        final var result = new Matrix(2, 2);
+        for (var i = 0; i < 2; i++) {
+            for (var j = 0; j < 2; j++) {
+                var value = 0.0;
+                for (var k = 0; k < 2; k++) {
+                    value += rotation[i][k] * variances[k] * rotation[j][k];
+                }
+                result.setElementAt(i, j, value);
+            }
+        }
+        return result;
+    }
+
+    private static double mahalanobis(final Point2D p, final Point2D q, final double[][] rotation,
+                                      final double[] variances) {
+        var result = 0.0;
+        for (var k = 0; k < 2; k++) {
+            var w = 0.0;
+            for (var i = 0; i < 2; i++) {
+                w += rotation[i][k] * (p.getInhomogeneousCoordinate(i) - q.getInhomogeneousCoordinate(i));
+            }
+            result += w * w / variances[k];
+        }
+        return Math.sqrt(result);
+    }
 }
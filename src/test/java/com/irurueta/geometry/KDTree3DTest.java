@@ -16,10 +16,20 @@
 
 package com.irurueta.geometry;
 
+import com.irurueta.algebra.AlgebraException;
+import com.irurueta.algebra.Matrix;
+import com.irurueta.algebra.WrongSizeException;
 import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,6 +42,20 @@ class KDTree3DTest {
     private static final int MIN_POINTS = 50;
     private static final int MAX_POINTS = 500;
 
+    private static final double MIN_STANDARD_DEVIATION = 1.0;
+    private static final double MAX_STANDARD_DEVIATION = 20.0;
+    private static final double MAX_MAHALANOBIS_DISTANCE = 3.0;
+
+    private static final int MAX_NEIGHBOURS = 10;
+
+    private static final double MIN_EPSILON = 0.1;
+    private static final double MAX_EPSILON = 1.0;
+
+    private static final int BENCHMARK_POINTS = 200000;
+    private static final int BENCHMARK_QUERIES = 20000;
+    private static final double BENCHMARK_EPSILON = 0.5;
+    private static final int BENCHMARK_MAX_CHECKS = 4;
+
     @Test
     void testConstructor() {
         // test empty list
@@ -77,6 +101,50 @@ class KDTree3DTest {
         assertEquals(3, KDTree3D.MIN_PTS);
     }
 
+    @Test
+    void testConstructorWithPool() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var points = new ArrayList<Point3D>();
+        for (var i = 0; i < n; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            points.add(new InhomogeneousPoint3D(x, y, z));
+        }
+
+        final var pool = new ForkJoinPool();
+        try {
+            final var tree = new KDTree3D(points, pool);
+            final var serialTree = new KDTree3D(points);
+
+            // trees are identical
+            assertEquals(serialTree.boxes.length, tree.boxes.length);
+            for (var k = 0; k < tree.boxes.length; k++) {
+                final var box = tree.boxes[k];
+                final var serialBox = serialTree.boxes[k];
+                assertEquals(serialBox.getMom(), box.getMom());
+                assertEquals(serialBox.getDau1(), box.getDau1());
+                assertEquals(serialBox.getDau2(), box.getDau2());
+                assertEquals(serialBox.getPtLo(), box.getPtLo());
+                assertEquals(serialBox.getPtHi(), box.getPtHi());
+                assertTrue(serialBox.getLo().equals(box.getLo()));
+                assertTrue(serialBox.getHi().equals(box.getHi()));
+            }
+            for (final var p : points) {
+                assertEquals(serialTree.nearestIndex(p), tree.nearestIndex(p));
+            }
+
+            // Force IllegalArgumentException
+            final var fewPoints = new ArrayList<>(points.subList(0, 2));
+            assertThrows(IllegalArgumentException.class, () -> new KDTree3D(fewPoints, pool));
+            assertThrows(IllegalArgumentException.class, () -> new KDTree3D(points, null));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     void testDistance() {
         final var randomizer = new UniformRandomizer();
@@ -907,6 +975,307 @@ class KDTree3DTest {
         assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p0, 1.0, plist2, numberPoints));
     }
 
+    @Test
+    void testNearestIndexApproximate() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints(randomizer, randomizer.nextInt(MIN_POINTS, MAX_POINTS));
+
+        final var tree = new KDTree3D(points);
+
+        final var epsilon = randomizer.nextDouble(MIN_EPSILON, MAX_EPSILON);
+        for (var i = 0; i < MIN_POINTS; i++) {
+            final var p = createPoint(randomizer);
+            final var exactIndex = tree.nearestIndex(p);
+            final var exactDist = p.distanceTo(points.get(exactIndex));
+
+            // exact search when epsilon is zero and checks are not bounded
+            final var index1 = tree.nearestIndex(p, 0.0, KDTree.UNLIMITED_CHECKS);
+            assertEquals(exactDist, p.distanceTo(points.get(index1)), 0.0);
+
+            // distance is bounded by (1 + epsilon) times the exact distance
+            final var index2 = tree.nearestIndex(p, epsilon, KDTree.UNLIMITED_CHECKS);
+            assertTrue(p.distanceTo(points.get(index2)) <= (1.0 + epsilon) * exactDist + ABSOLUTE_ERROR);
+
+            // bounded number of checks still returns a valid point
+            final var index3 = tree.nearestIndex(p, 0.0, 1);
+            assertTrue(index3 >= 0 && index3 < points.size());
+            assertTrue(p.distanceTo(points.get(index3)) >= exactDist);
+        }
+
+        // Force IllegalArgumentException
+        final var p = createPoint(randomizer);
+        assertThrows(IllegalArgumentException.class, () -> tree.nearestIndex(p, -1.0, KDTree.UNLIMITED_CHECKS));
+        assertThrows(IllegalArgumentException.class, () -> tree.nearestIndex(p, 0.0, 0));
+    }
+
+    @Test
+    void testNNearestApproximate() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints(randomizer, randomizer.nextInt(MIN_POINTS, MAX_POINTS));
+        final var n = points.size();
+
+        final var tree = new KDTree3D(points);
+
+        final var epsilon = randomizer.nextDouble(MIN_EPSILON, MAX_EPSILON);
+        final var k = randomizer.nextInt(1, MAX_NEIGHBOURS);
+        final var nn = new int[k];
+        final var dn = new double[k];
+        final var distances = new double[n - 1];
+        for (var i = 0; i < n; i++) {
+            final var pi = points.get(i);
+            for (int j = 0, pos = 0; j < n; j++) {
+                if (i != j) {
+                    distances[pos++] = pi.distanceTo(points.get(j));
+                }
+            }
+            Arrays.sort(distances);
+
+            // exact search when epsilon is zero and checks are not bounded
+            tree.nNearest(i, nn, dn, k, 0.0, KDTree.UNLIMITED_CHECKS);
+            Arrays.sort(dn);
+            for (var j = 0; j < k; j++) {
+                assertEquals(distances[j], dn[j], ABSOLUTE_ERROR);
+            }
+
+            // distances are bounded by (1 + epsilon) times the exact distances
+            tree.nNearest(i, nn, dn, k, epsilon, KDTree.UNLIMITED_CHECKS);
+            for (var j = 0; j < k; j++) {
+                assertNotEquals(i, nn[j]);
+                assertEquals(pi.distanceTo(points.get(nn[j])), dn[j], ABSOLUTE_ERROR);
+            }
+            Arrays.sort(dn);
+            for (var j = 0; j < k; j++) {
+                assertTrue(dn[j] <= (1.0 + epsilon) * distances[j] + ABSOLUTE_ERROR);
+            }
+
+            // bounded number of checks still finds k points
+            tree.nNearest(i, nn, dn, k, 0.0, 1);
+            for (var j = 0; j < k; j++) {
+                assertNotEquals(i, nn[j]);
+                assertTrue(dn[j] < Double.MAX_VALUE);
+            }
+        }
+
+        // search for a point not contained in the collection
+        final var p = createPoint(randomizer);
+        tree.nNearest(p, nn, dn, k, 0.0, KDTree.UNLIMITED_CHECKS);
+        final var nn2 = new int[k];
+        final var dn2 = new double[k];
+        tree.nNearest(p, nn2, dn2, k);
+        Arrays.sort(dn);
+        Arrays.sort(dn2);
+        assertArrayEquals(dn2, dn, 0.0);
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(0, nn, dn, -1, 0.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(0, nn, dn, n, 0.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(0, nn, dn, k + 1, 0.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(0, nn, dn, k, -1.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(0, nn, dn, k, 0.0, 0));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testApproximateNearestBenchmark() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints(randomizer, BENCHMARK_POINTS);
+        final var queries = createPoints(randomizer, BENCHMARK_QUERIES);
+
+        final var tree = new KDTree3D(points);
+
+        final var exact = new int[BENCHMARK_QUERIES];
+        var start = System.nanoTime();
+        for (var q = 0; q < BENCHMARK_QUERIES; q++) {
+            exact[q] = tree.nearestIndex(queries.get(q));
+        }
+        final var exactTime = System.nanoTime() - start;
+
+        final var epsilonResult = new int[BENCHMARK_QUERIES];
+        start = System.nanoTime();
+        for (var q = 0; q < BENCHMARK_QUERIES; q++) {
+            epsilonResult[q] = tree.nearestIndex(queries.get(q), BENCHMARK_EPSILON, KDTree.UNLIMITED_CHECKS);
+        }
+        final var epsilonTime = System.nanoTime() - start;
+
+        final var checksResult = new int[BENCHMARK_QUERIES];
+        start = System.nanoTime();
+        for (var q = 0; q < BENCHMARK_QUERIES; q++) {
+            checksResult[q] = tree.nearestIndex(queries.get(q), 0.0, BENCHMARK_MAX_CHECKS);
+        }
+        final var checksTime = System.nanoTime() - start;
+
+        var epsilonHits = 0;
+        var checksHits = 0;
+        for (var q = 0; q < BENCHMARK_QUERIES; q++) {
+            final var exactDist = queries.get(q).distanceTo(points.get(exact[q]));
+            final var epsilonDist = queries.get(q).distanceTo(points.get(epsilonResult[q]));
+            assertTrue(epsilonDist <= (1.0 + BENCHMARK_EPSILON) * exactDist + ABSOLUTE_ERROR);
+            if (epsilonDist == exactDist) {
+                epsilonHits++;
+            }
+            if (queries.get(q).distanceTo(points.get(checksResult[q])) == exactDist) {
+                checksHits++;
+            }
+        }
+
+        Logger.getGlobal().log(Level.INFO, "Nearest search of {0} queries on {1} points. Exact: {2} ms, "
+                        + "epsilon {3}: {4} ms (recall {5}), max checks {6}: {7} ms (recall {8})",
+                new Object[]{BENCHMARK_QUERIES, BENCHMARK_POINTS, exactTime / 1000000, BENCHMARK_EPSILON,
+                        epsilonTime / 1000000, (double) epsilonHits / BENCHMARK_QUERIES, BENCHMARK_MAX_CHECKS,
+                        checksTime / 1000000, (double) checksHits / BENCHMARK_QUERIES});
+    }
+
+    @Test
+    void testLocateInBox() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createMahalanobisPoints(randomizer);
+        final var n = points.size();
+
+        final var tree = new KDTree3D(points);
+
+        final var list = new int[n];
+        for (var t = 0; t < MIN_POINTS; t++) {
+            final var p1 = createMahalanobisPoint(randomizer);
+            final var p2 = createMahalanobisPoint(randomizer);
+            final var lo = new InhomogeneousPoint3D();
+            final var hi = new InhomogeneousPoint3D();
+            for (var d = 0; d < 3; d++) {
+                lo.setInhomogeneousCoordinate(d, Math.min(p1.getInhomogeneousCoordinate(d),
+                        p2.getInhomogeneousCoordinate(d)));
+                hi.setInhomogeneousCoordinate(d, Math.max(p1.getInhomogeneousCoordinate(d),
+                        p2.getInhomogeneousCoordinate(d)));
+            }
+            final var region = new Box3D(lo, hi);
+
+            final var found = tree.locateInBox(region, list, n);
+
+            final var expected = new HashSet<Integer>();
+            for (var i = 0; i < n; i++) {
+                if (isInside(points.get(i), lo, hi)) {
+                    expected.add(i);
+                }
+            }
+            final var result = new HashSet<Integer>();
+            for (var i = 0; i < found; i++) {
+                result.add(list[i]);
+            }
+            assertEquals(expected.size(), found);
+            assertEquals(expected, result);
+
+            // search is limited to provided maximum
+            if (found > 0) {
+                assertEquals(1, tree.locateInBox(region, list, 1));
+                assertTrue(expected.contains(list[0]));
+            }
+        }
+
+        // a region containing all points returns all of them
+        final var all = new Box3D(new InhomogeneousPoint3D(MIN_RANDOM_VALUE, MIN_RANDOM_VALUE, MIN_RANDOM_VALUE),
+                new InhomogeneousPoint3D(MAX_RANDOM_VALUE, MAX_RANDOM_VALUE, MAX_RANDOM_VALUE));
+        assertEquals(n, tree.locateInBox(all, list, n));
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.locateInBox(all, list, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateInBox(all, list, n + 1));
+    }
+
+    @Test
+    void testLocateNearMahalanobis() throws AlgebraException {
+        final var randomizer = new UniformRandomizer();
+        final var points = createMahalanobisPoints(randomizer);
+        final var n = points.size();
+
+        final var tree = new KDTree3D(points);
+
+        final var rotation = createRotation(randomizer);
+        final var variances = createVariances(randomizer);
+        final var accuracy = new Accuracy3D(createCovariance(rotation, variances));
+
+        final var list = new int[n];
+        for (var t = 0; t < MIN_POINTS; t++) {
+            final var p = createMahalanobisPoint(randomizer);
+            final var maxDistance = randomizer.nextDouble(0.0, MAX_MAHALANOBIS_DISTANCE);
+
+            final var found = tree.locateNear(p, accuracy, maxDistance, list, n);
+
+            final var expected = new HashSet<Integer>();
+            for (var i = 0; i < n; i++) {
+                if (mahalanobis(points.get(i), p, rotation, variances) <= maxDistance) {
+                    expected.add(i);
+                }
+            }
+            final var result = new HashSet<Integer>();
+            for (var i = 0; i < found; i++) {
+                result.add(list[i]);
+            }
+            assertEquals(expected, result);
+
+            // gate defined by standard deviation factor of accuracy
+            final var found2 = tree.locateNear(p, accuracy, list, n);
+            var expected2 = 0;
+            for (var i = 0; i < n; i++) {
+                if (mahalanobis(points.get(i), p, rotation, variances) <= accuracy.getStandardDeviationFactor()) {
+                    expected2++;
+                }
+            }
+            assertEquals(expected2, found2);
+        }
+
+        // Force IllegalArgumentException
+        final var p = createMahalanobisPoint(randomizer);
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, accuracy, -1.0, list, n));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, accuracy, 1.0, list, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, accuracy, 1.0, list, n + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, new Accuracy3D(), 1.0, list, n));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, new Accuracy2D(
+                Matrix.identity(2, 2)), list, n));
+        final var singularAccuracy = new Accuracy3D(createSingularCovariance(rotation, variances));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, singularAccuracy, 1.0, list, n));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(p, singularAccuracy, list, n));
+    }
+
+    @Test
+    void testNNearestMahalanobis() throws AlgebraException {
+        final var randomizer = new UniformRandomizer();
+        final var points = createMahalanobisPoints(randomizer);
+        final var n = points.size();
+
+        final var tree = new KDTree3D(points);
+
+        final var rotation = createRotation(randomizer);
+        final var variances = createVariances(randomizer);
+        final var accuracy = new Accuracy3D(createCovariance(rotation, variances));
+
+        final var k = randomizer.nextInt(1, MAX_NEIGHBOURS);
+        final var nn = new int[k];
+        final var dn = new double[k];
+        final var distances = new double[n];
+        for (var t = 0; t < MIN_POINTS; t++) {
+            final var p = createMahalanobisPoint(randomizer);
+            for (var i = 0; i < n; i++) {
+                distances[i] = mahalanobis(points.get(i), p, rotation, variances);
+            }
+            Arrays.sort(distances);
+
+            tree.nNearest(p, accuracy, nn, dn, k);
+
+            for (var j = 0; j < k; j++) {
+                assertEquals(distances[j], dn[j], ABSOLUTE_ERROR);
+                assertEquals(mahalanobis(points.get(nn[j]), p, rotation, variances), dn[j], ABSOLUTE_ERROR);
+            }
+        }
+
+        // Force IllegalArgumentException
+        final var p = createMahalanobisPoint(randomizer);
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(p, accuracy, nn, dn, -1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(p, accuracy, nn, dn, k + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(p, accuracy, new int[n + 1],
+                new double[n + 1], n + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(p, new Accuracy3D(), nn, dn, k));
+        final var singularAccuracy = new Accuracy3D(createSingularCovariance(rotation, variances));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(p, singularAccuracy, nn, dn, k));
+    }
+
     @Test
     void testBoxNode() {
 
@@ -934,4 +1303,115 @@ class KDTree3DTest {
         assertThrows(IllegalArgumentException.class, () -> node.setHi(lo));
         assertThrows(IllegalArgumentException.class, () -> node.setBounds(hi, lo));
     }
+
+    private static List<Point3D> createPoints(final UniformRandomizer randomizer, final int n) {
+        final var points = new ArrayList<Point3D>();
+        for (var i = 0; i < n; i++) {
+            points.add(createPoint(randomizer));
+        }
+        return points;
+    }
+
+    private static Point3D createPoint(final UniformRandomizer randomizer) {
+        final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        return new InhomogeneousPoint3D(x, y, z);
+    }
+
+    private static List<Point3D> createMahalanobisPoints(final UniformRandomizer randomizer) {
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var points = new ArrayList<Point3D>();
+        for (var i = 0; i < n; i++) {
+            points.add(createMahalanobisPoint(randomizer));
+        }
+        return points;
+    }
+
+    private static Point3D createMahalanobisPoint(final UniformRandomizer randomizer) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        return new InhomogeneousPoint3D(x, y, z);
+    }
+
+    private static boolean isInside(final Point3D p, final Point3D lo, final Point3D hi) {
+        for (var d = 0; d < 3; d++) {
+            final var value = p.getInhomogeneousCoordinate(d);
+            if (value < lo.getInhomogeneousCoordinate(d) || value > hi.getInhomogeneousCoordinate(d)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double[][] createRotation(final UniformRandomizer randomizer) {
+        final var a = randomizer.nextDouble(-Math.PI, Math.PI);
+        final var b = randomizer.nextDouble(-Math.PI, Math.PI);
+        final var c = randomizer.nextDouble(-Math.PI, Math.PI);
+        final var rz = new double[][]{{Math.cos(a), -Math.sin(a), 0.0}, {Math.sin(a), Math.cos(a), 0.0},
+                {0.0, 0.0, 1.0}};
+        final var ry = new double[][]{{Math.cos(b), 0.0, Math.sin(b)}, {0.0, 1.0, 0.0},
+                {-Math.sin(b), 0.0, Math.cos(b)}};
+        final var rx = new double[][]{{1.0, 0.0, 0.0}, {0.0, Math.cos(c), -Math.sin(c)},
+                {0.0, Math.sin(c), Math.cos(c)}};
+        return multiply(multiply(rz, ry), rx);
+    }
+
+    private static double[][] multiply(final double[][] a, final double[][] b) {
+        final var result = new double[3][3];
+        for (var i = 0; i < 3; i++) {
+            for (var j = 0; j < 3; j++) {
+                for (var k = 0; k < 3; k++) {
+                    result[i][j] += a[i][k] * b[k][j];
+                }
+            }
+        }
+        return result;
+    }
+
+    private static double[] createVariances(final UniformRandomizer randomizer) {
+        final var result = new double[3];
+        for (var i = 0; i < 3; i++) {
+            final var std = randomizer.nextDouble(MIN_STANDARD_DEVIATION, MAX_STANDARD_DEVIATION);
+            result[i] = std * std;
+        }
+        return result;
+    }
+
+    private static Matrix createCovariance(final double[][] rotation, final double[] variances)
+            throws WrongSizeException {
+        final var result = new Matrix(3, 3);
+        for (var i = 0; i < 3; i++) {
+            for (var j = 0; j < 3; j++) {
+                var value = 0.0;
+                for (var k = 0; k < 3; k++) {
+                    value += rotation[i][k] * variances[k] * rotation[j][k];
+                }
+                result.setElementAt(i, j, value);
+            }
+        }
+        return result;
+    }
+
+    private static Matrix createSingularCovariance(final double[][] rotation, final double[] variances)
+            throws WrongSizeException {
+        // covariance degenerated along one of its principal axes
+        final var singularVariances = Arrays.copyOf(variances, variances.length);
+        singularVariances[0] = 0.0;
+        return createCovariance(rotation, singularVariances);
+    }
+
+    private static double mahalanobis(final Point3D p, final Point3D q, final double[][] rotation,
+                                      final double[] variances) {
+        var result = 0.0;
+        for (var k = 0; k < 3; k++) {
+            var w = 0.0;
+            for (var i = 0; i < 3; i++) {
+                w += rotation[i][k] * (p.getInhomogeneousCoordinate(i) - q.getInhomogeneousCoordinate(i));
+            }
+            result += w * w / variances[k];
+        }
+        return Math.sqrt(result);
+    }
 }
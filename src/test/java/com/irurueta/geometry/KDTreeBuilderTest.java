@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KDTreeBuilderTest {
+
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+
+    private static final int MIN_POINTS = 50;
+    private static final int MAX_POINTS = 5000;
+
+    private static final int MIN_THRESHOLD = 2;
+    private static final int MAX_THRESHOLD = 100;
+
+    private static final int MIN_DIMENSIONS = 2;
+    private static final int MAX_DIMENSIONS = 3;
+
+    private static final int BENCHMARK_POINTS = 1000000;
+
+    private static final int PARALLELISM = 4;
+
+    @Test
+    void testBuild() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS + 1);
+        final var threshold = randomizer.nextInt(MIN_THRESHOLD, MAX_THRESHOLD);
+
+        final var columns = new double[n * dim];
+        randomizer.fill(columns, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var columnsCopy = columns.clone();
+
+        final var serial = new KDTreeBuilder(columns, n, dim);
+        serial.build();
+
+        final var pool = new ForkJoinPool(PARALLELISM);
+        try {
+            final var parallel = new KDTreeBuilder(columns, n, dim);
+            parallel.build(pool, threshold);
+
+            // trees are identical
+            assertEquals(serial.nBoxes, parallel.nBoxes);
+            assertArrayEquals(serial.ptIndx, parallel.ptIndx);
+            assertArrayEquals(serial.boxLo, parallel.boxLo, 0.0);
+            assertArrayEquals(serial.boxHi, parallel.boxHi, 0.0);
+            assertArrayEquals(serial.boxMom, parallel.boxMom);
+            assertArrayEquals(serial.boxDau1, parallel.boxDau1);
+            assertArrayEquals(serial.boxDau2, parallel.boxDau2);
+            assertArrayEquals(serial.boxPtLo, parallel.boxPtLo);
+            assertArrayEquals(serial.boxPtHi, parallel.boxPtHi);
+        } finally {
+            pool.shutdown();
+        }
+
+        // input coordinates are not modified
+        assertArrayEquals(columnsCopy, columns, 0.0);
+
+        // points of leaf boxes are inside their bounds
+        for (var k = 0; k < serial.nBoxes; k++) {
+            if (serial.boxDau1[k] != 0) {
+                continue;
+            }
+            for (var i = serial.boxPtLo[k]; i <= serial.boxPtHi[k]; i++) {
+                for (var j = 0; j < dim; j++) {
+                    final var value = columns[j * n + serial.ptIndx[i]];
+                    assertTrue(value >= serial.boxLo[k * dim + j]);
+                    assertTrue(value <= serial.boxHi[k * dim + j]);
+                }
+            }
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testBuildBenchmark() {
+        final var randomizer = new UniformRandomizer();
+        final var dim = Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH;
+        final var columns = new double[BENCHMARK_POINTS * dim];
+        randomizer.fill(columns, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+
+        final var serial = new KDTreeBuilder(columns, BENCHMARK_POINTS, dim);
+        var start = System.nanoTime();
+        serial.build();
+        final var serialTime = System.nanoTime() - start;
+
+        final var pool = ForkJoinPool.commonPool();
+        final var parallel = new KDTreeBuilder(columns, BENCHMARK_POINTS, dim);
+        start = System.nanoTime();
+        parallel.build(pool, KDTreeBuilder.DEFAULT_PARALLEL_THRESHOLD);
+        final var parallelTime = System.nanoTime() - start;
+
+        assertArrayEquals(serial.ptIndx, parallel.ptIndx);
+
+        Logger.getGlobal().log(Level.INFO, "KD-tree build of {0} points. Serial: {1} ms, parallel ({2} threads): "
+                        + "{3} ms, speedup: {4}",
+                new Object[]{BENCHMARK_POINTS, serialTime / 1000000, pool.getParallelism(), parallelTime / 1000000,
+                        (double) serialTime / (double) parallelTime});
+    }
+}
@@ -640,6 +640,91 @@ class PinholeCameraTest {
         assertEquals(scaleW, scaleX, ABSOLUTE_ERROR);
     }
 
+    @Test
+    void testProjectPackedPoints() {
+        final var randomizer = new UniformRandomizer();
+        final var horizontalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+        final var verticalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+        final var skewness = randomizer.nextDouble(MIN_SKEWNESS, MAX_SKEWNESS);
+
+        final var horizontalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+        final var verticalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+
+        final var alphaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var betaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var gammaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+
+        final var intrinsic = new PinholeCameraIntrinsicParameters(horizontalFocalLength, verticalFocalLength,
+                horizontalPrincipalPoint, verticalPrincipalPoint, skewness);
+
+        final var rotation = new MatrixRotation3D(alphaEuler, betaEuler, gammaEuler);
+
+        final var cameraCenterArray = new double[INHOM_3D_COORDS];
+        randomizer.fill(cameraCenterArray, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var cameraCenter = new InhomogeneousPoint3D(cameraCenterArray);
+
+        final var camera = new PinholeCamera(intrinsic, rotation, cameraCenter);
+
+        final var nPoints = randomizer.nextInt(MIN_NUMBER_POINTS, MAX_NUMBER_POINTS);
+        final var xyz = new double[nPoints * INHOM_3D_COORDS];
+        randomizer.fill(xyz, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var uv = new double[nPoints * INHOM_2D_COORDS];
+
+        camera.project(xyz, uv, nPoints);
+
+        // check
+        final var worldPoint = new InhomogeneousPoint3D();
+        final var imagePoint = new InhomogeneousPoint2D();
+        for (var i = 0; i < nPoints; i++) {
+            worldPoint.setCoordinates(xyz[INHOM_3D_COORDS * i], xyz[INHOM_3D_COORDS * i + 1],
+                    xyz[INHOM_3D_COORDS * i + 2]);
+            camera.project(worldPoint, imagePoint);
+
+            assertEquals(imagePoint.getX(), uv[INHOM_2D_COORDS * i], ABSOLUTE_ERROR);
+            assertEquals(imagePoint.getY(), uv[INHOM_2D_COORDS * i + 1], ABSOLUTE_ERROR);
+        }
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> camera.project(xyz, uv, -1));
+        assertThrows(IllegalArgumentException.class, () -> camera.project(xyz, uv, nPoints + 1));
+        assertThrows(IllegalArgumentException.class, () -> camera.project(xyz, new double[1], nPoints));
+    }
+
+    @Test
+    void testProjectAfterCameraChange() throws WrongSizeException {
+        final var camera = new PinholeCamera();
+
+        final var worldPoint = new InhomogeneousPoint3D(1.0, 2.0, 4.0);
+        final var imagePoint = new InhomogeneousPoint2D();
+
+        // canonical camera
+        camera.project(worldPoint, imagePoint);
+
+        // check
+        assertEquals(0.25, imagePoint.getX(), ABSOLUTE_ERROR);
+        assertEquals(0.5, imagePoint.getY(), ABSOLUTE_ERROR);
+
+        // change camera matrix after camera has already been normalized
+        final var internalMatrix = Matrix.identity(PINHOLE_CAMERA_ROWS, PINHOLE_CAMERA_COLS);
+        internalMatrix.setElementAt(0, 0, 2.0);
+        internalMatrix.setElementAt(0, 3, 1.0);
+        camera.setInternalMatrix(internalMatrix);
+
+        camera.project(worldPoint, imagePoint);
+
+        // check
+        assertEquals(0.75, imagePoint.getX(), ABSOLUTE_ERROR);
+        assertEquals(0.5, imagePoint.getY(), ABSOLUTE_ERROR);
+
+        // move camera center
+        camera.setCameraCenter(new InhomogeneousPoint3D(0.0, 0.0, 2.0));
+        camera.project(worldPoint, imagePoint);
+
+        // check
+        assertEquals(1.0, imagePoint.getX(), ABSOLUTE_ERROR);
+        assertEquals(1.0, imagePoint.getY(), ABSOLUTE_ERROR);
+    }
+
     @Test
     void testBackProjectLines() throws WrongSizeException, NotReadyException, LockedException, DecomposerException,
             com.irurueta.algebra.NotAvailableException {
@@ -0,0 +1,362 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.algebra.Matrix;
+import com.irurueta.algebra.WrongSizeException;
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointBuffer3DTest {
+
+    private static final double ABSOLUTE_ERROR = 1e-8;
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+
+    private static final double MIN_FOCAL_LENGTH = 1.0;
+    private static final double MAX_FOCAL_LENGTH = 100.0;
+
+    private static final double MIN_ANGLE_DEGREES = -180.0;
+    private static final double MAX_ANGLE_DEGREES = 180.0;
+
+    private static final int MIN_POINTS = 50;
+    private static final int MAX_POINTS = 500;
+
+    @Test
+    void testConstants() {
+        assertEquals(24, PointBuffer3D.BYTES_PER_POINT);
+        assertEquals(1 << 26, PointBuffer3D.CHUNK_POINTS);
+    }
+
+    @Test
+    void testAllocateDirect() {
+        final var buffer = PointBuffer3D.allocateDirect(3);
+
+        // check default values
+        assertEquals(3, buffer.size());
+        assertFalse(buffer.isMapped());
+        assertFalse(buffer.isReadOnly());
+        assertEquals(new InhomogeneousPoint3D(), buffer.getPoint(2));
+
+        // set values
+        buffer.set(0, 1.0, 2.0, 3.0);
+        buffer.set(1, new HomogeneousPoint3D(2.0, 4.0, 6.0, 2.0));
+
+        // check
+        assertEquals(1.0, buffer.getX(0), 0.0);
+        assertEquals(2.0, buffer.getY(0), 0.0);
+        assertEquals(3.0, buffer.getZ(0), 0.0);
+        final var point = Point3D.create();
+        buffer.getPoint(1, point);
+        assertTrue(point.equals(new InhomogeneousPoint3D(1.0, 2.0, 3.0), ABSOLUTE_ERROR));
+
+        // force IndexOutOfBoundsException
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getX(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getY(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.set(3, 0.0, 0.0, 0.0));
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> PointBuffer3D.allocateDirect(-1));
+
+        // empty buffer
+        final var empty = PointBuffer3D.allocateDirect(0);
+        assertEquals(0, empty.size());
+        assertTrue(empty.asList().isEmpty());
+    }
+
+    @Test
+    void testWrap() {
+        final var values = new double[]{0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0};
+        final var doubleBuffer = DoubleBuffer.wrap(values);
+        doubleBuffer.position(1);
+
+        final var buffer = PointBuffer3D.wrap(doubleBuffer);
+
+        // check
+        assertEquals(2, buffer.size());
+        assertEquals(new InhomogeneousPoint3D(1.0, 2.0, 3.0), buffer.getPoint(0));
+        assertEquals(new InhomogeneousPoint3D(4.0, 5.0, 6.0), buffer.getPoint(1));
+
+        // buffer is not copied
+        buffer.set(1, 7.0, 8.0, 9.0);
+        assertEquals(7.0, values[4], 0.0);
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> PointBuffer3D.wrap(DoubleBuffer.allocate(4)));
+    }
+
+    @Test
+    void testCreateAndMap() throws IOException {
+        final var file = Files.createTempFile("points", ".bin");
+        try {
+            final var buffer = PointBuffer3D.create(file, 2);
+
+            // check
+            assertEquals(2, buffer.size());
+            assertTrue(buffer.isMapped());
+            assertEquals(2L * PointBuffer3D.BYTES_PER_POINT, Files.size(file));
+
+            buffer.set(0, 1.0, 2.0, 3.0);
+            buffer.set(1, 4.0, 5.0, 6.0);
+            buffer.force();
+
+            // check file layout
+            final var bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+            for (var i = 0; i < 6; i++) {
+                assertEquals(i + 1.0, bytes.getDouble(i * Double.BYTES), 0.0);
+            }
+
+            // map in read-only mode
+            final var readBuffer = PointBuffer3D.map(file, false);
+
+            // check
+            assertEquals(2, readBuffer.size());
+            assertTrue(readBuffer.isMapped());
+            assertTrue(readBuffer.isReadOnly());
+            assertEquals(new InhomogeneousPoint3D(4.0, 5.0, 6.0), readBuffer.getPoint(1));
+            assertThrows(ReadOnlyBufferException.class, () -> readBuffer.set(0, 0.0, 0.0, 0.0));
+
+            // map in read-write mode
+            final var writeBuffer = PointBuffer3D.map(file, true);
+            writeBuffer.set(0, -1.0, -2.0, -3.0);
+            assertFalse(writeBuffer.isReadOnly());
+            assertEquals(-1.0, readBuffer.getX(0), 0.0);
+
+            // force IllegalArgumentException
+            Files.write(file, new byte[PointBuffer3D.BYTES_PER_POINT + 1]);
+            assertThrows(IllegalArgumentException.class, () -> PointBuffer3D.map(file, false));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testGetSetPointCloud() {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var cloud = createCloud(randomizer, size);
+        final var buffer = PointBuffer3D.allocateDirect(size + 1L);
+        buffer.set(1, cloud);
+
+        final var result = new PointCloud3D();
+        buffer.get(1, size, result);
+
+        // check
+        assertEquals(size, result.size());
+        for (var i = 0; i < size; i++) {
+            assertEquals(cloud.getPoint(i), result.getPoint(i));
+            assertEquals(cloud.getPoint(i), buffer.getPoint(i + 1));
+        }
+
+        // force IndexOutOfBoundsException
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.set(2, cloud));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(2, size, result));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(-1, 1, result));
+    }
+
+    @Test
+    void testAsList() throws IOException, ClassNotFoundException {
+        final var buffer = PointBuffer3D.allocateDirect(3);
+        buffer.set(0, 1.0, 2.0, 3.0);
+        buffer.set(1, 4.0, 5.0, 6.0);
+        buffer.set(2, 7.0, 8.0, 9.0);
+
+        final var list = buffer.asList();
+        final var subList = buffer.asList(1, 2);
+
+        // check
+        assertEquals(3, list.size());
+        assertEquals(2, subList.size());
+        assertEquals(new InhomogeneousPoint3D(4.0, 5.0, 6.0), list.get(1));
+        assertEquals(new InhomogeneousPoint3D(4.0, 5.0, 6.0), subList.get(0));
+        assertEquals(CoordinatesType.INHOMOGENEOUS_COORDINATES, list.get(0).getType());
+
+        // returned points are copies
+        final var point = subList.get(1);
+        point.setInhomogeneousCoordinates(-7.0, -8.0, -9.0);
+        assertEquals(new InhomogeneousPoint3D(7.0, 8.0, 9.0), buffer.getPoint(2));
+
+        // set through list
+        final var previous = list.set(0, new InhomogeneousPoint3D(10.0, 11.0, 12.0));
+        assertEquals(new InhomogeneousPoint3D(1.0, 2.0, 3.0), previous);
+        assertEquals(10.0, buffer.getX(0), 0.0);
+
+        // points obtained from list can be serialized
+        final var bytes = SerializationHelper.serialize(point);
+        final Point3D point2 = SerializationHelper.deserialize(bytes);
+        assertEquals(InhomogeneousPoint3D.class, point2.getClass());
+        assertEquals(point, point2);
+
+        // force IndexOutOfBoundsException
+        assertThrows(IndexOutOfBoundsException.class, () -> subList.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.asList(2, 2));
+    }
+
+    @Test
+    void testKDTree() {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var cloud = createCloud(randomizer, size);
+        final var buffer = PointBuffer3D.allocateDirect(size);
+        buffer.set(0, cloud);
+
+        final var points = new ArrayList<Point3D>();
+        for (var i = 0; i < size; i++) {
+            points.add(cloud.getPoint(i));
+        }
+
+        final var tree1 = new FlatKDTree3D(points);
+        final var tree2 = new FlatKDTree3D(buffer);
+
+        // check
+        assertEquals(tree1.getNumberOfPoints(), tree2.getNumberOfPoints());
+        assertEquals(tree1.getNumberOfBoxes(), tree2.getNumberOfBoxes());
+        for (var i = 0; i < size; i++) {
+            assertTrue(points.get(i).equals(tree2.getPoint(i), 0.0));
+        }
+
+        final var pool = new ForkJoinPool();
+        try {
+            final var tree3 = new FlatKDTree3D(buffer, pool);
+            assertEquals(tree1.getNumberOfBoxes(), tree3.getNumberOfBoxes());
+
+            final var point = new InhomogeneousPoint3D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+
+            // check
+            assertEquals(tree1.nearestIndex(point), tree2.nearestIndex(point));
+            assertEquals(tree1.nearestIndex(point), tree3.nearestIndex(point));
+        } finally {
+            pool.shutdown();
+        }
+
+        // Force IllegalArgumentException
+        final var fewPoints = PointBuffer3D.allocateDirect(2);
+        assertThrows(IllegalArgumentException.class, () -> new FlatKDTree3D(fewPoints));
+    }
+
+    @Test
+    void testTransform() throws WrongSizeException, IOException {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var t = Matrix.createWithUniformRandomValues(ProjectiveTransformation3D.HOM_COORDS,
+                ProjectiveTransformation3D.HOM_COORDS, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var transformation = new ProjectiveTransformation3D(t);
+
+        final var cloud = createCloud(randomizer, size);
+        final var expected = transformation.transformAndReturnNew(cloud);
+
+        final var file = Files.createTempFile("points", ".bin");
+        try {
+            final var input = PointBuffer3D.create(file, size);
+            input.set(0, cloud);
+
+            // transform into another buffer
+            final var output = PointBuffer3D.allocateDirect(size);
+            transformation.transform(input, output);
+
+            // check
+            for (var i = 0; i < size; i++) {
+                assertTrue(expected.getPoint(i).equals(output.getPoint(i), ABSOLUTE_ERROR));
+            }
+
+            // transform in place
+            transformation.transform(input);
+
+            // check
+            for (var i = 0; i < size; i++) {
+                assertTrue(expected.getPoint(i).equals(input.getPoint(i), ABSOLUTE_ERROR));
+            }
+
+            // force IllegalArgumentException
+            final var wrongOutput = PointBuffer3D.allocateDirect(size + 1L);
+            assertThrows(IllegalArgumentException.class, () -> transformation.transform(input, wrongOutput));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testProject() {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var horizontalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+        final var verticalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+        final var horizontalPrincipalPoint = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var verticalPrincipalPoint = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var intrinsic = new PinholeCameraIntrinsicParameters(horizontalFocalLength, verticalFocalLength,
+                horizontalPrincipalPoint, verticalPrincipalPoint, 0.0);
+
+        final var alphaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var betaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var gammaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var rotation = new MatrixRotation3D(alphaEuler, betaEuler, gammaEuler);
+
+        final var cameraCenter = new InhomogeneousPoint3D(
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+
+        final var camera = new PinholeCamera(intrinsic, rotation, cameraCenter);
+
+        final var cloud = createCloud(randomizer, size);
+        final var buffer = PointBuffer3D.allocateDirect(size);
+        buffer.set(0, cloud);
+
+        // project a block of points
+        final var fromIndex = size / 2;
+        final var count = size - fromIndex;
+        final var result = new PointCloud2D();
+        camera.project(buffer, fromIndex, count, result);
+
+        // check
+        assertEquals(count, result.size());
+        for (var i = 0; i < count; i++) {
+            final var expected = camera.project(cloud.getPoint(fromIndex + i));
+            assertTrue(expected.equals(result.getPoint(i), ABSOLUTE_ERROR));
+        }
+
+        // force IndexOutOfBoundsException
+        assertThrows(IndexOutOfBoundsException.class, () -> camera.project(buffer, fromIndex, size, result));
+    }
+
+    private static PointCloud3D createCloud(final UniformRandomizer randomizer, final int size) {
+        final var cloud = new PointCloud3D(size);
+        for (var i = 0; i < size; i++) {
+            cloud.add(randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+        }
+        return cloud;
+    }
+}
@@ -0,0 +1,449 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.algebra.Matrix;
+import com.irurueta.algebra.WrongSizeException;
+import com.irurueta.geometry.estimators.LockedException;
+import com.irurueta.geometry.estimators.NormalizerException;
+import com.irurueta.geometry.estimators.NotReadyException;
+import com.irurueta.geometry.estimators.Point3DNormalizer;
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointCloud3DTest {
+
+    private static final double ABSOLUTE_ERROR = 1e-8;
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+
+    private static final int MIN_POINTS = 50;
+    private static final int MAX_POINTS = 500;
+
+    private static final double MIN_FOCAL_LENGTH = 1.0;
+    private static final double MAX_FOCAL_LENGTH = 100.0;
+
+    private static final double MIN_ANGLE_DEGREES = -180.0;
+    private static final double MAX_ANGLE_DEGREES = 180.0;
+
+    @Test
+    void testConstants() {
+        assertEquals(16, PointCloud3D.DEFAULT_CAPACITY);
+        assertEquals(1.0, PointCloud3D.DEFAULT_WEIGHT, 0.0);
+        assertEquals(1.0, PointCloud3D.DEFAULT_QUALITY_SCORE, 0.0);
+    }
+
+    @Test
+    void testConstructor() {
+        // empty constructor
+        var cloud = new PointCloud3D();
+
+        // check default values
+        assertEquals(0, cloud.size());
+        assertTrue(cloud.isEmpty());
+        assertEquals(PointCloud3D.DEFAULT_CAPACITY, cloud.getCapacity());
+        assertFalse(cloud.hasWeights());
+        assertNull(cloud.getWeights());
+        assertFalse(cloud.hasQualityScores());
+        assertNull(cloud.getQualityScores());
+
+        // constructor with capacity
+        cloud = new PointCloud3D(5);
+
+        // check default values
+        assertEquals(0, cloud.size());
+        assertEquals(5, cloud.getCapacity());
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> new PointCloud3D(-1));
+
+        // constructor with arrays
+        final var x = new double[]{1.0, 2.0, 3.0};
+        final var y = new double[]{4.0, 5.0, 6.0};
+        final var z = new double[]{7.0, 8.0, 9.0};
+        cloud = new PointCloud3D(x, y, z);
+
+        // check default values
+        assertEquals(3, cloud.size());
+        assertSame(x, cloud.getX());
+        assertSame(y, cloud.getY());
+        assertSame(z, cloud.getZ());
+        assertEquals(2.0, cloud.getX(1), 0.0);
+        assertEquals(5.0, cloud.getY(1), 0.0);
+        assertEquals(8.0, cloud.getZ(1), 0.0);
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> new PointCloud3D(x, y, new double[2]));
+
+        // constructor with list of points
+        final var points = new ArrayList<Point3D>();
+        points.add(new InhomogeneousPoint3D(1.0, 2.0, 3.0));
+        points.add(new HomogeneousPoint3D(6.0, 8.0, 10.0, 2.0));
+        cloud = new PointCloud3D(points);
+
+        // check default values
+        assertEquals(2, cloud.size());
+        assertEquals(1.0, cloud.getX(0), 0.0);
+        assertEquals(2.0, cloud.getY(0), 0.0);
+        assertEquals(3.0, cloud.getZ(0), 0.0);
+        assertEquals(3.0, cloud.getX(1), 0.0);
+        assertEquals(4.0, cloud.getY(1), 0.0);
+        assertEquals(5.0, cloud.getZ(1), 0.0);
+    }
+
+    @Test
+    void testAddGetSetAndClear() {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var cloud = new PointCloud3D();
+        final var points = new ArrayList<Point3D>();
+        for (var i = 0; i < size; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var point = new InhomogeneousPoint3D(x, y, z);
+            points.add(point);
+
+            if (i % 2 == 0) {
+                cloud.add(x, y, z);
+            } else {
+                cloud.add(point);
+            }
+        }
+
+        // check
+        assertEquals(size, cloud.size());
+        assertTrue(cloud.getCapacity() >= size);
+        for (var i = 0; i < size; i++) {
+            assertEquals(points.get(i).getInhomX(), cloud.getX(i), 0.0);
+            assertEquals(points.get(i).getInhomY(), cloud.getY(i), 0.0);
+            assertEquals(points.get(i).getInhomZ(), cloud.getZ(i), 0.0);
+            assertEquals(points.get(i), cloud.getPoint(i));
+        }
+
+        // set
+        cloud.set(0, 1.0, 2.0, 3.0);
+        assertEquals(new InhomogeneousPoint3D(1.0, 2.0, 3.0), cloud.getPoint(0));
+
+        cloud.set(1, new HomogeneousPoint3D(3.0, 6.0, 9.0, 3.0));
+        final var result = Point3D.create();
+        cloud.getPoint(1, result);
+        assertTrue(result.equals(new InhomogeneousPoint3D(1.0, 2.0, 3.0), ABSOLUTE_ERROR));
+
+        // force IndexOutOfBoundsException
+        assertThrows(IndexOutOfBoundsException.class, () -> cloud.getX(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> cloud.getY(size));
+        assertThrows(IndexOutOfBoundsException.class, () -> cloud.set(size, 0.0, 0.0, 0.0));
+
+        // clear
+        final var capacity = cloud.getCapacity();
+        cloud.clear();
+
+        // check
+        assertEquals(0, cloud.size());
+        assertTrue(cloud.isEmpty());
+        assertEquals(capacity, cloud.getCapacity());
+        assertThrows(IndexOutOfBoundsException.class, () -> cloud.getPoint(0));
+    }
+
+    @Test
+    void testWeightsAndQualityScores() {
+        final var cloud = new PointCloud3D(1);
+        cloud.add(1.0, 2.0, 3.0);
+        cloud.add(4.0, 5.0, 6.0);
+
+        // check default values
+        assertEquals(PointCloud3D.DEFAULT_WEIGHT, cloud.getWeight(0), 0.0);
+        assertEquals(PointCloud3D.DEFAULT_QUALITY_SCORE, cloud.getQualityScore(1), 0.0);
+
+        // set new values
+        cloud.setWeight(1, 0.5);
+        cloud.setQualityScore(0, 2.0);
+
+        // check
+        assertTrue(cloud.hasWeights());
+        assertTrue(cloud.hasQualityScores());
+        assertEquals(PointCloud3D.DEFAULT_WEIGHT, cloud.getWeight(0), 0.0);
+        assertEquals(0.5, cloud.getWeight(1), 0.0);
+        assertEquals(2.0, cloud.getQualityScore(0), 0.0);
+        assertEquals(PointCloud3D.DEFAULT_QUALITY_SCORE, cloud.getQualityScore(1), 0.0);
+
+        // attributes grow when adding new points
+        cloud.add(7.0, 8.0, 9.0);
+        assertEquals(PointCloud3D.DEFAULT_WEIGHT, cloud.getWeight(2), 0.0);
+        assertEquals(PointCloud3D.DEFAULT_QUALITY_SCORE, cloud.getQualityScore(2), 0.0);
+
+        // set arrays
+        final var weights = new double[]{0.1, 0.2, 0.3};
+        cloud.setWeights(weights);
+        assertEquals(0.2, cloud.getWeights()[1], 0.0);
+        cloud.setQualityScores(null);
+        assertFalse(cloud.hasQualityScores());
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> cloud.setWeights(new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> cloud.setQualityScores(new double[2]));
+
+        // force IndexOutOfBoundsException
+        assertThrows(IndexOutOfBoundsException.class, () -> cloud.getWeight(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> cloud.setQualityScore(-1, 1.0));
+    }
+
+    @Test
+    void testCopyFrom() {
+        final var cloud1 = new PointCloud3D();
+        cloud1.add(1.0, 2.0, 3.0);
+        cloud1.add(4.0, 5.0, 6.0);
+        cloud1.setWeight(0, 0.5);
+
+        final var cloud2 = new PointCloud3D(0);
+        cloud2.copyFrom(cloud1);
+
+        // check
+        assertEquals(2, cloud2.size());
+        assertEquals(cloud1.getPoint(1), cloud2.getPoint(1));
+        assertEquals(0.5, cloud2.getWeight(0), 0.0);
+        assertFalse(cloud2.hasQualityScores());
+        assertNotSame(cloud1.getX(), cloud2.getX());
+        assertNotSame(cloud1.getWeights(), cloud2.getWeights());
+    }
+
+    @Test
+    void testAsList() {
+        final var cloud = new PointCloud3D();
+        cloud.add(1.0, 2.0, 3.0);
+        cloud.add(4.0, 5.0, 6.0);
+
+        final var list = cloud.asList();
+
+        // check
+        assertSame(cloud, list.getCloud());
+        assertEquals(2, list.size());
+
+        final var point = list.get(1);
+        assertEquals(CoordinatesType.INHOMOGENEOUS_COORDINATES, point.getType());
+        assertEquals(new InhomogeneousPoint3D(4.0, 5.0, 6.0), point);
+        assertTrue(point.equals(new HomogeneousPoint3D(8.0, 10.0, 12.0, 2.0), ABSOLUTE_ERROR));
+        assertEquals(new InhomogeneousPoint3D(4.0, 5.0, 6.0).hashCode(), point.hashCode());
+
+        // index based access does not require point instances
+        assertEquals(4.0, list.getX(1), 0.0);
+        assertEquals(5.0, list.getY(1), 0.0);
+        assertEquals(6.0, list.getZ(1), 0.0);
+
+        // returned points are copies
+        point.setInhomogeneousCoordinates(7.0, 8.0, 9.0);
+        assertEquals(4.0, cloud.getX(1), 0.0);
+        assertEquals(5.0, cloud.getY(1), 0.0);
+        assertEquals(6.0, cloud.getZ(1), 0.0);
+        assertNotSame(list.get(1), list.get(1));
+
+        // set and add through list
+        final var previous = list.set(0, new InhomogeneousPoint3D(-1.0, -2.0, -3.0));
+        assertEquals(new InhomogeneousPoint3D(1.0, 2.0, 3.0), previous);
+        assertEquals(-1.0, cloud.getX(0), 0.0);
+
+        assertTrue(list.add(new InhomogeneousPoint3D(11.0, 12.0, 13.0)));
+        assertEquals(3, cloud.size());
+        assertEquals(new InhomogeneousPoint3D(11.0, 12.0, 13.0), list.get(2));
+
+        // points obtained from list can be copied as any other point
+        final var copy = new InhomogeneousPoint3D(list.get(2));
+        assertEquals(11.0, copy.getX(), 0.0);
+        assertEquals(12.0, copy.getY(), 0.0);
+        assertEquals(13.0, copy.getZ(), 0.0);
+
+        // force IndexOutOfBoundsException
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getX(3));
+
+        // clear
+        list.clear();
+        assertTrue(cloud.isEmpty());
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void testKDTree() {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var cloud = new PointCloud3D(size);
+        final var points = new ArrayList<Point3D>();
+        for (var i = 0; i < size; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            cloud.add(x, y, z);
+            points.add(new InhomogeneousPoint3D(x, y, z));
+        }
+
+        final var tree1 = new KDTree3D(points);
+        final var tree2 = new KDTree3D(cloud.asList());
+
+        final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var point = new InhomogeneousPoint3D(x, y, z);
+
+        // check
+        assertEquals(tree1.nearestIndex(point), tree2.nearestIndex(point));
+    }
+
+    @Test
+    void testTransform() throws WrongSizeException {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var t = Matrix.createWithUniformRandomValues(ProjectiveTransformation3D.HOM_COORDS,
+                ProjectiveTransformation3D.HOM_COORDS, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var transformation = new ProjectiveTransformation3D(t);
+
+        final var cloud = new PointCloud3D(size);
+        final var points = new ArrayList<Point3D>();
+        for (var i = 0; i < size; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            cloud.add(x, y, z);
+            points.add(new InhomogeneousPoint3D(x, y, z));
+        }
+        cloud.setWeight(0, 0.5);
+
+        final var expected = transformation.transformPointsAndReturnNew(points);
+
+        // transform into new point cloud
+        final var result1 = transformation.transformAndReturnNew(cloud);
+
+        // check
+        assertEquals(size, result1.size());
+        assertEquals(0.5, result1.getWeight(0), 0.0);
+        for (var i = 0; i < size; i++) {
+            assertTrue(expected.get(i).equals(result1.getPoint(i), ABSOLUTE_ERROR));
+        }
+
+        // transform through list views
+        final var result2 = new PointCloud3D();
+        transformation.transformPoints(cloud.asList(), result2.asList());
+
+        // check
+        assertEquals(size, result2.size());
+        for (var i = 0; i < size; i++) {
+            assertTrue(expected.get(i).equals(result2.getPoint(i), ABSOLUTE_ERROR));
+        }
+
+        // transform in place
+        transformation.transformAndOverwritePoints(cloud.asList());
+
+        // check
+        for (var i = 0; i < size; i++) {
+            assertTrue(expected.get(i).equals(cloud.getPoint(i), ABSOLUTE_ERROR));
+        }
+    }
+
+    @Test
+    void testNormalizer() throws NotReadyException, LockedException, NormalizerException {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var cloud = new PointCloud3D(size);
+        final var points = new ArrayList<Point3D>();
+        for (var i = 0; i < size; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            cloud.add(x, y, z);
+            points.add(new InhomogeneousPoint3D(x, y, z));
+        }
+
+        final var normalizer1 = new Point3DNormalizer(points);
+        final var normalizer2 = new Point3DNormalizer(cloud);
+        normalizer1.compute();
+        normalizer2.compute();
+
+        // check
+        assertEquals(normalizer1.getMinInhomX(), normalizer2.getMinInhomX(), 0.0);
+        assertEquals(normalizer1.getMinInhomY(), normalizer2.getMinInhomY(), 0.0);
+        assertEquals(normalizer1.getMinInhomZ(), normalizer2.getMinInhomZ(), 0.0);
+        assertEquals(normalizer1.getMaxInhomX(), normalizer2.getMaxInhomX(), 0.0);
+        assertEquals(normalizer1.getMaxInhomY(), normalizer2.getMaxInhomY(), 0.0);
+        assertEquals(normalizer1.getMaxInhomZ(), normalizer2.getMaxInhomZ(), 0.0);
+        assertEquals(normalizer1.getCentroidX(), normalizer2.getCentroidX(), 0.0);
+        assertEquals(normalizer1.getCentroidY(), normalizer2.getCentroidY(), 0.0);
+        assertEquals(normalizer1.getCentroidZ(), normalizer2.getCentroidZ(), 0.0);
+    }
+
+    @Test
+    void testProject() {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var horizontalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+        final var verticalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+        final var horizontalPrincipalPoint = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var verticalPrincipalPoint = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var intrinsic = new PinholeCameraIntrinsicParameters(horizontalFocalLength, verticalFocalLength,
+                horizontalPrincipalPoint, verticalPrincipalPoint, 0.0);
+
+        final var alphaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var betaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var gammaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var rotation = new MatrixRotation3D(alphaEuler, betaEuler, gammaEuler);
+
+        final var cameraCenter = new InhomogeneousPoint3D(
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+
+        final var camera = new PinholeCamera(intrinsic, rotation, cameraCenter);
+
+        final var cloud = new PointCloud3D(size);
+        final var points = new ArrayList<Point3D>();
+        for (var i = 0; i < size; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            cloud.add(x, y, z);
+            points.add(new InhomogeneousPoint3D(x, y, z));
+        }
+
+        final var expected = camera.project(points);
+
+        // project point cloud
+        final var result1 = camera.project(cloud);
+
+        // check
+        assertEquals(size, result1.size());
+        for (var i = 0; i < size; i++) {
+            assertTrue(expected.get(i).equals(result1.getPoint(i), ABSOLUTE_ERROR));
+        }
+
+        // project through list views
+        final var result2 = new PointCloud2D();
+        camera.project(cloud.asList(), result2.asList());
+
+        // check
+        assertEquals(size, result2.size());
+        for (var i = 0; i < size; i++) {
+            assertTrue(expected.get(i).equals(result2.getPoint(i), ABSOLUTE_ERROR));
+        }
+    }
+}
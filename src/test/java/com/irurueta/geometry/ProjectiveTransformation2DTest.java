@@ -1104,6 +1104,54 @@ class ProjectiveTransformation2DTest {
         assertTrue(point.equals(expectedPoint, ABSOLUTE_ERROR));
     }
 
+    @Test
+    void testTransformPointAfterMatrixChange() throws AlgebraException {
+        final var randomizer = new UniformRandomizer();
+        final var coords = new double[Point2D.POINT2D_INHOMOGENEOUS_COORDINATES_LENGTH];
+        randomizer.fill(coords, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var t1 = Matrix.createWithUniformRandomValues(ProjectiveTransformation2D.HOM_COORDS,
+                ProjectiveTransformation2D.HOM_COORDS, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var t2 = Matrix.createWithUniformRandomValues(ProjectiveTransformation2D.HOM_COORDS,
+                ProjectiveTransformation2D.HOM_COORDS, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+
+        final var transformation = new ProjectiveTransformation2D(t1);
+
+        final var point = Point2D.create(CoordinatesType.INHOMOGENEOUS_COORDINATES, coords);
+
+        final var expectedPoint1 = Point2D.create();
+        transformPoint(point, expectedPoint1, transformation);
+
+        final var outPoint = Point2D.create();
+        transformation.transform(point, outPoint);
+
+        // check correctness
+        assertTrue(outPoint.equals(expectedPoint1, ABSOLUTE_ERROR));
+
+        // change internal matrix
+        transformation.setT(t2);
+
+        final var expectedPoint2 = Point2D.create();
+        transformPoint(point, expectedPoint2, transformation);
+
+        transformation.transform(point, outPoint);
+
+        // check that new matrix is used
+        assertTrue(outPoint.equals(expectedPoint2, ABSOLUTE_ERROR));
+        assertFalse(outPoint.equals(expectedPoint1, ABSOLUTE_ERROR));
+
+        // change translation
+        transformation.addTranslationX(1.0);
+
+        final var expectedPoint3 = Point2D.create();
+        transformPoint(point, expectedPoint3, transformation);
+
+        transformation.transform(point, outPoint);
+
+        // check that translation change is taken into account
+        assertTrue(outPoint.equals(expectedPoint3, ABSOLUTE_ERROR));
+        assertFalse(outPoint.equals(expectedPoint2, ABSOLUTE_ERROR));
+    }
+
     @Test
     void testTransformPoints() throws AlgebraException {
         final var randomizer = new UniformRandomizer();
@@ -1148,6 +1196,100 @@ class ProjectiveTransformation2DTest {
         }
     }
 
+    @Test
+    void testTransformPackedPoints() throws AlgebraException {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var t = Matrix.createWithUniformRandomValues(
+                ProjectiveTransformation2D.HOM_COORDS, ProjectiveTransformation2D.HOM_COORDS, MIN_RANDOM_VALUE,
+                MAX_RANDOM_VALUE);
+
+        final var transformation = new ProjectiveTransformation2D(t);
+
+        // points are packed with an extra unused value and an initial offset
+        final var stride = Point2D.POINT2D_INHOMOGENEOUS_COORDINATES_LENGTH + 1;
+        final var offset = 1;
+        final var src = new double[offset + size * stride];
+        final var expectedPoints = new ArrayList<Point2D>(size);
+        for (var i = 0; i < size; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            src[offset + i * stride] = x;
+            src[offset + i * stride + 1] = y;
+
+            expectedPoints.add(transformation.transformAndReturnNew(new InhomogeneousPoint2D(x, y)));
+        }
+
+        final var dst = new double[src.length];
+        transformation.transform(src, offset, dst, offset, size, stride);
+
+        // check correctness
+        for (var i = 0; i < size; i++) {
+            final var expectedPoint = expectedPoints.get(i);
+            final var outPoint = new InhomogeneousPoint2D(dst[offset + i * stride], dst[offset + i * stride + 1]);
+            assertTrue(outPoint.equals(expectedPoint, ABSOLUTE_ERROR));
+        }
+
+        // transform in place
+        transformation.transform(src, offset, src, offset, size, stride);
+        assertArrayEquals(dst, src, 0.0);
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> transformation.transform(src, offset, dst, offset,
+                -1, stride));
+        assertThrows(IllegalArgumentException.class, () -> transformation.transform(src, -1, dst, offset,
+                size, stride));
+        assertThrows(IllegalArgumentException.class, () -> transformation.transform(src, offset, dst, -1,
+                size, stride));
+        assertThrows(IllegalArgumentException.class, () -> transformation.transform(src, offset, dst, offset,
+                size, 1));
+        assertThrows(IllegalArgumentException.class, () -> transformation.transform(src, offset, dst, offset,
+                size + 1, stride));
+    }
+
+    @Test
+    void testTransformHomogeneousPackedPoints() throws AlgebraException {
+        final var randomizer = new UniformRandomizer();
+        final var size = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+
+        final var t = Matrix.createWithUniformRandomValues(
+                ProjectiveTransformation2D.HOM_COORDS, ProjectiveTransformation2D.HOM_COORDS, MIN_RANDOM_VALUE,
+                MAX_RANDOM_VALUE);
+
+        final var transformation = new ProjectiveTransformation2D(t);
+
+        final var stride = Point2D.POINT2D_HOMOGENEOUS_COORDINATES_LENGTH;
+        final var src = new double[size * stride];
+        final var expectedPoints = new ArrayList<Point2D>(size);
+        for (var i = 0; i < size; i++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var w = randomizer.nextDouble(1.0, MAX_RANDOM_VALUE);
+            src[i * stride] = x;
+            src[i * stride + 1] = y;
+            src[i * stride + 2] = w;
+
+            expectedPoints.add(transformation.transformAndReturnNew(new HomogeneousPoint2D(x, y, w)));
+        }
+
+        final var dst = new double[src.length];
+        transformation.transformHomogeneous(src, 0, dst, 0, size, stride);
+
+        // check correctness
+        for (var i = 0; i < size; i++) {
+            final var expectedPoint = expectedPoints.get(i);
+            final var outPoint = new HomogeneousPoint2D(dst[i * stride], dst[i * stride + 1], dst[i * stride + 2]);
+            assertTrue(outPoint.equals(expectedPoint, ABSOLUTE_ERROR));
+        }
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> transformation.transformHomogeneous(src, 0, dst, 0,
+                size, stride - 1));
+        assertThrows(IllegalArgumentException.class, () -> transformation.transformHomogeneous(src, 1, dst, 0,
+                size, stride));
+    }
+
     @Test
     void testTransformAndOverwritePoints() throws AlgebraException {
         final var randomizer = new UniformRandomizer();
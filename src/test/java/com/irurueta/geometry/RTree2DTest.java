@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RTree2DTest {
+
+    private static final double ABSOLUTE_ERROR = 1e-9;
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+    private static final double MIN_BOX_SIZE = 0.5;
+    private static final double MAX_BOX_SIZE = 10.0;
+    private static final double MAX_REGION_SIZE = 40.0;
+
+    private static final int MIN_BOXES = 50;
+    private static final int MAX_BOXES = 2000;
+    private static final int QUERIES = 50;
+    private static final int MAX_NEIGHBOURS = 10;
+
+    @Test
+    void testConstructor() {
+        var tree = new RTree2D();
+        assertEquals(RTree.DEFAULT_MAX_ENTRIES, tree.getMaxEntries());
+        assertEquals(2, tree.getDimensions());
+        assertEquals(0, tree.getNumberOfBoxes());
+        assertEquals(1, tree.getHeight());
+        assertNull(tree.getBounds());
+
+        tree = new RTree2D(RTree.MIN_MAX_ENTRIES);
+        assertEquals(RTree.MIN_MAX_ENTRIES, tree.getMaxEntries());
+
+        final var randomizer = new UniformRandomizer();
+        final var boxes = createBoxes(randomizer, randomizer.nextInt(MIN_BOXES, MAX_BOXES));
+        tree = new RTree2D(boxes, RTree.MIN_MAX_ENTRIES);
+        assertEquals(boxes.size(), tree.getNumberOfBoxes());
+        assertEquals(RTree.MIN_MAX_ENTRIES, tree.getMaxEntries());
+        for (var i = 0; i < boxes.size(); i++) {
+            assertSame(boxes.get(i), tree.getBox(i));
+        }
+        checkBounds(boxes, tree.getBounds());
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> new RTree2D(RTree.MIN_MAX_ENTRIES - 1));
+        assertThrows(IllegalArgumentException.class, () -> new RTree2D(boxes, RTree.MIN_MAX_ENTRIES - 1));
+    }
+
+    @Test
+    void testBulkLoadedQueries() {
+        final var randomizer = new UniformRandomizer();
+        final var boxes = createBoxes(randomizer, randomizer.nextInt(MIN_BOXES, MAX_BOXES));
+        checkQueries(randomizer, boxes, new RTree2D(boxes));
+    }
+
+    @Test
+    void testIncrementalQueries() {
+        final var randomizer = new UniformRandomizer();
+        final var boxes = createBoxes(randomizer, randomizer.nextInt(MIN_BOXES, MAX_BOXES));
+        final var tree = new RTree2D(RTree.MIN_MAX_ENTRIES);
+        for (var i = 0; i < boxes.size(); i++) {
+            assertEquals(i, tree.add(boxes.get(i)));
+        }
+        assertTrue(tree.getHeight() > 1);
+        checkBounds(boxes, tree.getBounds());
+        checkQueries(randomizer, boxes, tree);
+    }
+
+    @Test
+    void testRectangles() {
+        final var randomizer = new UniformRandomizer();
+        final var boxes = createBoxes(randomizer, randomizer.nextInt(MIN_BOXES, MAX_BOXES));
+        final var rectangles = new ArrayList<Rectangle>();
+        for (final var box : boxes) {
+            rectangles.add(new Rectangle(box));
+        }
+
+        final var bulk = RTree2D.fromRectangles(rectangles);
+        assertEquals(rectangles.size(), bulk.getNumberOfBoxes());
+        checkBounds(boxes, bulk.getBounds());
+        checkQueries(randomizer, boxes, bulk);
+
+        final var incremental = new RTree2D();
+        for (var i = 0; i < rectangles.size(); i++) {
+            assertEquals(i, incremental.add(rectangles.get(i)));
+        }
+        checkBounds(boxes, incremental.getBounds());
+        checkQueries(randomizer, boxes, incremental);
+    }
+
+    private static void checkQueries(final UniformRandomizer randomizer, final List<Box2D> boxes,
+                                     final RTree2D tree) {
+        final var nn = new int[MAX_NEIGHBOURS];
+        final var dn = new double[MAX_NEIGHBOURS];
+        for (var i = 0; i < QUERIES; i++) {
+            final var region = createBox(randomizer, MAX_REGION_SIZE);
+            final var small = createBox(randomizer, MIN_BOX_SIZE);
+            final var point = createPoint(randomizer);
+
+            final var intersecting = new HashSet<Integer>();
+            final var contained = new HashSet<Integer>();
+            final var containing = new HashSet<Integer>();
+            final var containingPoint = new HashSet<Integer>();
+            final var distances = new double[boxes.size()];
+            for (var j = 0; j < boxes.size(); j++) {
+                final var box = boxes.get(j);
+                if (intersects(box, region)) {
+                    intersecting.add(j);
+                }
+                if (contains(region, box)) {
+                    contained.add(j);
+                }
+                if (contains(box, small)) {
+                    containing.add(j);
+                }
+                distances[j] = box.getDistance(point);
+                if (distances[j] == 0.0) {
+                    containingPoint.add(j);
+                }
+            }
+            Arrays.sort(distances);
+
+            assertEquals(intersecting, collect(visitor -> tree.visitIntersecting(region, visitor)));
+            assertEquals(contained, collect(visitor -> tree.visitContainedIn(region, visitor)));
+            assertEquals(containing, collect(visitor -> tree.visitContaining(small, visitor)));
+            assertEquals(containingPoint, collect(visitor -> tree.visitContaining(point, visitor)));
+
+            assertEquals(MAX_NEIGHBOURS, tree.nNearest(point, nn, dn, MAX_NEIGHBOURS));
+            for (var j = 0; j < MAX_NEIGHBOURS; j++) {
+                assertEquals(distances[j], dn[j], ABSOLUTE_ERROR);
+                assertEquals(dn[j], boxes.get(nn[j]).getDistance(point), ABSOLUTE_ERROR);
+            }
+            assertEquals(distances[0], boxes.get(tree.nearestIndex(point)).getDistance(point), ABSOLUTE_ERROR);
+        }
+    }
+
+    private static Set<Integer> collect(final Query query) {
+        final var result = new HashSet<Integer>();
+        final var count = new int[1];
+        assertTrue(query.run(index -> {
+            count[0]++;
+            return result.add(index);
+        }));
+        assertEquals(count[0], result.size());
+        return result;
+    }
+
+    private static List<Box2D> createBoxes(final UniformRandomizer randomizer, final int n) {
+        final var boxes = new ArrayList<Box2D>(n);
+        for (var i = 0; i < n; i++) {
+            boxes.add(createBox(randomizer, MAX_BOX_SIZE));
+        }
+        return boxes;
+    }
+
+    private static Box2D createBox(final UniformRandomizer randomizer, final double maxSize) {
+        final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        return new Box2D(new InhomogeneousPoint2D(x, y), new InhomogeneousPoint2D(
+                x + randomizer.nextDouble(MIN_BOX_SIZE, maxSize), y + randomizer.nextDouble(MIN_BOX_SIZE, maxSize)));
+    }
+
+    private static Point2D createPoint(final UniformRandomizer randomizer) {
+        return new InhomogeneousPoint2D(randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+    }
+
+    private static boolean intersects(final Box2D a, final Box2D b) {
+        return a.getLo().getInhomX() <= b.getHi().getInhomX() && a.getHi().getInhomX() >= b.getLo().getInhomX()
+                && a.getLo().getInhomY() <= b.getHi().getInhomY() && a.getHi().getInhomY() >= b.getLo().getInhomY();
+    }
+
+    private static boolean contains(final Box2D outer, final Box2D inner) {
+        return outer.getLo().getInhomX() <= inner.getLo().getInhomX()
+                && outer.getHi().getInhomX() >= inner.getHi().getInhomX()
+                && outer.getLo().getInhomY() <= inner.getLo().getInhomY()
+                && outer.getHi().getInhomY() >= inner.getHi().getInhomY();
+    }
+
+    private static void checkBounds(final List<Box2D> boxes, final Box2D bounds) {
+        var minX = Double.MAX_VALUE;
+        var minY = Double.MAX_VALUE;
+        var maxX = -Double.MAX_VALUE;
+        var maxY = -Double.MAX_VALUE;
+        for (final var box : boxes) {
+            minX = Math.min(minX, box.getLo().getInhomX());
+            minY = Math.min(minY, box.getLo().getInhomY());
+            maxX = Math.max(maxX, box.getHi().getInhomX());
+            maxY = Math.max(maxY, box.getHi().getInhomY());
+        }
+        assertEquals(minX, bounds.getLo().getInhomX(), 0.0);
+        assertEquals(minY, bounds.getLo().getInhomY(), 0.0);
+        assertEquals(maxX, bounds.getHi().getInhomX(), 0.0);
+        assertEquals(maxY, bounds.getHi().getInhomY(), 0.0);
+    }
+
+    @FunctionalInterface
+    private interface Query {
+        boolean run(final RTreeVisitor visitor);
+    }
+}
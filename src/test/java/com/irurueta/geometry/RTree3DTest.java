@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RTree3DTest {
+
+    private static final double ABSOLUTE_ERROR = 1e-9;
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+    private static final double MIN_BOX_SIZE = 0.5;
+    private static final double MAX_BOX_SIZE = 10.0;
+    private static final double MAX_REGION_SIZE = 40.0;
+
+    private static final int MIN_BOXES = 50;
+    private static final int MAX_BOXES = 2000;
+    private static final int QUERIES = 50;
+    private static final int MAX_NEIGHBOURS = 10;
+
+    private static final int BENCHMARK_BOXES = 200000;
+    private static final int BENCHMARK_QUERIES = 2000;
+
+    @Test
+    void testConstructor() {
+        var tree = new RTree3D();
+        assertEquals(RTree.DEFAULT_MAX_ENTRIES, tree.getMaxEntries());
+        assertEquals(3, tree.getDimensions());
+        assertEquals(0, tree.getNumberOfBoxes());
+        assertEquals(1, tree.getNumberOfNodes());
+        assertEquals(1, tree.getHeight());
+        assertNull(tree.getBounds());
+
+        tree = new RTree3D(RTree.MIN_MAX_ENTRIES);
+        assertEquals(RTree.MIN_MAX_ENTRIES, tree.getMaxEntries());
+
+        final var randomizer = new UniformRandomizer();
+        final var boxes = createBoxes(randomizer, randomizer.nextInt(MIN_BOXES, MAX_BOXES));
+        tree = new RTree3D(boxes);
+        assertEquals(boxes.size(), tree.getNumberOfBoxes());
+        for (var i = 0; i < boxes.size(); i++) {
+            assertSame(boxes.get(i), tree.getBox(i));
+        }
+        assertTrue(tree.getHeight() > 1);
+        checkBounds(boxes, tree.getBounds());
+
+        tree = new RTree3D(new ArrayList<>());
+        assertEquals(0, tree.getNumberOfBoxes());
+        assertNull(tree.getBounds());
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> new RTree3D(RTree.MIN_MAX_ENTRIES - 1));
+        assertThrows(IllegalArgumentException.class, () -> new RTree3D(boxes, RTree.MIN_MAX_ENTRIES - 1));
+    }
+
+    @Test
+    void testEmptyTree() {
+        final var tree = new RTree3D();
+        final var region = new Box3D();
+        assertTrue(tree.visitIntersecting(region, index -> fail()));
+        assertTrue(tree.visitContainedIn(region, index -> fail()));
+        assertTrue(tree.visitContaining(region, index -> fail()));
+        assertTrue(tree.visitContaining(new InhomogeneousPoint3D(), index -> fail()));
+        assertEquals(-1, tree.nearestIndex(new InhomogeneousPoint3D()));
+        assertEquals(0, tree.nNearest(new InhomogeneousPoint3D(), new int[1], new double[1], 1));
+    }
+
+    @Test
+    void testBulkLoadedQueries() {
+        final var randomizer = new UniformRandomizer();
+        final var boxes = createBoxes(randomizer, randomizer.nextInt(MIN_BOXES, MAX_BOXES));
+        final var maxEntries = randomizer.nextInt(RTree.MIN_MAX_ENTRIES, 2 * RTree.DEFAULT_MAX_ENTRIES);
+        checkQueries(randomizer, boxes, new RTree3D(boxes, maxEntries));
+    }
+
+    @Test
+    void testIncrementalQueries() {
+        final var randomizer = new UniformRandomizer();
+        final var boxes = createBoxes(randomizer, randomizer.nextInt(MIN_BOXES, MAX_BOXES));
+        final var maxEntries = randomizer.nextInt(RTree.MIN_MAX_ENTRIES, 2 * RTree.DEFAULT_MAX_ENTRIES);
+        final var tree = new RTree3D(maxEntries);
+        for (var i = 0; i < boxes.size(); i++) {
+            assertEquals(i, tree.add(boxes.get(i)));
+        }
+        assertEquals(boxes.size(), tree.getNumberOfBoxes());
+        assertTrue(tree.getHeight() > 1);
+        checkBounds(boxes, tree.getBounds());
+        checkQueries(randomizer, boxes, tree);
+    }
+
+    @Test
+    void testAddToBulkLoaded() {
+        final var randomizer = new UniformRandomizer();
+        final var boxes = createBoxes(randomizer, randomizer.nextInt(MIN_BOXES, MAX_BOXES));
+        final var half = boxes.size() / 2;
+        final var tree = new RTree3D(boxes.subList(0, half));
+        for (var i = half; i < boxes.size(); i++) {
+            assertEquals(i, tree.add(boxes.get(i)));
+        }
+        checkBounds(boxes, tree.getBounds());
+        checkQueries(randomizer, boxes, tree);
+    }
+
+    @Test
+    void testVisitorStop() {
+        final var randomizer = new UniformRandomizer();
+        final var boxes = createBoxes(randomizer, MAX_BOXES);
+        final var tree = new RTree3D(boxes);
+        final var region = tree.getBounds();
+
+        final var count = new int[1];
+        assertFalse(tree.visitIntersecting(region, index -> ++count[0] < 10));
+        assertEquals(10, count[0]);
+
+        count[0] = 0;
+        assertFalse(tree.visitContainedIn(region, index -> ++count[0] < 5));
+        assertEquals(5, count[0]);
+
+        count[0] = 0;
+        assertTrue(tree.visitContainedIn(region, index -> ++count[0] > 0));
+        assertEquals(boxes.size(), count[0]);
+    }
+
+    @Test
+    void testNNearest() {
+        final var randomizer = new UniformRandomizer();
+        final var boxes = createBoxes(randomizer, MIN_BOXES);
+        final var tree = new RTree3D(boxes);
+
+        // requesting more boxes than available returns all of them sorted
+        final var n = 2 * boxes.size();
+        final var nn = new int[n];
+        final var dn = new double[n];
+        assertEquals(boxes.size(), tree.nNearest(createPoint(randomizer), nn, dn, n));
+        for (var i = 1; i < boxes.size(); i++) {
+            assertTrue(dn[i - 1] <= dn[i]);
+        }
+        assertEquals(boxes.size(), new HashSet<>(Arrays.stream(nn, 0, boxes.size()).boxed().toList()).size());
+
+        // force IllegalArgumentException
+        final var point = createPoint(randomizer);
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(point, nn, dn, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(point, new int[1], dn, 2));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(point, nn, new double[1], 2));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testBenchmark() {
+        final var randomizer = new UniformRandomizer();
+        final var boxes = createBoxes(randomizer, BENCHMARK_BOXES, 10.0 * MAX_RANDOM_VALUE);
+        final var regions = createBoxes(randomizer, BENCHMARK_QUERIES, 10.0 * MAX_RANDOM_VALUE);
+
+        var startTime = System.nanoTime();
+        final var bulk = new RTree3D(boxes);
+        final var bulkTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        final var incremental = new RTree3D();
+        for (final var box : boxes) {
+            incremental.add(box);
+        }
+        final var incrementalTime = System.nanoTime() - startTime;
+
+        final var count = new int[1];
+        startTime = System.nanoTime();
+        for (final var region : regions) {
+            bulk.visitIntersecting(region, index -> ++count[0] > 0);
+        }
+        final var bulkQueryTime = System.nanoTime() - startTime;
+        final var bulkCount = count[0];
+
+        count[0] = 0;
+        startTime = System.nanoTime();
+        for (final var region : regions) {
+            incremental.visitIntersecting(region, index -> ++count[0] > 0);
+        }
+        final var incrementalQueryTime = System.nanoTime() - startTime;
+        assertEquals(bulkCount, count[0]);
+
+        // linear scan on a subset of queries
+        final var linearQueries = BENCHMARK_QUERIES / 20;
+        var linearCount = 0;
+        startTime = System.nanoTime();
+        for (var i = 0; i < linearQueries; i++) {
+            for (final var box : boxes) {
+                if (intersects(box, regions.get(i))) {
+                    linearCount++;
+                }
+            }
+        }
+        final var linearTime = (System.nanoTime() - startTime) * (BENCHMARK_QUERIES / linearQueries);
+        count[0] = 0;
+        for (var i = 0; i < linearQueries; i++) {
+            bulk.visitIntersecting(regions.get(i), index -> ++count[0] > 0);
+        }
+        assertEquals(linearCount, count[0]);
+
+        Logger.getGlobal().log(Level.INFO, String.format(
+                "R-tree STR build: %d ms (height %d), R* build: %d ms (height %d), intersection queries: "
+                        + "STR %d ms, R* %d ms, estimated linear scan %d ms",
+                bulkTime / 1000000, bulk.getHeight(), incrementalTime / 1000000, incremental.getHeight(),
+                bulkQueryTime / 1000000, incrementalQueryTime / 1000000, linearTime / 1000000));
+    }
+
+    private static void checkQueries(final UniformRandomizer randomizer, final List<Box3D> boxes,
+                                     final RTree3D tree) {
+        final var nn = new int[MAX_NEIGHBOURS];
+        final var dn = new double[MAX_NEIGHBOURS];
+        for (var i = 0; i < QUERIES; i++) {
+            final var region = createBox(randomizer, MAX_REGION_SIZE, MAX_RANDOM_VALUE);
+            final var small = createBox(randomizer, MIN_BOX_SIZE, MAX_RANDOM_VALUE);
+            final var point = createPoint(randomizer);
+
+            final var intersecting = new HashSet<Integer>();
+            final var contained = new HashSet<Integer>();
+            final var containing = new HashSet<Integer>();
+            final var containingPoint = new HashSet<Integer>();
+            for (var j = 0; j < boxes.size(); j++) {
+                final var box = boxes.get(j);
+                if (intersects(box, region)) {
+                    intersecting.add(j);
+                }
+                if (contains(region, box)) {
+                    contained.add(j);
+                }
+                if (contains(box, small)) {
+                    containing.add(j);
+                }
+                if (box.getDistance(point) == 0.0) {
+                    containingPoint.add(j);
+                }
+            }
+
+            assertEquals(intersecting, collect(visitor -> tree.visitIntersecting(region, visitor)));
+            assertEquals(contained, collect(visitor -> tree.visitContainedIn(region, visitor)));
+            assertEquals(containing, collect(visitor -> tree.visitContaining(small, visitor)));
+            assertEquals(containingPoint, collect(visitor -> tree.visitContaining(point, visitor)));
+
+            // nearest boxes
+            final var distances = new double[boxes.size()];
+            for (var j = 0; j < boxes.size(); j++) {
+                distances[j] = boxes.get(j).getDistance(point);
+            }
+            Arrays.sort(distances);
+
+            assertEquals(MAX_NEIGHBOURS, tree.nNearest(point, nn, dn, MAX_NEIGHBOURS));
+            for (var j = 0; j < MAX_NEIGHBOURS; j++) {
+                assertEquals(distances[j], dn[j], ABSOLUTE_ERROR);
+                assertEquals(dn[j], boxes.get(nn[j]).getDistance(point), ABSOLUTE_ERROR);
+            }
+            assertEquals(distances[0], boxes.get(tree.nearestIndex(point)).getDistance(point), ABSOLUTE_ERROR);
+        }
+    }
+
+    private static Set<Integer> collect(final Query query) {
+        final var result = new HashSet<Integer>();
+        final var count = new int[1];
+        assertTrue(query.run(index -> {
+            count[0]++;
+            return result.add(index);
+        }));
+        // no box is reported twice
+        assertEquals(count[0], result.size());
+        return result;
+    }
+
+    private static List<Box3D> createBoxes(final UniformRandomizer randomizer, final int n) {
+        return createBoxes(randomizer, n, MAX_RANDOM_VALUE);
+    }
+
+    private static List<Box3D> createBoxes(final UniformRandomizer randomizer, final int n,
+                                           final double maxValue) {
+        final var boxes = new ArrayList<Box3D>(n);
+        for (var i = 0; i < n; i++) {
+            boxes.add(createBox(randomizer, MAX_BOX_SIZE, maxValue));
+        }
+        return boxes;
+    }
+
+    private static Box3D createBox(final UniformRandomizer randomizer, final double maxSize,
+                                   final double maxValue) {
+        final var x = randomizer.nextDouble(-maxValue, maxValue);
+        final var y = randomizer.nextDouble(-maxValue, maxValue);
+        final var z = randomizer.nextDouble(-maxValue, maxValue);
+        return new Box3D(new InhomogeneousPoint3D(x, y, z), new InhomogeneousPoint3D(
+                x + randomizer.nextDouble(MIN_BOX_SIZE, maxSize), y + randomizer.nextDouble(MIN_BOX_SIZE, maxSize),
+                z + randomizer.nextDouble(MIN_BOX_SIZE, maxSize)));
+    }
+
+    private static Point3D createPoint(final UniformRandomizer randomizer) {
+        return new InhomogeneousPoint3D(randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+    }
+
+    private static boolean intersects(final Box3D a, final Box3D b) {
+        for (var d = 0; d < 3; d++) {
+            if (a.getLo().getInhomogeneousCoordinate(d) > b.getHi().getInhomogeneousCoordinate(d)
+                    || a.getHi().getInhomogeneousCoordinate(d) < b.getLo().getInhomogeneousCoordinate(d)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(final Box3D outer, final Box3D inner) {
+        for (var d = 0; d < 3; d++) {
+            if (outer.getLo().getInhomogeneousCoordinate(d) > inner.getLo().getInhomogeneousCoordinate(d)
+                    || outer.getHi().getInhomogeneousCoordinate(d) < inner.getHi().getInhomogeneousCoordinate(d)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void checkBounds(final List<Box3D> boxes, final Box3D bounds) {
+        for (var d = 0; d < 3; d++) {
+            var min = Double.MAX_VALUE;
+            var max = -Double.MAX_VALUE;
+            for (final var box : boxes) {
+                min = Math.min(min, box.getLo().getInhomogeneousCoordinate(d));
+                max = Math.max(max, box.getHi().getInhomogeneousCoordinate(d));
+            }
+            assertEquals(min, bounds.getLo().getInhomogeneousCoordinate(d), 0.0);
+            assertEquals(max, bounds.getHi().getInhomogeneousCoordinate(d), 0.0);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Query {
+        boolean run(final RTreeVisitor visitor);
+    }
+}
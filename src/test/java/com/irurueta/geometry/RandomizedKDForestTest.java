@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomizedKDForestTest {
+
+    private static final double ABSOLUTE_ERROR = 1e-9;
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+
+    private static final int MIN_POINTS = 50;
+    private static final int MAX_POINTS = 500;
+
+    private static final int MIN_DIMENSIONS = 1;
+    private static final int MAX_DIMENSIONS = 32;
+
+    private static final int MIN_TREES = 1;
+    private static final int MAX_TREES = 8;
+
+    private static final int MAX_NEIGHBOURS = 10;
+
+    private static final int BENCHMARK_DIMENSIONS = 64;
+    private static final int BENCHMARK_CLUSTERS = 100;
+    private static final int BENCHMARK_POINTS = 20000;
+    private static final int BENCHMARK_QUERIES = 500;
+    private static final double BENCHMARK_CLUSTER_SPREAD = 10.0;
+
+    @Test
+    void testConstructor() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS);
+        final var vectors = createVectors(randomizer, n, dim);
+
+        var forest = new RandomizedKDForest(vectors);
+
+        // check
+        assertEquals(RandomizedKDForest.DEFAULT_TREES, forest.getNumberOfTrees());
+        assertEquals(dim, forest.getDimensions());
+        assertEquals(n, forest.getNumberOfVectors());
+
+        final var nTrees = randomizer.nextInt(MIN_TREES, MAX_TREES);
+        forest = new RandomizedKDForest(vectors, nTrees);
+        assertEquals(nTrees, forest.getNumberOfTrees());
+
+        // forests built with the same seed are identical, regardless of being built concurrently
+        final var seed = (long) randomizer.nextInt(0, Integer.MAX_VALUE);
+        final var forest1 = new RandomizedKDForest(vectors, nTrees, seed);
+        final var data = new double[n * dim];
+        for (var i = 0; i < n; i++) {
+            System.arraycopy(vectors[i], 0, data, i * dim, dim);
+        }
+        final var pool = new ForkJoinPool();
+        final RandomizedKDForest forest2;
+        try {
+            forest2 = new RandomizedKDForest(data, n, dim, nTrees, seed, pool);
+        } finally {
+            pool.shutdown();
+        }
+        for (var t = 0; t < nTrees; t++) {
+            final var tree1 = forest1.getTree(t);
+            final var tree2 = forest2.getTree(t);
+            assertEquals(n, tree1.getNumberOfVectors());
+            assertEquals(dim, tree1.getDimensions());
+            for (var i = 0; i < n; i++) {
+                assertEquals(tree1.getVectorIndex(i), tree2.getVectorIndex(i));
+            }
+            for (var k = 0; k < tree1.getNumberOfBoxes(); k++) {
+                assertEquals(tree1.getBoxDau1(k), tree2.getBoxDau1(k));
+                if (tree1.getBoxDau1(k) != 0) {
+                    assertEquals(tree1.getBoxDimension(k), tree2.getBoxDimension(k));
+                }
+            }
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> new RandomizedKDForest(vectors, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RandomizedKDForest(new double[2][dim]));
+        assertThrows(IllegalArgumentException.class, () -> new RandomizedKDForest(data, n + 1, dim, 1, seed,
+                null));
+    }
+
+    @Test
+    void testSinglePrecision() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS);
+        final var nTrees = randomizer.nextInt(MIN_TREES, MAX_TREES);
+        final var seed = (long) randomizer.nextInt(0, Integer.MAX_VALUE);
+        final var floatVectors = new float[n][dim];
+        final var vectors = new double[n][dim];
+        final var floatData = new float[n * dim];
+        for (var i = 0; i < n; i++) {
+            for (var d = 0; d < dim; d++) {
+                floatVectors[i][d] = (float) randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                vectors[i][d] = floatVectors[i][d];
+                floatData[i * dim + d] = floatVectors[i][d];
+            }
+        }
+
+        final var forest = new RandomizedKDForest(vectors, nTrees, seed);
+        final var floatForest = new RandomizedKDForest(floatVectors, nTrees, seed);
+        final var dataForest = new RandomizedKDForest(floatData, n, dim, nTrees, seed, null);
+
+        // vectors are stored in single precision, and trees are the same ones built in double precision
+        for (var t = 0; t < nTrees; t++) {
+            assertFalse(forest.getTree(t).isSinglePrecision());
+            assertTrue(floatForest.getTree(t).isSinglePrecision());
+            assertTrue(dataForest.getTree(t).isSinglePrecision());
+            for (var i = 0; i < n; i++) {
+                assertEquals(forest.getTree(t).getVectorIndex(i), floatForest.getTree(t).getVectorIndex(i));
+                assertEquals(forest.getTree(t).getVectorIndex(i), dataForest.getTree(t).getVectorIndex(i));
+            }
+        }
+
+        // results are the same ones obtained in double precision
+        final var k = randomizer.nextInt(1, MAX_NEIGHBOURS);
+        final var nn1 = new int[k];
+        final var dn1 = new double[k];
+        final var nn2 = new int[k];
+        final var dn2 = new double[k];
+        final var query = new double[dim];
+        for (var q = 0; q < MIN_POINTS; q++) {
+            randomizer.fill(query, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            forest.nNearest(query, nn1, dn1, k);
+            floatForest.nNearest(query, nn2, dn2, k);
+            assertArrayEquals(nn1, nn2);
+            assertArrayEquals(dn1, dn2, 0.0);
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> new RandomizedKDForest(floatVectors, 0, seed));
+        assertThrows(IllegalArgumentException.class, () -> new RandomizedKDForest(floatData, n + 1, dim, 1, seed,
+                null));
+    }
+
+    @Test
+    void testNearestIndex() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS);
+        final var vectors = createVectors(randomizer, n, dim);
+
+        final var forest = new RandomizedKDForest(vectors, randomizer.nextInt(MIN_TREES, MAX_TREES));
+
+        final var query = new double[dim];
+        final var floatQuery = new float[dim];
+        for (var q = 0; q < MIN_POINTS; q++) {
+            randomizer.fill(query, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            var bestDist = Double.MAX_VALUE;
+            for (final var v : vectors) {
+                bestDist = Math.min(bestDist, distance(query, v));
+            }
+
+            // search is exact when checks are not bounded
+            assertEquals(bestDist, distance(query, vectors[forest.nearestIndex(query,
+                    KDTree.UNLIMITED_CHECKS)]), 0.0);
+
+            // bounded search returns a valid vector
+            assertTrue(distance(query, vectors[forest.nearestIndex(query)]) >= bestDist);
+            assertTrue(distance(query, vectors[forest.nearestIndex(query, 1)]) >= bestDist);
+
+            for (var d = 0; d < dim; d++) {
+                floatQuery[d] = (float) query[d];
+            }
+            assertEquals(forest.nearestIndex(VectorKDTree.toDouble(floatQuery), 1),
+                    forest.nearestIndex(floatQuery, 1));
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> forest.nearestIndex(new double[dim + 1]));
+        assertThrows(IllegalArgumentException.class, () -> forest.nearestIndex(query, 0));
+    }
+
+    @Test
+    void testNNearest() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS);
+        final var vectors = createVectors(randomizer, n, dim);
+
+        final var forest = new RandomizedKDForest(vectors, randomizer.nextInt(MIN_TREES + 1, MAX_TREES));
+
+        final var k = randomizer.nextInt(1, MAX_NEIGHBOURS);
+        final var nn = new int[k];
+        final var dn = new double[k];
+        final var query = new double[dim];
+        final var distances = new double[n];
+        for (var q = 0; q < MIN_POINTS; q++) {
+            randomizer.fill(query, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            for (var j = 0; j < n; j++) {
+                distances[j] = distance(query, vectors[j]);
+            }
+            Arrays.sort(distances);
+
+            // search is exact when checks are not bounded
+            forest.nNearest(query, nn, dn, k, 0.0, KDTree.UNLIMITED_CHECKS);
+            for (var j = 0; j < k; j++) {
+                assertEquals(distances[j], dn[j], ABSOLUTE_ERROR);
+            }
+
+            // bounded search finds k different vectors sorted by increasing distance
+            forest.nNearest(query, nn, dn, k);
+            checkResults(vectors, query, nn, dn, distances);
+            forest.nNearest(query, nn, dn, k, 0.5, 1);
+            checkResults(vectors, query, nn, dn, distances);
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> forest.nNearest(query, nn, dn, -1));
+        assertThrows(IllegalArgumentException.class, () -> forest.nNearest(query, nn, dn, k + 1));
+        assertThrows(IllegalArgumentException.class, () -> forest.nNearest(new double[dim + 1], nn, dn, k));
+        assertThrows(IllegalArgumentException.class, () -> forest.nNearest(query, nn, dn, k, -1.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> forest.nNearest(query, nn, dn, k, 0.0, 0));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testRecallBenchmark() {
+        final var randomizer = new UniformRandomizer();
+        final var centers = createVectors(randomizer, BENCHMARK_CLUSTERS, BENCHMARK_DIMENSIONS);
+        final var vectors = new double[BENCHMARK_POINTS][BENCHMARK_DIMENSIONS];
+        for (var i = 0; i < BENCHMARK_POINTS; i++) {
+            final var center = centers[randomizer.nextInt(0, BENCHMARK_CLUSTERS)];
+            for (var d = 0; d < BENCHMARK_DIMENSIONS; d++) {
+                vectors[i][d] = center[d] + randomizer.nextDouble(-BENCHMARK_CLUSTER_SPREAD,
+                        BENCHMARK_CLUSTER_SPREAD);
+            }
+        }
+        final var queries = new double[BENCHMARK_QUERIES][];
+        for (var q = 0; q < BENCHMARK_QUERIES; q++) {
+            queries[q] = vectors[randomizer.nextInt(0, BENCHMARK_POINTS)].clone();
+            for (var d = 0; d < BENCHMARK_DIMENSIONS; d++) {
+                queries[q][d] += randomizer.nextDouble(-BENCHMARK_CLUSTER_SPREAD, BENCHMARK_CLUSTER_SPREAD);
+            }
+        }
+
+        final var tree = new VectorKDTree(vectors);
+        final var forest = new RandomizedKDForest(vectors);
+
+        final var exact = new int[BENCHMARK_QUERIES];
+        var start = System.nanoTime();
+        for (var q = 0; q < BENCHMARK_QUERIES; q++) {
+            exact[q] = tree.nearestIndex(queries[q]);
+        }
+        final var exactTime = System.nanoTime() - start;
+
+        final var approximate = new int[BENCHMARK_QUERIES];
+        start = System.nanoTime();
+        for (var q = 0; q < BENCHMARK_QUERIES; q++) {
+            approximate[q] = forest.nearestIndex(queries[q]);
+        }
+        final var approximateTime = System.nanoTime() - start;
+
+        var hits = 0;
+        for (var q = 0; q < BENCHMARK_QUERIES; q++) {
+            if (distance(queries[q], vectors[exact[q]]) == distance(queries[q], vectors[approximate[q]])) {
+                hits++;
+            }
+        }
+
+        Logger.getGlobal().log(Level.INFO, "Nearest search of {0} queries on {1} vectors of {2} dimensions. "
+                        + "Exact k-D tree: {3} ms, forest of {4} trees with {5} checks: {6} ms (recall {7})",
+                new Object[]{BENCHMARK_QUERIES, BENCHMARK_POINTS, BENCHMARK_DIMENSIONS, exactTime / 1000000,
+                        forest.getNumberOfTrees(), RandomizedKDForest.DEFAULT_MAX_CHECKS,
+                        approximateTime / 1000000, (double) hits / BENCHMARK_QUERIES});
+    }
+
+    private static void checkResults(final double[][] vectors, final double[] query, final int[] nn,
+                                     final double[] dn, final double[] distances) {
+        final var k = nn.length;
+        for (var j = 0; j < k; j++) {
+            assertEquals(distance(query, vectors[nn[j]]), dn[j], ABSOLUTE_ERROR);
+            assertTrue(dn[j] >= distances[j] - ABSOLUTE_ERROR);
+            if (j > 0) {
+                assertTrue(dn[j - 1] <= dn[j]);
+            }
+            for (var i = 0; i < j; i++) {
+                assertNotEquals(nn[i], nn[j]);
+            }
+        }
+    }
+
+    private static double distance(final double[] a, final double[] b) {
+        var d = 0.0;
+        for (var j = 0; j < a.length; j++) {
+            final var diff = a[j] - b[j];
+            d += diff * diff;
+        }
+        return Math.sqrt(d);
+    }
+
+    private static double[][] createVectors(final UniformRandomizer randomizer, final int n, final int dim) {
+        final var result = new double[n][dim];
+        for (var i = 0; i < n; i++) {
+            randomizer.fill(result[i], MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,585 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialHashGrid2DTest {
+
+    private static final double ABSOLUTE_ERROR = 1e-9;
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+    private static final double MIN_SHAPE_SIZE = 0.5;
+    private static final double MAX_SHAPE_SIZE = 5.0;
+    private static final double CELL_SIZE = 5.0;
+
+    private static final int MIN_SHAPES = 50;
+    private static final int MAX_SHAPES = 500;
+    private static final int QUERIES = 100;
+    private static final int POLYGON_VERTICES = 5;
+
+    private static final int BENCHMARK_SHAPES = 20000;
+    private static final int BENCHMARK_QUERIES = 20000;
+
+    @Test
+    void testConstructor() {
+        final var grid = new SpatialHashGrid2D(CELL_SIZE);
+        assertEquals(CELL_SIZE, grid.getCellSize(), 0.0);
+        assertEquals(0, grid.getNumberOfShapes());
+        assertEquals(0, grid.getNumberOfCells());
+        assertTrue(grid.isEmpty());
+        assertFalse(grid.contains(0));
+        assertEquals(-1, grid.nearestIndex(new InhomogeneousPoint2D()));
+        assertEquals(0, grid.locateContaining(new InhomogeneousPoint2D(), new int[1], 1));
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHashGrid2D(0.0));
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHashGrid2D(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHashGrid2D(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new SpatialHashGrid2D(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void testAddAndRemove() throws GeometryException {
+        final var grid = new SpatialHashGrid2D(CELL_SIZE);
+
+        final var rectangle = new Rectangle(0.0, 0.0, 1.0, 1.0);
+        final var box = new Box2D(new InhomogeneousPoint2D(-12.0, -2.0), new InhomogeneousPoint2D(-11.0, -1.0));
+        final var circle = new Circle(new InhomogeneousPoint2D(20.0, 20.0), 2.0);
+        final var triangle = new Triangle2D(new InhomogeneousPoint2D(0.0, 0.0), new InhomogeneousPoint2D(12.0, 0.0),
+                new InhomogeneousPoint2D(0.0, 12.0));
+        final var polygon = createPolygon(new InhomogeneousPoint2D(-30.0, 30.0), 3.0);
+
+        assertEquals(0, grid.add(rectangle));
+        assertEquals(1, grid.add(box));
+        assertEquals(2, grid.add(circle));
+        assertEquals(3, grid.add(triangle));
+        assertEquals(4, grid.add(polygon));
+        assertEquals(5, grid.getNumberOfShapes());
+        assertFalse(grid.isEmpty());
+        assertSame(rectangle, grid.getShape(0));
+        assertSame(box, grid.getShape(1));
+        assertSame(circle, grid.getShape(2));
+        assertSame(triangle, grid.getShape(3));
+        assertSame(polygon, grid.getShape(4));
+
+        // check bounds
+        final var circleBounds = grid.getBounds(2);
+        assertEquals(18.0, circleBounds.getLo().getInhomX(), ABSOLUTE_ERROR);
+        assertEquals(18.0, circleBounds.getLo().getInhomY(), ABSOLUTE_ERROR);
+        assertEquals(22.0, circleBounds.getHi().getInhomX(), ABSOLUTE_ERROR);
+        assertEquals(22.0, circleBounds.getHi().getInhomY(), ABSOLUTE_ERROR);
+
+        // triangle spans 3x3 cells, other shapes span one or four
+        assertTrue(grid.getNumberOfCells() >= 9 + 4);
+
+        // remove shapes, removed positions are reused
+        assertTrue(grid.remove(3));
+        assertFalse(grid.remove(3));
+        assertFalse(grid.remove(-1));
+        assertFalse(grid.contains(3));
+        assertEquals(4, grid.getNumberOfShapes());
+        assertThrows(IllegalArgumentException.class, () -> grid.getShape(3));
+        assertThrows(IllegalArgumentException.class, () -> grid.getBounds(3));
+        assertThrows(IllegalArgumentException.class, () -> grid.update(3));
+        assertEquals(3, grid.add(triangle));
+        assertEquals(5, grid.add(rectangle));
+
+        for (var i = 0; i < 6; i++) {
+            assertTrue(grid.remove(i));
+        }
+        assertTrue(grid.isEmpty());
+        assertEquals(0, grid.getNumberOfCells());
+
+        grid.add(circle);
+        grid.clear();
+        assertTrue(grid.isEmpty());
+        assertEquals(0, grid.getNumberOfCells());
+        assertEquals(0, grid.add(rectangle));
+    }
+
+    @Test
+    void testRemoveKeepsCellsOfRemainingShapes() {
+        final var randomizer = new UniformRandomizer();
+        final var grid = new SpatialHashGrid2D(CELL_SIZE);
+
+        // each box is registered in a single cell, so that cell table grows and probe sequences collide
+        final var side = 40;
+        final var boxes = new ArrayList<Box2D>();
+        for (var i = 0; i < side; i++) {
+            for (var j = 0; j < side; j++) {
+                final var x = (i - side / 2) * CELL_SIZE;
+                final var y = (j - side / 2) * CELL_SIZE;
+                final var box = new Box2D(new InhomogeneousPoint2D(x + 1.0, y + 1.0),
+                        new InhomogeneousPoint2D(x + 2.0, y + 2.0));
+                assertEquals(boxes.size(), grid.add(box));
+                boxes.add(box);
+            }
+        }
+        assertEquals(boxes.size(), grid.getNumberOfCells());
+
+        // remove random boxes
+        final var removed = new boolean[boxes.size()];
+        var remaining = boxes.size();
+        for (var k = 0; k < boxes.size() / 2; k++) {
+            final var index = randomizer.nextInt(0, boxes.size());
+            assertEquals(!removed[index], grid.remove(index));
+            if (!removed[index]) {
+                removed[index] = true;
+                remaining--;
+            }
+        }
+        assertEquals(remaining, grid.getNumberOfCells());
+
+        // remaining boxes are still found in their cells, and removed ones are not
+        final var list = new int[1];
+        for (var index = 0; index < boxes.size(); index++) {
+            final var lo = boxes.get(index).getLo();
+            final var center = new InhomogeneousPoint2D(lo.getInhomX() + 0.5, lo.getInhomY() + 0.5);
+            if (removed[index]) {
+                assertEquals(0, grid.locateContaining(center, list, 1));
+            } else {
+                assertEquals(1, grid.locateContaining(center, list, 1));
+                assertEquals(index, list[0]);
+            }
+        }
+    }
+
+    @Test
+    void testLocateContaining() throws GeometryException {
+        final var randomizer = new UniformRandomizer();
+        final var shapes = createShapes(randomizer, randomizer.nextInt(MIN_SHAPES, MAX_SHAPES));
+        final var grid = createGrid(shapes);
+        final var list = new int[shapes.size()];
+
+        var total = 0;
+        for (var i = 0; i < QUERIES; i++) {
+            // query around shape centers so that most points are contained in some shape
+            final var point = getCenter(shapes.get(randomizer.nextInt(0, shapes.size())));
+
+            final var expected = new HashSet<Integer>();
+            for (var j = 0; j < shapes.size(); j++) {
+                if (isInside(shapes.get(j), point)) {
+                    expected.add(j);
+                }
+            }
+
+            final var n = grid.locateContaining(point, list, list.length);
+            final var found = new HashSet<Integer>();
+            for (var j = 0; j < n; j++) {
+                found.add(list[j]);
+            }
+            assertEquals(n, found.size());
+            assertEquals(expected, found);
+            total += n;
+
+            assertEquals(1, grid.locateContaining(point, list, 1));
+            assertTrue(expected.contains(list[0]));
+        }
+        assertTrue(total >= QUERIES);
+
+        // force IllegalArgumentException
+        final var point = new InhomogeneousPoint2D();
+        assertThrows(IllegalArgumentException.class, () -> grid.locateContaining(point, list, 0));
+        assertThrows(IllegalArgumentException.class, () -> grid.locateContaining(point, new int[1], 2));
+    }
+
+    @Test
+    void testLocateOverlapping() throws GeometryException {
+        final var randomizer = new UniformRandomizer();
+        final var shapes = createShapes(randomizer, randomizer.nextInt(MIN_SHAPES, MAX_SHAPES));
+        final var grid = createGrid(shapes);
+        final var list = new int[shapes.size()];
+
+        for (var i = 0; i < QUERIES; i++) {
+            final var center = createPoint(randomizer);
+            final var size = randomizer.nextDouble(MIN_SHAPE_SIZE, 10.0 * MAX_SHAPE_SIZE);
+            final var region = new Box2D(
+                    new InhomogeneousPoint2D(center.getInhomX() - size, center.getInhomY() - size),
+                    new InhomogeneousPoint2D(center.getInhomX() + size, center.getInhomY() + size));
+
+            final var n = grid.locateOverlapping(region, list, list.length);
+            final var found = new HashSet<Integer>();
+            for (var j = 0; j < n; j++) {
+                found.add(list[j]);
+            }
+            assertEquals(n, found.size());
+
+            for (var j = 0; j < shapes.size(); j++) {
+                final var shape = shapes.get(j);
+                if (isInside(region, getCenter(shape))) {
+                    // shapes having their center inside region overlap it
+                    assertTrue(found.contains(j));
+                }
+                if (!boundsOverlap(region, grid.getBounds(j))) {
+                    assertFalse(found.contains(j));
+                }
+                if (found.contains(j) && !(shape instanceof Polygon2D) && !(shape instanceof Triangle2D)) {
+                    // closest point of boxes and circles to region center must be within region distance
+                    assertTrue(grid.getDistance(j, center) <= Math.sqrt(2.0) * size + ABSOLUTE_ERROR);
+                }
+            }
+        }
+
+        // region inside a triangle without containing any vertex overlaps it
+        final var grid2 = new SpatialHashGrid2D(CELL_SIZE);
+        grid2.add(new Triangle2D(new InhomogeneousPoint2D(-50.0, -50.0), new InhomogeneousPoint2D(50.0, -50.0),
+                new InhomogeneousPoint2D(0.0, 50.0)));
+        final var inner = new Box2D(new InhomogeneousPoint2D(-1.0, -1.0), new InhomogeneousPoint2D(1.0, 1.0));
+        assertEquals(1, grid2.locateOverlapping(inner, list, 1));
+
+        // region crossed by a triangle edge without containing any vertex overlaps it
+        final var crossed = new Box2D(new InhomogeneousPoint2D(24.0, -1.0), new InhomogeneousPoint2D(26.0, 1.0));
+        assertEquals(1, grid2.locateOverlapping(crossed, list, 1));
+
+        // region inside triangle bounds but outside triangle does not overlap it
+        final var outside = new Box2D(new InhomogeneousPoint2D(40.0, 30.0), new InhomogeneousPoint2D(45.0, 35.0));
+        assertEquals(0, grid2.locateOverlapping(outside, list, 1));
+
+        // region inside circle bounds but outside circle does not overlap it
+        final var grid3 = new SpatialHashGrid2D(CELL_SIZE);
+        grid3.add(new Circle(new InhomogeneousPoint2D(), 10.0));
+        final var corner = new Box2D(new InhomogeneousPoint2D(8.0, 8.0), new InhomogeneousPoint2D(9.0, 9.0));
+        assertEquals(0, grid3.locateOverlapping(corner, list, 1));
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> grid.locateOverlapping(inner, list, 0));
+        assertThrows(IllegalArgumentException.class, () -> grid.locateOverlapping(inner, new int[1], 2));
+    }
+
+    @Test
+    void testGetDistance() throws GeometryException {
+        final var randomizer = new UniformRandomizer();
+        final var shapes = createShapes(randomizer, randomizer.nextInt(MIN_SHAPES, MAX_SHAPES));
+        final var grid = createGrid(shapes);
+
+        for (var i = 0; i < QUERIES; i++) {
+            final var point = createPoint(randomizer);
+            for (var j = 0; j < shapes.size(); j++) {
+                assertEquals(distance(shapes.get(j), point), grid.getDistance(j, point), ABSOLUTE_ERROR);
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> grid.getDistance(-1, new InhomogeneousPoint2D()));
+    }
+
+    @Test
+    void testNearestIndex() throws GeometryException {
+        final var randomizer = new UniformRandomizer();
+        final var shapes = createShapes(randomizer, randomizer.nextInt(MIN_SHAPES, MAX_SHAPES));
+        final var grid = createGrid(shapes);
+
+        for (var i = 0; i < QUERIES; i++) {
+            // include points far from all shapes
+            final var point = new InhomogeneousPoint2D(
+                    randomizer.nextDouble(2.0 * MIN_RANDOM_VALUE, 2.0 * MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(2.0 * MIN_RANDOM_VALUE, 2.0 * MAX_RANDOM_VALUE));
+
+            var bestDistance = Double.MAX_VALUE;
+            for (var j = 0; j < shapes.size(); j++) {
+                bestDistance = Math.min(bestDistance, grid.getDistance(j, point));
+            }
+
+            final var index = grid.nearestIndex(point);
+            assertEquals(bestDistance, grid.getDistance(index, point), ABSOLUTE_ERROR);
+        }
+    }
+
+    @Test
+    void testUpdate() throws GeometryException {
+        final var randomizer = new UniformRandomizer();
+        final var shapes = createShapes(randomizer, randomizer.nextInt(MIN_SHAPES, MAX_SHAPES));
+        final var grid = createGrid(shapes);
+        final var list = new int[shapes.size()];
+
+        // move all circles and rectangles
+        for (var i = 0; i < shapes.size(); i++) {
+            final var shape = shapes.get(i);
+            final var center = createPoint(randomizer);
+            if (shape instanceof Circle circle) {
+                circle.setCenter(center);
+                grid.update(i);
+            } else if (shape instanceof Rectangle rectangle) {
+                rectangle.setCenter(center);
+                grid.update(i);
+            }
+        }
+
+        // remove some shapes
+        final var removed = new HashSet<Integer>();
+        for (var i = 0; i < shapes.size(); i += 3) {
+            assertTrue(grid.remove(i));
+            removed.add(i);
+        }
+
+        for (var i = 0; i < QUERIES; i++) {
+            final var point = getCenter(shapes.get(randomizer.nextInt(0, shapes.size())));
+
+            final var expected = new HashSet<Integer>();
+            for (var j = 0; j < shapes.size(); j++) {
+                if (!removed.contains(j) && isInside(shapes.get(j), point)) {
+                    expected.add(j);
+                }
+            }
+
+            final var n = grid.locateContaining(point, list, list.length);
+            final var found = new HashSet<Integer>();
+            for (var j = 0; j < n; j++) {
+                found.add(list[j]);
+            }
+            assertEquals(expected, found);
+
+            var bestDistance = Double.MAX_VALUE;
+            for (var j = 0; j < shapes.size(); j++) {
+                if (!removed.contains(j)) {
+                    bestDistance = Math.min(bestDistance, distance(shapes.get(j), point));
+                }
+            }
+            final var index = grid.nearestIndex(point);
+            assertFalse(removed.contains(index));
+            assertEquals(bestDistance, grid.getDistance(index, point), ABSOLUTE_ERROR);
+        }
+
+        // updated grid uses the same cells as a grid built from scratch
+        final var rebuilt = new SpatialHashGrid2D(CELL_SIZE);
+        for (var i = 0; i < shapes.size(); i++) {
+            if (!removed.contains(i)) {
+                add(rebuilt, shapes.get(i));
+            }
+        }
+        assertEquals(rebuilt.getNumberOfCells(), grid.getNumberOfCells());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testBenchmark() throws GeometryException {
+        final var randomizer = new UniformRandomizer();
+        final var shapes = new ArrayList<>();
+        for (var i = 0; i < BENCHMARK_SHAPES; i++) {
+            shapes.add(new Circle(new InhomogeneousPoint2D(
+                    randomizer.nextDouble(10.0 * MIN_RANDOM_VALUE, 10.0 * MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(10.0 * MIN_RANDOM_VALUE, 10.0 * MAX_RANDOM_VALUE)),
+                    randomizer.nextDouble(MIN_SHAPE_SIZE, MAX_SHAPE_SIZE)));
+        }
+        final var points = new ArrayList<Point2D>();
+        for (var i = 0; i < BENCHMARK_QUERIES; i++) {
+            points.add(new InhomogeneousPoint2D(
+                    randomizer.nextDouble(10.0 * MIN_RANDOM_VALUE, 10.0 * MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(10.0 * MIN_RANDOM_VALUE, 10.0 * MAX_RANDOM_VALUE)));
+        }
+
+        var startTime = System.nanoTime();
+        final var grid = createGrid(shapes);
+        final var buildTime = System.nanoTime() - startTime;
+
+        final var list = new int[BENCHMARK_SHAPES];
+        startTime = System.nanoTime();
+        var gridCount = 0;
+        for (final var point : points) {
+            gridCount += grid.locateContaining(point, list, list.length);
+        }
+        final var gridTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        var linearCount = 0;
+        for (final var point : points) {
+            for (final var shape : shapes) {
+                if (((Circle) shape).isInside(point)) {
+                    linearCount++;
+                }
+            }
+        }
+        final var linearTime = System.nanoTime() - startTime;
+        assertEquals(linearCount, gridCount);
+
+        Logger.getGlobal().log(Level.INFO, String.format(
+                "Spatial hash build: %d ms, %d cells, containment queries: %d ms, linear scan: %d ms",
+                buildTime / 1000000, grid.getNumberOfCells(), gridTime / 1000000, linearTime / 1000000));
+    }
+
+    private static List<Object> createShapes(final UniformRandomizer randomizer, final int n)
+            throws GeometryException {
+        final var shapes = new ArrayList<>();
+        for (var i = 0; i < n; i++) {
+            final var center = createPoint(randomizer);
+            final var size = randomizer.nextDouble(MIN_SHAPE_SIZE, MAX_SHAPE_SIZE);
+            switch (i % 5) {
+                case 0 -> {
+                    final var rectangle = new Rectangle();
+                    rectangle.setCenterAndSize(center, size, randomizer.nextDouble(MIN_SHAPE_SIZE, MAX_SHAPE_SIZE));
+                    shapes.add(rectangle);
+                }
+                case 1 -> shapes.add(new Box2D(center, new InhomogeneousPoint2D(center.getInhomX() + size,
+                        center.getInhomY() + randomizer.nextDouble(MIN_SHAPE_SIZE, MAX_SHAPE_SIZE))));
+                case 2 -> shapes.add(new Circle(center, size));
+                case 3 -> shapes.add(new Triangle2D(center,
+                        new InhomogeneousPoint2D(center.getInhomX() + size, center.getInhomY()),
+                        new InhomogeneousPoint2D(center.getInhomX() + randomizer.nextDouble(-size, size),
+                                center.getInhomY() + size)));
+                default -> shapes.add(createPolygon(center, size));
+            }
+        }
+        return shapes;
+    }
+
+    private static Polygon2D createPolygon(final Point2D center, final double radius)
+            throws NotEnoughVerticesException {
+        // star shaped, hence not convex, polygon
+        final var vertices = new ArrayList<Point2D>();
+        for (var i = 0; i < 2 * POLYGON_VERTICES; i++) {
+            final var angle = Math.PI * i / POLYGON_VERTICES;
+            final var r = i % 2 == 0 ? radius : 0.5 * radius;
+            vertices.add(new InhomogeneousPoint2D(center.getInhomX() + r * Math.cos(angle),
+                    center.getInhomY() + r * Math.sin(angle)));
+        }
+        return new Polygon2D(vertices);
+    }
+
+    private static SpatialHashGrid2D createGrid(final List<Object> shapes) {
+        final var grid = new SpatialHashGrid2D(CELL_SIZE);
+        for (final var shape : shapes) {
+            add(grid, shape);
+        }
+        return grid;
+    }
+
+    private static void add(final SpatialHashGrid2D grid, final Object shape) {
+        if (shape instanceof Rectangle rectangle) {
+            grid.add(rectangle);
+        } else if (shape instanceof Box2D box) {
+            grid.add(box);
+        } else if (shape instanceof Circle circle) {
+            grid.add(circle);
+        } else if (shape instanceof Triangle2D triangle) {
+            grid.add(triangle);
+        } else {
+            grid.add((Polygon2D) shape);
+        }
+    }
+
+    private static Point2D createPoint(final UniformRandomizer randomizer) {
+        return new InhomogeneousPoint2D(randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+    }
+
+    private static Point2D getCenter(final Object shape) {
+        if (shape instanceof Rectangle rectangle) {
+            return rectangle.getCenter();
+        } else if (shape instanceof Box2D box) {
+            return new InhomogeneousPoint2D(0.5 * (box.getLo().getInhomX() + box.getHi().getInhomX()),
+                    0.5 * (box.getLo().getInhomY() + box.getHi().getInhomY()));
+        } else if (shape instanceof Circle circle) {
+            return circle.getCenter();
+        } else if (shape instanceof Triangle2D triangle) {
+            return triangle.getCenter();
+        } else {
+            // center of star shaped polygons is inside them
+            return ((Polygon2D) shape).getCenter();
+        }
+    }
+
+    private static boolean isInside(final Object shape, final Point2D point) {
+        if (shape instanceof Rectangle rectangle) {
+            return rectangle.isInside(point);
+        } else if (shape instanceof Box2D box) {
+            return isInside(box, point);
+        } else if (shape instanceof Circle circle) {
+            return circle.isInside(point);
+        } else if (shape instanceof Triangle2D triangle) {
+            return triangle.isInside(point);
+        } else {
+            return isInsidePolygon(((Polygon2D) shape).getVertices(), point);
+        }
+    }
+
+    private static double distance(final Object shape, final Point2D point) {
+        if (shape instanceof Rectangle rectangle) {
+            final var topLeft = rectangle.getTopLeft();
+            final var bottomRight = rectangle.getBottomRight();
+            final var box = new Box2D();
+            box.setBounds(Math.min(topLeft.getInhomX(), bottomRight.getInhomX()),
+                    Math.min(topLeft.getInhomY(), bottomRight.getInhomY()),
+                    Math.max(topLeft.getInhomX(), bottomRight.getInhomX()),
+                    Math.max(topLeft.getInhomY(), bottomRight.getInhomY()));
+            return box.getDistance(point);
+        } else if (shape instanceof Box2D box) {
+            return box.getDistance(point);
+        } else if (shape instanceof Circle circle) {
+            return Math.max(0.0, circle.getSignedDistance(point));
+        } else {
+            final var vertices = shape instanceof Triangle2D triangle
+                    ? triangle.getVertices() : ((Polygon2D) shape).getVertices();
+            return isInsidePolygon(vertices, point) ? 0.0 : boundaryDistance(vertices, point);
+        }
+    }
+
+    private static double boundaryDistance(final List<Point2D> vertices, final Point2D point) {
+        var result = Double.MAX_VALUE;
+        final var n = vertices.size();
+        for (var i = 0; i < n; i++) {
+            final var v1 = vertices.get(i);
+            final var v2 = vertices.get((i + 1) % n);
+            final var dx = v2.getInhomX() - v1.getInhomX();
+            final var dy = v2.getInhomY() - v1.getInhomY();
+            var t = ((point.getInhomX() - v1.getInhomX()) * dx + (point.getInhomY() - v1.getInhomY()) * dy)
+                    / (dx * dx + dy * dy);
+            t = Math.max(0.0, Math.min(1.0, t));
+            result = Math.min(result, point.distanceTo(
+                    new InhomogeneousPoint2D(v1.getInhomX() + t * dx, v1.getInhomY() + t * dy)));
+        }
+        return result;
+    }
+
+    private static boolean isInsidePolygon(final List<Point2D> vertices, final Point2D point) {
+        // count crossings of a horizontal ray going from point to the right
+        var crossings = 0;
+        final var n = vertices.size();
+        for (var i = 0; i < n; i++) {
+            final var v1 = vertices.get(i);
+            final var v2 = vertices.get((i + 1) % n);
+            if ((v1.getInhomY() > point.getInhomY()) != (v2.getInhomY() > point.getInhomY())) {
+                final var x = v1.getInhomX() + (point.getInhomY() - v1.getInhomY())
+                        * (v2.getInhomX() - v1.getInhomX()) / (v2.getInhomY() - v1.getInhomY());
+                if (x > point.getInhomX()) {
+                    crossings++;
+                }
+            }
+        }
+        return crossings % 2 == 1;
+    }
+
+    private static boolean isInside(final Box2D box, final Point2D point) {
+        return point.getInhomX() >= box.getLo().getInhomX() && point.getInhomX() <= box.getHi().getInhomX()
+                && point.getInhomY() >= box.getLo().getInhomY() && point.getInhomY() <= box.getHi().getInhomY();
+    }
+
+    private static boolean boundsOverlap(final Box2D box1, final Box2D box2) {
+        return box1.getLo().getInhomX() <= box2.getHi().getInhomX()
+                && box1.getHi().getInhomX() >= box2.getLo().getInhomX()
+                && box1.getLo().getInhomY() <= box2.getHi().getInhomY()
+                && box1.getHi().getInhomY() >= box2.getLo().getInhomY();
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry;
+
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorKDTreeTest {
+
+    private static final double ABSOLUTE_ERROR = 1e-9;
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+
+    private static final int MIN_POINTS = 50;
+    private static final int MAX_POINTS = 500;
+
+    private static final int MIN_DIMENSIONS = 1;
+    private static final int MAX_DIMENSIONS = 32;
+
+    private static final int MAX_NEIGHBOURS = 10;
+
+    private static final double MIN_EPSILON = 0.1;
+    private static final double MAX_EPSILON = 1.0;
+
+    @Test
+    void testConstructor() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS);
+        final var vectors = createVectors(randomizer, n, dim);
+
+        final var tree = new VectorKDTree(vectors);
+
+        // check
+        assertEquals(dim, tree.getDimensions());
+        assertEquals(n, tree.getNumberOfVectors());
+        assertTrue(tree.getNumberOfBoxes() > 0);
+        for (var i = 0; i < n; i++) {
+            assertArrayEquals(vectors[i], tree.getVector(i), 0.0);
+            for (var d = 0; d < dim; d++) {
+                assertEquals(vectors[i][d], tree.getCoordinate(i, d), 0.0);
+            }
+        }
+        checkBoxes(tree, vectors);
+
+        // constructor with single precision vectors
+        final var floatVectors = new float[n][dim];
+        for (var i = 0; i < n; i++) {
+            for (var d = 0; d < dim; d++) {
+                floatVectors[i][d] = (float) vectors[i][d];
+            }
+        }
+        final var tree2 = new VectorKDTree(floatVectors);
+        assertEquals(dim, tree2.getDimensions());
+        assertEquals(n, tree2.getNumberOfVectors());
+        for (var i = 0; i < n; i++) {
+            for (var d = 0; d < dim; d++) {
+                assertEquals(floatVectors[i][d], tree2.getCoordinate(i, d), 0.0);
+            }
+        }
+
+        // constructor with consecutive data is identical to sequential and parallel builds
+        final var data = toData(vectors);
+        final var tree3 = new VectorKDTree(data, n, dim);
+        final var pool = new ForkJoinPool();
+        final VectorKDTree tree4;
+        try {
+            tree4 = new VectorKDTree(data, n, dim, pool);
+        } finally {
+            pool.shutdown();
+        }
+        for (var i = 0; i < n; i++) {
+            assertEquals(tree.getVectorIndex(i), tree3.getVectorIndex(i));
+            assertEquals(tree.getVectorIndex(i), tree4.getVectorIndex(i));
+        }
+
+        // data is copied
+        data[0] = Double.NaN;
+        assertEquals(vectors[0][0], tree3.getCoordinate(0, 0), 0.0);
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> new VectorKDTree(new double[2][dim]));
+        assertThrows(IllegalArgumentException.class, () -> new VectorKDTree(new double[0][]));
+        assertThrows(IllegalArgumentException.class, () -> new VectorKDTree(
+                new double[][]{new double[dim], new double[dim], new double[dim + 1]}));
+        assertThrows(IllegalArgumentException.class, () -> new VectorKDTree(new double[n][0]));
+        assertThrows(IllegalArgumentException.class, () -> new VectorKDTree(data, n + 1, dim));
+        assertThrows(IllegalArgumentException.class, () -> new VectorKDTree(data, n, dim + 1));
+    }
+
+    @Test
+    void testSinglePrecision() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS);
+        final var floatVectors = new float[n][dim];
+        final var vectors = new double[n][dim];
+        final var floatData = new float[n * dim];
+        for (var i = 0; i < n; i++) {
+            for (var d = 0; d < dim; d++) {
+                floatVectors[i][d] = (float) randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                vectors[i][d] = floatVectors[i][d];
+                floatData[i * dim + d] = floatVectors[i][d];
+            }
+        }
+
+        // vectors are stored in single precision
+        final var tree = new VectorKDTree(vectors);
+        final var floatTree = new VectorKDTree(floatVectors);
+        assertFalse(tree.isSinglePrecision());
+        assertTrue(floatTree.isSinglePrecision());
+
+        final VectorKDTree dataTree;
+        final var pool = new ForkJoinPool();
+        try {
+            dataTree = new VectorKDTree(floatData, n, dim, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(dataTree.isSinglePrecision());
+        assertTrue(new VectorKDTree(floatData, n, dim).isSinglePrecision());
+
+        // data is copied
+        floatData[0] = Float.NaN;
+        assertEquals(vectors[0][0], dataTree.getCoordinate(0, 0), 0.0);
+
+        // trees and results are the same ones obtained in double precision
+        checkBoxes(floatTree, vectors);
+        for (var i = 0; i < n; i++) {
+            assertEquals(tree.getVectorIndex(i), floatTree.getVectorIndex(i));
+            assertEquals(tree.getVectorIndex(i), dataTree.getVectorIndex(i));
+            assertArrayEquals(vectors[i], floatTree.getVector(i), 0.0);
+        }
+        for (var q = 0; q < MIN_POINTS; q++) {
+            final var i = randomizer.nextInt(0, n);
+            final var j = randomizer.nextInt(0, n);
+            assertEquals(tree.distance(i, j), floatTree.distance(i, j), 0.0);
+
+            final var query = new double[dim];
+            randomizer.fill(query, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            assertEquals(tree.nearestIndex(query), floatTree.nearestIndex(query));
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> new VectorKDTree(new float[2][dim]));
+        assertThrows(IllegalArgumentException.class, () -> new VectorKDTree(
+                new float[][]{new float[dim], new float[dim], new float[dim + 1]}));
+        assertThrows(IllegalArgumentException.class, () -> new VectorKDTree(floatData, n + 1, dim));
+        assertThrows(IllegalArgumentException.class, () -> new VectorKDTree(floatData, n, dim + 1));
+    }
+
+    @Test
+    void testDistance() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS);
+        final var vectors = createVectors(randomizer, n, dim);
+
+        final var tree = new VectorKDTree(vectors);
+
+        for (var i = 0; i < n; i++) {
+            final var j = randomizer.nextInt(0, n);
+            assertEquals(distance(vectors[i], vectors[j]), tree.distance(i, j), ABSOLUTE_ERROR);
+        }
+        assertEquals(0.0, tree.distance(0, 0), 0.0);
+    }
+
+    @Test
+    void testLocateBoxIndex() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS);
+        final var vectors = createVectors(randomizer, n, dim);
+
+        final var tree = new VectorKDTree(vectors);
+
+        for (var i = 0; i < n; i++) {
+            final var box = tree.locateBoxIndex(vectors[i]);
+            assertEquals(0, tree.getBoxDau1(box));
+            for (var d = 0; d < dim; d++) {
+                assertTrue(vectors[i][d] >= tree.getBoxLo(box, d));
+                assertTrue(vectors[i][d] <= tree.getBoxHi(box, d));
+            }
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.locateBoxIndex(new double[dim + 1]));
+    }
+
+    @Test
+    void testNearestIndex() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS);
+        final var vectors = createVectors(randomizer, n, dim);
+
+        final var tree = new VectorKDTree(vectors);
+
+        // stored vectors are their own nearest vectors
+        for (var i = 0; i < n; i++) {
+            assertEquals(0.0, distance(vectors[i], vectors[tree.nearestIndex(vectors[i])]), 0.0);
+        }
+
+        final var epsilon = randomizer.nextDouble(MIN_EPSILON, MAX_EPSILON);
+        final var query = new double[dim];
+        final var floatQuery = new float[dim];
+        for (var q = 0; q < MIN_POINTS; q++) {
+            randomizer.fill(query, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var best = bruteForceNearest(vectors, query);
+            final var bestDist = distance(query, vectors[best]);
+
+            assertEquals(bestDist, distance(query, vectors[tree.nearestIndex(query)]), 0.0);
+            assertTrue(distance(query, vectors[tree.nearestIndex(query, epsilon, KDTree.UNLIMITED_CHECKS)])
+                    <= (1.0 + epsilon) * bestDist + ABSOLUTE_ERROR);
+            assertTrue(distance(query, vectors[tree.nearestIndex(query, 0.0, 1)]) >= bestDist);
+
+            for (var d = 0; d < dim; d++) {
+                floatQuery[d] = (float) query[d];
+            }
+            final var doubleQuery = VectorKDTree.toDouble(floatQuery);
+            assertEquals(tree.nearestIndex(doubleQuery), tree.nearestIndex(floatQuery));
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.nearestIndex(new double[dim + 1]));
+        assertThrows(IllegalArgumentException.class, () -> tree.nearestIndex(query, -1.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nearestIndex(query, 0.0, 0));
+    }
+
+    @Test
+    void testNNearest() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS);
+        final var vectors = createVectors(randomizer, n, dim);
+
+        final var tree = new VectorKDTree(vectors);
+
+        final var k = randomizer.nextInt(1, MAX_NEIGHBOURS);
+        final var epsilon = randomizer.nextDouble(MIN_EPSILON, MAX_EPSILON);
+        final var nn = new int[k];
+        final var dn = new double[k];
+        final var query = new double[dim];
+        final var distances = new double[n];
+        for (var q = 0; q < MIN_POINTS; q++) {
+            randomizer.fill(query, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            for (var j = 0; j < n; j++) {
+                distances[j] = distance(query, vectors[j]);
+            }
+            Arrays.sort(distances);
+
+            // exact search
+            tree.nNearest(query, nn, dn, k);
+            for (var j = 0; j < k; j++) {
+                assertEquals(distances[j], dn[j], ABSOLUTE_ERROR);
+                assertEquals(distance(query, vectors[nn[j]]), dn[j], ABSOLUTE_ERROR);
+            }
+
+            // approximate search
+            tree.nNearest(query, nn, dn, k, epsilon, KDTree.UNLIMITED_CHECKS);
+            for (var j = 0; j < k; j++) {
+                assertEquals(distance(query, vectors[nn[j]]), dn[j], ABSOLUTE_ERROR);
+                assertTrue(dn[j] <= (1.0 + epsilon) * distances[j] + ABSOLUTE_ERROR);
+                if (j > 0) {
+                    assertTrue(dn[j - 1] <= dn[j]);
+                }
+            }
+
+            // bounded number of checks still finds k vectors
+            tree.nNearest(query, nn, dn, k, 0.0, 1);
+            for (var j = 0; j < k; j++) {
+                assertTrue(dn[j] >= distances[j] - ABSOLUTE_ERROR);
+                assertTrue(dn[j] < Double.MAX_VALUE);
+            }
+        }
+
+        // search with all vectors
+        final var nn2 = new int[n];
+        final var dn2 = new double[n];
+        tree.nNearest(query, nn2, dn2, n);
+        final var sorted = Arrays.copyOf(nn2, n);
+        Arrays.sort(sorted);
+        for (var i = 0; i < n; i++) {
+            assertEquals(i, sorted[i]);
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(query, nn, dn, -1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(query, nn, dn, k + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(query, nn2, dn2, n + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(new double[dim + 1], nn, dn, k));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(query, nn, dn, k, -1.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nNearest(query, nn, dn, k, 0.0, 0));
+    }
+
+    @Test
+    void testLocateNear() {
+        final var randomizer = new UniformRandomizer();
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var dim = randomizer.nextInt(MIN_DIMENSIONS, MAX_DIMENSIONS);
+        final var vectors = createVectors(randomizer, n, dim);
+
+        final var tree = new VectorKDTree(vectors);
+
+        final var list = new int[n];
+        final var query = new double[dim];
+        for (var q = 0; q < MIN_POINTS; q++) {
+            randomizer.fill(query, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var r = distance(query, vectors[randomizer.nextInt(0, n)]) + ABSOLUTE_ERROR;
+
+            final var found = tree.locateNear(query, r, list, n);
+
+            var expected = 0;
+            for (var j = 0; j < n; j++) {
+                if (distance(query, vectors[j]) <= r) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, found);
+            for (var j = 0; j < found; j++) {
+                assertTrue(distance(query, vectors[list[j]]) <= r);
+            }
+
+            // search is limited to provided maximum
+            assertEquals(1, tree.locateNear(query, r, list, 1));
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(query, -1.0, list, n));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(query, 1.0, list, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(query, 1.0, list, n + 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.locateNear(new double[dim + 1], 1.0, list,
+                n));
+    }
+
+    private static void checkBoxes(final VectorKDTree tree, final double[][] vectors) {
+        for (var k = 0; k < tree.getNumberOfBoxes(); k++) {
+            for (var i = tree.getBoxPtLo(k); i <= tree.getBoxPtHi(k); i++) {
+                final var v = vectors[tree.getVectorIndex(i)];
+                for (var d = 0; d < v.length; d++) {
+                    assertTrue(v[d] >= tree.getBoxLo(k, d));
+                    assertTrue(v[d] <= tree.getBoxHi(k, d));
+                }
+            }
+            if (tree.getBoxDau1(k) != 0) {
+                assertEquals(k, tree.getBoxMom(tree.getBoxDau1(k)));
+                assertEquals(k, tree.getBoxMom(tree.getBoxDau2(k)));
+            }
+        }
+    }
+
+    private static int bruteForceNearest(final double[][] vectors, final double[] query) {
+        var best = 0;
+        var bestDist = Double.MAX_VALUE;
+        for (var j = 0; j < vectors.length; j++) {
+            final var dist = distance(query, vectors[j]);
+            if (dist < bestDist) {
+                bestDist = dist;
+                best = j;
+            }
+        }
+        return best;
+    }
+
+    private static double distance(final double[] a, final double[] b) {
+        var d = 0.0;
+        for (var j = 0; j < a.length; j++) {
+            final var diff = a[j] - b[j];
+            d += diff * diff;
+        }
+        return Math.sqrt(d);
+    }
+
+    private static double[] toData(final double[][] vectors) {
+        final var dim = vectors[0].length;
+        final var result = new double[vectors.length * dim];
+        for (var i = 0; i < vectors.length; i++) {
+            System.arraycopy(vectors[i], 0, result, i * dim, dim);
+        }
+        return result;
+    }
+
+    private static double[][] createVectors(final UniformRandomizer randomizer, final int n, final int dim) {
+        final var result = new double[n][dim];
+        for (var i = 0; i < n; i++) {
+            randomizer.fill(result[i], MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        }
+        return result;
+    }
+}
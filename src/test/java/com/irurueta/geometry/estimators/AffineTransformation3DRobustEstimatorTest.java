@@ -41,6 +41,25 @@ class AffineTransformation3DRobustEstimatorTest {
         assertFalse(AffineTransformation3DRobustEstimator.DEFAULT_KEEP_COVARIANCE);
     }
 
+    @Test
+    void testGetSetParallelism() throws LockedException {
+        for (final var method : RobustEstimatorMethod.values()) {
+            final var estimator = PointCorrespondenceAffineTransformation3DRobustEstimator.create(method);
+
+            // check default value
+            assertEquals(AffineTransformation3DRobustEstimator.DEFAULT_PARALLELISM, estimator.getParallelism());
+
+            // set new value
+            estimator.setParallelism(4);
+
+            // check correctness
+            assertEquals(4, estimator.getParallelism());
+
+            // Force IllegalArgumentException
+            assertThrows(IllegalArgumentException.class, () -> estimator.setParallelism(0));
+        }
+    }
+
     @Test
     void testCreateFromPoints() {
         // create with points and method
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import com.irurueta.geometry.ProjectiveTransformation2D;
+import com.irurueta.numerical.robust.RobustEstimatorException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchEstimationResultTest {
+
+    @Test
+    void testConstructor() {
+        // test constructor for successful estimation
+        final var transformation = new ProjectiveTransformation2D();
+        var result = new BatchEstimationResult<>(transformation, null);
+
+        // check
+        assertSame(transformation, result.getResult());
+        assertNull(result.getInliersData());
+        assertNull(result.getError());
+        assertTrue(result.isSuccessful());
+
+        // test constructor for failed estimation
+        final var error = new RobustEstimatorException();
+        result = new BatchEstimationResult<>(error);
+
+        // check
+        assertNull(result.getResult());
+        assertNull(result.getInliersData());
+        assertSame(error, result.getError());
+        assertFalse(result.isSuccessful());
+    }
+}
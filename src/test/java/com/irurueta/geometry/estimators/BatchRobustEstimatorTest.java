@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import com.irurueta.numerical.robust.RobustEstimatorException;
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRobustEstimatorTest {
+
+    private static final int MIN_PROBLEMS = 50;
+    private static final int MAX_PROBLEMS = 100;
+
+    private static final int PARALLELISM = 4;
+
+    @Test
+    void testConstructor() {
+        final var solver = new SquareSolver();
+
+        var batch = new BatchRobustEstimator<Integer, FakeEstimator, Integer>(FakeEstimator::new, solver, null);
+        assertSame(ForkJoinPool.commonPool(), batch.getPool());
+
+        final var pool = new ForkJoinPool(PARALLELISM);
+        try {
+            batch = new BatchRobustEstimator<>(FakeEstimator::new, solver, null, pool);
+            assertSame(pool, batch.getPool());
+
+            batch = new BatchRobustEstimator<>(FakeEstimator::new, solver, null, estimator -> {
+            }, pool);
+            assertSame(pool, batch.getPool());
+
+            // Force IllegalArgumentException
+            assertThrows(IllegalArgumentException.class,
+                    () -> new BatchRobustEstimator<Integer, FakeEstimator, Integer>(null, solver, null));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new BatchRobustEstimator<Integer, FakeEstimator, Integer>(FakeEstimator::new, null,
+                            null));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new BatchRobustEstimator<>(FakeEstimator::new, solver, null, null));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new BatchRobustEstimator<>(FakeEstimator::new, solver, null, null, null));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testEstimate() {
+        final var randomizer = new UniformRandomizer();
+        final var numProblems = randomizer.nextInt(MIN_PROBLEMS, MAX_PROBLEMS);
+        final var problems = new ArrayList<Integer>();
+        for (var i = 0; i < numProblems; i++) {
+            problems.add(i);
+        }
+
+        final var created = new AtomicInteger();
+        final var estimators = Collections.synchronizedSet(new HashSet<FakeEstimator>());
+        final var pool = new ForkJoinPool(PARALLELISM);
+        try {
+            final var batch = new BatchRobustEstimator<Integer, FakeEstimator, Integer>(() -> {
+                created.incrementAndGet();
+                return new FakeEstimator();
+            }, (estimator, problem) -> {
+                estimators.add(estimator);
+                return new SquareSolver().solve(estimator, problem);
+            }, estimator -> null, pool);
+
+            final var results = batch.estimate(problems);
+
+            // results are returned in the same order as problems
+            assertEquals(numProblems, results.size());
+            for (var i = 0; i < numProblems; i++) {
+                final var result = results.get(i);
+                assertTrue(result.isSuccessful());
+                assertEquals(i * i, (int) result.getResult());
+                assertNull(result.getInliersData());
+                assertNull(result.getError());
+            }
+
+            // estimators are reused by each thread
+            assertTrue(created.get() < numProblems);
+            assertEquals(created.get(), estimators.size());
+            var solved = 0;
+            for (final var estimator : estimators) {
+                solved += estimator.solved;
+            }
+            assertEquals(numProblems, solved);
+
+            // empty batch
+            assertTrue(batch.estimate(new ArrayList<>()).isEmpty());
+
+            // Force IllegalArgumentException
+            assertThrows(IllegalArgumentException.class, () -> batch.estimate(null));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testEstimateReusesEstimatorsAcrossBatches() {
+        final var problems = new ArrayList<Integer>();
+        for (var i = 0; i < MIN_PROBLEMS; i++) {
+            problems.add(i);
+        }
+
+        final var created = new AtomicInteger();
+        final var released = new AtomicInteger();
+        final var estimators = Collections.synchronizedSet(new HashSet<FakeEstimator>());
+        final var pool = new ForkJoinPool(1);
+        try {
+            final var batch = new BatchRobustEstimator<Integer, FakeEstimator, Integer>(() -> {
+                created.incrementAndGet();
+                return new FakeEstimator();
+            }, (estimator, problem) -> {
+                estimators.add(estimator);
+                estimator.problem = problem;
+                return problem;
+            }, estimator -> null, estimator -> {
+                released.incrementAndGet();
+                estimator.problem = null;
+            }, pool);
+
+            batch.estimate(problems);
+            batch.estimate(problems);
+
+            // a single thread reuses the same estimator for both batches
+            assertEquals(1, created.get());
+            assertEquals(1, estimators.size());
+
+            // problem data is released after each problem
+            assertEquals(2 * MIN_PROBLEMS, released.get());
+            for (final var estimator : estimators) {
+                assertNull(estimator.problem);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testEstimateWithErrors() {
+        final var problems = new ArrayList<Integer>();
+        for (var i = 0; i < MIN_PROBLEMS; i++) {
+            problems.add(i);
+        }
+
+        final var batch = new BatchRobustEstimator<Integer, FakeEstimator, Integer>(FakeEstimator::new,
+                (estimator, problem) -> {
+                    if (problem % 2 == 1) {
+                        throw new RobustEstimatorException();
+                    }
+                    return problem;
+                }, estimator -> null);
+
+        final var results = batch.estimate(problems);
+
+        // failed problems do not abort the batch
+        assertEquals(MIN_PROBLEMS, results.size());
+        for (var i = 0; i < MIN_PROBLEMS; i++) {
+            final var result = results.get(i);
+            if (i % 2 == 1) {
+                assertFalse(result.isSuccessful());
+                assertNull(result.getResult());
+                assertInstanceOf(RobustEstimatorException.class, result.getError());
+            } else {
+                assertTrue(result.isSuccessful());
+                assertEquals(i, (int) result.getResult());
+            }
+        }
+    }
+
+    @Test
+    void testEstimateWithUnexpectedError() {
+        final var problems = new ArrayList<Integer>();
+        for (var i = 0; i < MIN_PROBLEMS; i++) {
+            problems.add(i);
+        }
+
+        final var batch = new BatchRobustEstimator<Integer, FakeEstimator, Integer>(FakeEstimator::new,
+                (estimator, problem) -> {
+                    if (problem == 0) {
+                        throw new IllegalArgumentException();
+                    }
+                    if (problem == 1) {
+                        throw new IllegalStateException();
+                    }
+                    return problem;
+                }, estimator -> null);
+
+        // errors not raised by estimators are programming errors and are
+        // propagated
+        assertThrows(IllegalStateException.class, () -> batch.estimate(problems));
+
+        // invalid problems are reported in their results
+        final var results = batch.estimate(List.of(0, 2));
+        assertInstanceOf(IllegalArgumentException.class, results.get(0).getError());
+        assertTrue(results.get(1).isSuccessful());
+    }
+
+    private static class FakeEstimator {
+        private int solved;
+
+        private Integer problem;
+    }
+
+    private static class SquareSolver implements BatchRobustEstimator.ProblemSolver<Integer, FakeEstimator, Integer> {
+
+        @Override
+        public Integer solve(final FakeEstimator estimator, final Integer problem) {
+            estimator.solved++;
+            return problem * problem;
+        }
+    }
+}
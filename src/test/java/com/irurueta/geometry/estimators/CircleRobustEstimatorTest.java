@@ -39,6 +39,25 @@ class CircleRobustEstimatorTest {
         assertEquals(RobustEstimatorMethod.PROMEDS, CircleRobustEstimator.DEFAULT_ROBUST_METHOD);
     }
 
+    @Test
+    void testGetSetParallelism() throws LockedException {
+        for (final var method : RobustEstimatorMethod.values()) {
+            final var estimator = CircleRobustEstimator.create(method);
+
+            // check default value
+            assertEquals(CircleRobustEstimator.DEFAULT_PARALLELISM, estimator.getParallelism());
+
+            // set new value
+            estimator.setParallelism(4);
+
+            // check correctness
+            assertEquals(4, estimator.getParallelism());
+
+            // Force IllegalArgumentException
+            assertThrows(IllegalArgumentException.class, () -> estimator.setParallelism(0));
+        }
+    }
+
     @Test
     void testCreate() {
         // test with robust method
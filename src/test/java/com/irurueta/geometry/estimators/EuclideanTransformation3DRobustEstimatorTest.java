@@ -42,6 +42,43 @@ class EuclideanTransformation3DRobustEstimatorTest {
         assertEquals(RobustEstimatorMethod.PROMEDS, EuclideanTransformation3DRobustEstimator.DEFAULT_ROBUST_METHOD);
     }
 
+    @Test
+    void testIsSetLocalOptimizationEnabled() throws LockedException {
+        for (final var method : RobustEstimatorMethod.values()) {
+            final var estimator = EuclideanTransformation3DRobustEstimator.create(method);
+
+            // check default value
+            assertEquals(EuclideanTransformation3DRobustEstimator.DEFAULT_LOCAL_OPTIMIZATION_ENABLED,
+                    estimator.isLocalOptimizationEnabled());
+            assertFalse(estimator.isLocalOptimizationEnabled());
+
+            // set new value
+            estimator.setLocalOptimizationEnabled(true);
+
+            // check correctness
+            assertTrue(estimator.isLocalOptimizationEnabled());
+        }
+    }
+
+    @Test
+    void testGetSetParallelism() throws LockedException {
+        for (final var method : RobustEstimatorMethod.values()) {
+            final var estimator = EuclideanTransformation3DRobustEstimator.create(method);
+
+            // check default value
+            assertEquals(EuclideanTransformation3DRobustEstimator.DEFAULT_PARALLELISM, estimator.getParallelism());
+
+            // set new value
+            estimator.setParallelism(4);
+
+            // check correctness
+            assertEquals(4, estimator.getParallelism());
+
+            // Force IllegalArgumentException
+            assertThrows(IllegalArgumentException.class, () -> estimator.setParallelism(0));
+        }
+    }
+
     @Test
     void testCreate() {
         // create with method
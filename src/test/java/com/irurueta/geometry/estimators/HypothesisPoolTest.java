@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import com.irurueta.geometry.ProjectiveTransformation2D;
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HypothesisPoolTest {
+
+    private static final int MIN_HYPOTHESES = 1;
+    private static final int MAX_HYPOTHESES = 100;
+
+    private static final int TIMES = 10;
+
+    @Test
+    void testConstructor() {
+        final var pool = new HypothesisPool<>(ProjectiveTransformation2D::new);
+
+        // check default values
+        assertEquals(0, pool.getAcquired());
+        assertEquals(0, pool.getSize());
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> new HypothesisPool<ProjectiveTransformation2D>(null));
+    }
+
+    @Test
+    void testAcquireAndRecycle() {
+        final var randomizer = new UniformRandomizer();
+        final var pool = new HypothesisPool<>(ProjectiveTransformation2D::new);
+
+        var maxAcquired = 0;
+        for (var t = 0; t < TIMES; t++) {
+            final var n = randomizer.nextInt(MIN_HYPOTHESES, MAX_HYPOTHESES);
+
+            final var hypotheses = new ArrayList<ProjectiveTransformation2D>();
+            for (var i = 0; i < n; i++) {
+                final var hypothesis = pool.acquire();
+                assertNotNull(hypothesis);
+
+                // acquired hypotheses are not shared
+                for (final var h : hypotheses) {
+                    assertNotSame(h, hypothesis);
+                }
+                hypotheses.add(hypothesis);
+            }
+
+            // check
+            maxAcquired = Math.max(maxAcquired, n);
+            assertEquals(n, pool.getAcquired());
+            assertEquals(maxAcquired, pool.getSize());
+
+            // recycle
+            pool.recycle();
+            assertEquals(0, pool.getAcquired());
+            assertEquals(maxAcquired, pool.getSize());
+
+            // recycled hypotheses are acquired again in the same order
+            assertSame(hypotheses.get(0), pool.acquire());
+            pool.recycle();
+        }
+    }
+
+    @Test
+    void testRecycleKept() {
+        final var randomizer = new UniformRandomizer();
+        final var pool = new HypothesisPool<>(ProjectiveTransformation2D::new);
+
+        for (var t = 0; t < TIMES; t++) {
+            final var n = randomizer.nextInt(MIN_HYPOTHESES + 1, MAX_HYPOTHESES);
+
+            final var hypotheses = new ArrayList<ProjectiveTransformation2D>();
+            for (var i = 0; i < n; i++) {
+                hypotheses.add(pool.acquire());
+            }
+            final var size = pool.getSize();
+
+            // keep a random hypothesis (twice) along with one not belonging to
+            // the pool
+            final var kept = hypotheses.get(randomizer.nextInt(0, n));
+            pool.recycle(List.of(kept, new ProjectiveTransformation2D(), kept));
+
+            // check
+            assertEquals(1, pool.getAcquired());
+            assertEquals(size, pool.getSize());
+
+            // kept hypothesis is never acquired again until it is recycled
+            for (var i = 0; i < size - 1; i++) {
+                assertNotSame(kept, pool.acquire());
+            }
+            assertEquals(size, pool.getSize());
+            assertNotSame(kept, pool.acquire());
+            assertEquals(size + 1, pool.getSize());
+
+            pool.recycle(List.of());
+            assertEquals(0, pool.getAcquired());
+        }
+    }
+
+    @Test
+    void testReleaseLast() {
+        final var pool = new HypothesisPool<>(ProjectiveTransformation2D::new);
+
+        // Force IllegalStateException
+        assertThrows(IllegalStateException.class, pool::releaseLast);
+
+        final var hypothesis1 = pool.acquire();
+        final var hypothesis2 = pool.acquire();
+        assertEquals(2, pool.getAcquired());
+
+        pool.releaseLast();
+
+        // check
+        assertEquals(1, pool.getAcquired());
+        assertEquals(2, pool.getSize());
+        assertSame(hypothesis2, pool.acquire());
+        assertNotSame(hypothesis1, hypothesis2);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HypothesisPreVerifierTest {
+
+    @Test
+    void testConstants() {
+        assertEquals(HypothesisPreVerifierType.SPRT_PRE_VERIFIER, HypothesisPreVerifier.DEFAULT_TYPE);
+    }
+
+    @Test
+    void testCreate() {
+        var verifier = HypothesisPreVerifier.create(HypothesisPreVerifierType.TDD_PRE_VERIFIER);
+        assertInstanceOf(TDDHypothesisPreVerifier.class, verifier);
+        assertEquals(HypothesisPreVerifierType.TDD_PRE_VERIFIER, verifier.getType());
+
+        verifier = HypothesisPreVerifier.create(HypothesisPreVerifierType.SPRT_PRE_VERIFIER);
+        assertInstanceOf(SPRTHypothesisPreVerifier.class, verifier);
+        assertEquals(HypothesisPreVerifierType.SPRT_PRE_VERIFIER, verifier.getType());
+
+        verifier = HypothesisPreVerifier.create(HypothesisPreVerifierType.TDD_PRE_VERIFIER, 1L);
+        assertInstanceOf(TDDHypothesisPreVerifier.class, verifier);
+
+        verifier = HypothesisPreVerifier.create(HypothesisPreVerifierType.SPRT_PRE_VERIFIER, 1L);
+        assertInstanceOf(SPRTHypothesisPreVerifier.class, verifier);
+
+        verifier = HypothesisPreVerifier.create();
+        assertEquals(HypothesisPreVerifier.DEFAULT_TYPE, verifier.getType());
+    }
+}
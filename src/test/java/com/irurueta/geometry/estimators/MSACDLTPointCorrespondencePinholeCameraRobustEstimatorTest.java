@@ -4766,6 +4766,99 @@ class MSACDLTPointCorrespondencePinholeCameraRobustEstimatorTest implements Pinh
         assertTrue(numValid > 0);
     }
 
+    @Test
+    void testEstimateWithParallelism() throws LockedException, NotReadyException, RobustEstimatorException {
+        final var randomizer = new UniformRandomizer();
+        final var horizontalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+        final var verticalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+        final var skewness = randomizer.nextDouble(MIN_SKEWNESS, MAX_SKEWNESS);
+        final var horizontalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+        final var verticalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+
+        final var intrinsic = new PinholeCameraIntrinsicParameters(horizontalFocalLength, verticalFocalLength,
+                horizontalPrincipalPoint, verticalPrincipalPoint, skewness);
+
+        // create rotation parameters
+        final var alphaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var betaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var gammaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+
+        final var rotation = new MatrixRotation3D(alphaEuler, betaEuler, gammaEuler);
+
+        // create camera center
+        final var cameraCenterArray = new double[INHOM_3D_COORDS];
+        randomizer.fill(cameraCenterArray, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var cameraCenter = new InhomogeneousPoint3D(cameraCenterArray);
+
+        // instantiate camera
+        final var camera = new PinholeCamera(intrinsic, rotation, cameraCenter);
+
+        // normalize the camera to improve accuracy
+        camera.normalize();
+
+        final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var points3D = new ArrayList<Point3D>();
+        for (var i = 0; i < nPoints; i++) {
+            final var point3D = new HomogeneousPoint3D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+            points3D.add(point3D);
+        }
+
+        final var points2D = camera.project(points3D);
+
+        // create outliers
+        final var points2DWithError = new ArrayList<Point2D>();
+        final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+        for (final var point2D : points2D) {
+            final Point2D point2DWithError;
+            if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                // point is outlier
+                final var errorX = errorRandomizer.nextDouble();
+                final var errorY = errorRandomizer.nextDouble();
+                final var errorW = errorRandomizer.nextDouble();
+                point2DWithError = new HomogeneousPoint2D(
+                        point2D.getHomX() + errorX,
+                        point2D.getHomY() + errorY,
+                        point2D.getHomW() + errorW);
+            } else {
+                // inlier point (without error)
+                point2DWithError = point2D;
+            }
+
+            points2DWithError.add(point2DWithError);
+        }
+
+        final var estimator = new MSACDLTPointCorrespondencePinholeCameraRobustEstimator(points3D,
+                points2DWithError);
+
+        estimator.setThreshold(THRESHOLD);
+        estimator.setResultRefined(false);
+        estimator.setCovarianceKept(false);
+
+        // estimate computing residuals sequentially
+        final var camera2 = estimator.estimate();
+        final var inliers2 = estimator.getInliersData().getInliers();
+
+        // estimate splitting residuals of each hypothesis into several tasks
+        estimator.setParallelism(4);
+        final var camera3 = estimator.estimate();
+        final var inliers3 = estimator.getInliersData().getInliers();
+
+        // both estimations find the same camera and inliers, since hypotheses
+        // are scored with the same residuals
+        assertEquals(inliers2, inliers3);
+        for (var i = 0; i < nPoints; i++) {
+            final var point3D = points3D.get(i);
+            final var originalPoint2D = points2D.get(i);
+            assertEquals(0.0, originalPoint2D.distanceTo(camera2.project(point3D)), ABSOLUTE_ERROR);
+            assertEquals(0.0, originalPoint2D.distanceTo(camera3.project(point3D)), ABSOLUTE_ERROR);
+            assertEquals(!inliers2.get(i), points2DWithError.get(i) != points2D.get(i));
+        }
+    }
+
     @Override
     public void onEstimateStart(final PinholeCameraRobustEstimator estimator) {
         estimateStart++;
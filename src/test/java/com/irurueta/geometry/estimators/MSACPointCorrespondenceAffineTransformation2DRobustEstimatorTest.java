@@ -531,6 +531,84 @@ class MSACPointCorrespondenceAffineTransformation2DRobustEstimatorTest
         }
     }
 
+    @Test
+    void testEstimateWithParallelism() throws WrongSizeException, DecomposerException, LockedException,
+            NotReadyException, RobustEstimatorException {
+        // create an affine transformation
+        Matrix a;
+        do {
+            // ensure A matrix is invertible
+            a = Matrix.createWithUniformRandomValues(AffineTransformation2D.INHOM_COORDS,
+                    AffineTransformation2D.INHOM_COORDS, -1.0, 1.0);
+            final var norm = Utils.normF(a);
+            // normalize T to increase accuracy
+            a.multiplyByScalar(1.0 / norm);
+        } while (Utils.rank(a) < AffineTransformation2D.INHOM_COORDS);
+
+        final var translation = new double[AffineTransformation2D.INHOM_COORDS];
+        final var randomizer = new UniformRandomizer();
+        randomizer.fill(translation, -1.0, 1.0);
+
+        final var transformation1 = new AffineTransformation2D(a, translation);
+
+        // generate random points
+        final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var inputPoints = new ArrayList<Point2D>();
+        final var outputPoints = new ArrayList<Point2D>();
+        final var outputPointsWithError = new ArrayList<Point2D>();
+        final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+        for (var i = 0; i < nPoints; i++) {
+            final var inputPoint = new InhomogeneousPoint2D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+            final var outputPoint = transformation1.transformAndReturnNew(inputPoint);
+            final Point2D outputPointWithError;
+            if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                // point is outlier
+                final var errorX = errorRandomizer.nextDouble();
+                final var errorY = errorRandomizer.nextDouble();
+                outputPointWithError = new InhomogeneousPoint2D(
+                        outputPoint.getInhomX() + errorX,
+                        outputPoint.getInhomY() + errorY);
+            } else {
+                // inlier point (without error)
+                outputPointWithError = outputPoint;
+            }
+
+            inputPoints.add(inputPoint);
+            outputPoints.add(outputPoint);
+            outputPointsWithError.add(outputPointWithError);
+        }
+
+        final var estimator = new MSACPointCorrespondenceAffineTransformation2DRobustEstimator(inputPoints,
+                outputPointsWithError);
+
+        estimator.setThreshold(THRESHOLD);
+        estimator.setResultRefined(false);
+        estimator.setCovarianceKept(false);
+
+        // estimate computing residuals sequentially
+        final var transformation2 = estimator.estimate();
+        final var inliers2 = estimator.getInliersData().getInliers();
+
+        // estimate splitting residuals of each hypothesis into several tasks
+        estimator.setParallelism(4);
+        final var transformation3 = estimator.estimate();
+        final var inliers3 = estimator.getInliersData().getInliers();
+
+        // both estimations find the same transformation and inliers, since
+        // hypotheses are scored with the same residuals
+        assertEquals(inliers2, inliers3);
+        for (var i = 0; i < nPoints; i++) {
+            final var p1 = outputPoints.get(i);
+            final var p2 = transformation2.transformAndReturnNew(inputPoints.get(i));
+            final var p3 = transformation3.transformAndReturnNew(inputPoints.get(i));
+            assertEquals(0.0, p1.distanceTo(p2), ABSOLUTE_ERROR);
+            assertEquals(0.0, p1.distanceTo(p3), ABSOLUTE_ERROR);
+            assertEquals(!inliers2.get(i), outputPointsWithError.get(i) != outputPoints.get(i));
+        }
+    }
+
     @Override
     public void onEstimateStart(final AffineTransformation2DRobustEstimator estimator) {
         estimateStart++;
@@ -0,0 +1,687 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import com.irurueta.geometry.HomogeneousPoint2D;
+import com.irurueta.geometry.Line2D;
+import com.irurueta.geometry.Point2D;
+import com.irurueta.numerical.robust.LMedSRobustEstimatorListener;
+import com.irurueta.numerical.robust.MSACRobustEstimatorListener;
+import com.irurueta.numerical.robust.PROMedSRobustEstimatorListener;
+import com.irurueta.numerical.robust.PROSACRobustEstimatorListener;
+import com.irurueta.numerical.robust.RANSACRobustEstimatorListener;
+import com.irurueta.numerical.robust.RobustEstimator;
+import com.irurueta.numerical.robust.RobustEstimatorListener;
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelResidualEvaluatorTest {
+
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+
+    private static final int MIN_POINTS = 500;
+    private static final int MAX_POINTS = 5000;
+
+    private static final int PARALLELISM = 4;
+
+    private static final int TIMES = 10;
+
+    @Test
+    void testConstants() {
+        assertEquals(1, ParallelResidualEvaluator.DEFAULT_PARALLELISM);
+        assertEquals(1, ParallelResidualEvaluator.MIN_PARALLELISM);
+        assertEquals(32, ParallelResidualEvaluator.MIN_SAMPLES_PER_TASK);
+    }
+
+    @Test
+    void testConstructor() {
+        final ParallelResidualEvaluator.ResidualFunction<Line2D> function = (line, i) -> 0.0;
+
+        var evaluator = new ParallelResidualEvaluator<>(function, PARALLELISM);
+
+        // check default values
+        assertEquals(PARALLELISM, evaluator.getParallelism());
+        assertSame(ForkJoinPool.commonPool(), evaluator.getPool());
+
+        final var pool = new ForkJoinPool(PARALLELISM);
+        try {
+            evaluator = new ParallelResidualEvaluator<>(function, PARALLELISM, pool);
+
+            // check default values
+            assertEquals(PARALLELISM, evaluator.getParallelism());
+            assertSame(pool, evaluator.getPool());
+
+            // Force IllegalArgumentException
+            assertThrows(IllegalArgumentException.class,
+                    () -> new ParallelResidualEvaluator<>(function, 0, pool));
+
+            // Force NullPointerException
+            assertThrows(NullPointerException.class,
+                    () -> new ParallelResidualEvaluator<Line2D>(null, PARALLELISM, pool));
+            assertThrows(NullPointerException.class,
+                    () -> new ParallelResidualEvaluator<>(function, PARALLELISM, null));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testGetResidual() {
+        final var randomizer = new UniformRandomizer();
+
+        for (var t = 0; t < TIMES; t++) {
+            final var points = createPoints(randomizer);
+            final var n = points.size();
+            final var line = createLine(randomizer);
+
+            final var calls = new AtomicInteger();
+            final ParallelResidualEvaluator.ResidualFunction<Line2D> function = (l, i) -> {
+                calls.incrementAndGet();
+                return Math.abs(l.signedDistance(points.get(i)));
+            };
+            final var evaluator = new ParallelResidualEvaluator<>(function, PARALLELISM);
+
+            // residuals are exactly the same as sequentially computed ones
+            for (var i = 0; i < n; i++) {
+                assertEquals(Math.abs(line.signedDistance(points.get(i))), evaluator.getResidual(line, i, n), 0.0);
+            }
+
+            // residuals of all samples are only computed once per hypothesis
+            assertEquals(n, calls.get());
+
+            // a new hypothesis triggers computation again
+            final var line2 = createLine(randomizer);
+            assertEquals(Math.abs(line2.signedDistance(points.get(n - 1))),
+                    evaluator.getResidual(line2, n - 1, n), 0.0);
+            assertEquals(2 * n, calls.get());
+
+            // reset forces computation for the same hypothesis
+            evaluator.reset();
+            assertEquals(Math.abs(line2.signedDistance(points.get(0))), evaluator.getResidual(line2, 0, n), 0.0);
+            assertEquals(3 * n, calls.get());
+
+            // Force IllegalArgumentException
+            assertThrows(IllegalArgumentException.class, () -> evaluator.getResidual(line, 0, 0));
+
+            // Force IndexOutOfBoundsException
+            assertThrows(IndexOutOfBoundsException.class, () -> evaluator.getResidual(line, -1, n));
+            assertThrows(IndexOutOfBoundsException.class, () -> evaluator.getResidual(line, n, n));
+        }
+    }
+
+    @Test
+    void testGetResidualComputesFirstSampleOnCallingThread() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints(randomizer);
+        final var n = points.size();
+        final var line = createLine(randomizer);
+
+        final var caller = Thread.currentThread();
+        final ParallelResidualEvaluator.ResidualFunction<Line2D> function = (l, i) -> {
+            if (i == 0) {
+                assertSame(caller, Thread.currentThread());
+            }
+            return Math.abs(l.signedDistance(points.get(i)));
+        };
+
+        final var pool = new ForkJoinPool(PARALLELISM);
+        try {
+            final var evaluator = new ParallelResidualEvaluator<>(function, PARALLELISM, pool);
+            for (var i = 0; i < n; i++) {
+                assertEquals(Math.abs(line.signedDistance(points.get(i))), evaluator.getResidual(line, i, n), 0.0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testGetResidualWithPreVerification() {
+        final var randomizer = new UniformRandomizer();
+
+        for (var t = 0; t < TIMES; t++) {
+            final var points = createPoints(randomizer);
+            final var n = points.size();
+
+            // points are distributed along a horizontal line y = 0
+            final var y = new ArrayList<Point2D>(n);
+            for (final var p : points) {
+                y.add(new HomogeneousPoint2D(p.getInhomX(), 0.0, 1.0));
+            }
+            final var good = new Line2D(0.0, 1.0, 0.0);
+            final var bad = new Line2D(1.0, 0.0, -2.0 * MAX_RANDOM_VALUE);
+
+            final var calls = new AtomicInteger();
+            final ParallelResidualEvaluator.ResidualFunction<Line2D> function = (l, i) -> {
+                calls.incrementAndGet();
+                return Math.abs(l.signedDistance(y.get(i)));
+            };
+            final var verifier = new SPRTHypothesisPreVerifier(1L);
+            final var evaluator = new ParallelResidualEvaluator<>(function, PARALLELISM,
+                    ForkJoinPool.commonPool(), verifier, 1.0);
+
+            // check values
+            assertSame(verifier, evaluator.getPreVerifier());
+            assertEquals(1.0, evaluator.getThreshold(), 0.0);
+
+            // good hypotheses are evaluated once against all samples
+            for (var i = 0; i < n; i++) {
+                assertEquals(0.0, evaluator.getResidual(good, i, n), 0.0);
+            }
+            assertEquals(n, calls.get());
+            assertEquals(0, verifier.getRejectedHypotheses());
+
+            // bad hypotheses are rejected, and remaining samples are reported
+            // as outliers
+            calls.set(0);
+            var outliers = 0;
+            for (var i = 0; i < n; i++) {
+                final var residual = evaluator.getResidual(bad, i, n);
+                assertTrue(residual > 1.0);
+                if (residual == Double.MAX_VALUE) {
+                    outliers++;
+                }
+            }
+            assertEquals(1, verifier.getRejectedHypotheses());
+            assertTrue(calls.get() < n);
+            assertEquals(n - calls.get(), outliers);
+            assertEquals(outliers, verifier.getSavedResiduals());
+        }
+    }
+
+    @Test
+    void testOptimizeSolutions() {
+        final var randomizer = new UniformRandomizer();
+
+        for (var t = 0; t < TIMES; t++) {
+            final var points = createPoints(randomizer);
+            final var n = points.size();
+
+            // half of the points are distributed along horizontal line y = 0
+            final var samples = new ArrayList<Point2D>(n);
+            for (var i = 0; i < n; i++) {
+                final var p = points.get(i);
+                if (i % 2 == 0) {
+                    samples.add(new HomogeneousPoint2D(p.getInhomX(), 0.0, 1.0));
+                } else {
+                    samples.add(p);
+                }
+            }
+            final var hypothesis = new Line2D(0.0, 1.0, -0.5);
+            final var optimizedLine = new Line2D(0.0, 1.0, 0.0);
+            final var bad = new Line2D(1.0, 0.0, -2.0 * MAX_RANDOM_VALUE);
+            var count = 0;
+            for (final var p : samples) {
+                if (Math.abs(hypothesis.signedDistance(p)) <= 1.0) {
+                    count++;
+                }
+            }
+            final var numInliers = count;
+
+            final var calls = new AtomicInteger();
+            final ParallelResidualEvaluator.LocalOptimizer<Line2D> optimizer =
+                    (l, inliers, residuals, k) -> {
+                        calls.incrementAndGet();
+                        assertSame(hypothesis, l);
+                        assertEquals(numInliers, k);
+                        assertEquals(numInliers, inliers.cardinality());
+                        for (var i = inliers.nextSetBit(0); i >= 0; i = inliers.nextSetBit(i + 1)) {
+                            assertTrue(residuals[i] <= 1.0);
+                        }
+                        return optimizedLine;
+                    };
+            final var residualCalls = new AtomicInteger();
+            final var evaluator = new ParallelResidualEvaluator<Line2D>(
+                    (l, i) -> {
+                        residualCalls.incrementAndGet();
+                        return Math.abs(l.signedDistance(samples.get(i)));
+                    }, PARALLELISM, ForkJoinPool.commonPool(), null, 1.0, optimizer);
+
+            // check default values
+            assertSame(optimizer, evaluator.getLocalOptimizer());
+            assertEquals(0, evaluator.getBestNumInliers());
+
+            // hypothesis improving number of inliers is optimized, and optimized
+            // hypothesis is added first to the solutions of the same subset
+            final var solutions = new ArrayList<Line2D>();
+            solutions.add(hypothesis);
+            evaluator.optimizeSolutions(solutions, n);
+            assertEquals(1, calls.get());
+            assertEquals(2, solutions.size());
+            assertSame(optimizedLine, solutions.get(0));
+            assertSame(hypothesis, solutions.get(1));
+            assertEquals(2 * n, residualCalls.get());
+
+            // optimized hypothesis has at least the inliers lying on y = 0
+            assertTrue(evaluator.getBestNumInliers() >= (n + 1) / 2);
+            assertTrue(evaluator.getBestNumInliers() >= numInliers);
+
+            // residuals of both solutions are kept, hence they are not computed
+            // again when requested by the robust estimator
+            for (final var solution : solutions) {
+                for (var i = 0; i < n; i++) {
+                    assertEquals(Math.abs(solution.signedDistance(samples.get(i))),
+                            evaluator.getResidual(solution, i, n), 0.0);
+                }
+            }
+            assertEquals(2 * n, residualCalls.get());
+
+            // hypotheses not improving number of inliers are not optimized
+            solutions.clear();
+            solutions.add(bad);
+            evaluator.optimizeSolutions(solutions, n);
+            assertEquals(1, calls.get());
+            assertEquals(1, solutions.size());
+            assertEquals(3 * n, residualCalls.get());
+
+            // residuals of hypotheses of previous subsets are no longer kept
+            evaluator.getResidual(hypothesis, 0, n);
+            assertEquals(4 * n, residualCalls.get());
+
+            // Force IllegalArgumentException
+            assertThrows(IllegalArgumentException.class, () -> evaluator.optimizeSolutions(solutions, 0));
+
+            // reset
+            evaluator.reset();
+            assertEquals(0, evaluator.getBestNumInliers());
+        }
+    }
+
+    @Test
+    void testWrapWithLocalOptimization() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints(randomizer);
+        final var optimizedLine = createLine(randomizer);
+
+        final var listener = new TestListener(points);
+        final ParallelResidualEvaluator.LocalOptimizer<Line2D> optimizer =
+                (l, inliers, residuals, numInliers) -> optimizedLine;
+
+        // a single thread without pre-verifier or local optimizer leaves
+        // listeners unchanged
+        assertSame(listener, ParallelResidualEvaluator.wrap(
+                (RANSACRobustEstimatorListener<Line2D>) listener, 1, null, null));
+        assertSame(listener, ParallelResidualEvaluator.wrap(
+                (MSACRobustEstimatorListener<Line2D>) listener, 1, null, null));
+        assertSame(listener, ParallelResidualEvaluator.wrap(
+                (PROSACRobustEstimatorListener<Line2D>) listener, 1, null, null));
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> ParallelResidualEvaluator.wrap(
+                (RANSACRobustEstimatorListener<Line2D>) listener, 0, null, optimizer));
+        assertThrows(IllegalArgumentException.class, () -> ParallelResidualEvaluator.wrap(
+                (MSACRobustEstimatorListener<Line2D>) listener, 0, null, optimizer));
+        assertThrows(IllegalArgumentException.class, () -> ParallelResidualEvaluator.wrap(
+                (PROSACRobustEstimatorListener<Line2D>) listener, 0, null, optimizer));
+
+        final List<RANSACRobustEstimatorListener<Line2D>> wrapped = List.of(
+                ParallelResidualEvaluator.wrap((RANSACRobustEstimatorListener<Line2D>) listener, 1, null,
+                        optimizer),
+                ParallelResidualEvaluator.wrap((RANSACRobustEstimatorListener<Line2D>) listener, PARALLELISM,
+                        null, optimizer));
+        for (final var ransac : wrapped) {
+            assertNotSame(listener, ransac);
+            ransac.onEstimateStart(null);
+
+            // the first hypothesis having any inlier is optimized, and optimized
+            // solution is added first to the solutions of the same subset
+            final var solutions = new ArrayList<Line2D>();
+            ransac.estimatePreliminarSolutions(new int[]{0, 1}, solutions);
+            assertEquals(2, solutions.size());
+            assertSame(optimizedLine, solutions.get(0));
+            checkResiduals(listener, solutions.get(0), ransac::computeResidual);
+            checkResiduals(listener, solutions.get(1), ransac::computeResidual);
+
+            ransac.onEstimateEnd(null);
+        }
+    }
+
+    @Test
+    void testWrapWithHypothesisPool() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints(randomizer);
+
+        final var listener = new PoolListener(points);
+        final var pool = listener.pool;
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> ParallelResidualEvaluator.wrap(
+                (RANSACRobustEstimatorListener<Line2D>) listener, 0, null, null, pool));
+        assertThrows(IllegalArgumentException.class, () -> ParallelResidualEvaluator.wrap(
+                (LMedSRobustEstimatorListener<Line2D>) listener, 0, pool));
+
+        final var ransac = ParallelResidualEvaluator.wrap(
+                (RANSACRobustEstimatorListener<Line2D>) listener, 1, null, null, pool);
+        assertNotSame(listener, ransac);
+        checkRecycling(randomizer, listener, ransac, ransac::estimatePreliminarSolutions,
+                ransac::computeResidual);
+
+        final var msac = ParallelResidualEvaluator.wrap(
+                (MSACRobustEstimatorListener<Line2D>) listener, PARALLELISM, null, null, pool);
+        checkRecycling(randomizer, listener, msac, msac::estimatePreliminarSolutions,
+                msac::computeResidual);
+
+        final var prosac = ParallelResidualEvaluator.wrap(
+                (PROSACRobustEstimatorListener<Line2D>) listener, 1, null, null, pool);
+        checkRecycling(randomizer, listener, prosac, prosac::estimatePreliminarSolutions,
+                prosac::computeResidual);
+
+        final var lmeds = ParallelResidualEvaluator.wrap((LMedSRobustEstimatorListener<Line2D>) listener, 1, pool);
+        assertNotSame(listener, lmeds);
+        checkRecycling(randomizer, listener, lmeds, lmeds::estimatePreliminarSolutions,
+                lmeds::computeResidual);
+
+        final var promeds = ParallelResidualEvaluator.wrap(
+                (PROMedSRobustEstimatorListener<Line2D>) listener, PARALLELISM, pool);
+        checkRecycling(randomizer, listener, promeds, promeds::estimatePreliminarSolutions,
+                promeds::computeResidual);
+    }
+
+    @Test
+    void testWrapWithEvaluator() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints(randomizer);
+
+        final var listener = new PoolListener(points);
+        final var pool = listener.pool;
+        final var evaluator = new ParallelResidualEvaluator<Line2D>(listener::computeResidual, PARALLELISM);
+
+        // Force NullPointerException
+        assertThrows(NullPointerException.class, () -> ParallelResidualEvaluator.wrap(
+                (RANSACRobustEstimatorListener<Line2D>) listener, null, pool));
+        assertThrows(NullPointerException.class, () -> ParallelResidualEvaluator.wrap(
+                (LMedSRobustEstimatorListener<Line2D>) listener, null, pool));
+
+        // wrapped listeners are reused by several estimations
+        final var ransac = ParallelResidualEvaluator.wrap(
+                (RANSACRobustEstimatorListener<Line2D>) listener, evaluator, pool);
+        assertNotSame(listener, ransac);
+        assertEquals(listener.getThreshold(), ransac.getThreshold(), 0.0);
+        checkRecycling(randomizer, listener, ransac, ransac::estimatePreliminarSolutions,
+                ransac::computeResidual);
+
+        final var msac = ParallelResidualEvaluator.wrap(
+                (MSACRobustEstimatorListener<Line2D>) listener, evaluator, pool);
+        checkRecycling(randomizer, listener, msac, msac::estimatePreliminarSolutions,
+                msac::computeResidual);
+
+        final var prosac = ParallelResidualEvaluator.wrap(
+                (PROSACRobustEstimatorListener<Line2D>) listener, evaluator, pool);
+        assertSame(listener.getQualityScores(), prosac.getQualityScores());
+        checkRecycling(randomizer, listener, prosac, prosac::estimatePreliminarSolutions,
+                prosac::computeResidual);
+
+        final var lmeds = ParallelResidualEvaluator.wrap(
+                (LMedSRobustEstimatorListener<Line2D>) listener, evaluator, pool);
+        checkRecycling(randomizer, listener, lmeds, lmeds::estimatePreliminarSolutions,
+                lmeds::computeResidual);
+
+        final var promeds = ParallelResidualEvaluator.wrap(
+                (PROMedSRobustEstimatorListener<Line2D>) listener, evaluator, null);
+        assertSame(listener.getQualityScores(), promeds.getQualityScores());
+        checkResiduals(listener, createLine(randomizer), promeds::computeResidual);
+    }
+
+    @Test
+    void testWrap() {
+        final var randomizer = new UniformRandomizer();
+        final var points = createPoints(randomizer);
+        final var line = createLine(randomizer);
+
+        final var listener = new TestListener(points);
+
+        // a single thread leaves listeners unchanged
+        assertSame(listener, ParallelResidualEvaluator.wrap(
+                (RANSACRobustEstimatorListener<Line2D>) listener, 1));
+        assertSame(listener, ParallelResidualEvaluator.wrap(
+                (MSACRobustEstimatorListener<Line2D>) listener, 1));
+        assertSame(listener, ParallelResidualEvaluator.wrap(
+                (PROSACRobustEstimatorListener<Line2D>) listener, 1));
+        assertSame(listener, ParallelResidualEvaluator.wrap(
+                (LMedSRobustEstimatorListener<Line2D>) listener, 1));
+        assertSame(listener, ParallelResidualEvaluator.wrap(
+                (PROMedSRobustEstimatorListener<Line2D>) listener, 1));
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> ParallelResidualEvaluator.wrap(
+                (RANSACRobustEstimatorListener<Line2D>) listener, 0));
+        assertThrows(IllegalArgumentException.class, () -> ParallelResidualEvaluator.wrap(
+                (MSACRobustEstimatorListener<Line2D>) listener, 0));
+        assertThrows(IllegalArgumentException.class, () -> ParallelResidualEvaluator.wrap(
+                (PROSACRobustEstimatorListener<Line2D>) listener, 0));
+        assertThrows(IllegalArgumentException.class, () -> ParallelResidualEvaluator.wrap(
+                (LMedSRobustEstimatorListener<Line2D>) listener, 0));
+        assertThrows(IllegalArgumentException.class, () -> ParallelResidualEvaluator.wrap(
+                (PROMedSRobustEstimatorListener<Line2D>) listener, 0));
+
+        // wrapped listeners delegate and compute the same residuals
+        final var ransac = ParallelResidualEvaluator.wrap(
+                (RANSACRobustEstimatorListener<Line2D>) listener, PARALLELISM);
+        assertNotSame(listener, ransac);
+        assertEquals(listener.getThreshold(), ransac.getThreshold(), 0.0);
+        assertEquals(listener.getTotalSamples(), ransac.getTotalSamples());
+        assertEquals(listener.getSubsetSize(), ransac.getSubsetSize());
+        assertTrue(ransac.isReady());
+        checkResiduals(listener, line, ransac::computeResidual);
+
+        final var msac = ParallelResidualEvaluator.wrap(
+                (MSACRobustEstimatorListener<Line2D>) listener, PARALLELISM);
+        assertEquals(listener.getThreshold(), msac.getThreshold(), 0.0);
+        checkResiduals(listener, line, msac::computeResidual);
+
+        final var prosac = ParallelResidualEvaluator.wrap(
+                (PROSACRobustEstimatorListener<Line2D>) listener, PARALLELISM);
+        assertSame(listener.getQualityScores(), prosac.getQualityScores());
+        checkResiduals(listener, line, prosac::computeResidual);
+
+        final var lmeds = ParallelResidualEvaluator.wrap(
+                (LMedSRobustEstimatorListener<Line2D>) listener, PARALLELISM);
+        assertEquals(listener.getTotalSamples(), lmeds.getTotalSamples());
+        checkResiduals(listener, line, lmeds::computeResidual);
+
+        final var promeds = ParallelResidualEvaluator.wrap(
+                (PROMedSRobustEstimatorListener<Line2D>) listener, PARALLELISM);
+        assertSame(listener.getQualityScores(), promeds.getQualityScores());
+        checkResiduals(listener, line, promeds::computeResidual);
+
+        // events are delegated
+        final List<Line2D> solutions = new ArrayList<>();
+        ransac.estimatePreliminarSolutions(new int[]{0, 1}, solutions);
+        assertEquals(1, solutions.size());
+        ransac.onEstimateStart(null);
+        ransac.onEstimateNextIteration(null, 1);
+        ransac.onEstimateProgressChange(null, 0.5f);
+        ransac.onEstimateEnd(null);
+        assertEquals(1, listener.estimateStart);
+        assertEquals(1, listener.estimateNextIteration);
+        assertEquals(1, listener.estimateProgressChange);
+        assertEquals(1, listener.estimateEnd);
+    }
+
+    private static void checkResiduals(
+            final TestListener listener, final Line2D line,
+            final ParallelResidualEvaluator.ResidualFunction<Line2D> wrapped) {
+        for (var i = 0; i < listener.getTotalSamples(); i++) {
+            assertEquals(listener.computeResidual(line, i), wrapped.computeResidual(line, i), 0.0);
+        }
+    }
+
+    private static void checkRecycling(
+            final UniformRandomizer randomizer, final PoolListener listener,
+            final RobustEstimatorListener<Line2D> wrapped,
+            final BiConsumer<int[], List<Line2D>> solutionsEstimator,
+            final ParallelResidualEvaluator.ResidualFunction<Line2D> residualFunction) {
+        final var n = listener.getTotalSamples();
+        final var iterations = TIMES * TIMES;
+        for (var t = 0; t < 2; t++) {
+            wrapped.onEstimateStart(null);
+
+            final var hypotheses = new ArrayList<Line2D>();
+            final var parameters = new ArrayList<double[]>();
+            for (var iteration = 0; iteration < iterations; iteration++) {
+                final var solutions = new ArrayList<Line2D>();
+                solutionsEstimator.accept(new int[]{randomizer.nextInt(0, n), 0}, solutions);
+                assertEquals(1, solutions.size());
+
+                final var solution = solutions.get(0);
+                for (var i = 0; i < n; i++) {
+                    assertEquals(listener.computeResidual(solution, i), residualFunction.computeResidual(solution, i),
+                            0.0);
+                }
+                hypotheses.add(solution);
+                parameters.add(new double[]{solution.getA(), solution.getB(), solution.getC()});
+            }
+
+            // no hypothesis is recycled within an estimation, since any of
+            // them might be referenced by the robust estimator
+            for (var k = 0; k < iterations; k++) {
+                final var hypothesis = hypotheses.get(k);
+                assertEquals(parameters.get(k)[0], hypothesis.getA(), 0.0);
+                assertEquals(parameters.get(k)[1], hypothesis.getB(), 0.0);
+                assertEquals(parameters.get(k)[2], hypothesis.getC(), 0.0);
+            }
+
+            // hypotheses are recycled when each estimation starts, hence
+            // later estimations do not instantiate new ones
+            assertEquals(iterations, listener.pool.getSize());
+
+            wrapped.onEstimateEnd(null);
+        }
+    }
+
+    private static List<Point2D> createPoints(final UniformRandomizer randomizer) {
+        final var n = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var points = new ArrayList<Point2D>(n);
+        for (var i = 0; i < n; i++) {
+            points.add(new HomogeneousPoint2D(randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE), 1.0));
+        }
+        return points;
+    }
+
+    private static Line2D createLine(final UniformRandomizer randomizer) {
+        return new Line2D(randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+    }
+
+    private static class TestListener implements RANSACRobustEstimatorListener<Line2D>,
+            MSACRobustEstimatorListener<Line2D>, PROSACRobustEstimatorListener<Line2D>,
+            LMedSRobustEstimatorListener<Line2D>, PROMedSRobustEstimatorListener<Line2D> {
+
+        private final List<Point2D> points;
+
+        private final double[] qualityScores;
+
+        private int estimateStart;
+        private int estimateEnd;
+        private int estimateNextIteration;
+        private int estimateProgressChange;
+
+        TestListener(final List<Point2D> points) {
+            this.points = points;
+            qualityScores = new double[points.size()];
+        }
+
+        @Override
+        public double getThreshold() {
+            return 1.0;
+        }
+
+        @Override
+        public int getTotalSamples() {
+            return points.size();
+        }
+
+        @Override
+        public int getSubsetSize() {
+            return 2;
+        }
+
+        @Override
+        public void estimatePreliminarSolutions(final int[] samplesIndices, final List<Line2D> solutions) {
+            // vertical line through first sample
+            solutions.add(new Line2D(1.0, 0.0, -points.get(samplesIndices[0]).getInhomX()));
+        }
+
+        @Override
+        public double computeResidual(final Line2D currentEstimation, final int i) {
+            return Math.abs(currentEstimation.signedDistance(points.get(i)));
+        }
+
+        @Override
+        public double[] getQualityScores() {
+            return qualityScores;
+        }
+
+        Point2D getPoint(final int i) {
+            return points.get(i);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void onEstimateStart(final RobustEstimator<Line2D> estimator) {
+            estimateStart++;
+        }
+
+        @Override
+        public void onEstimateEnd(final RobustEstimator<Line2D> estimator) {
+            estimateEnd++;
+        }
+
+        @Override
+        public void onEstimateNextIteration(final RobustEstimator<Line2D> estimator, final int iteration) {
+            estimateNextIteration++;
+        }
+
+        @Override
+        public void onEstimateProgressChange(final RobustEstimator<Line2D> estimator, final float progress) {
+            estimateProgressChange++;
+        }
+    }
+
+    private static class PoolListener extends TestListener {
+
+        private final HypothesisPool<Line2D> pool = new HypothesisPool<>(Line2D::new);
+
+        PoolListener(final List<Point2D> points) {
+            super(points);
+        }
+
+        @Override
+        public void estimatePreliminarSolutions(final int[] samplesIndices, final List<Line2D> solutions) {
+            // vertical line through first sample using recycled instances
+            final var line = pool.acquire();
+            line.setA(1.0);
+            line.setB(0.0);
+            line.setC(-getPoint(samplesIndices[0]).getInhomX());
+            solutions.add(line);
+        }
+    }
+}
@@ -42,6 +42,25 @@ class Point3DRobustEstimatorTest {
         assertFalse(Point3DRobustEstimator.DEFAULT_KEEP_COVARIANCE);
     }
 
+    @Test
+    void testGetSetParallelism() throws LockedException {
+        for (final var method : RobustEstimatorMethod.values()) {
+            final var estimator = Point3DRobustEstimator.create(method);
+
+            // check default value
+            assertEquals(Point3DRobustEstimator.DEFAULT_PARALLELISM, estimator.getParallelism());
+
+            // set new value
+            estimator.setParallelism(4);
+
+            // check correctness
+            assertEquals(4, estimator.getParallelism());
+
+            // Force IllegalArgumentException
+            assertThrows(IllegalArgumentException.class, () -> estimator.setParallelism(0));
+        }
+    }
+
     @Test
     void testCreate() {
         // test with robust method
@@ -31,6 +31,24 @@ class PointCorrespondenceAffineTransformation2DRobustEstimatorTest {
                 PointCorrespondenceAffineTransformation2DRobustEstimator.DEFAULT_ROBUST_METHOD);
     }
 
+    @Test
+    void testIsSetLocalOptimizationEnabled() throws LockedException {
+        for (final var method : RobustEstimatorMethod.values()) {
+            final var estimator = PointCorrespondenceAffineTransformation2DRobustEstimator.create(method);
+
+            // check default value
+            assertEquals(PointCorrespondenceAffineTransformation2DRobustEstimator.DEFAULT_LOCAL_OPTIMIZATION_ENABLED,
+                    estimator.isLocalOptimizationEnabled());
+            assertFalse(estimator.isLocalOptimizationEnabled());
+
+            // set new value
+            estimator.setLocalOptimizationEnabled(true);
+
+            // check correctness
+            assertTrue(estimator.isLocalOptimizationEnabled());
+        }
+    }
+
     @Test
     void testCreate() {
         // create with robust estimator method
@@ -35,6 +35,24 @@ class PointCorrespondencePinholeCameraRobustEstimatorTest {
                 PointCorrespondencePinholeCameraRobustEstimator.DEFAULT_ROBUST_METHOD);
     }
 
+    @Test
+    void testIsSetLocalOptimizationEnabled() throws LockedException {
+        for (final var method : RobustEstimatorMethod.values()) {
+            final var estimator = PointCorrespondencePinholeCameraRobustEstimator.create(method);
+
+            // check default value
+            assertEquals(PointCorrespondencePinholeCameraRobustEstimator.DEFAULT_LOCAL_OPTIMIZATION_ENABLED,
+                    estimator.isLocalOptimizationEnabled());
+            assertFalse(estimator.isLocalOptimizationEnabled());
+
+            // set new value
+            estimator.setLocalOptimizationEnabled(true);
+
+            // check correctness
+            assertTrue(estimator.isLocalOptimizationEnabled());
+        }
+    }
+
     @Test
     void testCreate() {
         // create with robust estimator method
@@ -15,16 +15,44 @@
  */
 package com.irurueta.geometry.estimators;
 
+import com.irurueta.algebra.DecomposerException;
+import com.irurueta.algebra.Matrix;
+import com.irurueta.algebra.Utils;
+import com.irurueta.algebra.WrongSizeException;
+import com.irurueta.geometry.InhomogeneousPoint2D;
 import com.irurueta.geometry.Point2D;
+import com.irurueta.geometry.ProjectiveTransformation2D;
+import com.irurueta.numerical.robust.RobustEstimatorException;
 import com.irurueta.numerical.robust.RobustEstimatorMethod;
+import com.irurueta.statistics.GaussianRandomizer;
+import com.irurueta.statistics.UniformRandomizer;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class PointCorrespondenceProjectiveTransformation2DRobustEstimatorTest {
 
+    private static final double MIN_RANDOM_VALUE = -100.0;
+    private static final double MAX_RANDOM_VALUE = 100.0;
+
+    private static final double ABSOLUTE_ERROR = 5e-6;
+    private static final double LARGE_ABSOLUTE_ERROR = 5e-5;
+
+    private static final int MIN_POINTS = 500;
+    private static final int MAX_POINTS = 1000;
+
+    private static final double THRESHOLD = 1e-6;
+
+    private static final double STD_ERROR = 100.0;
+
+    private static final int PERCENTAGE_OUTLIER = 20;
+
+    private static final int TIMES = 10;
+
     @Test
     void testConstants() {
         assertEquals(4, ProjectiveTransformation2DRobustEstimator.MINIMUM_SIZE);
@@ -42,6 +70,25 @@ class PointCorrespondenceProjectiveTransformation2DRobustEstimatorTest {
                 PointCorrespondenceProjectiveTransformation2DRobustEstimator.DEFAULT_ROBUST_METHOD);
     }
 
+    @Test
+    void testIsSetLocalOptimizationEnabled() throws LockedException {
+        for (final var method : RobustEstimatorMethod.values()) {
+            final var estimator = PointCorrespondenceProjectiveTransformation2DRobustEstimator.create(method);
+
+            // check default value
+            assertEquals(
+                    PointCorrespondenceProjectiveTransformation2DRobustEstimator.DEFAULT_LOCAL_OPTIMIZATION_ENABLED,
+                    estimator.isLocalOptimizationEnabled());
+            assertFalse(estimator.isLocalOptimizationEnabled());
+
+            // set new value
+            estimator.setLocalOptimizationEnabled(true);
+
+            // check correctness
+            assertTrue(estimator.isLocalOptimizationEnabled());
+        }
+    }
+
     @Test
     void testCreate() {
         // create with robust estimator method
@@ -746,4 +793,356 @@ class PointCorrespondenceProjectiveTransformation2DRobustEstimatorTest {
         assertFalse(estimator.isCovarianceKept());
         assertNull(estimator.getCovariance());
     }
+
+    @Test
+    void testEstimateReusingEstimator() throws WrongSizeException, DecomposerException, LockedException,
+            NotReadyException, RobustEstimatorException {
+        final var randomizer = new UniformRandomizer();
+        final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+
+        for (final var method : RobustEstimatorMethod.values()) {
+            // the same estimator instance is reused for several estimations
+            final var estimator = PointCorrespondenceProjectiveTransformation2DRobustEstimator.create(method);
+            if (estimator instanceof RANSACPointCorrespondenceProjectiveTransformation2DRobustEstimator ransac) {
+                ransac.setThreshold(THRESHOLD);
+            } else if (estimator instanceof MSACPointCorrespondenceProjectiveTransformation2DRobustEstimator msac) {
+                msac.setThreshold(THRESHOLD);
+            } else if (estimator instanceof PROSACPointCorrespondenceProjectiveTransformation2DRobustEstimator prosac) {
+                prosac.setThreshold(THRESHOLD);
+            } else if (estimator instanceof LMedSPointCorrespondenceProjectiveTransformation2DRobustEstimator lmeds) {
+                lmeds.setStopThreshold(THRESHOLD);
+            } else {
+                ((PROMedSPointCorrespondenceProjectiveTransformation2DRobustEstimator) estimator)
+                        .setStopThreshold(THRESHOLD);
+            }
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            final var estimatedTransformations = new ArrayList<ProjectiveTransformation2D>();
+            final var allInputPoints = new ArrayList<List<Point2D>>();
+            final var allOutputPoints = new ArrayList<List<Point2D>>();
+            for (var t = 0; t < TIMES; t++) {
+                // create an affine transformation
+                Matrix a;
+                do {
+                    // ensure A matrix is invertible
+                    a = Matrix.createWithUniformRandomValues(ProjectiveTransformation2D.INHOM_COORDS,
+                            ProjectiveTransformation2D.INHOM_COORDS, -1.0, 1.0);
+                    final var norm = Utils.normF(a);
+                    // normalize T to increase accuracy
+                    a.multiplyByScalar(1.0 / norm);
+                } while (Utils.rank(a) < ProjectiveTransformation2D.INHOM_COORDS);
+
+                final var translation = new double[ProjectiveTransformation2D.INHOM_COORDS];
+                randomizer.fill(translation, -1.0, 1.0);
+
+                final var transformation1 = new ProjectiveTransformation2D(a, translation);
+
+                // generate random points
+                final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+                final var inputPoints = new ArrayList<Point2D>();
+                final var outputPoints = new ArrayList<Point2D>();
+                final var outputPointsWithError = new ArrayList<Point2D>();
+                final var qualityScores = new double[nPoints];
+                for (var i = 0; i < nPoints; i++) {
+                    final var inputPoint = new InhomogeneousPoint2D(
+                            randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                            randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                    final var outputPoint = transformation1.transformAndReturnNew(inputPoint);
+                    final Point2D outputPointWithError;
+                    if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                        // point is outlier
+                        final var errorX = errorRandomizer.nextDouble();
+                        final var errorY = errorRandomizer.nextDouble();
+                        outputPointWithError = new InhomogeneousPoint2D(
+                                outputPoint.getInhomX() + errorX,
+                                outputPoint.getInhomY() + errorY);
+                        qualityScores[i] = 0.5;
+                    } else {
+                        // inlier point (without error)
+                        outputPointWithError = outputPoint;
+                        qualityScores[i] = 1.0;
+                    }
+
+                    inputPoints.add(inputPoint);
+                    outputPoints.add(outputPoint);
+                    outputPointsWithError.add(outputPointWithError);
+                }
+
+                estimator.setPoints(inputPoints, outputPointsWithError);
+                estimator.setQualityScores(qualityScores);
+                assertTrue(estimator.isReady());
+
+                final var transformation2 = estimator.estimate();
+
+                // check correctness of estimation
+                for (var i = 0; i < nPoints; i++) {
+                    final var p1 = outputPoints.get(i);
+                    final var p2 = transformation2.transformAndReturnNew(inputPoints.get(i));
+                    assertEquals(0.0, p1.distanceTo(p2), LARGE_ABSOLUTE_ERROR);
+                }
+
+                estimatedTransformations.add(transformation2);
+                allInputPoints.add(inputPoints);
+                allOutputPoints.add(outputPoints);
+            }
+
+            // results of previous estimations are not modified when estimator is
+            // reused
+            for (var t = 0; t < TIMES; t++) {
+                final var transformation = estimatedTransformations.get(t);
+                final var inputPoints = allInputPoints.get(t);
+                final var outputPoints = allOutputPoints.get(t);
+                for (var i = 0; i < inputPoints.size(); i++) {
+                    final var p1 = outputPoints.get(i);
+                    final var p2 = transformation.transformAndReturnNew(inputPoints.get(i));
+                    assertEquals(0.0, p1.distanceTo(p2), LARGE_ABSOLUTE_ERROR);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEstimateBatch() throws WrongSizeException, DecomposerException {
+        final var randomizer = new UniformRandomizer();
+        final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+
+        final var transformations = new ArrayList<ProjectiveTransformation2D>();
+        final var problems = new ArrayList<PointCorrespondenceSet<Point2D, Point2D>>();
+        for (var t = 0; t < TIMES; t++) {
+            // create an affine transformation
+            Matrix a;
+            do {
+                // ensure A matrix is invertible
+                a = Matrix.createWithUniformRandomValues(ProjectiveTransformation2D.INHOM_COORDS,
+                        ProjectiveTransformation2D.INHOM_COORDS, -1.0, 1.0);
+                final var norm = Utils.normF(a);
+                // normalize T to increase accuracy
+                a.multiplyByScalar(1.0 / norm);
+            } while (Utils.rank(a) < ProjectiveTransformation2D.INHOM_COORDS);
+
+            final var translation = new double[ProjectiveTransformation2D.INHOM_COORDS];
+            randomizer.fill(translation, -1.0, 1.0);
+
+            final var transformation = new ProjectiveTransformation2D(a, translation);
+            transformations.add(transformation);
+
+            // generate random points
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var inputPoints = new ArrayList<Point2D>();
+            final var outputPoints = new ArrayList<Point2D>();
+            for (var i = 0; i < nPoints; i++) {
+                final var inputPoint = new InhomogeneousPoint2D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                final var outputPoint = transformation.transformAndReturnNew(inputPoint);
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    outputPoint.setInhomogeneousCoordinates(
+                            outputPoint.getInhomX() + errorRandomizer.nextDouble(),
+                            outputPoint.getInhomY() + errorRandomizer.nextDouble());
+                }
+
+                inputPoints.add(inputPoint);
+                outputPoints.add(outputPoint);
+            }
+
+            problems.add(new PointCorrespondenceSet<>(inputPoints, outputPoints));
+        }
+
+        // add a problem without enough points
+        final var emptyProblem = new PointCorrespondenceSet<Point2D, Point2D>(new ArrayList<>(),
+                new ArrayList<>());
+        problems.add(emptyProblem);
+
+        final var results = PointCorrespondenceProjectiveTransformation2DRobustEstimator.estimateBatch(problems,
+                RobustEstimatorMethod.RANSAC, estimator -> {
+                    final var ransacEstimator =
+                            (RANSACPointCorrespondenceProjectiveTransformation2DRobustEstimator) estimator;
+                    ransacEstimator.setThreshold(THRESHOLD);
+                    ransacEstimator.setResultRefined(false);
+                });
+
+        // results are returned in the same order as problems
+        assertEquals(problems.size(), results.size());
+        for (var t = 0; t < TIMES; t++) {
+            final var result = results.get(t);
+            assertTrue(result.isSuccessful());
+            assertNull(result.getError());
+            assertNotNull(result.getInliersData());
+
+            final var transformation = transformations.get(t);
+            final var problem = problems.get(t);
+            final var inliers = result.getInliersData().getInliers();
+            for (var i = 0; i < problem.size(); i++) {
+                if (!inliers.get(i)) {
+                    continue;
+                }
+                final var p1 = transformation.transformAndReturnNew(problem.getInputPoints().get(i));
+                final var p2 = result.getResult().transformAndReturnNew(problem.getInputPoints().get(i));
+                assertEquals(0.0, p1.distanceTo(p2), ABSOLUTE_ERROR);
+            }
+        }
+
+        // failed problem does not abort the batch
+        final var failed = results.get(TIMES);
+        assertFalse(failed.isSuccessful());
+        assertNull(failed.getResult());
+        assertInstanceOf(IllegalArgumentException.class, failed.getError());
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class,
+                () -> PointCorrespondenceProjectiveTransformation2DRobustEstimator.estimateBatch(null));
+    }
+
+    @Test
+    void testCreateBatchEstimator() throws WrongSizeException, DecomposerException {
+        final var randomizer = new UniformRandomizer();
+
+        final var problems = new ArrayList<PointCorrespondenceSet<Point2D, Point2D>>();
+        for (var t = 0; t < TIMES; t++) {
+            Matrix a;
+            do {
+                // ensure A matrix is invertible
+                a = Matrix.createWithUniformRandomValues(ProjectiveTransformation2D.INHOM_COORDS,
+                        ProjectiveTransformation2D.INHOM_COORDS, -1.0, 1.0);
+                final var norm = Utils.normF(a);
+                // normalize T to increase accuracy
+                a.multiplyByScalar(1.0 / norm);
+            } while (Utils.rank(a) < ProjectiveTransformation2D.INHOM_COORDS);
+
+            final var translation = new double[ProjectiveTransformation2D.INHOM_COORDS];
+            randomizer.fill(translation, -1.0, 1.0);
+            final var transformation = new ProjectiveTransformation2D(a, translation);
+
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var inputPoints = new ArrayList<Point2D>();
+            final var outputPoints = new ArrayList<Point2D>();
+            for (var i = 0; i < nPoints; i++) {
+                final var inputPoint = new InhomogeneousPoint2D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                inputPoints.add(inputPoint);
+                outputPoints.add(transformation.transformAndReturnNew(inputPoint));
+            }
+            problems.add(new PointCorrespondenceSet<>(inputPoints, outputPoints));
+        }
+
+        final var estimators = Collections.synchronizedList(
+                new ArrayList<PointCorrespondenceProjectiveTransformation2DRobustEstimator>());
+        final var batch = PointCorrespondenceProjectiveTransformation2DRobustEstimator.createBatchEstimator(
+                RobustEstimatorMethod.RANSAC, estimator -> {
+                    estimators.add(estimator);
+                    estimator.setResultRefined(false);
+                });
+
+        // the same batch estimator solves several batches
+        for (var n = 0; n < 2; n++) {
+            final var results = batch.estimate(problems);
+            assertEquals(TIMES, results.size());
+            for (final var result : results) {
+                assertTrue(result.isSuccessful());
+            }
+
+            // kept estimators do not retain points of solved problems
+            assertFalse(estimators.isEmpty());
+            for (final var estimator : estimators) {
+                assertNull(estimator.getInputPoints());
+                assertNull(estimator.getOutputPoints());
+            }
+        }
+
+        // configuring a locked estimator is a programming error
+        final var lockedBatch = PointCorrespondenceProjectiveTransformation2DRobustEstimator.createBatchEstimator(
+                RobustEstimatorMethod.RANSAC, estimator -> {
+                    throw new LockedException();
+                });
+        assertThrows(IllegalStateException.class, () -> lockedBatch.estimate(problems));
+    }
+
+    @Test
+    void testEstimateBatchWithAndWithoutQualityScores() throws WrongSizeException, DecomposerException {
+        final var randomizer = new UniformRandomizer();
+        final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+
+        final var transformations = new ArrayList<ProjectiveTransformation2D>();
+        final var problems = new ArrayList<PointCorrespondenceSet<Point2D, Point2D>>();
+        for (var t = 0; t < TIMES; t++) {
+            // create an affine transformation
+            Matrix a;
+            do {
+                // ensure A matrix is invertible
+                a = Matrix.createWithUniformRandomValues(ProjectiveTransformation2D.INHOM_COORDS,
+                        ProjectiveTransformation2D.INHOM_COORDS, -1.0, 1.0);
+                final var norm = Utils.normF(a);
+                // normalize T to increase accuracy
+                a.multiplyByScalar(1.0 / norm);
+            } while (Utils.rank(a) < ProjectiveTransformation2D.INHOM_COORDS);
+
+            final var translation = new double[ProjectiveTransformation2D.INHOM_COORDS];
+            randomizer.fill(translation, -1.0, 1.0);
+
+            final var transformation = new ProjectiveTransformation2D(a, translation);
+            transformations.add(transformation);
+
+            // generate random points
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var inputPoints = new ArrayList<Point2D>();
+            final var outputPoints = new ArrayList<Point2D>();
+            for (var i = 0; i < nPoints; i++) {
+                final var inputPoint = new InhomogeneousPoint2D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                final var outputPoint = transformation.transformAndReturnNew(inputPoint);
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    outputPoint.setInhomogeneousCoordinates(
+                            outputPoint.getInhomX() + errorRandomizer.nextDouble(),
+                            outputPoint.getInhomY() + errorRandomizer.nextDouble());
+                }
+
+                inputPoints.add(inputPoint);
+                outputPoints.add(outputPoint);
+            }
+
+            // only half of the problems provide quality scores, hence scores
+            // of previous problems must not be kept by reused estimators
+            if (t % 2 == 0) {
+                final var qualityScores = new double[nPoints];
+                randomizer.fill(qualityScores, 0.5, 1.0);
+                problems.add(new PointCorrespondenceSet<>(inputPoints, outputPoints, qualityScores));
+            } else {
+                problems.add(new PointCorrespondenceSet<>(inputPoints, outputPoints));
+            }
+        }
+
+        final var results = PointCorrespondenceProjectiveTransformation2DRobustEstimator.estimateBatch(problems,
+                RobustEstimatorMethod.PROSAC, estimator -> {
+                    final var prosacEstimator =
+                            (PROSACPointCorrespondenceProjectiveTransformation2DRobustEstimator) estimator;
+                    prosacEstimator.setThreshold(THRESHOLD);
+                    prosacEstimator.setResultRefined(false);
+                });
+
+        // results are returned in the same order as problems
+        assertEquals(problems.size(), results.size());
+        for (var t = 0; t < TIMES; t++) {
+            final var result = results.get(t);
+            assertTrue(result.isSuccessful());
+            assertNull(result.getError());
+            assertNotNull(result.getInliersData());
+
+            final var transformation = transformations.get(t);
+            final var problem = problems.get(t);
+            final var inliers = result.getInliersData().getInliers();
+            for (var i = 0; i < problem.size(); i++) {
+                if (!inliers.get(i)) {
+                    continue;
+                }
+                final var p1 = transformation.transformAndReturnNew(problem.getInputPoints().get(i));
+                final var p2 = result.getResult().transformAndReturnNew(problem.getInputPoints().get(i));
+                assertEquals(0.0, p1.distanceTo(p2), ABSOLUTE_ERROR);
+            }
+        }
+    }
 }
@@ -42,6 +42,25 @@ class PointCorrespondenceProjectiveTransformation3DRobustEstimatorTest {
                 PointCorrespondenceProjectiveTransformation3DRobustEstimator.DEFAULT_ROBUST_METHOD);
     }
 
+    @Test
+    void testIsSetLocalOptimizationEnabled() throws LockedException {
+        for (final var method : RobustEstimatorMethod.values()) {
+            final var estimator = PointCorrespondenceProjectiveTransformation3DRobustEstimator.create(method);
+
+            // check default value
+            assertEquals(
+                    PointCorrespondenceProjectiveTransformation3DRobustEstimator.DEFAULT_LOCAL_OPTIMIZATION_ENABLED,
+                    estimator.isLocalOptimizationEnabled());
+            assertFalse(estimator.isLocalOptimizationEnabled());
+
+            // set new value
+            estimator.setLocalOptimizationEnabled(true);
+
+            // check correctness
+            assertTrue(estimator.isLocalOptimizationEnabled());
+        }
+    }
+
     @Test
     void testCreate() {
         // create with robust estimator method
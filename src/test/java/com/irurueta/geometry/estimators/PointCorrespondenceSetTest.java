@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import com.irurueta.geometry.InhomogeneousPoint2D;
+import com.irurueta.geometry.Point2D;
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointCorrespondenceSetTest {
+
+    private static final int MIN_POINTS = 4;
+    private static final int MAX_POINTS = 100;
+
+    @Test
+    void testConstructor() {
+        final var randomizer = new UniformRandomizer();
+        final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var inputPoints = new ArrayList<Point2D>();
+        final var outputPoints = new ArrayList<Point2D>();
+        for (var i = 0; i < nPoints; i++) {
+            inputPoints.add(new InhomogeneousPoint2D(randomizer.nextDouble(), randomizer.nextDouble()));
+            outputPoints.add(new InhomogeneousPoint2D(randomizer.nextDouble(), randomizer.nextDouble()));
+        }
+        final var qualityScores = new double[nPoints];
+        randomizer.fill(qualityScores);
+
+        // test constructor without quality scores
+        var set = new PointCorrespondenceSet<>(inputPoints, outputPoints);
+
+        // check
+        assertSame(inputPoints, set.getInputPoints());
+        assertSame(outputPoints, set.getOutputPoints());
+        assertNull(set.getQualityScores());
+        assertEquals(nPoints, set.size());
+        final var defaultScores = set.getQualityScoresOrDefault();
+        assertEquals(nPoints, defaultScores.length);
+        for (final var score : defaultScores) {
+            assertEquals(PointCorrespondenceSet.DEFAULT_QUALITY_SCORE, score, 0.0);
+        }
+
+        // test constructor with quality scores
+        set = new PointCorrespondenceSet<>(inputPoints, outputPoints, qualityScores);
+
+        // check
+        assertSame(inputPoints, set.getInputPoints());
+        assertSame(outputPoints, set.getOutputPoints());
+        assertSame(qualityScores, set.getQualityScores());
+        assertSame(qualityScores, set.getQualityScoresOrDefault());
+        assertEquals(nPoints, set.size());
+
+        // Force IllegalArgumentException
+        final var wrongPoints = new ArrayList<Point2D>();
+        final var wrongScores = new double[nPoints + 1];
+        assertThrows(IllegalArgumentException.class, () -> new PointCorrespondenceSet<>(null, outputPoints));
+        assertThrows(IllegalArgumentException.class, () -> new PointCorrespondenceSet<>(inputPoints, null));
+        assertThrows(IllegalArgumentException.class, () -> new PointCorrespondenceSet<>(inputPoints, wrongPoints));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PointCorrespondenceSet<>(inputPoints, outputPoints, wrongScores));
+    }
+}
@@ -369,6 +369,91 @@ class RANSACConicRobustEstimatorTest implements ConicRobustEstimatorListener {
         }
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException {
+        final var randomizer = new UniformRandomizer();
+
+        for (var t = 0; t < TIMES; t++) {
+            // instantiate a random circle
+            final var center = new HomogeneousPoint2D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE), 1.0);
+            final var radius = Math.abs(randomizer.nextDouble(MAX_RANDOM_VALUE / 2.0, MAX_RANDOM_VALUE));
+
+            final var circle = new Circle(center, radius);
+            final var conic = circle.toConic();
+
+            // compute points in the conic (i.e. circle) locus
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var theta = (double) nPoints / 360.0 * Math.PI / 180.0;
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            final var points = new ArrayList<Point2D>();
+            final var pointsWithError = new ArrayList<Point2D>();
+            for (var i = 0; i < nPoints; i++) {
+                final var angle = theta * (double) i;
+                final var point = new HomogeneousPoint2D(
+                        center.getInhomX() + radius * Math.cos(angle),
+                        center.getInhomY() + radius * Math.sin(angle), 1.0);
+
+                Point2D pointWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    final var errorX = errorRandomizer.nextDouble();
+                    final var errorY = errorRandomizer.nextDouble();
+                    pointWithError = new HomogeneousPoint2D(
+                            point.getInhomX() + errorX,
+                            point.getInhomY() + errorY, 1.0);
+                } else {
+                    // inlier point
+                    pointWithError = point;
+                }
+
+                points.add(point);
+                pointsWithError.add(pointWithError);
+
+                // check that point without error is within conic locus
+                assertTrue(circle.isLocus(point, ABSOLUTE_ERROR));
+                assertTrue(conic.isLocus(point, ABSOLUTE_ERROR));
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACConicRobustEstimator(this, pointsWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var conic2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by checking that all points
+            // are within the estimated conic locus
+            for (final Point2D p : points) {
+                assertTrue(conic2.isLocus(p, ABSOLUTE_ERROR));
+            }
+        }
+    }
+
     @Override
     public void onEstimateStart(final ConicRobustEstimator estimator) {
         estimateStart++;
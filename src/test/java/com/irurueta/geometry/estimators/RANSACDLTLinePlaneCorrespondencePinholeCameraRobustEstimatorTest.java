@@ -926,6 +926,195 @@ class RANSACDLTLinePlaneCorrespondencePinholeCameraRobustEstimatorTest implement
         assertTrue(numValid > 0);
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws IllegalArgumentException, LockedException, NotReadyException,
+            RobustEstimatorException, CameraException, NotAvailableException {
+        var numValid = 0;
+        for (var t = 0; t < TIMES; t++) {
+            final var randomizer = new UniformRandomizer();
+            final var horizontalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+            final var verticalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+            final var skewness = randomizer.nextDouble(MIN_SKEWNESS, MAX_SKEWNESS);
+            final var horizontalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+            final var verticalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+
+            final var intrinsic = new PinholeCameraIntrinsicParameters(horizontalFocalLength, verticalFocalLength,
+                    horizontalPrincipalPoint, verticalPrincipalPoint, skewness);
+
+            // create rotation parameters
+            final var alphaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var betaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var gammaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+
+            final var rotation = new MatrixRotation3D(alphaEuler, betaEuler, gammaEuler);
+
+            // create camera center
+            final var cameraCenterArray = new double[INHOM_3D_COORDS];
+            randomizer.fill(cameraCenterArray, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var cameraCenter = new InhomogeneousPoint3D(cameraCenterArray);
+
+            // instantiate camera
+            final var camera = new PinholeCamera(intrinsic, rotation, cameraCenter);
+
+            // normalize the camera to improve accuracy
+            camera.normalize();
+
+            final var nSamples = randomizer.nextInt(MIN_SAMPLES, MAX_SAMPLES);
+            final var lines = new ArrayList<Line2D>(nSamples);
+            for (var i = 0; i < nSamples; i++) {
+                final var line = new Line2D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                lines.add(line);
+            }
+
+            final var planes = camera.backProjectLines(lines);
+
+            // create outliers
+            final var planesWithError = new ArrayList<Plane>();
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            for (final var plane : planes) {
+                Plane planeWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // plane is outlier
+                    final var errorA = errorRandomizer.nextDouble();
+                    final var errorB = errorRandomizer.nextDouble();
+                    final var errorC = errorRandomizer.nextDouble();
+                    final var errorD = errorRandomizer.nextDouble();
+                    planeWithError = new Plane(plane.getA() + errorA, plane.getB() + errorB,
+                            plane.getC() + errorC, plane.getD() + errorD);
+                } else {
+                    // inlier plane (without error)
+                    planeWithError = plane;
+                }
+
+                planesWithError.add(planeWithError);
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACDLTLinePlaneCorrespondencePinholeCameraRobustEstimator(this,
+                    planesWithError, lines);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+            estimator.setComputeAndKeepInliersEnabled(true);
+            estimator.setComputeAndKeepResidualsEnabled(true);
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+            assertNull(estimator.getCovariance());
+
+            final var camera2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            assertNotNull(estimator.getInliersData());
+            assertNotNull(estimator.getInliersData().getInliers());
+            assertNotNull(estimator.getInliersData().getResiduals());
+            assertTrue(estimator.getInliersData().getNumInliers() > 0);
+            assertNull(estimator.getCovariance());
+            reset();
+
+            // check correctness of estimation
+
+            // back-project original 2D lines using estimated camera and check
+            // distance to 3D planes without error
+            Plane originalPlane;
+            Plane estimatedPlane;
+            for (var i = 0; i < nSamples; i++) {
+                final var line = lines.get(i);
+                originalPlane = planes.get(i);
+                estimatedPlane = camera2.backProject(line);
+
+                assertTrue(originalPlane.equals(estimatedPlane, ABSOLUTE_ERROR));
+            }
+
+            // decompose estimated camera and check its parameters
+            camera2.decompose();
+
+            // compare intrinsic parameters
+            final var estimatedIntrinsic = camera2.getIntrinsicParameters();
+
+            assertEquals(horizontalFocalLength, estimatedIntrinsic.getHorizontalFocalLength(),
+                    VERY_LARGE_ABSOLUTE_ERROR);
+            assertEquals(verticalFocalLength, estimatedIntrinsic.getVerticalFocalLength(), VERY_LARGE_ABSOLUTE_ERROR);
+            assertEquals(horizontalPrincipalPoint, estimatedIntrinsic.getHorizontalPrincipalPoint(),
+                    VERY_LARGE_ABSOLUTE_ERROR);
+            assertEquals(verticalPrincipalPoint, estimatedIntrinsic.getVerticalPrincipalPoint(),
+                    VERY_LARGE_ABSOLUTE_ERROR);
+            assertEquals(skewness, estimatedIntrinsic.getSkewness(), VERY_LARGE_ABSOLUTE_ERROR);
+
+            // Comparing estimated rotation
+            final var estimatedRotation = camera2.getCameraRotation();
+
+            final var estimatedRotation2 = (MatrixRotation3D) estimatedRotation;
+            final var estimatedAlphaEuler = estimatedRotation2.getAlphaEulerAngle();
+            final var estimatedBetaEuler = estimatedRotation2.getBetaEulerAngle();
+            final var estimatedGammaEuler = estimatedRotation2.getGammaEulerAngle();
+            final boolean validAlphaEuler;
+            final boolean validBetaEuler;
+            final boolean validGammaEuler;
+
+            if (Math.abs(alphaEuler - estimatedAlphaEuler) <= LARGE_ABSOLUTE_ERROR) {
+                validAlphaEuler = true;
+            } else {
+                validAlphaEuler = (Math.abs(alphaEuler) + Math.abs(estimatedAlphaEuler) - Math.PI)
+                        <= LARGE_ABSOLUTE_ERROR;
+            }
+
+            if (Math.abs(betaEuler - estimatedBetaEuler) <= LARGE_ABSOLUTE_ERROR) {
+                validBetaEuler = true;
+            } else {
+                validBetaEuler = (Math.abs(betaEuler) + Math.abs(estimatedBetaEuler) - Math.PI) <= LARGE_ABSOLUTE_ERROR;
+            }
+
+            if (Math.abs(gammaEuler - estimatedGammaEuler) <= LARGE_ABSOLUTE_ERROR) {
+                validGammaEuler = true;
+            } else {
+                validGammaEuler = (Math.abs(gammaEuler) + Math.abs(estimatedGammaEuler) - Math.PI)
+                        <= LARGE_ABSOLUTE_ERROR;
+            }
+
+            if (!validAlphaEuler || !validBetaEuler || !validGammaEuler) {
+                continue;
+            }
+            //noinspection ConstantConditions
+            assertTrue(validAlphaEuler);
+            //noinspection ConstantConditions
+            assertTrue(validBetaEuler);
+            //noinspection ConstantConditions
+            assertTrue(validGammaEuler);
+
+
+            // comparing estimated camera center
+            final var estimatedCameraCenter = camera2.getCameraCenter();
+            assertTrue(cameraCenter.equals(estimatedCameraCenter, LARGE_ABSOLUTE_ERROR));
+
+            numValid++;
+            break;
+        }
+
+        assertTrue(numValid > 0);
+    }
+
     @Test
     void testEstimateWithRefinement() throws IllegalArgumentException, LockedException, NotReadyException,
             RobustEstimatorException, CameraException, NotAvailableException {
@@ -944,6 +944,194 @@ class RANSACDLTPointCorrespondencePinholeCameraRobustEstimatorTest implements Pi
         assertTrue(numValid > 0);
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws IllegalArgumentException, LockedException, NotReadyException,
+            RobustEstimatorException, CameraException, NotAvailableException {
+        var numValid = 0;
+        for (var t = 0; t < TIMES; t++) {
+            final var randomizer = new UniformRandomizer();
+            final var horizontalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+            final var verticalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+            final var skewness = randomizer.nextDouble(MIN_SKEWNESS, MAX_SKEWNESS);
+            final var horizontalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+            final var verticalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+
+            final var intrinsic = new PinholeCameraIntrinsicParameters(horizontalFocalLength, verticalFocalLength,
+                    horizontalPrincipalPoint, verticalPrincipalPoint, skewness);
+
+            // create rotation parameters
+            final var alphaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var betaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var gammaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+
+            final var rotation = new MatrixRotation3D(alphaEuler, betaEuler, gammaEuler);
+
+            // create camera center
+            final var cameraCenterArray = new double[INHOM_3D_COORDS];
+            randomizer.fill(cameraCenterArray, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var cameraCenter = new InhomogeneousPoint3D(cameraCenterArray);
+
+            // instantiate camera
+            final var camera = new PinholeCamera(intrinsic, rotation, cameraCenter);
+
+            // normalize the camera to improve accuracy
+            camera.normalize();
+
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var points3D = new ArrayList<Point3D>();
+            for (var i = 0; i < nPoints; i++) {
+                final var point3D = new HomogeneousPoint3D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                points3D.add(point3D);
+            }
+
+            final var points2D = camera.project(points3D);
+
+            // create outliers
+            final var points2DWithError = new ArrayList<Point2D>();
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            for (final var point2D : points2D) {
+                Point2D point2DWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    final var errorX = errorRandomizer.nextDouble();
+                    final var errorY = errorRandomizer.nextDouble();
+                    final var errorW = errorRandomizer.nextDouble();
+                    point2DWithError = new HomogeneousPoint2D(
+                            point2D.getHomX() + errorX,
+                            point2D.getHomY() + errorY,
+                            point2D.getHomW() + errorW);
+                } else {
+                    // inlier point (without error)
+                    point2DWithError = point2D;
+                }
+
+                points2DWithError.add(point2DWithError);
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACDLTPointCorrespondencePinholeCameraRobustEstimator(this, points3D,
+                    points2DWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+            estimator.setComputeAndKeepInliersEnabled(true);
+            estimator.setComputeAndKeepResidualsEnabled(true);
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var camera2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            assertNotNull(estimator.getInliersData());
+            assertNotNull(estimator.getInliersData().getInliers());
+            assertNotNull(estimator.getInliersData().getResiduals());
+            assertTrue(estimator.getInliersData().getNumInliers() > 0);
+            assertNull(estimator.getCovariance());
+            reset();
+
+            // check correctness of estimation
+
+            // project original 3D points using estimated camera and check
+            // distance to 2D points without error
+            for (var i = 0; i < nPoints; i++) {
+                final var point3D = points3D.get(i);
+                final var originalPoint2D = points2D.get(i);
+                final var estimatedPoint2D = camera2.project(point3D);
+
+                assertEquals(0.0, originalPoint2D.distanceTo(estimatedPoint2D), ABSOLUTE_ERROR);
+            }
+
+            // decompose estimated camera and check its parameters
+            camera2.decompose();
+
+            // compare intrinsic parameters
+            final var estimatedIntrinsic = camera2.getIntrinsicParameters();
+
+            assertEquals(horizontalFocalLength, estimatedIntrinsic.getHorizontalFocalLength(),
+                    10.0 * LARGE_ABSOLUTE_ERROR);
+            assertEquals(verticalFocalLength, estimatedIntrinsic.getVerticalFocalLength(),
+                    10.0 * LARGE_ABSOLUTE_ERROR);
+            assertEquals(horizontalPrincipalPoint, estimatedIntrinsic.getHorizontalPrincipalPoint(),
+                    10.0 * LARGE_ABSOLUTE_ERROR);
+            assertEquals(verticalPrincipalPoint, estimatedIntrinsic.getVerticalPrincipalPoint(),
+                    10.0 * LARGE_ABSOLUTE_ERROR);
+            assertEquals(skewness, estimatedIntrinsic.getSkewness(), 10.0 * LARGE_ABSOLUTE_ERROR);
+
+            // Comparing estimated rotation
+            final var estimatedRotation = camera2.getCameraRotation();
+
+            final var estimatedRotation2 = (MatrixRotation3D) estimatedRotation;
+            final var estimatedAlphaEuler = estimatedRotation2.getAlphaEulerAngle();
+            final var estimatedBetaEuler = estimatedRotation2.getBetaEulerAngle();
+            final var estimatedGammaEuler = estimatedRotation2.getGammaEulerAngle();
+            final boolean validAlphaEuler;
+            final boolean validBetaEuler;
+            final boolean validGammaEuler;
+
+            if (Math.abs(alphaEuler - estimatedAlphaEuler) <= LARGE_ABSOLUTE_ERROR) {
+                validAlphaEuler = true;
+            } else {
+                validAlphaEuler = (Math.abs(alphaEuler) + Math.abs(estimatedAlphaEuler) - Math.PI)
+                        <= LARGE_ABSOLUTE_ERROR;
+            }
+
+            if (Math.abs(betaEuler - estimatedBetaEuler) <= LARGE_ABSOLUTE_ERROR) {
+                validBetaEuler = true;
+            } else {
+                validBetaEuler = (Math.abs(betaEuler) + Math.abs(estimatedBetaEuler) - Math.PI) <= LARGE_ABSOLUTE_ERROR;
+            }
+
+            if (Math.abs(gammaEuler - estimatedGammaEuler) <= LARGE_ABSOLUTE_ERROR) {
+                validGammaEuler = true;
+            } else {
+                validGammaEuler = (Math.abs(gammaEuler) + Math.abs(estimatedGammaEuler) - Math.PI)
+                        <= LARGE_ABSOLUTE_ERROR;
+            }
+
+            if (!validAlphaEuler || !validBetaEuler || !validGammaEuler) {
+                continue;
+            }
+            //noinspection ConstantConditions
+            assertTrue(validAlphaEuler);
+            //noinspection ConstantConditions
+            assertTrue(validBetaEuler);
+            //noinspection ConstantConditions
+            assertTrue(validGammaEuler);
+
+            // comparing estimated camera center
+            final var estimatedCameraCenter = camera2.getCameraCenter();
+            assertTrue(cameraCenter.equals(estimatedCameraCenter, LARGE_ABSOLUTE_ERROR));
+
+            numValid++;
+            break;
+        }
+
+        assertTrue(numValid > 0);
+    }
+
     @Test
     void testEstimateWithRefinement() throws IllegalArgumentException, LockedException, NotReadyException,
             RobustEstimatorException, CameraException, NotAvailableException {
@@ -4894,6 +5082,99 @@ class RANSACDLTPointCorrespondencePinholeCameraRobustEstimatorTest implements Pi
         assertTrue(numValid > 0);
     }
 
+    @Test
+    void testEstimateWithParallelism() throws LockedException, NotReadyException, RobustEstimatorException {
+        final var randomizer = new UniformRandomizer();
+        final var horizontalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+        final var verticalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+        final var skewness = randomizer.nextDouble(MIN_SKEWNESS, MAX_SKEWNESS);
+        final var horizontalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+        final var verticalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+
+        final var intrinsic = new PinholeCameraIntrinsicParameters(horizontalFocalLength, verticalFocalLength,
+                horizontalPrincipalPoint, verticalPrincipalPoint, skewness);
+
+        // create rotation parameters
+        final var alphaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var betaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+        final var gammaEuler = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+
+        final var rotation = new MatrixRotation3D(alphaEuler, betaEuler, gammaEuler);
+
+        // create camera center
+        final var cameraCenterArray = new double[INHOM_3D_COORDS];
+        randomizer.fill(cameraCenterArray, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+        final var cameraCenter = new InhomogeneousPoint3D(cameraCenterArray);
+
+        // instantiate camera
+        final var camera = new PinholeCamera(intrinsic, rotation, cameraCenter);
+
+        // normalize the camera to improve accuracy
+        camera.normalize();
+
+        final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var points3D = new ArrayList<Point3D>();
+        for (var i = 0; i < nPoints; i++) {
+            final var point3D = new HomogeneousPoint3D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+            points3D.add(point3D);
+        }
+
+        final var points2D = camera.project(points3D);
+
+        // create outliers
+        final var points2DWithError = new ArrayList<Point2D>();
+        final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+        for (final var point2D : points2D) {
+            final Point2D point2DWithError;
+            if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                // point is outlier
+                final var errorX = errorRandomizer.nextDouble();
+                final var errorY = errorRandomizer.nextDouble();
+                final var errorW = errorRandomizer.nextDouble();
+                point2DWithError = new HomogeneousPoint2D(
+                        point2D.getHomX() + errorX,
+                        point2D.getHomY() + errorY,
+                        point2D.getHomW() + errorW);
+            } else {
+                // inlier point (without error)
+                point2DWithError = point2D;
+            }
+
+            points2DWithError.add(point2DWithError);
+        }
+
+        final var estimator = new RANSACDLTPointCorrespondencePinholeCameraRobustEstimator(points3D,
+                points2DWithError);
+
+        estimator.setThreshold(THRESHOLD);
+        estimator.setResultRefined(false);
+        estimator.setCovarianceKept(false);
+
+        // estimate computing residuals sequentially
+        final var camera2 = estimator.estimate();
+        final var inliers2 = estimator.getInliersData().getInliers();
+
+        // estimate splitting residuals of each hypothesis into several tasks
+        estimator.setParallelism(4);
+        final var camera3 = estimator.estimate();
+        final var inliers3 = estimator.getInliersData().getInliers();
+
+        // both estimations find the same camera and inliers, since hypotheses
+        // are scored with the same residuals
+        assertEquals(inliers2, inliers3);
+        for (var i = 0; i < nPoints; i++) {
+            final var point3D = points3D.get(i);
+            final var originalPoint2D = points2D.get(i);
+            assertEquals(0.0, originalPoint2D.distanceTo(camera2.project(point3D)), ABSOLUTE_ERROR);
+            assertEquals(0.0, originalPoint2D.distanceTo(camera3.project(point3D)), ABSOLUTE_ERROR);
+            assertEquals(!inliers2.get(i), points2DWithError.get(i) != points2D.get(i));
+        }
+    }
+
     @Override
     public void onEstimateStart(final PinholeCameraRobustEstimator estimator) {
         estimateStart++;
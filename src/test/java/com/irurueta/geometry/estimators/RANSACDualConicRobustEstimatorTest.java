@@ -377,6 +377,98 @@ class RANSACDualConicRobustEstimatorTest implements DualConicRobustEstimatorList
         }
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException,
+            DualConicNotAvailableException {
+
+        final var randomizer = new UniformRandomizer();
+
+        for (var t = 0; t < TIMES; t++) {
+            // instantiate a random circle
+            final var center = new HomogeneousPoint2D(
+                    randomizer.nextDouble(MIN_RANDOM_POINT_VALUE, MAX_RANDOM_POINT_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_POINT_VALUE, MAX_RANDOM_POINT_VALUE), 1.0);
+            final var radius = Math.abs(randomizer.nextDouble(MAX_RANDOM_POINT_VALUE / 2.0, MAX_RANDOM_POINT_VALUE));
+
+            final var circle = new Circle(center, radius);
+            final var conic = circle.toConic();
+            final var dualConic = conic.getDualConic();
+
+            // compute lines in the dual conic locus
+            final var nLines = randomizer.nextInt(MIN_LINES, MAX_LINES);
+            final var theta = (double) nLines / 360.0 * Math.PI / 180.0;
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            final var lines = new ArrayList<Line2D>();
+            final var linesWithError = new ArrayList<Line2D>();
+            final var directorVector = new double[Point2D.POINT2D_INHOMOGENEOUS_COORDINATES_LENGTH];
+            for (var i = 0; i < nLines; i++) {
+                final var angle = theta * (double) i;
+                final var point = new HomogeneousPoint2D(
+                        center.getInhomX() + radius * Math.cos(angle),
+                        center.getInhomY() + radius * Math.sin(angle), 1.0);
+                directorVector[0] = point.getInhomX() - center.getInhomX();
+                directorVector[1] = point.getInhomY() - center.getInhomY();
+
+                final var line = new Line2D(point, directorVector);
+
+                Line2D lineWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    final var errorA = errorRandomizer.nextDouble();
+                    final var errorB = errorRandomizer.nextDouble();
+                    lineWithError = new Line2D(line.getA() + errorA, line.getB() + errorB, line.getC());
+                } else {
+                    // inlier line
+                    lineWithError = line;
+                }
+
+                lines.add(line);
+                linesWithError.add(lineWithError);
+
+                // check that point without error is within conic locus
+                assertTrue(circle.isLocus(point, ABSOLUTE_ERROR));
+                assertTrue(conic.isLocus(point, ABSOLUTE_ERROR));
+                assertTrue(dualConic.isLocus(line, ABSOLUTE_ERROR));
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACDualConicRobustEstimator(this, linesWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var dualConic2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by checking that all lines
+            // are within the estimated conic locus
+            for (final var l : lines) {
+                assertTrue(dualConic2.isLocus(l, ABSOLUTE_ERROR));
+            }
+        }
+    }
+
     @Override
     public void onEstimateStart(final DualConicRobustEstimator estimator) {
         estimateStart++;
@@ -390,6 +390,111 @@ class RANSACDualQuadricRobustEstimatorTest implements DualQuadricRobustEstimator
         }
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException,
+            DualQuadricNotAvailableException {
+
+        final var randomizer = new UniformRandomizer();
+
+        for (var t = 0; t < TIMES; t++) {
+            // instantiate a random circle
+            final var center = new HomogeneousPoint3D(
+                    randomizer.nextDouble(MIN_RANDOM_POINT_VALUE, MAX_RANDOM_POINT_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_POINT_VALUE, MAX_RANDOM_POINT_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_POINT_VALUE, MAX_RANDOM_POINT_VALUE), 1.0);
+            final var radius = Math.abs(randomizer.nextDouble(MAX_RANDOM_POINT_VALUE / 2.0, MAX_RANDOM_POINT_VALUE));
+
+            final var sphere = new Sphere(center, radius);
+            final var quadric = sphere.toQuadric();
+            final var dualQuadric = quadric.getDualQuadric();
+
+            // compute planes in the dual quadric locus
+            final var nPlanes = randomizer.nextInt(MIN_PLANES, MAX_PLANES);
+            final var halfPoints = (int) Math.ceil((double) nPlanes / 2.0);
+            final var theta = (double) nPlanes / 360.0 * Math.PI / 180.0;
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            final var planes = new ArrayList<Plane>();
+            final var planesWithError = new ArrayList<Plane>();
+            final var directorVector = new double[Point3D.POINT3D_INHOMOGENEOUS_COORDINATES_LENGTH];
+            for (var i = 0; i < nPlanes; i++) {
+                var angle1 = 0.0;
+                var angle2 = 0.0;
+                if (i < halfPoints) {
+                    angle1 = theta * (double) i;
+                } else {
+                    angle2 = theta * (double) (i - halfPoints);
+                }
+                final var point = new HomogeneousPoint3D(
+                        center.getInhomX() + radius * Math.cos(angle1) * Math.cos(angle2),
+                        center.getInhomY() + radius * Math.sin(angle1) * Math.cos(angle2),
+                        center.getInhomZ() + radius * Math.sin(angle2),
+                        1.0);
+                directorVector[0] = point.getInhomX() - center.getInhomX();
+                directorVector[1] = point.getInhomY() - center.getInhomY();
+                directorVector[2] = point.getInhomZ() - center.getInhomZ();
+
+                final var plane = new Plane(point, directorVector);
+
+                Plane planeWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    final var errorA = errorRandomizer.nextDouble();
+                    final var errorB = errorRandomizer.nextDouble();
+                    final var errorC = errorRandomizer.nextDouble();
+                    planeWithError = new Plane(plane.getA() + errorA, plane.getB() + errorB,
+                            plane.getC() + errorC, plane.getD());
+                } else {
+                    // inlier plane
+                    planeWithError = plane;
+                }
+
+                planes.add(plane);
+                planesWithError.add(planeWithError);
+
+                // check that point without error is within quadric locus
+                assertTrue(sphere.isLocus(point, ABSOLUTE_ERROR));
+                assertTrue(quadric.isLocus(point, ABSOLUTE_ERROR));
+                assertTrue(dualQuadric.isLocus(plane, ABSOLUTE_ERROR));
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACDualQuadricRobustEstimator(this, planesWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var dualQuadric2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by checking that all planes
+            // are within the estimated conic locus
+            for (final var p : planes) {
+                assertTrue(dualQuadric2.isLocus(p, ABSOLUTE_ERROR));
+            }
+        }
+    }
+
     @Override
     public void onEstimateStart(final DualQuadricRobustEstimator estimator) {
         estimateStart++;
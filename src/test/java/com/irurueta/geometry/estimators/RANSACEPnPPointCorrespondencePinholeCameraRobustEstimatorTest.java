@@ -1310,6 +1310,189 @@ class RANSACEPnPPointCorrespondencePinholeCameraRobustEstimatorTest implements P
         assertTrue(numValidProjections > 0);
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, CameraException,
+            NotAvailableException {
+        var numValidCameras = 0;
+        var numValidProjections = 0;
+        for (var t = 0; t < 2 * TIMES; t++) {
+            final var randomizer = new UniformRandomizer();
+
+            // intrinsic parameters
+            final var horizontalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+            final var verticalFocalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+            final var skewness = randomizer.nextDouble(MIN_SKEWNESS, MAX_SKEWNESS);
+            final var horizontalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+            final var verticalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+
+            final var intrinsic = new PinholeCameraIntrinsicParameters(horizontalFocalLength, verticalFocalLength,
+                    horizontalPrincipalPoint, verticalPrincipalPoint, skewness);
+
+            // create rotation parameters
+            final var roll = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var pitch = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var yaw = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var rotation = new Quaternion(roll, pitch, yaw);
+            rotation.normalize();
+
+            // create camera center
+            final var cameraCenterArray = new double[3];
+            randomizer.fill(cameraCenterArray, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var cameraCenter = new InhomogeneousPoint3D(cameraCenterArray);
+
+            // instantiate camera
+            final var camera = new PinholeCamera(intrinsic, rotation, cameraCenter);
+
+            // normalize the camera to improve accuracy
+            camera.normalize();
+
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var points3D = new ArrayList<Point3D>(nPoints);
+            for (var i = 0; i < nPoints; i++) {
+                final var point3D = new InhomogeneousPoint3D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                points3D.add(point3D);
+            }
+
+            final var points2D = camera.project(points3D);
+
+            // create outliers
+            final var points2DWithError = new ArrayList<Point2D>();
+            final var errorRandomizer = new GaussianRandomizer(0.0, OUTLIER_STD_ERROR);
+            for (final var point2D : points2D) {
+                Point2D point2DWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    final var errorX = errorRandomizer.nextDouble();
+                    final var errorY = errorRandomizer.nextDouble();
+                    final var errorW = errorRandomizer.nextDouble();
+                    point2DWithError = new HomogeneousPoint2D(
+                            point2D.getHomX() + errorX,
+                            point2D.getHomY() + errorY,
+                            point2D.getHomW() + errorW);
+                } else {
+                    // inlier point (without error)
+                    point2DWithError = point2D;
+                }
+
+                points2DWithError.add(point2DWithError);
+            }
+
+            for (final var type : HypothesisPreVerifierType.values()) {
+                final var estimator = new RANSACEPnPPointCorrespondencePinholeCameraRobustEstimator(this, intrinsic,
+                        points3D, points2DWithError);
+
+                // pre-verify hypotheses so that most bad ones are rejected before
+                // computing all their residuals
+                final var preVerifier = HypothesisPreVerifier.create(type);
+                estimator.setPreVerifier(preVerifier);
+                assertSame(preVerifier, estimator.getPreVerifier());
+
+                estimator.setThreshold(THRESHOLD);
+                estimator.setComputeAndKeepInliersEnabled(true);
+                estimator.setComputeAndKeepResidualsEnabled(true);
+                estimator.setResultRefined(false);
+                estimator.setCovarianceKept(false);
+
+                assertEquals(0, estimateStart);
+                assertEquals(0, estimateEnd);
+                assertEquals(0, estimateNextIteration);
+                assertEquals(0, estimateProgressChange);
+                assertTrue(estimator.isReady());
+                assertFalse(estimator.isLocked());
+                assertTrue(estimator.isReady());
+                assertNull(estimator.getCovariance());
+
+                reset();
+
+                final PinholeCamera camera2;
+                try {
+                    camera2 = estimator.estimate();
+                assertTrue(preVerifier.getTestedHypotheses() > 0);
+                assertEquals(type, preVerifier.getType());
+                } catch (final RobustEstimatorException e) {
+                    continue;
+                }
+
+                assertEquals(1, estimateStart);
+                assertEquals(1, estimateEnd);
+                assertTrue(estimateNextIteration > 0);
+                assertTrue(estimateProgressChange >= 0);
+                assertNotNull(estimator.getInliersData());
+                assertNotNull(estimator.getInliersData().getInliers());
+                assertNotNull(estimator.getInliersData().getResiduals());
+                assertTrue(estimator.getInliersData().getNumInliers() > 0);
+                assertNull(estimator.getCovariance());
+                reset();
+
+                // check correctness of estimation
+
+                // decompose estimated camera and check its parameters
+                camera2.decompose();
+
+                // Comparing camera intrinsic parameters
+                final var estimatedIntrinsic = camera2.getIntrinsicParameters();
+
+                assertEquals(horizontalFocalLength, estimatedIntrinsic.getHorizontalFocalLength(), ABSOLUTE_ERROR);
+                assertEquals(verticalFocalLength, estimatedIntrinsic.getVerticalFocalLength(), ABSOLUTE_ERROR);
+                assertEquals(horizontalPrincipalPoint, estimatedIntrinsic.getHorizontalPrincipalPoint(), ABSOLUTE_ERROR);
+                assertEquals(verticalPrincipalPoint, estimatedIntrinsic.getVerticalPrincipalPoint(), ABSOLUTE_ERROR);
+                assertEquals(skewness, estimatedIntrinsic.getSkewness(), ABSOLUTE_ERROR);
+
+                // comparing estimated camera center
+                final var estimatedCameraCenter = camera2.getCameraCenter();
+                if (!cameraCenter.equals(estimatedCameraCenter, ABSOLUTE_ERROR)) {
+                    continue;
+                }
+                assertTrue(cameraCenter.equals(estimatedCameraCenter, ABSOLUTE_ERROR));
+
+                // comparing estimated rotation
+                final var estimatedRotation = camera2.getCameraRotation().toQuaternion();
+                estimatedRotation.normalize();
+
+                final var rotMatrix = rotation.asInhomogeneousMatrix();
+                final var estimatedRotMatrix = estimatedRotation.asInhomogeneousMatrix();
+
+                assertEquals(rotation.getA(), estimatedRotation.getA(), ABSOLUTE_ERROR);
+                assertEquals(rotation.getB(), estimatedRotation.getB(), ABSOLUTE_ERROR);
+                assertEquals(rotation.getC(), estimatedRotation.getC(), ABSOLUTE_ERROR);
+                assertEquals(rotation.getD(), estimatedRotation.getD(), ABSOLUTE_ERROR);
+
+                assertTrue(rotMatrix.equals(estimatedRotMatrix, ABSOLUTE_ERROR));
+
+                numValidCameras++;
+
+                // project original 3D points using estimated camera and check
+                // distance to 2D points without error
+                var isValid = true;
+                for (var i = 0; i < nPoints; i++) {
+                    final var point3D = points3D.get(i);
+                    final var originalPoint2D = points2D.get(i);
+                    final var estimatedPoint2D = camera2.project(point3D);
+
+                    if (originalPoint2D.distanceTo(estimatedPoint2D) > ABSOLUTE_ERROR) {
+                        isValid = false;
+                        break;
+                    }
+                    assertEquals(0.0, originalPoint2D.distanceTo(estimatedPoint2D), ABSOLUTE_ERROR);
+                }
+
+                if (isValid) {
+                    numValidProjections++;
+                }
+
+                if (numValidProjections > 0 && numValidCameras > 0) {
+                    break;
+                }
+            }
+        }
+
+        assertTrue(numValidCameras > 0);
+        assertTrue(numValidProjections > 0);
+    }
+
     @Test
     void testEstimateGeneralNoSuggestionWithRefinement() throws LockedException, NotReadyException, CameraException,
             NotAvailableException {
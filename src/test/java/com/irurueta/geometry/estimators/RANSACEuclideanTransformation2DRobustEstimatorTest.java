@@ -55,6 +55,14 @@ class RANSACEuclideanTransformation2DRobustEstimatorTest implements EuclideanTra
 
     private static final int PERCENTAGE_OUTLIER = 20;
 
+    private static final int HEAVY_PERCENTAGE_OUTLIER = 60;
+
+    private static final double INLIER_STD_ERROR = 0.1;
+
+    private static final double MIN_OUTLIER_ERROR = 10.0;
+
+    private static final double LARGE_ABSOLUTE_ERROR = 0.5;
+
     private int estimateStart;
     private int estimateEnd;
     private int estimateNextIteration;
@@ -624,6 +632,200 @@ class RANSACEuclideanTransformation2DRobustEstimatorTest implements EuclideanTra
         }
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException {
+        for (var t = 0; t < TIMES; t++) {
+            // create an euclidean transformation
+            final var randomizer = new UniformRandomizer();
+
+            final var theta = Utils.convertToRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+
+            final var rotation = new Rotation2D(theta);
+
+            final var translation = new double[2];
+            randomizer.fill(translation, MIN_TRANSLATION, MAX_TRANSLATION);
+
+            final var transformation1 = new EuclideanTransformation2D(rotation, translation);
+
+            // generate random points
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var inputPoints = new ArrayList<Point2D>();
+            final var outputPoints = new ArrayList<Point2D>();
+            final var outputPointsWithError = new ArrayList<Point2D>();
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            for (var i = 0; i < nPoints; i++) {
+                final var inputPoint = new InhomogeneousPoint2D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                final var outputPoint = transformation1.transformAndReturnNew(inputPoint);
+                Point2D outputPointWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    final var errorX = errorRandomizer.nextDouble();
+                    final var errorY = errorRandomizer.nextDouble();
+                    outputPointWithError = new InhomogeneousPoint2D(
+                            outputPoint.getInhomX() + errorX,
+                            outputPoint.getInhomY() + errorY);
+                } else {
+                    // inlier point (without error)
+                    outputPointWithError = outputPoint;
+                }
+
+                inputPoints.add(inputPoint);
+                outputPoints.add(outputPoint);
+                outputPointsWithError.add(outputPointWithError);
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACEuclideanTransformation2DRobustEstimator(this, inputPoints,
+                    outputPointsWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var transformation2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by transforming input points
+            // using estimated transformation (transformation2) and checking
+            // that output points are equal to the original output points without
+            // error
+            for (var i = 0; i < nPoints; i++) {
+                final var p1 = outputPoints.get(i);
+                final var p2 = transformation2.transformAndReturnNew(inputPoints.get(i));
+                assertEquals(0.0, p1.distanceTo(p2), ABSOLUTE_ERROR);
+            }
+
+            // check parameters of estimated transformation
+            final var rotation2 = transformation2.getRotation();
+            final var translation2 = transformation2.getTranslation();
+
+            assertEquals(rotation.getTheta(), rotation2.getTheta(), ABSOLUTE_ERROR);
+            assertArrayEquals(translation, translation2, ABSOLUTE_ERROR);
+        }
+    }
+
+    @Test
+    void testEstimateWithLocalOptimization() throws LockedException, NotReadyException, RobustEstimatorException {
+        for (var t = 0; t < TIMES; t++) {
+            // create an euclidean transformation
+            final var randomizer = new UniformRandomizer();
+
+            final var theta = Utils.convertToRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+
+            final var rotation = new Rotation2D(theta);
+
+            final var translation = new double[2];
+            randomizer.fill(translation, MIN_TRANSLATION, MAX_TRANSLATION);
+
+            final var transformation1 = new EuclideanTransformation2D(rotation, translation);
+
+            // generate random points, where most of them are outliers far away
+            // from their expected position, and inliers also have a small error
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var inputPoints = new ArrayList<Point2D>();
+            final var outputPointsWithError = new ArrayList<Point2D>();
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            final var inlierErrorRandomizer = new GaussianRandomizer(0.0, INLIER_STD_ERROR);
+            for (var i = 0; i < nPoints; i++) {
+                final var inputPoint = new InhomogeneousPoint2D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                final var outputPoint = transformation1.transformAndReturnNew(inputPoint);
+                final Point2D outputPointWithError;
+                if (randomizer.nextInt(0, 100) < HEAVY_PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    Point2D outlier;
+                    do {
+                        outlier = new InhomogeneousPoint2D(
+                                outputPoint.getInhomX() + errorRandomizer.nextDouble(),
+                                outputPoint.getInhomY() + errorRandomizer.nextDouble());
+                    } while (outlier.distanceTo(outputPoint) <= MIN_OUTLIER_ERROR);
+                    outputPointWithError = outlier;
+                } else {
+                    // inlier point with small error
+                    outputPointWithError = new InhomogeneousPoint2D(
+                            outputPoint.getInhomX() + inlierErrorRandomizer.nextDouble(),
+                            outputPoint.getInhomY() + inlierErrorRandomizer.nextDouble());
+                }
+
+                inputPoints.add(inputPoint);
+                outputPointsWithError.add(outputPointWithError);
+            }
+
+            // estimate without local optimization
+            final var estimator1 = new RANSACEuclideanTransformation2DRobustEstimator(inputPoints,
+                    outputPointsWithError);
+            estimator1.setThreshold(THRESHOLD);
+            estimator1.setResultRefined(false);
+            estimator1.setCovarianceKept(false);
+
+            estimator1.estimate();
+            final var numInliers1 = estimator1.getInliersData().getNumInliers();
+
+            // estimate with local optimization, keeping track of optimized
+            // hypotheses
+            final var optimized = new ArrayList<EuclideanTransformation2D>();
+            final var estimator2 = new RANSACEuclideanTransformation2DRobustEstimator(inputPoints,
+                    outputPointsWithError) {
+                @Override
+                protected ParallelResidualEvaluator.LocalOptimizer<EuclideanTransformation2D> createLocalOptimizer() {
+                    final var optimizer = super.createLocalOptimizer();
+                    return (transformation, inliers, residuals, numInliers) -> {
+                        final var result = optimizer.optimize(transformation, inliers, residuals, numInliers);
+                        optimized.add(result);
+                        return result;
+                    };
+                }
+            };
+            estimator2.setThreshold(THRESHOLD);
+            estimator2.setResultRefined(false);
+            estimator2.setCovarianceKept(false);
+            estimator2.setLocalOptimizationEnabled(true);
+
+            final var transformation2 = estimator2.estimate();
+            final var numInliers2 = estimator2.getInliersData().getNumInliers();
+
+            // returned transformation is one of the locally optimized ones,
+            // which are scored within the same iteration they are obtained,
+            // and it has at least as many inliers as the one obtained without
+            // local optimization
+            assertFalse(optimized.isEmpty());
+            assertTrue(optimized.stream().anyMatch(o -> o == transformation2));
+            assertTrue(numInliers2 >= numInliers1);
+
+            // check parameters of estimated transformation
+            final var rotation2 = transformation2.getRotation();
+            final var translation2 = transformation2.getTranslation();
+
+            assertEquals(rotation.getTheta(), rotation2.getTheta(), LARGE_ABSOLUTE_ERROR);
+            assertArrayEquals(translation, translation2, LARGE_ABSOLUTE_ERROR);
+        }
+    }
+
     @Test
     void testEstimateColinearWithoutRefinement() throws LockedException, NotReadyException, RobustEstimatorException {
         var numValid = 0;
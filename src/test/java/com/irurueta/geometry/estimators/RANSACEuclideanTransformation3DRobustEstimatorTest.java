@@ -635,6 +635,112 @@ class RANSACEuclideanTransformation3DRobustEstimatorTest implements EuclideanTra
         }
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException {
+        for (var t = 0; t < TIMES; t++) {
+            // create an euclidean transformation
+            final var randomizer = new UniformRandomizer();
+
+            final var roll = Utils.convertToRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var pitch = Utils.convertToRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var yaw = Utils.convertToRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+
+            final var q = new Quaternion(roll, pitch, yaw);
+            q.normalize();
+
+            final var translation = new double[3];
+            randomizer.fill(translation, MIN_TRANSLATION, MAX_TRANSLATION);
+
+            final var transformation1 = new EuclideanTransformation3D(q, translation);
+
+            // generate random points
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var inputPoints = new ArrayList<Point3D>();
+            final var outputPoints = new ArrayList<Point3D>();
+            final var outputPointsWithError = new ArrayList<Point3D>();
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            for (var i = 0; i < nPoints; i++) {
+                final var inputPoint = new InhomogeneousPoint3D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                final var outputPoint = transformation1.transformAndReturnNew(inputPoint);
+                Point3D outputPointWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    final var errorX = errorRandomizer.nextDouble();
+                    final var errorY = errorRandomizer.nextDouble();
+                    final var errorZ = errorRandomizer.nextDouble();
+                    outputPointWithError = new InhomogeneousPoint3D(
+                            outputPoint.getInhomX() + errorX,
+                            outputPoint.getInhomY() + errorY,
+                            outputPoint.getInhomZ() + errorZ);
+                } else {
+                    // inlier point (without error)
+                    outputPointWithError = outputPoint;
+                }
+
+                inputPoints.add(inputPoint);
+                outputPoints.add(outputPoint);
+                outputPointsWithError.add(outputPointWithError);
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACEuclideanTransformation3DRobustEstimator(this, inputPoints,
+                    outputPointsWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var transformation2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by transforming input points
+            // using estimated transformation (transformation2) and checking
+            // that output points are equal to the original output points without
+            // error
+            for (var i = 0; i < nPoints; i++) {
+                final var p1 = outputPoints.get(i);
+                final var p2 = transformation2.transformAndReturnNew(inputPoints.get(i));
+                assertEquals(0.0, p1.distanceTo(p2), ABSOLUTE_ERROR);
+            }
+
+            // check parameters of estimated transformation
+            final var q2 = transformation2.getRotation().toQuaternion();
+            q2.normalize();
+            final var translation2 = transformation2.getTranslation();
+
+            assertEquals(q.getA(), q2.getA(), ABSOLUTE_ERROR);
+            assertEquals(q.getB(), q2.getB(), ABSOLUTE_ERROR);
+            assertEquals(q.getC(), q2.getC(), ABSOLUTE_ERROR);
+            assertEquals(q.getD(), q2.getD(), ABSOLUTE_ERROR);
+            assertArrayEquals(translation, translation2, ABSOLUTE_ERROR);
+        }
+    }
+
     @Test
     void testEstimateCoplanarWithoutRefinement() throws LockedException, NotReadyException, RobustEstimatorException {
         var numValid = 0;
@@ -380,6 +380,101 @@ class RANSACLine2DRobustEstimatorTest implements Line2DRobustEstimatorListener {
         }
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException {
+
+        final var randomizer = new UniformRandomizer();
+
+        for (var t = 0; t < TIMES; t++) {
+            final var a = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var b = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var c = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var line = new Line2D(a, b, c);
+
+            // compute random points passing through the line
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            final var points = new ArrayList<Point2D>();
+            final var pointsWithError = new ArrayList<Point2D>();
+            for (var i = 0; i < nPoints; i++) {
+                // get a random point belonging to the line (a*x + b*y + c*w = 0)
+                // y = -(a*x + c*w)/b or x = -(b*y + c*w)/a
+                final double homX;
+                final double homY;
+                final var homW = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                if (Math.abs(b) > ABSOLUTE_ERROR) {
+                    homX = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                    homY = -(a * homX + c * homW) / b;
+                } else {
+                    homY = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                    homX = -(b * homY + c * homW) / a;
+                }
+                final var point = new HomogeneousPoint2D(homX, homY, homW);
+
+                Point2D pointWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    final var errorX = errorRandomizer.nextDouble();
+                    final var errorY = errorRandomizer.nextDouble();
+                    pointWithError = new HomogeneousPoint2D(
+                            point.getHomX() + errorX * point.getHomW(),
+                            point.getHomY() + errorY * point.getHomW(),
+                            point.getHomW());
+                } else {
+                    // inlier point
+                    pointWithError = point;
+                }
+
+                points.add(point);
+                pointsWithError.add(pointWithError);
+
+                // check that point without error is locus of line
+                assertTrue(line.isLocus(point, ABSOLUTE_ERROR));
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACLine2DRobustEstimator(this, pointsWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var line2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by checking that all points without
+            // error have estimated line as locus
+            for (final var p : points) {
+                assertTrue(line2.isLocus(p, ABSOLUTE_ERROR));
+            }
+
+            // check that both lines are equal
+            line.normalize();
+            line2.normalize();
+            assertTrue(line.equals(line2, ABSOLUTE_ERROR));
+        }
+    }
+
     @Override
     public void onEstimateStart(final Line2DRobustEstimator estimator) {
         estimateStart++;
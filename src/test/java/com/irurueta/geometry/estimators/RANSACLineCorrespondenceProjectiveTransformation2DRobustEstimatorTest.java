@@ -492,6 +492,127 @@ class RANSACLineCorrespondenceProjectiveTransformation2DRobustEstimatorTest
         assertTrue(numValid > 0);
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException,
+            AlgebraException {
+        var numValid = 0;
+        for (var t = 0; t < TIMES; t++) {
+            // create an affine transformation
+            Matrix a;
+            do {
+                // ensure A matrix is invertible
+                a = Matrix.createWithUniformRandomValues(ProjectiveTransformation2D.INHOM_COORDS,
+                        ProjectiveTransformation2D.INHOM_COORDS, -1.0, 1.0);
+                final var norm = Utils.normF(a);
+                // normalize T to increase accuracy
+                a.multiplyByScalar(1.0 / norm);
+            } while (Utils.rank(a) < ProjectiveTransformation2D.INHOM_COORDS);
+
+            final var translation = new double[ProjectiveTransformation2D.INHOM_COORDS];
+            final var randomizer = new UniformRandomizer();
+            randomizer.fill(translation, -1.0, 1.0);
+
+            final var transformation1 = new ProjectiveTransformation2D(a, translation);
+
+            // generate random lines
+            final var nLines = randomizer.nextInt(MIN_LINES, MAX_LINES);
+            final var inputLines = new ArrayList<Line2D>();
+            final var outputLines = new ArrayList<Line2D>();
+            final var outputLinesWithError = new ArrayList<Line2D>();
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            for (var i = 0; i < nLines; i++) {
+                final var inputLine = new Line2D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                final var outputLine = transformation1.transformAndReturnNew(inputLine);
+                final Line2D outputLineWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // line is outlier
+                    final var errorA = errorRandomizer.nextDouble();
+                    final var errorB = errorRandomizer.nextDouble();
+                    final var errorC = errorRandomizer.nextDouble();
+                    outputLineWithError = new Line2D(outputLine.getA() + errorA,
+                            outputLine.getB() + errorB,
+                            outputLine.getC() + errorC);
+                } else {
+                    // inlier line (without error)
+                    outputLineWithError = outputLine;
+                }
+
+                inputLines.add(inputLine);
+                outputLines.add(outputLine);
+                outputLinesWithError.add(outputLineWithError);
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACLineCorrespondenceProjectiveTransformation2DRobustEstimator(this,
+                    inputLines, outputLinesWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var transformation2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by transforming input lines
+            // using estimated transformation (transformation2) and checking
+            // that output lines are equal to the original output lines without
+            // error
+            var failed = false;
+            for (var i = 0; i < nLines; i++) {
+                final var l1 = outputLines.get(i);
+                final var l2 = transformation2.transformAndReturnNew(inputLines.get(i));
+                l1.normalize();
+                l2.normalize();
+                if (Math.abs(LineCorrespondenceAffineTransformation2DRobustEstimator.getResidual(l1, l2))
+                        > ABSOLUTE_ERROR) {
+                    failed = true;
+                    break;
+                }
+                assertEquals(0.0, LineCorrespondenceAffineTransformation2DRobustEstimator.getResidual(l1, l2),
+                        ABSOLUTE_ERROR);
+                if (!l1.equals(l2, ABSOLUTE_ERROR)) {
+                    failed = true;
+                    break;
+                }
+                assertTrue(l1.equals(l2, ABSOLUTE_ERROR));
+            }
+
+            if (failed) {
+                continue;
+            }
+
+            numValid++;
+            break;
+        }
+
+        assertTrue(numValid > 0);
+    }
+
     @Test
     void testEstimateWithRefinement() throws LockedException, NotReadyException, RobustEstimatorException,
             AlgebraException {
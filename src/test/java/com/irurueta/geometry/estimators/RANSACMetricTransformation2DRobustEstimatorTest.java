@@ -622,6 +622,103 @@ class RANSACMetricTransformation2DRobustEstimatorTest implements MetricTransform
         assertEquals(scale, scale2, ABSOLUTE_ERROR);
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException {
+        // create an euclidean transformation
+        final var randomizer = new UniformRandomizer();
+
+        final var theta = Utils.convertToRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+
+        final var rotation = new Rotation2D(theta);
+
+        final var translation = new double[2];
+        randomizer.fill(translation, MIN_TRANSLATION, MAX_TRANSLATION);
+
+        final var scale = randomizer.nextDouble(MIN_SCALE, MAX_SCALE);
+
+        final var transformation1 = new MetricTransformation2D(rotation, translation, scale);
+
+        // generate random points
+        final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var inputPoints = new ArrayList<Point2D>();
+        final var outputPoints = new ArrayList<Point2D>();
+        final var outputPointsWithError = new ArrayList<Point2D>();
+        final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+        for (var i = 0; i < nPoints; i++) {
+            final var inputPoint = new InhomogeneousPoint2D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+            final var outputPoint = transformation1.transformAndReturnNew(inputPoint);
+            final Point2D outputPointWithError;
+            if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                // point is outlier
+                final var errorX = errorRandomizer.nextDouble();
+                final var errorY = errorRandomizer.nextDouble();
+                outputPointWithError = new InhomogeneousPoint2D(
+                        outputPoint.getInhomX() + errorX,
+                        outputPoint.getInhomY() + errorY);
+            } else {
+                // inlier point (without error)
+                outputPointWithError = outputPoint;
+            }
+
+            inputPoints.add(inputPoint);
+            outputPoints.add(outputPoint);
+            outputPointsWithError.add(outputPointWithError);
+        }
+
+        for (final var type : HypothesisPreVerifierType.values()) {
+            final var estimator = new RANSACMetricTransformation2DRobustEstimator(this, inputPoints,
+                    outputPointsWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var transformation2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by transforming input points
+            // using estimated transformation (transformation2) and checking
+            // that output points are equal to the original output points without
+            // error
+            for (var i = 0; i < nPoints; i++) {
+                final var p1 = outputPoints.get(i);
+                final var p2 = transformation2.transformAndReturnNew(inputPoints.get(i));
+                assertEquals(0.0, p1.distanceTo(p2), ABSOLUTE_ERROR);
+            }
+
+            // check parameters of estimated transformation
+            final var rotation2 = transformation2.getRotation();
+            final var translation2 = transformation2.getTranslation();
+            final var scale2 = transformation2.getScale();
+
+            assertEquals(rotation.getTheta(), rotation2.getTheta(), ABSOLUTE_ERROR);
+            assertArrayEquals(translation, translation2, ABSOLUTE_ERROR);
+            assertEquals(scale, scale2, ABSOLUTE_ERROR);
+        }
+    }
+
     @Test
     void testEstimateColinearWithoutRefinement() throws LockedException, NotReadyException, RobustEstimatorException {
         var numValid = 0;
@@ -473,6 +473,108 @@ class RANSACPlaneCorrespondenceAffineTransformation3DRobustEstimatorTest
         }
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException,
+            AlgebraException {
+        // create an affine transformation
+        Matrix a;
+        do {
+            // ensure A matrix is invertible
+            a = Matrix.createWithUniformRandomValues(AffineTransformation3D.INHOM_COORDS,
+                    AffineTransformation3D.INHOM_COORDS, -1.0, 1.0);
+            final var norm = Utils.normF(a);
+            // normalize T to increase accuracy
+            a.multiplyByScalar(1.0 / norm);
+        } while (Utils.rank(a) < AffineTransformation3D.INHOM_COORDS);
+
+        final var translation = new double[AffineTransformation3D.INHOM_COORDS];
+        final var randomizer = new UniformRandomizer();
+        randomizer.fill(translation, -1.0, 1.0);
+
+        final var transformation1 = new AffineTransformation3D(a, translation);
+
+        // generate random planes
+        final var nPlanes = randomizer.nextInt(MIN_PLANES, MAX_PLANES);
+        final var inputPlanes = new ArrayList<Plane>();
+        final var outputPlanes = new ArrayList<Plane>();
+        final var outputPlanesWithError = new ArrayList<Plane>();
+        final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+        for (var i = 0; i < nPlanes; i++) {
+            final var inputPlane = new Plane(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+            final var outputPlane = transformation1.transformAndReturnNew(inputPlane);
+            final Plane outputPlaneWithError;
+            if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                // plane is outlier
+                final var errorA = errorRandomizer.nextDouble();
+                final var errorB = errorRandomizer.nextDouble();
+                final var errorC = errorRandomizer.nextDouble();
+                final var errorD = errorRandomizer.nextDouble();
+                outputPlaneWithError = new Plane(
+                        outputPlane.getA() + errorA,
+                        outputPlane.getB() + errorB,
+                        outputPlane.getC() + errorC,
+                        outputPlane.getD() + errorD);
+            } else {
+                // inlier plane (without error)
+                outputPlaneWithError = outputPlane;
+            }
+
+            inputPlanes.add(inputPlane);
+            outputPlanes.add(outputPlane);
+            outputPlanesWithError.add(outputPlaneWithError);
+        }
+
+        for (final var type : HypothesisPreVerifierType.values()) {
+            final var estimator = new RANSACPlaneCorrespondenceAffineTransformation3DRobustEstimator(this,
+                    inputPlanes, outputPlanesWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var transformation2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by transforming input planes
+            // using estimated transformation (transformation2) and checking
+            // that output planes are equal to the original output planes without
+            // error
+            for (int i = 0; i < nPlanes; i++) {
+                final var p1 = outputPlanes.get(i);
+                final var p2 = transformation2.transformAndReturnNew(inputPlanes.get(i));
+                p1.normalize();
+                p2.normalize();
+                assertEquals(0.0, PlaneCorrespondenceAffineTransformation3DRobustEstimator.getResidual(p1, p2),
+                        ABSOLUTE_ERROR);
+                assertTrue(p1.equals(p2, ABSOLUTE_ERROR));
+            }
+        }
+    }
+
     @Test
     void testEstimateWithRefinement() throws LockedException, NotReadyException, RobustEstimatorException,
             AlgebraException {
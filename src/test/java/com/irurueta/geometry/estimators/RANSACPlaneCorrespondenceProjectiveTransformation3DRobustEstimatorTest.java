@@ -473,6 +473,108 @@ class RANSACPlaneCorrespondenceProjectiveTransformation3DRobustEstimatorTest
         }
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException,
+            AlgebraException {
+        // create an affine transformation
+        Matrix a;
+        do {
+            // ensure A matrix is invertible
+            a = Matrix.createWithUniformRandomValues(ProjectiveTransformation3D.INHOM_COORDS,
+                    ProjectiveTransformation3D.INHOM_COORDS, -1.0, 1.0);
+            final var norm = Utils.normF(a);
+            // normalize T to increase accuracy
+            a.multiplyByScalar(1.0 / norm);
+        } while (Utils.rank(a) < ProjectiveTransformation3D.INHOM_COORDS);
+
+        final var translation = new double[ProjectiveTransformation3D.INHOM_COORDS];
+        final var randomizer = new UniformRandomizer();
+        randomizer.fill(translation, -1.0, 1.0);
+
+        final var transformation1 = new ProjectiveTransformation3D(a, translation);
+
+        // generate random planes
+        final var nPlanes = randomizer.nextInt(MIN_LINES, MAX_LINES);
+        final var inputPlanes = new ArrayList<Plane>();
+        final var outputPlanes = new ArrayList<Plane>();
+        final var outputPlanesWithError = new ArrayList<Plane>();
+        final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+        for (var i = 0; i < nPlanes; i++) {
+            final var inputPlane = new Plane(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+            final var outputPlane = transformation1.transformAndReturnNew(inputPlane);
+            final Plane outputPlaneWithError;
+            if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                // line is outlier
+                final var errorA = errorRandomizer.nextDouble();
+                final var errorB = errorRandomizer.nextDouble();
+                final var errorC = errorRandomizer.nextDouble();
+                final var errorD = errorRandomizer.nextDouble();
+                outputPlaneWithError = new Plane(outputPlane.getA() + errorA,
+                        outputPlane.getB() + errorB,
+                        outputPlane.getC() + errorC,
+                        outputPlane.getD() + errorD);
+            } else {
+                // inlier line (without error)
+                outputPlaneWithError = outputPlane;
+            }
+
+            inputPlanes.add(inputPlane);
+            outputPlanes.add(outputPlane);
+            outputPlanesWithError.add(outputPlaneWithError);
+        }
+
+        for (final var type : HypothesisPreVerifierType.values()) {
+            final var estimator = new RANSACPlaneCorrespondenceProjectiveTransformation3DRobustEstimator(this,
+                    inputPlanes, outputPlanesWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var transformation2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by transforming input lines
+            // using estimated transformation (transformation2) and checking
+            // that output lines are equal to the original output lines without
+            // error
+            for (var i = 0; i < nPlanes; i++) {
+                final var plane1 = outputPlanes.get(i);
+                final var plane2 = transformation2.transformAndReturnNew(inputPlanes.get(i));
+                plane1.normalize();
+                plane2.normalize();
+                assertEquals(0.0,
+                        PlaneCorrespondenceProjectiveTransformation3DRobustEstimator.getResidual(plane1, plane2),
+                        ABSOLUTE_ERROR);
+                assertTrue(plane1.equals(plane2, ABSOLUTE_ERROR));
+            }
+        }
+    }
+
     @Test
     void testEstimateWithRefinement() throws LockedException, NotReadyException, RobustEstimatorException,
             AlgebraException {
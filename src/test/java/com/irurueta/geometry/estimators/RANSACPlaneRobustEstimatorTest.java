@@ -400,6 +400,121 @@ class RANSACPlaneRobustEstimatorTest implements PlaneRobustEstimatorListener {
         assertTrue(numValid > 0);
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException {
+
+        final var randomizer = new UniformRandomizer();
+
+        var numValid = 0;
+        for (var t = 0; t < TIMES; t++) {
+            final var a = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var b = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var c = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var d = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var plane = new Plane(a, b, c, d);
+
+            // compute random points passing through the line
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            final var points = new ArrayList<Point3D>();
+            final var pointsWithError = new ArrayList<Point3D>();
+            for (var i = 0; i < nPoints; i++) {
+                // get a random point belonging to the plane
+                // (a*x + b*y + c*z + d*w = 0)
+                // y = -(a*x + c*z + d*w)/b or x = -(b*y + c*z + d*w)/a
+                final double homX;
+                final double homY;
+                final var homW = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                final var homZ = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                if (Math.abs(b) > ABSOLUTE_ERROR) {
+                    homX = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                    homY = -(a * homX + c * homZ + d * homW) / b;
+                } else {
+                    homY = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                    homX = -(b * homY + c * homZ + d * homW) / a;
+                }
+                final var point = new HomogeneousPoint3D(homX, homY, homZ, homW);
+
+                Point3D pointWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    final var errorX = errorRandomizer.nextDouble();
+                    final var errorY = errorRandomizer.nextDouble();
+                    final var errorZ = errorRandomizer.nextDouble();
+                    pointWithError = new HomogeneousPoint3D(
+                            point.getHomX() + errorX * point.getHomW(),
+                            point.getHomY() + errorY * point.getHomW(),
+                            point.getHomZ() + errorZ * point.getHomW(),
+                            point.getHomW());
+                } else {
+                    // inlier point
+                    pointWithError = point;
+                }
+
+                points.add(point);
+                pointsWithError.add(pointWithError);
+
+                // check that point without error is locus of line
+                assertTrue(plane.isLocus(point, ABSOLUTE_ERROR));
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACPlaneRobustEstimator(this, pointsWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var plane2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by checking that all points without
+            // error have estimated line as locus
+            var isValid = true;
+            for (final var p : points) {
+                if (!plane2.isLocus(p, ABSOLUTE_ERROR)) {
+                    isValid = false;
+                    break;
+                }
+                assertTrue(plane2.isLocus(p, ABSOLUTE_ERROR));
+            }
+
+            if (!isValid) {
+                continue;
+            }
+
+            // check that both lines are equal
+            plane.normalize();
+            plane2.normalize();
+            assertTrue(plane.equals(plane2, ABSOLUTE_ERROR));
+
+            numValid++;
+            break;
+        }
+
+        assertTrue(numValid > 0);
+    }
+
     @Override
     public void onEstimateStart(final PlaneRobustEstimator estimator) {
         estimateStart++;
@@ -470,6 +470,92 @@ class RANSACPoint2DRobustEstimatorTest implements Point2DRobustEstimatorListener
         assertEquals(0.0, point.distanceTo(point2), ABSOLUTE_ERROR);
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException {
+
+        final var randomizer = new UniformRandomizer();
+
+        final var point = new HomogeneousPoint2D(
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                1.0);
+
+        // compute random lines passing through the point
+        final var nLines = randomizer.nextInt(MIN_LINES, MAX_LINES);
+        final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+        final var lines = new ArrayList<Line2D>();
+        final var linesWithError = new ArrayList<Line2D>();
+        for (var i = 0; i < nLines; i++) {
+            // get another point (far enough to compute a line)
+            Point2D anotherPoint;
+            do {
+                anotherPoint = new HomogeneousPoint2D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE), 1.0);
+            } while (anotherPoint.distanceTo(point) < STD_ERROR);
+
+            final var line = new Line2D(point, anotherPoint);
+
+            Line2D lineWithError;
+            if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                // line is outlier
+                final var errorA = errorRandomizer.nextDouble();
+                final var errorB = errorRandomizer.nextDouble();
+                final var errorC = errorRandomizer.nextDouble();
+                lineWithError = new Line2D(line.getA() + errorA, line.getB() + errorB, line.getC() + errorC);
+            } else {
+                // inlier line
+                lineWithError = line;
+            }
+
+            lines.add(line);
+            linesWithError.add(lineWithError);
+
+            // check that point is locus of line without error
+            assertTrue(line.isLocus(point, ABSOLUTE_ERROR));
+        }
+
+        for (final var type : HypothesisPreVerifierType.values()) {
+            final var estimator = new RANSACPoint2DRobustEstimator(this, linesWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var point2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by checking that all lines without
+            // error have estimated point as locus
+            for (final var l : lines) {
+                assertTrue(l.isLocus(point2, ABSOLUTE_ERROR));
+            }
+
+            // check that both points are equal
+            assertEquals(0.0, point.distanceTo(point2), ABSOLUTE_ERROR);
+        }
+    }
+
     @Test
     void testEstimateWithInhomogeneousRefinement() throws LockedException, NotReadyException, RobustEstimatorException {
 
@@ -481,6 +481,107 @@ class RANSACPoint3DRobustEstimatorTest implements Point3DRobustEstimatorListener
         }
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException,
+            ColinearPointsException {
+
+        final var randomizer = new UniformRandomizer();
+
+        for (var t = 0; t < TIMES; t++) {
+            final var point = new HomogeneousPoint3D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    1.0);
+
+            // compute random lines passing through the point
+            final var nPlanes = randomizer.nextInt(MIN_LINES, MAX_LINES);
+            final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+            final var planes = new ArrayList<Plane>();
+            final var planesWithError = new ArrayList<Plane>();
+            for (var i = 0; i < nPlanes; i++) {
+                // get two more points(far enough to compute a plane)
+                Point3D point2;
+                Point3D point3;
+                do {
+                    point2 = new HomogeneousPoint3D(
+                            randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                            randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                            randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE), 1.0);
+                } while (point2.distanceTo(point) < STD_ERROR);
+                do {
+                    point3 = new HomogeneousPoint3D(
+                            randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                            randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                            randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE), 1.0);
+                } while (point3.distanceTo(point) < STD_ERROR || point3.distanceTo(point2) < STD_ERROR);
+
+                final var plane = new Plane(point, point2, point3);
+
+                Plane planeWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // line is outlier
+                    final var errorA = errorRandomizer.nextDouble();
+                    final var errorB = errorRandomizer.nextDouble();
+                    final var errorC = errorRandomizer.nextDouble();
+                    final var errorD = errorRandomizer.nextDouble();
+                    planeWithError = new Plane(plane.getA() + errorA, plane.getB() + errorB,
+                            plane.getC() + errorC, plane.getD() + errorD);
+                } else {
+                    // inlier line
+                    planeWithError = plane;
+                }
+
+                planes.add(plane);
+                planesWithError.add(planeWithError);
+
+                // check that point is locus of plane without error
+                assertTrue(plane.isLocus(point, ABSOLUTE_ERROR));
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACPoint3DRobustEstimator(this, planesWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var point2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by checking that all planes
+            // without error have estimated point as locus
+            for (final var p : planes) {
+                assertTrue(p.isLocus(point2, ABSOLUTE_ERROR));
+            }
+
+            // check that both points are equal
+            assertEquals(0.0, point.distanceTo(point2), ABSOLUTE_ERROR);
+        }
+    }
+
     @Test
     void testEstimateWithInhomogeneousRefinement() throws LockedException, NotReadyException, RobustEstimatorException,
             ColinearPointsException {
@@ -378,6 +378,101 @@ class RANSACQuadricRobustEstimatorTest implements QuadricRobustEstimatorListener
         }
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, RobustEstimatorException {
+
+        final var randomizer = new UniformRandomizer();
+
+        // instantiate a random circle
+        final var center = new HomogeneousPoint3D(
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE), 1.0);
+        final var radius = Math.abs(randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+
+        final var sphere = new Sphere(center, radius);
+        final var quadric = sphere.toQuadric();
+
+        // compute points in the quadric (i.e. sphere) locus
+        final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var halfPoints = (int) Math.ceil((double) nPoints / 2.0);
+        final var theta = (double) halfPoints / 360.0 * Math.PI / 180.0;
+        final var errorRandomizer = new GaussianRandomizer(0.0, STD_ERROR);
+        final var points = new ArrayList<Point3D>();
+        final var pointsWithError = new ArrayList<Point3D>();
+        for (var i = 0; i < nPoints; i++) {
+            var angle1 = 0.0;
+            var angle2 = 0.0;
+            if (i < halfPoints) {
+                angle1 = theta * (double) i;
+            } else {
+                angle2 = theta * (double) (i - halfPoints);
+            }
+            final var point = new HomogeneousPoint3D(
+                    center.getInhomX() + radius * Math.cos(angle1) * Math.cos(angle2),
+                    center.getInhomY() + radius * Math.sin(angle1) * Math.cos(angle2),
+                    center.getInhomZ() + radius * Math.sin(angle2),
+                    1.0);
+
+            Point3D pointWithError;
+            if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                // point is outlier
+                final var errorX = errorRandomizer.nextDouble();
+                final var errorY = errorRandomizer.nextDouble();
+                final var errorZ = errorRandomizer.nextDouble();
+                pointWithError = new HomogeneousPoint3D(
+                        point.getInhomX() + errorX,
+                        point.getInhomY() + errorY,
+                        point.getInhomZ() + errorZ, 1.0);
+            } else {
+                // inlier point
+                pointWithError = point;
+            }
+
+            points.add(point);
+            pointsWithError.add(pointWithError);
+
+            // check that point without error is within conic locus
+            assertTrue(sphere.isLocus(point, ABSOLUTE_ERROR));
+            assertTrue(quadric.isLocus(point, ABSOLUTE_ERROR));
+        }
+
+        for (final var type : HypothesisPreVerifierType.values()) {
+            final var estimator = new RANSACQuadricRobustEstimator(this, pointsWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setThreshold(THRESHOLD);
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+
+            final var quadric2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            reset();
+
+            // check correctness of estimation by checking that all points
+            // are within the estimated quadric locus
+            for (final var p : points) {
+                assertTrue(quadric2.isLocus(p, ABSOLUTE_ERROR));
+            }
+        }
+    }
+
     @Override
     public void onEstimateStart(final QuadricRobustEstimator estimator) {
         estimateStart++;
@@ -1088,6 +1088,199 @@ class RANSACUPnPPointCorrespondencePinholeCameraRobustEstimatorTest
         assertTrue(numValidProjections > 0);
     }
 
+    @Test
+    void testEstimateWithPreVerifier() throws LockedException, NotReadyException, CameraException,
+            NotAvailableException {
+        var numValidCameras = 0;
+        var numValidProjections = 0;
+        for (var t = 0; t < TIMES; t++) {
+            final var randomizer = new UniformRandomizer();
+
+            // intrinsic parameters
+            final var focalLength = randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH);
+            final var skewness = randomizer.nextDouble(MIN_SKEWNESS, MAX_SKEWNESS);
+            final var horizontalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+            final var verticalPrincipalPoint = randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT);
+
+            final var intrinsic = new PinholeCameraIntrinsicParameters(focalLength, focalLength,
+                    horizontalPrincipalPoint, verticalPrincipalPoint, skewness);
+
+            // create rotation parameters
+            final var roll = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var pitch = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var yaw = Math.toRadians(randomizer.nextDouble(MIN_ANGLE_DEGREES, MAX_ANGLE_DEGREES));
+            final var rotation = new Quaternion(roll, pitch, yaw);
+            rotation.normalize();
+
+            // create camera center
+            final var cameraCenterArray = new double[3];
+            randomizer.fill(cameraCenterArray, MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var cameraCenter = new InhomogeneousPoint3D(cameraCenterArray);
+
+            // instantiate camera
+            final var camera = new PinholeCamera(intrinsic, rotation, cameraCenter);
+
+            // normalize the camera to improve accuracy
+            camera.normalize();
+
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var points3D = new ArrayList<Point3D>(nPoints);
+            for (var i = 0; i < nPoints; i++) {
+                final var point3D = new InhomogeneousPoint3D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                points3D.add(point3D);
+            }
+
+            final var points2D = camera.project(points3D);
+
+            // create outliers
+            final var points2DWithError = new ArrayList<Point2D>();
+            final var errorRandomizer = new GaussianRandomizer(0.0, OUTLIER_STD_ERROR);
+            for (final var point2D : points2D) {
+                Point2D point2DWithError;
+                if (randomizer.nextInt(0, 100) < PERCENTAGE_OUTLIER) {
+                    // point is outlier
+                    final var errorX = errorRandomizer.nextDouble();
+                    final var errorY = errorRandomizer.nextDouble();
+                    final var errorW = errorRandomizer.nextDouble();
+                    point2DWithError = new HomogeneousPoint2D(
+                            point2D.getHomX() + errorX,
+                            point2D.getHomY() + errorY,
+                            point2D.getHomW() + errorW);
+                } else {
+                    // inlier point (without error)
+                    point2DWithError = point2D;
+                }
+
+                points2DWithError.add(point2DWithError);
+            }
+
+            // alternate T(d,d) and SPRT pre-verification on each attempt
+            final var type = HypothesisPreVerifierType.values()[t % HypothesisPreVerifierType.values().length];
+
+            final var estimator = new RANSACUPnPPointCorrespondencePinholeCameraRobustEstimator(this, points3D,
+                    points2DWithError);
+
+            // pre-verify hypotheses so that most bad ones are rejected before
+            // computing all their residuals
+            final var preVerifier = HypothesisPreVerifier.create(type);
+            estimator.setPreVerifier(preVerifier);
+            assertSame(preVerifier, estimator.getPreVerifier());
+
+            estimator.setSkewness(skewness);
+            estimator.setHorizontalPrincipalPoint(horizontalPrincipalPoint);
+            estimator.setVerticalPrincipalPoint(verticalPrincipalPoint);
+
+            estimator.setThreshold(THRESHOLD);
+            estimator.setResultRefined(false);
+            estimator.setCovarianceKept(false);
+
+            reset();
+
+            assertEquals(0, estimateStart);
+            assertEquals(0, estimateEnd);
+            assertEquals(0, estimateNextIteration);
+            assertEquals(0, estimateProgressChange);
+            assertTrue(estimator.isReady());
+            assertFalse(estimator.isLocked());
+            assertTrue(estimator.isReady());
+            assertNull(estimator.getCovariance());
+
+            reset();
+
+            final PinholeCamera camera2;
+            try {
+                camera2 = estimator.estimate();
+            assertTrue(preVerifier.getTestedHypotheses() > 0);
+            assertEquals(type, preVerifier.getType());
+            } catch (final RobustEstimatorException e) {
+                continue;
+            }
+
+            assertEquals(1, estimateStart);
+            assertEquals(1, estimateEnd);
+            assertTrue(estimateNextIteration > 0);
+            assertTrue(estimateProgressChange >= 0);
+            assertNull(estimator.getCovariance());
+            reset();
+
+            // check correctness of estimation
+
+            // decompose estimated camera and check its parameters
+            camera2.decompose();
+
+            // Comparing camera intrinsic parameters
+            final var estimatedIntrinsic = camera2.getIntrinsicParameters();
+
+            assertEquals(focalLength, estimatedIntrinsic.getHorizontalFocalLength(), VERY_LARGE_ABSOLUTE_ERROR);
+            assertEquals(focalLength, estimatedIntrinsic.getVerticalFocalLength(), VERY_LARGE_ABSOLUTE_ERROR);
+            assertEquals(horizontalPrincipalPoint, estimatedIntrinsic.getHorizontalPrincipalPoint(), ABSOLUTE_ERROR);
+            assertEquals(verticalPrincipalPoint, estimatedIntrinsic.getVerticalPrincipalPoint(), ABSOLUTE_ERROR);
+            assertEquals(skewness, estimatedIntrinsic.getSkewness(), ABSOLUTE_ERROR);
+
+            // comparing estimated camera center
+            final var estimatedCameraCenter = camera2.getCameraCenter();
+            if (!cameraCenter.equals(estimatedCameraCenter, VERY_LARGE_ABSOLUTE_ERROR)) {
+                continue;
+            }
+            assertTrue(cameraCenter.equals(estimatedCameraCenter, VERY_LARGE_ABSOLUTE_ERROR));
+
+            // comparing estimated rotation
+            final var estimatedRotation = camera2.getCameraRotation().toQuaternion();
+            estimatedRotation.normalize();
+
+            final var rotMatrix = rotation.asInhomogeneousMatrix();
+            final var estimatedRotMatrix = estimatedRotation.asInhomogeneousMatrix();
+
+            if (Math.abs(rotation.getA() - estimatedRotation.getA()) > LARGE_ABSOLUTE_ERROR) {
+                continue;
+            }
+            assertEquals(rotation.getA(), estimatedRotation.getA(), LARGE_ABSOLUTE_ERROR);
+            if (Math.abs(rotation.getB() - estimatedRotation.getB()) > LARGE_ABSOLUTE_ERROR) {
+                continue;
+            }
+            assertEquals(rotation.getB(), estimatedRotation.getB(), LARGE_ABSOLUTE_ERROR);
+            if (Math.abs(rotation.getC() - estimatedRotation.getC()) > LARGE_ABSOLUTE_ERROR) {
+                continue;
+            }
+            assertEquals(rotation.getC(), estimatedRotation.getC(), LARGE_ABSOLUTE_ERROR);
+            if (Math.abs(rotation.getD() - estimatedRotation.getD()) > LARGE_ABSOLUTE_ERROR) {
+                continue;
+            }
+            assertEquals(rotation.getD(), estimatedRotation.getD(), LARGE_ABSOLUTE_ERROR);
+
+            if (!rotMatrix.equals(estimatedRotMatrix, LARGE_ABSOLUTE_ERROR)) {
+                continue;
+            }
+            assertTrue(rotMatrix.equals(estimatedRotMatrix, LARGE_ABSOLUTE_ERROR));
+
+            numValidCameras++;
+
+            // project original 3D points using estimated camera and check
+            // distance to 2D points without error
+            for (var i = 0; i < nPoints; i++) {
+                final var point3D = points3D.get(i);
+                final var originalPoint2D = points2D.get(i);
+                final var estimatedPoint2D = camera2.project(point3D);
+
+                if (originalPoint2D.distanceTo(estimatedPoint2D) > VERY_LARGE_ABSOLUTE_ERROR) {
+                    continue;
+                }
+                assertEquals(0.0, originalPoint2D.distanceTo(estimatedPoint2D), VERY_LARGE_ABSOLUTE_ERROR);
+                numValidProjections++;
+            }
+
+            if (numValidCameras > 0 && numValidProjections > 0) {
+                break;
+            }
+        }
+
+        assertTrue(numValidCameras > 0);
+        assertTrue(numValidProjections > 0);
+    }
+
     @Test
     void testEstimateGeneralNoSuggestionWithRefinement() throws LockedException, NotReadyException, CameraException,
             NotAvailableException {
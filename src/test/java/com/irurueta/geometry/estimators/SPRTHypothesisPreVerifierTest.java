@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SPRTHypothesisPreVerifierTest {
+
+    private static final int TOTAL_SAMPLES = 1000;
+
+    private static final double THRESHOLD = 1.0;
+
+    private static final long SEED = 12345L;
+
+    @Test
+    void testConstants() {
+        assertEquals(0.1, SPRTHypothesisPreVerifier.DEFAULT_EPSILON, 0.0);
+        assertEquals(0.05, SPRTHypothesisPreVerifier.DEFAULT_DELTA, 0.0);
+        assertEquals(200.0, SPRTHypothesisPreVerifier.DEFAULT_HYPOTHESIS_COST, 0.0);
+        assertEquals(1.0, SPRTHypothesisPreVerifier.DEFAULT_HYPOTHESES_PER_SUBSET, 0.0);
+        assertEquals(100, SPRTHypothesisPreVerifier.DEFAULT_MAX_TESTED_SAMPLES);
+        assertEquals(1, SPRTHypothesisPreVerifier.MIN_MAX_TESTED_SAMPLES);
+    }
+
+    @Test
+    void testConstructor() {
+        var verifier = new SPRTHypothesisPreVerifier();
+
+        // check default values
+        assertEquals(SPRTHypothesisPreVerifier.DEFAULT_EPSILON, verifier.getInitialEpsilon(), 0.0);
+        assertEquals(SPRTHypothesisPreVerifier.DEFAULT_DELTA, verifier.getInitialDelta(), 0.0);
+        assertEquals(SPRTHypothesisPreVerifier.DEFAULT_EPSILON, verifier.getEpsilon(), 0.0);
+        assertEquals(SPRTHypothesisPreVerifier.DEFAULT_DELTA, verifier.getDelta(), 0.0);
+        assertEquals(SPRTHypothesisPreVerifier.DEFAULT_HYPOTHESIS_COST, verifier.getHypothesisCost(), 0.0);
+        assertEquals(SPRTHypothesisPreVerifier.DEFAULT_HYPOTHESES_PER_SUBSET, verifier.getHypothesesPerSubset(),
+                0.0);
+        assertTrue(verifier.getDecisionThreshold() > 1.0);
+        assertEquals(HypothesisPreVerifierType.SPRT_PRE_VERIFIER, verifier.getType());
+
+        verifier = new SPRTHypothesisPreVerifier(SEED);
+        assertEquals(SPRTHypothesisPreVerifier.DEFAULT_EPSILON, verifier.getEpsilon(), 0.0);
+
+        verifier = new SPRTHypothesisPreVerifier(0.3, 0.01, 100.0, 2.0, SEED);
+        assertEquals(0.3, verifier.getInitialEpsilon(), 0.0);
+        assertEquals(0.01, verifier.getInitialDelta(), 0.0);
+        assertEquals(0.3, verifier.getEpsilon(), 0.0);
+        assertEquals(0.01, verifier.getDelta(), 0.0);
+        assertEquals(100.0, verifier.getHypothesisCost(), 0.0);
+        assertEquals(2.0, verifier.getHypothesesPerSubset(), 0.0);
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class,
+                () -> new SPRTHypothesisPreVerifier(0.3, 0.0, 100.0, 1.0, SEED));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SPRTHypothesisPreVerifier(0.3, 0.3, 100.0, 1.0, SEED));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SPRTHypothesisPreVerifier(1.0, 0.01, 100.0, 1.0, SEED));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SPRTHypothesisPreVerifier(0.3, 0.01, 0.0, 1.0, SEED));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SPRTHypothesisPreVerifier(0.3, 0.01, 100.0, 0.0, SEED));
+    }
+
+    @Test
+    void testDecisionThreshold() {
+        final var verifier = new SPRTHypothesisPreVerifier();
+        verifier.setParameters(0.5, 0.05, 200.0, 1.0);
+
+        // decision threshold is the fixed point of A = K + 1 + log(A)
+        assertFixedPoint(verifier);
+
+        // more expensive hypotheses require more evidence to be rejected
+        final var threshold1 = verifier.getDecisionThreshold();
+        verifier.setParameters(0.5, 0.05, 400.0, 1.0);
+        assertTrue(verifier.getDecisionThreshold() > threshold1);
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> verifier.setParameters(0.05, 0.5, 200.0, 1.0));
+    }
+
+    @Test
+    void testOnHypothesisEvaluated() {
+        final var verifier = new SPRTHypothesisPreVerifier(0.2, 0.05, 200.0, 1.0, SEED);
+        final var initialThreshold = verifier.getDecisionThreshold();
+
+        // best inlier ratio replaces probability of a sample being an inlier
+        verifier.onHypothesisEvaluated(TOTAL_SAMPLES / 2, TOTAL_SAMPLES);
+        assertEquals(0.5, verifier.getEpsilon(), 0.0);
+        assertEquals(0.2, verifier.getInitialEpsilon(), 0.0);
+        assertEquals(0.05, verifier.getDelta(), 0.0);
+        assertNotEquals(initialThreshold, verifier.getDecisionThreshold());
+        assertFixedPoint(verifier);
+
+        // worse hypotheses do not modify the test
+        final var threshold = verifier.getDecisionThreshold();
+        verifier.onHypothesisEvaluated(TOTAL_SAMPLES / 4, TOTAL_SAMPLES);
+        assertEquals(0.5, verifier.getEpsilon(), 0.0);
+        assertEquals(threshold, verifier.getDecisionThreshold(), 0.0);
+
+        // hypotheses without outliers do not modify the test
+        verifier.onHypothesisEvaluated(TOTAL_SAMPLES, TOTAL_SAMPLES);
+        assertEquals(0.5, verifier.getEpsilon(), 0.0);
+        assertEquals(threshold, verifier.getDecisionThreshold(), 0.0);
+
+        // initial values are restored when a new estimation starts
+        verifier.onEstimateStart();
+        assertEquals(0.2, verifier.getEpsilon(), 0.0);
+        assertEquals(initialThreshold, verifier.getDecisionThreshold(), 0.0);
+
+        // inlier ratios not exceeding delta do not modify the test
+        verifier.onHypothesisEvaluated(TOTAL_SAMPLES / 50, TOTAL_SAMPLES);
+        assertEquals(0.2, verifier.getEpsilon(), 0.0);
+        assertEquals(initialThreshold, verifier.getDecisionThreshold(), 0.0);
+    }
+
+    @Test
+    void testDeltaIsEstimatedFromRejectedHypotheses() {
+        final var verifier = new SPRTHypothesisPreVerifier(0.5, 0.05, 200.0, 1.0, SEED);
+        final var initialThreshold = verifier.getDecisionThreshold();
+
+        // only first evaluated sample is consistent with the hypothesis
+        final var tested = new AtomicInteger();
+        assertFalse(verifier.verify(i -> tested.getAndIncrement() == 0 ? 0.0 : 2.0 * THRESHOLD,
+                TOTAL_SAMPLES, THRESHOLD));
+
+        // probability of a sample being consistent with a bad hypothesis is
+        // the ratio of consistent samples of rejected hypotheses
+        assertEquals(1.0 / tested.get(), verifier.getDelta(), 0.0);
+        assertEquals(0.05, verifier.getInitialDelta(), 0.0);
+        assertEquals(0.5, verifier.getEpsilon(), 0.0);
+        assertNotEquals(initialThreshold, verifier.getDecisionThreshold());
+        assertFixedPoint(verifier);
+
+        // initial values are restored when a new estimation starts
+        verifier.onEstimateStart();
+        assertEquals(0.05, verifier.getDelta(), 0.0);
+        assertEquals(initialThreshold, verifier.getDecisionThreshold(), 0.0);
+
+        // rejected hypotheses without consistent samples do not modify the test
+        assertFalse(verifier.verify(i -> 2.0 * THRESHOLD, TOTAL_SAMPLES, THRESHOLD));
+        assertEquals(0.05, verifier.getDelta(), 0.0);
+        assertEquals(initialThreshold, verifier.getDecisionThreshold(), 0.0);
+    }
+
+    @Test
+    void testGetSetMaxTestedSamples() {
+        final var verifier = new SPRTHypothesisPreVerifier(SEED);
+
+        // check default value
+        assertEquals(SPRTHypothesisPreVerifier.DEFAULT_MAX_TESTED_SAMPLES, verifier.getMaxTestedSamples());
+
+        // set new value
+        verifier.setMaxTestedSamples(10);
+
+        // check
+        assertEquals(10, verifier.getMaxTestedSamples());
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> verifier.setMaxTestedSamples(0));
+    }
+
+    @Test
+    void testVerify() {
+        final var verifier = new SPRTHypothesisPreVerifier(SEED);
+
+        // good hypothesis is accepted after evaluating the maximum number of
+        // tested samples, each one only once
+        final var requested = new HashSet<Integer>();
+        assertTrue(verifier.verify(i -> {
+            assertTrue(requested.add(i));
+            return 0.0;
+        }, TOTAL_SAMPLES, THRESHOLD));
+        final var maxTestedSamples = verifier.getMaxTestedSamples();
+        assertEquals(maxTestedSamples, requested.size());
+        assertEquals(1, verifier.getTestedHypotheses());
+        assertEquals(0, verifier.getRejectedHypotheses());
+        assertEquals(maxTestedSamples, verifier.getEvaluatedResiduals());
+        assertEquals(0, verifier.getSavedResiduals());
+
+        // bad hypothesis is rejected after a few samples
+        assertFalse(verifier.verify(i -> 2.0 * THRESHOLD, TOTAL_SAMPLES, THRESHOLD));
+        assertEquals(2, verifier.getTestedHypotheses());
+        assertEquals(1, verifier.getRejectedHypotheses());
+
+        final var evaluated = verifier.getEvaluatedResiduals() - maxTestedSamples;
+        final var expected = (int) Math.floor(Math.log(verifier.getDecisionThreshold())
+                / Math.log((1.0 - verifier.getDelta()) / (1.0 - verifier.getEpsilon()))) + 1;
+        assertEquals(expected, evaluated);
+        assertTrue(evaluated < TOTAL_SAMPLES / 10);
+        assertEquals(TOTAL_SAMPLES - evaluated, verifier.getSavedResiduals());
+        assertTrue(verifier.getSavedResidualsRatio() > 0.0);
+    }
+
+    @Test
+    void testVerifyFewerSamplesThanMaxTested() {
+        final var verifier = new SPRTHypothesisPreVerifier(SEED);
+        final var totalSamples = verifier.getMaxTestedSamples() / 2;
+
+        // all samples are evaluated when there are fewer than the maximum
+        final var requested = new HashSet<Integer>();
+        assertTrue(verifier.verify(i -> {
+            assertTrue(requested.add(i));
+            return 0.0;
+        }, totalSamples, THRESHOLD));
+        assertEquals(totalSamples, requested.size());
+        assertEquals(totalSamples, verifier.getEvaluatedResiduals());
+    }
+
+    private static void assertFixedPoint(final SPRTHypothesisPreVerifier verifier) {
+        final var epsilon = verifier.getEpsilon();
+        final var delta = verifier.getDelta();
+        final var c = (1.0 - delta) * Math.log((1.0 - delta) / (1.0 - epsilon))
+                + delta * Math.log(delta / epsilon);
+        final var k = verifier.getHypothesisCost() * c / verifier.getHypothesesPerSubset();
+        final var a = verifier.getDecisionThreshold();
+        assertEquals(k + 1.0 + Math.log(a), a, 1e-6);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.estimators;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TDDHypothesisPreVerifierTest {
+
+    private static final int TOTAL_SAMPLES = 100;
+
+    private static final double THRESHOLD = 1.0;
+
+    private static final long SEED = 12345L;
+
+    @Test
+    void testConstants() {
+        assertEquals(1, TDDHypothesisPreVerifier.DEFAULT_SAMPLES);
+        assertEquals(1, TDDHypothesisPreVerifier.MIN_SAMPLES);
+    }
+
+    @Test
+    void testConstructor() {
+        var verifier = new TDDHypothesisPreVerifier();
+
+        // check default values
+        assertEquals(TDDHypothesisPreVerifier.DEFAULT_SAMPLES, verifier.getSamples());
+        assertEquals(HypothesisPreVerifierType.TDD_PRE_VERIFIER, verifier.getType());
+        assertEquals(0, verifier.getTestedHypotheses());
+        assertEquals(0, verifier.getRejectedHypotheses());
+        assertEquals(0, verifier.getEvaluatedResiduals());
+        assertEquals(0, verifier.getSavedResiduals());
+        assertEquals(0.0, verifier.getSavedResidualsRatio(), 0.0);
+
+        verifier = new TDDHypothesisPreVerifier(SEED);
+        assertEquals(TDDHypothesisPreVerifier.DEFAULT_SAMPLES, verifier.getSamples());
+
+        verifier = new TDDHypothesisPreVerifier(3, SEED);
+        assertEquals(3, verifier.getSamples());
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> new TDDHypothesisPreVerifier(0, SEED));
+    }
+
+    @Test
+    void testGetSetSamples() {
+        final var verifier = new TDDHypothesisPreVerifier();
+
+        // set new value
+        verifier.setSamples(2);
+
+        // check
+        assertEquals(2, verifier.getSamples());
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> verifier.setSamples(0));
+    }
+
+    @Test
+    void testVerify() {
+        final var verifier = new TDDHypothesisPreVerifier(3, SEED);
+
+        // all samples are inliers
+        final var requested = new HashSet<Integer>();
+        assertTrue(verifier.verify(i -> {
+            assertTrue(requested.add(i));
+            return 0.0;
+        }, TOTAL_SAMPLES, THRESHOLD));
+        assertEquals(3, requested.size());
+        assertEquals(1, verifier.getTestedHypotheses());
+        assertEquals(0, verifier.getRejectedHypotheses());
+        assertEquals(3, verifier.getEvaluatedResiduals());
+        assertEquals(0, verifier.getSavedResiduals());
+
+        // all samples are outliers, hence hypothesis is rejected on first sample
+        assertFalse(verifier.verify(i -> 2.0 * THRESHOLD, TOTAL_SAMPLES, THRESHOLD));
+        assertEquals(2, verifier.getTestedHypotheses());
+        assertEquals(1, verifier.getRejectedHypotheses());
+        assertEquals(4, verifier.getEvaluatedResiduals());
+        assertEquals(TOTAL_SAMPLES - 1, verifier.getSavedResiduals());
+        assertEquals((double) (TOTAL_SAMPLES - 1) / (double) (TOTAL_SAMPLES + 3),
+                verifier.getSavedResidualsRatio(), 0.0);
+
+        // reset statistics
+        verifier.resetStatistics();
+        assertEquals(0, verifier.getTestedHypotheses());
+        assertEquals(0, verifier.getRejectedHypotheses());
+        assertEquals(0, verifier.getEvaluatedResiduals());
+        assertEquals(0, verifier.getSavedResiduals());
+
+        // no more samples than available are requested
+        assertTrue(verifier.verify(i -> 0.0, 2, THRESHOLD));
+        assertEquals(2, verifier.getEvaluatedResiduals());
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify(i -> 0.0, 0, THRESHOLD));
+    }
+
+    @Test
+    void testVerifyIsRepeatableWithSeed() {
+        final var verifier1 = new TDDHypothesisPreVerifier(5, SEED);
+        final var verifier2 = new TDDHypothesisPreVerifier(5, SEED);
+
+        for (var t = 0; t < 10; t++) {
+            final var samples1 = new int[5];
+            final var samples2 = new int[5];
+            final var count1 = new int[1];
+            final var count2 = new int[1];
+            verifier1.verify(i -> {
+                samples1[count1[0]++] = i;
+                return 0.0;
+            }, TOTAL_SAMPLES, THRESHOLD);
+            verifier2.verify(i -> {
+                samples2[count2[0]++] = i;
+                return 0.0;
+            }, TOTAL_SAMPLES, THRESHOLD);
+
+            assertArrayEquals(samples1, samples2);
+        }
+    }
+}
@@ -1260,6 +1260,11 @@ class DecomposedLinePlaneCorrespondencePinholeCameraRefinerTest implements Refin
         assertTrue(refiner.isLocked());
         assertThrows(LockedException.class, () -> refiner.setInitialEstimation(null));
         assertThrows(LockedException.class, () -> refiner.setCovarianceKept(true));
+        assertThrows(LockedException.class, () -> refiner.setRefinementEngine(
+                RefinementEngine.STREAMING_LEVENBERG_MARQUARDT));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER, 1.0));
+        assertThrows(LockedException.class, () -> refiner.setMaxRobustIterations(1));
         assertThrows(LockedException.class, () -> refiner.refine(null));
         assertThrows(LockedException.class, refiner::refine);
         assertThrows(LockedException.class, () -> refiner.setInliers(null));
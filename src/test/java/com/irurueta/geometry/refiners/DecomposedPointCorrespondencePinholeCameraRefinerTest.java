@@ -15,16 +15,20 @@
  */
 package com.irurueta.geometry.refiners;
 
+import com.irurueta.algebra.Matrix;
 import com.irurueta.geometry.*;
 import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.geometry.estimators.RANSACDLTPointCorrespondencePinholeCameraRobustEstimator;
+import com.irurueta.numerical.NumericalException;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.RobustEstimatorException;
 import com.irurueta.statistics.GaussianRandomizer;
 import com.irurueta.statistics.UniformRandomizer;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -645,6 +649,67 @@ class DecomposedPointCorrespondencePinholeCameraRefinerTest implements RefinerLi
         assertTrue(refiner.isCovarianceKept());
     }
 
+    @Test
+    void testIsSetNumericalDerivativesUsed() throws LockedException {
+        final var refiner = new DecomposedPointCorrespondencePinholeCameraRefiner();
+
+        // check default value
+        assertEquals(Refiner.DEFAULT_USE_NUMERICAL_DERIVATIVES, refiner.isNumericalDerivativesUsed());
+        assertFalse(refiner.isNumericalDerivativesUsed());
+
+        // set new value
+        refiner.setNumericalDerivativesUsed(true);
+
+        // check correctness
+        assertTrue(refiner.isNumericalDerivativesUsed());
+    }
+
+    @Test
+    void testClosedFormDerivatives() throws LockedException, NotReadyException, RobustEstimatorException,
+            RefinerException {
+        final var estimator = createRobustEstimator();
+
+        final var camera = estimator.estimate();
+        final var inliersData = estimator.getInliersData();
+        final var refineStandardDeviation = estimator.getThreshold();
+        final var samples1 = estimator.getPoints3D();
+        final var samples2 = estimator.getPoints2D();
+
+        final var checked = new AtomicBoolean();
+        final var refiner = new DecomposedPointCorrespondencePinholeCameraRefiner(camera, true,
+                inliersData, samples1, samples2, refineStandardDeviation) {
+            @Override
+            protected double[] fit(final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator,
+                                   final Matrix x, final double[] y, final double standardDeviation)
+                    throws NumericalException {
+                // compare closed-form derivatives against numerical ones at random parameters
+                DerivativesChecker.check(this, evaluator, x);
+                checked.set(true);
+                return super.fit(evaluator, x, y, standardDeviation);
+            }
+        };
+
+        // enable all suggestions, so that derivatives of suggestion terms are checked as well
+        refiner.setSuggestSkewnessValueEnabled(true);
+        refiner.setSuggestedSkewnessValue(skewness);
+        refiner.setSuggestHorizontalFocalLengthEnabled(true);
+        refiner.setSuggestedHorizontalFocalLengthValue(horizontalFocalLength);
+        refiner.setSuggestVerticalFocalLengthEnabled(true);
+        refiner.setSuggestedVerticalFocalLengthValue(verticalFocalLength);
+        refiner.setSuggestAspectRatioEnabled(true);
+        refiner.setSuggestedAspectRatioValue(aspectRatio);
+        refiner.setSuggestPrincipalPointEnabled(true);
+        refiner.setSuggestedPrincipalPointValue(principalPoint);
+        refiner.setSuggestRotationEnabled(true);
+        refiner.setSuggestedRotationValue(rotation);
+        refiner.setSuggestCenterEnabled(true);
+        refiner.setSuggestedCenterValue(cameraCenter);
+
+        refiner.refine(new PinholeCamera());
+
+        assertTrue(checked.get());
+    }
+
     @Test
     void testRefineNoSuggestions() throws LockedException, NotReadyException, RobustEstimatorException,
             RefinerException {
@@ -1244,6 +1309,12 @@ class DecomposedPointCorrespondencePinholeCameraRefinerTest implements RefinerLi
         assertTrue(refiner.isLocked());
         assertThrows(LockedException.class, () -> refiner.setInitialEstimation(null));
         assertThrows(LockedException.class, () -> refiner.setCovarianceKept(true));
+        assertThrows(LockedException.class, () -> refiner.setRefinementEngine(
+                RefinementEngine.STREAMING_LEVENBERG_MARQUARDT));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER, 1.0));
+        assertThrows(LockedException.class, () -> refiner.setMaxRobustIterations(1));
+        assertThrows(LockedException.class, () -> refiner.setNumericalDerivativesUsed(true));
         assertThrows(LockedException.class, () -> refiner.refine(null));
         assertThrows(LockedException.class, refiner::refine);
         assertThrows(LockedException.class, () -> refiner.setInliers(null));
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+import com.irurueta.algebra.Matrix;
+import com.irurueta.algebra.Utils;
+import com.irurueta.algebra.WrongSizeException;
+import com.irurueta.numerical.EvaluationException;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiVariateFunctionEvaluator;
+import com.irurueta.statistics.UniformRandomizer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that closed-form derivatives computed by the evaluator of a refiner
+ * match the ones estimated numerically by such evaluator when numerical
+ * derivatives are enabled.
+ */
+final class DerivativesChecker {
+
+    private static final double RELATIVE_PERTURBATION = 0.1;
+    private static final double RESIDUAL_RELATIVE_ERROR = 1e-9;
+    private static final double DERIVATIVE_RELATIVE_ERROR = 1e-3;
+
+    private static final int TIMES = 10;
+
+    private DerivativesChecker() {
+    }
+
+    /**
+     * Evaluates all samples at random parameters around initial ones both with
+     * closed-form and numerical derivatives and checks that they match.
+     *
+     * @param refiner   refiner owning the evaluator.
+     * @param evaluator evaluator provided by the refiner to be fitted.
+     * @param x         input points of samples.
+     * @throws EvaluationException if evaluation fails.
+     */
+    static void check(final Refiner<?> refiner, final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator,
+                      final Matrix x) throws EvaluationException {
+        final var randomizer = new UniformRandomizer();
+        final var initParams = evaluator.createInitialParametersArray().clone();
+        final var params = new double[initParams.length];
+        final var point = new double[x.getColumns()];
+        final var closedForm = new double[params.length];
+        final var numerical = new double[params.length];
+
+        final var useNumericalDerivatives = refiner.useNumericalDerivatives;
+        try {
+            for (var t = 0; t < TIMES; t++) {
+                for (var j = 0; j < params.length; j++) {
+                    params[j] = initParams[j] + RELATIVE_PERTURBATION * randomizer.nextDouble(-1.0, 1.0)
+                            * Math.max(Math.abs(initParams[j]), 1.0);
+                }
+
+                for (var i = 0; i < x.getRows(); i++) {
+                    for (var j = 0; j < point.length; j++) {
+                        point[j] = x.getElementAt(i, j);
+                    }
+
+                    refiner.useNumericalDerivatives = false;
+                    final var closedFormResidual = evaluator.evaluate(i, point, params, closedForm);
+                    refiner.useNumericalDerivatives = true;
+                    final var numericalResidual = evaluator.evaluate(i, point, params, numerical);
+
+                    assertEquals(numericalResidual, closedFormResidual,
+                            RESIDUAL_RELATIVE_ERROR * Math.max(Math.abs(numericalResidual), 1.0));
+
+                    var norm = 0.0;
+                    for (final var value : numerical) {
+                        norm += value * value;
+                    }
+                    final var tolerance = DERIVATIVE_RELATIVE_ERROR * Math.max(Math.sqrt(norm), 1.0);
+                    for (var j = 0; j < params.length; j++) {
+                        assertEquals(numerical[j], closedForm[j], tolerance);
+                    }
+                }
+            }
+        } finally {
+            refiner.useNumericalDerivatives = useNumericalDerivatives;
+        }
+    }
+
+    /**
+     * Evaluates all samples of a function returning several values for each
+     * sample at random parameters around initial ones both with closed-form
+     * and numerical jacobians and checks that they match.
+     *
+     * @param refiner   refiner owning the evaluator.
+     * @param evaluator evaluator provided by the refiner to be fitted.
+     * @param x         input points of samples.
+     * @throws EvaluationException if evaluation fails.
+     */
+    static void check(final Refiner<?> refiner, final LevenbergMarquardtMultiVariateFunctionEvaluator evaluator,
+                      final Matrix x) throws EvaluationException {
+        final var randomizer = new UniformRandomizer();
+        final var initParams = evaluator.createInitialParametersArray().clone();
+        final var nVars = evaluator.getNumberOfVariables();
+        final var params = new double[initParams.length];
+        final var point = new double[x.getColumns()];
+        final var closedFormResiduals = new double[nVars];
+        final var numericalResiduals = new double[nVars];
+        final Matrix closedForm;
+        final Matrix numerical;
+        try {
+            closedForm = new Matrix(nVars, params.length);
+            numerical = new Matrix(nVars, params.length);
+        } catch (final WrongSizeException e) {
+            throw new EvaluationException(e);
+        }
+
+        final var useNumericalDerivatives = refiner.useNumericalDerivatives;
+        try {
+            for (var t = 0; t < TIMES; t++) {
+                for (var j = 0; j < params.length; j++) {
+                    params[j] = initParams[j] + RELATIVE_PERTURBATION * randomizer.nextDouble(-1.0, 1.0)
+                            * Math.max(Math.abs(initParams[j]), 1.0);
+                }
+
+                for (var i = 0; i < x.getRows(); i++) {
+                    for (var j = 0; j < point.length; j++) {
+                        point[j] = x.getElementAt(i, j);
+                    }
+
+                    refiner.useNumericalDerivatives = false;
+                    evaluator.evaluate(i, point, closedFormResiduals, params, closedForm);
+                    refiner.useNumericalDerivatives = true;
+                    evaluator.evaluate(i, point, numericalResiduals, params, numerical);
+
+                    for (var k = 0; k < nVars; k++) {
+                        assertEquals(numericalResiduals[k], closedFormResiduals[k],
+                                RESIDUAL_RELATIVE_ERROR * Math.max(Math.abs(numericalResiduals[k]), 1.0));
+                    }
+
+                    final var tolerance = DERIVATIVE_RELATIVE_ERROR * Math.max(Utils.normF(numerical), 1.0);
+                    assertTrue(numerical.equals(closedForm, tolerance));
+                }
+            }
+        } finally {
+            refiner.useNumericalDerivatives = useNumericalDerivatives;
+        }
+    }
+}
@@ -395,6 +395,8 @@ class HomogeneousPoint2DRefinerTest implements RefinerListener<HomogeneousPoint2
         assertTrue(refiner.isLocked());
         assertThrows(LockedException.class, () -> refiner.setInitialEstimation(null));
         assertThrows(LockedException.class, () -> refiner.setCovarianceKept(true));
+        assertThrows(LockedException.class, () -> refiner.setRefinementEngine(
+                RefinementEngine.STREAMING_LEVENBERG_MARQUARDT));
         assertThrows(LockedException.class, () -> refiner.refine(null));
         assertThrows(LockedException.class, refiner::refine);
         assertThrows(LockedException.class, () -> refiner.setInliers(null));
@@ -15,16 +15,21 @@
  */
 package com.irurueta.geometry.refiners;
 
+import com.irurueta.algebra.Matrix;
 import com.irurueta.geometry.*;
 import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.geometry.estimators.RANSACMetricTransformation2DRobustEstimator;
+import com.irurueta.numerical.NumericalException;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.RobustEstimatorException;
 import com.irurueta.statistics.GaussianRandomizer;
 import com.irurueta.statistics.UniformRandomizer;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,6 +56,8 @@ class MetricTransformation2DRefinerTest implements RefinerListener<MetricTransfo
 
     private static final int TIMES = 100;
 
+    private static final double PERTURBATION = 1e-3;
+
     private int refineStart;
     private int refineEnd;
 
@@ -299,6 +306,51 @@ class MetricTransformation2DRefinerTest implements RefinerListener<MetricTransfo
         assertTrue(refiner.isCovarianceKept());
     }
 
+    @Test
+    void testIsSetNumericalDerivativesUsed() throws LockedException {
+        final var refiner = new MetricTransformation2DRefiner();
+
+        // check default value
+        assertEquals(Refiner.DEFAULT_USE_NUMERICAL_DERIVATIVES, refiner.isNumericalDerivativesUsed());
+        assertFalse(refiner.isNumericalDerivativesUsed());
+
+        // set new value
+        refiner.setNumericalDerivativesUsed(true);
+
+        // check correctness
+        assertTrue(refiner.isNumericalDerivativesUsed());
+    }
+
+    @Test
+    void testClosedFormDerivatives() throws LockedException, NotReadyException, RobustEstimatorException,
+            RefinerException {
+        final var estimator = createRobustEstimator();
+
+        final var transformation = estimator.estimate();
+        final var inliersData = estimator.getInliersData();
+        final var refineStandardDeviation = estimator.getThreshold();
+        final var samples1 = estimator.getInputPoints();
+        final var samples2 = estimator.getOutputPoints();
+
+        final var checked = new AtomicBoolean();
+        final var refiner = new MetricTransformation2DRefiner(transformation, false,
+                inliersData, samples1, samples2, refineStandardDeviation) {
+            @Override
+            protected double[] fit(final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator,
+                                   final Matrix x, final double[] y, final double standardDeviation)
+                    throws NumericalException {
+                // compare closed-form derivatives against numerical ones at random parameters
+                DerivativesChecker.check(this, evaluator, x);
+                checked.set(true);
+                return super.fit(evaluator, x, y, standardDeviation);
+            }
+        };
+
+        refiner.refine(new MetricTransformation2D());
+
+        assertTrue(checked.get());
+    }
+
     @Test
     void testRefine() throws LockedException, NotReadyException, RobustEstimatorException, RefinerException {
         var numValid = 0;
@@ -339,6 +391,59 @@ class MetricTransformation2DRefinerTest implements RefinerListener<MetricTransfo
         assertTrue(numValid > 0);
     }
 
+    @Test
+    void testRefineStreamingLevenbergMarquardt() throws LockedException, NotReadyException, RefinerException {
+        final var transformation = createTransformation();
+
+        final var randomizer = new UniformRandomizer();
+        final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var inputPoints = new ArrayList<Point2D>();
+        final var outputPoints = new ArrayList<Point2D>();
+        for (var i = 0; i < nPoints; i++) {
+            final var inputPoint = new InhomogeneousPoint2D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+            inputPoints.add(inputPoint);
+            outputPoints.add(transformation.transformAndReturnNew(inputPoint));
+        }
+        final var inliers = new BitSet(nPoints);
+        inliers.set(0, nPoints);
+
+        // perturb scale, rotation and translation to be used as initial estimation
+        final var rotation = new Rotation2D(transformation.getRotation().getTheta()
+                + randomizer.nextDouble(-PERTURBATION, PERTURBATION));
+        final var translation = transformation.getTranslation().clone();
+        for (var i = 0; i < translation.length; i++) {
+            translation[i] *= 1.0 + randomizer.nextDouble(-PERTURBATION, PERTURBATION);
+        }
+        final var scale = transformation.getScale() * (1.0 + randomizer.nextDouble(-PERTURBATION, PERTURBATION));
+        final var initialEstimation = new MetricTransformation2D(rotation, translation, scale);
+
+        for (final var numericalDerivatives : new boolean[]{false, true}) {
+            final var refiner = new MetricTransformation2DRefiner(initialEstimation, true, inliers,
+                    new double[nPoints], nPoints, inputPoints, outputPoints, 1.0);
+            refiner.setRefinementEngine(RefinementEngine.STREAMING_LEVENBERG_MARQUARDT);
+            refiner.setNumericalDerivativesUsed(numericalDerivatives);
+            refiner.setListener(this);
+
+            reset();
+            final var result = new MetricTransformation2D();
+            assertTrue(refiner.refine(result));
+            assertEquals(1, refineStart);
+            assertEquals(1, refineEnd);
+            assertNotNull(refiner.getCovariance());
+
+            var initialError = 0.0;
+            var error = 0.0;
+            for (var i = 0; i < nPoints; i++) {
+                initialError += initialEstimation.transformAndReturnNew(inputPoints.get(i))
+                        .distanceTo(outputPoints.get(i));
+                error += result.transformAndReturnNew(inputPoints.get(i)).distanceTo(outputPoints.get(i));
+            }
+            assertTrue(error < initialError);
+        }
+    }
+
     private static RANSACMetricTransformation2DRobustEstimator createRobustEstimator() throws LockedException {
 
         final var transformation = createTransformation();
@@ -420,6 +525,12 @@ class MetricTransformation2DRefinerTest implements RefinerListener<MetricTransfo
         assertTrue(refiner.isLocked());
         assertThrows(LockedException.class, () -> refiner.setInitialEstimation(null));
         assertThrows(LockedException.class, () -> refiner.setCovarianceKept(true));
+        assertThrows(LockedException.class, () -> refiner.setRefinementEngine(
+                RefinementEngine.STREAMING_LEVENBERG_MARQUARDT));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER, 1.0));
+        assertThrows(LockedException.class, () -> refiner.setMaxRobustIterations(1));
+        assertThrows(LockedException.class, () -> refiner.setNumericalDerivativesUsed(true));
         assertThrows(LockedException.class, () -> refiner.refine(null));
         assertThrows(LockedException.class, refiner::refine);
         assertThrows(LockedException.class, () -> refiner.setInliers(null));
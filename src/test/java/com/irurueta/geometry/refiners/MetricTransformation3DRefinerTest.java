@@ -15,16 +15,23 @@
  */
 package com.irurueta.geometry.refiners;
 
+import com.irurueta.algebra.Matrix;
 import com.irurueta.geometry.*;
 import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.geometry.estimators.RANSACMetricTransformation3DRobustEstimator;
+import com.irurueta.numerical.NumericalException;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiVariateFunctionEvaluator;
 import com.irurueta.numerical.robust.RobustEstimatorException;
 import com.irurueta.statistics.GaussianRandomizer;
 import com.irurueta.statistics.UniformRandomizer;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,6 +58,19 @@ class MetricTransformation3DRefinerTest implements RefinerListener<MetricTransfo
 
     private static final int TIMES = 100;
 
+    private static final double PERTURBATION_DEGREES = 5.0;
+    private static final double PERTURBATION_TRANSLATION = 10.0;
+    private static final double PERTURBATION_SCALE = 0.05;
+    private static final double TANGENT_SPACE_ERROR = 1e-6;
+
+    private static final int OUTLIER_STEP = 5;
+    private static final double MIN_OUTLIER_ERROR = 1.0;
+    private static final double MAX_OUTLIER_ERROR = 2.0;
+    private static final double ROBUST_REFINEMENT_STANDARD_DEVIATION = 0.1;
+    private static final double ROBUST_PERTURBATION_DEGREES = 0.01;
+    private static final double ROBUST_PERTURBATION_TRANSLATION = 0.01;
+    private static final double ROBUST_PERTURBATION_SCALE = 1e-4;
+
     private int refineStart;
     private int refineEnd;
 
@@ -299,6 +319,80 @@ class MetricTransformation3DRefinerTest implements RefinerListener<MetricTransfo
         assertTrue(refiner.isCovarianceKept());
     }
 
+    @Test
+    void testIsSetNumericalDerivativesUsed() throws LockedException {
+        final var refiner = new MetricTransformation3DRefiner();
+
+        // check default value
+        assertEquals(Refiner.DEFAULT_USE_NUMERICAL_DERIVATIVES, refiner.isNumericalDerivativesUsed());
+        assertFalse(refiner.isNumericalDerivativesUsed());
+
+        // set new value
+        refiner.setNumericalDerivativesUsed(true);
+
+        // check correctness
+        assertTrue(refiner.isNumericalDerivativesUsed());
+    }
+
+    @Test
+    void testClosedFormDerivatives() throws LockedException, NotReadyException, RobustEstimatorException,
+            RefinerException {
+        final var estimator = createRobustEstimator();
+
+        final var transformation = estimator.estimate();
+        final var inliersData = estimator.getInliersData();
+        final var refineStandardDeviation = estimator.getThreshold();
+        final var samples1 = estimator.getInputPoints();
+        final var samples2 = estimator.getOutputPoints();
+
+        for (final var rotationParameterization : RotationParameterization.values()) {
+            final var checked = new AtomicBoolean();
+            final var refiner = new MetricTransformation3DRefiner(transformation, false,
+                    inliersData, samples1, samples2, refineStandardDeviation) {
+                @Override
+                protected double[] fit(final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator,
+                                       final Matrix x, final double[] y, final double standardDeviation)
+                        throws NumericalException {
+                    // compare closed-form derivatives against numerical ones at random parameters
+                    DerivativesChecker.check(this, evaluator, x);
+                    checked.set(true);
+                    return super.fit(evaluator, x, y, standardDeviation);
+                }
+
+                @Override
+                protected double[] fit(final LevenbergMarquardtMultiVariateFunctionEvaluator evaluator,
+                                       final Matrix x, final Matrix y, final double standardDeviation)
+                        throws NumericalException {
+                    // compare closed-form jacobians against numerical ones at random parameters
+                    DerivativesChecker.check(this, evaluator, x);
+                    checked.set(true);
+                    return super.fit(evaluator, x, y, standardDeviation);
+                }
+            };
+            refiner.setRotationParameterization(rotationParameterization);
+
+            refiner.refine(new MetricTransformation3D());
+
+            assertTrue(checked.get());
+        }
+    }
+
+    @Test
+    void testGetSetRotationParameterization() throws LockedException {
+        final var refiner = new MetricTransformation3DRefiner();
+
+        // check default value
+        assertEquals(MetricTransformation3DRefiner.DEFAULT_ROTATION_PARAMETERIZATION,
+                refiner.getRotationParameterization());
+        assertEquals(RotationParameterization.QUATERNION, refiner.getRotationParameterization());
+
+        // set new value
+        refiner.setRotationParameterization(RotationParameterization.TANGENT_SPACE);
+
+        // check correctness
+        assertEquals(RotationParameterization.TANGENT_SPACE, refiner.getRotationParameterization());
+    }
+
     @Test
     void testRefine() throws LockedException, NotReadyException, RobustEstimatorException, RefinerException {
         var numValid = 0;
@@ -360,6 +454,153 @@ class MetricTransformation3DRefinerTest implements RefinerListener<MetricTransfo
     }
 
 
+    @Test
+    void testRefineTangentSpace() throws LockedException, NotReadyException, RefinerException {
+        final var randomizer = new UniformRandomizer();
+        for (final var reflected : new boolean[]{false, true}) {
+            final var transformation = createTransformation();
+            if (reflected) {
+                transformation.setScale(-transformation.getScale());
+            }
+
+            final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+            final var inputPoints = new ArrayList<Point3D>();
+            final var outputPoints = new ArrayList<Point3D>();
+            for (var i = 0; i < nPoints; i++) {
+                final var inputPoint = new InhomogeneousPoint3D(
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                        randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+                inputPoints.add(inputPoint);
+                outputPoints.add(transformation.transformAndReturnNew(inputPoint));
+            }
+            final var inliers = new BitSet(nPoints);
+            inliers.set(0, nPoints);
+
+            // perturb scale, rotation and translation to be used as initial estimation
+            final var perturbation = new Quaternion(
+                    Utils.convertToRadians(randomizer.nextDouble(-PERTURBATION_DEGREES, PERTURBATION_DEGREES)),
+                    Utils.convertToRadians(randomizer.nextDouble(-PERTURBATION_DEGREES, PERTURBATION_DEGREES)),
+                    Utils.convertToRadians(randomizer.nextDouble(-PERTURBATION_DEGREES, PERTURBATION_DEGREES)));
+            final var translation = transformation.getTranslation().clone();
+            for (var i = 0; i < translation.length; i++) {
+                translation[i] += randomizer.nextDouble(-PERTURBATION_TRANSLATION, PERTURBATION_TRANSLATION);
+            }
+            final var scale = transformation.getScale() * (1.0 + randomizer.nextDouble(
+                    -PERTURBATION_SCALE, PERTURBATION_SCALE));
+            final var initialRotation = perturbation.multiplyAndReturnNew(
+                    transformation.getRotation().toQuaternion());
+
+            for (final var numericalDerivatives : new boolean[]{false, true}) {
+                final var initialEstimation = new MetricTransformation3D(new Quaternion(initialRotation),
+                        translation.clone(), scale);
+                final var refiner = new MetricTransformation3DRefiner(initialEstimation, true, inliers,
+                        new double[nPoints], nPoints, inputPoints, outputPoints, 1.0);
+                refiner.setRotationParameterization(RotationParameterization.TANGENT_SPACE);
+                refiner.setRefinementEngine(RefinementEngine.STREAMING_LEVENBERG_MARQUARDT);
+                refiner.setNumericalDerivativesUsed(numericalDerivatives);
+                refiner.setListener(this);
+
+                reset();
+                final var result = new MetricTransformation3D();
+                assertTrue(refiner.refine(result));
+                assertEquals(1, refineStart);
+                assertEquals(1, refineEnd);
+
+                // covariance refers to logarithm of scale, rotation vector and translation
+                final var covariance = refiner.getCovariance();
+                assertEquals(7, covariance.getRows());
+                assertEquals(7, covariance.getColumns());
+
+                // noiseless matches are fitted exactly
+                assertEquals(transformation.getScale(), result.getScale(), TANGENT_SPACE_ERROR);
+                for (var i = 0; i < nPoints; i++) {
+                    assertEquals(0.0, result.transformAndReturnNew(inputPoints.get(i)).distanceTo(
+                            outputPoints.get(i)), TANGENT_SPACE_ERROR);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRefineRobustLoss() throws LockedException, NotReadyException, RefinerException {
+        final var transformation = createTransformation();
+
+        final var randomizer = new UniformRandomizer();
+        final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var outliers = new BitSet(nPoints);
+        final var inputPoints = new ArrayList<Point3D>();
+        final var outputPoints = new ArrayList<Point3D>();
+        for (var i = 0; i < nPoints; i++) {
+            final var inputPoint = new InhomogeneousPoint3D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+            inputPoints.add(inputPoint);
+            final var outputPoint = transformation.transformAndReturnNew(inputPoint);
+            if (i % OUTLIER_STEP == 0) {
+                // gross outlier kept as inlier by a loose threshold
+                outputPoint.setInhomogeneousCoordinates(
+                        outputPoint.getInhomX() + randomizer.nextDouble(MIN_OUTLIER_ERROR, MAX_OUTLIER_ERROR),
+                        outputPoint.getInhomY() + randomizer.nextDouble(MIN_OUTLIER_ERROR, MAX_OUTLIER_ERROR),
+                        outputPoint.getInhomZ() + randomizer.nextDouble(MIN_OUTLIER_ERROR, MAX_OUTLIER_ERROR));
+                outliers.set(i);
+            }
+            outputPoints.add(outputPoint);
+        }
+        final var inliers = new BitSet(nPoints);
+        inliers.set(0, nPoints);
+
+        // perturb scale, rotation and translation to be used as initial estimation
+        final var maxAngle = Utils.convertToRadians(ROBUST_PERTURBATION_DEGREES);
+        final var perturbation = new Quaternion(randomizer.nextDouble(-maxAngle, maxAngle),
+                randomizer.nextDouble(-maxAngle, maxAngle), randomizer.nextDouble(-maxAngle, maxAngle));
+        final var translation = transformation.getTranslation().clone();
+        for (var i = 0; i < translation.length; i++) {
+            translation[i] += randomizer.nextDouble(-ROBUST_PERTURBATION_TRANSLATION, ROBUST_PERTURBATION_TRANSLATION);
+        }
+        final var scale = transformation.getScale() * (1.0 + randomizer.nextDouble(
+                -ROBUST_PERTURBATION_SCALE, ROBUST_PERTURBATION_SCALE));
+        final var initialEstimation = new MetricTransformation3D(perturbation.multiplyAndReturnNew(
+                transformation.getRotation().toQuaternion()), translation, scale);
+
+        // plain least squares is biased by outliers
+        final var refiner = new MetricTransformation3DRefiner(initialEstimation, false, inliers,
+                new double[nPoints], nPoints, inputPoints, outputPoints, ROBUST_REFINEMENT_STANDARD_DEVIATION);
+        refiner.setRefinementEngine(RefinementEngine.STREAMING_LEVENBERG_MARQUARDT);
+        final var leastSquaresResult = new MetricTransformation3D();
+        refiner.refine(leastSquaresResult);
+        final var leastSquaresError = inlierError(leastSquaresResult, inputPoints, outputPoints, outliers);
+
+        for (final var loss : new RobustLoss[]{RobustLoss.HUBER, RobustLoss.CAUCHY, RobustLoss.TUKEY,
+                RobustLoss.GEMAN_MCCLURE}) {
+            refiner.setRobustLoss(loss);
+            refiner.setListener(this);
+
+            reset();
+            final var result = new MetricTransformation3D();
+            refiner.refine(result);
+            assertEquals(1, refineStart);
+            assertEquals(1, refineEnd);
+
+            // robust refinement fits inliers better than plain least squares
+            final var error = inlierError(result, inputPoints, outputPoints, outliers);
+            assertTrue(error < leastSquaresError);
+        }
+    }
+
+    private static double inlierError(final MetricTransformation3D transformation,
+                                      final List<Point3D> inputPoints, final List<Point3D> outputPoints,
+                                      final BitSet outliers) {
+        var result = 0.0;
+        for (var i = 0; i < inputPoints.size(); i++) {
+            if (!outliers.get(i)) {
+                result += transformation.transformAndReturnNew(inputPoints.get(i)).distanceTo(outputPoints.get(i));
+            }
+        }
+        return result;
+    }
+
     private static RANSACMetricTransformation3DRobustEstimator createRobustEstimator() throws LockedException {
 
         final var transformation = createTransformation();
@@ -428,6 +669,14 @@ class MetricTransformation3DRefinerTest implements RefinerListener<MetricTransfo
         assertTrue(refiner.isLocked());
         assertThrows(LockedException.class, () -> refiner.setInitialEstimation(null));
         assertThrows(LockedException.class, () -> refiner.setCovarianceKept(true));
+        assertThrows(LockedException.class, () -> refiner.setRefinementEngine(
+                RefinementEngine.STREAMING_LEVENBERG_MARQUARDT));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER, 1.0));
+        assertThrows(LockedException.class, () -> refiner.setMaxRobustIterations(1));
+        assertThrows(LockedException.class,
+                () -> refiner.setRotationParameterization(RotationParameterization.TANGENT_SPACE));
+        assertThrows(LockedException.class, () -> refiner.setNumericalDerivativesUsed(true));
         assertThrows(LockedException.class, () -> refiner.refine(null));
         assertThrows(LockedException.class, refiner::refine);
         assertThrows(LockedException.class, () -> refiner.setInliers(null));
@@ -15,16 +15,23 @@
  */
 package com.irurueta.geometry.refiners;
 
+import com.irurueta.algebra.Matrix;
+import com.irurueta.algebra.WrongSizeException;
 import com.irurueta.geometry.*;
 import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.geometry.estimators.RANSACDLTPointCorrespondencePinholeCameraRobustEstimator;
+import com.irurueta.numerical.NumericalException;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.RobustEstimatorException;
 import com.irurueta.statistics.GaussianRandomizer;
 import com.irurueta.statistics.UniformRandomizer;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -58,6 +65,13 @@ class NonDecomposedPointCorrespondencePinholeCameraRefinerTest implements Refine
 
     private static final int TIMES = 100;
 
+    private static final int OUTLIER_STEP = 5;
+    private static final double MIN_OUTLIER_ERROR = 1.0;
+    private static final double MAX_OUTLIER_ERROR = 2.0;
+    private static final double ROBUST_REFINEMENT_STANDARD_DEVIATION = 0.1;
+
+    private static final double PERTURBATION = 1e-3;
+
     private int refineStart;
     private int refineEnd;
 
@@ -604,6 +618,71 @@ class NonDecomposedPointCorrespondencePinholeCameraRefinerTest implements Refine
         assertTrue(refiner.isCovarianceKept());
     }
 
+    @Test
+    void testIsSetNumericalDerivativesUsed() throws LockedException {
+        final var refiner = new NonDecomposedPointCorrespondencePinholeCameraRefiner();
+
+        // check default value
+        assertEquals(Refiner.DEFAULT_USE_NUMERICAL_DERIVATIVES, refiner.isNumericalDerivativesUsed());
+        assertFalse(refiner.isNumericalDerivativesUsed());
+
+        // set new value
+        refiner.setNumericalDerivativesUsed(true);
+
+        // check correctness
+        assertTrue(refiner.isNumericalDerivativesUsed());
+    }
+
+    @Test
+    void testClosedFormDerivatives() throws GeometryException, LockedException, NotReadyException,
+            RobustEstimatorException,
+            RefinerException {
+        final var estimator = createRobustEstimator();
+
+        final var camera = estimator.estimate();
+        final var inliersData = estimator.getInliersData();
+        final var refineStandardDeviation = estimator.getThreshold();
+        final var samples1 = estimator.getPoints3D();
+        final var samples2 = estimator.getPoints2D();
+
+        final var checked = new AtomicBoolean();
+        final var refiner = new NonDecomposedPointCorrespondencePinholeCameraRefiner(camera, false,
+                inliersData, samples1, samples2, refineStandardDeviation) {
+            @Override
+            protected double[] fit(final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator,
+                                   final Matrix x, final double[] y, final double standardDeviation)
+                    throws NumericalException {
+                // compare closed-form derivatives against numerical ones at random parameters
+                DerivativesChecker.check(this, evaluator, x);
+                checked.set(true);
+                return super.fit(evaluator, x, y, standardDeviation);
+            }
+        };
+
+        // enable all suggestions, so that derivatives of suggestion terms are checked as well
+        camera.decompose();
+        final var intrinsic = camera.getIntrinsicParameters();
+        refiner.setSuggestSkewnessValueEnabled(true);
+        refiner.setSuggestedSkewnessValue(intrinsic.getSkewness());
+        refiner.setSuggestHorizontalFocalLengthEnabled(true);
+        refiner.setSuggestedHorizontalFocalLengthValue(intrinsic.getHorizontalFocalLength());
+        refiner.setSuggestVerticalFocalLengthEnabled(true);
+        refiner.setSuggestedVerticalFocalLengthValue(intrinsic.getVerticalFocalLength());
+        refiner.setSuggestAspectRatioEnabled(true);
+        refiner.setSuggestedAspectRatioValue(intrinsic.getAspectRatio());
+        refiner.setSuggestPrincipalPointEnabled(true);
+        refiner.setSuggestedPrincipalPointValue(new InhomogeneousPoint2D(intrinsic.getHorizontalPrincipalPoint(),
+                intrinsic.getVerticalPrincipalPoint()));
+        refiner.setSuggestRotationEnabled(true);
+        refiner.setSuggestedRotationValue(camera.getCameraRotation().toQuaternion());
+        refiner.setSuggestCenterEnabled(true);
+        refiner.setSuggestedCenterValue(new InhomogeneousPoint3D(camera.getCameraCenter()));
+
+        refiner.refine(new PinholeCamera());
+
+        assertTrue(checked.get());
+    }
+
     @Test
     void testRefine() throws LockedException, NotReadyException, RobustEstimatorException, RefinerException {
         var numValid = 0;
@@ -653,6 +732,152 @@ class NonDecomposedPointCorrespondencePinholeCameraRefinerTest implements Refine
         assertTrue(numValid > 0);
     }
 
+    @Test
+    void testRefineStreamingLevenbergMarquardt() throws WrongSizeException, LockedException, NotReadyException,
+            RefinerException {
+        final var randomizer = new UniformRandomizer();
+        final var intrinsic = new PinholeCameraIntrinsicParameters(
+                randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH),
+                randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH),
+                randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT),
+                randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT),
+                randomizer.nextDouble(MIN_SKEWNESS, MAX_SKEWNESS));
+
+        // camera placed at origin so that all points lie in front of it
+        final var camera = new PinholeCamera(intrinsic, new MatrixRotation3D(), new InhomogeneousPoint3D());
+        camera.normalize();
+
+        // noiseless matches
+        final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var points3D = new ArrayList<Point3D>();
+        for (var i = 0; i < nPoints; i++) {
+            points3D.add(new InhomogeneousPoint3D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE)));
+        }
+        final var points2D = camera.project(points3D);
+        final var inliers = new BitSet(nPoints);
+        inliers.set(0, nPoints);
+
+        // perturb camera to be used as initial estimation
+        final var m = camera.getInternalMatrix();
+        for (var i = 0; i < m.getRows(); i++) {
+            for (var j = 0; j < m.getColumns(); j++) {
+                m.setElementAt(i, j, m.getElementAt(i, j) * (1.0 + randomizer.nextDouble(
+                        -PERTURBATION, PERTURBATION)));
+            }
+        }
+        final var initialEstimation = new PinholeCamera(m);
+
+        for (final var numericalDerivatives : new boolean[]{false, true}) {
+            final var refiner = new NonDecomposedPointCorrespondencePinholeCameraRefiner(initialEstimation, true,
+                    inliers, new double[nPoints], nPoints, points3D, points2D, 1.0);
+            refiner.setRefinementEngine(RefinementEngine.STREAMING_LEVENBERG_MARQUARDT);
+            refiner.setNumericalDerivativesUsed(numericalDerivatives);
+            refiner.setListener(this);
+
+            reset();
+            final var result = new PinholeCamera();
+            assertTrue(refiner.refine(result));
+            assertEquals(1, refineStart);
+            assertEquals(1, refineEnd);
+            assertNotNull(refiner.getCovariance());
+
+            var initialError = 0.0;
+            var error = 0.0;
+            for (var i = 0; i < nPoints; i++) {
+                initialError += initialEstimation.project(points3D.get(i)).distanceTo(points2D.get(i));
+                error += result.project(points3D.get(i)).distanceTo(points2D.get(i));
+            }
+            assertTrue(error < initialError);
+        }
+    }
+
+    @Test
+    void testRefineRobustLoss() throws WrongSizeException, LockedException, NotReadyException, RefinerException {
+        final var randomizer = new UniformRandomizer();
+        final var intrinsic = new PinholeCameraIntrinsicParameters(
+                randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH),
+                randomizer.nextDouble(MIN_FOCAL_LENGTH, MAX_FOCAL_LENGTH),
+                randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT),
+                randomizer.nextDouble(MIN_PRINCIPAL_POINT, MAX_PRINCIPAL_POINT),
+                randomizer.nextDouble(MIN_SKEWNESS, MAX_SKEWNESS));
+
+        // camera placed at origin so that all points lie in front of it
+        final var camera = new PinholeCamera(intrinsic, new MatrixRotation3D(), new InhomogeneousPoint3D());
+        camera.normalize();
+
+        final var nPoints = randomizer.nextInt(MIN_POINTS, MAX_POINTS);
+        final var outliers = new BitSet(nPoints);
+        final var points3D = new ArrayList<Point3D>();
+        final var points2D = new ArrayList<Point2D>();
+        for (var i = 0; i < nPoints; i++) {
+            final var point3D = new InhomogeneousPoint3D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+            points3D.add(point3D);
+            final var point2D = camera.project(point3D);
+            if (i % OUTLIER_STEP == 0) {
+                // gross outlier kept as inlier by a loose threshold
+                point2D.setInhomogeneousCoordinates(
+                        point2D.getInhomX() + randomizer.nextDouble(MIN_OUTLIER_ERROR, MAX_OUTLIER_ERROR),
+                        point2D.getInhomY() + randomizer.nextDouble(MIN_OUTLIER_ERROR, MAX_OUTLIER_ERROR));
+                outliers.set(i);
+            }
+            points2D.add(point2D);
+        }
+        final var inliers = new BitSet(nPoints);
+        inliers.set(0, nPoints);
+
+        // perturb camera to be used as initial estimation
+        final var m = camera.getInternalMatrix();
+        for (var i = 0; i < m.getRows(); i++) {
+            for (var j = 0; j < m.getColumns(); j++) {
+                m.setElementAt(i, j, m.getElementAt(i, j) * (1.0 + randomizer.nextDouble(
+                        -PERTURBATION, PERTURBATION)));
+            }
+        }
+        final var initialEstimation = new PinholeCamera(m);
+
+        // plain least squares is biased by outliers
+        final var refiner = new NonDecomposedPointCorrespondencePinholeCameraRefiner(initialEstimation, false, inliers,
+                new double[nPoints], nPoints, points3D, points2D, ROBUST_REFINEMENT_STANDARD_DEVIATION);
+        refiner.setRefinementEngine(RefinementEngine.STREAMING_LEVENBERG_MARQUARDT);
+        final var leastSquaresResult = new PinholeCamera();
+        refiner.refine(leastSquaresResult);
+        final var leastSquaresError = inlierError(leastSquaresResult, points3D, points2D, outliers);
+
+        for (final var loss : new RobustLoss[]{RobustLoss.HUBER, RobustLoss.CAUCHY, RobustLoss.TUKEY,
+                RobustLoss.GEMAN_MCCLURE}) {
+            refiner.setRobustLoss(loss);
+            refiner.setListener(this);
+
+            reset();
+            final var result = new PinholeCamera();
+            refiner.refine(result);
+            assertEquals(1, refineStart);
+            assertEquals(1, refineEnd);
+
+            // robust refinement fits inliers better than plain least squares
+            final var error = inlierError(result, points3D, points2D, outliers);
+            assertTrue(error < leastSquaresError);
+        }
+    }
+
+    private static double inlierError(final PinholeCamera camera,
+                                      final List<Point3D> points3D, final List<Point2D> points2D,
+                                      final BitSet outliers) {
+        var result = 0.0;
+        for (var i = 0; i < points3D.size(); i++) {
+            if (!outliers.get(i)) {
+                result += camera.project(points3D.get(i)).distanceTo(points2D.get(i));
+            }
+        }
+        return result;
+    }
+
     private static RANSACDLTPointCorrespondencePinholeCameraRobustEstimator createRobustEstimator()
             throws LockedException {
         final var randomizer = new UniformRandomizer();
@@ -752,6 +977,12 @@ class NonDecomposedPointCorrespondencePinholeCameraRefinerTest implements Refine
         assertTrue(refiner.isLocked());
         assertThrows(LockedException.class, () -> refiner.setInitialEstimation(null));
         assertThrows(LockedException.class, () -> refiner.setCovarianceKept(true));
+        assertThrows(LockedException.class, () -> refiner.setRefinementEngine(
+                RefinementEngine.STREAMING_LEVENBERG_MARQUARDT));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER, 1.0));
+        assertThrows(LockedException.class, () -> refiner.setMaxRobustIterations(1));
+        assertThrows(LockedException.class, () -> refiner.setNumericalDerivativesUsed(true));
         assertThrows(LockedException.class, () -> refiner.refine(null));
         assertThrows(LockedException.class, refiner::refine);
         assertThrows(LockedException.class, () -> refiner.setInliers(null));
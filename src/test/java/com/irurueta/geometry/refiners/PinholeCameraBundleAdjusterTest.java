@@ -0,0 +1,586 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+import com.irurueta.geometry.*;
+import com.irurueta.geometry.estimators.LockedException;
+import com.irurueta.geometry.estimators.NotReadyException;
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PinholeCameraBundleAdjusterTest implements PinholeCameraBundleAdjusterListener {
+
+    private static final double FOCAL_LENGTH = 800.0;
+    private static final double PRINCIPAL_POINT_X = 320.0;
+    private static final double PRINCIPAL_POINT_Y = 240.0;
+    private static final double SKEWNESS = 0.5;
+
+    private static final double MAX_ANGLE_DEGREES = 10.0;
+    private static final double CAMERA_SPREAD = 20.0;
+    private static final double CAMERA_DISTANCE = 60.0;
+    private static final double SCENE_SIZE = 10.0;
+
+    private static final double PERTURBATION_DEGREES = 0.5;
+    private static final double PERTURBATION_CENTER = 0.2;
+    private static final double PERTURBATION_POINT = 0.1;
+    private static final double PERTURBATION_FOCAL_LENGTH = 5.0;
+
+    private static final int NUM_CAMERAS = 8;
+    private static final int NUM_POINTS = 150;
+    private static final double OBSERVATION_PROBABILITY = 0.8;
+
+    private static final double ABSOLUTE_ERROR = 1e-6;
+    private static final double REPROJECTION_ERROR = 1e-5;
+
+    private static final int TIMES = 5;
+
+    private int adjustStart;
+    private int adjustIteration;
+    private int adjustEnd;
+
+    @Test
+    void testConstructor() {
+        var adjuster = new PinholeCameraBundleAdjuster();
+
+        // check default values
+        assertNull(adjuster.getCameras());
+        assertNull(adjuster.getPoints());
+        assertNull(adjuster.getCameraIndices());
+        assertNull(adjuster.getPointIndices());
+        assertNull(adjuster.getMeasurements());
+        assertEquals(0, adjuster.getNumberOfObservations());
+        assertNull(adjuster.getFixedCameras());
+        assertNull(adjuster.getFixedPoints());
+        assertEquals(PinholeCameraBundleAdjuster.DEFAULT_INTRINSICS_REFINED, adjuster.areIntrinsicsRefined());
+        assertEquals(PinholeCameraBundleAdjuster.DEFAULT_MAX_ITERATIONS, adjuster.getMaxIterations());
+        assertEquals(PinholeCameraBundleAdjuster.DEFAULT_TOLERANCE, adjuster.getTolerance(), 0.0);
+        assertEquals(PinholeCameraBundleAdjuster.DEFAULT_INITIAL_DAMPING, adjuster.getInitialDamping(), 0.0);
+        assertEquals(PinholeCameraBundleAdjuster.DEFAULT_MAX_SOLVER_ITERATIONS, adjuster.getMaxSolverIterations());
+        assertEquals(PinholeCameraBundleAdjuster.DEFAULT_SOLVER_TOLERANCE, adjuster.getSolverTolerance(), 0.0);
+        assertEquals(PinholeCameraBundleAdjuster.DEFAULT_PARALLELISM, adjuster.getParallelism());
+        assertSame(ForkJoinPool.commonPool(), adjuster.getPool());
+        assertNull(adjuster.getListener());
+        assertFalse(adjuster.isLocked());
+        assertFalse(adjuster.isReady());
+        assertNull(adjuster.getAdjustedCameras());
+        assertNull(adjuster.getAdjustedPoints());
+        assertEquals(0.0, adjuster.getInitialRmsError(), 0.0);
+        assertEquals(0.0, adjuster.getFinalRmsError(), 0.0);
+        assertEquals(0, adjuster.getIterations());
+
+        // test constructor with data
+        final var scene = new Scene(false);
+        adjuster = new PinholeCameraBundleAdjuster(scene.cameras, scene.points, scene.cameraIndices,
+                scene.pointIndices, scene.measurements);
+
+        // check default values
+        assertSame(scene.cameras, adjuster.getCameras());
+        assertSame(scene.points, adjuster.getPoints());
+        assertSame(scene.cameraIndices, adjuster.getCameraIndices());
+        assertSame(scene.pointIndices, adjuster.getPointIndices());
+        assertSame(scene.measurements, adjuster.getMeasurements());
+        assertEquals(scene.cameraIndices.length, adjuster.getNumberOfObservations());
+        assertTrue(adjuster.isReady());
+
+        // Force IllegalArgumentException
+        final var wrong = new int[1];
+        assertThrows(IllegalArgumentException.class, () -> new PinholeCameraBundleAdjuster(scene.cameras,
+                scene.points, wrong, scene.pointIndices, scene.measurements));
+        assertThrows(IllegalArgumentException.class, () -> new PinholeCameraBundleAdjuster(scene.cameras,
+                scene.points, scene.cameraIndices, scene.pointIndices, new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> new PinholeCameraBundleAdjuster(scene.cameras,
+                scene.points, null, scene.pointIndices, scene.measurements));
+    }
+
+    @Test
+    void testGetSetCamerasAndPoints() throws LockedException {
+        final var adjuster = new PinholeCameraBundleAdjuster();
+        final var scene = new Scene(false);
+
+        // set new values
+        adjuster.setCameras(scene.cameras);
+        adjuster.setPoints(scene.points);
+
+        // check correctness
+        assertSame(scene.cameras, adjuster.getCameras());
+        assertSame(scene.points, adjuster.getPoints());
+        assertFalse(adjuster.isReady());
+    }
+
+    @Test
+    void testSetObservations() throws LockedException {
+        final var adjuster = new PinholeCameraBundleAdjuster();
+        final var scene = new Scene(false);
+        adjuster.setCameras(scene.cameras);
+        adjuster.setPoints(scene.points);
+
+        // set packed observations
+        adjuster.setObservations(scene.cameraIndices, scene.pointIndices, scene.measurements);
+
+        // check correctness
+        assertSame(scene.cameraIndices, adjuster.getCameraIndices());
+        assertSame(scene.pointIndices, adjuster.getPointIndices());
+        assertSame(scene.measurements, adjuster.getMeasurements());
+        assertTrue(adjuster.isReady());
+
+        // set observations as points
+        final var n = scene.cameraIndices.length;
+        final var points2D = new ArrayList<Point2D>();
+        for (var k = 0; k < n; k++) {
+            points2D.add(new InhomogeneousPoint2D(scene.measurements[2 * k], scene.measurements[2 * k + 1]));
+        }
+        adjuster.setObservations(scene.cameraIndices, scene.pointIndices, points2D);
+
+        // check correctness
+        assertArrayEquals(scene.measurements, adjuster.getMeasurements(), 0.0);
+        assertTrue(adjuster.isReady());
+
+        // indices out of range make adjuster not ready
+        final var wrongIndices = scene.pointIndices.clone();
+        wrongIndices[0] = scene.points.size();
+        adjuster.setObservations(scene.cameraIndices, wrongIndices, scene.measurements);
+        assertFalse(adjuster.isReady());
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class,
+                () -> adjuster.setObservations(scene.cameraIndices, new int[1], scene.measurements));
+        assertThrows(IllegalArgumentException.class,
+                () -> adjuster.setObservations(scene.cameraIndices, scene.pointIndices, (List<Point2D>) null));
+        assertThrows(IllegalArgumentException.class,
+                () -> adjuster.setObservations(scene.cameraIndices, scene.pointIndices, new ArrayList<>()));
+    }
+
+    @Test
+    void testGetSetFixedCamerasAndPoints() throws LockedException {
+        final var adjuster = new PinholeCameraBundleAdjuster();
+
+        final var fixedCameras = new BitSet();
+        fixedCameras.set(0);
+        final var fixedPoints = new BitSet();
+        fixedPoints.set(1);
+        adjuster.setFixedCameras(fixedCameras);
+        adjuster.setFixedPoints(fixedPoints);
+
+        // check correctness
+        assertSame(fixedCameras, adjuster.getFixedCameras());
+        assertSame(fixedPoints, adjuster.getFixedPoints());
+    }
+
+    @Test
+    void testSetIntrinsicsRefined() throws LockedException {
+        final var adjuster = new PinholeCameraBundleAdjuster();
+
+        // check default value
+        assertFalse(adjuster.areIntrinsicsRefined());
+
+        // set new value
+        adjuster.setIntrinsicsRefined(true);
+
+        // check correctness
+        assertTrue(adjuster.areIntrinsicsRefined());
+    }
+
+    @Test
+    void testGetSetIterationParameters() throws LockedException {
+        final var adjuster = new PinholeCameraBundleAdjuster();
+
+        // set new values
+        adjuster.setMaxIterations(5);
+        adjuster.setTolerance(1e-3);
+        adjuster.setInitialDamping(1.0);
+        adjuster.setMaxSolverIterations(10);
+        adjuster.setSolverTolerance(1e-4);
+
+        // check correctness
+        assertEquals(5, adjuster.getMaxIterations());
+        assertEquals(1e-3, adjuster.getTolerance(), 0.0);
+        assertEquals(1.0, adjuster.getInitialDamping(), 0.0);
+        assertEquals(10, adjuster.getMaxSolverIterations());
+        assertEquals(1e-4, adjuster.getSolverTolerance(), 0.0);
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> adjuster.setMaxIterations(0));
+        assertThrows(IllegalArgumentException.class, () -> adjuster.setTolerance(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> adjuster.setInitialDamping(0.0));
+        assertThrows(IllegalArgumentException.class, () -> adjuster.setMaxSolverIterations(0));
+        assertThrows(IllegalArgumentException.class, () -> adjuster.setSolverTolerance(-1.0));
+    }
+
+    @Test
+    void testGetSetParallelismAndPool() throws LockedException {
+        final var adjuster = new PinholeCameraBundleAdjuster();
+
+        // set new values
+        final var pool = new ForkJoinPool(2);
+        try {
+            adjuster.setParallelism(2);
+            adjuster.setPool(pool);
+
+            // check correctness
+            assertEquals(2, adjuster.getParallelism());
+            assertSame(pool, adjuster.getPool());
+        } finally {
+            pool.shutdown();
+        }
+
+        // Force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> adjuster.setParallelism(0));
+        assertThrows(IllegalArgumentException.class, () -> adjuster.setPool(null));
+    }
+
+    @Test
+    void testGetSetListener() throws LockedException {
+        final var adjuster = new PinholeCameraBundleAdjuster();
+
+        // set new value
+        adjuster.setListener(this);
+
+        // check correctness
+        assertSame(this, adjuster.getListener());
+    }
+
+    @Test
+    void testAdjustNotReady() {
+        final var adjuster = new PinholeCameraBundleAdjuster();
+        assertThrows(NotReadyException.class, adjuster::adjust);
+    }
+
+    @Test
+    void testAdjustWithoutPerturbation() throws LockedException, NotReadyException, RefinerException {
+        final var scene = new Scene(false);
+        final var adjuster = new PinholeCameraBundleAdjuster(scene.cameras, scene.points, scene.cameraIndices,
+                scene.pointIndices, scene.measurements);
+
+        adjuster.adjust();
+
+        // cameras are decomposed consistently with their projection
+        assertEquals(0.0, adjuster.getInitialRmsError(), REPROJECTION_ERROR);
+        assertEquals(0.0, adjuster.getFinalRmsError(), REPROJECTION_ERROR);
+        checkReprojection(scene, adjuster.getAdjustedCameras(), adjuster.getAdjustedPoints());
+    }
+
+    @Test
+    void testAdjust() throws LockedException, NotReadyException, RefinerException {
+        for (var t = 0; t < TIMES; t++) {
+            final var scene = new Scene(false);
+            scene.perturb(false);
+
+            final var adjuster = new PinholeCameraBundleAdjuster(scene.cameras, scene.points,
+                    scene.cameraIndices, scene.pointIndices, scene.measurements);
+            adjuster.setListener(this);
+
+            reset();
+            assertEquals(0, adjustStart);
+            assertEquals(0, adjustEnd);
+
+            assertTrue(adjuster.adjust());
+
+            // check correctness
+            assertEquals(1, adjustStart);
+            assertEquals(1, adjustEnd);
+            assertEquals(adjuster.getIterations(), adjustIteration);
+            assertFalse(adjuster.isLocked());
+            assertTrue(adjuster.getInitialRmsError() > adjuster.getFinalRmsError());
+            assertEquals(0.0, adjuster.getFinalRmsError(), REPROJECTION_ERROR);
+            assertEquals(NUM_CAMERAS, adjuster.getAdjustedCameras().size());
+            assertEquals(NUM_POINTS, adjuster.getAdjustedPoints().size());
+            checkReprojection(scene, adjuster.getAdjustedCameras(), adjuster.getAdjustedPoints());
+        }
+    }
+
+    @Test
+    void testAdjustWithFixedCameras() throws LockedException, NotReadyException, RefinerException,
+            GeometryException {
+        final var scene = new Scene(false);
+        scene.perturbPoints();
+        scene.perturbCameras(2, false);
+
+        final var adjuster = new PinholeCameraBundleAdjuster(scene.cameras, scene.points, scene.cameraIndices,
+                scene.pointIndices, scene.measurements);
+        final var fixedCameras = new BitSet();
+        fixedCameras.set(0, 2);
+        adjuster.setFixedCameras(fixedCameras);
+
+        assertTrue(adjuster.adjust());
+
+        // check correctness
+        assertEquals(0.0, adjuster.getFinalRmsError(), REPROJECTION_ERROR);
+        checkReprojection(scene, adjuster.getAdjustedCameras(), adjuster.getAdjustedPoints());
+
+        // fixed cameras are kept, and since they fix the gauge of the scene,
+        // the rest of cameras and points are recovered
+        for (var i = 0; i < NUM_CAMERAS; i++) {
+            final var camera = adjuster.getAdjustedCameras().get(i);
+            camera.decompose();
+            final var center = camera.getCameraCenter();
+            assertTrue(center.equals(scene.originalCenters.get(i), ABSOLUTE_ERROR));
+        }
+        for (var j = 0; j < NUM_POINTS; j++) {
+            assertTrue(adjuster.getAdjustedPoints().get(j).equals(scene.originalPoints.get(j), ABSOLUTE_ERROR));
+        }
+    }
+
+    @Test
+    void testAdjustWithFixedPoints() throws LockedException, NotReadyException, RefinerException {
+        final var scene = new Scene(false);
+        scene.perturbCameras(0, false);
+
+        final var adjuster = new PinholeCameraBundleAdjuster(scene.cameras, scene.points, scene.cameraIndices,
+                scene.pointIndices, scene.measurements);
+        final var fixedPoints = new BitSet();
+        fixedPoints.set(0, NUM_POINTS);
+        adjuster.setFixedPoints(fixedPoints);
+
+        assertTrue(adjuster.adjust());
+
+        // check correctness
+        assertEquals(0.0, adjuster.getFinalRmsError(), REPROJECTION_ERROR);
+        for (var j = 0; j < NUM_POINTS; j++) {
+            assertTrue(adjuster.getAdjustedPoints().get(j).equals(scene.points.get(j), 0.0));
+        }
+    }
+
+    @Test
+    void testAdjustIntrinsics() throws LockedException, NotReadyException, RefinerException {
+        final var scene = new Scene(true);
+        scene.perturb(true);
+
+        final var adjuster = new PinholeCameraBundleAdjuster(scene.cameras, scene.points, scene.cameraIndices,
+                scene.pointIndices, scene.measurements);
+
+        // without refining intrinsics, error cannot be fully removed
+        assertTrue(adjuster.adjust());
+        final var poseError = adjuster.getFinalRmsError();
+        assertTrue(poseError > REPROJECTION_ERROR);
+
+        adjuster.setIntrinsicsRefined(true);
+        assertTrue(adjuster.adjust());
+
+        // check correctness
+        assertTrue(adjuster.getFinalRmsError() < poseError);
+        assertEquals(0.0, adjuster.getFinalRmsError(), REPROJECTION_ERROR);
+        checkReprojection(scene, adjuster.getAdjustedCameras(), adjuster.getAdjustedPoints());
+    }
+
+    @Test
+    void testAdjustParallel() throws LockedException, NotReadyException, RefinerException {
+        final var scene = new Scene(true);
+        scene.perturb(true);
+
+        final var sequential = new PinholeCameraBundleAdjuster(scene.cameras, scene.points, scene.cameraIndices,
+                scene.pointIndices, scene.measurements);
+        sequential.setIntrinsicsRefined(true);
+        assertTrue(sequential.adjust());
+
+        final var parallel = new PinholeCameraBundleAdjuster(scene.cameras, scene.points, scene.cameraIndices,
+                scene.pointIndices, scene.measurements);
+        parallel.setIntrinsicsRefined(true);
+        parallel.setParallelism(4);
+        assertTrue(parallel.adjust());
+
+        // work is split without changing arithmetic, so results are the same
+        assertEquals(sequential.getIterations(), parallel.getIterations());
+        assertEquals(sequential.getFinalRmsError(), parallel.getFinalRmsError(), 0.0);
+        for (var j = 0; j < NUM_POINTS; j++) {
+            assertTrue(sequential.getAdjustedPoints().get(j).equals(parallel.getAdjustedPoints().get(j), 0.0));
+        }
+        checkReprojection(scene, parallel.getAdjustedCameras(), parallel.getAdjustedPoints());
+    }
+
+    @Override
+    public void onAdjustStart(final PinholeCameraBundleAdjuster adjuster) {
+        adjustStart++;
+        checkLocked(adjuster);
+    }
+
+    @Override
+    public void onAdjustIteration(final PinholeCameraBundleAdjuster adjuster, final int iteration,
+                                  final double rmsError) {
+        adjustIteration++;
+        assertEquals(adjustIteration, iteration);
+        checkLocked(adjuster);
+    }
+
+    @Override
+    public void onAdjustEnd(final PinholeCameraBundleAdjuster adjuster, final boolean errorDecreased) {
+        adjustEnd++;
+        checkLocked(adjuster);
+    }
+
+    private void reset() {
+        adjustStart = adjustIteration = adjustEnd = 0;
+    }
+
+    private static void checkReprojection(final Scene scene, final List<PinholeCamera> cameras,
+                                          final List<Point3D> points) {
+        final var n = scene.cameraIndices.length;
+        for (var k = 0; k < n; k++) {
+            final var projected = cameras.get(scene.cameraIndices[k]).project(points.get(scene.pointIndices[k]));
+            assertEquals(scene.measurements[2 * k], projected.getInhomX(), REPROJECTION_ERROR);
+            assertEquals(scene.measurements[2 * k + 1], projected.getInhomY(), REPROJECTION_ERROR);
+        }
+    }
+
+    private static void checkLocked(final PinholeCameraBundleAdjuster adjuster) {
+        assertTrue(adjuster.isLocked());
+        assertThrows(LockedException.class, () -> adjuster.setCameras(null));
+        assertThrows(LockedException.class, () -> adjuster.setPoints(null));
+        assertThrows(LockedException.class, () -> adjuster.setObservations(null, null, (double[]) null));
+        assertThrows(LockedException.class, () -> adjuster.setObservations(null, null, (List<Point2D>) null));
+        assertThrows(LockedException.class, () -> adjuster.setFixedCameras(null));
+        assertThrows(LockedException.class, () -> adjuster.setFixedPoints(null));
+        assertThrows(LockedException.class, () -> adjuster.setIntrinsicsRefined(true));
+        assertThrows(LockedException.class, () -> adjuster.setMaxIterations(1));
+        assertThrows(LockedException.class, () -> adjuster.setTolerance(0.0));
+        assertThrows(LockedException.class, () -> adjuster.setInitialDamping(1.0));
+        assertThrows(LockedException.class, () -> adjuster.setMaxSolverIterations(1));
+        assertThrows(LockedException.class, () -> adjuster.setSolverTolerance(0.0));
+        assertThrows(LockedException.class, () -> adjuster.setParallelism(1));
+        assertThrows(LockedException.class, () -> adjuster.setPool(null));
+        assertThrows(LockedException.class, () -> adjuster.setListener(null));
+        assertThrows(LockedException.class, adjuster::adjust);
+    }
+
+    /**
+     * Synthetic scene of cameras looking at a cloud of points, where
+     * measurements are the exact projections of original cameras and points.
+     */
+    private static class Scene {
+
+        private final UniformRandomizer randomizer = new UniformRandomizer();
+
+        private final List<PinholeCamera> cameras = new ArrayList<>();
+
+        private final List<Point3D> points = new ArrayList<>();
+
+        private final List<Point3D> originalCenters = new ArrayList<>();
+
+        private final List<Point3D> originalPoints = new ArrayList<>();
+
+        private final List<PinholeCameraIntrinsicParameters> intrinsics = new ArrayList<>();
+
+        private final List<Quaternion> rotations = new ArrayList<>();
+
+        private final int[] cameraIndices;
+
+        private final int[] pointIndices;
+
+        private final double[] measurements;
+
+        Scene(final boolean differentIntrinsics) {
+            for (var i = 0; i < NUM_CAMERAS; i++) {
+                final var focalLength = differentIntrinsics
+                        ? randomizer.nextDouble(0.8 * FOCAL_LENGTH, 1.2 * FOCAL_LENGTH) : FOCAL_LENGTH;
+                final var k = new PinholeCameraIntrinsicParameters(focalLength, focalLength, PRINCIPAL_POINT_X,
+                        PRINCIPAL_POINT_Y, SKEWNESS);
+                final var rotation = new Quaternion(randomAngle(MAX_ANGLE_DEGREES),
+                        randomAngle(MAX_ANGLE_DEGREES), randomAngle(MAX_ANGLE_DEGREES));
+                final var center = new InhomogeneousPoint3D(
+                        randomizer.nextDouble(-CAMERA_SPREAD, CAMERA_SPREAD),
+                        randomizer.nextDouble(-CAMERA_SPREAD, CAMERA_SPREAD),
+                        -CAMERA_DISTANCE + randomizer.nextDouble(-SCENE_SIZE, SCENE_SIZE));
+                intrinsics.add(k);
+                rotations.add(rotation);
+                originalCenters.add(center);
+                cameras.add(new PinholeCamera(k, rotation, center));
+            }
+
+            for (var j = 0; j < NUM_POINTS; j++) {
+                final var point = new InhomogeneousPoint3D(randomizer.nextDouble(-SCENE_SIZE, SCENE_SIZE),
+                        randomizer.nextDouble(-SCENE_SIZE, SCENE_SIZE),
+                        randomizer.nextDouble(-SCENE_SIZE, SCENE_SIZE));
+                originalPoints.add(point);
+                points.add(point);
+            }
+
+            // each point is observed by at least two cameras
+            final var cameraList = new ArrayList<Integer>();
+            final var pointList = new ArrayList<Integer>();
+            for (var j = 0; j < NUM_POINTS; j++) {
+                for (var i = 0; i < NUM_CAMERAS; i++) {
+                    if (i < 2 || randomizer.nextDouble() < OBSERVATION_PROBABILITY) {
+                        cameraList.add((i + j) % NUM_CAMERAS);
+                        pointList.add(j);
+                    }
+                }
+            }
+
+            final var n = cameraList.size();
+            cameraIndices = new int[n];
+            pointIndices = new int[n];
+            measurements = new double[2 * n];
+            for (var k = 0; k < n; k++) {
+                cameraIndices[k] = cameraList.get(k);
+                pointIndices[k] = pointList.get(k);
+                final var projected = cameras.get(cameraIndices[k]).project(points.get(pointIndices[k]));
+                measurements[2 * k] = projected.getInhomX();
+                measurements[2 * k + 1] = projected.getInhomY();
+            }
+        }
+
+        void perturb(final boolean perturbIntrinsics) {
+            perturbPoints();
+            perturbCameras(0, perturbIntrinsics);
+        }
+
+        void perturbPoints() {
+            for (var j = 0; j < NUM_POINTS; j++) {
+                final var point = points.get(j);
+                points.set(j, new InhomogeneousPoint3D(point.getInhomX() + perturbation(PERTURBATION_POINT),
+                        point.getInhomY() + perturbation(PERTURBATION_POINT),
+                        point.getInhomZ() + perturbation(PERTURBATION_POINT)));
+            }
+        }
+
+        void perturbCameras(final int first, final boolean perturbIntrinsics) {
+            for (var i = first; i < NUM_CAMERAS; i++) {
+                final var k = intrinsics.get(i);
+                final var focalLength = k.getHorizontalFocalLength()
+                        + (perturbIntrinsics ? perturbation(PERTURBATION_FOCAL_LENGTH) : 0.0);
+                final var perturbedIntrinsics = new PinholeCameraIntrinsicParameters(focalLength, focalLength,
+                        k.getHorizontalPrincipalPoint(), k.getVerticalPrincipalPoint(), k.getSkewness());
+
+                final var delta = new Quaternion(randomAngle(PERTURBATION_DEGREES),
+                        randomAngle(PERTURBATION_DEGREES), randomAngle(PERTURBATION_DEGREES));
+                final var rotation = new Quaternion();
+                Quaternion.product(delta, rotations.get(i), rotation);
+
+                final var center = originalCenters.get(i);
+                final var perturbedCenter = new InhomogeneousPoint3D(
+                        center.getInhomX() + perturbation(PERTURBATION_CENTER),
+                        center.getInhomY() + perturbation(PERTURBATION_CENTER),
+                        center.getInhomZ() + perturbation(PERTURBATION_CENTER));
+
+                cameras.set(i, new PinholeCamera(perturbedIntrinsics, rotation, perturbedCenter));
+            }
+        }
+
+        private double randomAngle(final double maxDegrees) {
+            return Math.toRadians(randomizer.nextDouble(-maxDegrees, maxDegrees));
+        }
+
+        private double perturbation(final double max) {
+            return randomizer.nextDouble(-max, max);
+        }
+    }
+}
@@ -24,12 +24,17 @@ import com.irurueta.geometry.ProjectiveTransformation2D;
 import com.irurueta.geometry.estimators.LockedException;
 import com.irurueta.geometry.estimators.NotReadyException;
 import com.irurueta.geometry.estimators.RANSACPointCorrespondenceProjectiveTransformation2DRobustEstimator;
+import com.irurueta.numerical.NumericalException;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
 import com.irurueta.numerical.robust.RobustEstimatorException;
 import com.irurueta.statistics.GaussianRandomizer;
 import com.irurueta.statistics.UniformRandomizer;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -50,6 +55,13 @@ class PointCorrespondenceProjectiveTransformation2DRefinerTest implements Refine
 
     private static final int TIMES = 1000;
 
+    private static final int OUTLIER_STEP = 5;
+    private static final double MIN_OUTLIER_ERROR = 1.0;
+    private static final double MAX_OUTLIER_ERROR = 2.0;
+    private static final double ROBUST_REFINEMENT_STANDARD_DEVIATION = 0.01;
+
+    private static final double PERTURBATION = 1e-3;
+
     private int refineStart;
     private int refineEnd;
 
@@ -298,6 +310,83 @@ class PointCorrespondenceProjectiveTransformation2DRefinerTest implements Refine
         assertTrue(refiner.isCovarianceKept());
     }
 
+    @Test
+    void testIsSetNumericalDerivativesUsed() throws LockedException {
+        final var refiner = new PointCorrespondenceProjectiveTransformation2DRefiner();
+
+        // check default value
+        assertEquals(Refiner.DEFAULT_USE_NUMERICAL_DERIVATIVES, refiner.isNumericalDerivativesUsed());
+        assertFalse(refiner.isNumericalDerivativesUsed());
+
+        // set new value
+        refiner.setNumericalDerivativesUsed(true);
+
+        // check correctness
+        assertTrue(refiner.isNumericalDerivativesUsed());
+    }
+
+    @Test
+    void testClosedFormDerivatives() throws AlgebraException, LockedException, NotReadyException,
+            RobustEstimatorException,
+            RefinerException {
+        final var estimator = createRobustEstimator();
+
+        final var transformation = estimator.estimate();
+        final var inliersData = estimator.getInliersData();
+        final var refineStandardDeviation = estimator.getThreshold();
+        final var samples1 = estimator.getInputPoints();
+        final var samples2 = estimator.getOutputPoints();
+
+        final var checked = new AtomicBoolean();
+        final var refiner = new PointCorrespondenceProjectiveTransformation2DRefiner(transformation, false,
+                inliersData, samples1, samples2, refineStandardDeviation) {
+            @Override
+            protected double[] fit(final LevenbergMarquardtMultiDimensionFunctionEvaluator evaluator,
+                                   final Matrix x, final double[] y, final double standardDeviation)
+                    throws NumericalException {
+                // compare closed-form derivatives against numerical ones at random parameters
+                DerivativesChecker.check(this, evaluator, x);
+                checked.set(true);
+                return super.fit(evaluator, x, y, standardDeviation);
+            }
+        };
+
+        refiner.refine(new ProjectiveTransformation2D());
+
+        assertTrue(checked.get());
+    }
+
+    @Test
+    void testGetSetRobustLoss() throws LockedException {
+        final var refiner = new PointCorrespondenceProjectiveTransformation2DRefiner();
+
+        // check default values
+        assertEquals(Refiner.DEFAULT_ROBUST_LOSS, refiner.getRobustLoss());
+        assertEquals(RobustLoss.NONE, refiner.getRobustLoss());
+        assertEquals(1.0, refiner.getRobustLossTuningConstant(), 0.0);
+        assertEquals(Refiner.DEFAULT_MAX_ROBUST_ITERATIONS, refiner.getMaxRobustIterations());
+
+        // set new values
+        refiner.setRobustLoss(RobustLoss.HUBER);
+
+        // check correctness
+        assertEquals(RobustLoss.HUBER, refiner.getRobustLoss());
+        assertEquals(RobustLossFunctions.DEFAULT_HUBER_TUNING_CONSTANT, refiner.getRobustLossTuningConstant(),
+                0.0);
+
+        refiner.setRobustLoss(RobustLoss.TUKEY, 3.0);
+        refiner.setMaxRobustIterations(5);
+
+        // check correctness
+        assertEquals(RobustLoss.TUKEY, refiner.getRobustLoss());
+        assertEquals(3.0, refiner.getRobustLossTuningConstant(), 0.0);
+        assertEquals(5, refiner.getMaxRobustIterations());
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> refiner.setRobustLoss(RobustLoss.CAUCHY, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> refiner.setMaxRobustIterations(0));
+    }
+
     @Test
     void testRefine() throws AlgebraException, LockedException, NotReadyException, RobustEstimatorException,
             RefinerException {
@@ -339,6 +428,136 @@ class PointCorrespondenceProjectiveTransformation2DRefinerTest implements Refine
         assertTrue(numValid > 0);
     }
 
+    @Test
+    void testRefineStreamingLevenbergMarquardt() throws AlgebraException, LockedException, NotReadyException,
+            RefinerException {
+        final var transformation = createTransformation();
+
+        final var randomizer = new UniformRandomizer();
+        final var nPoints = randomizer.nextInt(MIN_LINES, MAX_LINES);
+        final var inputPoints = new ArrayList<Point2D>();
+        final var outputPoints = new ArrayList<Point2D>();
+        for (var i = 0; i < nPoints; i++) {
+            final var inputPoint = new InhomogeneousPoint2D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+            inputPoints.add(inputPoint);
+            outputPoints.add(transformation.transformAndReturnNew(inputPoint));
+        }
+        final var inliers = new BitSet(nPoints);
+        inliers.set(0, nPoints);
+
+        // perturb transformation to be used as initial estimation
+        final var t = transformation.getT();
+        for (var i = 0; i < t.getRows(); i++) {
+            for (var j = 0; j < t.getColumns(); j++) {
+                t.setElementAt(i, j, t.getElementAt(i, j) * (1.0 + randomizer.nextDouble(
+                        -PERTURBATION, PERTURBATION)));
+            }
+        }
+        final var initialEstimation = new ProjectiveTransformation2D(t);
+
+        for (final var numericalDerivatives : new boolean[]{false, true}) {
+            final var refiner = new PointCorrespondenceProjectiveTransformation2DRefiner(initialEstimation,
+                    true, inliers, new double[nPoints], nPoints, inputPoints, outputPoints, 1.0);
+            assertEquals(Refiner.DEFAULT_REFINEMENT_ENGINE, refiner.getRefinementEngine());
+            refiner.setRefinementEngine(RefinementEngine.STREAMING_LEVENBERG_MARQUARDT);
+            refiner.setNumericalDerivativesUsed(numericalDerivatives);
+            refiner.setListener(this);
+
+            reset();
+            final var result = new ProjectiveTransformation2D();
+            assertTrue(refiner.refine(result));
+            assertEquals(1, refineStart);
+            assertEquals(1, refineEnd);
+            assertNotNull(refiner.getCovariance());
+
+            var initialError = 0.0;
+            var error = 0.0;
+            for (var i = 0; i < nPoints; i++) {
+                initialError += initialEstimation.transformAndReturnNew(inputPoints.get(i))
+                        .distanceTo(outputPoints.get(i));
+                error += result.transformAndReturnNew(inputPoints.get(i)).distanceTo(outputPoints.get(i));
+            }
+            assertTrue(error < initialError);
+        }
+    }
+
+    @Test
+    void testRefineRobustLoss() throws AlgebraException, LockedException, NotReadyException, RefinerException {
+        final var transformation = createTransformation();
+
+        final var randomizer = new UniformRandomizer();
+        final var nPoints = randomizer.nextInt(MIN_LINES, MAX_LINES);
+        final var inputPoints = new ArrayList<Point2D>();
+        final var outputPoints = new ArrayList<Point2D>();
+        final var outliers = new BitSet(nPoints);
+        for (var i = 0; i < nPoints; i++) {
+            final var inputPoint = new InhomogeneousPoint2D(
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE));
+            inputPoints.add(inputPoint);
+            final var outputPoint = transformation.transformAndReturnNew(inputPoint);
+            if (i % OUTLIER_STEP == 0) {
+                // gross outlier kept as inlier by a loose threshold
+                outputPoint.setInhomogeneousCoordinates(
+                        outputPoint.getInhomX() + randomizer.nextDouble(MIN_OUTLIER_ERROR, MAX_OUTLIER_ERROR),
+                        outputPoint.getInhomY() + randomizer.nextDouble(MIN_OUTLIER_ERROR, MAX_OUTLIER_ERROR));
+                outliers.set(i);
+            }
+            outputPoints.add(outputPoint);
+        }
+        final var inliers = new BitSet(nPoints);
+        inliers.set(0, nPoints);
+
+        // perturb transformation to be used as initial estimation
+        final var t = transformation.getT();
+        for (var i = 0; i < t.getRows(); i++) {
+            for (var j = 0; j < t.getColumns(); j++) {
+                t.setElementAt(i, j, t.getElementAt(i, j) * (1.0 + randomizer.nextDouble(
+                        -PERTURBATION, PERTURBATION)));
+            }
+        }
+        final var initialEstimation = new ProjectiveTransformation2D(t);
+
+        // plain least squares is biased by outliers
+        final var refiner = new PointCorrespondenceProjectiveTransformation2DRefiner(initialEstimation,
+                false, inliers, new double[nPoints], nPoints, inputPoints, outputPoints,
+                ROBUST_REFINEMENT_STANDARD_DEVIATION);
+        refiner.setRefinementEngine(RefinementEngine.STREAMING_LEVENBERG_MARQUARDT);
+        final var leastSquaresResult = new ProjectiveTransformation2D();
+        refiner.refine(leastSquaresResult);
+        final var leastSquaresError = inlierError(leastSquaresResult, inputPoints, outputPoints, outliers);
+
+        for (final var loss : new RobustLoss[]{RobustLoss.HUBER, RobustLoss.CAUCHY, RobustLoss.TUKEY,
+                RobustLoss.GEMAN_MCCLURE}) {
+            refiner.setRobustLoss(loss);
+            refiner.setListener(this);
+
+            reset();
+            final var result = new ProjectiveTransformation2D();
+            refiner.refine(result);
+            assertEquals(1, refineStart);
+            assertEquals(1, refineEnd);
+
+            // robust refinement fits inliers better than plain least squares
+            final var error = inlierError(result, inputPoints, outputPoints, outliers);
+            assertTrue(error < leastSquaresError);
+        }
+    }
+
+    private static double inlierError(final ProjectiveTransformation2D transformation,
+                                      final List<Point2D> inputPoints, final List<Point2D> outputPoints,
+                                      final BitSet outliers) {
+        var result = 0.0;
+        for (var i = 0; i < inputPoints.size(); i++) {
+            if (!outliers.get(i)) {
+                result += transformation.transformAndReturnNew(inputPoints.get(i)).distanceTo(outputPoints.get(i));
+            }
+        }
+        return result;
+    }
+
     private static RANSACPointCorrespondenceProjectiveTransformation2DRobustEstimator createRobustEstimator()
             throws AlgebraException, LockedException {
 
@@ -426,6 +645,12 @@ class PointCorrespondenceProjectiveTransformation2DRefinerTest implements Refine
         assertTrue(refiner.isLocked());
         assertThrows(LockedException.class, () -> refiner.setInitialEstimation(null));
         assertThrows(LockedException.class, () -> refiner.setCovarianceKept(true));
+        assertThrows(LockedException.class, () -> refiner.setRefinementEngine(
+                RefinementEngine.STREAMING_LEVENBERG_MARQUARDT));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER));
+        assertThrows(LockedException.class, () -> refiner.setRobustLoss(RobustLoss.HUBER, 1.0));
+        assertThrows(LockedException.class, () -> refiner.setMaxRobustIterations(1));
+        assertThrows(LockedException.class, () -> refiner.setNumericalDerivativesUsed(true));
         assertThrows(LockedException.class, () -> refiner.refine(null));
         assertThrows(LockedException.class, refiner::refine);
         assertThrows(LockedException.class, () -> refiner.setInliers(null));
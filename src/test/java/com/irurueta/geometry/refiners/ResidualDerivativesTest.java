@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+import com.irurueta.algebra.Matrix;
+import com.irurueta.algebra.WrongSizeException;
+import com.irurueta.geometry.HomogeneousPoint2D;
+import com.irurueta.geometry.HomogeneousPoint3D;
+import com.irurueta.geometry.InhomogeneousPoint2D;
+import com.irurueta.geometry.InhomogeneousPoint3D;
+import com.irurueta.geometry.Quaternion;
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResidualDerivativesTest {
+
+    private static final double MIN_RANDOM_VALUE = -1.0;
+    private static final double MAX_RANDOM_VALUE = 1.0;
+    private static final double MIN_W = 0.5;
+    private static final double ABSOLUTE_ERROR = 1e-9;
+    private static final double DERIVATIVE_ERROR = 1e-6;
+    private static final double DELTA = 1e-6;
+    private static final double SMALL_ROTATION_SCALE = 1e-5;
+
+    private static final int TIMES = 100;
+
+    @Test
+    void testDistance2D() {
+        final var randomizer = new UniformRandomizer();
+        final var gradient = new double[3];
+        final var tmp = new double[3];
+        for (var t = 0; t < TIMES; t++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var w = randomizer.nextDouble(MIN_W, MAX_RANDOM_VALUE);
+            final var ox = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var oy = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+
+            final var distance = ResidualDerivatives.distance2D(x, y, w, ox, oy, gradient);
+            assertEquals(new HomogeneousPoint2D(x, y, w).distanceTo(new InhomogeneousPoint2D(ox, oy)), distance,
+                    ABSOLUTE_ERROR);
+
+            final var dx = (ResidualDerivatives.distance2D(x + DELTA, y, w, ox, oy, tmp)
+                    - ResidualDerivatives.distance2D(x - DELTA, y, w, ox, oy, tmp)) / (2.0 * DELTA);
+            final var dy = (ResidualDerivatives.distance2D(x, y + DELTA, w, ox, oy, tmp)
+                    - ResidualDerivatives.distance2D(x, y - DELTA, w, ox, oy, tmp)) / (2.0 * DELTA);
+            final var dw = (ResidualDerivatives.distance2D(x, y, w + DELTA, ox, oy, tmp)
+                    - ResidualDerivatives.distance2D(x, y, w - DELTA, ox, oy, tmp)) / (2.0 * DELTA);
+            assertEquals(dx, gradient[0], DERIVATIVE_ERROR);
+            assertEquals(dy, gradient[1], DERIVATIVE_ERROR);
+            assertEquals(dw, gradient[2], DERIVATIVE_ERROR);
+        }
+
+        // zero distance has zero derivatives
+        assertEquals(0.0, ResidualDerivatives.distance2D(2.0, 4.0, 2.0, 1.0, 2.0, gradient), 0.0);
+        assertArrayEquals(new double[3], gradient, 0.0);
+    }
+
+    @Test
+    void testDistance3D() {
+        final var randomizer = new UniformRandomizer();
+        final var gradient = new double[4];
+        final var tmp = new double[4];
+        for (var t = 0; t < TIMES; t++) {
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var w = randomizer.nextDouble(MIN_W, MAX_RANDOM_VALUE);
+            final var ox = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var oy = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var oz = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+
+            final var distance = ResidualDerivatives.distance3D(x, y, z, w, ox, oy, oz, gradient);
+            assertEquals(new HomogeneousPoint3D(x, y, z, w).distanceTo(new InhomogeneousPoint3D(ox, oy, oz)),
+                    distance, ABSOLUTE_ERROR);
+
+            final var dx = (ResidualDerivatives.distance3D(x + DELTA, y, z, w, ox, oy, oz, tmp)
+                    - ResidualDerivatives.distance3D(x - DELTA, y, z, w, ox, oy, oz, tmp)) / (2.0 * DELTA);
+            final var dy = (ResidualDerivatives.distance3D(x, y + DELTA, z, w, ox, oy, oz, tmp)
+                    - ResidualDerivatives.distance3D(x, y - DELTA, z, w, ox, oy, oz, tmp)) / (2.0 * DELTA);
+            final var dz = (ResidualDerivatives.distance3D(x, y, z + DELTA, w, ox, oy, oz, tmp)
+                    - ResidualDerivatives.distance3D(x, y, z - DELTA, w, ox, oy, oz, tmp)) / (2.0 * DELTA);
+            final var dw = (ResidualDerivatives.distance3D(x, y, z, w + DELTA, ox, oy, oz, tmp)
+                    - ResidualDerivatives.distance3D(x, y, z, w - DELTA, ox, oy, oz, tmp)) / (2.0 * DELTA);
+            assertEquals(dx, gradient[0], DERIVATIVE_ERROR);
+            assertEquals(dy, gradient[1], DERIVATIVE_ERROR);
+            assertEquals(dz, gradient[2], DERIVATIVE_ERROR);
+            assertEquals(dw, gradient[3], DERIVATIVE_ERROR);
+        }
+
+        // zero distance has zero derivatives
+        assertEquals(0.0, ResidualDerivatives.distance3D(2.0, 4.0, 6.0, 2.0, 1.0, 2.0, 3.0, gradient), 0.0);
+        assertArrayEquals(new double[4], gradient, 0.0);
+    }
+
+    @Test
+    void testRotateAndQuaternionRotationJacobian() throws WrongSizeException {
+        final var randomizer = new UniformRandomizer();
+        final var rotated = new double[3];
+        final var jacobian = new double[ResidualDerivatives.QUATERNION_JACOBIAN_LENGTH];
+        final var expectedJacobian = new Matrix(3, Quaternion.N_PARAMS);
+        for (var t = 0; t < TIMES; t++) {
+            final var a = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var b = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var c = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var d = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+
+            final var quaternion = new Quaternion(a, b, c, d);
+            final var point = new InhomogeneousPoint3D(x, y, z);
+            final var expected = new InhomogeneousPoint3D();
+            quaternion.rotate(point, expected, null, expectedJacobian);
+
+            ResidualDerivatives.rotate(a, b, c, d, x, y, z, rotated);
+            assertEquals(expected.getInhomX(), rotated[0], ABSOLUTE_ERROR);
+            assertEquals(expected.getInhomY(), rotated[1], ABSOLUTE_ERROR);
+            assertEquals(expected.getInhomZ(), rotated[2], ABSOLUTE_ERROR);
+
+            ResidualDerivatives.quaternionRotationJacobian(a, b, c, d, x, y, z, jacobian);
+            for (var i = 0; i < 3; i++) {
+                for (var j = 0; j < Quaternion.N_PARAMS; j++) {
+                    assertEquals(expectedJacobian.getElementAt(i, j), jacobian[i * Quaternion.N_PARAMS + j],
+                            ABSOLUTE_ERROR);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRotateByRotationVectorAndRotationVectorToQuaternion() {
+        final var randomizer = new UniformRandomizer();
+        final var rotated = new double[3];
+        final var quaternion = new Quaternion();
+        for (var t = 0; t < TIMES; t++) {
+            // use small rotation vectors half of the times to check Taylor expansions
+            final var scale = t % 2 == 0 ? 1.0 : SMALL_ROTATION_SCALE;
+            final var wx = scale * randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var wy = scale * randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var wz = scale * randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+
+            final var theta = Math.sqrt(wx * wx + wy * wy + wz * wz);
+            final var expectedQuaternion = new Quaternion(new double[]{wx / theta, wy / theta, wz / theta}, theta);
+
+            ResidualDerivatives.rotationVectorToQuaternion(wx, wy, wz, quaternion);
+            assertEquals(expectedQuaternion.getA(), quaternion.getA(), ABSOLUTE_ERROR);
+            assertEquals(expectedQuaternion.getB(), quaternion.getB(), ABSOLUTE_ERROR);
+            assertEquals(expectedQuaternion.getC(), quaternion.getC(), ABSOLUTE_ERROR);
+            assertEquals(expectedQuaternion.getD(), quaternion.getD(), ABSOLUTE_ERROR);
+
+            final var expected = expectedQuaternion.rotate(new InhomogeneousPoint3D(x, y, z));
+            ResidualDerivatives.rotateByRotationVector(wx, wy, wz, x, y, z, rotated);
+            assertEquals(expected.getInhomX(), rotated[0], ABSOLUTE_ERROR);
+            assertEquals(expected.getInhomY(), rotated[1], ABSOLUTE_ERROR);
+            assertEquals(expected.getInhomZ(), rotated[2], ABSOLUTE_ERROR);
+        }
+
+        // zero rotation vector is the identity
+        ResidualDerivatives.rotationVectorToQuaternion(0.0, 0.0, 0.0, quaternion);
+        assertArrayEquals(new double[]{1.0, 0.0, 0.0, 0.0}, quaternion.getValues(), 0.0);
+        ResidualDerivatives.rotateByRotationVector(0.0, 0.0, 0.0, 1.0, 2.0, 3.0, rotated);
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0}, rotated, 0.0);
+    }
+
+    @Test
+    void testRotationVectorJacobian() {
+        final var randomizer = new UniformRandomizer();
+        final var rotated = new double[3];
+        final var rotatedPlus = new double[3];
+        final var rotatedMinus = new double[3];
+        final var jacobian = new double[ResidualDerivatives.ROTATION_VECTOR_JACOBIAN_LENGTH];
+        for (var t = 0; t < TIMES; t++) {
+            final var scale = t % 2 == 0 ? 1.0 : SMALL_ROTATION_SCALE;
+            final var w = new double[]{
+                    scale * randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    scale * randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    scale * randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE)};
+            final var x = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var y = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            final var z = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+
+            ResidualDerivatives.rotateByRotationVector(w[0], w[1], w[2], x, y, z, rotated);
+            ResidualDerivatives.rotationVectorJacobian(w[0], w[1], w[2], rotated[0], rotated[1], rotated[2],
+                    jacobian);
+
+            for (var j = 0; j < 3; j++) {
+                final var plus = w.clone();
+                final var minus = w.clone();
+                plus[j] += DELTA;
+                minus[j] -= DELTA;
+                ResidualDerivatives.rotateByRotationVector(plus[0], plus[1], plus[2], x, y, z, rotatedPlus);
+                ResidualDerivatives.rotateByRotationVector(minus[0], minus[1], minus[2], x, y, z, rotatedMinus);
+                for (var i = 0; i < 3; i++) {
+                    assertEquals((rotatedPlus[i] - rotatedMinus[i]) / (2.0 * DELTA), jacobian[i * 3 + j],
+                            DERIVATIVE_ERROR);
+                }
+            }
+        }
+    }
+}
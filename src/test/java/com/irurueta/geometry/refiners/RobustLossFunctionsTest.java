@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RobustLossFunctionsTest {
+
+    private static final double MIN_RESIDUAL = -10.0;
+    private static final double MAX_RESIDUAL = 10.0;
+    private static final double MIN_SCALE = 0.5;
+    private static final double MAX_SCALE = 2.0;
+    private static final double ABSOLUTE_ERROR = 1e-12;
+
+    private static final int TIMES = 100;
+
+    @Test
+    void testConstants() {
+        assertEquals(1.345, RobustLossFunctions.DEFAULT_HUBER_TUNING_CONSTANT, 0.0);
+        assertEquals(2.3849, RobustLossFunctions.DEFAULT_CAUCHY_TUNING_CONSTANT, 0.0);
+        assertEquals(4.6851, RobustLossFunctions.DEFAULT_TUKEY_TUNING_CONSTANT, 0.0);
+        assertEquals(1.0, RobustLossFunctions.DEFAULT_GEMAN_MCCLURE_TUNING_CONSTANT, 0.0);
+    }
+
+    @Test
+    void testGetDefaultTuningConstant() {
+        assertEquals(1.0, RobustLossFunctions.getDefaultTuningConstant(RobustLoss.NONE), 0.0);
+        assertEquals(RobustLossFunctions.DEFAULT_HUBER_TUNING_CONSTANT,
+                RobustLossFunctions.getDefaultTuningConstant(RobustLoss.HUBER), 0.0);
+        assertEquals(RobustLossFunctions.DEFAULT_CAUCHY_TUNING_CONSTANT,
+                RobustLossFunctions.getDefaultTuningConstant(RobustLoss.CAUCHY), 0.0);
+        assertEquals(RobustLossFunctions.DEFAULT_TUKEY_TUNING_CONSTANT,
+                RobustLossFunctions.getDefaultTuningConstant(RobustLoss.TUKEY), 0.0);
+        assertEquals(RobustLossFunctions.DEFAULT_GEMAN_MCCLURE_TUNING_CONSTANT,
+                RobustLossFunctions.getDefaultTuningConstant(RobustLoss.GEMAN_MCCLURE), 0.0);
+    }
+
+    @Test
+    void testWeight() {
+        final var randomizer = new UniformRandomizer();
+        for (var t = 0; t < TIMES; t++) {
+            final var residual = randomizer.nextDouble(MIN_RESIDUAL, MAX_RESIDUAL);
+            final var scale = randomizer.nextDouble(MIN_SCALE, MAX_SCALE);
+            final var u = Math.abs(residual) / scale;
+
+            assertEquals(1.0, RobustLossFunctions.weight(RobustLoss.NONE, residual, scale), 0.0);
+            assertEquals(u <= 1.0 ? 1.0 : 1.0 / u,
+                    RobustLossFunctions.weight(RobustLoss.HUBER, residual, scale), ABSOLUTE_ERROR);
+            assertEquals(1.0 / (1.0 + u * u),
+                    RobustLossFunctions.weight(RobustLoss.CAUCHY, residual, scale), ABSOLUTE_ERROR);
+            assertEquals(u < 1.0 ? Math.pow(1.0 - u * u, 2.0) : 0.0,
+                    RobustLossFunctions.weight(RobustLoss.TUKEY, residual, scale), ABSOLUTE_ERROR);
+            assertEquals(1.0 / Math.pow(1.0 + u * u, 2.0),
+                    RobustLossFunctions.weight(RobustLoss.GEMAN_MCCLURE, residual, scale), ABSOLUTE_ERROR);
+
+            // weights are symmetric and within [0, 1]
+            for (final var loss : RobustLoss.values()) {
+                final var weight = RobustLossFunctions.weight(loss, residual, scale);
+                assertEquals(weight, RobustLossFunctions.weight(loss, -residual, scale), 0.0);
+                assertTrue(weight >= 0.0 && weight <= 1.0);
+            }
+        }
+
+        // zero residual has unit weight
+        for (final var loss : RobustLoss.values()) {
+            assertEquals(1.0, RobustLossFunctions.weight(loss, 0.0, 1.0), 0.0);
+        }
+
+        // force IllegalArgumentException
+        assertThrows(IllegalArgumentException.class, () -> RobustLossFunctions.weight(RobustLoss.HUBER, 1.0, 0.0));
+    }
+}
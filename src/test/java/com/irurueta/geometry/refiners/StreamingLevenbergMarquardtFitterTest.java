@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) 2026 Alberto Irurueta Carro (alberto@irurueta.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.irurueta.geometry.refiners;
+
+import com.irurueta.algebra.Matrix;
+import com.irurueta.algebra.WrongSizeException;
+import com.irurueta.numerical.EvaluationException;
+import com.irurueta.numerical.fitting.FittingException;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiDimensionFunctionEvaluator;
+import com.irurueta.numerical.fitting.LevenbergMarquardtMultiVariateFunctionEvaluator;
+import com.irurueta.statistics.UniformRandomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingLevenbergMarquardtFitterTest {
+
+    private static final double MIN_RANDOM_VALUE = -1.0;
+    private static final double MAX_RANDOM_VALUE = 1.0;
+    private static final double ABSOLUTE_ERROR = 1e-8;
+    private static final double PARAMS_ERROR = 0.1;
+    private static final double STANDARD_DEVIATION = 0.5;
+
+    private static final int MIN_SAMPLES = 50;
+    private static final int MAX_SAMPLES = 500;
+    private static final int TIMES = 20;
+
+    @Test
+    void testConstructor() throws WrongSizeException {
+        final var evaluator = new ExponentialEvaluator(new double[3]);
+        final var x = new Matrix(MIN_SAMPLES, 2);
+        final var y = new double[MIN_SAMPLES];
+
+        final var fitter = new StreamingLevenbergMarquardtFitter(evaluator, x, y, STANDARD_DEVIATION);
+        assertNull(fitter.getA());
+        assertNull(fitter.getCovar());
+        assertEquals(0, fitter.getIterations());
+
+        // force IllegalArgumentException
+        final var wrongX = new Matrix(MIN_SAMPLES, 3);
+        final var wrongY = new double[MIN_SAMPLES + 1];
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator,
+                wrongX, y, STANDARD_DEVIATION));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x,
+                wrongY, STANDARD_DEVIATION));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x, y,
+                0.0));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x, y,
+                STANDARD_DEVIATION, 0, StreamingLevenbergMarquardtFitter.DEFAULT_TOLERANCE));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x, y,
+                STANDARD_DEVIATION, StreamingLevenbergMarquardtFitter.DEFAULT_MAX_ITERATIONS, 0.0));
+
+        final var sig = new double[MIN_SAMPLES];
+        Arrays.fill(sig, STANDARD_DEVIATION);
+        final var fitter2 = new StreamingLevenbergMarquardtFitter(evaluator, x, y, sig);
+        assertNull(fitter2.getA());
+        assertNull(fitter2.getCovar());
+
+        final var wrongSig = new double[MIN_SAMPLES + 1];
+        Arrays.fill(wrongSig, STANDARD_DEVIATION);
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x, y,
+                wrongSig));
+        sig[0] = 0.0;
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x, y,
+                sig));
+    }
+
+    @Test
+    void testConstructorMultiVariate() throws WrongSizeException {
+        final var evaluator = new ExponentialMultiVariateEvaluator(new double[3]);
+        final var x = new Matrix(MIN_SAMPLES, 2);
+        final var y = new Matrix(MIN_SAMPLES, 2);
+        final var sig = new double[MIN_SAMPLES];
+        Arrays.fill(sig, STANDARD_DEVIATION);
+
+        final var fitter = new StreamingLevenbergMarquardtFitter(evaluator, x, y, sig);
+        assertNull(fitter.getA());
+        assertNull(fitter.getCovar());
+        assertEquals(0, fitter.getIterations());
+
+        // force IllegalArgumentException
+        final var wrongX = new Matrix(MIN_SAMPLES, 3);
+        final var wrongRowsY = new Matrix(MIN_SAMPLES + 1, 2);
+        final var wrongColumnsY = new Matrix(MIN_SAMPLES, 3);
+        final var wrongSig = new double[MIN_SAMPLES + 1];
+        Arrays.fill(wrongSig, STANDARD_DEVIATION);
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator,
+                wrongX, y, sig));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x,
+                wrongRowsY, sig));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x,
+                wrongColumnsY, sig));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x, y,
+                wrongSig));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x, y,
+                sig, 0, StreamingLevenbergMarquardtFitter.DEFAULT_TOLERANCE));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x, y,
+                sig, StreamingLevenbergMarquardtFitter.DEFAULT_MAX_ITERATIONS, 0.0));
+        sig[0] = 0.0;
+        assertThrows(IllegalArgumentException.class, () -> new StreamingLevenbergMarquardtFitter(evaluator, x, y,
+                sig));
+    }
+
+    @Test
+    void testFitWithIgnoredSamples() throws WrongSizeException, FittingException, EvaluationException {
+        final var randomizer = new UniformRandomizer();
+        final var params = new double[]{
+                randomizer.nextDouble(1.0, 2.0),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE)};
+        final var evaluator = new ExponentialEvaluator(params.clone());
+        final var x = new Matrix(MIN_SAMPLES, 2);
+        final var y = new double[MIN_SAMPLES];
+        final var sig = new double[MIN_SAMPLES];
+        final var point = new double[2];
+        final var derivatives = new double[params.length];
+        for (var i = 0; i < MIN_SAMPLES; i++) {
+            point[0] = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            point[1] = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+            x.setElementAt(i, 0, point[0]);
+            x.setElementAt(i, 1, point[1]);
+            y[i] = evaluator.evaluate(i, point, params, derivatives);
+            sig[i] = STANDARD_DEVIATION;
+            if (i % 2 == 0) {
+                // corrupted samples having infinite standard deviation are ignored
+                y[i] += 1.0;
+                sig[i] = Double.POSITIVE_INFINITY;
+            }
+        }
+
+        final var fitter = new StreamingLevenbergMarquardtFitter(evaluator, x, y, sig);
+        fitter.fit();
+
+        assertArrayEquals(params, fitter.getA(), ABSOLUTE_ERROR);
+        assertEquals(0.0, fitter.getChisq(), ABSOLUTE_ERROR);
+    }
+
+    @Test
+    void testFit() throws WrongSizeException, FittingException, EvaluationException {
+        final var randomizer = new UniformRandomizer();
+        for (var t = 0; t < TIMES; t++) {
+            final var params = new double[]{
+                    randomizer.nextDouble(1.0, 2.0),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE)};
+            final var initial = new double[params.length];
+            for (var i = 0; i < params.length; i++) {
+                initial[i] = params[i] + randomizer.nextDouble(-PARAMS_ERROR, PARAMS_ERROR);
+            }
+
+            final var evaluator = new ExponentialEvaluator(initial);
+            final var n = randomizer.nextInt(MIN_SAMPLES, MAX_SAMPLES);
+            final var x = new Matrix(n, 2);
+            final var y = new double[n];
+            final var point = new double[2];
+            final var derivatives = new double[params.length];
+            for (var i = 0; i < n; i++) {
+                point[0] = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                point[1] = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                x.setElementAt(i, 0, point[0]);
+                x.setElementAt(i, 1, point[1]);
+                y[i] = evaluator.evaluate(i, point, params, derivatives);
+            }
+
+            final var fitter = new StreamingLevenbergMarquardtFitter(evaluator, x, y, STANDARD_DEVIATION);
+            fitter.fit();
+
+            // noiseless samples are fitted exactly
+            assertArrayEquals(params, fitter.getA(), ABSOLUTE_ERROR);
+            assertEquals(0.0, fitter.getChisq(), ABSOLUTE_ERROR);
+            assertTrue(fitter.getIterations() > 0);
+
+            // covariance is the inverse of J^T * J / sigma^2
+            final var alpha = new Matrix(params.length, params.length);
+            for (var i = 0; i < n; i++) {
+                point[0] = x.getElementAt(i, 0);
+                point[1] = x.getElementAt(i, 1);
+                evaluator.evaluate(i, point, fitter.getA(), derivatives);
+                for (var j = 0; j < params.length; j++) {
+                    for (var k = 0; k < params.length; k++) {
+                        alpha.setElementAt(j, k, alpha.getElementAt(j, k) + derivatives[j] * derivatives[k]
+                                / (STANDARD_DEVIATION * STANDARD_DEVIATION));
+                    }
+                }
+            }
+            final var identity = alpha.multiplyAndReturnNew(fitter.getCovar());
+            assertTrue(identity.equals(Matrix.identity(params.length, params.length), ABSOLUTE_ERROR));
+        }
+    }
+
+    @Test
+    void testFitMultiVariate() throws WrongSizeException, FittingException, EvaluationException {
+        final var randomizer = new UniformRandomizer();
+        for (var t = 0; t < TIMES; t++) {
+            final var params = new double[]{
+                    randomizer.nextDouble(1.0, 2.0),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE),
+                    randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE)};
+            final var initial = new double[params.length];
+            for (var i = 0; i < params.length; i++) {
+                initial[i] = params[i] + randomizer.nextDouble(-PARAMS_ERROR, PARAMS_ERROR);
+            }
+
+            final var evaluator = new ExponentialMultiVariateEvaluator(initial);
+            final var n = randomizer.nextInt(MIN_SAMPLES, MAX_SAMPLES);
+            final var x = new Matrix(n, 2);
+            final var y = new Matrix(n, 2);
+            final var sig = new double[n];
+            final var point = new double[2];
+            final var values = new double[2];
+            final var jacobian = new Matrix(2, params.length);
+            for (var i = 0; i < n; i++) {
+                point[0] = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                point[1] = randomizer.nextDouble(MIN_RANDOM_VALUE, MAX_RANDOM_VALUE);
+                x.setElementAt(i, 0, point[0]);
+                x.setElementAt(i, 1, point[1]);
+                evaluator.evaluate(i, point, values, params, jacobian);
+                y.setElementAt(i, 0, values[0]);
+                y.setElementAt(i, 1, values[1]);
+                sig[i] = STANDARD_DEVIATION;
+            }
+
+            final var fitter = new StreamingLevenbergMarquardtFitter(evaluator, x, y, sig);
+            fitter.fit();
+
+            // noiseless samples are fitted exactly
+            assertArrayEquals(params, fitter.getA(), ABSOLUTE_ERROR);
+            assertEquals(0.0, fitter.getChisq(), ABSOLUTE_ERROR);
+            assertTrue(fitter.getIterations() > 0);
+
+            // covariance is the inverse of J^T * J / sigma^2 accumulated over all values of all samples
+            final var alpha = new Matrix(params.length, params.length);
+            for (var i = 0; i < n; i++) {
+                point[0] = x.getElementAt(i, 0);
+                point[1] = x.getElementAt(i, 1);
+                evaluator.evaluate(i, point, values, fitter.getA(), jacobian);
+                alpha.add(jacobian.transposeAndReturnNew().multiplyAndReturnNew(jacobian)
+                        .multiplyByScalarAndReturnNew(1.0 / (STANDARD_DEVIATION * STANDARD_DEVIATION)));
+            }
+            final var identity = alpha.multiplyAndReturnNew(fitter.getCovar());
+            assertTrue(identity.equals(Matrix.identity(params.length, params.length), ABSOLUTE_ERROR));
+        }
+    }
+
+    @Test
+    void testFitWhenEvaluationFails() throws WrongSizeException {
+        final var evaluator = new ExponentialEvaluator(new double[3]) {
+            @Override
+            public double evaluate(final int i, final double[] point, final double[] params,
+                                   final double[] derivatives) throws EvaluationException {
+                throw new EvaluationException();
+            }
+        };
+        final var fitter = new StreamingLevenbergMarquardtFitter(evaluator, new Matrix(MIN_SAMPLES, 2),
+                new double[MIN_SAMPLES], STANDARD_DEVIATION);
+
+        assertThrows(FittingException.class, fitter::fit);
+    }
+
+    /**
+     * Evaluates f(x, a) = a0 * exp(a1 * x0) + a2 * x1.
+     */
+    private static class ExponentialEvaluator implements LevenbergMarquardtMultiDimensionFunctionEvaluator {
+
+        private final double[] initial;
+
+        ExponentialEvaluator(final double[] initial) {
+            this.initial = initial;
+        }
+
+        @Override
+        public int getNumberOfDimensions() {
+            return 2;
+        }
+
+        @Override
+        public double[] createInitialParametersArray() {
+            return initial;
+        }
+
+        @Override
+        public double evaluate(final int i, final double[] point, final double[] params,
+                               final double[] derivatives) throws EvaluationException {
+            final var exp = Math.exp(params[1] * point[0]);
+            derivatives[0] = exp;
+            derivatives[1] = params[0] * point[0] * exp;
+            derivatives[2] = point[1];
+            return params[0] * exp + params[2] * point[1];
+        }
+    }
+
+    /**
+     * Evaluates f(x, a) = (a0 * exp(a1 * x0) + a2 * x1, a2 * x0 - a1 * x1).
+     */
+    private static class ExponentialMultiVariateEvaluator implements LevenbergMarquardtMultiVariateFunctionEvaluator {
+
+        private final double[] initial;
+
+        ExponentialMultiVariateEvaluator(final double[] initial) {
+            this.initial = initial;
+        }
+
+        @Override
+        public int getNumberOfDimensions() {
+            return 2;
+        }
+
+        @Override
+        public int getNumberOfVariables() {
+            return 2;
+        }
+
+        @Override
+        public double[] createInitialParametersArray() {
+            return initial;
+        }
+
+        @Override
+        public void evaluate(final int i, final double[] point, final double[] result, final double[] params,
+                             final Matrix jacobian) {
+            final var exp = Math.exp(params[1] * point[0]);
+            result[0] = params[0] * exp + params[2] * point[1];
+            result[1] = params[2] * point[0] - params[1] * point[1];
+            jacobian.setElementAt(0, 0, exp);
+            jacobian.setElementAt(0, 1, params[0] * point[0] * exp);
+            jacobian.setElementAt(0, 2, point[1]);
+            jacobian.setElementAt(1, 0, 0.0);
+            jacobian.setElementAt(1, 1, -point[1]);
+            jacobian.setElementAt(1, 2, point[0]);
+        }
+    }
+}